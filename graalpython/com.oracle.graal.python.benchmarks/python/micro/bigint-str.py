@@ -1,4 +1,4 @@
-# Copyright (c) 2020, 2022, Oracle and/or its affiliates. All rights reserved.
+# Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
 # DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
 #
 # The Universal Permissive License (UPL), Version 1.0
@@ -37,34 +37,32 @@
 # OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 # SOFTWARE.
 
-def __initialize__(owner_globals):
-    delegate_attrs = ['Struct', 'StructError', '_clearcache', 'calcsize', 'error', 'iter_unpack', 'pack',
-                          'pack_into', 'unpack', 'unpack_from']
-    res = True
-    for x in delegate_attrs:
-        if x not in owner_globals:
-            res = False
-            break
+import sys
 
-    if not res:
-        __graalpython__.import_current_as_named_module_with_delegate(
-            module_name="_struct",
-            delegate_name="_cpython_struct",
-            delegate_attributes=delegate_attrs,
-            on_import_error={
-                # Just enough to make zipfile and six import successfully, but raise the
-                # original import error when someone tries to use the Struct object
-                "__all__": ["calcsize", "Struct"],
-                "_clearcache": lambda: None,
-                "__doc__": "Fake _struct",
-                "calcsize": lambda _: 8,
-                "Struct": type("Struct", (), {
-                    "__init__": lambda self, _: None,
-                    "__getattr__": lambda self, attr: (lambda *args: __import__("_cpython_struct"))
-                })
-            },
-            owner_globals=owner_globals)
 
-__initialize__(globals())
+def bigint_str(max_digits):
+    if hasattr(sys, 'set_int_max_str_digits'):
+        sys.set_int_max_str_digits(0)
+    checksum = 0
+    digits = 1000
+    while digits <= max_digits:
+        text = '7' * digits
+        value = int(text)
+        checksum += len(str(value * value))
+        mod = (value >> 1) | 1
+        checksum += pow(value + 12345, 65537, mod) & 0xffff
+        checksum += pow(value & 0x7fffffffffffffff, 1 << 20, 0x7ffffffffffffe5) & 0xffff
+        digits *= 10
+    for i in range(max_digits // 100):
+        checksum += pow(i + 3, 0x10001 + i, 0x7ffffffffffffe5 - 2 * i) & 0xff
+        checksum += pow(i + 3, 0x10001, 1000000007) & 0xff
+    return checksum
 
-del __initialize__
+
+def measure(num):
+    result = bigint_str(num)
+    print("Result ", result)
+
+
+def __benchmark__(num=100000):
+    measure(num)
@@ -0,0 +1,109 @@
+# Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+code = """
+#include <Python.h>
+
+static PyObject* passthrough(PyObject* self, PyObject* obj) {
+    Py_INCREF(obj);
+    return obj;
+}
+
+static PyObject* first_of_pair(PyObject* self, PyObject* args) {
+    PyObject* a;
+    PyObject* b;
+    if (!PyArg_UnpackTuple(args, "first_of_pair", 2, 2, &a, &b)) {
+        return NULL;
+    }
+    Py_INCREF(a);
+    return a;
+}
+
+static PyMethodDef methods[] = {
+    {"passthrough", passthrough, METH_O, ""},
+    {"first_of_pair", first_of_pair, METH_VARARGS, ""},
+    {NULL, NULL, 0, NULL}
+};
+
+static PyModuleDef module = {
+    PyModuleDef_HEAD_INIT,
+    "c_handle_transitions_module",
+    "",
+    -1,
+    methods,
+    NULL, NULL, NULL, NULL
+};
+
+PyMODINIT_FUNC
+PyInit_c_handle_transitions_module(void) {
+    return PyModule_Create(&module);
+}
+"""
+
+
+ccompile("c_handle_transitions_module", code)
+import c_handle_transitions_module
+
+# Many distinct managed objects that have been handed to native code, so that the handle tables
+# are populated like in a real extension-heavy workload.
+OBJECTS = [object() for _ in range(20000)]
+
+
+# ~igv~: function_root_do_stuff_at
+def do_stuff(objects):
+    passthrough = c_handle_transitions_module.passthrough
+    first_of_pair = c_handle_transitions_module.first_of_pair
+    hits = 0
+    for o in objects:
+        if passthrough(o) is o:
+            hits += 1
+        if first_of_pair(o, objects) is o:
+            hits += 1
+    return hits
+
+
+def measure(num):
+    for i in range(num):
+        result = do_stuff(OBJECTS)
+
+    print(result)
+
+
+def __benchmark__(num=500):
+    measure(num)
@@ -0,0 +1,114 @@
+# Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import os
+import shutil
+import tempfile
+import time
+
+
+CHUNK = 1024 * 1024
+FILE_SIZE = 256 * CHUNK
+
+
+def make_file(directory):
+    path = os.path.join(directory, 'src')
+    block = b'x' * CHUNK
+    with open(path, 'wb') as f:
+        for i in range(FILE_SIZE // CHUNK):
+            f.write(block)
+    return path
+
+
+def copy_sendfile(src, dst):
+    with open(src, 'rb') as fsrc, open(dst, 'wb') as fdst:
+        infd, outfd = fsrc.fileno(), fdst.fileno()
+        offset = 0
+        while sent := os.sendfile(outfd, infd, offset, FILE_SIZE - offset):
+            offset += sent
+
+
+def copy_file_range(src, dst):
+    with open(src, 'rb') as fsrc, open(dst, 'wb') as fdst:
+        infd, outfd = fsrc.fileno(), fdst.fileno()
+        while os.copy_file_range(infd, outfd, FILE_SIZE):
+            pass
+
+
+def copy_splice(src, dst):
+    r, w = os.pipe()
+    try:
+        with open(src, 'rb') as fsrc, open(dst, 'wb') as fdst:
+            infd, outfd = fsrc.fileno(), fdst.fileno()
+            while n := os.splice(infd, w, FILE_SIZE):
+                while n:
+                    n -= os.splice(r, outfd, n)
+    finally:
+        os.close(r)
+        os.close(w)
+
+
+def file_copy(num):
+    methods = [('shutil.copyfile', shutil.copyfile)]
+    if hasattr(os, 'sendfile'):
+        methods.append(('os.sendfile', copy_sendfile))
+    if hasattr(os, 'copy_file_range'):
+        methods.append(('os.copy_file_range', copy_file_range))
+    if hasattr(os, 'splice'):
+        methods.append(('os.splice', copy_splice))
+    results = []
+    with tempfile.TemporaryDirectory() as directory:
+        src = make_file(directory)
+        dst = os.path.join(directory, 'dst')
+        for name, copy in methods:
+            start = time.monotonic()
+            for i in range(num):
+                copy(src, dst)
+            elapsed = time.monotonic() - start
+            results.append((name, num * FILE_SIZE / CHUNK / elapsed))
+    return results
+
+
+def measure(num):
+    for name, throughput in file_copy(num):
+        print("%s: %.0f MB/s" % (name, throughput))
+
+
+def __benchmark__(num=8):
+    measure(num)
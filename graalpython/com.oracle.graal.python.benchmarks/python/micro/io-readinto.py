@@ -0,0 +1,85 @@
+# Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import os
+import tempfile
+
+
+CHUNK = 1024 * 1024
+FILE_SIZE = 16 * CHUNK
+
+
+def make_file():
+    fd, path = tempfile.mkstemp()
+    with os.fdopen(fd, 'wb') as f:
+        f.write(b'x' * FILE_SIZE)
+    return path
+
+
+def ingest(path, num):
+    total = 0
+    buf = bytearray(CHUNK)
+    view = memoryview(buf)
+    for i in range(num):
+        with open(path, 'rb', buffering=0) as f:
+            while n := f.readinto(buf):
+                total += n
+        with open(path, 'rb') as f:
+            while n := f.readinto(view):
+                total += n
+        fd = os.open(path, os.O_RDONLY)
+        try:
+            while n := os.readv(fd, [view[:CHUNK // 2], view[CHUNK // 2:]]):
+                total += n
+        finally:
+            os.close(fd)
+    return total
+
+
+def measure(num):
+    path = make_file()
+    try:
+        result = ingest(path, num)
+    finally:
+        os.unlink(path)
+    print("Read %d MB" % (result // CHUNK))
+
+
+def __benchmark__(num=50):
+    measure(num)
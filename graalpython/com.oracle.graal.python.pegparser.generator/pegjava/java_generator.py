@@ -1243,6 +1243,9 @@ class JavaParserGenerator(ParserGenerator, GrammarVisitor):
             self.print(f"    _children.addAll(Arrays.asList(({self._collected_type[-1]}[])_res));")
             self.print("}")
             self.print("_mark = mark();")
+            if len(node.items) == 1 and str(node.items[0].item) == "statement":
+                # Let the memo cache drop results before the next statement, see AbstractParser
+                self.print("statementParsed(_start_mark, _mark);")
         self.print("}")
 
     def visit_Alt(
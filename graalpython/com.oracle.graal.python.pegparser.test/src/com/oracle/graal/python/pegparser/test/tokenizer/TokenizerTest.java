@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -252,6 +252,20 @@ public class TokenizerTest {
                         "Token NEWLINE [11, 12] (2, 5) (2, 6) ''"});
     }
 
+    @Test
+    public void testSupplementaryCodePoints() {
+        // offsets and columns count code points, not chars
+        checkTokens("s = '😀'\nt = 1", new String[]{
+                        "Token NAME [0, 1] (1, 0) (1, 1) 's'",
+                        "Token EQUAL [2, 3] (1, 2) (1, 3) '='",
+                        "Token STRING [4, 7] (1, 4) (1, 7) ''😀''",
+                        "Token NEWLINE [7, 8] (1, 7) (1, 8) '\n'",
+                        "Token NAME [8, 9] (2, 0) (2, 1) 't'",
+                        "Token EQUAL [10, 11] (2, 2) (2, 3) '='",
+                        "Token NUMBER [12, 13] (2, 4) (2, 5) '1'",
+                        "Token NEWLINE [13, 14] (2, 5) (2, 6) ''"});
+    }
+
     @Test
     public void testEofCoordImplicitNewline() {
         Tokenizer tokenizer = createTokenizer("a");
@@ -236,6 +236,17 @@ public abstract class AbstractParser {
         currentPos = position;
     }
 
+    /**
+     * Called by the generated parser after each statement of a {@code statements} loop. Blocks
+     * never start at the first token, so a loop that did is the top-level loop of the file and no
+     * rule can backtrack before {@code pos} anymore. The memoized results before it can be dropped.
+     */
+    protected final void statementParsed(int startMark, int pos) {
+        if (startMark == 0) {
+            cache.commit(pos);
+        }
+    }
+
     /**
      * Is the expected token on the current position in tokenizer? If there is the expected token,
      * then the current position in tokenizer is changed to the next token.
@@ -460,13 +471,8 @@ public abstract class AbstractParser {
                 }
             }
             if (overunder) {
-                // overflow
-                BigInteger bigResult = BigInteger.valueOf(result);
-                BigInteger bigBase = BigInteger.valueOf(base);
-                while (i < number.length()) {
-                    bigResult = bigResult.multiply(bigBase).add(BigInteger.valueOf(digitValue(number.charAt(i))));
-                    i++;
-                }
+                // overflow, let BigInteger parse the digits in chunks instead of one at a time
+                BigInteger bigResult = new BigInteger(number.substring(start), base);
                 return factory.createConstant(ConstantValue.ofBigInteger(bigResult), t.sourceRange);
             }
             result = next;
@@ -15869,6 +15869,7 @@ public final class Parser extends AbstractParser {
                     _children.addAll(Arrays.asList((StmtTy[])_res));
                 }
                 _mark = mark();
+                statementParsed(_start_mark, _mark);
             }
             reset(_mark);
         }
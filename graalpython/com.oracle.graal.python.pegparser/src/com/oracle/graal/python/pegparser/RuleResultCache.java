@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2021, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -40,54 +40,147 @@
  */
 package com.oracle.graal.python.pegparser;
 
-import java.util.HashMap;
+import java.util.Arrays;
 
 /**
- * Cache that is used in the generated parser. Really just a convenient interface around nested
- * HashMaps mapping <code>
- * (int tokenPos) -> (int ruleId) -> (T cachedItem)
+ * Cache that is used in the generated parser to memoize rule results. Conceptually it maps
+ * <code>
+ * (int tokenPos, int ruleId) -> (T result, int endPos)
  * </code>
+ *
+ * The entries are kept in an open-addressing table over parallel arrays keyed by the packed
+ * {@code (tokenPos, ruleId)} pair, so memoizing a result does not allocate. Once the parser
+ * {@link #commit commits} to a position, results before it are never looked up again and are
+ * dropped the next time the table would otherwise grow, so its size is bounded by the results of
+ * the statement that is currently being parsed rather than by the whole input.
  */
 class RuleResultCache<T> {
 
-    private final AbstractParser parser;
+    private static final int INITIAL_CAPACITY = 256;
+    private static final long EMPTY = -1;
 
-    private static class CachedItem<T> {
+    private final AbstractParser parser;
 
-        final T node;
-        final int endPos;
+    private long[] keys;
+    private Object[] results;
+    private int[] endPositions;
+    private int size;
+    private int shift;
 
-        CachedItem(T node, int endPos) {
-            this.node = node;
-            this.endPos = endPos;
-        }
-    }
+    /** Results at positions before this one are dead. */
+    private int committedPos;
 
-    // HashMap<start pos, HashMap<rule id, (result, end pos)>>
-    private final HashMap<Integer, HashMap<Integer, CachedItem<T>>> mainCache;
+    /** Slot of the entry found by the last successful {@link #hasResult}. */
+    private int lastSlot = -1;
 
     public RuleResultCache(AbstractParser parser) {
         this.parser = parser;
-        this.mainCache = new HashMap<>();
+        allocate(INITIAL_CAPACITY);
     }
 
     public boolean hasResult(int pos, int ruleId) {
-        return mainCache.containsKey(pos) && mainCache.get(pos).containsKey(ruleId);
+        if (pos < committedPos) {
+            return false;
+        }
+        int slot = findSlot(key(pos, ruleId));
+        if (keys[slot] == EMPTY) {
+            return false;
+        }
+        lastSlot = slot;
+        return true;
     }
 
+    @SuppressWarnings("unchecked")
     public T getResult(int pos, int ruleId) {
-        CachedItem<T> item = mainCache.get(pos).get(ruleId);
-        parser.reset(item.endPos);
-        return item.node;
+        long key = key(pos, ruleId);
+        int slot = lastSlot >= 0 && keys[lastSlot] == key ? lastSlot : findSlot(key);
+        assert keys[slot] == key;
+        parser.reset(endPositions[slot]);
+        return (T) results[slot];
     }
 
     public T putResult(int pos, int ruleId, T node) {
-        HashMap<Integer, CachedItem<T>> posCache = mainCache.computeIfAbsent(pos, k -> new HashMap<>());
-        posCache.put(ruleId, new CachedItem<>(node, parser.mark()));
+        if (pos < committedPos) {
+            return node;
+        }
+        long key = key(pos, ruleId);
+        int slot = findSlot(key);
+        if (keys[slot] == EMPTY) {
+            if (size + 1 > keys.length >> 1) {
+                rehash();
+                slot = findSlot(key);
+            }
+            keys[slot] = key;
+            size++;
+        }
+        results[slot] = node;
+        endPositions[slot] = parser.mark();
         return node;
     }
 
+    /**
+     * Declares that no rule will look up results at positions before {@code pos} anymore.
+     */
+    public void commit(int pos) {
+        committedPos = Math.max(committedPos, pos);
+    }
+
     public void clear() {
-        mainCache.clear();
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(results, null);
+        size = 0;
+        committedPos = 0;
+        lastSlot = -1;
+    }
+
+    private static long key(int pos, int ruleId) {
+        return ((long) pos << 32) | ruleId;
+    }
+
+    private int findSlot(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        results = new Object[capacity];
+        endPositions = new int[capacity];
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        size = 0;
+    }
+
+    /**
+     * Drops the entries before the committed position and resizes the table so that the live
+     * entries fill at most a quarter of it.
+     */
+    private void rehash() {
+        long[] oldKeys = keys;
+        Object[] oldResults = results;
+        int[] oldEndPositions = endPositions;
+        long minKey = key(committedPos, 0);
+        int live = 0;
+        for (long key : oldKeys) {
+            if (key != EMPTY && key >= minKey) {
+                live++;
+            }
+        }
+        allocate(Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(live, 1) * 4 - 1) << 1));
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY && key >= minKey) {
+                int slot = findSlot(key);
+                keys[slot] = key;
+                results[slot] = oldResults[i];
+                endPositions[slot] = oldEndPositions[i];
+                size++;
+            }
+        }
+        lastSlot = -1;
     }
 }
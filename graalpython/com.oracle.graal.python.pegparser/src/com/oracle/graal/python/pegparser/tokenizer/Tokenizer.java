@@ -1,4 +1,4 @@
-/* Copyright (c) 2021, 2023, Oracle and/or its affiliates.
+/* Copyright (c) 2021, 2024, Oracle and/or its affiliates.
  * Copyright (C) 1996-2021 Python Software Foundation
  *
  * Licensed under the PYTHON SOFTWARE FOUNDATION LICENSE VERSION 2
@@ -60,7 +60,7 @@ public class Tokenizer {
      * Spaces in this constant are treated as "zero or more spaces or tabs" when tokenizing.
      */
     private static final byte[] TYPE_COMMENT_PREFIX = "# type: ".getBytes(StandardCharsets.US_ASCII);
-    private static final int[] IGNORE_BYTES = charsToCodePoints("ignore".toCharArray());
+    private static final int[] IGNORE_BYTES = "ignore".codePoints().toArray();
 
     public enum StatusCode {
         OK,
@@ -86,8 +86,17 @@ public class Tokenizer {
     // tok_new initialization is taken care of here
     private final boolean execInput;
 
-    /** {@code tok_state->buf, tok_state->inp, tok_state->str, tok_state->input} */
+    /**
+     * {@code tok_state->buf, tok_state->inp, tok_state->str, tok_state->input}. The source is
+     * indexed by code points. As long as it contains no surrogates, char and code point indices
+     * coincide and we use the string as is, which avoids widening every character to an int.
+     * Otherwise, this is {@code null} and the code points are in {@link #codePointsInput}.
+     */
+    private final String input;
+    /** The code points of the source if it contains surrogates, {@code null} otherwise. */
     private final int[] codePointsInput;
+    /** The length of the source in code points. */
+    private final int inputLength;
     /** {@code tok_state->cur} */
     private int nextCharIndex = 0;
     /** combines {@code tok_state->fp_interactive} and {@code tok_state->prompt != NULL} */
@@ -144,9 +153,17 @@ public class Tokenizer {
     private final int srcStartColumn;
     // error_ret
 
-    private Tokenizer(ErrorCallback errorCallback, int[] codePointsInput, EnumSet<Flag> flags, SourceRange inputSourceRange) {
+    private Tokenizer(ErrorCallback errorCallback, String code, EnumSet<Flag> flags, SourceRange inputSourceRange) {
         this.errorCallback = errorCallback;
-        this.codePointsInput = codePointsInput;
+        if (hasSurrogates(code)) {
+            this.input = null;
+            this.codePointsInput = code.codePoints().toArray();
+            this.inputLength = codePointsInput.length;
+        } else {
+            this.input = code;
+            this.codePointsInput = null;
+            this.inputLength = code.length();
+        }
         this.execInput = flags.contains(Flag.EXEC_INPUT);
         this.interactive = flags.contains(Flag.INTERACTIVE);
         this.lookForTypeComments = flags.contains(Flag.TYPE_COMMENT);
@@ -167,7 +184,9 @@ public class Tokenizer {
     private Tokenizer(Tokenizer t) {
         errorCallback = t.errorCallback;
         execInput = t.execInput;
+        input = t.input;
         codePointsInput = t.codePointsInput;
+        inputLength = t.inputLength;
         nextCharIndex = t.nextCharIndex;
         interactive = t.interactive;
         tokenStart = t.tokenStart;
@@ -361,28 +380,21 @@ public class Tokenizer {
         // with those in the call to get the next character
         int sourceStart = getSourceStart(code);
         Charset fileEncoding = detectEncoding(sourceStart, code);
-        int[] codePointsInput = charsToCodePoints(fileEncoding.decode(ByteBuffer.wrap(code, sourceStart, code.length)).array());
-        return new Tokenizer(errorCallback, codePointsInput, flags, null);
+        String decoded = new String(code, sourceStart, code.length - sourceStart, fileEncoding);
+        return new Tokenizer(errorCallback, stripBOM(decoded), flags, null);
     }
 
-    private static int[] charsToCodePoints(char[] chars) {
-        int cpIndex = 0;
-        boolean hasUTF8Bom = chars.length > 0 && Character.codePointAt(chars, 0) == UTF8_BOM;
-        for (int charIndex = 0; charIndex < chars.length; cpIndex++) {
-            int cp = Character.codePointAt(chars, charIndex);
-            charIndex += Character.charCount(cp);
-        }
-        if (hasUTF8Bom) {
-            cpIndex--;
-        }
-        int[] codePoints = new int[cpIndex];
-        cpIndex = 0;
-        for (int charIndex = hasUTF8Bom ? Character.charCount(UTF8_BOM) : 0; charIndex < chars.length; cpIndex++) {
-            int cp = Character.codePointAt(chars, charIndex);
-            codePoints[cpIndex] = cp;
-            charIndex += Character.charCount(cp);
+    private static String stripBOM(String code) {
+        return code.length() > 0 && code.charAt(0) == UTF8_BOM ? code.substring(1) : code;
+    }
+
+    private static boolean hasSurrogates(String code) {
+        for (int i = 0; i < code.length(); i++) {
+            if (Character.isSurrogate(code.charAt(i))) {
+                return true;
+            }
         }
-        return codePoints;
+        return false;
     }
 
     /**
@@ -393,7 +405,36 @@ public class Tokenizer {
         if (code.length() > 0 && code.charAt(0) == '\\') {
             System.out.println("Creating tokenizer for *" + code + "*");
         }
-        return new Tokenizer(errorCallback, charsToCodePoints(code.toCharArray()), flags, inputSourceRange);
+        return new Tokenizer(errorCallback, stripBOM(code), flags, inputSourceRange);
+    }
+
+    /**
+     * Returns the code point at the given code point index.
+     */
+    private int codePointAt(int index) {
+        return input != null ? input.charAt(index) : codePointsInput[index];
+    }
+
+    /**
+     * Returns the source between the given code point indices.
+     */
+    private String substring(int start, int end) {
+        return input != null ? input.substring(start, end) : new String(codePointsInput, start, end - start);
+    }
+
+    /**
+     * Checks whether the source at {@code start} consists of the code points in {@code test}.
+     */
+    private boolean regionMatches(int start, int[] test) {
+        if (start + test.length > inputLength) {
+            return false;
+        }
+        for (int i = 0; i < test.length; i++) {
+            if (codePointAt(start + i) != test[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     // PyTokenizer_FromFile
@@ -410,17 +451,17 @@ public class Tokenizer {
     int nextChar() {
         if (readNewline) {
             readNewline = false;
-            if (nextCharIndex < codePointsInput.length) {
+            if (nextCharIndex < inputLength) {
                 // cpython does not increment the line number when the last line is empty
                 // (early exit from tok_underflow_file/tok_underflow_string)
                 currentLineNumber++;
             }
             lineStartIndex = nextCharIndex;
         }
-        if (nextCharIndex < codePointsInput.length) {
-            int c = codePointsInput[nextCharIndex];
+        if (nextCharIndex < inputLength) {
+            int c = codePointAt(nextCharIndex);
             if (c == '\r') {
-                if (nextCharIndex + 1 < codePointsInput.length && codePointsInput[nextCharIndex + 1] == '\n') {
+                if (nextCharIndex + 1 < inputLength && codePointAt(nextCharIndex + 1) == '\n') {
                     nextCharIndex++;
                 }
                 c = '\n';
@@ -431,9 +472,9 @@ public class Tokenizer {
             }
             return c;
         } else {
-            if (nextCharIndex == codePointsInput.length && execInput) {
+            if (nextCharIndex == inputLength && execInput) {
                 // check if we need to report a missing newline before eof
-                if (codePointsInput.length == 0 || codePointsInput[nextCharIndex - 1] != '\n') {
+                if (inputLength == 0 || codePointAt(nextCharIndex - 1) != '\n') {
                     nextCharIndex++;
                     readNewline = true;
                     return '\n';
@@ -458,8 +499,8 @@ public class Tokenizer {
     void oneBack() {
         if (nextCharIndex > 0 && done != StatusCode.EOF) {
             nextCharIndex--;
-            if (nextCharIndex < codePointsInput.length && codePointsInput[nextCharIndex] == '\n') {
-                if (nextCharIndex > 0 && codePointsInput[nextCharIndex - 1] == '\r') {
+            if (nextCharIndex < inputLength && codePointAt(nextCharIndex) == '\n') {
+                if (nextCharIndex > 0 && codePointAt(nextCharIndex - 1) == '\r') {
                     nextCharIndex--;
                 }
             }
@@ -500,9 +541,8 @@ public class Tokenizer {
      */
     private boolean lookahead(int... test) {
         int end = nextCharIndex + test.length;
-        if (end + 1 < codePointsInput.length) {
-            return Arrays.equals(codePointsInput, nextCharIndex, end, test, 0, test.length) &&
-                            !isPotentialIdentifierChar(codePointsInput[end]);
+        if (end + 1 < inputLength) {
+            return regionMatches(nextCharIndex, test) && !isPotentialIdentifierChar(codePointAt(end));
         } else {
             return false;
         }
@@ -802,13 +842,13 @@ public class Tokenizer {
                             int prefixIdx = 0;
                             // int chIdx = nextCharIndex;
                             int chIdx = tokenStart;
-                            while (chIdx < codePointsInput.length && prefixIdx < TYPE_COMMENT_PREFIX.length) {
+                            while (chIdx < inputLength && prefixIdx < TYPE_COMMENT_PREFIX.length) {
                                 if (TYPE_COMMENT_PREFIX[prefixIdx] == ' ') {
-                                    while (chIdx < codePointsInput.length &&
-                                                    (codePointsInput[chIdx] == ' ' || codePointsInput[chIdx] == '\t')) {
+                                    while (chIdx < inputLength &&
+                                                    (codePointAt(chIdx) == ' ' || codePointAt(chIdx) == '\t')) {
                                         chIdx++;
                                     }
-                                } else if (TYPE_COMMENT_PREFIX[prefixIdx] == codePointsInput[chIdx]) {
+                                } else if (TYPE_COMMENT_PREFIX[prefixIdx] == codePointAt(chIdx)) {
                                     chIdx++;
                                 } else {
                                     break;
@@ -820,7 +860,7 @@ public class Tokenizer {
                             if (prefixIdx == TYPE_COMMENT_PREFIX.length) {
                                 boolean isTypeIgnore;
                                 int ignoreEnd = chIdx + 6;
-                                int endChar = ignoreEnd < codePointsInput.length ? codePointsInput[ignoreEnd] : -1;
+                                int endChar = ignoreEnd < inputLength ? codePointAt(ignoreEnd) : -1;
                                 oneBack(); /* don't eat the newline or EOF */
 
                                 int typeStart = chIdx;
@@ -830,7 +870,7 @@ public class Tokenizer {
                                  * or anything ASCII and non-alphanumeric.
                                  */
                                 isTypeIgnore = (nextCharIndex >= ignoreEnd &&
-                                                Arrays.equals(codePointsInput, chIdx, ignoreEnd, IGNORE_BYTES, 0, 6) &&
+                                                regionMatches(chIdx, IGNORE_BYTES) &&
                                                 !(nextCharIndex > ignoreEnd &&
                                                                 (endChar >= 128 || Character.isLetterOrDigit(endChar))));
 
@@ -905,7 +945,7 @@ public class Tokenizer {
                         }
                         oneBack();
 
-                        String tokenString = new String(codePointsInput, tokenStart, nextCharIndex - tokenStart);
+                        String tokenString = substring(tokenStart, nextCharIndex);
                         String errMsg = null;
                         if (nonascii && ((errMsg = verifyIdentifier(tokenString)) != null)) {
                             return createToken(Token.Kind.ERRORTOKEN, errMsg);
@@ -1392,12 +1432,12 @@ public class Tokenizer {
 
     public String getTokenString(Token tok) {
         String s;
-        if (tok.startOffset >= codePointsInput.length) {
+        if (tok.startOffset >= inputLength) {
             return "";
-        } else if (tok.endOffset >= codePointsInput.length) {
-            s = new String(codePointsInput, tok.startOffset, codePointsInput.length - tok.startOffset);
+        } else if (tok.endOffset >= inputLength) {
+            s = substring(tok.startOffset, inputLength);
         } else {
-            s = new String(codePointsInput, tok.startOffset, tok.endOffset - tok.startOffset);
+            s = substring(tok.startOffset, tok.endOffset);
         }
         if (s.indexOf('\r') >= 0) {
             s = s.replaceAll("\r\n", "\n");
@@ -1426,27 +1466,27 @@ public class Tokenizer {
      */
     public boolean isBadSingleStatement() {
         int cur = nextCharIndex;
-        if (cur >= codePointsInput.length) {
+        if (cur >= inputLength) {
             return false;
         }
-        int c = codePointsInput[cur];
+        int c = codePointAt(cur);
         while (true) {
             while (c == ' ' || c == '\t' || c == '\n' || c == '\014') {
                 cur++;
-                if (cur >= codePointsInput.length) {
+                if (cur >= inputLength) {
                     return false;
                 }
-                c = codePointsInput[cur];
+                c = codePointAt(cur);
             }
             if (c != '#') {
                 return true;
             }
             while (c != '\n') {
                 cur++;
-                if (cur >= codePointsInput.length) {
+                if (cur >= inputLength) {
                     return false;
                 }
-                c = codePointsInput[cur];
+                c = codePointAt(cur);
             }
         }
     }
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.graal.python.test.PythonTests;
+
+public class PersistentCodeCacheTests {
+    private Path moduleDir;
+    private Path cacheDir;
+
+    @Before
+    public void setUp() throws IOException {
+        moduleDir = Files.createTempDirectory("graalpy-code-cache-src");
+        cacheDir = Files.createTempDirectory("graalpy-code-cache");
+        Files.writeString(moduleDir.resolve("cachedmod.py"), "def value():\n    return sum(i * i for i in range(10))\n");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        deleteRecursively(moduleDir);
+        deleteRecursively(cacheDir);
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private String run() {
+        return run("import cachedmod\nprint(cachedmod.value())\n");
+    }
+
+    private String run(String code) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        String source = "import sys\nsys.path.insert(0, " + pyString(moduleDir.toString()) + ")\n" + code;
+        PythonTests.runScript(Map.of("python.CodeCacheDir", cacheDir.toString()), new String[0], source, new PrintStream(out), System.err);
+        return out.toString(StandardCharsets.UTF_8).trim();
+    }
+
+    /**
+     * Runs {@code code} and prints how many code cache lookups it hit and missed.
+     */
+    private String runCountingLookups(String code) {
+        return run("before = __graalpython__.code_cache_stats()\n" + code + "\nafter = __graalpython__.code_cache_stats()\n" +
+                        "print(after['hits'] - before['hits'], after['misses'] - before['misses'])\n");
+    }
+
+    private static String pyString(String s) {
+        return "'" + s.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
+    private List<Path> cacheEntries() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".gpyc")).collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testEntriesAreWrittenAndReused() throws IOException {
+        assertEquals("0 1", runCountingLookups("import cachedmod"));
+        List<Path> entries = cacheEntries();
+        assertTrue(!entries.isEmpty());
+        // a fresh context loads the module from the cache without parsing it again
+        assertEquals("1 0", runCountingLookups("import cachedmod"));
+        assertEquals(entries.size(), cacheEntries().size());
+        assertEquals("285", run());
+    }
+
+    @Test
+    public void testCompiledStringsAreNotCached() throws IOException {
+        String code = "exec(compile('def value():\\n    return 7\\n', 'phantom.py', 'exec'))";
+        assertEquals("0 0", runCountingLookups(code));
+        List<Path> entries = cacheEntries();
+        assertEquals("0 0", runCountingLookups(code));
+        assertEquals(entries.size(), cacheEntries().size());
+    }
+
+    @Test
+    public void testChangedSourceMissesCache() throws IOException {
+        assertEquals("285", run());
+        int before = cacheEntries().size();
+        Files.writeString(moduleDir.resolve("cachedmod.py"), "def value():\n    return 42\n");
+        assertEquals("42", run());
+        assertEquals(before + 1, cacheEntries().size());
+    }
+
+    @Test
+    public void testCorruptEntriesAreIgnored() throws IOException {
+        assertEquals("285", run());
+        for (Path entry : cacheEntries()) {
+            byte[] data = Files.readAllBytes(entry);
+            data[data.length - 1] ^= 0x5a;
+            Files.write(entry, data);
+        }
+        assertEquals("285", run());
+    }
+}
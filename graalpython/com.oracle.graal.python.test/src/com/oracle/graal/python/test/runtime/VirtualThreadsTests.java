@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeNoException;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.graal.python.test.PythonTests;
+
+public class VirtualThreadsTests {
+    private static final int THREADS = 50;
+
+    @Test
+    public void testPythonThreadsRunOnVirtualThreads() throws ReflectiveOperationException {
+        Method isVirtual = null;
+        try {
+            // we still compile for JDK 17
+            isVirtual = Thread.class.getMethod("isVirtual");
+        } catch (NoSuchMethodException e) {
+            assumeNoException("virtual threads need JDK 21", e);
+        }
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        try {
+            Context context = PythonTests.enterContext(Map.of("python.VirtualThreads", "true", "python.PosixModuleBackend", "java"), new String[0]);
+            context.getPolyglotBindings().putMember("record_thread", (Runnable) () -> threads.add(Thread.currentThread()));
+            context.eval("python", """
+                            import polyglot, threading
+                            record_thread = polyglot.import_value('record_thread')
+                            record_thread.run()
+                            workers = [threading.Thread(target=record_thread.run) for i in range(%d)]
+                            for t in workers:
+                                t.start()
+                            for t in workers:
+                                t.join()
+                            """.formatted(THREADS));
+        } finally {
+            PythonTests.closeContext();
+        }
+        assertEquals(THREADS + 1, threads.size());
+        // the thread that entered the context is not a Python thread
+        assertFalse((Boolean) isVirtual.invoke(threads.get(0)));
+        for (Thread thread : threads.subList(1, threads.size())) {
+            assertTrue(thread.toString(), (Boolean) isVirtual.invoke(thread));
+        }
+    }
+}
@@ -82,6 +82,14 @@ class ManagedNativeDeltaSubclass(NativeDeltaSubclass):
     pass
 
 
+class ManagedDate(datetime.date):
+    pass
+
+
+class ManagedDateTime(datetime.datetime):
+    pass
+
+
 class TestPyDateTime(CPyExtTestCase):
 
     def compile_module(self, name):
@@ -309,6 +317,101 @@ class TestPyDateTime(CPyExtTestCase):
         cmpfunc=unhandled_error_compare,
     )
 
+    test_PyDate_Check = CPyExtFunction(
+        lambda args: isinstance(args[0], datetime.date),
+        lambda: (
+            (datetime.date(2023, 2, 12),),
+            (datetime.datetime(2023, 2, 12),),
+            (ManagedDate(2023, 2, 12),),
+            (datetime.timedelta(1),),
+            (1,),
+        ),
+        code='''#include "datetime.h"
+        int wrap_PyDate_Check(PyObject* obj) {
+            PyDateTime_IMPORT;
+            return PyDate_Check(obj);
+        }''',
+        callfunction="wrap_PyDate_Check",
+        resultspec="i",
+        argspec='O',
+        arguments=("PyObject* obj",),
+        cmpfunc=unhandled_error_compare,
+    )
+
+    test_PyDateTime_Check = CPyExtFunction(
+        lambda args: isinstance(args[0], datetime.datetime),
+        lambda: (
+            (datetime.date(2023, 2, 12),),
+            (datetime.datetime(2023, 2, 12),),
+            (ManagedDateTime(2023, 2, 12),),
+            (datetime.time(1),),
+        ),
+        code='''#include "datetime.h"
+        int wrap_PyDateTime_Check(PyObject* obj) {
+            PyDateTime_IMPORT;
+            return PyDateTime_Check(obj);
+        }''',
+        callfunction="wrap_PyDateTime_Check",
+        resultspec="i",
+        argspec='O',
+        arguments=("PyObject* obj",),
+        cmpfunc=unhandled_error_compare,
+    )
+
+    test_PyDelta_Check = CPyExtFunction(
+        lambda args: isinstance(args[0], datetime.timedelta),
+        lambda: (
+            (datetime.timedelta(1),),
+            (datetime.date(2023, 2, 12),),
+        ),
+        code='''#include "datetime.h"
+        int wrap_PyDelta_Check(PyObject* obj) {
+            PyDateTime_IMPORT;
+            return PyDelta_Check(obj);
+        }''',
+        callfunction="wrap_PyDelta_Check",
+        resultspec="i",
+        argspec='O',
+        arguments=("PyObject* obj",),
+        cmpfunc=unhandled_error_compare,
+    )
+
+    test_PyTZInfo_Check = CPyExtFunction(
+        lambda args: isinstance(args[0], datetime.tzinfo),
+        lambda: (
+            (datetime.timezone.utc,),
+            (datetime.timezone(datetime.timedelta(hours=2), "two"),),
+            (datetime.timedelta(1),),
+        ),
+        code='''#include "datetime.h"
+        int wrap_PyTZInfo_Check(PyObject* obj) {
+            PyDateTime_IMPORT;
+            return PyTZInfo_Check(obj);
+        }''',
+        callfunction="wrap_PyTZInfo_Check",
+        resultspec="i",
+        argspec='O',
+        arguments=("PyObject* obj",),
+        cmpfunc=unhandled_error_compare,
+    )
+
+    test_PyDateTime_GET_YEAR_subclass = CPyExtFunction(
+        lambda args: (args[0].year, args[0].month, args[0].day),
+        lambda: (
+            (ManagedDate(2023, 2, 12),),
+            (ManagedDateTime(2024, 3, 13, 1, 2, 3),),
+        ),
+        code='''#include "datetime.h"
+        PyObject* wrap_PyDateTime_GET_YEAR_subclass(PyObject* obj) {
+            return Py_BuildValue("iii", PyDateTime_GET_YEAR(obj), PyDateTime_GET_MONTH(obj), PyDateTime_GET_DAY(obj));
+        }''',
+        callfunction="wrap_PyDateTime_GET_YEAR_subclass",
+        resultspec="O",
+        argspec='O',
+        arguments=("PyObject* obj",),
+        cmpfunc=unhandled_error_compare,
+    )
+
 
 class TestDateTime(object):
 
@@ -645,3 +748,17 @@ if not IS_MANAGED_LAUNCHER:
                 x = t(hours=6)
                 assert is_native_object(x)
                 assert x.seconds == 21600
+
+        def test_semantics(self):
+            # native subclasses read their fields through the managed getters
+            d = NativeDateTimeSubclass(1992, 4, 11, hour=13)
+            assert d == datetime.datetime(1992, 4, 11, 13)
+            assert d < datetime.datetime(1992, 4, 11, 14)
+            assert d - datetime.datetime(1992, 4, 10) == datetime.timedelta(days=1, hours=13)
+            assert (d + datetime.timedelta(hours=11)) == datetime.datetime(1992, 4, 12)
+            assert d.isoformat() == "1992-04-11T13:00:00"
+            assert d.replace(tzinfo=datetime.timezone.utc).utcoffset() == datetime.timedelta(0)
+            assert d.__reduce__()[1][0] == datetime.datetime(1992, 4, 11, 13).__reduce__()[1][0]
+            td = NativeDeltaSubclass(hours=6)
+            assert td * 4 == datetime.timedelta(days=1)
+            assert hash(td) == hash(datetime.timedelta(hours=6))
@@ -38,6 +38,7 @@
 # SOFTWARE.
 
 import os
+import struct
 import sys
 import subprocess
 import tempfile
@@ -59,6 +60,38 @@ def run_cmd(cmd, env, cwd=None):
         out.append(line)
     return "".join(out), process.wait()
 
+def read_files_index(path):
+    # reads the index written by VFSUtils.generateVFSFilesList and returns its entries in the
+    # format of fileslist.txt
+    with open(path, 'rb') as f:
+        data = f.read()
+    pos = 0
+
+    def read(fmt):
+        nonlocal pos
+        values = struct.unpack_from(fmt, data, pos)
+        pos += struct.calcsize(fmt)
+        return values[0]
+
+    def read_utf():
+        nonlocal pos
+        length = read('>H')
+        pos += length
+        return data[pos - length:pos].decode('utf-8')
+
+    assert read('>i') == 0x47505646
+    assert read('>i') == 1
+    entries = []
+    for i in range(read('>i')):
+        directory = read_utf()
+        if i == 0:
+            entries.append(directory + '/')
+        for _ in range(read('>i')):
+            is_dir = read('>?')
+            entries.append(directory + '/' + read_utf() + ('/' if is_dir else ''))
+    assert pos == len(data)
+    return entries
+
 def get_executable(file):
     if os.path.isfile(file):
         return file
@@ -284,6 +317,10 @@ class PolyglotAppTest(unittest.TestCase):
                 assert "/vfs/home/\n" in lines
                 assert "/vfs/home/lib-graalpython/\n" in lines
                 assert "/vfs/home/lib-python/\n" in lines
+                # the index lists the same entries, the root directory first
+                index = read_files_index(os.path.join(target_dir, "target", "classes", "vfs", "fileslist.idx"))
+                assert index[0] == "/vfs/"
+                assert sorted(index) == sorted(line.rstrip("\n") for line in lines)
 
                 # execute and check native image
                 cmd = [os.path.join(target_dir, "target", target_name)]
@@ -0,0 +1,225 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+import datetime
+import pickle
+import sys
+import unittest
+from datetime import date, datetime as dt, time, timedelta, timezone, tzinfo
+
+
+class FixedOffset(tzinfo):
+    def __init__(self, minutes, name):
+        self.offset = timedelta(minutes=minutes)
+        self.name = name
+
+    def utcoffset(self, d):
+        return self.offset
+
+    def tzname(self, d):
+        return self.name
+
+    def dst(self, d):
+        return timedelta(0)
+
+    def __eq__(self, other):
+        return isinstance(other, FixedOffset) and (self.offset, self.name) == (other.offset, other.name)
+
+    def __hash__(self):
+        return hash((self.offset, self.name))
+
+    def __reduce__(self):
+        return FixedOffset, (self.offset // timedelta(minutes=1), self.name)
+
+
+class MyDate(date):
+    pass
+
+
+class MyDateTime(dt):
+    pass
+
+
+class DateTimeTests(unittest.TestCase):
+
+    @unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy-specific")
+    def test_builtin_types(self):
+        import _datetime
+        for name in ('date', 'time', 'datetime', 'timedelta', 'tzinfo', 'timezone'):
+            self.assertIs(getattr(datetime, name), getattr(_datetime, name))
+        self.assertFalse(hasattr(date(2024, 1, 1), '__dict__'))
+
+    def test_comparison(self):
+        self.assertLess(date(2023, 12, 31), date(2024, 1, 1))
+        self.assertLess(dt(2024, 1, 1, 0, 0, 0, 1), dt(2024, 1, 1, 0, 0, 1))
+        self.assertLess(time(1, 2, 3), time(1, 2, 3, 1))
+        self.assertLess(timedelta(microseconds=-1), timedelta(0))
+        self.assertEqual(timedelta(days=1), timedelta(hours=24))
+        self.assertEqual(hash(timedelta(days=1)), hash(timedelta(hours=24)))
+        # a datetime is not equal to a date, and they cannot be ordered
+        self.assertNotEqual(dt(2024, 1, 1), date(2024, 1, 1))
+        self.assertRaises(TypeError, lambda: dt(2024, 1, 1) < date(2024, 1, 2))
+        self.assertRaises(TypeError, lambda: date(2024, 1, 1) < 1)
+        self.assertRaises(TypeError, lambda: timedelta(0) < 0)
+        # aware and naive values are never equal and cannot be ordered
+        aware = dt(2024, 1, 1, tzinfo=timezone.utc)
+        self.assertNotEqual(aware, dt(2024, 1, 1))
+        self.assertRaises(TypeError, lambda: aware < dt(2024, 1, 1))
+        # aware values compare in UTC
+        plus_one = timezone(timedelta(hours=1))
+        self.assertEqual(dt(2024, 1, 1, 1, tzinfo=plus_one), aware)
+        self.assertEqual(hash(dt(2024, 1, 1, 1, tzinfo=plus_one)), hash(aware))
+        self.assertLess(dt(2024, 1, 1, 0, 59, tzinfo=plus_one), aware)
+
+    def test_date_arithmetic(self):
+        self.assertEqual(date(2024, 2, 28) + timedelta(days=1), date(2024, 2, 29))
+        self.assertEqual(date(2023, 2, 28) + timedelta(days=1), date(2023, 3, 1))
+        self.assertEqual(timedelta(days=1) + date(2023, 12, 31), date(2024, 1, 1))
+        self.assertEqual(date(2024, 3, 1) - date(2023, 3, 1), timedelta(days=366))
+        self.assertEqual(date(2024, 3, 1) - timedelta(days=1, hours=23), date(2024, 2, 29))
+        self.assertRaises(OverflowError, lambda: date.max + timedelta(days=1))
+        self.assertRaises(OverflowError, lambda: date.min - timedelta(days=1))
+        self.assertEqual(date(2024, 1, 1).toordinal(), 738886)
+        self.assertEqual(date.fromordinal(738886), date(2024, 1, 1))
+        self.assertEqual(date(2024, 12, 30).isocalendar(), (2025, 1, 1))
+        self.assertEqual(date(2024, 1, 1).weekday(), 0)
+
+    def test_datetime_arithmetic(self):
+        d = dt(2024, 12, 31, 23, 59, 59, 999999)
+        self.assertEqual(d + timedelta(microseconds=1), dt(2025, 1, 1))
+        self.assertEqual(d - dt(2024, 1, 1), timedelta(days=365, seconds=86399, microseconds=999999))
+        self.assertEqual(dt(2024, 1, 1) - d, timedelta(days=-366, microseconds=1))
+        self.assertRaises(OverflowError, lambda: dt.max + timedelta(microseconds=1))
+        self.assertRaises(TypeError, lambda: d - date(2024, 1, 1))
+        self.assertRaises(TypeError, lambda: d + d)
+        aware = dt(2024, 1, 1, 12, tzinfo=timezone.utc)
+        self.assertEqual(aware - dt(2024, 1, 1, 12, tzinfo=timezone(timedelta(hours=2))), timedelta(hours=2))
+        self.assertRaises(TypeError, lambda: aware - dt(2024, 1, 1))
+
+    def test_timedelta_arithmetic(self):
+        td = timedelta(days=1, seconds=2, microseconds=3)
+        self.assertEqual(td * 2, timedelta(days=2, seconds=4, microseconds=6))
+        self.assertEqual(td / 2, timedelta(seconds=43201, microseconds=2))
+        self.assertEqual(td // timedelta(seconds=1), 86402)
+        self.assertEqual(td % timedelta(seconds=1), timedelta(microseconds=3))
+        self.assertEqual(divmod(td, timedelta(days=1)), (1, timedelta(seconds=2, microseconds=3)))
+        self.assertEqual(-td, timedelta(days=-2, seconds=86397, microseconds=999997))
+        self.assertEqual(abs(-td), td)
+        self.assertEqual(td.total_seconds(), 86402.000003)
+        # floats are rounded half to even
+        self.assertEqual(timedelta(microseconds=0.5), timedelta(0))
+        self.assertEqual(timedelta(microseconds=1.5), timedelta(microseconds=2))
+        self.assertEqual(timedelta(seconds=0.5, microseconds=0.5), timedelta(microseconds=500000))
+        self.assertEqual(timedelta(hours=1.5) * 0.5, timedelta(minutes=45))
+        self.assertEqual(timedelta(days=999999999, hours=23, minutes=59, seconds=59, microseconds=999999), timedelta.max)
+        self.assertRaises(OverflowError, timedelta, days=1000000000)
+        self.assertRaises(OverflowError, lambda: timedelta.max + timedelta(microseconds=1))
+        self.assertRaises(ZeroDivisionError, lambda: td // timedelta(0))
+        self.assertEqual(repr(td), 'datetime.timedelta(days=1, seconds=2, microseconds=3)')
+        self.assertEqual(str(-td), '-2 days, 23:59:57.999997')
+
+    def test_tz(self):
+        utc = timezone.utc
+        est = timezone(timedelta(hours=-5), 'EST')
+        d = dt(2024, 1, 1, 12, tzinfo=utc)
+        self.assertEqual(d.utcoffset(), timedelta(0))
+        self.assertEqual(d.tzname(), 'UTC')
+        self.assertEqual(d.astimezone(est), dt(2024, 1, 1, 7, tzinfo=est))
+        self.assertEqual(d.astimezone(est).hour, 7)
+        self.assertEqual(d.astimezone(est).tzname(), 'EST')
+        self.assertEqual(d.isoformat(), '2024-01-01T12:00:00+00:00')
+        self.assertEqual(d.astimezone(est).isoformat(), '2024-01-01T07:00:00-05:00')
+        self.assertEqual(d.timestamp(), 1704110400.0)
+        self.assertEqual(dt.fromtimestamp(1704110400, utc), d)
+        self.assertEqual(timezone(timedelta(hours=5, minutes=30)).tzname(None), 'UTC+05:30')
+        self.assertRaises(ValueError, timezone, timedelta(hours=24))
+        custom = FixedOffset(90, 'X')
+        d2 = dt(2024, 1, 1, 12, tzinfo=custom)
+        self.assertEqual(d2.utcoffset(), timedelta(minutes=90))
+        self.assertEqual(d2.strftime('%H:%M %z %Z'), '12:00 +0130 X')
+        self.assertEqual(d2.astimezone(utc), dt(2024, 1, 1, 10, 30, tzinfo=utc))
+        self.assertEqual(time(1, tzinfo=custom).utcoffset(), timedelta(minutes=90))
+        self.assertEqual(d2.replace(tzinfo=None), dt(2024, 1, 1, 12))
+        self.assertEqual(dt.fromisoformat('2024-01-01T12:00:00+01:30'), d2)
+        # fold is ignored by comparison and preserved by replace
+        self.assertEqual(dt(2024, 1, 1, fold=1), dt(2024, 1, 1))
+        self.assertEqual(dt(2024, 1, 1).replace(fold=1).fold, 1)
+        self.assertRaises(TypeError, dt, 2024, 1, 1, tzinfo=1)
+
+    def test_pickle(self):
+        values = [
+            date(2024, 2, 29), date.min, date.max,
+            time(23, 59, 59, 999999), time(1, tzinfo=timezone.utc), time(1, fold=1),
+            dt(2024, 2, 29, 1, 2, 3, 4), dt(2024, 1, 1, tzinfo=timezone(timedelta(hours=-3), 'X')),
+            dt(2024, 1, 1, tzinfo=FixedOffset(30, 'half')), dt(2024, 11, 3, 1, 30, fold=1), dt.max,
+            timedelta(days=-1, microseconds=5), timedelta.max, timedelta.min,
+            timezone.utc, timezone(timedelta(hours=2), 'two'),
+        ]
+        for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+            for value in values:
+                with self.subTest(proto=proto, value=value):
+                    copy = pickle.loads(pickle.dumps(value, proto))
+                    self.assertEqual(copy, value)
+                    self.assertIs(type(copy), type(value))
+                    if isinstance(value, (time, dt)):
+                        self.assertEqual(copy.tzinfo, value.tzinfo)
+                        # the fold is only stored since protocol 4
+                        self.assertEqual(copy.fold, value.fold if proto > 3 else 0)
+
+    def test_pickle_state(self):
+        self.assertEqual(date(b'\x07\xe8\x02\x1d'), date(2024, 2, 29))
+        self.assertEqual(dt(b'\x07\xe8\x82\x1d\x01\x02\x03\x00\x00\x04').fold, 1)
+        self.assertEqual(time(b'\x81\x02\x03\x00\x00\x04').fold, 1)
+        # a date has no fold bit, so the month byte must be in range as is
+        self.assertRaises(TypeError, date, b'\x07\xe8\x82\x1d')
+        self.assertRaises(TypeError, dt, b'\x07\xe8\x0d\x1d\x01\x02\x03\x00\x00\x04')
+        self.assertRaises(TypeError, dt, b'\x07\xe8\x02\x1d\x01\x02\x03\x00\x00\x04', 1)
+
+    def test_subclass(self):
+        d = MyDate(2024, 1, 1)
+        self.assertEqual(d, date(2024, 1, 1))
+        self.assertIs(type(d.replace(day=2)), MyDate)
+        self.assertIs(type(pickle.loads(pickle.dumps(d))), MyDate)
+        d.attr = 42
+        self.assertEqual(d.attr, 42)
+        self.assertIs(type(MyDateTime.fromisoformat('2024-01-01T00:00:00')), MyDateTime)
+        self.assertIs(type(MyDateTime(2024, 1, 1) + timedelta(1)), MyDateTime)
+
+
+if __name__ == '__main__':
+    unittest.main()
@@ -0,0 +1,369 @@
+# Copyright (c) 2019, 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+import decimal
+import math
+import pickle
+import sys
+import unittest
+from decimal import (Clamped, Context, Decimal, DivisionByZero, Inexact, InvalidOperation, Overflow, Rounded, Subnormal,
+                     Underflow, ROUND_05UP, ROUND_CEILING, ROUND_DOWN, ROUND_FLOOR, ROUND_HALF_DOWN, ROUND_HALF_EVEN,
+                     ROUND_HALF_UP, ROUND_UP, localcontext)
+
+try:
+    import _decimal
+except ImportError:
+    _decimal = None
+
+
+def quiet_context(**kwargs):
+    return Context(traps=[], flags=[], **kwargs)
+
+
+def raised(ctx):
+    return {s for s in (Clamped, DivisionByZero, Inexact, InvalidOperation, Overflow, Rounded, Subnormal, Underflow) if ctx.flags[s]}
+
+
+class DecimalArithmeticTests(unittest.TestCase):
+
+    @unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy-specific")
+    def test_native_module(self):
+        self.assertIs(decimal.Decimal, _decimal.Decimal)
+
+    def test_small_and_large_coefficients(self):
+        self.assertEqual(str(Decimal('1.10') + Decimal('2.20')), '3.30')
+        self.assertEqual(str(Decimal('19.99') * 3), '59.97')
+        self.assertEqual(str(Decimal('-0.5') - Decimal('0.5')), '-1.0')
+        self.assertEqual(str(Decimal('999999999999999999') + 1), '1000000000000000000')
+        self.assertEqual(str(Decimal('123456789012345678901234567') * 10), '1234567890123456789012345670')
+        self.assertEqual(str(Decimal(1) / 3), '0.3333333333333333333333333333')
+        self.assertEqual(str(Decimal(2) / 3), '0.6666666666666666666666666667')
+        self.assertEqual(str(Decimal(10) / 4), '2.5')
+        self.assertEqual(divmod(Decimal(-7), Decimal(2)), (Decimal(-3), Decimal(-1)))
+        self.assertEqual(str(Decimal(-7) // 2), '-3')
+        self.assertEqual(str(Decimal(-7) % 2), '-1')
+        self.assertEqual(str(Decimal('0.00') + Decimal('-0.0')), '0.00')
+        self.assertEqual(Decimal('1.0'), Decimal('1.000'))
+        self.assertEqual(hash(Decimal('1.0')), hash(1))
+        self.assertEqual(hash(Decimal('0.5')), hash(0.5))
+        self.assertLess(Decimal('-Infinity'), Decimal('-1E+999'))
+
+    def test_rounding_modes(self):
+        expected = {
+            ROUND_UP: ['3', '-3', '3'],
+            ROUND_DOWN: ['2', '-2', '2'],
+            ROUND_CEILING: ['3', '-2', '3'],
+            ROUND_FLOOR: ['2', '-3', '2'],
+            ROUND_HALF_UP: ['3', '-3', '2'],
+            ROUND_HALF_DOWN: ['2', '-2', '2'],
+            ROUND_HALF_EVEN: ['2', '-2', '2'],
+            ROUND_05UP: ['2', '-2', '2'],
+        }
+        for rounding, results in expected.items():
+            values = [Decimal('2.5'), Decimal('-2.5'), Decimal('2.25')]
+            self.assertEqual([str(v.quantize(Decimal(1), rounding=rounding)) for v in values], results, rounding)
+            ctx = quiet_context(prec=1, rounding=rounding)
+            self.assertEqual(str(ctx.plus(Decimal('2.5'))), results[0], rounding)
+        self.assertEqual(str(Decimal('1.05').quantize(Decimal('0.1'), rounding=ROUND_05UP)), '1.1')
+        self.assertEqual(str(Decimal('1.15').quantize(Decimal('0.1'), rounding=ROUND_05UP)), '1.1')
+
+    def test_traps_and_flags(self):
+        ctx = Context(prec=5, traps=[DivisionByZero], flags=[])
+        with self.assertRaises(DivisionByZero):
+            ctx.divide(Decimal(1), Decimal(0))
+        self.assertTrue(ctx.flags[DivisionByZero])
+        self.assertEqual(str(ctx.divide(Decimal(1), Decimal(3))), '0.33333')
+        self.assertEqual(raised(ctx), {DivisionByZero, Inexact, Rounded})
+
+        ctx = quiet_context(Emax=9)
+        self.assertEqual(str(ctx.multiply(Decimal('1E+9'), 10)), 'Infinity')
+        self.assertEqual(raised(ctx), {Overflow, Inexact, Rounded})
+
+        ctx = quiet_context()
+        self.assertTrue(ctx.sqrt(Decimal(-1)).is_nan())
+        self.assertEqual(raised(ctx), {InvalidOperation})
+
+        with localcontext() as ctx:
+            ctx.traps[Inexact] = True
+            self.assertEqual(Decimal(1) / 4, Decimal('0.25'))
+            self.assertRaises(Inexact, lambda: Decimal(1) / 3)
+            self.assertRaises(Inexact, Decimal(2).sqrt)
+            self.assertRaises(Inexact, pow, Decimal(2), Decimal('0.5'))
+        with localcontext() as ctx:
+            ctx.traps[InvalidOperation] = False
+            self.assertTrue(Decimal('sNaN').exp().is_qnan())
+            self.assertTrue(ctx.flags[InvalidOperation])
+
+    def test_pickle(self):
+        values = [Decimal('1.10'), Decimal('-0'), Decimal('1E+999999'), Decimal('-Infinity'), Decimal('NaN123'),
+                  Decimal('sNaN'), Decimal('123456789012345678901234567890.123')]
+        for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+            for value in values:
+                result = pickle.loads(pickle.dumps(value, proto))
+                self.assertIs(type(result), Decimal)
+                self.assertEqual(str(result), str(value))
+            ctx = Context(prec=7, rounding=ROUND_DOWN, Emin=-99, Emax=99, capitals=0, clamp=1, flags=[Inexact], traps=[Overflow])
+            result = pickle.loads(pickle.dumps(ctx, proto))
+            self.assertEqual((result.prec, result.rounding, result.Emin, result.Emax, result.capitals, result.clamp),
+                             (7, ROUND_DOWN, -99, 99, 0, 1))
+            self.assertTrue(result.flags[Inexact])
+            self.assertTrue(result.traps[Overflow])
+            self.assertFalse(result.traps[DivisionByZero])
+
+
+class DecimalPowerTests(unittest.TestCase):
+
+    def check(self, ctx, x, y, expected, flags=()):
+        ctx.clear_flags()
+        self.assertEqual(str(ctx.power(Decimal(x), Decimal(y))), expected, (x, y))
+        self.assertEqual(raised(ctx), set(flags), (x, y))
+
+    def test_exact(self):
+        ctx = quiet_context()
+        self.check(ctx, '2', '10', '1024')
+        self.check(ctx, '2', '-2', '0.25')
+        self.check(ctx, '-2', '3', '-8')
+        self.check(ctx, '1.0', '3', '1.000')
+        self.check(ctx, '10', '-3', '0.001')
+        # exact results for non-integral exponents are padded to the precision like in _pydecimal
+        self.check(ctx, '4', '0.5', '2.000000000000000000000000000', [Inexact, Rounded])
+        self.check(ctx, '0.25', '-1.5', '8.000000000000000000000000000', [Inexact, Rounded])
+        self.check(ctx, '1E+4', '0.25', '10.00000000000000000000000000', [Inexact, Rounded])
+
+    def test_inexact(self):
+        ctx = quiet_context()
+        self.check(ctx, '2', '0.5', '1.414213562373095048801688724', [Inexact, Rounded])
+        self.check(ctx, '10', '0.3', '1.995262314968879601352455397', [Inexact, Rounded])
+        self.check(ctx, '3', '100', '5.153775207320113310364611298E+47', [Inexact, Rounded])
+        ctx = quiet_context(prec=5)
+        self.check(ctx, '7', '-3', '0.0029155', [Inexact, Rounded])
+
+    def test_special(self):
+        ctx = quiet_context()
+        self.check(ctx, '0', '0', 'NaN', [InvalidOperation])
+        self.check(ctx, '-2', '0.5', 'NaN', [InvalidOperation])
+        self.check(ctx, '0', '-1', 'Infinity')
+        self.check(ctx, '-0', '-3', '-Infinity')
+        self.check(ctx, '-0', '-2', 'Infinity')
+        self.check(ctx, '-Infinity', '3', '-Infinity')
+        self.check(ctx, 'Infinity', '-1', '0')
+        self.check(ctx, '5', '0', '1')
+        self.check(ctx, 'NaN', '0', 'NaN')
+        self.check(ctx, 'sNaN7', '2', 'NaN7', [InvalidOperation])
+        self.check(ctx, '1', 'Infinity', '1.000000000000000000000000000', [Inexact, Rounded])
+        ctx = quiet_context(Emax=99, Emin=-99)
+        self.check(ctx, '10', '100', 'Infinity', [Overflow, Inexact, Rounded])
+        self.check(ctx, '10', '-100', '1E-100', [Subnormal])
+        self.check(ctx, '10', '-200', '0E-126', [Underflow, Subnormal, Inexact, Rounded, Clamped])
+
+    def test_operators(self):
+        self.assertEqual(Decimal(2) ** 8, Decimal(256))
+        self.assertEqual(2 ** Decimal(8), Decimal(256))
+        self.assertEqual(Decimal('1.5') ** 2, Decimal('2.25'))
+        self.assertEqual(pow(Decimal(3), 7, 10), Decimal(7))
+        self.assertEqual(pow(Decimal(-3), 1234567, -1000003), Decimal(-561168))
+        self.assertEqual(pow(Decimal(3), Decimal(200), Decimal(10**20 + 39)), Decimal(pow(3, 200, 10**20 + 39)))
+        with self.assertRaises(InvalidOperation):
+            pow(Decimal(3), 7, 0)
+        with self.assertRaises(InvalidOperation):
+            pow(Decimal('3.5'), 7, 10)
+        with self.assertRaises(InvalidOperation):
+            pow(Decimal(3), -1, 10)
+        with self.assertRaises(InvalidOperation):
+            Decimal(0) ** 0
+        with self.assertRaises(TypeError):
+            Decimal(2) ** 0.5
+        self.assertEqual(Decimal(2).__pow__(2.5), NotImplemented)
+        ctx = quiet_context(prec=3)
+        self.assertEqual(str(ctx.power(Decimal(3), 7, 10)), '7')
+        self.assertEqual(str(ctx.power(Decimal(12345), 3, 10**6)), 'NaN')
+        self.assertTrue(ctx.flags[InvalidOperation])
+
+
+class DecimalFunctionTests(unittest.TestCase):
+
+    def test_exp_ln_log10_sqrt(self):
+        ctx = quiet_context()
+        self.assertEqual(str(ctx.exp(Decimal(1))), '2.718281828459045235360287471')
+        self.assertEqual(str(ctx.exp(Decimal(0))), '1')
+        self.assertEqual(str(ctx.exp(Decimal('-Infinity'))), '0')
+        self.assertEqual(str(ctx.ln(Decimal(10))), '2.302585092994045684017991455')
+        self.assertEqual(str(ctx.ln(Decimal(1))), '0')
+        self.assertEqual(str(ctx.ln(Decimal(0))), '-Infinity')
+        self.assertEqual(str(ctx.log10(Decimal(1000))), '3')
+        self.assertEqual(str(ctx.log10(Decimal('0.001'))), '-3')
+        self.assertEqual(str(ctx.log10(Decimal(2))), '0.3010299956639811952137388947')
+        self.assertEqual(str(ctx.logb(Decimal('123.4'))), '2')
+        self.assertEqual(str(ctx.sqrt(Decimal(2))), '1.414213562373095048801688724')
+        self.assertEqual(str(ctx.sqrt(Decimal('0.0100'))), '0.10')
+        self.assertEqual(str(ctx.sqrt(Decimal('-0'))), '-0')
+        self.assertEqual(str(Decimal(2).sqrt(Context(prec=50))), '1.4142135623730950488016887242096980785696718753769')
+        ctx.clear_flags()
+        self.assertEqual(str(ctx.exp(Decimal('1E+20'))), 'Infinity')
+        self.assertEqual(raised(ctx), {Overflow, Inexact, Rounded})
+        ctx.clear_flags()
+        ctx.ln(Decimal(-1))
+        self.assertEqual(raised(ctx), {InvalidOperation})
+        ctx.clear_flags()
+        self.assertEqual(str(ctx.logb(Decimal(0))), '-Infinity')
+        self.assertEqual(raised(ctx), {DivisionByZero})
+
+    def test_neighbours(self):
+        ctx = quiet_context(prec=3, Emax=9, Emin=-9)
+        self.assertEqual(str(ctx.next_plus(Decimal(1))), '1.01')
+        self.assertEqual(str(ctx.next_minus(Decimal(1))), '0.999')
+        self.assertEqual(str(ctx.next_plus(Decimal('-Infinity'))), '-9.99E+9')
+        self.assertEqual(str(ctx.next_minus(Decimal(0))), '-1E-11')
+        self.assertEqual(str(ctx.next_toward(Decimal(1), Decimal(2))), '1.01')
+        self.assertEqual(str(ctx.next_toward(Decimal(1), Decimal(1))), '1')
+        ctx.clear_flags()
+        self.assertEqual(str(ctx.next_toward(Decimal('9.99E+9'), Decimal('Infinity'))), 'Infinity')
+        self.assertEqual(raised(ctx), {Overflow, Inexact, Rounded})
+        self.assertEqual(str(ctx.max_mag(Decimal(-3), Decimal(2))), '-3')
+        self.assertEqual(str(ctx.min_mag(Decimal(-3), Decimal(2))), '2')
+
+    def test_digit_wise(self):
+        ctx = quiet_context(prec=9)
+        self.assertEqual(str(ctx.rotate(Decimal('123456789'), 2)), '345678912')
+        self.assertEqual(str(ctx.rotate(Decimal('123'), -1)), '300000012')
+        self.assertEqual(str(ctx.shift(Decimal('123456789'), 2)), '345678900')
+        self.assertEqual(str(ctx.shift(Decimal('123456789'), -2)), '1234567')
+        self.assertEqual(str(ctx.scaleb(Decimal('7.5'), 3)), '7.5E+3')
+        self.assertEqual(str(ctx.logical_and(Decimal('1100'), Decimal('1010'))), '1000')
+        self.assertEqual(str(ctx.logical_or(Decimal('1100'), Decimal('1010'))), '1110')
+        self.assertEqual(str(ctx.logical_xor(Decimal('1100'), Decimal('1010'))), '110')
+        self.assertEqual(str(ctx.logical_invert(Decimal('101'))), '111111010')
+        self.assertEqual(str(Decimal('101').logical_invert(Context(prec=5))), '11010')
+        ctx.clear_flags()
+        self.assertTrue(ctx.logical_and(Decimal('12'), Decimal('1')).is_nan())
+        self.assertTrue(ctx.rotate(Decimal(1), Decimal('0.5')).is_nan())
+        self.assertEqual(raised(ctx), {InvalidOperation})
+
+    def test_fma(self):
+        ctx = quiet_context(prec=5)
+        self.assertEqual(str(ctx.fma(Decimal(2), Decimal(3), Decimal(4))), '10')
+        self.assertEqual(str(ctx.fma(Decimal('1.00001'), Decimal('1.00001'), Decimal(-1))), '0.000020000')
+        self.assertEqual(str(Decimal('12345').fma(10, Decimal('0.5'), Context(prec=5))), '1.2345E+5')
+        self.assertTrue(ctx.fma(Decimal('Infinity'), Decimal(0), Decimal(1)).is_nan())
+
+
+class DecimalFormatTests(unittest.TestCase):
+
+    def test_types(self):
+        cases = [
+            ('1.50', '', '1.50'),
+            ('1E+3', '', '1E+3'),
+            ('1234.5678', 'f', '1234.5678'),
+            ('1234.5678', '.2f', '1234.57'),
+            ('1234.5678', ',.2f', '1,234.57'),
+            ('-1234567', ',', '-1,234,567'),
+            ('1234.5678', '.3e', '1.235e+3'),
+            ('1234.5678', '.3E', '1.235E+3'),
+            ('0.00', '.3e', '0.000e+1'),
+            ('0E+3', 'f', '0'),
+            ('1234.5678', '.3g', '1.23e+3'),
+            ('0.0001234', 'g', '0.0001234'),
+            ('0.0000001234', 'g', '1.234e-7'),
+            ('0.1234', '.1%', '12.3%'),
+            ('1', '%', '100%'),
+            ('2.5', '.0f', '2'),
+            ('3.5', '.0f', '4'),
+            ('123', '.0', '1E+2'),
+            ('-Infinity', '10', ' -Infinity'),
+            ('NaN', '+%', '+NaN%'),
+            ('sNaN12', '', 'sNaN12'),
+        ]
+        for value, spec, expected in cases:
+            self.assertEqual(format(Decimal(value), spec), expected, (value, spec))
+
+    def test_alignment(self):
+        cases = [
+            ('1.5', '<8', '1.5     '),
+            ('1.5', '>8', '     1.5'),
+            ('1.5', '^8', '  1.5   '),
+            ('-1.5', '=8', '-    1.5'),
+            ('-1.5', '*^9', '**-1.5***'),
+            ('1.5', '€>6', '€€€1.5'),
+            ('1.5', '+8', '    +1.5'),
+            ('1.5', ' ', ' 1.5'),
+            ('-1.5', '08', '-00001.5'),
+            ('1234', '09,', '0,001,234'),
+            ('1234', '010,.1f', '0,001,234.0'),
+            ('12', '#<5', '12###'),
+        ]
+        for value, spec, expected in cases:
+            self.assertEqual(format(Decimal(value), spec), expected, (value, spec))
+
+    def test_rounding_from_context(self):
+        with localcontext() as ctx:
+            ctx.rounding = ROUND_DOWN
+            self.assertEqual(format(Decimal('1.999'), '.2f'), '1.99')
+            ctx.rounding = ROUND_HALF_UP
+            self.assertEqual(format(Decimal('0.125'), '.2f'), '0.13')
+            ctx.capitals = 0
+            self.assertEqual(format(Decimal('1E+100'), ''), '1e+100')
+
+    def test_invalid(self):
+        for spec in ['x', '.f', '00', '<08', '*<08', '.5q', '1,,', ',n', '.-1f']:
+            with self.assertRaises(ValueError, msg=spec):
+                format(Decimal(1), spec)
+        with self.assertRaises(TypeError):
+            Decimal(1).__format__(5)
+
+    @unittest.skipIf(_decimal is None, "override dict is specific to the C implementation")
+    def test_override(self):
+        override = {'decimal_point': ',', 'thousands_sep': '.', 'grouping': '\3'}
+        self.assertEqual(Decimal('1234567.891').__format__('n', override), '1.234.567,891')
+        self.assertEqual(Decimal('1234567.891').__format__('.10n', override), '1.234.567,891')
+        self.assertEqual(Decimal('-1234567').__format__('012n', override), '-001.234.567')
+        self.assertEqual(Decimal('1234567').__format__('n', {'thousands_sep': '٬', 'grouping': '\3\2'}),
+                         '12٬34٬567')
+        self.assertEqual(Decimal('1234567').__format__('n', {'thousands_sep': ' ', 'grouping': '\3\x7f'}), '1234 567')
+        self.assertEqual(Decimal('1234.5').__format__(',', {'decimal_point': '٫'}), '1,234٫5')
+        with self.assertRaises(TypeError):
+            Decimal(1).__format__('n', [])
+        with self.assertRaises(ValueError):
+            Decimal(1).__format__('n', {'decimal_point': ''})
+        with self.assertRaises(ValueError):
+            Decimal(1).__format__('n', {'thousands_sep': 'abcde'})
+        with self.assertRaises(ValueError):
+            Decimal(1).__format__('n', {'grouping': '\x80'})
+
+
+if __name__ == '__main__':
+    unittest.main()
@@ -1,4 +1,4 @@
-# Copyright (c) 2018, 2021, Oracle and/or its affiliates. All rights reserved.
+# Copyright (c) 2018, 2024, Oracle and/or its affiliates. All rights reserved.
 # DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
 #
 # The Universal Permissive License (UPL), Version 1.0
@@ -629,3 +629,36 @@ class TestBasic(unittest.TestCase):
         klass = type(reversed(deque()))
         for s in ('abcd', range(2000)):
             self.assertEqual(list(klass(deque(s))), list(reversed(s)))
+
+    def test_random_access_as_ring_buffer(self):
+        d = deque(maxlen=37)
+        l = []
+        rnd = random.Random(42)
+        for i in range(2000):
+            op = rnd.randrange(6)
+            if op == 0 or len(l) < 2:
+                d.append(i)
+                l = (l + [i])[-37:]
+            elif op == 1:
+                n = rnd.randrange(-50, 50)
+                d.rotate(n)
+                n %= len(l)
+                l = l[-n:] + l[:-n]
+            elif op == 2:
+                idx = rnd.randrange(-len(l), len(l))
+                d[idx] = -i
+                l[idx] = -i
+            elif op == 3:
+                idx = rnd.randrange(-len(l), len(l))
+                del d[idx]
+                del l[idx]
+            elif op == 4 and len(l) < 37:
+                idx = rnd.randrange(-len(l) - 2, len(l) + 2)
+                d.insert(idx, i)
+                l.insert(idx, i)
+            else:
+                d.appendleft(i)
+                l = ([i] + l)[:37]
+            self.assertEqual(list(d), l)
+            for idx in range(-len(l), len(l)):
+                self.assertEqual(d[idx], l[idx])
@@ -775,3 +775,137 @@ class ToBytesTests(unittest.TestCase):
                 return 4
 
         self.assertEqual(MyTest(1).to_bytes(MyTest(10), 'big'), b'\x00\x00\x00\x00\x00\x00\x00\x00\x00\x01')
+
+
+def reference_pow(base, exp, mod):
+    # plain square-and-multiply on big intermediate products, independent of the long fast paths
+    m = abs(mod)
+    result = 1 % m
+    base %= m
+    while exp:
+        if exp & 1:
+            result = result * base % m
+        exp >>= 1
+        base = base * base % m
+    return result - m if mod < 0 and result else result
+
+
+class PowModTests(unittest.TestCase):
+    LONG_MIN = -2**63
+    LONG_MAX = 2**63 - 1
+
+    def check(self, bases, exps, mods):
+        for mod in mods:
+            for base in bases:
+                for exp in exps:
+                    self.assertEqual(pow(base, exp, mod), reference_pow(base, exp, mod), (base, exp, mod))
+
+    def test_small_moduli(self):
+        self.check([0, 1, 2, 3, 12345, 2**31 - 1, -2, -12345], [0, 1, 2, 65537, 2**40 + 3], [1, 2, 7, 1000, 2**31 - 1])
+
+    def test_odd_moduli_above_2_31(self):
+        bases = [0, 2, 3, 2**31 + 5, 2**62 + 12345, 2**63 - 2, -3, -(2**62), self.LONG_MIN, self.LONG_MAX]
+        exps = [0, 1, 2, 3, 65537, 2**32 + 1, self.LONG_MAX]
+        self.check(bases, exps, [2**31 + 11, 2**32 + 15, 2**61 - 1, 2**62 + 1, 2**63 - 25, self.LONG_MAX])
+
+    def test_odd_moduli_above_2_63(self):
+        bases = [2, 3, self.LONG_MIN, self.LONG_MAX, -5]
+        exps = [0, 1, 65537, self.LONG_MAX]
+        self.check(bases, exps, [2**63 + 1, 2**64 + 13, 2**89 - 1])
+
+    def test_even_moduli(self):
+        bases = [0, 3, 7, 2**40 + 1, -3, self.LONG_MIN, self.LONG_MAX]
+        exps = [0, 1, 2, 63, 64, 65537, self.LONG_MAX]
+        self.check(bases, exps, [2, 1000, 2**32, 2**40, 10**18, 2**62, 2**63 - 2, 2**64, 2**64 + 2])
+
+    def test_negative_moduli(self):
+        bases = [0, 1, 3, -3, 2**62 + 12345, self.LONG_MIN, self.LONG_MAX]
+        exps = [0, 1, 2, 65537, self.LONG_MAX]
+        self.check(bases, exps, [-1, -7, -1000, -(2**31 + 11), -(2**61 - 1), -(2**62), -(2**63 - 25), self.LONG_MIN,
+                                 -(2**64 + 13)])
+
+    def test_known_values(self):
+        self.assertEqual(pow(3, 2**63 - 1, 2**61 - 1), 2187)
+        self.assertEqual(pow(-2**63, 2**63 - 1, 2**63 - 25), 6535855677088263315)
+        self.assertEqual(pow(5, 0, -7), -6)
+        self.assertEqual(pow(5, 0, 1), 0)
+        self.assertEqual(pow(5, 0, -1), 0)
+        self.assertEqual(pow(-2**63, 1, -2**63), 0)
+        self.assertEqual(pow(2**63 - 1, 2, -2**63), -9223372036854775807)
+        self.assertEqual(pow(3, -1, 2**61 - 1), 1537228672809129301)
+        self.assertRaises(ValueError, pow, 3, 5, 0)
+
+
+class ParseLongStringTests(unittest.TestCase):
+    def setUp(self):
+        self.max_str_digits = sys.get_int_max_str_digits()
+        sys.set_int_max_str_digits(0)
+
+    def tearDown(self):
+        sys.set_int_max_str_digits(self.max_str_digits)
+
+    @staticmethod
+    def digit_string(n, alphabet='0123456789', seed=None):
+        state = seed if seed is not None else n
+        chars = []
+        for _ in range(n):
+            state = (state * 6364136223846793005 + 1442695040888963407) % 2**64
+            chars.append(alphabet[(state >> 33) % len(alphabet)])
+        return ''.join(chars)
+
+    @staticmethod
+    def reference_int(s, base=10):
+        # combine chunks that are short enough not to be split recursively
+        result = 0
+        for i in range(0, len(s), 500):
+            chunk = s[i:i + 500]
+            result = result * base ** len(chunk) + int(chunk, base)
+        return result
+
+    def test_decimal(self):
+        for n in [3999, 4000, 4001, 4096, 8191, 8192, 10007, 65536, 100003]:
+            s = self.digit_string(n)
+            expected = self.reference_int(s)
+            self.assertEqual(int(s), expected, n)
+            self.assertEqual(str(int(s)), s.lstrip('0') or '0', n)
+            self.assertEqual(int('-' + s), -expected, n)
+            self.assertEqual(int('+' + s), expected, n)
+            self.assertEqual(int(' \t' + s + '\n'), expected, n)
+
+    def test_powers_and_zeros(self):
+        self.assertEqual(int('1' + '0' * 9999), 10**9999)
+        self.assertEqual(int('0' * 5000 + '123'), 123)
+        self.assertEqual(int('0' * 10000), 0)
+        self.assertEqual(int('9' * 12000), 10**12000 - 1)
+        self.assertEqual(int('1' + '0' * 5000 + '1'), 10**5001 + 1)
+
+    def test_underscores(self):
+        s = self.digit_string(9000)
+        with_underscores = '_'.join(s[i:i + 3] for i in range(0, len(s), 3))
+        self.assertEqual(int(with_underscores), self.reference_int(s))
+
+    def test_other_bases(self):
+        for base, alphabet in [(2, '01'), (7, '0123456'), (16, '0123456789abcdef'), (36, '0123456789abcdefghijklmnopqrstuvwxyz')]:
+            s = self.digit_string(20011, alphabet, seed=base)
+            self.assertEqual(int(s, base), self.reference_int(s, base), base)
+            self.assertEqual(int(s.upper(), base), self.reference_int(s, base), base)
+        s = self.digit_string(20000, '0123456789abcdef')
+        self.assertEqual(int('0x' + s, 0), int.from_bytes(bytes.fromhex(s), 'big'))
+
+    def test_invalid(self):
+        s = self.digit_string(10000)
+        for pos in [0, 1, 2500, 5000, 9999]:
+            with self.assertRaises(ValueError, msg=pos):
+                int(s[:pos] + 'x' + s[pos + 1:])
+        with self.assertRaises(ValueError):
+            int(s + '_')
+        with self.assertRaises(ValueError):
+            int(s[:5000] + '__' + s[5000:])
+        with self.assertRaises(ValueError):
+            int(self.digit_string(9000, '01234567') + '8', 8)
+
+    def test_json(self):
+        import json
+        s = self.digit_string(20000).lstrip('0')
+        self.assertEqual(json.loads(s), self.reference_int(s))
+        self.assertEqual(json.loads('[-' + s + ']'), [-self.reference_int(s)])
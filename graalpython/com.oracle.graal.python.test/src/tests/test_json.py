@@ -37,6 +37,8 @@
 # OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 # SOFTWARE.
 
+import json
+import sys
 import unittest
 
 BIGINT_JSON_DATA = '''
@@ -83,3 +85,179 @@ class JsonTest(unittest.TestCase):
             1521583201347000000,
             10,
         }
+
+
+# documents whose tokens are split at every position in the stream tests
+STREAM_DOCUMENTS = [
+    '"plain"',
+    r'"esc\"aped\\ \/ \n \u00e9 \ud83d\ude00"',
+    '"é€😀"',
+    '-12.5e+3',
+    '0',
+    '123456789012345678901234567890',
+    '1E-7',
+    'true',
+    'false',
+    'null',
+    'Infinity',
+    '-Infinity',
+    '[]',
+    '{}',
+    '{"kéy": [1, -2.0e-2, "v\\"", null], "": {"x": [true]}}',
+]
+
+
+@unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy-specific streaming decoder")
+class StreamScannerTest(unittest.TestCase):
+    def stream(self, events=False, **kwargs):
+        import _json
+        return _json.StreamScanner(_json.make_scanner(json.JSONDecoder(**kwargs)), events)
+
+    def decode_chunks(self, chunks, events=False):
+        stream = self.stream(events)
+        result = []
+        for chunk in chunks:
+            result += stream.feed(chunk)
+        return result + stream.close()
+
+    def test_split_at_every_position(self):
+        for doc in STREAM_DOCUMENTS:
+            expected = [json.loads(doc)]
+            data = doc.encode('utf-8')
+            for i in range(len(data) + 1):
+                self.assertEqual(expected, self.decode_chunks([data[:i], data[i:]]), (doc, i))
+            for i in range(len(doc) + 1):
+                self.assertEqual(expected, self.decode_chunks([doc[:i], doc[i:]]), (doc, i))
+            self.assertEqual(expected, self.decode_chunks([data[i:i + 1] for i in range(len(data))]), doc)
+
+    def test_multiple_documents(self):
+        text = ' \n'.join(STREAM_DOCUMENTS) + '\n'
+        expected = [json.loads(doc) for doc in STREAM_DOCUMENTS]
+        data = text.encode('utf-8')
+        self.assertEqual(expected, self.decode_chunks([data[i:i + 1] for i in range(len(data))]))
+        self.assertEqual(expected, self.decode_chunks([text[i:i + 3] for i in range(0, len(text), 3)]))
+
+    def test_values_completed_by_feed(self):
+        stream = self.stream()
+        self.assertEqual([[1, 2]], stream.feed('[1, 2] [3'))
+        self.assertEqual([], stream.feed(', 4'))
+        self.assertEqual([[3, 4], {"a": "b"}], stream.feed(']{"a": "b"} 12'))
+        # a number is only complete when followed by something else
+        self.assertEqual([12], stream.feed(' '))
+        self.assertEqual([], stream.close())
+
+    def test_long_tokens(self):
+        string = 'ab\u00e9\\"' * 5000
+        number = '9' * 4000
+        text = json.dumps([string, int(number), string]) + ' ' + number
+        for size in (1, 7, 1000):
+            chunks = [text[i:i + size] for i in range(0, len(text), size)]
+            self.assertEqual([[string, int(number), string], int(number)], self.decode_chunks(chunks))
+            data = text.encode('utf-8')
+            chunks = [data[i:i + size] for i in range(0, len(data), size)]
+            self.assertEqual([[string, int(number), string], int(number)], self.decode_chunks(chunks))
+
+    def test_constants(self):
+        stream = self.stream(parse_constant=lambda s: 'const ' + s)
+        result = stream.feed('[NaN, -Infin') + stream.feed('ity, Infinity]')
+        self.assertEqual([['const NaN', 'const -Infinity', 'const Infinity']], result)
+
+    def test_mixed_chunk_types(self):
+        stream = self.stream()
+        stream.feed('[1, ')
+        self.assertRaises(TypeError, stream.feed, b'2]')
+        stream = self.stream()
+        stream.feed(b'[1, ')
+        self.assertRaises(TypeError, stream.feed, '2]')
+        stream = self.stream()
+        self.assertEqual([[1, 2]], stream.feed(bytearray(b'[1, ')) + stream.feed(memoryview(b'2]')))
+        self.assertRaises(TypeError, stream.feed, 1)
+
+    def test_errors_at_close(self):
+        for text in ('[1, 2', '{"a": 1', '{"a"', '{', '"abc', '"abc\\', 'tru', '-', '[1,', '{"a": 1,'):
+            for chunk in (text, text.encode('utf-8')):
+                stream = self.stream()
+                self.assertEqual([], stream.feed(chunk), text)
+                self.assertRaises(json.JSONDecodeError, stream.close)
+        stream = self.stream()
+        self.assertEqual([], stream.feed(b'"\xc3'))
+        self.assertRaises(UnicodeDecodeError, stream.close)
+
+    def test_errors_at_feed(self):
+        for text in ('[1 2]', '[1,]', '{"a" 1}', '{1: 2}', 'trux', '[-]', '{"a": 1]', ']'):
+            self.assertRaises(json.JSONDecodeError, self.decode_chunks, [text])
+        self.assertRaises(UnicodeDecodeError, self.decode_chunks, [b'"\xff"'])
+
+    def test_error_position_in_later_chunk(self):
+        stream = self.stream()
+        self.assertEqual([[1, 2]], stream.feed('[1, 2]\n[3,'))
+        with self.assertRaises(json.JSONDecodeError) as cm:
+            stream.feed('\n 4 5]')
+        self.assertEqual((14, 3, 4), (cm.exception.pos, cm.exception.lineno, cm.exception.colno))
+        for text in ('[1, 2]\n{"a": [3,\n 4 5]}', '"ok" "ok"\n  ["bad \\x"]', '[1,\n\n  2 ', '{"a": 1}\n {"b" 2}'):
+            stream = self.stream()
+            with self.assertRaises(json.JSONDecodeError) as cm:
+                stream.feed(text)
+                stream.close()
+            expected = cm.exception
+            self.assertGreater(expected.lineno, 1, text)
+            # line and column are those of the position in the whole text
+            whole = json.JSONDecodeError(expected.msg, text, expected.pos)
+            self.assertEqual((whole.lineno, whole.colno, str(whole)), (expected.lineno, expected.colno, str(expected)), text)
+            data = text.encode('utf-8')
+            for size in (1, 3, 7):
+                for chunks in ([text[i:i + size] for i in range(0, len(text), size)], [data[i:i + size] for i in range(0, len(data), size)]):
+                    with self.assertRaises(json.JSONDecodeError) as cm:
+                        self.decode_chunks(chunks)
+                    e = cm.exception
+                    self.assertEqual((expected.pos, expected.lineno, expected.colno, str(expected)), (e.pos, e.lineno, e.colno, str(e)), (text, size))
+
+    def test_closed(self):
+        stream = self.stream()
+        self.assertEqual([1], stream.feed('1 '))
+        self.assertEqual([], stream.close())
+        self.assertRaises(ValueError, stream.feed, '2')
+        self.assertRaises(ValueError, stream.close)
+
+    def test_events(self):
+        text = '{"a": [1, "x", null, true, {}, []], "b": -1.5} "s"'
+        expected = [
+            ('start_map', None),
+            ('map_key', 'a'),
+            ('start_array', None),
+            ('number', 1),
+            ('string', 'x'),
+            ('null', None),
+            ('boolean', True),
+            ('start_map', None),
+            ('end_map', None),
+            ('start_array', None),
+            ('end_array', None),
+            ('end_array', None),
+            ('map_key', 'b'),
+            ('number', -1.5),
+            ('end_map', None),
+            ('string', 's'),
+        ]
+        self.assertEqual(expected, self.decode_chunks([text], events=True))
+        data = text.encode('utf-8')
+        self.assertEqual(expected, self.decode_chunks([data[i:i + 1] for i in range(len(data))], events=True))
+        stream = self.stream(events=True)
+        self.assertEqual([('start_array', None), ('number', 1)], stream.feed('[1,'))
+        self.assertEqual([('end_array', None)], stream.feed(']'))
+
+    def test_hooks(self):
+        stream = self.stream(object_pairs_hook=lambda pairs: pairs, parse_float=str, parse_int=lambda s: -int(s))
+        self.assertEqual([[('a', [-1, '2.5']), ('a', -3)]], stream.feed('{"a": [1, 2.5], "a": 3}'))
+
+    def test_memo_cap(self):
+        # more distinct keys than the memo keeps, the memo is cleared in between
+        keys = ['key%d' % i for i in range(10000)]
+        text = ''.join(json.dumps({key: i, 'common': key}) for i, key in enumerate(keys))
+        expected = [{key: i, 'common': key} for i, key in enumerate(keys)]
+        self.assertEqual(expected, self.decode_chunks([text[i:i + 100] for i in range(0, len(text), 100)]))
+        self.assertEqual(expected, self.decode_chunks([text]))
+        # the memo of a regular scanner lives as long as the decoder
+        decoder = json.JSONDecoder()
+        for i, key in enumerate(keys):
+            self.assertEqual({key: i, 'common': key}, decoder.decode(json.dumps({key: i, 'common': key})))
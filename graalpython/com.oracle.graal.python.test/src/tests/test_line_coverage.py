@@ -0,0 +1,138 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import json
+import os
+import subprocess
+import sys
+import tempfile
+import unittest
+
+# The line numbers below refer to this module source
+MODULE_SOURCE = '''\
+def simple(x):
+    if x:
+        y = 1
+    else:
+        y = 2
+    return y
+
+def outer():
+    def inner():
+        return 1
+    return inner
+
+def gen(n):
+    for i in range(n):
+        yield i
+    return
+
+def early():
+    a = 1
+    return a
+'''
+
+# The coverage cannot be stopped, so each check runs in a fresh process
+SCRIPT = '''\
+import json, os, sys
+sys.path.insert(0, sys.argv[1])
+import covered_module as m
+
+for _ in range(1000):
+    m.early()
+before = __graalpython__.get_line_coverage(m.early.__code__)
+
+__graalpython__.start_line_coverage()
+m.simple(True)
+inner = m.outer()
+inner_before_call = __graalpython__.get_line_coverage(inner.__code__)
+inner()
+list(m.gen(2))
+m.early()
+
+files = __graalpython__.get_line_coverage()
+lines = [v for k, v in files.items() if os.path.exists(k) and os.path.samefile(k, m.__file__)]
+print(json.dumps({
+    "before": before,
+    "simple": __graalpython__.get_line_coverage(m.simple.__code__),
+    "outer": __graalpython__.get_line_coverage(m.outer.__code__),
+    "inner_before_call": inner_before_call,
+    "inner": __graalpython__.get_line_coverage(inner.__code__),
+    "gen": __graalpython__.get_line_coverage(m.gen.__code__),
+    "early": __graalpython__.get_line_coverage(m.early.__code__),
+    "files": lines,
+}))
+'''
+
+
+@unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy-specific line coverage")
+class LineCoverageTests(unittest.TestCase):
+
+    @classmethod
+    def setUpClass(cls):
+        with tempfile.TemporaryDirectory() as tmpdir:
+            with open(os.path.join(tmpdir, 'covered_module.py'), 'w') as f:
+                f.write(MODULE_SOURCE)
+            proc = subprocess.run([sys.executable, '-c', SCRIPT, tmpdir], capture_output=True, text=True)
+        if proc.returncode != 0:
+            raise AssertionError(proc.stderr)
+        cls.result = {k: tuple(v) if k != "files" else [tuple(x) for x in v] for k, v in json.loads(proc.stdout).items()}
+
+    def test_function(self):
+        self.assertEqual((2, 3, 6), self.result["simple"])
+
+    def test_nested_code_reported_separately(self):
+        self.assertEqual((9, 11), self.result["outer"])
+        self.assertEqual((), self.result["inner_before_call"])
+        self.assertEqual((10,), self.result["inner"])
+
+    def test_generator(self):
+        self.assertEqual((14, 15, 16), self.result["gen"])
+
+    def test_code_executed_before_start(self):
+        self.assertEqual((), self.result["before"])
+        self.assertEqual((19, 20), self.result["early"])
+
+    def test_lines_by_file(self):
+        # the module body ran before the coverage was started
+        self.assertEqual([(2, 3, 6, 9, 10, 11, 14, 15, 16, 19, 20)], self.result["files"])
+
+
+if __name__ == '__main__':
+    unittest.main()
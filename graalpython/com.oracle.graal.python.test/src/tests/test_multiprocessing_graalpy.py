@@ -96,3 +96,171 @@ if sys.implementation.name == 'graalpy':
         res = wait([b, x], 3)
         assert res == [x], "res3"
         assert x.recv() == 33, "res4"
+
+
+    def shareable_values():
+        from array import array
+        return [
+            None, True, False, 0, 42, -2**63, 2**100, -2**70, 1.5, -0.0, float('inf'),
+            '', 'str', 'ünïcödé \U0001F600', b'', b'bytes', bytes(range(256)) * 100,
+            (), (1, 'a', b'b', None), (1, (2, (3, (4, b'x'))), frozenset({1, 'a'})),
+            frozenset(), frozenset({1, 2.5, 'a', b'b', (1, 2)}), frozenset({frozenset({1}), (frozenset({2}), 3)}),
+            array('b', [-1, 0, 1]), array('i', range(1000)), array('d', [1.5, -2.5]), array('Q', [2**64 - 1]),
+        ]
+
+
+    def assert_same(received, sent):
+        assert type(received) is type(sent), (received, sent)
+        assert received == sent, (received, sent)
+        if isinstance(sent, tuple):
+            for r, s in zip(received, sent):
+                assert_same(r, s)
+        elif isinstance(sent, frozenset):
+            for r in received:
+                assert_same(r, next(s for s in sent if s == r))
+
+
+    @graalpy_multiprocessing
+    def test_shared_roundtrip():
+        from _multiprocessing_graalpy import _write_shared, _read_shared
+        for value in shareable_values():
+            x, y = multiprocessing.connection.Pipe(False)
+            assert _write_shared(y.fileno(), value), value
+            shared, received = _read_shared(x.fileno())
+            assert shared, value
+            assert_same(received, value)
+            y.send(value)
+            assert_same(x.recv(), value)
+
+
+    @graalpy_multiprocessing
+    def test_shared_array_is_snapshot():
+        from array import array
+        x, y = multiprocessing.connection.Pipe(False)
+        value = array('i', [1, 2, 3])
+        y.send(value)
+        value[0] = 42
+        value.append(4)
+        assert x.recv() == array('i', [1, 2, 3])
+
+
+    @dataclass(frozen=True)
+    class Point:
+        x: int
+        y: int
+
+
+    class MyInt(int):
+        pass
+
+
+    @graalpy_multiprocessing
+    def test_not_shareable_is_pickled():
+        from array import array
+        from _multiprocessing_graalpy import _write_shared
+        deep = ()
+        for i in range(100):
+            deep = (i, deep)
+        values = [[1, 2], {'a': 1}, {1, 2}, bytearray(b'abc'), MyInt(3), (1, [2]), frozenset({(1, MyInt(2))}),
+                  array('u', 'abc'), deep, Point(1, 2)]
+        for value in values:
+            x, y = multiprocessing.connection.Pipe(False)
+            assert not _write_shared(y.fileno(), value), value
+            y.send(value)
+            received = x.recv()
+            assert type(received) is type(value), value
+            assert received == value, value
+
+
+    @graalpy_multiprocessing
+    def test_bytes_reader_receives_pickle():
+        import pickle
+        for value in shareable_values():
+            x, y = multiprocessing.connection.Pipe(False)
+            y.send(value)
+            data = x.recv_bytes()
+            assert type(data) is bytes
+            assert_same(pickle.loads(data), value)
+        x, y = multiprocessing.connection.Pipe(False)
+        y.send_bytes(b'raw')
+        y.send((1, 'two'))
+        assert x.recv_bytes() == b'raw'
+        assert x.recv() == (1, 'two')
+        y.send_bytes(pickle.dumps([1, 2]))
+        assert x.recv() == [1, 2]
+
+
+    @graalpy_multiprocessing
+    def test_queue_shared_roundtrip():
+        values = shareable_values() + [[1, 2], {'a': (1, 2)}]
+        for queue in [multiprocessing.Queue(), multiprocessing.SimpleQueue()]:
+            for value in values:
+                queue.put(value)
+            for value in values:
+                assert_same(queue.get(), value)
+            queue.close()
+
+
+    def put_square(queue, value):
+        queue.put((os.getpid(), value * value))
+
+
+    def square(value):
+        return value * value
+
+
+    @graalpy_multiprocessing
+    def test_spawn_processes():
+        # run with --python.SpawnContextPoolSize > 0 this takes pooled contexts, waits for their
+        # replacements and builds contexts directly when the pool is drained
+        queue = multiprocessing.Queue()
+        for i in range(3):
+            p = multiprocessing.Process(target=put_square, args=(queue, i))
+            p.start()
+            p.join()
+            assert p.exitcode == 0, p.exitcode
+            assert queue.get(timeout=60)[1] == i * i
+        processes = [multiprocessing.Process(target=put_square, args=(queue, i)) for i in range(6)]
+        for p in processes:
+            p.start()
+        for p in processes:
+            p.join()
+            assert p.exitcode == 0, p.exitcode
+        assert sorted(queue.get(timeout=60)[1] for _ in processes) == [i * i for i in range(6)]
+        with multiprocessing.Pool(3) as pool:
+            assert pool.map(square, range(20)) == [i * i for i in range(20)]
+
+
+    def put_parent_state(queue):
+        queue.put((os.environ.get('GRAALPY_SPAWN_STATE'), os.getcwd(), sys.path[0]))
+
+
+    @graalpy_multiprocessing
+    def test_spawn_sees_parent_state():
+        # the first child starts filling the pool, when the pool is enabled the following ones run
+        # in contexts that were warmed up before the parent changed its state
+        import tempfile
+        queue = multiprocessing.Queue()
+        p = multiprocessing.Process(target=put_parent_state, args=(queue,))
+        p.start()
+        p.join()
+        assert queue.get(timeout=60)[0] is None
+        cwd = os.getcwd()
+        with tempfile.TemporaryDirectory() as tmpdir:
+            os.environ['GRAALPY_SPAWN_STATE'] = 'changed'
+            os.chdir(tmpdir)
+            sys.path.insert(0, tmpdir)
+            try:
+                for _ in range(3):
+                    p = multiprocessing.Process(target=put_parent_state, args=(queue,))
+                    p.start()
+                    p.join()
+                    assert p.exitcode == 0, p.exitcode
+                    environ, child_cwd, path = queue.get(timeout=60)
+                    assert environ == 'changed', environ
+                    assert os.path.samefile(child_cwd, tmpdir), child_cwd
+                    assert path == tmpdir, path
+            finally:
+                del os.environ['GRAALPY_SPAWN_STATE']
+                os.chdir(cwd)
+                sys.path.remove(tmpdir)
@@ -49,6 +49,7 @@ except:
 import unittest
 import os
 import array
+import errno
 import sys
 import posix
 import stat
@@ -81,6 +82,15 @@ def open(name, flags):
     finally:
         os.close(fd)
 
+def native_bytearray(data):
+    # exposing the bytearray to ctypes moves its contents to native memory on GraalPy, the
+    # returned ctypes array must be kept alive while the bytearray is used
+    import ctypes
+    b = bytearray(data)
+    c = (ctypes.c_char * len(b)).from_buffer(b)
+    ctypes.addressof(c)
+    return b, c
+
 
 class PosixTests(unittest.TestCase):
 
@@ -673,6 +683,99 @@ class ScandirTests(unittest.TestCase):
         self.assertFalse('..' in lst)
 
 
+class ScandirBatchTests(unittest.TestCase):
+
+    # more entries than scandir reads from the backend at once
+    COUNT = 200
+
+    def setUp(self):
+        os.mkdir(TEST_FULL_PATH1)
+        self.expected = {}
+        for i in range(self.COUNT):
+            name = f'e{i:03}'
+            path = os.path.join(TEST_FULL_PATH1, name)
+            kind = i % 5
+            if kind == 0:
+                os.close(os.open(path, os.O_WRONLY | os.O_CREAT))
+            elif kind == 1:
+                os.mkdir(path)
+            elif kind == 2:
+                os.symlink(f'e{i - 2:03}', path)
+            elif kind == 3:
+                os.symlink(f'e{i - 2:03}', path, target_is_directory=True)
+            else:
+                os.symlink('does_not_exist', path)
+            self.expected[name] = kind
+
+    def tearDown(self):
+        for name, kind in self.expected.items():
+            path = os.path.join(TEST_FULL_PATH1, name)
+            if kind == 1:
+                os.rmdir(path)
+            else:
+                os.unlink(path)
+        os.rmdir(TEST_FULL_PATH1)
+
+    def check_entries(self, entries):
+        self.assertEqual(sorted(self.expected), sorted(e.name for e in entries))
+        for entry in entries:
+            kind = self.expected[entry.name]
+            self.assertEqual(kind >= 2, entry.is_symlink(), entry.name)
+            self.assertEqual(kind in (0, 2), entry.is_file(), entry.name)
+            self.assertEqual(kind in (0, 2), entry.is_file(follow_symlinks=True), entry.name)
+            self.assertEqual(kind == 0, entry.is_file(follow_symlinks=False), entry.name)
+            self.assertEqual(kind in (1, 3), entry.is_dir(), entry.name)
+            self.assertEqual(kind in (1, 3), entry.is_dir(follow_symlinks=True), entry.name)
+            self.assertEqual(kind == 1, entry.is_dir(follow_symlinks=False), entry.name)
+            path = os.path.join(TEST_FULL_PATH1, entry.name)
+            self.assertEqual(os.stat(path, follow_symlinks=False).st_ino, entry.stat(follow_symlinks=False).st_ino)
+            self.assertEqual(os.stat(path, follow_symlinks=False).st_ino, entry.inode())
+            if kind == 4:
+                with self.assertRaises(FileNotFoundError):
+                    entry.stat()
+            else:
+                self.assertEqual(os.stat(path).st_ino, entry.stat().st_ino)
+
+    def test_scandir_many_entries(self):
+        with os.scandir(TEST_FULL_PATH1) as it:
+            entries = list(it)
+        self.check_entries(entries)
+        self.assertEqual(sorted(self.expected), sorted(os.listdir(TEST_FULL_PATH1)))
+
+    def test_scandir_many_entries_bytes(self):
+        with os.scandir(os.fsencode(TEST_FULL_PATH1)) as it:
+            names = [e.name for e in it]
+        self.assertEqual(sorted(os.fsencode(n) for n in self.expected), sorted(names))
+
+    def test_scandir_many_entries_fd(self):
+        with open(TEST_FULL_PATH1, 0) as fd:
+            for _ in range(2):
+                # the stream is rewound after each complete iteration
+                with os.scandir(fd) as it:
+                    entries = list(it)
+                self.assertEqual(sorted(self.expected), sorted(e.name for e in entries))
+                self.assertTrue(all(e.path == e.name for e in entries))
+            self.assertEqual(sorted(self.expected), sorted(os.listdir(fd)))
+
+    def test_scandir_close_mid_batch(self):
+        for taken in [1, 10, 63, 64, 65, 130]:
+            it = os.scandir(TEST_FULL_PATH1)
+            names = [next(it).name for _ in range(taken)]
+            it.close()
+            self.assertEqual(taken, len(set(names)))
+            self.assertTrue(set(names) <= set(self.expected))
+            with self.assertRaises(StopIteration):
+                next(it)
+            it.close()
+        with os.scandir(TEST_FULL_PATH1) as it:
+            for i, entry in enumerate(it):
+                if i == 100:
+                    break
+        with self.assertRaises(StopIteration):
+            next(it)
+        self.assertEqual(self.COUNT, len(list(os.scandir(TEST_FULL_PATH1))))
+
+
 class ScandirSymlinkToFileTests(unittest.TestCase):
 
     def setUp(self):
@@ -860,6 +963,343 @@ class RenameTests(unittest.TestCase):
             os.replace(TEST_FILENAME1, 3.14)
 
 
+class ReadIntoTests(unittest.TestCase):
+
+    DATA = bytes(range(256)) * 40
+
+    def setUp(self):
+        with open(TEST_FULL_PATH1, os.O_WRONLY | os.O_CREAT | os.O_TRUNC) as fd:
+            os.write(fd, self.DATA)
+
+    def tearDown(self):
+        os.unlink(TEST_FULL_PATH1)
+
+    def test_fileio_readinto_bytearray(self):
+        with io.FileIO(TEST_FULL_PATH1, 'r') as f:
+            b = bytearray(100)
+            self.assertEqual(100, f.readinto(b))
+            self.assertEqual(self.DATA[:100], b)
+            f.seek(-10, io.SEEK_END)
+            b = bytearray(b'x' * 20)
+            self.assertEqual(10, f.readinto(b))
+            self.assertEqual(self.DATA[-10:] + b'x' * 10, b)
+            self.assertEqual(0, f.readinto(b))
+            self.assertEqual(0, f.readinto(bytearray()))
+
+    def test_fileio_readinto_memoryview(self):
+        with io.FileIO(TEST_FULL_PATH1, 'r') as f:
+            b = bytearray(b'x' * 20)
+            self.assertEqual(20, f.readinto(memoryview(b)))
+            self.assertEqual(self.DATA[:20], b)
+            b = bytearray(b'x' * 20)
+            self.assertEqual(10, f.readinto(memoryview(b)[5:15]))
+            self.assertEqual(b'x' * 5 + self.DATA[20:30] + b'x' * 5, b)
+            a = array.array('i', [0] * 4)
+            self.assertEqual(16, f.readinto(memoryview(a).cast('B')[0:16]))
+            self.assertEqual(self.DATA[30:46], a.tobytes())
+            with self.assertRaises(TypeError):
+                f.readinto(b'immutable')
+
+    def test_buffered_readinto(self):
+        with io.open(TEST_FULL_PATH1, 'rb', buffering=16) as f:
+            self.assertEqual(self.DATA[:5], f.read(5))
+            # larger than the buffer, goes past it into the target
+            b = bytearray(100)
+            self.assertEqual(100, f.readinto(b))
+            self.assertEqual(self.DATA[5:105], b)
+            b = bytearray(b'x' * 200)
+            self.assertEqual(100, f.readinto(memoryview(b)[50:150]))
+            self.assertEqual(b'x' * 50 + self.DATA[105:205] + b'x' * 50, b)
+            self.assertEqual(self.DATA[205:1205], f.read(1000))
+            f.seek(-30, io.SEEK_END)
+            b = bytearray(b'x' * 100)
+            self.assertEqual(30, f.readinto(b))
+            self.assertEqual(self.DATA[-30:] + b'x' * 70, b)
+            self.assertEqual(0, f.readinto(b))
+
+    def test_readinto_native_memory(self):
+        b, keep = native_bytearray(b'x' * 200)
+        with io.FileIO(TEST_FULL_PATH1, 'r') as f:
+            self.assertEqual(200, f.readinto(b))
+            self.assertEqual(self.DATA[:200], b)
+            self.assertEqual(10, f.readinto(memoryview(b)[5:15]))
+            self.assertEqual(self.DATA[:5] + self.DATA[200:210] + self.DATA[15:200], b)
+        with io.open(TEST_FULL_PATH1, 'rb', buffering=16) as f:
+            self.assertEqual(self.DATA[:5], f.read(5))
+            self.assertEqual(100, f.readinto(memoryview(b)[50:150]))
+            self.assertEqual(self.DATA[5:105], b[50:150])
+        del keep
+
+    def test_buffered_read(self):
+        with io.open(TEST_FULL_PATH1, 'rb', buffering=16) as f:
+            self.assertEqual(self.DATA[:3], f.read(3))
+            self.assertEqual(self.DATA[3:3003], f.read(3000))
+            self.assertEqual(self.DATA[3003:], f.read())
+            self.assertEqual(b'', f.read())
+
+
+class VectoredIOTests(unittest.TestCase):
+
+    def setUp(self):
+        self.fd = os.open(TEST_FULL_PATH1, os.O_RDWR | os.O_CREAT | os.O_TRUNC)
+        os.write(self.fd, b'abcdefghij')
+        os.lseek(self.fd, 0, os.SEEK_SET)
+
+    def tearDown(self):
+        os.close(self.fd)
+        os.unlink(TEST_FULL_PATH1)
+
+    def test_readv(self):
+        a, b, c = bytearray(3), bytearray(0), bytearray(4)
+        self.assertEqual(7, os.readv(self.fd, [a, b, c]))
+        self.assertEqual((b'abc', b'', b'defg'), (a, b, c))
+        self.assertEqual(7, os.lseek(self.fd, 0, os.SEEK_CUR))
+
+    def test_readv_partial(self):
+        os.lseek(self.fd, 5, os.SEEK_SET)
+        a, b, c = bytearray(b'xxx'), bytearray(b'xxxx'), bytearray(b'xx')
+        self.assertEqual(5, os.readv(self.fd, (a, b, c)))
+        self.assertEqual((b'fgh', b'ijxx', b'xx'), (a, b, c))
+
+    def test_readv_eof(self):
+        os.lseek(self.fd, 0, os.SEEK_END)
+        a, b = bytearray(b'xx'), bytearray(b'yy')
+        self.assertEqual(0, os.readv(self.fd, [a, b]))
+        self.assertEqual((b'xx', b'yy'), (a, b))
+        self.assertEqual(0, os.readv(self.fd, []))
+
+    def test_readv_memoryview(self):
+        b = bytearray(b'0123456789')
+        arr = array.array('b', [0] * 2)
+        self.assertEqual(6, os.readv(self.fd, [memoryview(b)[2:6], arr]))
+        self.assertEqual(b'01abcd6789', b)
+        self.assertEqual(b'ef', arr.tobytes())
+
+    def test_readv_errors(self):
+        with self.assertRaises((TypeError, BufferError)):
+            os.readv(self.fd, [b'immutable'])
+        with self.assertRaises(TypeError):
+            os.readv(self.fd, 42)
+        with self.assertRaises(OSError):
+            os.readv(-1, [bytearray(1)])
+
+    @unittest.skipUnless(hasattr(os, 'preadv'), 'preadv not available')
+    def test_preadv(self):
+        os.lseek(self.fd, 1, os.SEEK_SET)
+        a, b = bytearray(2), bytearray(3)
+        self.assertEqual(5, os.preadv(self.fd, [a, b], 4))
+        self.assertEqual((b'ef', b'ghi'), (a, b))
+        # the file position is not changed
+        self.assertEqual(1, os.lseek(self.fd, 0, os.SEEK_CUR))
+        a, b = bytearray(b'xxxx'), bytearray(b'yy')
+        self.assertEqual(2, os.preadv(self.fd, [a, b], 8))
+        self.assertEqual((b'ijxx', b'yy'), (a, b))
+        self.assertEqual(0, os.preadv(self.fd, [a, b], 100))
+        self.assertEqual((b'ijxx', b'yy'), (a, b))
+
+    @unittest.skipUnless(hasattr(os, 'preadv'), 'preadv not available')
+    def test_preadv_pwritev_einval(self):
+        with self.assertRaises(OSError) as cm:
+            os.preadv(self.fd, [bytearray(1)], -2)
+        self.assertEqual(errno.EINVAL, cm.exception.errno)
+        with self.assertRaises(OSError) as cm:
+            os.pwritev(self.fd, [b'x'], -2)
+        self.assertEqual(errno.EINVAL, cm.exception.errno)
+
+    @unittest.skipUnless(sys.implementation.name == 'graalpy', 'GraalPy does not support RWF_* flags')
+    def test_preadv_pwritev_flags(self):
+        # neither RWF_* flags nor the Linux meaning of offset -1 (current position) are supported
+        for offset, flags in [(0, 1), (0, 8), (0, -1), (-1, 0)]:
+            with self.assertRaises(OSError) as cm:
+                os.preadv(self.fd, [bytearray(1)], offset, flags)
+            self.assertEqual(errno.EINVAL, cm.exception.errno)
+            with self.assertRaises(OSError) as cm:
+                os.pwritev(self.fd, [b'x'], offset, flags)
+            self.assertEqual(errno.EINVAL, cm.exception.errno)
+        with auto_close(os.open(TEST_FULL_PATH1, os.O_RDONLY)) as fd:
+            self.assertEqual(b'abcdefghij', os.read(fd, 100))
+
+    def test_readv_writev_native_memory(self):
+        (a, keep_a), (b, keep_b) = native_bytearray(b'xxx'), native_bytearray(b'yyyy')
+        self.assertEqual(7, os.readv(self.fd, [a, memoryview(b)]))
+        self.assertEqual((b'abc', b'defg'), (a, b))
+        self.assertEqual(3, os.readv(self.fd, [memoryview(b)[1:3], a]))
+        self.assertEqual((b'jbc', b'dhig'), (a, b))
+        os.lseek(self.fd, 0, os.SEEK_END)
+        self.assertEqual(5, os.writev(self.fd, [memoryview(b)[1:], memoryview(a)[:2]]))
+        self.assertEqual(b'abcdefghijhigjb', os.pread(self.fd, 100, 0))
+        del keep_a, keep_b
+
+    def test_writev(self):
+        os.lseek(self.fd, 0, os.SEEK_END)
+        self.assertEqual(6, os.writev(self.fd, [b'kl', bytearray(b''), memoryview(b'xmnox')[1:4], array.array('b', [112])]))
+        self.assertEqual(16, os.lseek(self.fd, 0, os.SEEK_CUR))
+        self.assertEqual(0, os.writev(self.fd, []))
+        self.assertEqual(b'abcdefghijklmnop', os.pread(self.fd, 100, 0))
+
+    @unittest.skipUnless(hasattr(os, 'pwritev'), 'pwritev not available')
+    def test_pwritev(self):
+        self.assertEqual(4, os.pwritev(self.fd, [b'XY', b'Z', b'W'], 3))
+        self.assertEqual(0, os.lseek(self.fd, 0, os.SEEK_CUR))
+        self.assertEqual(3, os.pwritev(self.fd, [b'123'], 12))
+        self.assertEqual(b'abcXYZWhij\x00\x00123', os.read(self.fd, 100))
+
+
+@unittest.skipUnless(hasattr(os, 'sendfile'), 'sendfile not available')
+class CopyBetweenFdsTests(unittest.TestCase):
+
+    DATA = bytes(range(100))
+
+    def setUp(self):
+        with open(TEST_FULL_PATH1, os.O_WRONLY | os.O_CREAT | os.O_TRUNC) as fd:
+            os.write(fd, self.DATA)
+        self.src = os.open(TEST_FULL_PATH1, os.O_RDONLY)
+        self.dst = os.open(TEST_FULL_PATH2, os.O_RDWR | os.O_CREAT | os.O_TRUNC)
+
+    def tearDown(self):
+        os.close(self.src)
+        os.close(self.dst)
+        os.unlink(TEST_FULL_PATH1)
+        os.unlink(TEST_FULL_PATH2)
+
+    def position(self, fd):
+        return os.lseek(fd, 0, os.SEEK_CUR)
+
+    def written(self):
+        return os.pread(self.dst, 1000, 0)
+
+    @unittest.skipUnless(sys.platform.startswith('linux'), 'sendfile to a regular file requires Linux')
+    def test_sendfile_offset(self):
+        os.lseek(self.src, 3, os.SEEK_SET)
+        self.assertEqual(10, os.sendfile(self.dst, self.src, 5, 10))
+        # an explicit offset leaves the position of the input alone, the output advances
+        self.assertEqual(3, self.position(self.src))
+        self.assertEqual(10, self.position(self.dst))
+        self.assertEqual(self.DATA[5:15], self.written())
+        self.assertEqual(5, os.sendfile(self.dst, self.src, 95, 10))
+        self.assertEqual(0, os.sendfile(self.dst, self.src, 200, 10))
+        self.assertEqual(self.DATA[5:15] + self.DATA[95:], self.written())
+
+    @unittest.skipUnless(sys.platform.startswith('linux'), 'sendfile to a regular file requires Linux')
+    def test_sendfile_current_position(self):
+        os.lseek(self.src, 3, os.SEEK_SET)
+        self.assertEqual(10, os.sendfile(self.dst, self.src, None, 10))
+        self.assertEqual(13, self.position(self.src))
+        self.assertEqual(87, os.sendfile(self.dst, self.src, None, 1000))
+        self.assertEqual(100, self.position(self.src))
+        self.assertEqual(0, os.sendfile(self.dst, self.src, None, 10))
+        self.assertEqual(self.DATA[3:], self.written())
+
+    @unittest.skipUnless(sys.platform.startswith('linux'), 'sendfile to a pipe requires Linux')
+    def test_sendfile_to_pipe(self):
+        r, w = os.pipe()
+        with auto_close(r), auto_close(w):
+            self.assertEqual(20, os.sendfile(w, self.src, 50, 20))
+            self.assertEqual(self.DATA[50:70], os.read(r, 100))
+            self.assertEqual(0, self.position(self.src))
+
+    def test_sendfile_invalid(self):
+        with self.assertRaises(OSError) as cm:
+            os.sendfile(self.dst, self.src, -1, 10)
+        self.assertEqual(errno.EINVAL, cm.exception.errno)
+        with self.assertRaises(OSError) as cm:
+            os.sendfile(self.dst, self.src, 0, -1)
+        self.assertEqual(errno.EINVAL, cm.exception.errno)
+        with self.assertRaises(OSError) as cm:
+            os.sendfile(self.src, self.dst, 0, 10)
+        self.assertEqual(errno.EBADF, cm.exception.errno)
+
+    @unittest.skipUnless(hasattr(os, 'copy_file_range'), 'copy_file_range not available')
+    def test_copy_file_range_offsets(self):
+        os.lseek(self.src, 7, os.SEEK_SET)
+        os.write(self.dst, b'xyz')
+        self.assertEqual(10, os.copy_file_range(self.src, self.dst, 10, 20, 1))
+        self.assertEqual(7, self.position(self.src))
+        self.assertEqual(3, self.position(self.dst))
+        self.assertEqual(b'x' + self.DATA[20:30], self.written())
+        self.assertEqual(0, os.copy_file_range(self.src, self.dst, 10, 200, 0))
+
+    @unittest.skipUnless(hasattr(os, 'copy_file_range'), 'copy_file_range not available')
+    def test_copy_file_range_current_position(self):
+        os.lseek(self.src, 7, os.SEEK_SET)
+        os.write(self.dst, b'xyz')
+        copied = 0
+        while copied < 93:
+            n = os.copy_file_range(self.src, self.dst, 93 - copied)
+            self.assertGreater(n, 0)
+            copied += n
+        self.assertEqual(100, self.position(self.src))
+        self.assertEqual(96, self.position(self.dst))
+        self.assertEqual(0, os.copy_file_range(self.src, self.dst, 10))
+        self.assertEqual(b'xyz' + self.DATA[7:], self.written())
+
+    @unittest.skipUnless(hasattr(os, 'copy_file_range'), 'copy_file_range not available')
+    def test_copy_file_range_invalid(self):
+        for args in [(-1, None), (None, -1)]:
+            with self.assertRaises(OSError) as cm:
+                os.copy_file_range(self.src, self.dst, 5, *args)
+            # Linux reports EOVERFLOW
+            self.assertIn(cm.exception.errno, (errno.EINVAL, errno.EOVERFLOW))
+        with self.assertRaises(OSError) as cm:
+            os.copy_file_range(self.dst, self.src, 5)
+        self.assertEqual(errno.EBADF, cm.exception.errno)
+
+    @unittest.skipUnless(hasattr(os, 'splice'), 'splice not available')
+    def test_splice_file_and_pipe(self):
+        r, w = os.pipe()
+        with auto_close(r), auto_close(w):
+            os.lseek(self.src, 2, os.SEEK_SET)
+            self.assertEqual(10, os.splice(self.src, w, 10, 40))
+            self.assertEqual(2, self.position(self.src))
+            self.assertEqual(5, os.splice(self.src, w, 5))
+            self.assertEqual(7, self.position(self.src))
+            self.assertEqual(15, os.splice(r, self.dst, 15, None, 30))
+            self.assertEqual(0, self.position(self.dst))
+            os.write(w, b'tail')
+            self.assertEqual(4, os.splice(r, self.dst, 100))
+            self.assertEqual(4, self.position(self.dst))
+            self.assertEqual(b'tail' + b'\x00' * 26 + self.DATA[40:50] + self.DATA[2:7], self.written())
+
+    @unittest.skipUnless(hasattr(os, 'splice'), 'splice not available')
+    def test_splice_pipe_to_pipe(self):
+        # no file on either side, the java backend copies through a buffer
+        r1, w1 = os.pipe()
+        r2, w2 = os.pipe()
+        with auto_close(r1), auto_close(w1), auto_close(r2), auto_close(w2):
+            os.write(w1, b'abc')
+            # returns what is available instead of waiting for the full count
+            self.assertEqual(3, os.splice(r1, w2, 100))
+            self.assertEqual(b'abc', os.read(r2, 100))
+            data = bytes(range(256)) * 160
+            self.assertEqual(len(data), os.write(w1, data))
+            received = b''
+            while len(received) < len(data):
+                n = os.splice(r1, w2, len(data) - len(received))
+                self.assertGreater(n, 0)
+                end = len(received) + n
+                while len(received) < end:
+                    received += os.read(r2, end - len(received))
+            self.assertEqual(data, received)
+
+    @unittest.skipUnless(hasattr(os, 'splice'), 'splice not available')
+    def test_splice_requires_pipe(self):
+        with self.assertRaises(OSError) as cm:
+            os.splice(self.src, self.dst, 5)
+        self.assertEqual(errno.EINVAL, cm.exception.errno)
+        r, w = os.pipe()
+        with auto_close(r), auto_close(w):
+            os.write(w, b'abc')
+            with self.assertRaises(OSError) as cm:
+                os.splice(r, self.dst, 5, 0)
+            self.assertEqual(errno.ESPIPE, cm.exception.errno)
+            with self.assertRaises(OSError) as cm:
+                os.splice(self.src, w, 5, None, 0)
+            self.assertEqual(errno.ESPIPE, cm.exception.errno)
+            with self.assertRaises(OSError) as cm:
+                os.splice(self.src, w, 5, -1)
+            self.assertEqual(errno.EINVAL, cm.exception.errno)
+
+
 class SysconfTests(unittest.TestCase):
     def test_sysconf_names(self):
         self.assertIn('SC_CLK_TCK', os.sysconf_names)
@@ -1,4 +1,4 @@
-# Copyright (c) 2020, 2021, Oracle and/or its affiliates. All rights reserved.
+# Copyright (c) 2020, 2024, Oracle and/or its affiliates. All rights reserved.
 # DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
 #
 # The Universal Permissive License (UPL), Version 1.0
@@ -37,6 +37,7 @@
 # OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 # SOFTWARE.
 
+import errno
 import os
 import select
 import sys
@@ -95,3 +96,97 @@ class SelectTests(unittest.TestCase):
             fds = [F(f.fileno()), F(stdout_fd), F(f.fileno())]
             res = select.select(fds, [], [], 1)
             assert res == ([fds[0], fds[2]], [], [])
+
+    @unittest.skipUnless(hasattr(select, 'poll'), 'poll is not available')
+    def test_poll_pipe(self):
+        r, w = os.pipe()
+        try:
+            p = select.poll()
+            p.register(r, select.POLLIN)
+            p.register(w, select.POLLOUT)
+            assert p.poll(0) == [(w, select.POLLOUT)]
+            os.write(w, b'x')
+            assert sorted(p.poll(1000)) == sorted([(r, select.POLLIN), (w, select.POLLOUT)])
+            p.modify(w, select.POLLIN)
+            assert p.poll(None) == [(r, select.POLLIN)]
+            p.unregister(r)
+            assert p.poll(0) == []
+            self.assertRaises(KeyError, p.unregister, r)
+            self.assertRaises(OSError, p.modify, r, select.POLLIN)
+        finally:
+            os.close(r)
+            os.close(w)
+
+    @unittest.skipUnless(hasattr(select, 'epoll'), 'epoll is not available')
+    def test_epoll_pipe(self):
+        r, w = os.pipe()
+        try:
+            with select.epoll() as ep:
+                assert not ep.closed
+                assert ep.fileno() >= 0
+                ep.register(r, select.EPOLLIN)
+                assert ep.poll(0) == []
+                self.assertRaises(FileExistsError, ep.register, r, select.EPOLLIN)
+                os.write(w, b'x')
+                assert ep.poll(1) == [(r, select.EPOLLIN)]
+                assert ep.poll(0.1, 1) == [(r, select.EPOLLIN)]
+                self.assertRaises(ValueError, ep.poll, 0, 0)
+                ep.unregister(r)
+                self.assertRaises(FileNotFoundError, ep.unregister, r)
+                assert ep.poll(0) == []
+            assert ep.closed
+            self.assertRaises(ValueError, ep.fileno)
+            self.assertRaises(ValueError, ep.register, r)
+        finally:
+            os.close(r)
+            os.close(w)
+
+    @unittest.skipUnless(hasattr(select, 'epoll'), 'epoll is not available')
+    def test_epoll_socket_repeated_waits(self):
+        import socket
+        with socket.socket() as server:
+            server.bind(('127.0.0.1', 0))
+            server.listen(1)
+            with socket.create_connection(server.getsockname()) as client:
+                conn, _ = server.accept()
+                with conn, select.epoll() as ep:
+                    conn.setblocking(False)
+                    ep.register(conn.fileno(), select.EPOLLIN)
+                    for i in range(5):
+                        assert ep.poll(0) == []
+                        client.sendall(b'x')
+                        assert ep.poll(1) == [(conn.fileno(), select.EPOLLIN)]
+                        # level-triggered: still ready until the data is consumed
+                        assert ep.poll(0) == [(conn.fileno(), select.EPOLLIN)]
+                        assert conn.recv(1) == b'x'
+                    ep.modify(conn.fileno(), select.EPOLLOUT)
+                    assert ep.poll(1) == [(conn.fileno(), select.EPOLLOUT)]
+                    # switching a registered socket to blocking mode keeps it in the interest list
+                    conn.setblocking(True)
+                    assert ep.poll(1) == [(conn.fileno(), select.EPOLLOUT)]
+                    client.sendall(b'y')
+                    assert conn.recv(1) == b'y'
+                    conn.setblocking(False)
+                    ep.modify(conn.fileno(), select.EPOLLIN | select.EPOLLONESHOT)
+                    client.sendall(b'z')
+                    assert ep.poll(1) == [(conn.fileno(), select.EPOLLIN)]
+                    assert ep.poll(0) == []
+                    ep.unregister(conn.fileno())
+                    assert ep.poll(0) == []
+
+    @unittest.skipUnless(hasattr(select, 'epoll') and __graalpython__.posix_module_backend() == 'java',
+                         'edge-triggered mode is only rejected by the java backend')
+    def test_epoll_edge_triggered_rejected(self):
+        r, w = os.pipe()
+        try:
+            with select.epoll() as ep:
+                with self.assertRaises(OSError) as cm:
+                    ep.register(r, select.EPOLLIN | select.EPOLLET)
+                assert cm.exception.errno == errno.EINVAL
+                ep.register(r, select.EPOLLIN)
+                with self.assertRaises(OSError) as cm:
+                    ep.modify(r, select.EPOLLIN | select.EPOLLET)
+                assert cm.exception.errno == errno.EINVAL
+        finally:
+            os.close(r)
+            os.close(w)
@@ -277,3 +277,43 @@ def test_struct_is_builtin_on_enterprise():
         import __graalpython_enterprise__
         import _struct
         assert "built-in" in repr(_struct)
+
+
+def test_range_errors():
+    def check_error(fmt, value, msg):
+        try:
+            struct.pack(fmt, value)
+        except struct.error as e:
+            assert str(e) == msg, str(e)
+        else:
+            assert False, "no error for %r" % fmt
+
+    check_error('b', 128, "byte format requires -128 <= number <= 127")
+    check_error('B', -1, "ubyte format requires 0 <= number <= 255")
+    check_error('>h', 1 << 15, "'h' format requires -32768 <= number <= 32767")
+    check_error('>H', 1 << 16, "'H' format requires 0 <= number <= 65535")
+    check_error('>H', -1, "argument out of range")
+    check_error('>q', 1 << 63, "int too large to convert")
+    check_error('q', 1 << 63, "argument out of range")
+    check_error('i', 'a', "required argument is not an integer")
+    check_error('d', 'a', "required argument is not a float")
+    assert_raises(OverflowError, struct.pack, '<f', 1e300)
+    assert struct.pack('<Q', (1 << 64) - 1) == b'\xff' * 8
+    assert struct.unpack('<Q', b'\xff' * 8) == ((1 << 64) - 1,)
+
+
+def test_struct_reinit():
+    s = struct.Struct('>h')
+    assert s.size == 2 and s.format == '>h'
+    s.__init__(b'<iq')
+    assert s.size == 12 and s.format == '<iq'
+    assert s.unpack(s.pack(-1, 1 << 40)) == (-1, 1 << 40)
+
+
+def test_pack_into_negative_offset():
+    buf = bytearray(8)
+    struct.pack_into('<h', buf, -2, 0x0102)
+    assert buf == b'\x00' * 6 + b'\x02\x01'
+    assert struct.unpack_from('<h', buf, -2) == (0x0102,)
+    assert_raises(struct.error, struct.pack_into, '<h', buf, -1, 1)
+    assert_raises(struct.error, struct.pack_into, '<h', buf, -10, 1)
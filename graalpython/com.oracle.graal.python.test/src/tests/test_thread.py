@@ -519,3 +519,106 @@ class LockTests(BaseTestCase):
         lock.release()
         self.assertFalse(lock.locked())
         self.assertTrue(lock.acquire(blocking=False))
+
+
+class SwitchIntervalTests(unittest.TestCase):
+
+    def test_default_switchinterval(self):
+        self.assertAlmostEqual(sys.getswitchinterval(), 0.005)
+
+    def test_cpu_bound_threads_switch(self):
+        # Two CPU-bound threads must keep taking turns on the GIL. Instead of timing each turn,
+        # which is flaky on loaded machines, count the handoffs and require enough of them within a
+        # generous multiple of the switch interval. A thread that keeps the GIL until it is done,
+        # or for fixed ticks much longer than the interval, does not get there.
+        handoffs = 100
+        timeout = handoffs * 20 * sys.getswitchinterval()
+        owners = []
+        start = []
+        barrier = threading.Barrier(2, action=lambda: start.append(time.monotonic()))
+
+        def spin(name):
+            barrier.wait()
+            while len(owners) <= handoffs and time.monotonic() - start[0] < timeout:
+                if not owners or owners[-1] != name:
+                    owners.append(name)
+
+        threads = [threading.Thread(target=spin, args=(i,)) for i in range(2)]
+        for t in threads:
+            t.start()
+        for t in threads:
+            t.join()
+        self.assertGreater(len(owners), handoffs, f"only {len(owners) - 1} handoffs in {timeout}s")
+
+
+GIL_STATS_SCRIPT = """
+import __graalpython__, threading, time
+__graalpython__.gil_stats_reset()
+def spin():
+    deadline = time.time() + 0.2
+    while time.time() < deadline:
+        pass
+threads = [threading.Thread(target=spin) for i in range(2)]
+for t in threads:
+    t.start()
+for t in threads:
+    t.join()
+stats = __graalpython__.gil_stats()
+assert stats['enabled']
+assert stats['acquisitions'] >= stats['contended_acquisitions'] > 0, stats
+assert sum(stats['wait_histogram']) == stats['acquisitions'], stats
+assert len(stats['hold_histogram']) == len(stats['histogram_bounds_us']), stats
+assert stats['wait_time_ns'] > 0 and stats['hold_time_ns'] > 0, stats
+assert sum(t['acquisitions'] for t in stats['threads']) == stats['acquisitions'], stats
+"""
+
+
+@unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy-specific")
+class GilStatisticsTests(unittest.TestCase):
+
+    def test_disabled_by_default(self):
+        import __graalpython__
+        self.assertFalse(__graalpython__.gil_stats()['enabled'])
+        __graalpython__.gil_stats_reset()
+
+    def test_contention_is_recorded(self):
+        import subprocess
+        subprocess.check_call([sys.executable, '--experimental-options', '--python.GilStatistics=true', '-c', GIL_STATS_SCRIPT])
+
+
+VIRTUAL_THREADS_SCRIPT = """
+import re, sys, threading, time
+expect_virtual = sys.argv[1] == 'java' and int(re.match(r'\\d+', __graalpython__.get_jdk_version()).group()) >= 21
+lock = threading.Lock()
+results = []
+virtual = []
+def work(i):
+    time.sleep(0.01)
+    with lock:
+        results.append(i)
+        virtual.append(__graalpython__.is_virtual_thread())
+threads = [threading.Thread(target=work, args=(i,)) for i in range(500)]
+for t in threads:
+    t.start()
+for t in threads:
+    t.join()
+assert sorted(results) == list(range(500)), results
+assert virtual == [expect_virtual] * 500, virtual
+assert not __graalpython__.is_virtual_thread()
+"""
+
+
+@unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy-specific")
+class VirtualThreadsTests(unittest.TestCase):
+
+    def run_script(self, backend):
+        import subprocess
+        subprocess.check_call([sys.executable, '--experimental-options', '--python.VirtualThreads=true',
+                               f'--python.PosixModuleBackend={backend}', '-c', VIRTUAL_THREADS_SCRIPT, backend])
+
+    def test_many_threads(self):
+        self.run_script('java')
+
+    def test_native_backend_uses_platform_threads(self):
+        # blocking native calls would pin the carrier threads
+        self.run_script('native')
@@ -0,0 +1,141 @@
+# Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import sys
+import tracemalloc
+import unittest
+
+
+class Payload:
+    pass
+
+
+def allocate(n):
+    return [Payload() for _ in range(n)]
+
+
+class TracemallocTests(unittest.TestCase):
+    def tearDown(self):
+        tracemalloc.stop()
+
+    def test_start_stop(self):
+        self.assertFalse(tracemalloc.is_tracing())
+        tracemalloc.start(5)
+        self.assertTrue(tracemalloc.is_tracing())
+        self.assertEqual(tracemalloc.get_traceback_limit(), 5)
+        tracemalloc.stop()
+        self.assertFalse(tracemalloc.is_tracing())
+        self.assertEqual(tracemalloc.get_traced_memory(), (0, 0))
+        self.assertRaises(ValueError, tracemalloc.start, 0)
+
+    def test_object_traceback(self):
+        tracemalloc.start(2)
+        obj, lineno = Payload(), sys._getframe().f_lineno
+        tb = tracemalloc.get_object_traceback(obj)
+        self.assertIsNotNone(tb)
+        self.assertEqual(tb[-1].filename, __file__)
+        self.assertEqual(tb[-1].lineno, lineno)
+
+    def test_snapshot_compare(self):
+        tracemalloc.start()
+        before = tracemalloc.take_snapshot()
+        objs = allocate(1000)
+        after = tracemalloc.take_snapshot()
+        stats = after.compare_to(before, 'lineno')
+        top = [s for s in stats if s.traceback[0].filename == __file__]
+        self.assertTrue(top)
+        self.assertGreaterEqual(max(s.count_diff for s in top), 1000)
+        current, peak = tracemalloc.get_traced_memory()
+        self.assertGreater(current, 0)
+        self.assertGreaterEqual(peak, current)
+        del objs
+
+    def test_traceback_limit(self):
+        def nested(depth):
+            if depth == 0:
+                return Payload()
+            return nested(depth - 1)
+
+        tracemalloc.start(3)
+        obj = nested(10)
+        tb = tracemalloc.get_object_traceback(obj)
+        self.assertEqual(len(tb), 3)
+        self.assertGreater(tb.total_nframe, 3)
+        self.assertEqual(tb[0].lineno, nested.__code__.co_firstlineno + 2)
+
+    def test_restart(self):
+        for i in range(3):
+            tracemalloc.start()
+            obj = Payload()
+            self.assertIsNotNone(tracemalloc.get_object_traceback(obj))
+            tracemalloc.stop()
+            self.assertIsNone(tracemalloc.get_object_traceback(obj))
+            self.assertEqual(tracemalloc.get_traced_memory(), (0, 0))
+
+    def test_sizes(self):
+        tracemalloc.start()
+        small, small_line = Payload(), sys._getframe().f_lineno
+        data, data_line = bytearray(10 ** 7), sys._getframe().f_lineno
+        lst, lst_line = [None] * 10 ** 6, sys._getframe().f_lineno
+        snapshot = tracemalloc.take_snapshot()
+        sizes = {s.traceback[0].lineno: s.size for s in snapshot.statistics('lineno') if s.traceback[0].filename == __file__}
+        self.assertGreaterEqual(sizes[data_line], 10 ** 7)
+        self.assertGreaterEqual(sizes[lst_line], 4 * 10 ** 6)
+        self.assertLess(sizes[small_line], 10 ** 4)
+        del small, data, lst
+
+    def test_traced_memory_size(self):
+        tracemalloc.start()
+        before = tracemalloc.get_traced_memory()[0]
+        data = bytes(10 ** 7)
+        current, peak = tracemalloc.get_traced_memory()
+        self.assertGreaterEqual(current - before, 10 ** 7)
+        self.assertGreaterEqual(peak, current)
+        self.assertGreaterEqual(tracemalloc.get_object_traceback(data)[0].lineno, 0)
+        del data
+
+    def test_clear_traces(self):
+        tracemalloc.start()
+        objs = allocate(10)
+        tracemalloc.clear_traces()
+        self.assertIsNone(tracemalloc.get_object_traceback(objs[0]))
+
+
+if __name__ == '__main__':
+    unittest.main()
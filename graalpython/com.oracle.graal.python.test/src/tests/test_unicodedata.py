@@ -59,6 +59,15 @@ def test_normalize():
     assert_raises(TypeError, unicodedata.normalize)
     assert_raises(ValueError, unicodedata.normalize, 'unknown', 'xx')
     assert unicodedata.normalize('NFKC', '') == ''
+    assert unicodedata.normalize('NFC', 'abc') == 'abc'
+    assert unicodedata.normalize('NFD', '\u00e9') == 'e\u0301'
+    assert unicodedata.normalize('NFC', 'xe\u0301') == 'x\u00e9'
+    assert unicodedata.normalize('NFKD', '\ufb01') == 'fi'
+    assert unicodedata.normalize('NFKC', 'A\u2460') == 'A1'
+    assert unicodedata.is_normalized('NFC', 'x\u00e9')
+    assert not unicodedata.is_normalized('NFD', 'x\u00e9')
+    assert not unicodedata.is_normalized('NFKC', '\ufb01')
+    assert_raises(ValueError, unicodedata.is_normalized, 'unknown', 'xx')
 
 
 def test_category():
@@ -68,3 +77,43 @@ def test_category():
     assert unicodedata.category('A') == 'Lu'
     assert_raises(TypeError, unicodedata.category)
     assert_raises(TypeError, unicodedata.category, 'xx')
+
+
+def test_lookup():
+    import unicodedata
+    assert unicodedata.lookup('LATIN SMALL LETTER A') == 'a'
+    assert unicodedata.lookup('latin small letter a') == 'a'
+    assert unicodedata.lookup('HANGUL SYLLABLE GAG') == '\uac01'
+    assert unicodedata.lookup('CJK UNIFIED IDEOGRAPH-4E00') == '\u4e00'
+    assert unicodedata.lookup('LATIN CAPITAL LETTER GHA') == '\u01a2'
+    assert_raises(KeyError, unicodedata.lookup, 'NO SUCH CHARACTER')
+
+
+def test_properties():
+    import unicodedata
+    assert unicodedata.combining('a') == 0
+    assert unicodedata.combining('\u0301') == 230
+    assert unicodedata.east_asian_width('a') == 'Na'
+    assert unicodedata.east_asian_width('\u4e00') == 'W'
+    assert unicodedata.east_asian_width('\uff21') == 'F'
+    assert unicodedata.mirrored('(') == 1
+    assert unicodedata.mirrored('a') == 0
+    assert unicodedata.decomposition('a') == ''
+    assert unicodedata.decomposition('\u00e9') == '0065 0301'
+    assert unicodedata.decomposition('\u00a0') == '<noBreak> 0020'
+    assert unicodedata.decomposition('\ufb01') == '<compat> 0066 0069'
+    assert unicodedata.decomposition('\uac00') == ''
+
+
+def test_numeric():
+    import unicodedata
+    assert unicodedata.decimal('7') == 7
+    assert unicodedata.decimal('\u0667') == 7
+    assert unicodedata.decimal('\u00b2', None) is None
+    assert_raises(ValueError, unicodedata.decimal, 'a')
+    assert unicodedata.digit('\u00b2') == 2
+    assert_raises(ValueError, unicodedata.digit, '\u00bd')
+    assert unicodedata.numeric('\u00bd') == 0.5
+    assert unicodedata.numeric('\u4e00') == 1.0
+    assert unicodedata.numeric('a', -1) == -1
+    assert_raises(ValueError, unicodedata.numeric, 'a')
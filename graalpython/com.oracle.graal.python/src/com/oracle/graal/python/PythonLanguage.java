@@ -79,6 +79,7 @@ import com.oracle.graal.python.compiler.Compiler;
 import com.oracle.graal.python.compiler.RaisePythonExceptionErrorCallback;
 import com.oracle.graal.python.nodes.HiddenAttributes;
 import com.oracle.graal.python.nodes.bytecode.PBytecodeRootNode;
+import com.oracle.graal.python.nodes.bytecode.instrumentation.LineCoverage;
 import com.oracle.graal.python.nodes.call.CallNode;
 import com.oracle.graal.python.nodes.call.GenericInvokeNode;
 import com.oracle.graal.python.nodes.exception.TopLevelExceptionHandler;
@@ -95,6 +96,7 @@ import com.oracle.graal.python.pegparser.sst.StmtTy;
 import com.oracle.graal.python.pegparser.tokenizer.SourceRange;
 import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.graal.python.runtime.IndirectCallData;
+import com.oracle.graal.python.runtime.PersistentCodeCache;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonContext.PythonThreadState;
 import com.oracle.graal.python.runtime.PythonOptions;
@@ -138,6 +140,7 @@ import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.Source.SourceBuilder;
 import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.utilities.CyclicAssumption;
 
 @TruffleLanguage.Registration(id = PythonLanguage.ID, //
                 name = PythonLanguage.NAME, //
@@ -314,6 +317,22 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
      */
     public final Assumption noTracingOrProfilingAssumption = Assumption.create("No tracing function was set");
 
+    /**
+     * Whether {@code tracemalloc} is tracing in any context of this engine. Compiled code folds the
+     * flag and depends on {@link #tracemallocStable}, which is invalidated whenever the flag
+     * changes, so allocation sites stop calling into the tracer again once all contexts stopped
+     * tracing.
+     */
+    @CompilationFinal private boolean tracemallocActive;
+    private final CyclicAssumption tracemallocStable = new CyclicAssumption("tracemalloc state unchanged");
+    private int tracemallocContexts;
+
+    /**
+     * Executed lines of all code units, collected once the line coverage is started with
+     * {@code __graalpython__.start_line_coverage()}.
+     */
+    public final LineCoverage lineCoverage = new LineCoverage();
+
     @CompilationFinal private boolean singleContext = true;
 
     @Idempotent
@@ -572,10 +591,23 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
                     EnumSet<FutureFeature> futureFeatures) {
         RaisePythonExceptionErrorCallback errorCb = new RaisePythonExceptionErrorCallback(source, PythonOptions.isPExceptionWithJavaStacktrace(this));
         try {
+            byte[] cacheKey = null;
+            PersistentCodeCache codeCache = context.getPersistentCodeCache();
+            if (codeCache != null && type == InputType.FILE && !interactiveTerminal && (argumentNames == null || argumentNames.isEmpty()) && PersistentCodeCache.isCacheable(source)) {
+                cacheKey = PersistentCodeCache.computeKey(source.getName(), source.getCharacters(), optimize, futureFeatures);
+                CodeUnit cached = codeCache.load(cacheKey);
+                if (cached != null) {
+                    RootNode rootNode = PBytecodeRootNode.create(this, cached, source, errorCb);
+                    if (topLevel && context.isCoreInitialized()) {
+                        rootNode = new TopLevelExceptionHandler(this, rootNode, source);
+                    }
+                    return PythonUtils.getOrCreateCallTarget(rootNode);
+                }
+            }
             Parser parser = Compiler.createParser(source.getCharacters().toString(), errorCb, type, interactiveTerminal);
             ModTy mod = (ModTy) parser.parse();
             assert mod != null;
-            return compileForBytecodeInterpreter(context, mod, source, topLevel, optimize, argumentNames, errorCb, futureFeatures);
+            return compileForBytecodeInterpreter(context, mod, source, topLevel, optimize, argumentNames, errorCb, futureFeatures, cacheKey);
         } catch (PException e) {
             if (topLevel) {
                 PythonUtils.getOrCreateCallTarget(new TopLevelExceptionHandler(this, e)).call();
@@ -593,6 +625,11 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
     @TruffleBoundary
     public RootCallTarget compileForBytecodeInterpreter(PythonContext context, ModTy modIn, Source source, boolean topLevel, int optimize, List<String> argumentNames,
                     RaisePythonExceptionErrorCallback errorCallback, EnumSet<FutureFeature> futureFeatures) {
+        return compileForBytecodeInterpreter(context, modIn, source, topLevel, optimize, argumentNames, errorCallback, futureFeatures, null);
+    }
+
+    private RootCallTarget compileForBytecodeInterpreter(PythonContext context, ModTy modIn, Source source, boolean topLevel, int optimize, List<String> argumentNames,
+                    RaisePythonExceptionErrorCallback errorCallback, EnumSet<FutureFeature> futureFeatures, byte[] cacheKey) {
         RaisePythonExceptionErrorCallback errorCb = errorCallback;
         if (errorCb == null) {
             errorCb = new RaisePythonExceptionErrorCallback(source, PythonOptions.isPExceptionWithJavaStacktrace(this));
@@ -608,6 +645,9 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
             }
             CompilationUnit cu = compiler.compile(mod, EnumSet.noneOf(Compiler.Flags.class), optimize, futureFeatures);
             CodeUnit co = cu.assemble();
+            if (cacheKey != null) {
+                context.getPersistentCodeCache().store(cacheKey, co);
+            }
             RootNode rootNode = PBytecodeRootNode.create(this, co, source, errorCb);
             if (topLevel) {
                 GilNode gil = GilNode.getUncached();
@@ -979,6 +1019,31 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
         return shape;
     }
 
+    /**
+     * Whether allocations have to be reported to {@code tracemalloc}. Compiled code that calls this
+     * is invalidated when the result changes.
+     */
+    public boolean isTracemallocActive() {
+        if (!tracemallocStable.getAssumption().isValid()) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+        }
+        return tracemallocActive;
+    }
+
+    /**
+     * Called when a context starts or stops tracing with {@code tracemalloc}.
+     */
+    @TruffleBoundary
+    public synchronized void setTracemallocTracing(boolean tracing) {
+        tracemallocContexts += tracing ? 1 : -1;
+        assert tracemallocContexts >= 0;
+        boolean active = tracemallocContexts > 0;
+        if (active != tracemallocActive) {
+            tracemallocActive = active;
+            tracemallocStable.invalidate();
+        }
+    }
+
     /**
      * Returns the shape used for the C API symbol cache.
      */
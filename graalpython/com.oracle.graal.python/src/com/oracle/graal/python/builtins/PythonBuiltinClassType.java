@@ -34,6 +34,8 @@ import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.BYTES_M
 import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.BYTE_ARRAY_M_FLAGS;
 import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.COMPLEX_M_FLAGS;
 import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.CONTEXT_M_FLAGS;
+import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.DATE_M_FLAGS;
+import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.DECIMAL_M_FLAGS;
 import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.COROUTINE_M_FLAGS;
 import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.DEFAULTDICT_M_FLAGS;
 import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.DEFAULT_M_FLAGS;
@@ -63,8 +65,10 @@ import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.PYCSIMP
 import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.PYCSTRUCTTYPE_M_FLAGS;
 import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.RANGE_M_FLAGS;
 import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.SET_M_FLAGS;
+import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.SIGNALDICT_M_FLAGS;
 import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.SIMPLECDATA_M_FLAGS;
 import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.STRING_M_FLAGS;
+import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.TIMEDELTA_M_FLAGS;
 import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.TUPLE_M_FLAGS;
 import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.TYPE_M_FLAGS;
 import static com.oracle.graal.python.builtins.objects.type.MethodsFlags.UNIONTYPE_M_FLAGS;
@@ -158,6 +162,16 @@ public enum PythonBuiltinClassType implements TruffleObject {
     PDequeIter(J_DEQUE_ITER, "_collections", Flags.PUBLIC_DERIVED_WODICT),
     PDequeRevIter(J_DEQUE_REV_ITER, "_collections", Flags.PUBLIC_DERIVED_WODICT),
     POrderedDict(J_ORDERED_DICT, "_collections", Flags.PUBLIC_BASE_WDICT, DICT_M_FLAGS),
+    PTimeDelta("timedelta", "_datetime", "datetime", Flags.PUBLIC_BASE_WODICT, TIMEDELTA_M_FLAGS),
+    PDate("date", "_datetime", "datetime", Flags.PUBLIC_BASE_WODICT, DATE_M_FLAGS),
+    PDateTime("datetime", "_datetime", "datetime", Flags.PUBLIC_BASE_WODICT, DATE_M_FLAGS),
+    PTime("time", "_datetime", "datetime", Flags.PUBLIC_BASE_WODICT),
+    PTzInfo("tzinfo", "_datetime", "datetime", Flags.PUBLIC_BASE_WODICT),
+    PTimeZone("timezone", "_datetime", "datetime", Flags.PUBLIC_DERIVED_WODICT),
+    PDecimal("Decimal", "_decimal", "decimal", Flags.PUBLIC_BASE_WODICT, DECIMAL_M_FLAGS),
+    PDecimalContext("Context", "_decimal", "decimal", Flags.PUBLIC_BASE_WODICT),
+    PDecimalSignalDictMixin("SignalDictMixin", null, "decimal", Flags.PUBLIC_BASE_WODICT, SIGNALDICT_M_FLAGS),
+    PDecimalContextManager("ContextManager", null, "decimal", Flags.PUBLIC_DERIVED_WODICT),
     POrderedDictKeys("odict_keys", Flags.PRIVATE_DERIVED_WODICT, DICTKEYSVIEW_M_FLAGS),
     POrderedDictValues("odict_values", Flags.PRIVATE_DERIVED_WODICT, DICTVALUESVIEW_M_FLAGS),
     POrderedDictItems("odict_items", Flags.PRIVATE_DERIVED_WODICT, DICTITEMSVIEW_M_FLAGS),
@@ -224,6 +238,8 @@ public enum PythonBuiltinClassType implements TruffleObject {
     PSemLock("SemLock", "_multiprocessing"),
     PGraalPySemLock("SemLock", "_multiprocessing_graalpy"),
     PSocket("socket", J__SOCKET),
+    PPoll("poll", null, "select", Flags.PUBLIC_DERIVED_WODICT),
+    PEpoll("epoll", null, "select", Flags.PUBLIC_BASE_WODICT),
     PStaticmethod("staticmethod", J_BUILTINS, Flags.PUBLIC_BASE_WDICT),
     PClassmethod("classmethod", J_BUILTINS, Flags.PUBLIC_BASE_WDICT),
     PInstancemethod("instancemethod", Flags.PUBLIC_BASE_WDICT),
@@ -271,6 +287,7 @@ public enum PythonBuiltinClassType implements TruffleObject {
     PTerminalSize("terminal_size", "os", Flags.PUBLIC_DERIVED_WODICT, TUPLE_M_FLAGS),
     PUnameResult("uname_result", J_POSIX, Flags.PUBLIC_DERIVED_WODICT, TUPLE_M_FLAGS),
     PStructTime("struct_time", "time", Flags.PUBLIC_DERIVED_WODICT, TUPLE_M_FLAGS),
+    PIsoCalendarDate("IsoCalendarDate", null, "datetime", Flags.PUBLIC_DERIVED_WODICT, TUPLE_M_FLAGS),
     PProfilerEntry("profiler_entry", "_lsprof", Flags.PUBLIC_DERIVED_WODICT, TUPLE_M_FLAGS),
     PProfilerSubentry("profiler_subentry", "_lsprof", Flags.PUBLIC_DERIVED_WODICT, TUPLE_M_FLAGS),
     PStructPasswd("struct_passwd", "pwd", Flags.PUBLIC_DERIVED_WODICT, TUPLE_M_FLAGS),
@@ -314,6 +331,7 @@ public enum PythonBuiltinClassType implements TruffleObject {
     // json
     JSONScanner("Scanner", "_json", Flags.PUBLIC_BASE_WODICT),
     JSONEncoder("Encoder", "_json", Flags.PUBLIC_BASE_WODICT),
+    JSONStreamScanner("StreamScanner", "_json", Flags.PUBLIC_BASE_WODICT),
 
     // csv
     CSVDialect("Dialect", "_csv", Flags.PUBLIC_BASE_WODICT),
@@ -696,6 +714,7 @@ public enum PythonBuiltinClassType implements TruffleObject {
         PIntInfo.redefinedSlots = reprAndNew;
         PHashInfo.redefinedSlots = reprAndNew;
         PStructTime.redefinedSlots = reprAndNew;
+        PIsoCalendarDate.redefinedSlots = reprAndNew;
         PProfilerEntry.redefinedSlots = reprAndNew;
         PProfilerSubentry.redefinedSlots = reprAndNew;
         PThreadInfo.redefinedSlots = reprAndNew;
@@ -807,6 +826,7 @@ public enum PythonBuiltinClassType implements TruffleObject {
         PTerminalSize.base = PTuple;
         PUnameResult.base = PTuple;
         PStructTime.base = PTuple;
+        PIsoCalendarDate.base = PTuple;
         PProfilerEntry.base = PTuple;
         PProfilerSubentry.base = PTuple;
         PStructPasswd.base = PTuple;
@@ -818,6 +838,8 @@ public enum PythonBuiltinClassType implements TruffleObject {
         PHashInfo.base = PTuple;
         PThreadInfo.base = PTuple;
         PUnraisableHookArgs.base = PTuple;
+        PDateTime.base = PDate;
+        PTimeZone.base = PTzInfo;
         PDefaultDict.base = PDict;
         POrderedDict.base = PDict;
         POrderedDictKeys.base = PDictKeysView;
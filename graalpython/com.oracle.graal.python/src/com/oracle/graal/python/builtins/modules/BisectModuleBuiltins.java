@@ -0,0 +1,371 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T_INSERT;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.IndexError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetItem;
+import com.oracle.graal.python.lib.PyObjectRichCompareBool;
+import com.oracle.graal.python.lib.PyObjectSizeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinObjectExactProfile;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.GenerateCached;
+import com.oracle.truffle.api.dsl.GenerateInline;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Java implementation of CPython's {@code _bisect} accelerator module.
+ *
+ * Searches without a key in exact lists of ints or floats run directly on the storage's array.
+ * Everything else goes through {@code __getitem__} and {@link PyObjectRichCompareBool.LtNode}.
+ */
+@CoreFunctions(defineModule = "_bisect")
+public final class BisectModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return BisectModuleBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Returns the insertion point for {@code x} in {@code a[lo:hi]}. For {@code right}, it is after
+     * any entries equal to {@code x}, otherwise before them. If a key function is given, it is
+     * applied to the items of {@code a}, but not to {@code x}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @ImportStatic(PGuards.class)
+    abstract static class BisectNode extends Node {
+
+        abstract int execute(VirtualFrame frame, Node inliningTarget, Object a, Object x, int lo, int hi, Object key, boolean right);
+
+        static boolean isExactList(Node inliningTarget, Object a, IsBuiltinObjectExactProfile profile) {
+            return profile.profileObject(inliningTarget, a, PythonBuiltinClassType.PList);
+        }
+
+        @Specialization(guards = {"isPNone(key)", "isExactList(inliningTarget, a, profile)", "isIntStorage(a)"}, limit = "1")
+        static int doInt(Node inliningTarget, PList a, int x, int lo, int hi, @SuppressWarnings("unused") Object key, boolean right,
+                        @SuppressWarnings("unused") @Shared @Cached IsBuiltinObjectExactProfile profile,
+                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
+            IntSequenceStorage s = (IntSequenceStorage) a.getSequenceStorage();
+            int[] array = s.getInternalIntArray();
+            int len = s.length();
+            if (hi == -1) {
+                hi = len;
+            }
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                checkIndex(inliningTarget, mid, len, raiseNode);
+                if (right ? x < array[mid] : array[mid] < x) {
+                    if (right) {
+                        hi = mid;
+                    } else {
+                        lo = mid + 1;
+                    }
+                } else {
+                    if (right) {
+                        lo = mid + 1;
+                    } else {
+                        hi = mid;
+                    }
+                }
+            }
+            return lo;
+        }
+
+        @Specialization(guards = {"isPNone(key)", "isExactList(inliningTarget, a, profile)", "isLongStorage(a)"}, limit = "1")
+        static int doLong(Node inliningTarget, PList a, long x, int lo, int hi, @SuppressWarnings("unused") Object key, boolean right,
+                        @SuppressWarnings("unused") @Shared @Cached IsBuiltinObjectExactProfile profile,
+                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
+            LongSequenceStorage s = (LongSequenceStorage) a.getSequenceStorage();
+            long[] array = s.getInternalLongArray();
+            int len = s.length();
+            if (hi == -1) {
+                hi = len;
+            }
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                checkIndex(inliningTarget, mid, len, raiseNode);
+                if (right ? x < array[mid] : array[mid] < x) {
+                    if (right) {
+                        hi = mid;
+                    } else {
+                        lo = mid + 1;
+                    }
+                } else {
+                    if (right) {
+                        lo = mid + 1;
+                    } else {
+                        hi = mid;
+                    }
+                }
+            }
+            return lo;
+        }
+
+        @Specialization(guards = {"isPNone(key)", "isExactList(inliningTarget, a, profile)", "isLongStorage(a)"}, limit = "1")
+        static int doLongInt(Node inliningTarget, PList a, int x, int lo, int hi, Object key, boolean right,
+                        @Shared @Cached IsBuiltinObjectExactProfile profile,
+                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
+            return doLong(inliningTarget, a, x, lo, hi, key, right, profile, raiseNode);
+        }
+
+        @Specialization(guards = {"isPNone(key)", "isExactList(inliningTarget, a, profile)", "isDoubleStorage(a)"}, limit = "1")
+        static int doDouble(Node inliningTarget, PList a, double x, int lo, int hi, @SuppressWarnings("unused") Object key, boolean right,
+                        @SuppressWarnings("unused") @Shared @Cached IsBuiltinObjectExactProfile profile,
+                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
+            DoubleSequenceStorage s = (DoubleSequenceStorage) a.getSequenceStorage();
+            double[] array = s.getInternalDoubleArray();
+            int len = s.length();
+            if (hi == -1) {
+                hi = len;
+            }
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                checkIndex(inliningTarget, mid, len, raiseNode);
+                if (right ? x < array[mid] : array[mid] < x) {
+                    if (right) {
+                        hi = mid;
+                    } else {
+                        lo = mid + 1;
+                    }
+                } else {
+                    if (right) {
+                        lo = mid + 1;
+                    } else {
+                        hi = mid;
+                    }
+                }
+            }
+            return lo;
+        }
+
+        @Specialization
+        static int doGeneric(VirtualFrame frame, Node inliningTarget, Object a, Object x, int lo, int hi, Object key, boolean right,
+                        @Cached PyObjectSizeNode sizeNode,
+                        @Cached PyObjectGetItem getItemNode,
+                        @Cached(inline = false) CallNode callKeyNode,
+                        @Cached PyObjectRichCompareBool.LtNode ltNode) {
+            if (hi == -1) {
+                hi = sizeNode.execute(frame, inliningTarget, a);
+            }
+            boolean hasKey = !PGuards.isPNone(key);
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                Object item = getItemNode.execute(frame, inliningTarget, a, mid);
+                if (hasKey) {
+                    item = callKeyNode.execute(frame, key, item);
+                }
+                if (right ? ltNode.compare(frame, inliningTarget, x, item) : ltNode.compare(frame, inliningTarget, item, x)) {
+                    if (right) {
+                        hi = mid;
+                    } else {
+                        lo = mid + 1;
+                    }
+                } else {
+                    if (right) {
+                        lo = mid + 1;
+                    } else {
+                        hi = mid;
+                    }
+                }
+            }
+            return lo;
+        }
+
+        private static void checkIndex(Node inliningTarget, int mid, int len, PRaiseNode.Lazy raiseNode) {
+            // hi may be beyond the end of the list, CPython only fails once such an index is used
+            if (mid >= len) {
+                throw raiseNode.get(inliningTarget).raise(IndexError, ErrorMessages.LIST_INDEX_OUT_OF_RANGE);
+            }
+        }
+    }
+
+    /**
+     * Inserts {@code x} into {@code a} at the position found by {@link BisectNode}. Exact lists are
+     * modified directly, other sequences must provide an {@code insert} method.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class InsortNode extends Node {
+
+        abstract void execute(VirtualFrame frame, Node inliningTarget, Object a, Object x, int lo, int hi, Object key, boolean right);
+
+        @Specialization
+        static void insort(VirtualFrame frame, Node inliningTarget, Object a, Object x, int lo, int hi, Object key, boolean right,
+                        @Cached(inline = false) CallNode callKeyNode,
+                        @Cached BisectNode bisectNode,
+                        @Cached IsBuiltinObjectExactProfile isListProfile,
+                        @Cached SequenceStorageNodes.InsertItemNode insertItemNode,
+                        @Cached PyObjectCallMethodObjArgs callInsertNode) {
+            Object keyX = PGuards.isPNone(key) ? x : callKeyNode.execute(frame, key, x);
+            int index = bisectNode.execute(frame, inliningTarget, a, keyX, lo, hi, key, right);
+            if (isListProfile.profileObject(inliningTarget, a, PythonBuiltinClassType.PList)) {
+                PList list = (PList) a;
+                SequenceStorage s = list.getSequenceStorage();
+                // like list.insert, which CPython calls here
+                list.setSequenceStorage(insertItemNode.execute(inliningTarget, s, Math.min(index, s.length()), x));
+            } else {
+                callInsertNode.execute(frame, inliningTarget, a, T_INSERT, index, x);
+            }
+        }
+    }
+
+    static void checkLo(Node inliningTarget, int lo, PRaiseNode.Lazy raiseNode) {
+        if (lo < 0) {
+            throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.LO_MUST_BE_NON_NEGATIVE);
+        }
+    }
+
+    @Builtin(name = "bisect_right", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"}, keywordOnlyNames = {"key"})
+    @ArgumentClinic(name = "lo", conversion = ClinicConversion.Index, defaultValue = "0")
+    @ArgumentClinic(name = "hi", conversion = ClinicConversion.Index, defaultValue = "-1", useDefaultForNone = true)
+    @GenerateNodeFactory
+    abstract static class BisectRightNode extends PythonClinicBuiltinNode {
+        @Specialization
+        static int bisect(VirtualFrame frame, Object a, Object x, int lo, int hi, Object key,
+                        @Bind("this") Node inliningTarget,
+                        @Cached BisectNode bisectNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            checkLo(inliningTarget, lo, raiseNode);
+            return bisectNode.execute(frame, inliningTarget, a, x, lo, hi, key, true);
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.BisectRightNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "bisect_left", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"}, keywordOnlyNames = {"key"})
+    @ArgumentClinic(name = "lo", conversion = ClinicConversion.Index, defaultValue = "0")
+    @ArgumentClinic(name = "hi", conversion = ClinicConversion.Index, defaultValue = "-1", useDefaultForNone = true)
+    @GenerateNodeFactory
+    abstract static class BisectLeftNode extends PythonClinicBuiltinNode {
+        @Specialization
+        static int bisect(VirtualFrame frame, Object a, Object x, int lo, int hi, Object key,
+                        @Bind("this") Node inliningTarget,
+                        @Cached BisectNode bisectNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            checkLo(inliningTarget, lo, raiseNode);
+            return bisectNode.execute(frame, inliningTarget, a, x, lo, hi, key, false);
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.BisectLeftNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "insort_right", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"}, keywordOnlyNames = {"key"})
+    @ArgumentClinic(name = "lo", conversion = ClinicConversion.Index, defaultValue = "0")
+    @ArgumentClinic(name = "hi", conversion = ClinicConversion.Index, defaultValue = "-1", useDefaultForNone = true)
+    @GenerateNodeFactory
+    abstract static class InsortRightNode extends PythonClinicBuiltinNode {
+        @Specialization
+        static PNone insort(VirtualFrame frame, Object a, Object x, int lo, int hi, Object key,
+                        @Bind("this") Node inliningTarget,
+                        @Cached InsortNode insortNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            checkLo(inliningTarget, lo, raiseNode);
+            insortNode.execute(frame, inliningTarget, a, x, lo, hi, key, true);
+            return PNone.NONE;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.InsortRightNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "insort_left", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"}, keywordOnlyNames = {"key"})
+    @ArgumentClinic(name = "lo", conversion = ClinicConversion.Index, defaultValue = "0")
+    @ArgumentClinic(name = "hi", conversion = ClinicConversion.Index, defaultValue = "-1", useDefaultForNone = true)
+    @GenerateNodeFactory
+    abstract static class InsortLeftNode extends PythonClinicBuiltinNode {
+        @Specialization
+        static PNone insort(VirtualFrame frame, Object a, Object x, int lo, int hi, Object key,
+                        @Bind("this") Node inliningTarget,
+                        @Cached InsortNode insortNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            checkLo(inliningTarget, lo, raiseNode);
+            insortNode.execute(frame, inliningTarget, a, x, lo, hi, key, false);
+            return PNone.NONE;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.InsortLeftNodeClinicProviderGen.INSTANCE;
+        }
+    }
+}
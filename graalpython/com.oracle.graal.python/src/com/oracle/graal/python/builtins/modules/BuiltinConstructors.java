@@ -1389,9 +1389,9 @@ public final class BuiltinConstructors extends PythonBuiltins {
 
             BigInteger bi;
             if (sign == '-') {
-                bi = new BigInteger("-" + s, base);
+                bi = PInt.parseBigInteger("-" + s, base);
             } else {
-                bi = new BigInteger(s, base);
+                bi = PInt.parseBigInteger(s, base);
             }
 
             if (raiseIfNotZero && !bi.equals(BigInteger.ZERO)) {
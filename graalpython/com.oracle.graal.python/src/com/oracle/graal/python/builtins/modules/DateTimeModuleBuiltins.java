@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OverflowError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.datetime.DateBuiltins;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.AsTimeDeltaNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.CheckTzInfoNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.NewDateNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.NewDateTimeNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.NewTimeDeltaNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.NewTimeNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeUtils;
+import com.oracle.graal.python.builtins.objects.datetime.PTimeDelta;
+import com.oracle.graal.python.builtins.objects.tuple.StructSequence;
+import com.oracle.graal.python.lib.PyFloatAsDoubleNode;
+import com.oracle.graal.python.lib.PyFloatCheckNode;
+import com.oracle.graal.python.lib.PyLongAsIntNode;
+import com.oracle.graal.python.lib.PyLongCheckNode;
+import com.oracle.graal.python.lib.PyObjectTypeCheck;
+import com.oracle.graal.python.lib.PyUnicodeCheckNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.SpecialAttributeNames;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Java implementation of CPython's {@code _datetime} accelerator module. The types themselves are
+ * implemented in {@code com.oracle.graal.python.builtins.objects.datetime}, this module only
+ * contains their constructors.
+ */
+@CoreFunctions(defineModule = "_datetime")
+public final class DateTimeModuleBuiltins extends PythonBuiltins {
+
+    private static final int DATE_STATE_SIZE = 4;
+    private static final int TIME_STATE_SIZE = 6;
+    private static final int DATETIME_STATE_SIZE = 10;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DateTimeModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        addBuiltinConstant("MINYEAR", DateTimeUtils.MINYEAR);
+        addBuiltinConstant("MAXYEAR", DateTimeUtils.MAXYEAR);
+        addBuiltinConstant(SpecialAttributeNames.T___DOC__, "Fast implementation of the datetime type.");
+        StructSequence.initType(core, DateBuiltins.ISO_CALENDAR_DATE_DESC);
+    }
+
+    /**
+     * Returns the contents of the argument if it is a pickled state of the given size, or
+     * {@code null} otherwise.
+     */
+    @TruffleBoundary
+    private static byte[] getPickleState(Object arg, int size) {
+        if (arg instanceof PBytes bytes) {
+            PythonBufferAccessLibrary bufferLib = PythonBufferAccessLibrary.getUncached();
+            if (bufferLib.getBufferLength(bytes) == size) {
+                return bufferLib.getCopiedByteArray(bytes);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isMonthSane(int month) {
+        return 1 <= month && month <= 12;
+    }
+
+    private static int getInt(VirtualFrame frame, Node inliningTarget, PyLongAsIntNode asIntNode, Object value, int defaultValue) {
+        return value == PNone.NO_VALUE ? defaultValue : asIntNode.execute(frame, inliningTarget, value);
+    }
+
+    @Builtin(name = "timedelta", minNumOfPositionalArgs = 1, parameterNames = {"$cls", "days", "seconds", "microseconds", "milliseconds", "minutes", "hours", "weeks"},
+                    constructsClass = PythonBuiltinClassType.PTimeDelta)
+    @GenerateNodeFactory
+    abstract static class TimeDeltaNode extends PythonBuiltinNode {
+        private static final String[] COMPONENT_NAMES = {"microseconds", "milliseconds", "seconds", "minutes", "hours", "days", "weeks"};
+        private static final long[] COMPONENT_FACTORS = {1, 1000, DateTimeUtils.US_PER_SECOND, 60 * DateTimeUtils.US_PER_SECOND, 3600 * DateTimeUtils.US_PER_SECOND,
+                        DateTimeUtils.US_PER_DAY, 7 * DateTimeUtils.US_PER_DAY};
+
+        @Specialization
+        static Object timedelta(Object cls, Object days, Object seconds, Object microseconds, Object milliseconds, Object minutes, Object hours, Object weeks,
+                        @Bind("this") Node inliningTarget,
+                        @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            // the components in the order in which CPython accumulates them
+            Object[] components = {microseconds, milliseconds, seconds, minutes, hours, days, weeks};
+            long[] delta = sumSmallInts(components);
+            if (delta == null) {
+                delta = sumGeneric(inliningTarget, components);
+            } else if (!DateTimeUtils.isDeltaDaysInRange(delta[0])) {
+                throw DateTimeNodes.raiseDeltaOverflow(inliningTarget, delta[0]);
+            }
+            return newTimeDeltaNode.execute(inliningTarget, cls, (int) delta[0], (int) delta[1], (int) delta[2]);
+        }
+
+        /**
+         * Fast path for components that are all missing or ints whose total fits into a long.
+         * Returns the normalized delta or {@code null} if the generic path must be taken.
+         */
+        private static long[] sumSmallInts(Object[] components) {
+            long sum = 0;
+            try {
+                for (int i = 0; i < components.length; i++) {
+                    Object value = components[i];
+                    if (value instanceof Integer intValue) {
+                        sum = Math.addExact(sum, Math.multiplyExact(intValue, COMPONENT_FACTORS[i]));
+                    } else if (value instanceof Long longValue) {
+                        sum = Math.addExact(sum, Math.multiplyExact(longValue, COMPONENT_FACTORS[i]));
+                    } else if (value != PNone.NO_VALUE) {
+                        return null;
+                    }
+                }
+            } catch (ArithmeticException e) {
+                return null;
+            }
+            return DateTimeUtils.microsecondsToDelta(sum);
+        }
+
+        /**
+         * Sums the components as exact integers. The fractional microseconds of floats are
+         * collected separately and rounded half to even at the end, like CPython does.
+         */
+        @TruffleBoundary
+        private static long[] sumGeneric(Node inliningTarget, Object[] components) {
+            BigInteger sum = BigInteger.ZERO;
+            double[] leftover = new double[1];
+            for (int i = 0; i < components.length; i++) {
+                Object value = components[i];
+                if (value == PNone.NO_VALUE) {
+                    continue;
+                }
+                if (PyLongCheckNode.executeUncached(value)) {
+                    sum = sum.add(DateTimeNodes.toBigInteger(value).multiply(BigInteger.valueOf(COMPONENT_FACTORS[i])));
+                } else if (PyFloatCheckNode.executeUncached(value)) {
+                    double num = PyFloatAsDoubleNode.executeUncached(value);
+                    if (Double.isNaN(num)) {
+                        throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.CANNOT_CONVERT_FLOAT_NAN_TO_INTEGER);
+                    } else if (Double.isInfinite(num)) {
+                        throw PRaiseNode.raiseUncached(inliningTarget, OverflowError, ErrorMessages.CANNOT_CONVERT_FLOAT_INFINITY_TO_INTEGER);
+                    }
+                    sum = DateTimeUtils.accumulate(sum, num, COMPONENT_FACTORS[i], leftover);
+                } else {
+                    throw PRaiseNode.raiseUncached(inliningTarget, TypeError, ErrorMessages.UNSUPPORTED_TYPE_FOR_TIMEDELTA_S_COMPONENT_P, COMPONENT_NAMES[i], value);
+                }
+            }
+            sum = DateTimeUtils.roundLeftover(sum, leftover[0]);
+            long[] delta = DateTimeUtils.microsecondsToDelta(sum);
+            if (delta == null) {
+                throw DateTimeNodes.raiseDeltaOverflow(inliningTarget, DateTimeUtils.floorDivMod(sum, BigInteger.valueOf(DateTimeUtils.US_PER_DAY))[0]);
+            }
+            return delta;
+        }
+    }
+
+    @Builtin(name = "date", minNumOfPositionalArgs = 2, parameterNames = {"$cls", "year", "month", "day"}, constructsClass = PythonBuiltinClassType.PDate)
+    @GenerateNodeFactory
+    abstract static class DateNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        static Object date(VirtualFrame frame, Object cls, Object yearObj, Object monthObj, Object dayObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached NewDateNode newDateNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (monthObj == PNone.NO_VALUE && dayObj == PNone.NO_VALUE) {
+                byte[] state = getPickleState(yearObj, DATE_STATE_SIZE);
+                if (state != null && isMonthSane(state[2])) {
+                    int year = (state[0] & 0xff) << 8 | (state[1] & 0xff);
+                    DateTimeNodes.checkDateFields(inliningTarget, year, state[2], state[3]);
+                    return newDateNode.execute(inliningTarget, cls, year, state[2], state[3]);
+                }
+            }
+            int year = asIntNode.execute(frame, inliningTarget, yearObj);
+            if (monthObj == PNone.NO_VALUE) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.MISSING_D_REQUIRED_S_ARGUMENT_S_POS, "date", "month", 2);
+            }
+            int month = asIntNode.execute(frame, inliningTarget, monthObj);
+            if (dayObj == PNone.NO_VALUE) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.MISSING_D_REQUIRED_S_ARGUMENT_S_POS, "date", "day", 3);
+            }
+            int day = asIntNode.execute(frame, inliningTarget, dayObj);
+            DateTimeNodes.checkDateFields(inliningTarget, year, month, day);
+            return newDateNode.execute(inliningTarget, cls, year, month, day);
+        }
+    }
+
+    @Builtin(name = "time", minNumOfPositionalArgs = 1, parameterNames = {"$cls", "hour", "minute", "second", "microsecond", "tzinfo"}, keywordOnlyNames = {"fold"},
+                    constructsClass = PythonBuiltinClassType.PTime)
+    @GenerateNodeFactory
+    abstract static class TimeNode extends PythonBuiltinNode {
+        @Specialization
+        static Object time(VirtualFrame frame, Object cls, Object hourObj, Object minuteObj, Object secondObj, Object microsecondObj, Object tzInfoObj, Object foldObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached PyObjectTypeCheck typeCheck,
+                        @Cached CheckTzInfoNode checkTzInfoNode,
+                        @Cached NewTimeNode newTimeNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (secondObj == PNone.NO_VALUE && microsecondObj == PNone.NO_VALUE && tzInfoObj == PNone.NO_VALUE && foldObj == PNone.NO_VALUE) {
+                byte[] state = getPickleState(hourObj, TIME_STATE_SIZE);
+                if (state != null && (state[0] & 0x7f) < 24) {
+                    Object tzInfo = minuteObj == PNone.NO_VALUE ? PNone.NONE : minuteObj;
+                    if (tzInfo != PNone.NONE && !typeCheck.execute(inliningTarget, tzInfo, PythonBuiltinClassType.PTzInfo)) {
+                        throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.BAD_TZINFO_STATE_ARG);
+                    }
+                    int microsecond = (state[3] & 0xff) << 16 | (state[4] & 0xff) << 8 | (state[5] & 0xff);
+                    DateTimeNodes.checkTimeFields(inliningTarget, state[0] & 0x7f, state[1], state[2], microsecond, 0);
+                    return newTimeNode.execute(inliningTarget, cls, state[0] & 0x7f, state[1], state[2], microsecond, tzInfo, (state[0] & 0x80) != 0 ? 1 : 0);
+                }
+            }
+            int hour = getInt(frame, inliningTarget, asIntNode, hourObj, 0);
+            int minute = getInt(frame, inliningTarget, asIntNode, minuteObj, 0);
+            int second = getInt(frame, inliningTarget, asIntNode, secondObj, 0);
+            int microsecond = getInt(frame, inliningTarget, asIntNode, microsecondObj, 0);
+            Object tzInfo = tzInfoObj == PNone.NO_VALUE ? PNone.NONE : tzInfoObj;
+            int fold = getInt(frame, inliningTarget, asIntNode, foldObj, 0);
+            DateTimeNodes.checkTimeFields(inliningTarget, hour, minute, second, microsecond, fold);
+            checkTzInfoNode.execute(inliningTarget, tzInfo);
+            return newTimeNode.execute(inliningTarget, cls, hour, minute, second, microsecond, tzInfo, fold);
+        }
+    }
+
+    @Builtin(name = "datetime", minNumOfPositionalArgs = 2, parameterNames = {"$cls", "year", "month", "day", "hour", "minute", "second", "microsecond", "tzinfo"},
+                    keywordOnlyNames = {"fold"}, constructsClass = PythonBuiltinClassType.PDateTime)
+    @GenerateNodeFactory
+    abstract static class DateTimeNode extends PythonBuiltinNode {
+        @Specialization
+        static Object datetime(VirtualFrame frame, Object cls, Object yearObj, Object monthObj, Object dayObj, Object hourObj, Object minuteObj, Object secondObj, Object microsecondObj,
+                        Object tzInfoObj, Object foldObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached PyObjectTypeCheck typeCheck,
+                        @Cached CheckTzInfoNode checkTzInfoNode,
+                        @Cached NewDateTimeNode newDateTimeNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (dayObj == PNone.NO_VALUE && hourObj == PNone.NO_VALUE && minuteObj == PNone.NO_VALUE && secondObj == PNone.NO_VALUE && microsecondObj == PNone.NO_VALUE &&
+                            tzInfoObj == PNone.NO_VALUE && foldObj == PNone.NO_VALUE) {
+                byte[] state = getPickleState(yearObj, DATETIME_STATE_SIZE);
+                if (state != null && isMonthSane(state[2] & 0x7f)) {
+                    Object tzInfo = monthObj == PNone.NO_VALUE ? PNone.NONE : monthObj;
+                    if (tzInfo != PNone.NONE && !typeCheck.execute(inliningTarget, tzInfo, PythonBuiltinClassType.PTzInfo)) {
+                        throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.BAD_TZINFO_STATE_ARG);
+                    }
+                    int year = (state[0] & 0xff) << 8 | (state[1] & 0xff);
+                    int month = state[2] & 0x7f;
+                    int microsecond = (state[7] & 0xff) << 16 | (state[8] & 0xff) << 8 | (state[9] & 0xff);
+                    DateTimeNodes.checkDateFields(inliningTarget, year, month, state[3]);
+                    DateTimeNodes.checkTimeFields(inliningTarget, state[4], state[5], state[6], microsecond, 0);
+                    return newDateTimeNode.execute(inliningTarget, cls, year, month, state[3], state[4], state[5], state[6], microsecond, tzInfo, (state[2] & 0x80) != 0 ? 1 : 0);
+                }
+            }
+            int year = asIntNode.execute(frame, inliningTarget, yearObj);
+            if (monthObj == PNone.NO_VALUE) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.MISSING_D_REQUIRED_S_ARGUMENT_S_POS, "datetime", "month", 2);
+            }
+            int month = asIntNode.execute(frame, inliningTarget, monthObj);
+            if (dayObj == PNone.NO_VALUE) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.MISSING_D_REQUIRED_S_ARGUMENT_S_POS, "datetime", "day", 3);
+            }
+            int day = asIntNode.execute(frame, inliningTarget, dayObj);
+            int hour = getInt(frame, inliningTarget, asIntNode, hourObj, 0);
+            int minute = getInt(frame, inliningTarget, asIntNode, minuteObj, 0);
+            int second = getInt(frame, inliningTarget, asIntNode, secondObj, 0);
+            int microsecond = getInt(frame, inliningTarget, asIntNode, microsecondObj, 0);
+            Object tzInfo = tzInfoObj == PNone.NO_VALUE ? PNone.NONE : tzInfoObj;
+            int fold = getInt(frame, inliningTarget, asIntNode, foldObj, 0);
+            DateTimeNodes.checkDateFields(inliningTarget, year, month, day);
+            DateTimeNodes.checkTimeFields(inliningTarget, hour, minute, second, microsecond, fold);
+            checkTzInfoNode.execute(inliningTarget, tzInfo);
+            return newDateTimeNode.execute(inliningTarget, cls, year, month, day, hour, minute, second, microsecond, tzInfo, fold);
+        }
+    }
+
+    @Builtin(name = "timezone", minNumOfPositionalArgs = 2, parameterNames = {"$cls", "offset", "name"}, constructsClass = PythonBuiltinClassType.PTimeZone)
+    @GenerateNodeFactory
+    abstract static class TimeZoneNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static Object timezone(@SuppressWarnings("unused") Object cls, Object offsetObj, Object nameObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached CastToTruffleStringNode castToStringNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            PTimeDelta offset = asTimeDeltaNode.execute(inliningTarget, offsetObj);
+            if (offset == null) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "timezone()", 1, "datetime.timedelta", offsetObj);
+            }
+            TruffleString name = null;
+            if (nameObj != PNone.NO_VALUE) {
+                if (!unicodeCheckNode.execute(inliningTarget, nameObj)) {
+                    throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "timezone()", 2, "str", nameObj);
+                }
+                try {
+                    name = castToStringNode.execute(inliningTarget, nameObj);
+                } catch (CannotCastException e) {
+                    throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "timezone()", 2, "str", nameObj);
+                }
+            }
+            // like in CPython, the timezone type cannot be subclassed, so cls is ignored
+            return DateTimeNodes.createTimeZone(inliningTarget, factory, offset, name);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___MODULE__;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.util.List;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.contextvars.PContextVar;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalModuleState;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalNodes.ContextArgNode;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalNodes.FromObjectNode;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalNodes.GetContextNode;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalValue;
+import com.oracle.graal.python.builtins.objects.decimal.PDecimal;
+import com.oracle.graal.python.builtins.objects.decimal.PDecimalContext;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.module.PythonModule;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.SpecialAttributeNames;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.statement.AbstractImportNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.object.PythonObjectSlowPathFactory;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Java implementation of CPython's {@code _decimal} accelerator module. The types are implemented
+ * in {@code com.oracle.graal.python.builtins.objects.decimal}, this module contains their
+ * constructors and the thread-local context management.
+ */
+@CoreFunctions(defineModule = "_decimal")
+public final class DecimalModuleBuiltins extends PythonBuiltins {
+
+    private static final TruffleString T__DECIMAL = tsLiteral("_decimal");
+    private static final TruffleString T_DECIMAL = tsLiteral("decimal");
+    private static final TruffleString T_COLLECTIONS = tsLiteral("collections");
+    private static final TruffleString T_COLLECTIONS_ABC = tsLiteral("collections.abc");
+    private static final TruffleString T_NUMBERS = tsLiteral("numbers");
+    private static final TruffleString T_NAMEDTUPLE = tsLiteral("namedtuple");
+    private static final TruffleString T_MUTABLE_MAPPING = tsLiteral("MutableMapping");
+    private static final TruffleString T_NUMBER = tsLiteral("Number");
+    private static final TruffleString T_RATIONAL = tsLiteral("Rational");
+    private static final TruffleString T_REGISTER = tsLiteral("register");
+    private static final TruffleString T_MODULE = tsLiteral("module");
+
+    private static final int DEFAULT_TRAPS = PDecimalContext.STATUS_IEEE_INVALID_OPERATION | PDecimalContext.STATUS_DIVISION_BY_ZERO | PDecimalContext.STATUS_OVERFLOW;
+    private static final int BASIC_TRAPS = DEFAULT_TRAPS | PDecimalContext.STATUS_UNDERFLOW | PDecimalContext.STATUS_CLAMPED;
+    private static final long DEFAULT_EMAX = 999999;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DecimalModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        for (String name : PDecimalContext.ROUNDING_NAMES) {
+            addBuiltinConstant(name, toTruffleStringUncached(name));
+        }
+        addBuiltinConstant("MAX_PREC", PDecimalContext.MAX_PREC);
+        addBuiltinConstant("MAX_EMAX", PDecimalContext.MAX_EMAX);
+        addBuiltinConstant("MIN_EMIN", PDecimalContext.MIN_EMIN);
+        addBuiltinConstant("MIN_ETINY", PDecimalContext.MIN_ETINY);
+        addBuiltinConstant("HAVE_THREADS", true);
+        addBuiltinConstant("HAVE_CONTEXTVAR", true);
+        addBuiltinConstant("__version__", "1.70");
+        addBuiltinConstant("__libmpdec_version__", "2.5.1");
+        addBuiltinConstant(SpecialAttributeNames.T___DOC__, "C decimal arithmetic module");
+    }
+
+    @Override
+    public void postInitialize(Python3Core core) {
+        super.postInitialize(core);
+        PythonObjectSlowPathFactory factory = core.factory();
+        PythonModule self = core.lookupBuiltinModule(T__DECIMAL);
+
+        // the exception hierarchy of decimal.py
+        Object decimalException = createClass(core, "DecimalException", PythonBuiltinClassType.ArithmeticError);
+        Object clamped = createClass(core, "Clamped", decimalException);
+        Object invalidOperation = createClass(core, "InvalidOperation", decimalException);
+        Object divisionByZero = createClass(core, "DivisionByZero", decimalException, PythonBuiltinClassType.ZeroDivisionError);
+        Object inexact = createClass(core, "Inexact", decimalException);
+        Object rounded = createClass(core, "Rounded", decimalException);
+        Object subnormal = createClass(core, "Subnormal", decimalException);
+        Object overflow = createClass(core, "Overflow", inexact, rounded);
+        Object underflow = createClass(core, "Underflow", inexact, rounded, subnormal);
+        Object floatOperation = createClass(core, "FloatOperation", decimalException, PythonBuiltinClassType.TypeError);
+        Object conversionSyntax = createClass(core, "ConversionSyntax", invalidOperation);
+        Object divisionImpossible = createClass(core, "DivisionImpossible", invalidOperation, PythonBuiltinClassType.ZeroDivisionError);
+        Object divisionUndefined = createClass(core, "DivisionUndefined", invalidOperation, PythonBuiltinClassType.ZeroDivisionError);
+        Object invalidContext = createClass(core, "InvalidContext", invalidOperation);
+        Object[] signals = {invalidOperation, floatOperation, divisionByZero, overflow, underflow, subnormal, inexact, rounded, clamped};
+        Object[] conditions = {invalidOperation, conversionSyntax, divisionImpossible, divisionUndefined, invalidContext};
+        self.setAttribute(tsLiteral("DecimalException"), decimalException);
+        for (int i = 0; i < signals.length; i++) {
+            self.setAttribute(toTruffleStringUncached(PDecimalContext.SIGNAL_NAMES[i]), signals[i]);
+        }
+        for (int i = 1; i < conditions.length; i++) {
+            self.setAttribute(toTruffleStringUncached(PDecimalContext.CONDITION_NAMES[i]), conditions[i]);
+        }
+
+        Object collections = AbstractImportNode.importModule(T_COLLECTIONS);
+        Object namedTuple = PyObjectGetAttr.executeUncached(collections, T_NAMEDTUPLE);
+        Object decimalTuple = CallNode.getUncached().execute(namedTuple, new Object[]{tsLiteral("DecimalTuple"), tsLiteral("sign digits exponent")},
+                        new PKeyword[]{new PKeyword(T_MODULE, T_DECIMAL)});
+        self.setAttribute(tsLiteral("DecimalTuple"), decimalTuple);
+
+        Object collectionsAbc = AbstractImportNode.importModule(T_COLLECTIONS_ABC);
+        Object mutableMapping = PyObjectGetAttr.executeUncached(collectionsAbc, T_MUTABLE_MAPPING);
+        Object signalDictClass = createClass(core, "SignalDict", PythonBuiltinClassType.PDecimalSignalDictMixin, mutableMapping);
+
+        Object numbers = AbstractImportNode.importModule(T_NUMBERS);
+        PyObjectCallMethodObjArgs.executeUncached(PyObjectGetAttr.executeUncached(numbers, T_NUMBER), T_REGISTER, core.lookupType(PythonBuiltinClassType.PDecimal));
+        Object rational = PyObjectGetAttr.executeUncached(numbers, T_RATIONAL);
+
+        PContextVar contextVar = factory.createContextVar(tsLiteral("decimal_context"), PContextVar.NO_DEFAULT);
+        Object contextClass = PythonBuiltinClassType.PDecimalContext;
+        PDecimalContext defaultContext = factory.createDecimalContext(contextClass, 28, PDecimalContext.ROUND_HALF_EVEN, -DEFAULT_EMAX, DEFAULT_EMAX, 1, 0, 0, DEFAULT_TRAPS);
+        PDecimalContext basicContext = factory.createDecimalContext(contextClass, 9, PDecimalContext.ROUND_HALF_UP, -DEFAULT_EMAX, DEFAULT_EMAX, 1, 0, 0, BASIC_TRAPS);
+        PDecimalContext extendedContext = factory.createDecimalContext(contextClass, 9, PDecimalContext.ROUND_HALF_EVEN, -DEFAULT_EMAX, DEFAULT_EMAX, 1, 0, 0, 0);
+        self.setAttribute(tsLiteral("DefaultContext"), defaultContext);
+        self.setAttribute(tsLiteral("BasicContext"), basicContext);
+        self.setAttribute(tsLiteral("ExtendedContext"), extendedContext);
+
+        core.getContext().setDecimalModuleState(new DecimalModuleState(signals, conditions, decimalTuple, signalDictClass, rational, contextVar, defaultContext, basicContext, extendedContext));
+    }
+
+    /**
+     * Creates a Python class in module {@code decimal}, like the exception classes that CPython
+     * creates with {@code PyErr_NewException}.
+     */
+    private static Object createClass(Python3Core core, String name, Object... bases) {
+        Object[] baseTypes = new Object[bases.length];
+        for (int i = 0; i < bases.length; i++) {
+            baseTypes[i] = bases[i] instanceof PythonBuiltinClassType type ? core.lookupType(type) : bases[i];
+        }
+        PDict namespace = core.factory().createDict();
+        namespace.setItem(T___MODULE__, T_DECIMAL);
+        return CallNode.getUncached().execute(core.lookupType(PythonBuiltinClassType.PythonClass), toTruffleStringUncached(name), core.factory().createTuple(baseTypes), namespace);
+    }
+
+    @Builtin(name = "Decimal", minNumOfPositionalArgs = 1, parameterNames = {"$cls", "value", "context"}, constructsClass = PythonBuiltinClassType.PDecimal)
+    @GenerateNodeFactory
+    abstract static class DecimalNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static Object create(Object cls, Object value, Object contextArg,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ContextArgNode contextArgNode,
+                        @Cached FromObjectNode fromObjectNode,
+                        @Cached PythonObjectFactory factory) {
+            if (value == PNone.NO_VALUE) {
+                contextArgNode.execute(inliningTarget, contextArg);
+                return factory.createDecimal(cls, DecimalValue.ZERO);
+            }
+            if (value instanceof PDecimal && cls == PythonBuiltinClassType.PDecimal) {
+                // decimals are immutable, so an exact copy is the argument itself
+                return value;
+            }
+            PDecimalContext context = contextArgNode.execute(inliningTarget, contextArg);
+            return factory.createDecimal(cls, fromObjectNode.execute(inliningTarget, context, value, true));
+        }
+    }
+
+    @Builtin(name = "Context", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PDecimalContext)
+    @GenerateNodeFactory
+    abstract static class ContextNode extends PythonBuiltinNode {
+        @Specialization
+        static Object create(Object cls, @SuppressWarnings("unused") Object[] args, @SuppressWarnings("unused") PKeyword[] kwargs,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PythonObjectFactory factory) {
+            // the arguments are processed by __init__, the defaults come from DefaultContext
+            PDecimalContext template = PythonContext.get(inliningTarget).getDecimalModuleState().getDefaultContext();
+            return factory.createDecimalContext(cls, template.getPrec(), template.getRounding(), template.getEmin(), template.getEmax(), template.getCapitals(), template.getClamp(), 0,
+                            template.getTraps());
+        }
+    }
+
+    @Builtin(name = "getcontext", minNumOfPositionalArgs = 0)
+    @GenerateNodeFactory
+    abstract static class GetContextBuiltinNode extends PythonBuiltinNode {
+        @Specialization
+        static Object getcontext(@Bind("this") Node inliningTarget,
+                        @Cached GetContextNode getContextNode) {
+            return getContextNode.execute(inliningTarget);
+        }
+    }
+
+    @Builtin(name = "setcontext", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class SetContextNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object setcontext(PDecimalContext context,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PythonObjectFactory factory) {
+            PythonContext pythonContext = PythonContext.get(inliningTarget);
+            DecimalModuleState state = pythonContext.getDecimalModuleState();
+            PDecimalContext value = context;
+            if (context == state.getDefaultContext() || context == state.getBasicContext() || context == state.getExtendedContext()) {
+                // the templates themselves must not become thread-local contexts
+                value = factory.createDecimalContext(context, 0);
+            }
+            state.getContextVar().setValue(pythonContext.getThreadState(PythonLanguage.get(inliningTarget)), value);
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = "!isDecimalContext(context)")
+        static Object error(@SuppressWarnings("unused") Object context,
+                        @Bind("this") Node inliningTarget) {
+            throw PRaiseNode.raiseUncached(inliningTarget, TypeError, ErrorMessages.ARGUMENT_MUST_BE_A_CONTEXT);
+        }
+
+        static boolean isDecimalContext(Object object) {
+            return object instanceof PDecimalContext;
+        }
+    }
+
+    @Builtin(name = "localcontext", minNumOfPositionalArgs = 0, parameterNames = {"ctx"})
+    @GenerateNodeFactory
+    abstract static class LocalContextNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object localcontext(Object ctx,
+                        @Bind("this") Node inliningTarget,
+                        @Cached GetContextNode getContextNode,
+                        @Cached ContextArgNode contextArgNode,
+                        @Cached PythonObjectFactory factory) {
+            PDecimalContext global = getContextNode.execute(inliningTarget);
+            PDecimalContext source = ctx instanceof PNone ? global : contextArgNode.execute(inliningTarget, ctx);
+            PDecimalContext local = factory.createDecimalContext(source, source.getFlags());
+            return factory.createDecimalContextManager(local, global);
+        }
+    }
+}
@@ -76,6 +76,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 
 import org.graalvm.home.Version;
@@ -127,6 +128,7 @@ import com.oracle.graal.python.nodes.PConstructAndRaiseNode;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.builtins.FunctionNodes.GetCallTargetNode;
 import com.oracle.graal.python.nodes.bytecode.PBytecodeRootNode;
+import com.oracle.graal.python.nodes.bytecode.instrumentation.LineCoverage;
 import com.oracle.graal.python.nodes.call.CallNode;
 import com.oracle.graal.python.nodes.classes.IsSubtypeNode;
 import com.oracle.graal.python.nodes.function.BuiltinFunctionRootNode;
@@ -141,6 +143,8 @@ import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.statement.AbstractImportNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.GilStatistics;
+import com.oracle.graal.python.runtime.PersistentCodeCache;
 import com.oracle.graal.python.runtime.PosixSupportLibrary;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonOptions;
@@ -751,6 +755,148 @@ public final class GraalPythonModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    /**
+     * Returns the statistics collected with {@link PythonOptions#GilStatistics}. Times are in
+     * nanoseconds, the histograms count waits and holds per power-of-two microsecond bucket whose
+     * upper bounds are given in {@code histogram_bounds_us}.
+     */
+    @Builtin(name = "gil_stats", minNumOfPositionalArgs = 0)
+    @GenerateNodeFactory
+    abstract static class GilStatsNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        PDict gilStats() {
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            GilStatistics stats = getContext().getGilStatistics();
+            if (stats == null) {
+                return factory.createDict(new PKeyword[]{new PKeyword(tsLiteral("enabled"), false)});
+            }
+            GilStatistics.ThreadStatistics[] threadStats = stats.getThreadStatistics();
+            Object[] threads = new Object[threadStats.length];
+            for (int i = 0; i < threadStats.length; i++) {
+                GilStatistics.ThreadStatistics ts = threadStats[i];
+                threads[i] = factory.createDict(new PKeyword[]{
+                                new PKeyword(tsLiteral("name"), toTruffleStringUncached(ts.getName())),
+                                new PKeyword(tsLiteral("ident"), ts.getId()),
+                                new PKeyword(tsLiteral("acquisitions"), ts.getAcquisitions()),
+                                new PKeyword(tsLiteral("contended_acquisitions"), ts.getContendedAcquisitions()),
+                                new PKeyword(tsLiteral("wait_time_ns"), ts.getWaitNanos()),
+                                new PKeyword(tsLiteral("hold_time_ns"), ts.getHoldNanos()),
+                                new PKeyword(tsLiteral("handoffs"), ts.getHandoffs()),
+                });
+            }
+            return factory.createDict(new PKeyword[]{
+                            new PKeyword(tsLiteral("enabled"), true),
+                            new PKeyword(tsLiteral("acquisitions"), stats.getAcquisitions()),
+                            new PKeyword(tsLiteral("contended_acquisitions"), stats.getContendedAcquisitions()),
+                            new PKeyword(tsLiteral("wait_time_ns"), stats.getWaitNanos()),
+                            new PKeyword(tsLiteral("hold_time_ns"), stats.getHoldNanos()),
+                            new PKeyword(tsLiteral("handoffs"), stats.getHandoffs()),
+                            new PKeyword(tsLiteral("drop_requests"), stats.getDropRequests()),
+                            new PKeyword(tsLiteral("wait_histogram"), factory.createTuple(boxed(stats.getWaitHistogram()))),
+                            new PKeyword(tsLiteral("hold_histogram"), factory.createTuple(boxed(stats.getHoldHistogram()))),
+                            new PKeyword(tsLiteral("histogram_bounds_us"), factory.createTuple(boxed(GilStatistics.getHistogramBounds()))),
+                            new PKeyword(tsLiteral("threads"), factory.createList(threads)),
+            });
+        }
+
+        private static Object[] boxed(long[] values) {
+            Object[] result = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                result[i] = values[i];
+            }
+            return result;
+        }
+    }
+
+    @Builtin(name = "gil_stats_reset", minNumOfPositionalArgs = 0)
+    @GenerateNodeFactory
+    abstract static class GilStatsResetNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        PNone reset() {
+            GilStatistics stats = getContext().getGilStatistics();
+            if (stats != null) {
+                stats.reset();
+            }
+            return PNone.NONE;
+        }
+    }
+
+    /**
+     * Returns how many lookups in the {@link PersistentCodeCache} of this context found a cached
+     * code unit and how many had to parse the source.
+     */
+    @Builtin(name = "code_cache_stats", minNumOfPositionalArgs = 0)
+    @GenerateNodeFactory
+    abstract static class CodeCacheStatsNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        PDict codeCacheStats() {
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            PersistentCodeCache cache = getContext().getPersistentCodeCache();
+            if (cache == null) {
+                return factory.createDict(new PKeyword[]{new PKeyword(tsLiteral("enabled"), false)});
+            }
+            return factory.createDict(new PKeyword[]{
+                            new PKeyword(tsLiteral("enabled"), true),
+                            new PKeyword(tsLiteral("hits"), cache.getHits()),
+                            new PKeyword(tsLiteral("misses"), cache.getMisses()),
+            });
+        }
+    }
+
+    /**
+     * Starts collecting the executed lines of all code, see {@link LineCoverage}. This is meant
+     * for coverage tools, which would otherwise use {@code sys.settrace} and force all code in the
+     * engine onto the slow tracing path. The coverage cannot be stopped again.
+     */
+    @Builtin(name = "start_line_coverage", minNumOfPositionalArgs = 0)
+    @GenerateNodeFactory
+    abstract static class StartLineCoverageNode extends PythonBuiltinNode {
+        @Specialization
+        PNone start() {
+            getLanguage().lineCoverage.start();
+            return PNone.NONE;
+        }
+    }
+
+    /**
+     * Returns the sorted tuple of lines of the given code object executed since
+     * {@code start_line_coverage()}. Nested code objects are reported separately. Without an
+     * argument, returns a dict mapping the source file names to the sorted tuples of their executed
+     * lines, which also includes code objects that are no longer alive.
+     */
+    @Builtin(name = "get_line_coverage", minNumOfPositionalArgs = 0, maxNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class GetLineCoverageNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTuple get(PCode code,
+                        @Cached PythonObjectFactory factory) {
+            return toTuple(code.getExecutedLines(getLanguage().lineCoverage), factory);
+        }
+
+        @Specialization
+        @TruffleBoundary
+        PDict getAll(@SuppressWarnings("unused") PNone code,
+                        @Cached PythonObjectFactory factory) {
+            Map<String, int[]> linesByFile = getLanguage().lineCoverage.getExecutedLinesByFile();
+            EconomicMapStorage storage = EconomicMapStorage.create(linesByFile.size());
+            for (Map.Entry<String, int[]> entry : linesByFile.entrySet()) {
+                storage.putUncached(toTruffleStringUncached(entry.getKey()), toTuple(entry.getValue(), factory));
+            }
+            return factory.createDict(storage);
+        }
+
+        private static PTuple toTuple(int[] lines, PythonObjectFactory factory) {
+            Object[] result = new Object[lines.length];
+            for (int i = 0; i < lines.length; i++) {
+                result[i] = lines[i];
+            }
+            return factory.createTuple(result);
+        }
+    }
+
     @Builtin(name = "sha3_module_backend", minNumOfPositionalArgs = 0)
     @GenerateNodeFactory
     public abstract static class Sha3ModuleBackendNode extends PythonBuiltinNode {
@@ -1041,6 +1187,15 @@ public final class GraalPythonModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "is_virtual_thread", minNumOfPositionalArgs = 0)
+    @GenerateNodeFactory
+    abstract static class IsVirtualThread extends PythonBuiltinNode {
+        @Specialization
+        static boolean get() {
+            return PythonContext.isVirtualThread(Thread.currentThread());
+        }
+    }
+
     @Builtin(name = "get_max_process_count", minNumOfPositionalArgs = 0)
     @GenerateNodeFactory
     abstract static class GetMaxProcessCount extends PythonBuiltinNode {
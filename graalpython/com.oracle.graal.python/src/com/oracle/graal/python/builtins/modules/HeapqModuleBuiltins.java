@@ -0,0 +1,566 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.IndexError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.RuntimeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.GetItemScalarNode;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.SetItemScalarNode;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.lib.PyObjectRichCompareBool;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.builtins.ListNodes;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateCached;
+import com.oracle.truffle.api.dsl.GenerateInline;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.NeverDefault;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Java implementation of CPython's {@code _heapq} accelerator module.
+ *
+ * Heaps of ints and floats are kept in primitive list storages and are sifted directly in the
+ * storage's array. Comparisons of primitives cannot run Python code, so there is no need to guard
+ * against the list being modified in the middle of a sift. Other heaps use
+ * {@link PyObjectRichCompareBool.LtNode} and re-read the storage after each comparison, like
+ * CPython does.
+ */
+@CoreFunctions(defineModule = "_heapq")
+public final class HeapqModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return HeapqModuleBuiltinsFactory.getFactories();
+    }
+
+    static boolean isPrimitiveStorage(PList heap) {
+        SequenceStorage s = heap.getSequenceStorage();
+        return s instanceof IntSequenceStorage || s instanceof LongSequenceStorage || s instanceof DoubleSequenceStorage;
+    }
+
+    /*
+     * The primitive sift functions follow CPython's siftdown/siftup step by step, so that equal
+     * elements end up in the same positions.
+     */
+
+    static void siftDown(int[] heap, int startpos, int pos, boolean max) {
+        int newitem = heap[pos];
+        while (pos > startpos) {
+            int parentpos = (pos - 1) >> 1;
+            int parent = heap[parentpos];
+            if (!(max ? parent < newitem : newitem < parent)) {
+                break;
+            }
+            heap[pos] = parent;
+            pos = parentpos;
+        }
+        heap[pos] = newitem;
+    }
+
+    static void siftUp(int[] heap, int endpos, int pos, boolean max) {
+        int startpos = pos;
+        int limit = endpos >> 1;
+        while (pos < limit) {
+            int childpos = 2 * pos + 1;
+            if (childpos + 1 < endpos && !(max ? heap[childpos + 1] < heap[childpos] : heap[childpos] < heap[childpos + 1])) {
+                childpos++;
+            }
+            int tmp = heap[childpos];
+            heap[childpos] = heap[pos];
+            heap[pos] = tmp;
+            pos = childpos;
+        }
+        siftDown(heap, startpos, pos, max);
+    }
+
+    static void siftDown(long[] heap, int startpos, int pos, boolean max) {
+        long newitem = heap[pos];
+        while (pos > startpos) {
+            int parentpos = (pos - 1) >> 1;
+            long parent = heap[parentpos];
+            if (!(max ? parent < newitem : newitem < parent)) {
+                break;
+            }
+            heap[pos] = parent;
+            pos = parentpos;
+        }
+        heap[pos] = newitem;
+    }
+
+    static void siftUp(long[] heap, int endpos, int pos, boolean max) {
+        int startpos = pos;
+        int limit = endpos >> 1;
+        while (pos < limit) {
+            int childpos = 2 * pos + 1;
+            if (childpos + 1 < endpos && !(max ? heap[childpos + 1] < heap[childpos] : heap[childpos] < heap[childpos + 1])) {
+                childpos++;
+            }
+            long tmp = heap[childpos];
+            heap[childpos] = heap[pos];
+            heap[pos] = tmp;
+            pos = childpos;
+        }
+        siftDown(heap, startpos, pos, max);
+    }
+
+    static void siftDown(double[] heap, int startpos, int pos, boolean max) {
+        double newitem = heap[pos];
+        while (pos > startpos) {
+            int parentpos = (pos - 1) >> 1;
+            double parent = heap[parentpos];
+            if (!(max ? parent < newitem : newitem < parent)) {
+                break;
+            }
+            heap[pos] = parent;
+            pos = parentpos;
+        }
+        heap[pos] = newitem;
+    }
+
+    static void siftUp(double[] heap, int endpos, int pos, boolean max) {
+        int startpos = pos;
+        int limit = endpos >> 1;
+        while (pos < limit) {
+            int childpos = 2 * pos + 1;
+            if (childpos + 1 < endpos && !(max ? heap[childpos + 1] < heap[childpos] : heap[childpos] < heap[childpos + 1])) {
+                childpos++;
+            }
+            double tmp = heap[childpos];
+            heap[childpos] = heap[pos];
+            heap[pos] = tmp;
+            pos = childpos;
+        }
+        siftDown(heap, startpos, pos, max);
+    }
+
+    /**
+     * Moves the item at {@code pos} up towards {@code startpos} until the heap invariant holds.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @ImportStatic({PGuards.class, HeapqModuleBuiltins.class})
+    abstract static class SiftDownNode extends Node {
+
+        abstract void execute(VirtualFrame frame, Node inliningTarget, PList heap, int startpos, int pos, boolean max);
+
+        @Specialization(guards = "isIntStorage(heap)")
+        static void doInt(PList heap, int startpos, int pos, boolean max) {
+            siftDown(((IntSequenceStorage) heap.getSequenceStorage()).getInternalIntArray(), startpos, pos, max);
+        }
+
+        @Specialization(guards = "isLongStorage(heap)")
+        static void doLong(PList heap, int startpos, int pos, boolean max) {
+            siftDown(((LongSequenceStorage) heap.getSequenceStorage()).getInternalLongArray(), startpos, pos, max);
+        }
+
+        @Specialization(guards = "isDoubleStorage(heap)")
+        static void doDouble(PList heap, int startpos, int pos, boolean max) {
+            siftDown(((DoubleSequenceStorage) heap.getSequenceStorage()).getInternalDoubleArray(), startpos, pos, max);
+        }
+
+        @Specialization(guards = "!isPrimitiveStorage(heap)")
+        static void doGeneric(VirtualFrame frame, Node inliningTarget, PList heap, int startpos, int pos, boolean max,
+                        @Cached GetItemScalarNode getItemNode,
+                        @Cached SetItemScalarNode setItemNode,
+                        @Cached PyObjectRichCompareBool.LtNode ltNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            SequenceStorage s = heap.getSequenceStorage();
+            int size = s.length();
+            while (pos > startpos) {
+                int parentpos = (pos - 1) >> 1;
+                Object newitem = getItemNode.execute(inliningTarget, s, pos);
+                Object parent = getItemNode.execute(inliningTarget, s, parentpos);
+                boolean lt = max ? ltNode.compare(frame, inliningTarget, parent, newitem) : ltNode.compare(frame, inliningTarget, newitem, parent);
+                s = heap.getSequenceStorage();
+                if (size != s.length()) {
+                    throw raiseNode.get(inliningTarget).raise(RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, "list");
+                }
+                if (!lt) {
+                    break;
+                }
+                // the comparison may have reordered the list
+                parent = getItemNode.execute(inliningTarget, s, parentpos);
+                newitem = getItemNode.execute(inliningTarget, s, pos);
+                setItemNode.execute(inliningTarget, s, parentpos, newitem);
+                setItemNode.execute(inliningTarget, s, pos, parent);
+                pos = parentpos;
+            }
+        }
+    }
+
+    /**
+     * Moves the smaller (or, for max-heaps, larger) child up until a leaf is reached and then sifts
+     * the item from {@code pos} down into place.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @ImportStatic({PGuards.class, HeapqModuleBuiltins.class})
+    abstract static class SiftUpNode extends Node {
+
+        abstract void execute(VirtualFrame frame, Node inliningTarget, PList heap, int pos, boolean max);
+
+        @Specialization(guards = "isIntStorage(heap)")
+        static void doInt(PList heap, int pos, boolean max) {
+            IntSequenceStorage s = (IntSequenceStorage) heap.getSequenceStorage();
+            siftUp(s.getInternalIntArray(), s.length(), pos, max);
+        }
+
+        @Specialization(guards = "isLongStorage(heap)")
+        static void doLong(PList heap, int pos, boolean max) {
+            LongSequenceStorage s = (LongSequenceStorage) heap.getSequenceStorage();
+            siftUp(s.getInternalLongArray(), s.length(), pos, max);
+        }
+
+        @Specialization(guards = "isDoubleStorage(heap)")
+        static void doDouble(PList heap, int pos, boolean max) {
+            DoubleSequenceStorage s = (DoubleSequenceStorage) heap.getSequenceStorage();
+            siftUp(s.getInternalDoubleArray(), s.length(), pos, max);
+        }
+
+        @Specialization(guards = "!isPrimitiveStorage(heap)")
+        static void doGeneric(VirtualFrame frame, Node inliningTarget, PList heap, int pos, boolean max,
+                        @Cached GetItemScalarNode getItemNode,
+                        @Cached SetItemScalarNode setItemNode,
+                        @Cached PyObjectRichCompareBool.LtNode ltNode,
+                        @Cached SiftDownNode siftDownNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            SequenceStorage s = heap.getSequenceStorage();
+            int endpos = s.length();
+            int startpos = pos;
+            int limit = endpos >> 1;
+            while (pos < limit) {
+                int childpos = 2 * pos + 1;
+                if (childpos + 1 < endpos) {
+                    Object a = getItemNode.execute(inliningTarget, s, childpos);
+                    Object b = getItemNode.execute(inliningTarget, s, childpos + 1);
+                    boolean lt = max ? ltNode.compare(frame, inliningTarget, b, a) : ltNode.compare(frame, inliningTarget, a, b);
+                    if (!lt) {
+                        childpos++;
+                    }
+                    s = heap.getSequenceStorage();
+                    if (endpos != s.length()) {
+                        throw raiseNode.get(inliningTarget).raise(RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, "list");
+                    }
+                }
+                Object child = getItemNode.execute(inliningTarget, s, childpos);
+                Object item = getItemNode.execute(inliningTarget, s, pos);
+                setItemNode.execute(inliningTarget, s, childpos, item);
+                setItemNode.execute(inliningTarget, s, pos, child);
+                pos = childpos;
+            }
+            siftDownNode.execute(frame, inliningTarget, heap, startpos, pos, max);
+        }
+    }
+
+    /**
+     * Removes the last item and, unless the heap is then empty, puts it at the root in place of the
+     * returned smallest (or largest) item.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class HeapPopNode extends Node {
+
+        abstract Object execute(VirtualFrame frame, Node inliningTarget, PList heap, boolean max);
+
+        @Specialization
+        static Object pop(VirtualFrame frame, Node inliningTarget, PList heap, boolean max,
+                        @Cached GetItemScalarNode getItemNode,
+                        @Cached SetItemScalarNode setItemNode,
+                        @Cached SequenceStorageNodes.DeleteItemNode deleteItemNode,
+                        @Cached SiftUpNode siftUpNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            SequenceStorage s = heap.getSequenceStorage();
+            int n = s.length();
+            if (n == 0) {
+                throw raiseNode.get(inliningTarget).raise(IndexError, ErrorMessages.INDEX_OUT_OF_RANGE);
+            }
+            Object lastelt = getItemNode.execute(inliningTarget, s, n - 1);
+            deleteItemNode.execute(inliningTarget, s, n - 1);
+            if (n == 1) {
+                return lastelt;
+            }
+            Object returnitem = getItemNode.execute(inliningTarget, s, 0);
+            setItemNode.execute(inliningTarget, s, 0, lastelt);
+            siftUpNode.execute(frame, inliningTarget, heap, 0, max);
+            return returnitem;
+        }
+    }
+
+    /**
+     * Pops the root and replaces it with {@code item}, generalizing the storage if necessary.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class HeapReplaceNode extends Node {
+
+        abstract Object execute(VirtualFrame frame, Node inliningTarget, PList heap, Object item, boolean max);
+
+        @Specialization
+        static Object replace(VirtualFrame frame, Node inliningTarget, PList heap, Object item, boolean max,
+                        @Cached GetItemScalarNode getItemNode,
+                        @Cached(value = "createForList()", inline = false) SequenceStorageNodes.SetItemNode setItemNode,
+                        @Cached SiftUpNode siftUpNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            SequenceStorage s = heap.getSequenceStorage();
+            if (s.length() == 0) {
+                throw raiseNode.get(inliningTarget).raise(IndexError, ErrorMessages.INDEX_OUT_OF_RANGE);
+            }
+            Object returnitem = getItemNode.execute(inliningTarget, s, 0);
+            SequenceStorage newStorage = setItemNode.execute(s, 0, item);
+            if (newStorage != s) {
+                heap.setSequenceStorage(newStorage);
+            }
+            siftUpNode.execute(frame, inliningTarget, heap, 0, max);
+            return returnitem;
+        }
+
+        @NeverDefault
+        static SequenceStorageNodes.SetItemNode createForList() {
+            return SequenceStorageNodes.SetItemNode.createForList();
+        }
+    }
+
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class HeapifyNode extends Node {
+
+        abstract void execute(VirtualFrame frame, Node inliningTarget, PList heap, boolean max);
+
+        @Specialization
+        static void heapify(VirtualFrame frame, Node inliningTarget, PList heap, boolean max,
+                        @Cached SiftUpNode siftUpNode) {
+            // the list may change size during the comparisons, it is checked by siftup
+            int n = heap.getSequenceStorage().length();
+            for (int i = n / 2 - 1; i >= 0; i--) {
+                siftUpNode.execute(frame, inliningTarget, heap, i, max);
+            }
+        }
+    }
+
+    static PNone raiseNotAList(Node inliningTarget, PRaiseNode.Lazy raiseNode, String name, Object heap) {
+        throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.S_BRACKETS_ARG_S_MUST_BE_S_NOT_P, name, "1", "list", heap);
+    }
+
+    @Builtin(name = "heappush", minNumOfPositionalArgs = 2, parameterNames = {"heap", "item"})
+    @GenerateNodeFactory
+    abstract static class HeapPushNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PNone heappush(VirtualFrame frame, PList heap, Object item,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ListNodes.AppendNode appendNode,
+                        @Cached SiftDownNode siftDownNode) {
+            appendNode.execute(heap, item);
+            siftDownNode.execute(frame, inliningTarget, heap, 0, heap.getSequenceStorage().length() - 1, false);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        static PNone error(Object heap, @SuppressWarnings("unused") Object item,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return raiseNotAList(inliningTarget, raiseNode, "heappush", heap);
+        }
+    }
+
+    @Builtin(name = "heappop", minNumOfPositionalArgs = 1, parameterNames = {"heap"})
+    @GenerateNodeFactory
+    abstract static class HeapPopBuiltinNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object heappop(VirtualFrame frame, PList heap,
+                        @Bind("this") Node inliningTarget,
+                        @Cached HeapPopNode popNode) {
+            return popNode.execute(frame, inliningTarget, heap, false);
+        }
+
+        @Fallback
+        static Object error(Object heap,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return raiseNotAList(inliningTarget, raiseNode, "heappop", heap);
+        }
+    }
+
+    @Builtin(name = "_heappop_max", minNumOfPositionalArgs = 1, parameterNames = {"heap"})
+    @GenerateNodeFactory
+    abstract static class HeapPopMaxNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object heappop(VirtualFrame frame, PList heap,
+                        @Bind("this") Node inliningTarget,
+                        @Cached HeapPopNode popNode) {
+            return popNode.execute(frame, inliningTarget, heap, true);
+        }
+
+        @Fallback
+        static Object error(Object heap,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return raiseNotAList(inliningTarget, raiseNode, "_heappop_max", heap);
+        }
+    }
+
+    @Builtin(name = "heapreplace", minNumOfPositionalArgs = 2, parameterNames = {"heap", "item"})
+    @GenerateNodeFactory
+    abstract static class HeapReplaceBuiltinNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object heapreplace(VirtualFrame frame, PList heap, Object item,
+                        @Bind("this") Node inliningTarget,
+                        @Cached HeapReplaceNode replaceNode) {
+            return replaceNode.execute(frame, inliningTarget, heap, item, false);
+        }
+
+        @Fallback
+        static Object error(Object heap, @SuppressWarnings("unused") Object item,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return raiseNotAList(inliningTarget, raiseNode, "heapreplace", heap);
+        }
+    }
+
+    @Builtin(name = "_heapreplace_max", minNumOfPositionalArgs = 2, parameterNames = {"heap", "item"})
+    @GenerateNodeFactory
+    abstract static class HeapReplaceMaxNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object heapreplace(VirtualFrame frame, PList heap, Object item,
+                        @Bind("this") Node inliningTarget,
+                        @Cached HeapReplaceNode replaceNode) {
+            return replaceNode.execute(frame, inliningTarget, heap, item, true);
+        }
+
+        @Fallback
+        static Object error(Object heap, @SuppressWarnings("unused") Object item,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return raiseNotAList(inliningTarget, raiseNode, "_heapreplace_max", heap);
+        }
+    }
+
+    @Builtin(name = "heappushpop", minNumOfPositionalArgs = 2, parameterNames = {"heap", "item"})
+    @GenerateNodeFactory
+    abstract static class HeapPushPopNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object heappushpop(VirtualFrame frame, PList heap, Object item,
+                        @Bind("this") Node inliningTarget,
+                        @Cached GetItemScalarNode getItemNode,
+                        @Cached PyObjectRichCompareBool.LtNode ltNode,
+                        @Cached HeapReplaceNode replaceNode) {
+            SequenceStorage s = heap.getSequenceStorage();
+            if (s.length() == 0) {
+                return item;
+            }
+            Object top = getItemNode.execute(inliningTarget, s, 0);
+            if (!ltNode.compare(frame, inliningTarget, top, item)) {
+                return item;
+            }
+            // the list may have been emptied by the comparison, replace checks it again
+            return replaceNode.execute(frame, inliningTarget, heap, item, false);
+        }
+
+        @Fallback
+        static Object error(Object heap, @SuppressWarnings("unused") Object item,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return raiseNotAList(inliningTarget, raiseNode, "heappushpop", heap);
+        }
+    }
+
+    @Builtin(name = "heapify", minNumOfPositionalArgs = 1, parameterNames = {"heap"})
+    @GenerateNodeFactory
+    abstract static class HeapifyBuiltinNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PNone heapify(VirtualFrame frame, PList heap,
+                        @Bind("this") Node inliningTarget,
+                        @Cached HeapifyNode heapifyNode) {
+            heapifyNode.execute(frame, inliningTarget, heap, false);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        static PNone error(Object heap,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return raiseNotAList(inliningTarget, raiseNode, "heapify", heap);
+        }
+    }
+
+    @Builtin(name = "_heapify_max", minNumOfPositionalArgs = 1, parameterNames = {"heap"})
+    @GenerateNodeFactory
+    abstract static class HeapifyMaxNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PNone heapify(VirtualFrame frame, PList heap,
+                        @Bind("this") Node inliningTarget,
+                        @Cached HeapifyNode heapifyNode) {
+            heapifyNode.execute(frame, inliningTarget, heap, true);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        static PNone error(Object heap,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return raiseNotAList(inliningTarget, raiseNode, "_heapify_max", heap);
+        }
+    }
+}
@@ -417,6 +417,39 @@ public final class MarshalModuleBuiltins extends PythonBuiltins {
             }
         }
 
+        /**
+         * Reads directly from a (possibly memory-mapped) {@link ByteBuffer} so that callers do not
+         * need to copy the data into a {@code byte[]} first.
+         */
+        static final class ByteBufferInputStream extends InputStream {
+            private final ByteBuffer buffer;
+
+            ByteBufferInputStream(ByteBuffer buffer) {
+                this.buffer = buffer;
+            }
+
+            @Override
+            public int read() {
+                if (!buffer.hasRemaining()) {
+                    return -1;
+                }
+                return buffer.get() & 0xff;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (len == 0) {
+                    return 0;
+                }
+                int n = Math.min(len, buffer.remaining());
+                if (n == 0) {
+                    return -1;
+                }
+                buffer.get(b, off, n);
+                return n;
+            }
+        }
+
         private static final PythonObjectFactory factory = PythonObjectFactory.getUncached();
         final HashMap<Object, Integer> refMap;
         final ArrayList<Object> refList;
@@ -450,6 +483,16 @@ public final class MarshalModuleBuiltins extends PythonBuiltins {
             this.refMap = null;
         }
 
+        Marshal(ByteBuffer in) {
+            this.in = new ByteBufferInputStream(in);
+            this.refList = new ArrayList<>();
+            this.version = -1;
+            this.pyTrue = null;
+            this.pyFalse = null;
+            this.out = null;
+            this.refMap = null;
+        }
+
         Marshal(Object in) {
             this.in = new FileLikeInputStream(in);
             this.refList = new ArrayList<>();
@@ -1347,8 +1390,16 @@ public final class MarshalModuleBuiltins extends PythonBuiltins {
 
     @TruffleBoundary
     public static CodeUnit deserializeCodeUnit(byte[] bytes) {
+        return deserializeCodeUnit(new Marshal(bytes, bytes.length));
+    }
+
+    @TruffleBoundary
+    public static CodeUnit deserializeCodeUnit(ByteBuffer buffer) {
+        return deserializeCodeUnit(new Marshal(buffer));
+    }
+
+    private static CodeUnit deserializeCodeUnit(Marshal marshal) {
         try {
-            Marshal marshal = new Marshal(bytes, bytes.length);
             return marshal.readCodeUnit();
         } catch (Marshal.MarshalError me) {
             throw PRaiseNode.getUncached().raise(me.type, me.message, me.arguments);
@@ -90,10 +90,14 @@ import com.oracle.graal.python.lib.PyNumberIndexNode;
 import com.oracle.graal.python.lib.PyOSFSPathNode;
 import com.oracle.graal.python.lib.PyObjectAsFileDescriptor;
 import com.oracle.graal.python.lib.PyObjectSizeNode;
+import com.oracle.graal.python.lib.PySequenceCheckNode;
+import com.oracle.graal.python.lib.PySequenceGetItemNode;
+import com.oracle.graal.python.lib.PySequenceSizeNode;
 import com.oracle.graal.python.lib.PyUnicodeCheckNode;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PConstructAndRaiseNode;
 import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithContext;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
 import com.oracle.graal.python.nodes.expression.BinaryArithmetic;
@@ -102,6 +106,7 @@ import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
@@ -131,6 +136,7 @@ import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.graal.python.util.OverflowException;
+import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Bind;
@@ -234,6 +240,7 @@ public final class PosixModuleBuiltins extends PythonBuiltins {
         addConstants(PosixConstants.openFlags);
         addConstants(PosixConstants.waitOptions);
         addConstants(PosixConstants.accessMode);
+        addConstants(PosixConstants.spliceFlags);
         addConstants(PosixConstants.exitStatus);
         addConstants(PosixConstants.rtld);
 
@@ -383,6 +390,11 @@ public final class PosixModuleBuiltins extends PythonBuiltins {
             posix.setAttribute(toTruffleStringUncached("geteuid"), PNone.NO_VALUE);
             posix.setAttribute(toTruffleStringUncached("getegid"), PNone.NO_VALUE);
         }
+        if (PythonOS.getPythonOS() != PythonOS.PLATFORM_LINUX && !posixLib.getBackend(posixSupport).toJavaStringUncached().equals("java")) {
+            // these syscalls only exist on Linux
+            posix.setAttribute(toTruffleStringUncached("copy_file_range"), PNone.NO_VALUE);
+            posix.setAttribute(toTruffleStringUncached("splice"), PNone.NO_VALUE);
+        }
     }
 
     @Builtin(name = "stat_result", minNumOfPositionalArgs = 1, parameterNames = {"$cls", "sequence", "dict"}, constructsClass = PythonBuiltinClassType.PStatResult)
@@ -958,6 +970,60 @@ public final class PosixModuleBuiltins extends PythonBuiltins {
                 gil.acquire();
             }
         }
+
+        /**
+         * Like {@link #read}, but stores the data directly into {@code buf} at {@code offset}
+         * instead of allocating a new bytes object. Returns the number of bytes read.
+         */
+        public int readInto(int fd, byte[] buf, int offset, int length,
+                        Node inliningTarget,
+                        PosixSupportLibrary posixLib,
+                        InlinedBranchProfile errorProfile, GilNode gil) throws PosixException {
+            gil.release(true);
+            try {
+                while (true) {
+                    try {
+                        return posixLib.readInto(getPosixSupport(), fd, buf, offset, length);
+                    } catch (PosixException e) {
+                        errorProfile.enter(inliningTarget);
+                        if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                            PythonContext.triggerAsyncActions(this);
+                        } else {
+                            throw e;
+                        }
+                    }
+                }
+            } finally {
+                gil.acquire();
+            }
+        }
+
+        /**
+         * Like {@link #readInto}, but stores the data into native memory starting at
+         * {@code pointer}.
+         */
+        public int readIntoPointer(int fd, long pointer, int length,
+                        Node inliningTarget,
+                        PosixSupportLibrary posixLib,
+                        InlinedBranchProfile errorProfile, GilNode gil) throws PosixException {
+            gil.release(true);
+            try {
+                while (true) {
+                    try {
+                        return posixLib.readIntoPointer(getPosixSupport(), fd, pointer, length);
+                    } catch (PosixException e) {
+                        errorProfile.enter(inliningTarget);
+                        if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                            PythonContext.triggerAsyncActions(this);
+                        } else {
+                            throw e;
+                        }
+                    }
+                }
+            } finally {
+                gil.acquire();
+            }
+        }
     }
 
     @Builtin(name = "write", minNumOfPositionalArgs = 2, parameterNames = {"fd", "data"})
@@ -1012,6 +1078,337 @@ public final class PosixModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "readv", minNumOfPositionalArgs = 2, parameterNames = {"fd", "buffers"})
+    @ArgumentClinic(name = "fd", conversion = ClinicConversion.Int)
+    @GenerateNodeFactory
+    public abstract static class ReadvNode extends PythonBinaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.ReadvNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static long readv(VirtualFrame frame, int fd, Object buffers,
+                        @Cached VectoredIONode vectoredIONode) {
+            return vectoredIONode.execute(frame, "readv", fd, buffers, -1, false);
+        }
+    }
+
+    @Builtin(name = "preadv", minNumOfPositionalArgs = 3, parameterNames = {"fd", "buffers", "offset", "flags"})
+    @ArgumentClinic(name = "fd", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "offset", conversionClass = OffsetConversionNode.class)
+    @ArgumentClinic(name = "flags", conversion = ClinicConversion.Int, defaultValue = "0")
+    @GenerateNodeFactory
+    public abstract static class PreadvNode extends PythonClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.PreadvNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static long preadv(VirtualFrame frame, int fd, Object buffers, long offset, int flags,
+                        @Bind("this") Node inliningTarget,
+                        @Cached VectoredIONode vectoredIONode,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode) {
+            // RWF_* flags are not supported, and a negative offset would mean "current position"
+            // to the posix library
+            if (flags != 0 || offset < 0) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSError(frame, OSErrorEnum.EINVAL);
+            }
+            return vectoredIONode.execute(frame, "preadv", fd, buffers, offset, false);
+        }
+    }
+
+    @Builtin(name = "writev", minNumOfPositionalArgs = 2, parameterNames = {"fd", "buffers"})
+    @ArgumentClinic(name = "fd", conversion = ClinicConversion.Int)
+    @GenerateNodeFactory
+    public abstract static class WritevNode extends PythonBinaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.WritevNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static long writev(VirtualFrame frame, int fd, Object buffers,
+                        @Cached VectoredIONode vectoredIONode) {
+            return vectoredIONode.execute(frame, "writev", fd, buffers, -1, true);
+        }
+    }
+
+    @Builtin(name = "pwritev", minNumOfPositionalArgs = 3, parameterNames = {"fd", "buffers", "offset", "flags"})
+    @ArgumentClinic(name = "fd", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "offset", conversionClass = OffsetConversionNode.class)
+    @ArgumentClinic(name = "flags", conversion = ClinicConversion.Int, defaultValue = "0")
+    @GenerateNodeFactory
+    public abstract static class PwritevNode extends PythonClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.PwritevNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static long pwritev(VirtualFrame frame, int fd, Object buffers, long offset, int flags,
+                        @Bind("this") Node inliningTarget,
+                        @Cached VectoredIONode vectoredIONode,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode) {
+            if (flags != 0 || offset < 0) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSError(frame, OSErrorEnum.EINVAL);
+            }
+            return vectoredIONode.execute(frame, "pwritev", fd, buffers, offset, true);
+        }
+    }
+
+    /**
+     * Common part of {@code readv}/{@code preadv} and {@code writev}/{@code pwritev}. When all
+     * buffers live in native memory they are passed to a single native call, otherwise buffers that
+     * expose their backing array are read into or written from directly and all others go through a
+     * temporary copy. A negative {@code offset} means the current file position.
+     */
+    @GenerateInline(false)
+    abstract static class VectoredIONode extends PNodeWithContext {
+
+        abstract long execute(VirtualFrame frame, String name, int fd, Object buffers, long offset, boolean write);
+
+        @Specialization
+        static long doVectored(VirtualFrame frame, String name, int fd, Object buffers, long offset, boolean write,
+                        @Bind("this") Node inliningTarget,
+                        @Cached("createFor(this)") IndirectCallData indirectCallData,
+                        @Cached PySequenceCheckNode sequenceCheckNode,
+                        @Cached PySequenceSizeNode sizeNode,
+                        @Cached PySequenceGetItemNode getItemNode,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary acquireLib,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached InlinedConditionProfile allNativeProfile,
+                        @Cached InlinedBranchProfile errorProfile,
+                        @Cached GilNode gil,
+                        @Cached PRaiseNode.Lazy raiseNode,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode) {
+            if (!sequenceCheckNode.execute(inliningTarget, buffers)) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.S_ARG_2_MUST_BE_A_SEQUENCE, name);
+            }
+            int count = PythonUtils.toIntError(sizeNode.execute(frame, buffers));
+            Object[] views = new Object[count];
+            int[] lengths = new int[count];
+            int acquired = 0;
+            try {
+                boolean allNative = count > 0;
+                for (int i = 0; i < count; i++) {
+                    Object item = getItemNode.execute(frame, buffers, i);
+                    Object view = write ? acquireLib.acquireReadonly(item, frame, indirectCallData) : acquireLib.acquireWritable(item, frame, indirectCallData);
+                    views[i] = view;
+                    acquired++;
+                    lengths[i] = bufferLib.getBufferLength(view);
+                    allNative &= bufferLib.hasNativePointer(view);
+                }
+                if (allNativeProfile.profile(inliningTarget, allNative)) {
+                    long[] pointers = new long[count];
+                    for (int i = 0; i < count; i++) {
+                        pointers[i] = bufferLib.getNativePointer(views[i]);
+                    }
+                    return vectored(inliningTarget, fd, null, pointers, lengths, offset, write, posixLib, errorProfile, gil);
+                }
+                byte[][] arrays = new byte[count][];
+                for (int i = 0; i < count; i++) {
+                    if (write) {
+                        arrays[i] = bufferLib.getInternalOrCopiedByteArray(views[i]);
+                    } else if (bufferLib.hasInternalByteArray(views[i])) {
+                        arrays[i] = bufferLib.getInternalByteArray(views[i]);
+                    } else {
+                        arrays[i] = new byte[lengths[i]];
+                    }
+                }
+                long n = vectored(inliningTarget, fd, arrays, null, lengths, offset, write, posixLib, errorProfile, gil);
+                if (!write) {
+                    long remaining = n;
+                    for (int i = 0; i < count && remaining > 0; i++) {
+                        int chunk = (int) Math.min(remaining, lengths[i]);
+                        if (!bufferLib.hasInternalByteArray(views[i])) {
+                            bufferLib.writeFromByteArray(views[i], 0, arrays[i], 0, chunk);
+                        }
+                        remaining -= chunk;
+                    }
+                }
+                return n;
+            } catch (PosixException e) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+            } finally {
+                for (int i = 0; i < acquired; i++) {
+                    bufferLib.release(views[i], frame, indirectCallData);
+                }
+            }
+        }
+
+        private static long vectored(Node inliningTarget, int fd, byte[][] arrays, long[] pointers, int[] lengths, long offset, boolean write, PosixSupportLibrary posixLib,
+                        InlinedBranchProfile errorProfile, GilNode gil) throws PosixException {
+            Object posixSupport = PosixSupport.get(inliningTarget);
+            gil.release(true);
+            try {
+                while (true) {
+                    try {
+                        if (pointers != null) {
+                            if (write) {
+                                return posixLib.pwritevPointers(posixSupport, fd, pointers, lengths, offset);
+                            } else {
+                                return posixLib.preadvPointers(posixSupport, fd, pointers, lengths, offset);
+                            }
+                        }
+                        if (write) {
+                            return posixLib.pwritev(posixSupport, fd, arrays, lengths, offset);
+                        } else {
+                            return posixLib.preadv(posixSupport, fd, arrays, lengths, offset);
+                        }
+                    } catch (PosixException e) {
+                        errorProfile.enter(inliningTarget);
+                        if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                            PythonContext.triggerAsyncActions(inliningTarget);
+                        } else {
+                            throw e;
+                        }
+                    }
+                }
+            } finally {
+                gil.acquire();
+            }
+        }
+    }
+
+    @Builtin(name = "sendfile", minNumOfPositionalArgs = 4, parameterNames = {"out_fd", "in_fd", "offset", "count"})
+    @ArgumentClinic(name = "out_fd", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "in_fd", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "offset", conversionClass = OptionalOffsetConversionNode.class)
+    @ArgumentClinic(name = "count", conversion = ClinicConversion.LongIndex)
+    @GenerateNodeFactory
+    public abstract static class SendfileNode extends PythonQuaternaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.SendfileNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static long sendfile(VirtualFrame frame, int outFd, int inFd, long offset, long count,
+                        @Bind("this") Node inliningTarget,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached InlinedBranchProfile errorProfile,
+                        @Cached GilNode gil,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode) {
+            if (count < 0) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSError(frame, OSErrorEnum.EINVAL);
+            }
+            while (true) {
+                try {
+                    gil.release(true);
+                    try {
+                        return posixLib.sendfile(PosixSupport.get(inliningTarget), outFd, inFd, offset, count);
+                    } finally {
+                        gil.acquire();
+                    }
+                } catch (PosixException e) {
+                    errorProfile.enter(inliningTarget);
+                    if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                        PythonContext.triggerAsyncActions(inliningTarget);
+                    } else {
+                        throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+                    }
+                }
+            }
+        }
+    }
+
+    @Builtin(name = "copy_file_range", minNumOfPositionalArgs = 3, parameterNames = {"src", "dst", "count", "offset_src", "offset_dst"})
+    @ArgumentClinic(name = "src", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "dst", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "count", conversion = ClinicConversion.LongIndex)
+    @ArgumentClinic(name = "offset_src", conversionClass = OptionalOffsetConversionNode.class)
+    @ArgumentClinic(name = "offset_dst", conversionClass = OptionalOffsetConversionNode.class)
+    @GenerateNodeFactory
+    public abstract static class CopyFileRangeNode extends PythonClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.CopyFileRangeNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static long copyFileRange(VirtualFrame frame, int src, int dst, long count, long offsetSrc, long offsetDst,
+                        @Bind("this") Node inliningTarget,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached InlinedBranchProfile errorProfile,
+                        @Cached GilNode gil,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode) {
+            if (count < 0) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSError(frame, OSErrorEnum.EINVAL);
+            }
+            while (true) {
+                try {
+                    gil.release(true);
+                    try {
+                        return posixLib.copyFileRange(PosixSupport.get(inliningTarget), src, offsetSrc, dst, offsetDst, count);
+                    } finally {
+                        gil.acquire();
+                    }
+                } catch (PosixException e) {
+                    errorProfile.enter(inliningTarget);
+                    if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                        PythonContext.triggerAsyncActions(inliningTarget);
+                    } else {
+                        throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+                    }
+                }
+            }
+        }
+    }
+
+    @Builtin(name = "splice", minNumOfPositionalArgs = 3, parameterNames = {"src", "dst", "count", "offset_src", "offset_dst", "flags"})
+    @ArgumentClinic(name = "src", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "dst", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "count", conversion = ClinicConversion.LongIndex)
+    @ArgumentClinic(name = "offset_src", conversionClass = OptionalOffsetConversionNode.class)
+    @ArgumentClinic(name = "offset_dst", conversionClass = OptionalOffsetConversionNode.class)
+    @ArgumentClinic(name = "flags", conversion = ClinicConversion.Int, defaultValue = "0")
+    @GenerateNodeFactory
+    public abstract static class SpliceNode extends PythonClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.SpliceNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static long splice(VirtualFrame frame, int src, int dst, long count, long offsetSrc, long offsetDst, int flags,
+                        @Bind("this") Node inliningTarget,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached InlinedBranchProfile errorProfile,
+                        @Cached GilNode gil,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode) {
+            if (count < 0) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSError(frame, OSErrorEnum.EINVAL);
+            }
+            while (true) {
+                try {
+                    gil.release(true);
+                    try {
+                        return posixLib.splice(PosixSupport.get(inliningTarget), src, offsetSrc, dst, offsetDst, count, flags);
+                    } finally {
+                        gil.acquire();
+                    }
+                } catch (PosixException e) {
+                    errorProfile.enter(inliningTarget);
+                    if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                        PythonContext.triggerAsyncActions(inliningTarget);
+                    } else {
+                        throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+                    }
+                }
+            }
+        }
+    }
+
     @Builtin(name = "dup", minNumOfPositionalArgs = 1, parameterNames = {"fd"})
     @ArgumentClinic(name = "fd", conversion = ClinicConversion.Int)
     @GenerateNodeFactory
@@ -3477,6 +3874,37 @@ public final class PosixModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    /**
+     * Like {@link OffsetConversionNode}, but maps {@code None} or a missing argument to {@code -1},
+     * which the posix support interprets as the current file position. Explicit negative offsets
+     * are rejected with {@code EINVAL} like the syscalls would.
+     */
+    public abstract static class OptionalOffsetConversionNode extends ArgumentCastNode {
+
+        @Specialization
+        static long doNone(@SuppressWarnings("unused") PNone value) {
+            return -1;
+        }
+
+        @Specialization(guards = "!isPNone(value)")
+        static long doOthers(VirtualFrame frame, Object value,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyLongAsLongNode asLongNode,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode) {
+            long offset = asLongNode.execute(frame, inliningTarget, value);
+            if (offset < 0) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSError(frame, OSErrorEnum.EINVAL);
+            }
+            return offset;
+        }
+
+        @ClinicConverterFactory
+        @NeverDefault
+        public static OptionalOffsetConversionNode create() {
+            return PosixModuleBuiltinsFactory.OptionalOffsetConversionNodeGen.create();
+        }
+    }
+
     /**
      * Equivalent of CPython's {@code fildes_converter()}, which in turn delegates to
      * {@code PyObject_AsFileDescriptor}. Always returns an {@code int}.
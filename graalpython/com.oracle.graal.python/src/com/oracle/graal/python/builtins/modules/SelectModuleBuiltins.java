@@ -51,7 +51,9 @@ import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.Python3Core;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.PythonOS;
 import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.select.PPoll;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.lib.PyObjectAsFileDescriptor;
 import com.oracle.graal.python.lib.PyObjectGetItem;
@@ -67,6 +69,7 @@ import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
 import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.graal.python.runtime.PosixConstants;
+import com.oracle.graal.python.runtime.PosixConstants.IntConstant;
 import com.oracle.graal.python.runtime.PosixSupport;
 import com.oracle.graal.python.runtime.PosixSupportLibrary;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.ChannelNotSelectableException;
@@ -94,11 +97,6 @@ import com.oracle.truffle.api.profiles.InlinedBranchProfile;
 @CoreFunctions(defineModule = "select")
 public final class SelectModuleBuiltins extends PythonBuiltins {
 
-    /*
-     * ATTENTION: if we ever add "poll" support, update the code in
-     * MultiprocessingModuleBuilins#SelectNode to use it if available
-     */
-
     public SelectModuleBuiltins() {
         addBuiltinConstant("error", PythonErrorType.OSError);
     }
@@ -114,6 +112,30 @@ public final class SelectModuleBuiltins extends PythonBuiltins {
         if (PosixConstants.PIPE_BUF.defined) {
             addBuiltinConstant("PIPE_BUF", PosixConstants.PIPE_BUF.getValueIfDefined());
         }
+        for (IntConstant c : PosixConstants.pollEvents) {
+            if (c.defined) {
+                addBuiltinConstant(c.name, c.getValueIfDefined());
+            }
+        }
+        if (PosixConstants.EPOLLIN.defined) {
+            addBuiltinConstant("epoll", PythonBuiltinClassType.PEpoll);
+            for (IntConstant c : PosixConstants.epollEvents) {
+                if (c.defined) {
+                    addBuiltinConstant(c.name, c.getValueIfDefined());
+                }
+            }
+        }
+    }
+
+    @Builtin(name = "poll", os = PythonOS.PLATFORM_LINUX)
+    @Builtin(name = "poll", os = PythonOS.PLATFORM_DARWIN)
+    @GenerateNodeFactory
+    abstract static class PollNode extends PythonBuiltinNode {
+        @Specialization
+        static PPoll poll(
+                        @Cached PythonObjectFactory factory) {
+            return factory.createPoll();
+        }
     }
 
     @Builtin(name = "select", minNumOfPositionalArgs = 3, parameterNames = {"rlist", "wlist", "xlist", "timeout"})
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.StructError;
+import static com.oracle.graal.python.nodes.BuiltinNames.J__STRUCT;
+import static com.oracle.graal.python.nodes.BuiltinNames.T__STRUCT;
+
+import java.util.HashMap;
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.struct.PStruct;
+import com.oracle.graal.python.builtins.objects.struct.PStruct.StructInfo;
+import com.oracle.graal.python.builtins.objects.struct.PStructUnpackIterator;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.CreateUnpackIteratorNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.GetStructInfoNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.StructPackIntoNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.StructPackNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.StructUnpackFromNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.StructUnpackNode;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.IndirectCallData;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(defineModule = J__STRUCT)
+public final class StructModuleBuiltins extends PythonBuiltins {
+
+    // same as CPython's MAXCACHE
+    private static final int MAX_CACHE_SIZE = 100;
+
+    /*
+     * Format strings that are not constant in the AST are looked up in this cache. It is only
+     * accessed with the GIL held.
+     */
+    private final HashMap<TruffleString, StructInfo> cache = new HashMap<>();
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return StructModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        addBuiltinConstant("error", core.lookupType(StructError));
+        addBuiltinConstant("StructError", core.lookupType(StructError));
+    }
+
+    private static StructModuleBuiltins getModuleBuiltins(Node node) {
+        return (StructModuleBuiltins) PythonContext.get(node).lookupBuiltinModule(T__STRUCT).getBuiltins();
+    }
+
+    @TruffleBoundary
+    public static StructInfo lookupCachedStructInfo(Node node, TruffleString key) {
+        return getModuleBuiltins(node).cache.get(key);
+    }
+
+    @TruffleBoundary
+    public static StructInfo compileAndCache(Node node, TruffleString key, byte[] format) {
+        StructInfo structInfo = StructInfo.compile(node, format);
+        HashMap<TruffleString, StructInfo> cache = getModuleBuiltins(node).cache;
+        if (cache.size() >= MAX_CACHE_SIZE) {
+            cache.clear();
+        }
+        cache.put(key, structInfo);
+        return structInfo;
+    }
+
+    @Builtin(name = "Struct", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PStruct)
+    @GenerateNodeFactory
+    abstract static class ConstructStructNode extends PythonBuiltinNode {
+        @Specialization
+        static PStruct construct(Object cls, @SuppressWarnings("unused") Object[] args, @SuppressWarnings("unused") PKeyword[] kwargs,
+                        @Cached PythonObjectFactory factory) {
+            // the format is compiled in __init__
+            return factory.createStruct(cls);
+        }
+    }
+
+    @Builtin(name = "unpack_iterator", takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PStructUnpackIterator, isPublic = false)
+    @GenerateNodeFactory
+    abstract static class ConstructUnpackIteratorNode extends PythonBuiltinNode {
+        @Specialization
+        @SuppressWarnings("unused")
+        static Object construct(Object args, Object kwargs,
+                        @Cached PRaiseNode raiseNode) {
+            throw raiseNode.raise(PythonBuiltinClassType.TypeError, ErrorMessages.CANNOT_CREATE_INSTANCES, "_struct.unpack_iterator");
+        }
+    }
+
+    @Builtin(name = "pack", minNumOfPositionalArgs = 1, takesVarArgs = true)
+    @GenerateNodeFactory
+    abstract static class PackNode extends PythonBuiltinNode {
+        @Specialization
+        static PBytes pack(VirtualFrame frame, Object format, Object[] args,
+                        @Bind("this") Node inliningTarget,
+                        @Cached GetStructInfoNode getStructInfoNode,
+                        @Cached StructPackNode packNode) {
+            return packNode.execute(frame, inliningTarget, getStructInfoNode.execute(frame, inliningTarget, format), args);
+        }
+    }
+
+    @Builtin(name = "pack_into", minNumOfPositionalArgs = 1, takesVarArgs = true)
+    @GenerateNodeFactory
+    abstract static class PackIntoNode extends PythonBuiltinNode {
+        @Specialization
+        static PNone packInto(VirtualFrame frame, Object format, Object[] args,
+                        @Bind("this") Node inliningTarget,
+                        @Cached("createFor(this)") IndirectCallData indirectCallData,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary acquireLib,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @Cached GetStructInfoNode getStructInfoNode,
+                        @Cached StructPackIntoNode packIntoNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            StructInfo info = getStructInfoNode.execute(frame, inliningTarget, format);
+            StructNodes.checkPackIntoArgs(inliningTarget, info, args, raiseNode);
+            Object buffer = acquireLib.acquireWritableWithTypeError(args[0], "pack_into", frame, indirectCallData);
+            try {
+                packIntoNode.execute(frame, inliningTarget, info, buffer, args);
+            } finally {
+                bufferLib.release(buffer, frame, indirectCallData);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "unpack", minNumOfPositionalArgs = 2, parameterNames = {"format", "buffer"})
+    @ArgumentClinic(name = "buffer", conversion = ClinicConversion.ReadableBuffer)
+    @GenerateNodeFactory
+    abstract static class UnpackNode extends PythonBinaryClinicBuiltinNode {
+        @Specialization
+        static PTuple unpack(VirtualFrame frame, Object format, Object buffer,
+                        @Bind("this") Node inliningTarget,
+                        @Cached("createFor(this)") IndirectCallData indirectCallData,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @Cached GetStructInfoNode getStructInfoNode,
+                        @Cached StructUnpackNode unpackNode) {
+            try {
+                return unpackNode.execute(inliningTarget, getStructInfoNode.execute(frame, inliningTarget, format), buffer);
+            } finally {
+                bufferLib.release(buffer, frame, indirectCallData);
+            }
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return StructModuleBuiltinsClinicProviders.UnpackNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "unpack_from", minNumOfPositionalArgs = 2, numOfPositionalOnlyArgs = 1, parameterNames = {"format", "buffer", "offset"})
+    @ArgumentClinic(name = "buffer", conversion = ClinicConversion.ReadableBuffer)
+    @ArgumentClinic(name = "offset", conversion = ClinicConversion.Index, defaultValue = "0")
+    @GenerateNodeFactory
+    abstract static class UnpackFromNode extends PythonTernaryClinicBuiltinNode {
+        @Specialization
+        static PTuple unpackFrom(VirtualFrame frame, Object format, Object buffer, int offset,
+                        @Bind("this") Node inliningTarget,
+                        @Cached("createFor(this)") IndirectCallData indirectCallData,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @Cached GetStructInfoNode getStructInfoNode,
+                        @Cached StructUnpackFromNode unpackFromNode) {
+            try {
+                return unpackFromNode.execute(inliningTarget, getStructInfoNode.execute(frame, inliningTarget, format), buffer, offset);
+            } finally {
+                bufferLib.release(buffer, frame, indirectCallData);
+            }
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return StructModuleBuiltinsClinicProviders.UnpackFromNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "iter_unpack", minNumOfPositionalArgs = 2, parameterNames = {"format", "buffer"})
+    @GenerateNodeFactory
+    abstract static class IterUnpackNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PStructUnpackIterator iterUnpack(VirtualFrame frame, Object format, Object buffer,
+                        @Bind("this") Node inliningTarget,
+                        @Cached("createFor(this)") IndirectCallData indirectCallData,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary acquireLib,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @Cached GetStructInfoNode getStructInfoNode,
+                        @Cached CreateUnpackIteratorNode createIteratorNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            StructInfo info = getStructInfoNode.execute(frame, inliningTarget, format);
+            if (info.getSize() == 0) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_ITER_UNPACK_ZERO_LENGTH);
+            }
+            Object acquired = acquireLib.acquireReadonly(buffer, frame, indirectCallData);
+            try {
+                return createIteratorNode.execute(inliningTarget, factory.createStruct(info), acquired);
+            } catch (PException e) {
+                bufferLib.release(acquired, frame, indirectCallData);
+                throw e;
+            }
+        }
+    }
+
+    @Builtin(name = "calcsize", minNumOfPositionalArgs = 1, parameterNames = {"format"})
+    @GenerateNodeFactory
+    abstract static class CalcSizeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int calcsize(VirtualFrame frame, Object format,
+                        @Bind("this") Node inliningTarget,
+                        @Cached GetStructInfoNode getStructInfoNode) {
+            return getStructInfoNode.execute(frame, inliningTarget, format).getSize();
+        }
+    }
+
+    @Builtin(name = "_clearcache")
+    @GenerateNodeFactory
+    abstract static class ClearCacheNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        PNone clearCache() {
+            getModuleBuiltins(this).cache.clear();
+            return PNone.NONE;
+        }
+    }
+}
@@ -83,7 +83,6 @@ import com.oracle.graal.python.runtime.exception.PythonThreadKillException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
-import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
@@ -226,7 +225,6 @@ public final class ThreadModuleBuiltins extends PythonBuiltins {
                         @Cached ExpandKeywordStarargsNode getKwArgsNode,
                         @Cached PythonObjectFactory factory) {
             PythonContext context = getContext();
-            TruffleLanguage.Env env = context.getEnv();
             PythonModule threadModule = context.lookupBuiltinModule(T__THREAD);
 
             // if args is an arbitrary iterable, converting it to an Object[] may run Python code
@@ -235,7 +233,7 @@ public final class ThreadModuleBuiltins extends PythonBuiltins {
 
             // TODO: python thread stack size != java thread stack size
             // ignore setting the stack size for the moment
-            Thread thread = env.createThread(() -> {
+            Thread thread = context.createPythonThread(() -> {
                 try (GilNode.UncachedAcquire gil = GilNode.uncachedAcquire()) {
 
                     // the increment is protected by the gil
@@ -268,7 +266,7 @@ public final class ThreadModuleBuiltins extends PythonBuiltins {
                         lib.putInt(threadModule, THREAD_COUNT, curCount - 1);
                     }
                 }
-            }, env.getContext(), context.getThreadGroup());
+            });
 
             PThread pThread = factory.createPythonThread(cls, thread);
             pThread.start();
@@ -126,7 +126,7 @@ public final class TimeModuleBuiltins extends PythonBuiltins {
     private static final HiddenKey CURRENT_ZONE_ID = new HiddenKey("currentZoneID");
     private static final HiddenKey TIME_SLEPT = new HiddenKey("timeSlept");
 
-    private static final StructSequence.BuiltinTypeDescriptor STRUCT_TIME_DESC = new StructSequence.BuiltinTypeDescriptor(
+    public static final StructSequence.BuiltinTypeDescriptor STRUCT_TIME_DESC = new StructSequence.BuiltinTypeDescriptor(
                     PythonBuiltinClassType.PStructTime,
                     // @formatter:off The formatter joins these lines making it less readable
             "The time value as returned by gmtime(), localtime(), and strptime(), and\n" +
@@ -188,6 +188,14 @@ public final class TimeModuleBuiltins extends PythonBuiltins {
         StructSequence.initType(core, STRUCT_TIME_DESC);
     }
 
+    /**
+     * Returns the zone used for local time conversions, as seen by {@code time.localtime}.
+     */
+    @TruffleBoundary
+    public static ZoneId getCurrentZoneId(Python3Core core) {
+        return (ZoneId) core.lookupBuiltinModule(T_TIME).getAttribute(CURRENT_ZONE_ID);
+    }
+
     @TruffleBoundary
     public static double timeSeconds() {
         return System.currentTimeMillis() / 1000.0;
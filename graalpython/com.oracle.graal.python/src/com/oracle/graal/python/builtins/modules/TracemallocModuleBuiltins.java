@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2023, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -41,17 +41,29 @@
 package com.oracle.graal.python.builtins.modules;
 
 import static com.oracle.graal.python.nodes.BuiltinNames.J__TRACEMALLOC;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
 
 import java.util.List;
 
+import com.oracle.graal.python.annotations.ArgumentClinic;
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.Python3Core;
-import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.TracemallocTracer;
+import com.oracle.graal.python.runtime.TracemallocTracer.Trace;
+import com.oracle.graal.python.runtime.TracemallocTracer.Traceback;
+import com.oracle.graal.python.runtime.object.PythonObjectSlowPathFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
@@ -70,13 +82,135 @@ public final class TracemallocModuleBuiltins extends PythonBuiltins {
         super.initialize(core);
     }
 
+    private static PTuple createTraceback(PythonObjectSlowPathFactory factory, Traceback traceback) {
+        Object[] frames = new Object[traceback.size()];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = factory.createTuple(new Object[]{traceback.getFilename(i), traceback.getLineno(i)});
+        }
+        return factory.createTuple(frames);
+    }
+
+    @Builtin(name = "start", parameterNames = {"nframe"})
+    @ArgumentClinic(name = "nframe", conversion = ArgumentClinic.ClinicConversion.Int, defaultValue = "1")
+    @GenerateNodeFactory
+    abstract static class StartNode extends PythonUnaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return TracemallocModuleBuiltinsClinicProviders.StartNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        @TruffleBoundary
+        Object start(int nframe,
+                        @Cached PRaiseNode raiseNode) {
+            if (nframe < 1 || nframe > TracemallocTracer.MAX_NFRAME) {
+                throw raiseNode.raise(ValueError, ErrorMessages.NUMBER_OF_FRAMES_MUST_BE_IN_RANGE, TracemallocTracer.MAX_NFRAME);
+            }
+            getContext().getTracemallocTracer().start(nframe);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "stop")
+    @GenerateNodeFactory
+    abstract static class StopNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        Object stop() {
+            TracemallocTracer tracer = getContext().getTracemallocTracerOrNull();
+            if (tracer != null) {
+                tracer.stop();
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "is_tracing")
+    @GenerateNodeFactory
+    abstract static class IsTracingNode extends PythonBuiltinNode {
+        @Specialization
+        boolean isTracing() {
+            TracemallocTracer tracer = getContext().getTracemallocTracerOrNull();
+            return tracer != null && tracer.isTracing();
+        }
+    }
+
+    @Builtin(name = "clear_traces")
+    @GenerateNodeFactory
+    abstract static class ClearTracesNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        Object clearTraces() {
+            TracemallocTracer tracer = getContext().getTracemallocTracerOrNull();
+            if (tracer != null) {
+                tracer.clearTraces();
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "get_traceback_limit")
+    @GenerateNodeFactory
+    abstract static class GetTracebackLimitNode extends PythonBuiltinNode {
+        @Specialization
+        int getTracebackLimit() {
+            TracemallocTracer tracer = getContext().getTracemallocTracerOrNull();
+            return tracer != null ? tracer.getTracebackLimit() : 1;
+        }
+    }
+
+    @Builtin(name = "get_traced_memory")
+    @GenerateNodeFactory
+    abstract static class GetTracedMemoryNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        Object getTracedMemory() {
+            PythonContext context = getContext();
+            TracemallocTracer tracer = context.getTracemallocTracerOrNull();
+            long[] sizes = tracer != null ? tracer.getTracedMemory() : new long[2];
+            return context.factory().createTuple(new Object[]{sizes[0], sizes[1]});
+        }
+    }
+
+    @Builtin(name = "reset_peak")
+    @GenerateNodeFactory
+    abstract static class ResetPeakNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        Object resetPeak() {
+            TracemallocTracer tracer = getContext().getTracemallocTracerOrNull();
+            if (tracer != null && tracer.isTracing()) {
+                tracer.resetPeak();
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "get_tracemalloc_memory")
+    @GenerateNodeFactory
+    abstract static class GetTracemallocMemoryNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        long getTracemallocMemory() {
+            TracemallocTracer tracer = getContext().getTracemallocTracerOrNull();
+            return tracer != null ? tracer.getTracemallocMemory() : 0;
+        }
+    }
+
     @Builtin(name = "_get_object_traceback", minNumOfPositionalArgs = 1)
     @GenerateNodeFactory
     abstract static class GetObjectTracebackNode extends PythonBuiltinNode {
         @Specialization
-        static Object getObjectTraceback(Object obj,
-                        @Cached PRaiseNode raiseNode) {
-            throw raiseNode.raise(PythonBuiltinClassType.NotImplementedError);
+        @TruffleBoundary
+        Object getObjectTraceback(Object obj) {
+            PythonContext context = getContext();
+            TracemallocTracer tracer = context.getTracemallocTracerOrNull();
+            Traceback traceback = tracer != null ? tracer.getObjectTraceback(obj) : null;
+            if (traceback == null) {
+                return PNone.NONE;
+            }
+            return tracer.withoutTracing(() -> createTraceback(context.factory(), traceback));
         }
     }
 
@@ -84,9 +218,23 @@ public final class TracemallocModuleBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     abstract static class GetTracesNode extends PythonBuiltinNode {
         @Specialization
-        static Object getTraces(
-                        @Cached PRaiseNode raiseNode) {
-            throw raiseNode.raise(PythonBuiltinClassType.NotImplementedError);
+        @TruffleBoundary
+        Object getTraces() {
+            PythonContext context = getContext();
+            TracemallocTracer tracer = context.getTracemallocTracerOrNull();
+            if (tracer == null) {
+                return context.factory().createList();
+            }
+            return tracer.withoutTracing(() -> {
+                PythonObjectSlowPathFactory factory = context.factory();
+                Trace[] traces = tracer.getTraces();
+                Object[] result = new Object[traces.length];
+                for (int i = 0; i < traces.length; i++) {
+                    Traceback traceback = traces[i].traceback();
+                    result[i] = factory.createTuple(new Object[]{0, traces[i].size(), createTraceback(factory, traceback), traceback.getTotalNframe()});
+                }
+                return factory.createList(result);
+            });
         }
     }
 }
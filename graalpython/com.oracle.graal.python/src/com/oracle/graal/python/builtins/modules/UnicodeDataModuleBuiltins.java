@@ -40,14 +40,16 @@
  */
 package com.oracle.graal.python.builtins.modules;
 
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.KeyError;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
 import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 
-import java.text.Normalizer;
 import java.util.List;
+import java.util.Locale;
 
 import org.graalvm.shadowed.com.ibm.icu.lang.UCharacter;
 import org.graalvm.shadowed.com.ibm.icu.lang.UProperty;
+import org.graalvm.shadowed.com.ibm.icu.text.Normalizer2;
 
 import com.oracle.graal.python.annotations.ArgumentClinic;
 import com.oracle.graal.python.builtins.Builtin;
@@ -56,6 +58,7 @@ import com.oracle.graal.python.builtins.Python3Core;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
@@ -186,39 +189,68 @@ public final class UnicodeDataModuleBuiltins extends PythonBuiltins {
         addBuiltinConstant("unidata_version", getUnicodeVersion());
     }
 
+    @TruffleBoundary
+    static Normalizer2 getNormalizer(TruffleString form) {
+        switch (form.toJavaStringUncached()) {
+            case "NFC":
+                return Normalizer2.getNFCInstance();
+            case "NFD":
+                return Normalizer2.getNFDInstance();
+            case "NFKC":
+                return Normalizer2.getNFKCInstance();
+            case "NFKD":
+                return Normalizer2.getNFKDInstance();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the normalized string, or {@code null} if {@code str} is already normalized. Only the
+     * part after the longest normalized prefix is normalized and copied.
+     */
+    @TruffleBoundary
+    static String normalize(Normalizer2 normalizer, String str) {
+        int end = normalizer.spanQuickCheckYes(str);
+        if (end == str.length()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(str.length() + 16);
+        sb.append(str, 0, end);
+        return normalizer.normalizeSecondAndAppend(sb, str.subSequence(end, str.length())).toString();
+    }
+
+    @TruffleBoundary
+    static boolean isNormalized(Normalizer2 normalizer, String str) {
+        return normalizer.isNormalized(str);
+    }
+
     // unicodedata.normalize(form, unistr)
     @Builtin(name = "normalize", minNumOfPositionalArgs = 2, parameterNames = {"form", "unistr"})
     @ArgumentClinic(name = "form", conversion = ArgumentClinic.ClinicConversion.TString)
     @ArgumentClinic(name = "unistr", conversion = ArgumentClinic.ClinicConversion.TString)
     @GenerateNodeFactory
     public abstract static class NormalizeNode extends PythonBinaryClinicBuiltinNode {
-        @TruffleBoundary
-        protected Normalizer.Form getForm(TruffleString form) {
-            try {
-                return Normalizer.Form.valueOf(form.toJavaStringUncached());
-            } catch (IllegalArgumentException e) {
-                return null;
-            }
-        }
 
         @Specialization(guards = {"stringEquals(form, cachedForm, equalNode)"}, limit = "4")
         static TruffleString normalize(@SuppressWarnings("unused") TruffleString form, TruffleString unistr,
                         @Bind("this") Node inliningTarget,
                         @SuppressWarnings("unused") @Cached("form") TruffleString cachedForm,
-                        @Cached("getForm(cachedForm)") Normalizer.Form cachedNormForm,
+                        @Cached("getNormalizer(cachedForm)") Normalizer2 cachedNormalizer,
                         @SuppressWarnings("unused") @Cached TruffleString.EqualNode equalNode,
+                        @Cached TruffleString.GetCodeRangeNode getCodeRangeNode,
                         @Cached TruffleString.ToJavaStringNode toJavaStringNode,
                         @Cached TruffleString.FromJavaStringNode fromJavaStringNode,
                         @Cached PRaiseNode.Lazy raiseNode) {
-            if (cachedNormForm == null) {
+            if (cachedNormalizer == null) {
                 throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.INVALID_NORMALIZATION_FORM);
             }
-            return fromJavaStringNode.execute(normalize(toJavaStringNode.execute(unistr), cachedNormForm), TS_ENCODING);
-        }
-
-        @TruffleBoundary
-        private static String normalize(String str, Normalizer.Form normForm) {
-            return Normalizer.normalize(str, normForm);
+            // ASCII is invariant under all normalization forms
+            if (PGuards.isAscii(unistr, getCodeRangeNode)) {
+                return unistr;
+            }
+            String result = UnicodeDataModuleBuiltins.normalize(cachedNormalizer, toJavaStringNode.execute(unistr));
+            return result == null ? unistr : fromJavaStringNode.execute(result, TS_ENCODING);
         }
 
         @Override
@@ -233,25 +265,23 @@ public final class UnicodeDataModuleBuiltins extends PythonBuiltins {
     @ArgumentClinic(name = "unistr", conversion = ArgumentClinic.ClinicConversion.TString)
     @GenerateNodeFactory
     public abstract static class IsNormalizedNode extends PythonBinaryClinicBuiltinNode {
-        @TruffleBoundary
-        protected Normalizer.Form getForm(TruffleString form) {
-            try {
-                return Normalizer.Form.valueOf(form.toJavaStringUncached());
-            } catch (IllegalArgumentException e) {
-                return null;
-            }
-        }
 
         @Specialization(guards = {"stringEquals(form, cachedForm, equalNode)"}, limit = "4")
-        @TruffleBoundary
-        boolean isNormalized(@SuppressWarnings("unused") TruffleString form, TruffleString unistr,
+        static boolean isNormalized(@SuppressWarnings("unused") TruffleString form, TruffleString unistr,
+                        @Bind("this") Node inliningTarget,
                         @SuppressWarnings("unused") @Cached("form") TruffleString cachedForm,
-                        @Cached("getForm(cachedForm)") Normalizer.Form cachedNormForm,
-                        @SuppressWarnings("unused") @Cached TruffleString.EqualNode equalNode) {
-            if (cachedNormForm == null) {
-                throw PRaiseNode.raiseUncached(this, ValueError, ErrorMessages.INVALID_NORMALIZATION_FORM);
+                        @Cached("getNormalizer(cachedForm)") Normalizer2 cachedNormalizer,
+                        @SuppressWarnings("unused") @Cached TruffleString.EqualNode equalNode,
+                        @Cached TruffleString.GetCodeRangeNode getCodeRangeNode,
+                        @Cached TruffleString.ToJavaStringNode toJavaStringNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (cachedNormalizer == null) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.INVALID_NORMALIZATION_FORM);
             }
-            return Normalizer.isNormalized(unistr.toJavaStringUncached(), cachedNormForm);
+            if (PGuards.isAscii(unistr, getCodeRangeNode)) {
+                return true;
+            }
+            return UnicodeDataModuleBuiltins.isNormalized(cachedNormalizer, toJavaStringNode.execute(unistr));
         }
 
         @Override
@@ -330,4 +360,226 @@ public final class UnicodeDataModuleBuiltins extends PythonBuiltins {
             return UnicodeDataModuleBuiltinsClinicProviders.CategoryNodeClinicProviderGen.INSTANCE;
         }
     }
+
+    // unicodedata.lookup(name)
+    @Builtin(name = "lookup", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 1, parameterNames = {"name"})
+    @ArgumentClinic(name = "name", conversion = ArgumentClinic.ClinicConversion.TString)
+    @GenerateNodeFactory
+    public abstract static class LookupNode extends PythonUnaryClinicBuiltinNode {
+        @Specialization
+        static TruffleString lookup(TruffleString name,
+                        @Bind("this") Node inliningTarget,
+                        @Cached TruffleString.FromCodePointNode fromCodePointNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int cp = lookupCodePoint(name);
+            if (cp < 0) {
+                throw raiseNode.get(inliningTarget).raise(KeyError, ErrorMessages.UNDEFINED_CHARACTER_NAME, name);
+            }
+            return fromCodePointNode.execute(cp, TS_ENCODING, true);
+        }
+
+        @TruffleBoundary
+        private static int lookupCodePoint(TruffleString name) {
+            String str = name.toJavaStringUncached();
+            int cp = UCharacter.getCharFromName(str);
+            if (cp < 0) {
+                cp = UCharacter.getCharFromNameAlias(str);
+            }
+            return cp;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return UnicodeDataModuleBuiltinsClinicProviders.LookupNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    // unicodedata.decimal(chr, default)
+    @Builtin(name = "decimal", minNumOfPositionalArgs = 1, parameterNames = {"chr", "default"})
+    @ArgumentClinic(name = "chr", conversion = ArgumentClinic.ClinicConversion.CodePoint)
+    @GenerateNodeFactory
+    public abstract static class DecimalNode extends PythonBinaryClinicBuiltinNode {
+        @Specialization
+        static Object decimal(int chr, Object defaultValue,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (getNumericType(chr) != UCharacter.NumericType.DECIMAL) {
+                if (defaultValue == PNone.NO_VALUE) {
+                    throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.NOT_A_DECIMAL);
+                }
+                return defaultValue;
+            }
+            return (int) getNumericValue(chr);
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return UnicodeDataModuleBuiltinsClinicProviders.DecimalNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    // unicodedata.digit(chr, default)
+    @Builtin(name = "digit", minNumOfPositionalArgs = 1, parameterNames = {"chr", "default"})
+    @ArgumentClinic(name = "chr", conversion = ArgumentClinic.ClinicConversion.CodePoint)
+    @GenerateNodeFactory
+    public abstract static class DigitNode extends PythonBinaryClinicBuiltinNode {
+        @Specialization
+        static Object digit(int chr, Object defaultValue,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int type = getNumericType(chr);
+            if (type != UCharacter.NumericType.DECIMAL && type != UCharacter.NumericType.DIGIT) {
+                if (defaultValue == PNone.NO_VALUE) {
+                    throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.NOT_A_DIGIT);
+                }
+                return defaultValue;
+            }
+            return (int) getNumericValue(chr);
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return UnicodeDataModuleBuiltinsClinicProviders.DigitNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    // unicodedata.numeric(chr, default)
+    @Builtin(name = "numeric", minNumOfPositionalArgs = 1, parameterNames = {"chr", "default"})
+    @ArgumentClinic(name = "chr", conversion = ArgumentClinic.ClinicConversion.CodePoint)
+    @GenerateNodeFactory
+    public abstract static class NumericNode extends PythonBinaryClinicBuiltinNode {
+        @Specialization
+        static Object numeric(int chr, Object defaultValue,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (getNumericType(chr) == UCharacter.NumericType.NONE) {
+                if (defaultValue == PNone.NO_VALUE) {
+                    throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.NOT_A_NUMERIC_CHARACTER);
+                }
+                return defaultValue;
+            }
+            return getNumericValue(chr);
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return UnicodeDataModuleBuiltinsClinicProviders.NumericNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @TruffleBoundary
+    static int getNumericType(int chr) {
+        return UCharacter.getIntPropertyValue(chr, UProperty.NUMERIC_TYPE);
+    }
+
+    @TruffleBoundary
+    static double getNumericValue(int chr) {
+        return UCharacter.getUnicodeNumericValue(chr);
+    }
+
+    // unicodedata.combining(chr)
+    @Builtin(name = "combining", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 1, parameterNames = {"chr"})
+    @ArgumentClinic(name = "chr", conversion = ArgumentClinic.ClinicConversion.CodePoint)
+    @GenerateNodeFactory
+    public abstract static class CombiningNode extends PythonUnaryClinicBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        static int combining(int chr) {
+            return UCharacter.getCombiningClass(chr);
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return UnicodeDataModuleBuiltinsClinicProviders.CombiningNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    // unicodedata.mirrored(chr)
+    @Builtin(name = "mirrored", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 1, parameterNames = {"chr"})
+    @ArgumentClinic(name = "chr", conversion = ArgumentClinic.ClinicConversion.CodePoint)
+    @GenerateNodeFactory
+    public abstract static class MirroredNode extends PythonUnaryClinicBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        static int mirrored(int chr) {
+            return UCharacter.hasBinaryProperty(chr, UProperty.BIDI_MIRRORED) ? 1 : 0;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return UnicodeDataModuleBuiltinsClinicProviders.MirroredNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    // unicodedata.east_asian_width(chr)
+    @Builtin(name = "east_asian_width", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 1, parameterNames = {"chr"})
+    @ArgumentClinic(name = "chr", conversion = ArgumentClinic.ClinicConversion.CodePoint)
+    @GenerateNodeFactory
+    public abstract static class EastAsianWidthNode extends PythonUnaryClinicBuiltinNode {
+        @Specialization
+        static TruffleString eastAsianWidth(int chr,
+                        @Cached TruffleString.FromJavaStringNode fromJavaStringNode) {
+            return fromJavaStringNode.execute(getEastAsianWidthName(chr), TS_ENCODING);
+        }
+
+        @TruffleBoundary
+        private static String getEastAsianWidthName(int chr) {
+            return UCharacter.getPropertyValueName(UProperty.EAST_ASIAN_WIDTH, UCharacter.getIntPropertyValue(chr, UProperty.EAST_ASIAN_WIDTH), UProperty.NameChoice.SHORT);
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return UnicodeDataModuleBuiltinsClinicProviders.EastAsianWidthNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    // unicodedata.decomposition(chr)
+    @Builtin(name = "decomposition", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 1, parameterNames = {"chr"})
+    @ArgumentClinic(name = "chr", conversion = ArgumentClinic.ClinicConversion.CodePoint)
+    @GenerateNodeFactory
+    public abstract static class DecompositionNode extends PythonUnaryClinicBuiltinNode {
+        @Specialization
+        static TruffleString decomposition(int chr,
+                        @Cached TruffleString.FromJavaStringNode fromJavaStringNode) {
+            return fromJavaStringNode.execute(getDecomposition(chr), TS_ENCODING);
+        }
+
+        /**
+         * Formats the decomposition mapping like the UnicodeData.txt field, e.g.
+         * {@code "<compat> 0020 0308"}. Like CPython, we do not report the algorithmic
+         * decompositions of Hangul syllables.
+         */
+        @TruffleBoundary
+        private static String getDecomposition(int chr) {
+            if (0xAC00 <= chr && chr <= 0xD7A3) {
+                return "";
+            }
+            String mapping = Normalizer2.getNFKDInstance().getRawDecomposition(chr);
+            if (mapping == null) {
+                return "";
+            }
+            StringBuilder sb = new StringBuilder();
+            int type = UCharacter.getIntPropertyValue(chr, UProperty.DECOMPOSITION_TYPE);
+            if (type == UCharacter.DecompositionType.NOBREAK) {
+                sb.append("<noBreak> ");
+            } else if (type != UCharacter.DecompositionType.CANONICAL) {
+                String tag = UCharacter.getPropertyValueName(UProperty.DECOMPOSITION_TYPE, type, UProperty.NameChoice.LONG);
+                sb.append('<').append(tag.toLowerCase(Locale.ROOT)).append("> ");
+            }
+            for (int i = 0; i < mapping.length();) {
+                int cp = mapping.codePointAt(i);
+                if (i > 0) {
+                    sb.append(' ');
+                }
+                sb.append(String.format("%04X", cp));
+                i += Character.charCount(cp);
+            }
+            return sb.toString();
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return UnicodeDataModuleBuiltinsClinicProviders.DecompositionNodeClinicProviderGen.INSTANCE;
+        }
+    }
 }
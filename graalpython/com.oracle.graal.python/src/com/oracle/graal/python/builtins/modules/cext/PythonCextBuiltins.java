@@ -151,7 +151,6 @@ import com.oracle.graal.python.builtins.objects.str.PString;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.builtins.objects.type.PythonAbstractClass;
 import com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass;
-import com.oracle.graal.python.builtins.objects.type.PythonClass;
 import com.oracle.graal.python.builtins.objects.type.PythonManagedClass;
 import com.oracle.graal.python.builtins.objects.type.TypeNodes;
 import com.oracle.graal.python.builtins.objects.type.TypeNodes.GetMroStorageNode;
@@ -995,7 +994,7 @@ public final class PythonCextBuiltins {
         static final HiddenKey NATIVE_SLOTS = new HiddenKey("__native_slots__");
 
         @Specialization
-        static int doPythonClass(PythonClass pythonClass, Object nativeGetSets, Object nativeMembers,
+        static int doManagedClass(PythonManagedClass pythonClass, Object nativeGetSets, Object nativeMembers,
                         @Cached WriteAttributeToObjectNode writeAttrNode) {
             writeAttrNode.execute(pythonClass, NATIVE_SLOTS, new Object[]{nativeGetSets, nativeMembers});
             return 0;
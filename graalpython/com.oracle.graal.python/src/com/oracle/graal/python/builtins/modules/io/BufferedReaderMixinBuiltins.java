@@ -59,6 +59,7 @@ import static com.oracle.graal.python.builtins.modules.io.IONodes.T_READLINE;
 import static com.oracle.graal.python.builtins.objects.bytes.BytesUtils.append;
 import static com.oracle.graal.python.builtins.objects.bytes.BytesUtils.createOutputStream;
 import static com.oracle.graal.python.builtins.objects.bytes.BytesUtils.toByteArray;
+import static com.oracle.graal.python.builtins.objects.exception.OSErrorEnum.EAGAIN;
 import static com.oracle.graal.python.nodes.ErrorMessages.IO_S_INVALID_LENGTH;
 import static com.oracle.graal.python.nodes.ErrorMessages.IO_S_SHOULD_RETURN_BYTES;
 import static com.oracle.graal.python.nodes.ErrorMessages.MUST_BE_NON_NEG_OR_NEG_1;
@@ -74,6 +75,7 @@ import java.util.List;
 import com.oracle.graal.python.annotations.ArgumentClinic;
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.modules.PosixModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.io.BufferedIONodes.CheckIsClosedNode;
 import com.oracle.graal.python.builtins.modules.io.BufferedIONodes.EnterBufferedNode;
 import com.oracle.graal.python.builtins.modules.io.BufferedIONodes.FlushAndRewindUnlockedNode;
@@ -87,6 +89,7 @@ import com.oracle.graal.python.builtins.objects.bytes.PBytes;
 import com.oracle.graal.python.lib.PyNumberAsSizeNode;
 import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
 import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PConstructAndRaiseNode;
 import com.oracle.graal.python.nodes.PNodeWithContext;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.attributes.LookupAttributeInMRONode;
@@ -94,7 +97,10 @@ import com.oracle.graal.python.nodes.call.special.CallUnaryMethodNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.graal.python.runtime.IndirectCallData;
+import com.oracle.graal.python.runtime.PosixSupportLibrary;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.graal.python.util.PythonUtils;
@@ -111,6 +117,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.InlinedBranchProfile;
 import com.oracle.truffle.api.profiles.InlinedConditionProfile;
 import com.oracle.truffle.api.strings.TruffleString;
 
@@ -173,6 +180,93 @@ public final class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltin
 
     }
 
+    /**
+     * Like {@link RawReadNode}, but stores the data into {@code dest} at {@code offset}. Returns
+     * the number of bytes read, or -2 if a non-blocking raw stream would have blocked.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class RawReadIntoNode extends PNodeWithContext {
+
+        public abstract int execute(VirtualFrame frame, Node inliningTarget, PBuffered self, byte[] dest, int offset, int len);
+
+        /*
+         * Vanilla FileIO raw stream: read straight into the destination rather than calling
+         * readinto() on a temporary bytearray and copying its contents out again.
+         */
+        @Specialization(guards = {"self.isFastClosedChecks()", "!self.getFileIORaw().isClosed()", "self.getFileIORaw().isReadable()"})
+        static int fileIORawReadInto(VirtualFrame frame, Node inliningTarget, PBuffered self, byte[] dest, int offset, int len,
+                        @Cached(inline = false) PosixModuleBuiltins.ReadNode posixRead,
+                        @Cached InlinedBranchProfile readErrorProfile,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached(inline = false) GilNode gil,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode) {
+            int n;
+            try {
+                n = posixRead.readInto(self.getFileIORaw().getFD(), dest, offset, len, inliningTarget, posixLib, readErrorProfile, gil);
+            } catch (PosixException e) {
+                if (e.getErrorCode() == EAGAIN.getNumber()) {
+                    /* Non-blocking stream would have blocked. Special return code! */
+                    return -2;
+                }
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+            }
+            if (n > 0 && self.getAbsPos() != -1) {
+                self.incAbsPos(n);
+            }
+            return n;
+        }
+
+        @Specialization
+        static int rawReadInto(VirtualFrame frame, Node inliningTarget, PBuffered self, byte[] dest, int offset, int len,
+                        @Cached RawReadNode rawReadNode) {
+            byte[] fill = rawReadNode.execute(frame, inliningTarget, self, len);
+            if (fill == BLOCKED) {
+                return -2;
+            }
+            PythonUtils.arraycopy(fill, 0, dest, offset, fill.length);
+            return fill.length;
+        }
+    }
+
+    /**
+     * Like {@link RawReadIntoNode}, but stores the data into native memory at {@code pointer}. Only
+     * vanilla FileIO raw streams can do that, callers must check {@link #isFileIORaw} first.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class RawReadIntoPointerNode extends PNodeWithContext {
+
+        public abstract int execute(VirtualFrame frame, Node inliningTarget, PBuffered self, long pointer, int len);
+
+        static boolean isFileIORaw(PBuffered self) {
+            return self.isFastClosedChecks() && !self.getFileIORaw().isClosed() && self.getFileIORaw().isReadable();
+        }
+
+        @Specialization
+        static int fileIORawReadInto(VirtualFrame frame, Node inliningTarget, PBuffered self, long pointer, int len,
+                        @Cached(inline = false) PosixModuleBuiltins.ReadNode posixRead,
+                        @Cached InlinedBranchProfile readErrorProfile,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached(inline = false) GilNode gil,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode) {
+            assert isFileIORaw(self);
+            int n;
+            try {
+                n = posixRead.readIntoPointer(self.getFileIORaw().getFD(), pointer, len, inliningTarget, posixLib, readErrorProfile, gil);
+            } catch (PosixException e) {
+                if (e.getErrorCode() == EAGAIN.getNumber()) {
+                    return -2;
+                }
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+            }
+            if (n > 0 && self.getAbsPos() != -1) {
+                self.incAbsPos(n);
+            }
+            return n;
+        }
+    }
+
     /**
      * implementation of cpython/Modules/_io/bufferedio.c:_bufferedreader_fill_buffer
      */
@@ -184,7 +278,7 @@ public final class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltin
 
         @Specialization
         static int bufferedreaderFillBuffer(VirtualFrame frame, Node inliningTarget, PBuffered self,
-                        @Cached RawReadNode rawReadNode) {
+                        @Cached RawReadIntoNode rawReadIntoNode) {
             int start;
             if (isValidReadBuffer(self)) {
                 start = self.getReadEnd();
@@ -192,15 +286,10 @@ public final class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltin
                 start = 0;
             }
             int len = self.getBufferSize() - start;
-            byte[] fill = rawReadNode.execute(frame, inliningTarget, self, len);
-            if (fill == BLOCKED) {
-                return -2;
-            }
-            int n = fill.length;
-            if (n == 0) {
+            int n = rawReadIntoNode.execute(frame, inliningTarget, self, self.getBuffer(), start, len);
+            if (n <= 0) {
                 return n;
             }
-            PythonUtils.arraycopy(fill, 0, self.getBuffer(), start, n);
             self.setReadEnd(start + n);
             self.setRawPos(start + n);
             return n;
@@ -285,7 +374,7 @@ public final class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltin
         Object bufferedreaderReadGeneric(VirtualFrame frame, PBuffered self, int size,
                         @Bind("this") Node inliningTarget,
                         @Exclusive @Cached EnterBufferedNode lock,
-                        @Cached RawReadNode rawReadNode,
+                        @Cached RawReadIntoNode rawReadIntoNode,
                         @Cached FillBufferNode fillBufferNode,
                         @Exclusive @Cached FlushAndRewindUnlockedNode flushAndRewindUnlockedNode,
                         @Shared @Cached PythonObjectFactory factory) {
@@ -318,13 +407,7 @@ public final class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltin
                     if (r == 0) {
                         break;
                     }
-                    byte[] fill = rawReadNode.execute(frame, inliningTarget, self, r);
-                    if (fill == BLOCKED) {
-                        r = -2;
-                    } else {
-                        r = fill.length;
-                        PythonUtils.arraycopy(fill, 0, res, written, r);
-                    }
+                    r = rawReadIntoNode.execute(frame, inliningTarget, self, res, written, r);
                     if (r == 0 || r == -2) {
                         /* EOF occurred */
                         if (r == 0 || written > 0) {
@@ -542,6 +625,8 @@ public final class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltin
                         @Cached EnterBufferedNode lock,
                         @Cached FlushAndRewindUnlockedNode flushAndRewindUnlockedNode,
                         @Cached RawReadNode rawReadNode,
+                        @Cached RawReadIntoNode rawReadIntoNode,
+                        @Cached RawReadIntoPointerNode rawReadIntoPointerNode,
                         @Cached FillBufferNode fillBufferNode) {
             checkIsClosedNode.execute(frame, self);
             try {
@@ -574,7 +659,11 @@ public final class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltin
                      If remaining bytes is larger than internal buffer size, copy directly into
                      caller's buffer.
                      */
-                    if (remaining > self.getBufferSize()) {
+                    if (remaining > self.getBufferSize() && bufferLib.hasInternalByteArray(buffer)) {
+                        n = rawReadIntoNode.execute(frame, inliningTarget, self, bufferLib.getInternalByteArray(buffer), written, remaining);
+                    } else if (remaining > self.getBufferSize() && bufferLib.hasNativePointer(buffer) && RawReadIntoPointerNode.isFileIORaw(self)) {
+                        n = rawReadIntoPointerNode.execute(frame, inliningTarget, self, bufferLib.getNativePointer(buffer) + written, remaining);
+                    } else if (remaining > self.getBufferSize()) {
                         byte[] fill = rawReadNode.execute(frame, inliningTarget, self, remaining);
                         if (fill == BLOCKED) {
                             n = -2;
@@ -672,17 +672,24 @@ public final class FileIOBuiltins extends PythonBuiltins {
                         @Cached InlinedBranchProfile readErrorProfile,
                         @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
                         @Cached GilNode gil,
-                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode,
-                        @Cached PythonObjectFactory factory) {
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode) {
             try {
                 int size = bufferLib.getBufferLength(buffer);
                 if (size == 0) {
                     return 0;
                 }
                 try {
-                    PBytes data = posixRead.read(self.getFD(), size, inliningTarget, posixLib, readErrorProfile, gil, factory);
-                    int n = bufferLib.getBufferLength(data);
-                    bufferLib.readIntoBuffer(data, 0, buffer, 0, n, bufferLib);
+                    if (bufferLib.hasInternalByteArray(buffer)) {
+                        // the buffer is writable, so the data can go straight into its storage
+                        byte[] target = bufferLib.getInternalByteArray(buffer);
+                        return posixRead.readInto(self.getFD(), target, 0, size, inliningTarget, posixLib, readErrorProfile, gil);
+                    }
+                    if (bufferLib.hasNativePointer(buffer)) {
+                        return posixRead.readIntoPointer(self.getFD(), bufferLib.getNativePointer(buffer), size, inliningTarget, posixLib, readErrorProfile, gil);
+                    }
+                    byte[] tmp = new byte[size];
+                    int n = posixRead.readInto(self.getFD(), tmp, 0, size, inliningTarget, posixLib, readErrorProfile, gil);
+                    bufferLib.writeFromByteArray(buffer, 0, tmp, 0, n);
                     return n;
                 } catch (PosixException e) {
                     if (e.getErrorCode() == EAGAIN.getNumber()) {
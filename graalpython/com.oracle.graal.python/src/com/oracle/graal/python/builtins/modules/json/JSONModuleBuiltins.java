@@ -61,6 +61,7 @@ public final class JSONModuleBuiltins extends PythonBuiltins {
         addBuiltinConstant(SpecialAttributeNames.T___DOC__, "json speedups\n");
         addBuiltinConstant("make_scanner", core.lookupType(PythonBuiltinClassType.JSONScanner));
         addBuiltinConstant("make_encoder", core.lookupType(PythonBuiltinClassType.JSONEncoder));
+        addBuiltinConstant("StreamScanner", core.lookupType(PythonBuiltinClassType.JSONStreamScanner));
         super.initialize(core);
 
     }
@@ -202,6 +203,28 @@ public final class JSONModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "StreamScanner", minNumOfPositionalArgs = 2, parameterNames = {"$cls", "scanner", "events"}, constructsClass = PythonBuiltinClassType.JSONStreamScanner, //
+                    doc = "StreamScanner(scanner, events=False)\n" +
+                                    "\n" +
+                                    "Incremental decoder using the hooks of a scanner created by make_scanner.\n" +
+                                    "If events is true, feed() and close() return (event, value) pairs like\n" +
+                                    "ijson.basic_parse instead of complete values.")
+    @ArgumentClinic(name = "events", conversion = ArgumentClinic.ClinicConversion.Boolean, defaultValue = "false")
+    @GenerateNodeFactory
+    public abstract static class MakeStreamScanner extends PythonTernaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return JSONModuleBuiltinsClinicProviders.MakeStreamScannerClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static PJSONStreamScanner doNew(Object cls, PJSONScanner scanner, boolean events,
+                        @Cached PythonObjectFactory factory) {
+            return factory.createJSONStreamScanner(cls, scanner, events);
+        }
+    }
+
     @Builtin(name = "make_encoder", minNumOfPositionalArgs = 10, //
                     parameterNames = {"$cls", "markers", "default", "encoder", "indent", "key_separator", "item_separator", "sort_keys", "skipkeys", "allow_nan"}, //
                     constructsClass = PythonBuiltinClassType.JSONEncoder, //
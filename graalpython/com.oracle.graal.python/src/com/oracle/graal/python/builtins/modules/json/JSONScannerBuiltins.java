@@ -25,6 +25,7 @@ import com.oracle.graal.python.builtins.objects.common.HashingStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageSetItem;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.floats.FloatUtils;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.lib.PyFloatCheckExactNode;
 import com.oracle.graal.python.lib.PyLongCheckExactNode;
@@ -142,11 +143,7 @@ public final class JSONScannerBuiltins extends PythonBuiltins {
                     if (idx >= length || string.charAt(idx) != '"') {
                         throw decodeError(this, string, idx, ErrorMessages.EXPECTING_PROP_NAME_ECLOSED_IN_DBL_QUOTES);
                     }
-                    TruffleString newKey = scanStringUnicode(string, idx + 1, scanner.strict, nextIdx, this);
-                    TruffleString key = scanner.memo.putIfAbsent(newKey, newKey);
-                    if (key == null) {
-                        key = newKey;
-                    }
+                    TruffleString key = scanner.memoizeKey(scanStringUnicode(string, idx + 1, scanner.strict, nextIdx, this));
                     idx = nextIdx.value;
 
                     /* skip whitespace between key and : delimiter, read :, skip whitespace */
@@ -336,40 +333,7 @@ public final class JSONScannerBuiltins extends PythonBuiltins {
             }
 
             nextIdx.value = idx;
-            if (isFloat) {
-                if (PyFloatCheckExactNode.executeUncached(scanner.parseFloat)) {
-                    String numStr = string.substring(start, idx);
-                    return FloatUtils.parseValidString(numStr);
-                } else {
-                    /* copy the section we determined to be a number */
-                    TruffleString numStr = toTruffleStringUncached(string.substring(start, idx));
-                    return callParseFloat.executeObject(scanner.parseFloat, numStr);
-                }
-            } else {
-                if (PyLongCheckExactNode.executeUncached(scanner.parseInt)) {
-                    Object rval = BuiltinConstructors.IntNode.parseSimpleDecimalLiteral(string, start, idx - start);
-                    if (rval != null) {
-                        return rval;
-                    }
-                    String numStr = string.substring(start, idx);
-                    BigInteger bi = new BigInteger(numStr);
-                    try {
-                        return bi.intValueExact();
-                    } catch (ArithmeticException e) {
-                        // fall through
-                    }
-                    try {
-                        return bi.longValueExact();
-                    } catch (ArithmeticException e) {
-                        // fall through
-                    }
-                    return factory.createInt(bi);
-                } else {
-                    /* copy the section we determined to be a number */
-                    TruffleString numStr = toTruffleStringUncached(string.substring(start, idx));
-                    return callParseInt.executeObject(scanner.parseInt, numStr);
-                }
-            }
+            return numberValue(scanner, string, start, idx, isFloat, callParseFloat, callParseInt, factory);
         }
 
         @TruffleBoundary
@@ -458,6 +422,49 @@ public final class JSONScannerBuiltins extends PythonBuiltins {
 
     }
 
+    /**
+     * Converts the number in {@code string[start:end]} found by the scanner, using
+     * {@code parse_float} and {@code parse_int} if they are not the default types.
+     */
+    static Object numberValue(PJSONScanner scanner, String string, int start, int end, boolean isFloat, CallUnaryMethodNode callParseFloat, CallUnaryMethodNode callParseInt,
+                    PythonObjectFactory factory) {
+        CompilerAsserts.neverPartOfCompilation();
+        if (isFloat) {
+            if (PyFloatCheckExactNode.executeUncached(scanner.parseFloat)) {
+                String numStr = string.substring(start, end);
+                return FloatUtils.parseValidString(numStr);
+            } else {
+                /* copy the section we determined to be a number */
+                TruffleString numStr = toTruffleStringUncached(string.substring(start, end));
+                return callParseFloat.executeObject(scanner.parseFloat, numStr);
+            }
+        } else {
+            if (PyLongCheckExactNode.executeUncached(scanner.parseInt)) {
+                Object rval = BuiltinConstructors.IntNode.parseSimpleDecimalLiteral(string, start, end - start);
+                if (rval != null) {
+                    return rval;
+                }
+                String numStr = string.substring(start, end);
+                BigInteger bi = PInt.parseBigInteger(numStr, 10);
+                try {
+                    return bi.intValueExact();
+                } catch (ArithmeticException e) {
+                    // fall through
+                }
+                try {
+                    return bi.longValueExact();
+                } catch (ArithmeticException e) {
+                    // fall through
+                }
+                return factory.createInt(bi);
+            } else {
+                /* copy the section we determined to be a number */
+                TruffleString numStr = toTruffleStringUncached(string.substring(start, end));
+                return callParseInt.executeObject(scanner.parseInt, numStr);
+            }
+        }
+    }
+
     @TruffleBoundary
     static TruffleString scanStringUnicode(String string, int start, boolean strict, IntRef nextIdx, Node raisingNode) {
         String result;
@@ -534,7 +541,7 @@ public final class JSONScannerBuiltins extends PythonBuiltins {
         throw decodeError(raisingNode, string, start - 1, ErrorMessages.UNTERMINATED_STR_STARTING_AT);
     }
 
-    private static RuntimeException decodeError(Node raisingNode, String jsonString, int pos, TruffleString format) {
+    static RuntimeException decodeError(Node raisingNode, String jsonString, int pos, TruffleString format) {
         CompilerAsserts.neverPartOfCompilation();
         Object module = AbstractImportNode.importModule(toTruffleStringUncached("json.decoder"));
         Object errorClass = PyObjectLookupAttr.executeUncached(module, T_JSON_DECODE_ERROR);
@@ -0,0 +1,669 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.json;
+
+import static com.oracle.graal.python.builtins.modules.json.PJSONStreamScanner.ARRAY_FIRST;
+import static com.oracle.graal.python.builtins.modules.json.PJSONStreamScanner.ARRAY_NEXT;
+import static com.oracle.graal.python.builtins.modules.json.PJSONStreamScanner.ARRAY_VALUE;
+import static com.oracle.graal.python.builtins.modules.json.PJSONStreamScanner.OBJECT_COLON;
+import static com.oracle.graal.python.builtins.modules.json.PJSONStreamScanner.OBJECT_FIRST;
+import static com.oracle.graal.python.builtins.modules.json.PJSONStreamScanner.OBJECT_KEY;
+import static com.oracle.graal.python.builtins.modules.json.PJSONStreamScanner.OBJECT_NEXT;
+import static com.oracle.graal.python.builtins.modules.json.PJSONStreamScanner.OBJECT_VALUE;
+import static com.oracle.graal.python.builtins.modules.json.PJSONStreamScanner.TOP_LEVEL;
+import static com.oracle.graal.python.util.PythonUtils.EMPTY_BYTE_ARRAY;
+import static com.oracle.graal.python.util.PythonUtils.EMPTY_OBJECT_ARRAY;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.json.JSONScannerBuiltins.IntRef;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
+import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageSetItem;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.lib.PyLongAsIntNode;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.lib.PyObjectLookupAttr;
+import com.oracle.graal.python.lib.PyObjectSetAttr;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PConstructAndRaiseNode;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.call.special.CallUnaryMethodNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.IndirectCallData;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Incremental JSON decoding. The text is fed in chunks of {@code str} or UTF-8 encoded
+ * {@code bytes}, and each call returns what could be decoded so far: either the complete top-level
+ * values (a stream may contain any number of whitespace separated documents), or
+ * {@code ijson}-style {@code (event, value)} pairs, which allow processing documents that do not
+ * fit in memory. The scanner passed to the constructor provides the hooks and the key memo.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.JSONStreamScanner)
+public final class JSONStreamScannerBuiltins extends PythonBuiltins {
+
+    private static final TruffleString T_START_MAP = tsLiteral("start_map");
+    private static final TruffleString T_MAP_KEY = tsLiteral("map_key");
+    private static final TruffleString T_END_MAP = tsLiteral("end_map");
+    private static final TruffleString T_START_ARRAY = tsLiteral("start_array");
+    private static final TruffleString T_END_ARRAY = tsLiteral("end_array");
+    private static final TruffleString T_NULL = tsLiteral("null");
+    private static final TruffleString T_BOOLEAN = tsLiteral("boolean");
+    private static final TruffleString T_NUMBER = tsLiteral("number");
+    private static final TruffleString T_STRING = tsLiteral("string");
+    private static final TruffleString T_POS = tsLiteral("pos");
+    private static final TruffleString T_LINENO = tsLiteral("lineno");
+    private static final TruffleString T_COLNO = tsLiteral("colno");
+    private static final TruffleString T_MSG = tsLiteral("msg");
+    private static final TruffleString T_ARGS = tsLiteral("args");
+
+    // returned by the scanning helpers when the token continues in the next chunk
+    private static final int INCOMPLETE = -1;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return JSONStreamScannerBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "feed", minNumOfPositionalArgs = 2, parameterNames = {"$self", "chunk"}, doc = "feed(chunk) -> list\n\n" +
+                    "Decode the next chunk of str or UTF-8 encoded bytes. Returns the list of values\n" +
+                    "or (event, value) pairs completed by this chunk.")
+    @GenerateNodeFactory
+    abstract static class FeedNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isString(chunk)")
+        static PList feedString(PJSONStreamScanner self, Object chunk,
+                        @Bind("this") Node inliningTarget,
+                        @Cached CastToJavaStringNode castToJavaStringNode,
+                        @Cached PythonObjectFactory factory) {
+            checkChunk(inliningTarget, self, chunk, false);
+            return factory.createList(parse(inliningTarget, self, castToJavaStringNode.execute(chunk), false));
+        }
+
+        @Specialization(guards = "!isString(chunk)", limit = "3")
+        static PList feedBytes(VirtualFrame frame, PJSONStreamScanner self, Object chunk,
+                        @Bind("this") Node inliningTarget,
+                        @Cached("createFor(this)") IndirectCallData indirectCallData,
+                        @CachedLibrary("chunk") PythonBufferAcquireLibrary acquireLib,
+                        @CachedLibrary(limit = "1") PythonBufferAccessLibrary bufferLib,
+                        @Cached PythonObjectFactory factory) {
+            Object buffer = acquireLib.acquireReadonly(chunk, frame, indirectCallData);
+            String text;
+            try {
+                checkChunk(inliningTarget, self, chunk, true);
+                text = decode(inliningTarget, self, chunk, bufferLib.getInternalOrCopiedByteArray(buffer), bufferLib.getBufferLength(buffer), false);
+            } finally {
+                bufferLib.release(buffer, frame, indirectCallData);
+            }
+            return factory.createList(parse(inliningTarget, self, text, false));
+        }
+    }
+
+    @Builtin(name = "close", minNumOfPositionalArgs = 1, doc = "close() -> list\n\n" +
+                    "Signal the end of the input. Returns what the remaining text completes and raises\n" +
+                    "JSONDecodeError if the input ends in the middle of a value.")
+    @GenerateNodeFactory
+    abstract static class CloseNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PList close(PJSONStreamScanner self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PythonObjectFactory factory) {
+            if (self.closed) {
+                throw PRaiseNode.raiseUncached(inliningTarget, PythonBuiltinClassType.ValueError, ErrorMessages.STREAM_SCANNER_IS_CLOSED);
+            }
+            String text = "";
+            if (self.undecoded != null) {
+                text = decode(inliningTarget, self, factory.createBytes(self.undecoded), EMPTY_BYTE_ARRAY, 0, true);
+            }
+            self.closed = true;
+            return factory.createList(parse(inliningTarget, self, text, true));
+        }
+    }
+
+    private static void checkChunk(Node node, PJSONStreamScanner self, Object chunk, boolean binary) {
+        if (self.closed) {
+            throw PRaiseNode.raiseUncached(node, PythonBuiltinClassType.ValueError, ErrorMessages.STREAM_SCANNER_IS_CLOSED);
+        }
+        if (self.binary == null) {
+            self.binary = binary;
+        } else if (self.binary != binary) {
+            throw PRaiseNode.raiseUncached(node, PythonBuiltinClassType.TypeError, ErrorMessages.CANT_CONCAT_P_TO_S, chunk, binary ? "str" : "bytes");
+        }
+    }
+
+    /**
+     * Decodes UTF-8 data, keeping an incomplete multibyte sequence at its end for the next chunk.
+     */
+    @TruffleBoundary
+    private static String decode(Node node, PJSONStreamScanner self, Object chunk, byte[] bytes, int length, boolean atEnd) {
+        int undecodedLength = self.undecoded == null ? 0 : self.undecoded.length;
+        ByteBuffer in;
+        if (undecodedLength == 0) {
+            in = ByteBuffer.wrap(bytes, 0, length);
+        } else {
+            byte[] joined = Arrays.copyOf(self.undecoded, undecodedLength + length);
+            System.arraycopy(bytes, 0, joined, undecodedLength, length);
+            in = ByteBuffer.wrap(joined);
+        }
+        // UTF-8 never decodes to more UTF-16 code units than it has bytes
+        CharBuffer out = CharBuffer.allocate(in.remaining());
+        CharsetDecoder decoder = self.getDecoder();
+        CoderResult result = decoder.decode(in, out, atEnd);
+        if (!result.isError() && atEnd) {
+            result = decoder.flush(out);
+        }
+        if (result.isError()) {
+            int start = Math.max(0, in.position() - undecodedLength);
+            throw PConstructAndRaiseNode.raiseUncachedUnicodeDecodeError("utf-8", chunk, start, start + result.length(), "invalid utf-8 data");
+        }
+        self.undecoded = in.hasRemaining() ? Arrays.copyOfRange(in.array(), in.position(), in.limit()) : null;
+        out.flip();
+        return out.toString();
+    }
+
+    /**
+     * Processes the text left from the previous call followed by {@code chunk} as far as possible
+     * and keeps the rest, which starts with an incomplete token, for the next call.
+     */
+    @TruffleBoundary
+    private static Object[] parse(Node node, PJSONStreamScanner self, String chunk, boolean atEnd) {
+        String text;
+        if (self.pending.length() == 0) {
+            text = chunk;
+        } else {
+            self.pending.append(chunk);
+            if (!atEnd && continuePendingToken(self)) {
+                return EMPTY_OBJECT_ARRAY;
+            }
+            text = self.pending.toString();
+        }
+        int length = text.length();
+        ArrayList<Object> out = new ArrayList<>();
+        IntRef nextIdx = new IntRef();
+        int idx = 0;
+        // where the scan of an incomplete token stopped
+        int scanned = 0;
+        loop: while (true) {
+            idx = skipWhitespace(text, idx, length);
+            if (idx >= length) {
+                break;
+            }
+            char c = text.charAt(idx);
+            byte state = self.state();
+            switch (state) {
+                case ARRAY_NEXT:
+                case OBJECT_NEXT:
+                    if (c == ',') {
+                        self.setState(state == ARRAY_NEXT ? ARRAY_VALUE : OBJECT_KEY);
+                    } else if (c == (state == ARRAY_NEXT ? ']' : '}')) {
+                        endContainer(self, state == ARRAY_NEXT, out);
+                    } else {
+                        throw decodeError(node, self, text, idx, ErrorMessages.EXPECTING_COMMA_DELIMITER);
+                    }
+                    idx++;
+                    break;
+                case OBJECT_COLON:
+                    if (c != ':') {
+                        throw decodeError(node, self, text, idx, ErrorMessages.EXPECTING_COLON_DELIMITER);
+                    }
+                    self.setState(OBJECT_VALUE);
+                    idx++;
+                    break;
+                case OBJECT_FIRST:
+                case OBJECT_KEY:
+                    if (c == '}' && state == OBJECT_FIRST) {
+                        endContainer(self, false, out);
+                        idx++;
+                        break;
+                    }
+                    if (c != '"') {
+                        throw decodeError(node, self, text, idx, ErrorMessages.EXPECTING_PROP_NAME_ECLOSED_IN_DBL_QUOTES);
+                    }
+                    if (!atEnd) {
+                        int end = findStringEnd(text, idx + 1, length);
+                        if (end >= length) {
+                            scanned = end;
+                            break loop;
+                        }
+                    }
+                    TruffleString key = self.scanner.memoizeKey(scanString(node, self, text, idx + 1, nextIdx));
+                    if (self.events) {
+                        out.add(event(T_MAP_KEY, key));
+                    } else {
+                        ((ObjectBuilder) self.containers[self.depth - 1]).key = key;
+                    }
+                    self.setState(OBJECT_COLON);
+                    idx = nextIdx.value;
+                    break;
+                case ARRAY_FIRST:
+                    if (c == ']') {
+                        endContainer(self, true, out);
+                        idx++;
+                        break;
+                    }
+                    // fall through
+                default:
+                    assert state == TOP_LEVEL || state == ARRAY_FIRST || state == ARRAY_VALUE || state == OBJECT_VALUE;
+                    int next = scanValue(node, self, text, idx, length, atEnd, nextIdx, out);
+                    if (next == INCOMPLETE) {
+                        scanned = nextIdx.value;
+                        break loop;
+                    }
+                    idx = next;
+            }
+        }
+        if (atEnd && (idx < length || self.depth > 0)) {
+            throw decodeError(node, self, text, idx, expectedAt(self.state()));
+        }
+        self.consume(text, idx);
+        self.pending.setLength(0);
+        self.pending.append(text, idx, length);
+        self.pendingScanned = idx < length ? scanned - idx : 0;
+        return out.toArray();
+    }
+
+    /**
+     * Scans the chunk appended to the pending text if it starts with an incomplete string or
+     * number, continuing where the previous call stopped. Returns {@code true} if the token is still
+     * not complete, so that a long token fed in many chunks is neither copied nor rescanned from its
+     * start every time.
+     */
+    private static boolean continuePendingToken(PJSONStreamScanner self) {
+        StringBuilder text = self.pending;
+        int length = text.length();
+        int scanned = self.pendingScanned;
+        if (scanned == 0) {
+            return false;
+        }
+        if (text.charAt(0) == '"') {
+            scanned = findStringEnd(text, scanned, length);
+        } else {
+            while (scanned < length && isNumberChar(text.charAt(scanned))) {
+                scanned++;
+            }
+        }
+        if (scanned < length) {
+            return false;
+        }
+        self.pendingScanned = scanned;
+        return true;
+    }
+
+    private static TruffleString scanString(Node node, PJSONStreamScanner self, String text, int start, IntRef nextIdx) {
+        try {
+            return JSONScannerBuiltins.scanStringUnicode(text, start, self.scanner.strict, nextIdx, node);
+        } catch (PException e) {
+            throw toStreamPosition(self, text, e);
+        }
+    }
+
+    private static RuntimeException decodeError(Node node, PJSONStreamScanner self, String text, int idx, TruffleString format) {
+        try {
+            throw JSONScannerBuiltins.decodeError(node, text, idx, format);
+        } catch (PException e) {
+            throw toStreamPosition(self, text, e);
+        }
+    }
+
+    /**
+     * Moves the position of a {@code JSONDecodeError} raised for the pending text to the position
+     * in the whole stream. Its {@code doc} remains the pending text, the stream is not kept.
+     */
+    private static PException toStreamPosition(PJSONStreamScanner self, String text, PException e) {
+        Object exception = e.getUnreifiedException();
+        Object posObj = PyObjectLookupAttr.executeUncached(exception, T_POS);
+        if (posObj == PNone.NO_VALUE || self.consumedChars == 0) {
+            return e;
+        }
+        int pos = PyLongAsIntNode.executeUncached(posObj);
+        int lineStart = text.lastIndexOf('\n', pos - 1);
+        int lineno = self.consumedLines + 1;
+        for (int i = 0; i <= lineStart; i++) {
+            if (text.charAt(i) == '\n') {
+                lineno++;
+            }
+        }
+        int colno = lineStart >= 0 ? pos - lineStart : self.consumedColumn + pos + 1;
+        long streamPos = self.consumedChars + pos;
+        String msg = CastToJavaStringNode.getUncached().execute(PyObjectGetAttr.executeUncached(exception, T_MSG));
+        String errmsg = String.format("%s: line %d column %d (char %d)", msg, lineno, colno, streamPos);
+        PyObjectSetAttr.executeUncached(exception, T_POS, streamPos);
+        PyObjectSetAttr.executeUncached(exception, T_LINENO, lineno);
+        PyObjectSetAttr.executeUncached(exception, T_COLNO, colno);
+        PyObjectSetAttr.executeUncached(exception, T_ARGS, PythonObjectFactory.getUncached().createTuple(new Object[]{toTruffleStringUncached(errmsg)}));
+        return e;
+    }
+
+    private static TruffleString expectedAt(byte state) {
+        switch (state) {
+            case ARRAY_NEXT:
+            case OBJECT_NEXT:
+                return ErrorMessages.EXPECTING_COMMA_DELIMITER;
+            case OBJECT_COLON:
+                return ErrorMessages.EXPECTING_COLON_DELIMITER;
+            case OBJECT_FIRST:
+            case OBJECT_KEY:
+                return ErrorMessages.EXPECTING_PROP_NAME_ECLOSED_IN_DBL_QUOTES;
+            default:
+                return ErrorMessages.EXPECTING_VALUE;
+        }
+    }
+
+    /**
+     * Scans the value starting at {@code idx}. Returns the index after the scalar value or the
+     * opening bracket, or {@link #INCOMPLETE} with the position where the scan stopped in
+     * {@code nextIdx}.
+     */
+    private static int scanValue(Node node, PJSONStreamScanner self, String text, int idx, int length, boolean atEnd, IntRef nextIdx, ArrayList<Object> out) {
+        PJSONScanner scanner = self.scanner;
+        switch (text.charAt(idx)) {
+            case '{':
+                beginContainer(self, OBJECT_FIRST, out);
+                return idx + 1;
+            case '[':
+                beginContainer(self, ARRAY_FIRST, out);
+                return idx + 1;
+            case '"':
+                if (!atEnd) {
+                    int end = findStringEnd(text, idx + 1, length);
+                    if (end >= length) {
+                        nextIdx.value = end;
+                        return INCOMPLETE;
+                    }
+                }
+                // raises the appropriate error if the string is not terminated
+                TruffleString string = scanString(node, self, text, idx + 1, nextIdx);
+                valueDone(self, T_STRING, string, out);
+                return nextIdx.value;
+            case 'n':
+                return scanLiteral(node, self, text, idx, length, atEnd, "null", T_NULL, PNone.NONE, nextIdx, out);
+            case 't':
+                return scanLiteral(node, self, text, idx, length, atEnd, "true", T_BOOLEAN, true, nextIdx, out);
+            case 'f':
+                return scanLiteral(node, self, text, idx, length, atEnd, "false", T_BOOLEAN, false, nextIdx, out);
+            case 'N':
+                return scanLiteral(node, self, text, idx, length, atEnd, "NaN", T_NUMBER, null, nextIdx, out);
+            case 'I':
+                return scanLiteral(node, self, text, idx, length, atEnd, "Infinity", T_NUMBER, null, nextIdx, out);
+            case '-':
+                if (idx + 1 == length && !atEnd) {
+                    nextIdx.value = idx;
+                    return INCOMPLETE;
+                }
+                if (idx + 1 < length && text.charAt(idx + 1) == 'I') {
+                    return scanLiteral(node, self, text, idx, length, atEnd, "-Infinity", T_NUMBER, null, nextIdx, out);
+                }
+                break;
+        }
+        int tokenEnd = idx;
+        while (tokenEnd < length && isNumberChar(text.charAt(tokenEnd))) {
+            tokenEnd++;
+        }
+        if (tokenEnd == length && !atEnd) {
+            nextIdx.value = tokenEnd;
+            return INCOMPLETE;
+        }
+        int end = matchNumber(text, idx, tokenEnd);
+        if (end < 0) {
+            throw decodeError(node, self, text, idx, ErrorMessages.EXPECTING_VALUE);
+        }
+        boolean isFloat = false;
+        for (int i = idx; i < end; i++) {
+            char c = text.charAt(i);
+            isFloat |= c == '.' || c == 'e' || c == 'E';
+        }
+        CallUnaryMethodNode callNode = CallUnaryMethodNode.getUncached();
+        valueDone(self, T_NUMBER, JSONScannerBuiltins.numberValue(scanner, text, idx, end, isFloat, callNode, callNode, PythonObjectFactory.getUncached()), out);
+        return end;
+    }
+
+    /**
+     * Matches {@code literal}, a {@code null} value means that it is a constant for
+     * {@code parse_constant}.
+     */
+    private static int scanLiteral(Node node, PJSONStreamScanner self, String text, int idx, int length, boolean atEnd, String literal, TruffleString event, Object value,
+                    IntRef nextIdx, ArrayList<Object> out) {
+        int available = Math.min(literal.length(), length - idx);
+        if (!text.regionMatches(idx, literal, 0, available) || (available < literal.length() && atEnd)) {
+            throw decodeError(node, self, text, idx, ErrorMessages.EXPECTING_VALUE);
+        }
+        if (available < literal.length()) {
+            // literals are short, they are just scanned again
+            nextIdx.value = idx;
+            return INCOMPLETE;
+        }
+        Object result = value;
+        if (result == null) {
+            result = CallUnaryMethodNode.getUncached().executeObject(self.scanner.parseConstant, toTruffleStringUncached(literal));
+        }
+        valueDone(self, event, result, out);
+        return idx + literal.length();
+    }
+
+    /**
+     * Returns the end of the longest valid number starting at {@code start}, following the same
+     * rules as the scanner, or -1 if there is none.
+     */
+    private static int matchNumber(String text, int start, int limit) {
+        int idx = start;
+        if (text.charAt(idx) == '-') {
+            idx++;
+            if (idx >= limit) {
+                return -1;
+            }
+        }
+        if (text.charAt(idx) >= '1' && text.charAt(idx) <= '9') {
+            idx++;
+            while (idx < limit && isDigit(text.charAt(idx))) {
+                idx++;
+            }
+        } else if (text.charAt(idx) == '0') {
+            idx++;
+        } else {
+            return -1;
+        }
+        if (idx < limit - 1 && text.charAt(idx) == '.' && isDigit(text.charAt(idx + 1))) {
+            idx += 2;
+            while (idx < limit && isDigit(text.charAt(idx))) {
+                idx++;
+            }
+        }
+        if (idx < limit - 1 && (text.charAt(idx) == 'e' || text.charAt(idx) == 'E')) {
+            int eStart = idx;
+            idx++;
+            if (idx < limit - 1 && (text.charAt(idx) == '-' || text.charAt(idx) == '+')) {
+                idx++;
+            }
+            while (idx < limit && isDigit(text.charAt(idx))) {
+                idx++;
+            }
+            if (!isDigit(text.charAt(idx - 1))) {
+                idx = eStart;
+            }
+        }
+        return idx;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isNumberChar(char c) {
+        return isDigit(c) || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+    }
+
+    /**
+     * Returns the index of the closing quote of a string, or a position at or past {@code length}
+     * to continue the scan from once more text is available.
+     */
+    private static int findStringEnd(CharSequence text, int start, int length) {
+        int idx = start;
+        while (idx < length) {
+            char c = text.charAt(idx);
+            if (c == '"') {
+                return idx;
+            }
+            idx += c == '\\' ? 2 : 1;
+        }
+        return idx;
+    }
+
+    private static int skipWhitespace(String text, int start, int length) {
+        int idx = start;
+        while (idx < length && JSONModuleBuiltins.isWhitespace(text.charAt(idx))) {
+            idx++;
+        }
+        return idx;
+    }
+
+    private static void beginContainer(PJSONStreamScanner self, byte state, ArrayList<Object> out) {
+        if (self.events) {
+            out.add(event(state == ARRAY_FIRST ? T_START_ARRAY : T_START_MAP, PNone.NONE));
+            self.push(state, null);
+        } else if (state == ARRAY_FIRST) {
+            self.push(state, new ObjectSequenceStorage(4));
+        } else {
+            self.push(state, new ObjectBuilder(self.scanner.objectPairsHook != PNone.NONE));
+        }
+    }
+
+    private static void endContainer(PJSONStreamScanner self, boolean array, ArrayList<Object> out) {
+        Object container = self.pop();
+        if (self.events) {
+            valueDone(self, array ? T_END_ARRAY : T_END_MAP, PNone.NONE, out);
+        } else if (array) {
+            valueDone(self, null, PythonObjectFactory.getUncached().createList((ObjectSequenceStorage) container), out);
+        } else {
+            valueDone(self, null, ((ObjectBuilder) container).build(self.scanner), out);
+        }
+    }
+
+    /**
+     * Reports a scalar value or the end of an array or object, and moves the enclosing array or
+     * object past the value.
+     */
+    private static void valueDone(PJSONStreamScanner self, TruffleString event, Object value, ArrayList<Object> out) {
+        if (self.events) {
+            out.add(event(event, value));
+        } else if (self.depth == 0) {
+            out.add(value);
+        } else {
+            Object container = self.containers[self.depth - 1];
+            if (container instanceof ObjectSequenceStorage list) {
+                list.insertItem(list.length(), value);
+            } else {
+                ((ObjectBuilder) container).put(value);
+            }
+        }
+        self.setState(self.state() == OBJECT_VALUE ? OBJECT_NEXT : ARRAY_NEXT);
+    }
+
+    private static Object event(TruffleString event, Object value) {
+        return PythonObjectFactory.getUncached().createTuple(new Object[]{event, value});
+    }
+
+    private static final class ObjectBuilder {
+        private final EconomicMapStorage map;
+        private final ObjectSequenceStorage pairs;
+        TruffleString key;
+
+        ObjectBuilder(boolean hasPairsHook) {
+            if (hasPairsHook) {
+                map = null;
+                pairs = new ObjectSequenceStorage(4);
+            } else {
+                map = EconomicMapStorage.create();
+                pairs = null;
+            }
+        }
+
+        void put(Object value) {
+            if (pairs != null) {
+                pairs.insertItem(pairs.length(), PythonObjectFactory.getUncached().createTuple(new Object[]{key, value}));
+            } else {
+                HashingStorage newStorage = HashingStorageSetItem.executeUncached(map, key, value);
+                assert newStorage == map;
+            }
+        }
+
+        Object build(PJSONScanner scanner) {
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            if (pairs != null) {
+                return CallUnaryMethodNode.getUncached().executeObject(scanner.objectPairsHook, factory.createList(pairs));
+            }
+            Object dict = factory.createDict(map);
+            if (scanner.objectHook != PNone.NONE) {
+                return CallUnaryMethodNode.getUncached().executeObject(scanner.objectHook, dict);
+            }
+            return dict;
+        }
+    }
+}
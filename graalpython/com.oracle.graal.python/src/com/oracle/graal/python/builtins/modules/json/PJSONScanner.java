@@ -44,12 +44,20 @@ import java.util.HashMap;
 
 import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
 import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.strings.TruffleString;
 
 public final class PJSONScanner extends PythonBuiltinObject {
 
-    final HashMap<TruffleString, TruffleString> memo;
+    /**
+     * The memo deduplicates the keys of decoded objects. It lives as long as the scanner, which
+     * may see an unbounded number of distinct keys when decoding a stream, so it is cleared when
+     * it reaches this size.
+     */
+    static final int MEMO_MAX_SIZE = 4096;
+
+    private final HashMap<TruffleString, TruffleString> memo;
     final boolean strict;
     final Object objectHook;
     final Object objectPairsHook;
@@ -68,4 +76,17 @@ public final class PJSONScanner extends PythonBuiltinObject {
         this.parseInt = parseInt;
         this.parseConstant = parseConstant;
     }
+
+    @TruffleBoundary
+    TruffleString memoizeKey(TruffleString key) {
+        TruffleString existing = memo.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (memo.size() >= MEMO_MAX_SIZE) {
+            memo.clear();
+        }
+        memo.put(key, key);
+        return key;
+    }
 }
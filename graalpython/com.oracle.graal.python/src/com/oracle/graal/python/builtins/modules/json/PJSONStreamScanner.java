@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.json;
+
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * State of an incremental decoder fed with chunks of a JSON text. Only the text of the token that
+ * is not complete yet is kept between calls, together with the stack of open arrays and objects.
+ *
+ * @see JSONStreamScannerBuiltins
+ */
+public final class PJSONStreamScanner extends PythonBuiltinObject {
+
+    // what the innermost open array or object (or the top level) expects next
+    static final byte TOP_LEVEL = 0;
+    static final byte ARRAY_FIRST = 1;
+    static final byte ARRAY_VALUE = 2;
+    static final byte ARRAY_NEXT = 3;
+    static final byte OBJECT_FIRST = 4;
+    static final byte OBJECT_KEY = 5;
+    static final byte OBJECT_COLON = 6;
+    static final byte OBJECT_VALUE = 7;
+    static final byte OBJECT_NEXT = 8;
+
+    final PJSONScanner scanner;
+    final boolean events;
+
+    // unprocessed text, starts with an incomplete token
+    final StringBuilder pending = new StringBuilder();
+    // how much of an incomplete string or number in pending was already scanned, 0 if unknown
+    int pendingScanned;
+    // position of the start of pending in the whole stream, used to report errors
+    long consumedChars;
+    int consumedLines;
+    int consumedColumn;
+    byte[] states = new byte[16];
+    // the partially built arrays and objects, only used when not producing events
+    Object[] containers = new Object[16];
+    int depth;
+
+    // set by the first chunk: chunks must be either all str or all bytes
+    Boolean binary;
+    CharsetDecoder decoder;
+    byte[] undecoded;
+    boolean closed;
+
+    public PJSONStreamScanner(Object cls, Shape instanceShape, PJSONScanner scanner, boolean events) {
+        super(cls, instanceShape);
+        CompilerAsserts.neverPartOfCompilation();
+        this.scanner = scanner;
+        this.events = events;
+    }
+
+    byte state() {
+        return depth == 0 ? TOP_LEVEL : states[depth - 1];
+    }
+
+    void setState(byte state) {
+        if (depth > 0) {
+            states[depth - 1] = state;
+        }
+    }
+
+    void push(byte state, Object container) {
+        if (depth == states.length) {
+            states = Arrays.copyOf(states, depth * 2);
+            containers = Arrays.copyOf(containers, depth * 2);
+        }
+        states[depth] = state;
+        containers[depth] = container;
+        depth++;
+    }
+
+    Object pop() {
+        Object container = containers[--depth];
+        containers[depth] = null;
+        return container;
+    }
+
+    /**
+     * Records that the first {@code end} characters of {@code text}, which starts at the beginning
+     * of the pending text, were processed.
+     */
+    void consume(String text, int end) {
+        int lastNewline = text.lastIndexOf('\n', end - 1);
+        if (lastNewline >= 0) {
+            for (int i = 0; i <= lastNewline; i++) {
+                if (text.charAt(i) == '\n') {
+                    consumedLines++;
+                }
+            }
+            consumedColumn = end - lastNewline - 1;
+        } else {
+            consumedColumn += end;
+        }
+        consumedChars += end;
+    }
+
+    CharsetDecoder getDecoder() {
+        if (decoder == null) {
+            decoder = StandardCharsets.UTF_8.newDecoder();
+        }
+        return decoder;
+    }
+}
@@ -41,7 +41,10 @@
 package com.oracle.graal.python.builtins.modules.multiprocessing;
 
 import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OSError;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLIN;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.Semaphore;
@@ -64,6 +67,7 @@ import com.oracle.graal.python.builtins.objects.ints.PInt;
 import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.thread.PThread;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
 import com.oracle.graal.python.lib.PyObjectGetItem;
 import com.oracle.graal.python.lib.PyObjectSizeNode;
 import com.oracle.graal.python.nodes.ErrorMessages;
@@ -76,6 +80,7 @@ import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.statement.AbstractImportNode;
 import com.oracle.graal.python.nodes.util.CannotCastException;
 import com.oracle.graal.python.nodes.util.CastToJavaDoubleNode;
 import com.oracle.graal.python.nodes.util.CastToJavaIntExactNode;
@@ -110,6 +115,9 @@ public final class MultiprocessingGraalPyModuleBuiltins extends PythonBuiltins {
 
     private static final TruffleLogger LOGGER = PythonLanguage.getLogger(MultiprocessingGraalPyModuleBuiltins.class);
 
+    private static final TruffleString T_PICKLE = tsLiteral("pickle");
+    private static final TruffleString T_DUMPS = tsLiteral("dumps");
+
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
         return MultiprocessingGraalPyModuleBuiltinsFactory.getFactories();
@@ -330,18 +338,27 @@ public final class MultiprocessingGraalPyModuleBuiltins extends PythonBuiltins {
                         @Shared @Cached GilNode gil,
                         @Shared @Cached PythonObjectFactory factory) {
             SharedMultiprocessingData sharedData = getContext().getSharedMultiprocessingData();
+            Object data;
             gil.release(true);
             try {
-                Object data = sharedData.takePipeData(this, fd, () -> {
+                data = sharedData.takePipeData(this, fd, () -> {
                     throw PRaiseNode.raiseUncached(this, OSError, ErrorMessages.BAD_FILE_DESCRIPTOR);
                 });
-                if (data == PNone.NONE) {
-                    return factory.createBytes(PythonUtils.EMPTY_BYTE_ARRAY, 0, 0);
-                }
-                return factory.createBytes((byte[]) data);
             } finally {
                 gil.acquire();
             }
+            if (data == PNone.NONE) {
+                return factory.createBytes(PythonUtils.EMPTY_BYTE_ARRAY, 0, 0);
+            } else if (data instanceof byte[] bytes) {
+                return factory.createBytes(bytes);
+            }
+            // the writer handed over an object with _write_shared, but this reader wants bytes
+            return pickle(SharedImmutableValues.materialize(factory, data));
+        }
+
+        @TruffleBoundary
+        private static Object pickle(Object value) {
+            return PyObjectCallMethodObjArgs.executeUncached(AbstractImportNode.importModule(T_PICKLE), T_DUMPS, value);
         }
 
         @Specialization
@@ -352,6 +369,72 @@ public final class MultiprocessingGraalPyModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "_write_shared", minNumOfPositionalArgs = 2, parameterNames = {"fd", "obj"})
+    @GenerateNodeFactory
+    public abstract static class WriteSharedNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        boolean doWrite(int fd, Object obj,
+                        @Shared @Cached GilNode gil) {
+            Object shared = SharedImmutableValues.export(obj);
+            if (shared == null) {
+                return false;
+            }
+            SharedMultiprocessingData sharedData = getContext().getSharedMultiprocessingData();
+            gil.release(true);
+            try {
+                sharedData.addPipeData(fd, shared,
+                                () -> {
+                                    throw PRaiseNode.raiseUncached(this, OSError, ErrorMessages.BAD_FILE_DESCRIPTOR);
+                                },
+                                () -> {
+                                    throw PConstructAndRaiseNode.getUncached().raiseOSError(null, OSErrorEnum.EPIPE.getNumber(), OSErrorEnum.EPIPE.getMessage(), null);
+                                });
+                return true;
+            } finally {
+                gil.acquire();
+            }
+        }
+
+        @Specialization
+        boolean doWrite(long fd, Object obj,
+                        @Shared @Cached GilNode gil) {
+            return doWrite((int) fd, obj, gil);
+        }
+    }
+
+    @Builtin(name = "_read_shared", minNumOfPositionalArgs = 1, parameterNames = {"fd"})
+    @GenerateNodeFactory
+    public abstract static class ReadSharedNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTuple doRead(int fd,
+                        @Shared @Cached GilNode gil,
+                        @Shared @Cached PythonObjectFactory factory) {
+            SharedMultiprocessingData sharedData = getContext().getSharedMultiprocessingData();
+            Object data;
+            gil.release(true);
+            try {
+                data = sharedData.takePipeData(this, fd, () -> {
+                    throw PRaiseNode.raiseUncached(this, OSError, ErrorMessages.BAD_FILE_DESCRIPTOR);
+                });
+            } finally {
+                gil.acquire();
+            }
+            if (data == PNone.NONE) {
+                return factory.createTuple(new Object[]{false, factory.createBytes(PythonUtils.EMPTY_BYTE_ARRAY, 0, 0)});
+            } else if (data instanceof byte[] bytes) {
+                return factory.createTuple(new Object[]{false, factory.createBytes(bytes)});
+            }
+            return factory.createTuple(new Object[]{true, SharedImmutableValues.materialize(factory, data)});
+        }
+
+        @Specialization
+        PTuple doRead(long fd,
+                        @Shared @Cached GilNode gil,
+                        @Shared @Cached PythonObjectFactory factory) {
+            return doRead((int) fd, gil, factory);
+        }
+    }
+
     @Builtin(name = "_close", minNumOfPositionalArgs = 1, parameterNames = {"fd"})
     @GenerateNodeFactory
     public abstract static class CloseNode extends PythonUnaryBuiltinNode {
@@ -475,9 +558,20 @@ public final class MultiprocessingGraalPyModuleBuiltins extends PythonBuiltins {
             while (true) {
                 boolean selected = false;
                 if (posixFds.length > 0) {
-                    PosixSupportLibrary.SelectResult selectResult = posixLib.select(posix, posixFds,
-                                    PythonUtils.EMPTY_INT_ARRAY, PythonUtils.EMPTY_INT_ARRAY, Timeval.SELECT_TIMEOUT_NOW);
-                    System.arraycopy(selectResult.getReadFds(), 0, selectedPosixFds, 0, selectedPosixFds.length);
+                    if (POLLIN.defined) {
+                        // poll is not limited by FD_SETSIZE and does not need fd_set bitmaps
+                        int[] events = new int[posixFds.length];
+                        Arrays.fill(events, POLLIN.getValueIfDefined());
+                        int[] revents = new int[posixFds.length];
+                        posixLib.poll(posix, posixFds, events, revents, 0);
+                        for (int i = 0; i < revents.length; i++) {
+                            selectedPosixFds[i] = revents[i] != 0;
+                        }
+                    } else {
+                        PosixSupportLibrary.SelectResult selectResult = posixLib.select(posix, posixFds,
+                                        PythonUtils.EMPTY_INT_ARRAY, PythonUtils.EMPTY_INT_ARRAY, Timeval.SELECT_TIMEOUT_NOW);
+                        System.arraycopy(selectResult.getReadFds(), 0, selectedPosixFds, 0, selectedPosixFds.length);
+                    }
                     if (blocking) {
                         for (boolean b : selectedPosixFds) {
                             selected |= b;
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.multiprocessing;
+
+import java.math.BigInteger;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.array.PArray;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageGetIterator;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIterator;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorKey;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorNext;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageLen;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageSetItem;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.set.PFrozenSet;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinObjectExactProfile;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.util.BufferFormat;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Transfer of deeply immutable values between the contexts of in-process multiprocessing children
+ * without pickling. {@link #export} turns a Python object into a representation that does not
+ * reference anything owned by the sending context, {@link #materialize} rebuilds the Python object
+ * in the receiving context.
+ * <p>
+ * Java primitives, {@link PNone#NONE} and {@link TruffleString}s are context-independent and are
+ * passed on as they are. The storage of {@code bytes} objects is never mutated, so the backing
+ * array is shared by reference. Arrays are mutable and are snapshotted with a single copy of their
+ * storage. Tuples and frozensets are transferred if all their items are.
+ */
+final class SharedImmutableValues {
+
+    /**
+     * Bounds the recursion into nested tuples and frozensets; deeper values are pickled.
+     */
+    private static final int MAX_DEPTH = 32;
+
+    record SharedBytes(byte[] bytes, int length) {
+    }
+
+    record SharedTuple(Object[] items) {
+    }
+
+    record SharedFrozenSet(Object[] items) {
+    }
+
+    record SharedArray(TruffleString formatString, BufferFormat format, byte[] bytes) {
+    }
+
+    private SharedImmutableValues() {
+    }
+
+    /**
+     * @return the context-independent representation of {@code value}, or {@code null} if it is
+     *         not deeply immutable and needs to be pickled
+     */
+    @TruffleBoundary
+    static Object export(Object value) {
+        return export(value, 0);
+    }
+
+    private static Object export(Object value, int depth) {
+        if (value instanceof Boolean || value instanceof Integer || value instanceof Long || value instanceof Double || value instanceof TruffleString || value == PNone.NONE) {
+            return value;
+        }
+        if (depth >= MAX_DEPTH) {
+            return null;
+        }
+        if (value instanceof PInt pInt && IsBuiltinObjectExactProfile.profileObjectUncached(pInt, PythonBuiltinClassType.PInt)) {
+            return pInt.getValue();
+        } else if (value instanceof PFloat pFloat && IsBuiltinObjectExactProfile.profileObjectUncached(pFloat, PythonBuiltinClassType.PFloat)) {
+            return pFloat.getValue();
+        } else if (value instanceof PString pString && IsBuiltinObjectExactProfile.profileObjectUncached(pString, PythonBuiltinClassType.PString)) {
+            return pString.getValueUncached();
+        } else if (value instanceof PBytes bytes && IsBuiltinObjectExactProfile.profileObjectUncached(bytes, PythonBuiltinClassType.PBytes)) {
+            SequenceStorage storage = bytes.getSequenceStorage();
+            if (storage instanceof ByteSequenceStorage byteStorage) {
+                return new SharedBytes(byteStorage.getInternalByteArray(), byteStorage.length());
+            }
+            byte[] copy = PythonBufferAccessLibrary.getUncached().getCopiedByteArray(bytes);
+            return new SharedBytes(copy, copy.length);
+        } else if (value instanceof PTuple tuple && IsBuiltinObjectExactProfile.profileObjectUncached(tuple, PythonBuiltinClassType.PTuple)) {
+            SequenceStorage storage = tuple.getSequenceStorage();
+            Object[] items = new Object[storage.length()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = export(storage.getItemNormalized(i), depth + 1);
+                if (items[i] == null) {
+                    return null;
+                }
+            }
+            return new SharedTuple(items);
+        } else if (value instanceof PFrozenSet set && IsBuiltinObjectExactProfile.profileObjectUncached(set, PythonBuiltinClassType.PFrozenSet)) {
+            HashingStorage storage = set.getDictStorage();
+            Object[] items = new Object[HashingStorageLen.executeUncached(storage)];
+            HashingStorageIterator it = HashingStorageGetIterator.executeUncached(storage);
+            int i = 0;
+            while (HashingStorageIteratorNext.executeUncached(storage, it)) {
+                Object item = export(HashingStorageIteratorKey.executeUncached(storage, it), depth + 1);
+                if (item == null) {
+                    return null;
+                }
+                items[i++] = item;
+            }
+            assert i == items.length;
+            return new SharedFrozenSet(items);
+        } else if (value instanceof PArray array && IsBuiltinObjectExactProfile.profileObjectUncached(array, PythonBuiltinClassType.PArray)) {
+            if (array.getFormat() == BufferFormat.UNICODE) {
+                return null;
+            }
+            byte[] copy = PythonBufferAccessLibrary.getUncached().getCopiedByteArray(array);
+            return new SharedArray(array.getFormatString(), array.getFormat(), copy);
+        }
+        return null;
+    }
+
+    /**
+     * Creates the Python object for a value produced by {@link #export} in the current context.
+     */
+    @TruffleBoundary
+    static Object materialize(PythonObjectFactory factory, Object shared) {
+        if (shared instanceof BigInteger bigInteger) {
+            return factory.createInt(bigInteger);
+        } else if (shared instanceof SharedBytes bytes) {
+            return factory.createBytes(bytes.bytes(), bytes.length());
+        } else if (shared instanceof SharedTuple tuple) {
+            Object[] items = new Object[tuple.items().length];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = materialize(factory, tuple.items()[i]);
+            }
+            return factory.createTuple(items);
+        } else if (shared instanceof SharedFrozenSet set) {
+            HashingStorage storage = EconomicMapStorage.create(set.items().length);
+            for (Object item : set.items()) {
+                storage = HashingStorageSetItem.executeUncached(storage, materialize(factory, item), PNone.NONE);
+            }
+            return factory.createFrozenSet(storage);
+        } else if (shared instanceof SharedArray array) {
+            PArray result = factory.createArray(PythonBuiltinClassType.PArray, array.formatString(), array.format());
+            result.setSequenceStorage(new ByteSequenceStorage(array.bytes()));
+            return result;
+        }
+        assert shared instanceof Boolean || shared instanceof Integer || shared instanceof Long || shared instanceof Double || shared instanceof TruffleString || shared == PNone.NONE;
+        return shared;
+    }
+}
@@ -180,6 +180,26 @@ public abstract class PythonBufferAccessLibrary extends Library {
         throw CompilerDirectives.shouldNotReachHere("getInternalByteArray");
     }
 
+    /**
+     * Return whether the contents of the object are stored in native memory that can be directly
+     * accessed. When they are, the address can be obtained using {@link #getNativePointer(Object)}.
+     */
+    public boolean hasNativePointer(@SuppressWarnings("unused") Object receiver) {
+        return false;
+    }
+
+    /**
+     * Get the address of the first byte of the buffer in native memory. Must call
+     * {@link #hasNativePointer(Object)} before calling this method. The address stays valid only
+     * as long as the buffer is acquired. If the object is not readonly ({@link #isReadonly(Object)}
+     * returns {@code false}), the memory can be directly written and the changes will affect the
+     * object.
+     */
+    @Abstract(ifExported = "hasNativePointer")
+    public long getNativePointer(@SuppressWarnings("unused") Object receiver) {
+        throw CompilerDirectives.shouldNotReachHere("getNativePointer");
+    }
+
     /**
      * Read bytes from this buffer into a given byte array. Bounds checks are responsibility of the
      * caller.
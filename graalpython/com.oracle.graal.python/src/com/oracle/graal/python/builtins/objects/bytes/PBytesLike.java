@@ -116,6 +116,18 @@ public abstract class PBytesLike extends PSequence {
         return bufferLib.getInternalByteArray(store);
     }
 
+    @ExportMessage
+    boolean hasNativePointer(
+                    @Shared("bufferLib") @CachedLibrary(limit = "2") PythonBufferAccessLibrary bufferLib) {
+        return bufferLib.hasNativePointer(store);
+    }
+
+    @ExportMessage
+    long getNativePointer(
+                    @Shared("bufferLib") @CachedLibrary(limit = "2") PythonBufferAccessLibrary bufferLib) {
+        return bufferLib.getNativePointer(store);
+    }
+
     @ExportMessage
     byte readByte(int byteOffset,
                     @Shared("bufferLib") @CachedLibrary(limit = "2") PythonBufferAccessLibrary bufferLib) {
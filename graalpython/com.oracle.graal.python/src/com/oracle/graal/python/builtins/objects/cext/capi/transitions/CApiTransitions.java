@@ -44,7 +44,6 @@ import static com.oracle.graal.python.builtins.objects.cext.capi.PythonNativeWra
 
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.WeakHashMap;
@@ -88,6 +87,7 @@ import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.sequence.storage.NativeSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage.ListStorageType;
+import com.oracle.graal.python.util.LongObjectHashMap;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
@@ -132,10 +132,10 @@ public abstract class CApiTransitions {
         private static final int DEFAULT_CAPACITY = 10;
 
         public final NativeObjectReferenceArrayWrapper referencesToBeFreed = new NativeObjectReferenceArrayWrapper();
-        public final HashMap<Long, IdReference<?>> nativeLookup = new HashMap<>();
+        public final LongObjectHashMap<IdReference<?>> nativeLookup = new LongObjectHashMap<>();
         public final ConcurrentHashMap<Long, Long> nativeWeakRef = new ConcurrentHashMap<>();
         public final WeakHashMap<Object, WeakReference<Object>> managedNativeLookup = new WeakHashMap<>();
-        public final HashMap<Long, PythonObjectReference> nativeStubLookup = new HashMap<>();
+        public final LongObjectHashMap<PythonObjectReference> nativeStubLookup = new LongObjectHashMap<>();
         public final Set<NativeStorageReference> nativeStorageReferences = new HashSet<>();
 
         public final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<>();
@@ -379,7 +379,7 @@ public abstract class CApiTransitions {
         context.nativeWeakRef.clear();
         long[] ptrArray = new long[list.length];
         for (Object ptr : list) {
-            if (context.nativeLookup.containsKey(ptr)) {
+            if (context.nativeLookup.containsKey((Long) ptr)) {
                 ptrArray[++idx] = (Long) ptr;
             }
         }
@@ -65,6 +65,7 @@ import com.oracle.graal.python.nodes.PRootNode;
 import com.oracle.graal.python.nodes.bytecode.PBytecodeGeneratorFunctionRootNode;
 import com.oracle.graal.python.nodes.bytecode.PBytecodeGeneratorRootNode;
 import com.oracle.graal.python.nodes.bytecode.PBytecodeRootNode;
+import com.oracle.graal.python.nodes.bytecode.instrumentation.LineCoverage;
 import com.oracle.graal.python.nodes.object.IsForeignObjectNode;
 import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.graal.python.runtime.PythonContext;
@@ -434,6 +435,18 @@ public final class PCode extends PythonBuiltinObject {
         return -1;
     }
 
+    /**
+     * @return the lines of this code object executed since the line coverage was started
+     */
+    @TruffleBoundary
+    public int[] getExecutedLines(LineCoverage lineCoverage) {
+        CodeUnit code = getCodeUnit(getRootNode());
+        if (code == null) {
+            return PythonUtils.EMPTY_INT_ARRAY;
+        }
+        return lineCoverage.getExecutedLines(code);
+    }
+
     @TruffleBoundary
     public TruffleString getName() {
         if (name == null) {
@@ -0,0 +1,609 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.datetime;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___FORMAT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RSUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___STR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___SUB__;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.TimeModuleBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.AsDateNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.AsTimeDeltaNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.NewDateNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.NewDateSubclassNode;
+import com.oracle.graal.python.builtins.objects.tuple.StructSequence;
+import com.oracle.graal.python.lib.PyLongAsIntNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.lib.PyObjectStrAsObjectNode;
+import com.oracle.graal.python.lib.PyUnicodeCheckNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.ComparisonOp;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PDate)
+public final class DateBuiltins extends PythonBuiltins {
+
+    public static final StructSequence.BuiltinTypeDescriptor ISO_CALENDAR_DATE_DESC = new StructSequence.BuiltinTypeDescriptor(
+                    PythonBuiltinClassType.PIsoCalendarDate,
+                    "The result of date.isocalendar() or datetime.isocalendar()\n\n" +
+                                    "This object may be accessed either as a tuple of\n" +
+                                    "  ((year, week, weekday)\n" +
+                                    "or via the object attributes as named in the above tuple.",
+                    3,
+                    new String[]{"year", "week", "weekday"},
+                    null);
+
+    private static final TruffleString T_FROMTIMESTAMP = tsLiteral("fromtimestamp");
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DateBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        PythonObjectFactory factory = core.factory();
+        addBuiltinConstant("min", factory.createDate(PythonBuiltinClassType.PDate, DateTimeUtils.MINYEAR, 1, 1));
+        addBuiltinConstant("max", factory.createDate(PythonBuiltinClassType.PDate, DateTimeUtils.MAXYEAR, 12, 31));
+        addBuiltinConstant("resolution", factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, 1, 0, 0));
+    }
+
+    @Builtin(name = "year", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class YearNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asDateNode) {
+            return asDateNode.execute(inliningTarget, self).getYear();
+        }
+    }
+
+    @Builtin(name = "month", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MonthNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asDateNode) {
+            return asDateNode.execute(inliningTarget, self).getMonth();
+        }
+    }
+
+    @Builtin(name = "day", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class DayNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asDateNode) {
+            return asDateNode.execute(inliningTarget, self).getDay();
+        }
+    }
+
+    @Builtin(name = "toordinal", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ToOrdinalNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int toordinal(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asDateNode) {
+            return asDateNode.execute(inliningTarget, self).toOrdinal();
+        }
+    }
+
+    @Builtin(name = "weekday", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class WeekdayNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int weekday(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asDateNode) {
+            PDate date = asDateNode.execute(inliningTarget, self);
+            return DateTimeUtils.weekday(date.getYear(), date.getMonth(), date.getDay());
+        }
+    }
+
+    @Builtin(name = "isoweekday", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsoWeekdayNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int isoweekday(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asDateNode) {
+            PDate date = asDateNode.execute(inliningTarget, self);
+            return DateTimeUtils.weekday(date.getYear(), date.getMonth(), date.getDay()) + 1;
+        }
+    }
+
+    @Builtin(name = "isocalendar", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsoCalendarNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object isocalendar(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asDateNode,
+                        @Cached PythonObjectFactory factory) {
+            PDate date = asDateNode.execute(inliningTarget, self);
+            int[] isoCalendar = DateTimeUtils.isoCalendar(date.getYear(), date.getMonth(), date.getDay());
+            return factory.createStructSeq(ISO_CALENDAR_DATE_DESC, isoCalendar[0], isoCalendar[1], isoCalendar[2]);
+        }
+    }
+
+    @Builtin(name = "timetuple", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class TimeTupleNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object timetuple(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asDateNode,
+                        @Cached PythonObjectFactory factory) {
+            PDate date = asDateNode.execute(inliningTarget, self);
+            return createTimeTuple(factory, date.getYear(), date.getMonth(), date.getDay(), 0, 0, 0, -1);
+        }
+    }
+
+    static Object createTimeTuple(PythonObjectFactory factory, int year, int month, int day, int hour, int minute, int second, int dstFlag) {
+        return factory.createStructSeq(TimeModuleBuiltins.STRUCT_TIME_DESC, year, month, day, hour, minute, second, DateTimeUtils.weekday(year, month, day),
+                        DateTimeUtils.dayOfYear(year, month, day), dstFlag);
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString repr(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asDateNode) {
+            return doRepr(self, asDateNode.execute(inliningTarget, self));
+        }
+
+        @TruffleBoundary
+        private static TruffleString doRepr(Object self, PDate date) {
+            return toTruffleStringUncached(String.format("%s(%d, %d, %d)", DateTimeNodes.typeName(self), date.getYear(), date.getMonth(), date.getDay()));
+        }
+    }
+
+    @Builtin(name = "isoformat", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsoFormatNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString isoformat(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asDateNode) {
+            return format(asDateNode.execute(inliningTarget, self));
+        }
+
+        @TruffleBoundary
+        private static TruffleString format(PDate date) {
+            StringBuilder sb = new StringBuilder(10);
+            DateTimeUtils.appendIsoDate(sb, date.getYear(), date.getMonth(), date.getDay());
+            return toTruffleStringUncached(sb.toString());
+        }
+    }
+
+    @Builtin(name = J___STR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class StrNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object str(VirtualFrame frame, Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectCallMethodObjArgs callMethod) {
+            return callMethod.execute(frame, inliningTarget, self, DateTimeNodes.T_ISOFORMAT);
+        }
+    }
+
+    @Builtin(name = "ctime", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CTimeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString ctime(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asDateNode) {
+            PDate date = asDateNode.execute(inliningTarget, self);
+            return toTruffleStringUncached(DateTimeUtils.ctime(date.getYear(), date.getMonth(), date.getDay(), 0, 0, 0));
+        }
+    }
+
+    @Builtin(name = "strftime", minNumOfPositionalArgs = 2, parameterNames = {"$self", "format"})
+    @GenerateNodeFactory
+    abstract static class StrFTimeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static TruffleString strftime(Object self, Object format,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asDateNode) {
+            PDate date = asDateNode.execute(inliningTarget, self);
+            String fmt = DateTimeNodes.castToJavaString(inliningTarget, format, "strftime");
+            return toTruffleStringUncached(DateTimeNodes.strftime(inliningTarget, fmt, date.getYear(), date.getMonth(), date.getDay(), 0, 0, 0, 0, PNone.NONE, PNone.NONE));
+        }
+    }
+
+    /**
+     * {@code __format__} of date and datetime: {@code str(self)} for an empty format,
+     * {@code self.strftime(format)} otherwise.
+     */
+    @Builtin(name = J___FORMAT__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "format_spec"})
+    @GenerateNodeFactory
+    abstract static class FormatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object format(VirtualFrame frame, Object self, Object format,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectStrAsObjectNode strNode,
+                        @Cached PyObjectCallMethodObjArgs callMethod) {
+            if (DateTimeNodes.castToJavaString(inliningTarget, format, J___FORMAT__).isEmpty()) {
+                return strNode.execute(frame, inliningTarget, self);
+            }
+            return callMethod.execute(frame, inliningTarget, self, DateTimeNodes.T_STRFTIME, format);
+        }
+    }
+
+    @Builtin(name = J___HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long hash(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asDateNode) {
+            PDate date = asDateNode.execute(inliningTarget, self);
+            return DateTimeUtils.hashFields(date.getYear(), date.getMonth(), date.getDay(), -1);
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object reduce(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asDateNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached PythonObjectFactory factory) {
+            PDate date = asDateNode.execute(inliningTarget, self);
+            byte[] state = {(byte) (date.getYear() >> 8), (byte) date.getYear(), (byte) date.getMonth(), (byte) date.getDay()};
+            Object args = factory.createTuple(new Object[]{factory.createBytes(state)});
+            return factory.createTuple(new Object[]{getClassNode.execute(inliningTarget, self), args});
+        }
+    }
+
+    @Builtin(name = "replace", minNumOfPositionalArgs = 1, parameterNames = {"$self", "year", "month", "day"})
+    @GenerateNodeFactory
+    abstract static class ReplaceNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        static Object replace(VirtualFrame frame, Object self, Object yearObj, Object monthObj, Object dayObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asDateNode,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached NewDateNode newDateNode) {
+            PDate date = asDateNode.execute(inliningTarget, self);
+            int year = yearObj == PNone.NO_VALUE ? date.getYear() : asIntNode.execute(frame, inliningTarget, yearObj);
+            int month = monthObj == PNone.NO_VALUE ? date.getMonth() : asIntNode.execute(frame, inliningTarget, monthObj);
+            int day = dayObj == PNone.NO_VALUE ? date.getDay() : asIntNode.execute(frame, inliningTarget, dayObj);
+            DateTimeNodes.checkDateFields(inliningTarget, year, month, day);
+            return newDateNode.execute(inliningTarget, getClassNode.execute(inliningTarget, self), year, month, day);
+        }
+    }
+
+    abstract static class DateCompareNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object compare(Object self, Object other,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asSelfNode,
+                        @Cached AsDateNode asOtherNode) {
+            PDate otherDate = asOtherNode.execute(inliningTarget, other);
+            if (otherDate == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            return getOp().cmpResultToBool(asSelfNode.execute(inliningTarget, self).compareDateTo(otherDate));
+        }
+
+        protected abstract ComparisonOp getOp();
+    }
+
+    @Builtin(name = J___EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends DateCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.EQ;
+        }
+    }
+
+    @Builtin(name = J___NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends DateCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.NE;
+        }
+    }
+
+    @Builtin(name = J___LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends DateCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.LT;
+        }
+    }
+
+    @Builtin(name = J___LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends DateCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.LE;
+        }
+    }
+
+    @Builtin(name = J___GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends DateCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.GT;
+        }
+    }
+
+    @Builtin(name = J___GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends DateCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.GE;
+        }
+    }
+
+    /**
+     * Creates a date of the given class from the given ordinal, raising {@code OverflowError} if
+     * it is out of range.
+     */
+    static Object fromOrdinal(Node inliningTarget, NewDateSubclassNode newDateNode, Object cls, long ordinal) {
+        if (ordinal < 1 || ordinal > DateTimeUtils.MAX_ORDINAL) {
+            throw DateTimeNodes.raiseDateOverflow(inliningTarget);
+        }
+        int[] ymd = DateTimeUtils.ordToYmd((int) ordinal);
+        return newDateNode.execute(inliningTarget, cls, ymd[0], ymd[1], ymd[2]);
+    }
+
+    @Builtin(name = J___ADD__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RADD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class AddNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object add(Object left, Object right,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asDateNode,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached NewDateSubclassNode newDateNode) {
+            Object dateObj = left;
+            PDate date = asDateNode.execute(inliningTarget, left);
+            PTimeDelta delta = asTimeDeltaNode.execute(inliningTarget, right);
+            if (date == null) {
+                dateObj = right;
+                date = asDateNode.execute(inliningTarget, right);
+                delta = asTimeDeltaNode.execute(inliningTarget, left);
+            }
+            if (date == null || date instanceof PDateTime || delta == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            return fromOrdinal(inliningTarget, newDateNode, getClassNode.execute(inliningTarget, dateObj), (long) date.toOrdinal() + delta.getDays());
+        }
+    }
+
+    @Builtin(name = J___SUB__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RSUB__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class SubNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object sub(Object left, Object right,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asLeftNode,
+                        @Cached AsDateNode asRightNode,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached NewDateSubclassNode newDateNode,
+                        @Cached PythonObjectFactory factory) {
+            PDate date = asLeftNode.execute(inliningTarget, left);
+            if (date == null || date instanceof PDateTime) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            PDate otherDate = asRightNode.execute(inliningTarget, right);
+            if (otherDate != null) {
+                if (otherDate instanceof PDateTime) {
+                    return PNotImplemented.NOT_IMPLEMENTED;
+                }
+                return factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, date.toOrdinal() - otherDate.toOrdinal(), 0, 0);
+            }
+            PTimeDelta delta = asTimeDeltaNode.execute(inliningTarget, right);
+            if (delta == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            return fromOrdinal(inliningTarget, newDateNode, getClassNode.execute(inliningTarget, left), (long) date.toOrdinal() - delta.getDays());
+        }
+    }
+
+    @Builtin(name = "today", minNumOfPositionalArgs = 1, isClassmethod = true)
+    @GenerateNodeFactory
+    abstract static class TodayNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object today(VirtualFrame frame, Object cls,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectCallMethodObjArgs callMethod) {
+            return callMethod.execute(frame, inliningTarget, cls, T_FROMTIMESTAMP, TimeModuleBuiltins.timeSeconds());
+        }
+    }
+
+    @Builtin(name = "fromtimestamp", minNumOfPositionalArgs = 2, isClassmethod = true, parameterNames = {"$cls", "timestamp"})
+    @GenerateNodeFactory
+    abstract static class FromTimestampNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object fromtimestamp(Object cls, Object timestamp,
+                        @Bind("this") Node inliningTarget,
+                        @Cached NewDateSubclassNode newDateNode) {
+            long seconds = DateTimeNodes.timestampToSecondsAndMicros(inliningTarget, timestamp, true)[0];
+            int[] fields = DateTimeNodes.timestampToFields(inliningTarget, DateTimeNodes.getLocalZoneRules(inliningTarget), seconds);
+            return newDateNode.execute(inliningTarget, cls, fields[0], fields[1], fields[2]);
+        }
+    }
+
+    @Builtin(name = "fromordinal", minNumOfPositionalArgs = 2, isClassmethod = true, parameterNames = {"$cls", "ordinal"})
+    @GenerateNodeFactory
+    abstract static class FromOrdinalNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object fromordinal(VirtualFrame frame, Object cls, Object ordinalObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached NewDateSubclassNode newDateNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int ordinal = asIntNode.execute(frame, inliningTarget, ordinalObj);
+            if (ordinal < 1) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.ORDINAL_MUST_BE_GE_1);
+            }
+            if (ordinal > DateTimeUtils.MAX_ORDINAL) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.YEAR_D_IS_OUT_OF_RANGE, DateTimeUtils.MAXYEAR + 1);
+            }
+            int[] ymd = DateTimeUtils.ordToYmd(ordinal);
+            return newDateNode.execute(inliningTarget, cls, ymd[0], ymd[1], ymd[2]);
+        }
+    }
+
+    @Builtin(name = "fromisoformat", minNumOfPositionalArgs = 2, isClassmethod = true, parameterNames = {"$cls", "date_string"})
+    @GenerateNodeFactory
+    abstract static class FromIsoFormatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object fromisoformat(Object cls, Object dateString,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached NewDateSubclassNode newDateNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (!unicodeCheckNode.execute(inliningTarget, dateString)) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.FROMISOFORMAT_ARGUMENT_MUST_BE_STR);
+            }
+            String string = DateTimeNodes.castToJavaString(inliningTarget, dateString, "fromisoformat");
+            int[] ymd = string.length() == 10 ? DateTimeUtils.parseIsoDate(string) : null;
+            if (ymd == null) {
+                throw raiseInvalidIsoFormat(inliningTarget, dateString);
+            }
+            DateTimeNodes.checkDateFields(inliningTarget, ymd[0], ymd[1], ymd[2]);
+            return newDateNode.execute(inliningTarget, cls, ymd[0], ymd[1], ymd[2]);
+        }
+    }
+
+    @TruffleBoundary
+    static PException raiseInvalidIsoFormat(Node inliningTarget, Object string) {
+        throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.INVALID_ISOFORMAT_STRING_S, PyObjectReprAsTruffleStringNode.executeUncached(string));
+    }
+
+    @Builtin(name = "fromisocalendar", minNumOfPositionalArgs = 4, isClassmethod = true, parameterNames = {"$cls", "year", "week", "day"})
+    @GenerateNodeFactory
+    abstract static class FromIsoCalendarNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        static Object fromisocalendar(VirtualFrame frame, Object cls, Object yearObj, Object weekObj, Object dayObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached NewDateSubclassNode newDateNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int year = asIntNode.execute(frame, inliningTarget, yearObj);
+            int week = asIntNode.execute(frame, inliningTarget, weekObj);
+            int day = asIntNode.execute(frame, inliningTarget, dayObj);
+            if (year < DateTimeUtils.MINYEAR || year > DateTimeUtils.MAXYEAR) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.YEAR_IS_OUT_OF_RANGE_D, year);
+            }
+            if (week <= 0 || week >= 53 && !(week == 53 && DateTimeUtils.hasIsoWeek53(year))) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.INVALID_WEEK_D, week);
+            }
+            if (day <= 0 || day >= 8) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.INVALID_WEEKDAY_D, day);
+            }
+            int ordinal = DateTimeUtils.isoCalendarToOrd(year, week, day);
+            if (ordinal < 1 || ordinal > DateTimeUtils.MAX_ORDINAL) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.YEAR_D_IS_OUT_OF_RANGE, ordinal < 1 ? DateTimeUtils.MINYEAR - 1 : DateTimeUtils.MAXYEAR + 1);
+            }
+            int[] ymd = DateTimeUtils.ordToYmd(ordinal);
+            return newDateNode.execute(inliningTarget, cls, ymd[0], ymd[1], ymd[2]);
+        }
+    }
+}
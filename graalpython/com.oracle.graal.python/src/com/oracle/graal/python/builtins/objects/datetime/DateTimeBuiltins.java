@@ -0,0 +1,955 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.datetime;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE_EX__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RSUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___STR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___SUB__;
+import static com.oracle.graal.python.nodes.StringLiterals.T_SPACE;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.List;
+import java.util.TimeZone;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.TimeModuleBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.AsDateNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.AsDateTimeNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.AsTimeDeltaNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.AsTimeNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.CheckTzInfoNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.NewDateTimeNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.NewDateTimeSubclassNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodesFactory.NewDateTimeNodeGen;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodesFactory.NewDateTimeSubclassNodeGen;
+import com.oracle.graal.python.lib.PyImportImport;
+import com.oracle.graal.python.lib.PyLongAsIntNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyUnicodeCheckNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.ComparisonOp;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PDateTime)
+public final class DateTimeBuiltins extends PythonBuiltins {
+
+    private static final TruffleString T__STRPTIME = tsLiteral("_strptime");
+    private static final TruffleString T__STRPTIME_DATETIME = tsLiteral("_strptime_datetime");
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DateTimeBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        PythonObjectFactory factory = core.factory();
+        addBuiltinConstant("min", factory.createDateTime(PythonBuiltinClassType.PDateTime, DateTimeUtils.MINYEAR, 1, 1, 0, 0, 0, 0, PNone.NONE, 0));
+        addBuiltinConstant("max", factory.createDateTime(PythonBuiltinClassType.PDateTime, DateTimeUtils.MAXYEAR, 12, 31, 23, 59, 59, 999999, PNone.NONE, 0));
+        addBuiltinConstant("resolution", factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, 0, 0, 1));
+    }
+
+    @Builtin(name = "hour", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class HourNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode) {
+            return asDateTimeNode.execute(inliningTarget, self).getHour();
+        }
+    }
+
+    @Builtin(name = "minute", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MinuteNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode) {
+            return asDateTimeNode.execute(inliningTarget, self).getMinute();
+        }
+    }
+
+    @Builtin(name = "second", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class SecondNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode) {
+            return asDateTimeNode.execute(inliningTarget, self).getSecond();
+        }
+    }
+
+    @Builtin(name = "microsecond", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MicrosecondNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode) {
+            return asDateTimeNode.execute(inliningTarget, self).getMicrosecond();
+        }
+    }
+
+    @Builtin(name = "tzinfo", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class TzInfoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode) {
+            return asDateTimeNode.execute(inliningTarget, self).getTzInfo();
+        }
+    }
+
+    @Builtin(name = "fold", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class FoldNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode) {
+            return asDateTimeNode.execute(inliningTarget, self).getFold();
+        }
+    }
+
+    @Builtin(name = "utcoffset", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class UtcOffsetNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object utcoffset(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode) {
+            return DateTimeNodes.utcOffset(inliningTarget, asDateTimeNode.execute(inliningTarget, self).getTzInfo(), self);
+        }
+    }
+
+    @Builtin(name = "dst", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class DstNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object dst(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode) {
+            return DateTimeNodes.dst(inliningTarget, asDateTimeNode.execute(inliningTarget, self).getTzInfo(), self);
+        }
+    }
+
+    @Builtin(name = "tzname", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class TzNameNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object tzname(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode) {
+            return DateTimeNodes.tzName(inliningTarget, asDateTimeNode.execute(inliningTarget, self).getTzInfo(), self);
+        }
+    }
+
+    @Builtin(name = "date", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class DateNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object date(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode,
+                        @Cached PythonObjectFactory factory) {
+            PDateTime dt = asDateTimeNode.execute(inliningTarget, self);
+            return factory.createDate(PythonBuiltinClassType.PDate, dt.getYear(), dt.getMonth(), dt.getDay());
+        }
+    }
+
+    @Builtin(name = "time", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class TimeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object time(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode,
+                        @Cached PythonObjectFactory factory) {
+            PDateTime dt = asDateTimeNode.execute(inliningTarget, self);
+            return factory.createTime(PythonBuiltinClassType.PTime, dt.getHour(), dt.getMinute(), dt.getSecond(), dt.getMicrosecond(), PNone.NONE, dt.getFold());
+        }
+    }
+
+    @Builtin(name = "timetz", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class TimeTzNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object timetz(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode,
+                        @Cached PythonObjectFactory factory) {
+            PDateTime dt = asDateTimeNode.execute(inliningTarget, self);
+            return factory.createTime(PythonBuiltinClassType.PTime, dt.getHour(), dt.getMinute(), dt.getSecond(), dt.getMicrosecond(), dt.getTzInfo(), dt.getFold());
+        }
+    }
+
+    @Builtin(name = "timetuple", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class TimeTupleNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object timetuple(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode,
+                        @Cached PythonObjectFactory factory) {
+            PDateTime dt = asDateTimeNode.execute(inliningTarget, self);
+            int dstFlag = -1;
+            Object dst = DateTimeNodes.dst(inliningTarget, dt.getTzInfo(), self);
+            if (dst != PNone.NONE) {
+                dstFlag = ((PTimeDelta) dst).isZero() ? 0 : 1;
+            }
+            return DateBuiltins.createTimeTuple(factory, dt.getYear(), dt.getMonth(), dt.getDay(), dt.getHour(), dt.getMinute(), dt.getSecond(), dstFlag);
+        }
+    }
+
+    @Builtin(name = "utctimetuple", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class UtcTimeTupleNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object utctimetuple(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode,
+                        @Cached PythonObjectFactory factory) {
+            PDateTime dt = asDateTimeNode.execute(inliningTarget, self);
+            Object offset = DateTimeNodes.utcOffset(inliningTarget, dt.getTzInfo(), self);
+            if (offset == PNone.NONE) {
+                return DateBuiltins.createTimeTuple(factory, dt.getYear(), dt.getMonth(), dt.getDay(), dt.getHour(), dt.getMinute(), dt.getSecond(), 0);
+            }
+            PTimeDelta delta = (PTimeDelta) offset;
+            int[] f = DateTimeUtils.addToDateTime(dt.getYear(), dt.getMonth(), dt.getDay(), dt.getHour(), dt.getMinute(), dt.getSecond(), dt.getMicrosecond(),
+                            -(long) delta.getDays(), -(long) delta.getSeconds(), -(long) delta.getMicroseconds());
+            if (f == null) {
+                throw DateTimeNodes.raiseDateOverflow(inliningTarget);
+            }
+            return DateBuiltins.createTimeTuple(factory, f[0], f[1], f[2], f[3], f[4], f[5], 0);
+        }
+    }
+
+    @Builtin(name = "timestamp", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class TimestampNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static double timestamp(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode) {
+            return doTimestamp(inliningTarget, self, asDateTimeNode.execute(inliningTarget, self));
+        }
+
+        @TruffleBoundary
+        private static double doTimestamp(Node inliningTarget, Object self, PDateTime dt) {
+            if (dt.hasTzInfo()) {
+                Object offset = DateTimeNodes.utcOffset(inliningTarget, dt.getTzInfo(), self);
+                if (offset == PNone.NONE) {
+                    throw PRaiseNode.raiseUncached(inliningTarget, TypeError, ErrorMessages.CANT_SUBTRACT_NAIVE_AND_AWARE_DATETIMES);
+                }
+                long micros = toUtcMicroseconds(dt, offset) - DateTimeUtils.EPOCH_SECONDS * DateTimeUtils.US_PER_SECOND;
+                return DateTimeUtils.trueDivide(BigInteger.valueOf(micros), BigInteger.valueOf(DateTimeUtils.US_PER_SECOND));
+            }
+            long seconds = DateTimeUtils.localToSeconds(DateTimeNodes.getLocalZoneRules(inliningTarget), dt.getYear(), dt.getMonth(), dt.getDay(), dt.getHour(), dt.getMinute(),
+                            dt.getSecond(), dt.getFold());
+            return (seconds - DateTimeUtils.EPOCH_SECONDS) + dt.getMicrosecond() / 1e6;
+        }
+    }
+
+    /**
+     * Microseconds since 0001-01-01 UTC of an aware datetime with the given {@code utcoffset()}.
+     */
+    private static long toUtcMicroseconds(PDateTime dt, Object offset) {
+        return dt.toSeconds() * DateTimeUtils.US_PER_SECOND + dt.getMicrosecond() - offsetMicroseconds(offset);
+    }
+
+    private static long offsetMicroseconds(Object offset) {
+        if (offset instanceof PTimeDelta delta) {
+            return delta.getDays() * DateTimeUtils.US_PER_DAY + delta.getSeconds() * DateTimeUtils.US_PER_SECOND + delta.getMicroseconds();
+        }
+        return 0;
+    }
+
+    @Builtin(name = "ctime", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CTimeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString ctime(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode) {
+            PDateTime dt = asDateTimeNode.execute(inliningTarget, self);
+            return toTruffleStringUncached(DateTimeUtils.ctime(dt.getYear(), dt.getMonth(), dt.getDay(), dt.getHour(), dt.getMinute(), dt.getSecond()));
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString repr(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode) {
+            return doRepr(self, asDateTimeNode.execute(inliningTarget, self));
+        }
+
+        @TruffleBoundary
+        private static TruffleString doRepr(Object self, PDateTime dt) {
+            StringBuilder sb = new StringBuilder(DateTimeNodes.typeName(self)).append('(');
+            sb.append(dt.getYear()).append(", ").append(dt.getMonth()).append(", ").append(dt.getDay());
+            sb.append(", ").append(dt.getHour()).append(", ").append(dt.getMinute());
+            if (dt.getSecond() != 0 || dt.getMicrosecond() != 0) {
+                sb.append(", ").append(dt.getSecond());
+            }
+            if (dt.getMicrosecond() != 0) {
+                sb.append(", ").append(dt.getMicrosecond());
+            }
+            TimeBuiltins.appendTzInfoAndFold(sb, dt.getTzInfo(), dt.getFold());
+            return toTruffleStringUncached(sb.append(')').toString());
+        }
+    }
+
+    @Builtin(name = "isoformat", minNumOfPositionalArgs = 1, parameterNames = {"$self", "sep", "timespec"})
+    @GenerateNodeFactory
+    abstract static class IsoFormatNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static TruffleString isoformat(Object self, Object sep, Object timespec,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode) {
+            PDateTime dt = asDateTimeNode.execute(inliningTarget, self);
+            String separator = parseSeparator(inliningTarget, sep);
+            int spec = TimeBuiltins.parseTimespec(inliningTarget, timespec);
+            return format(inliningTarget, self, dt, separator, spec);
+        }
+
+        @TruffleBoundary
+        private static String parseSeparator(Node inliningTarget, Object sep) {
+            if (sep == PNone.NO_VALUE) {
+                return "T";
+            }
+            try {
+                String s = CastToTruffleStringNode.executeUncached(sep).toJavaStringUncached();
+                if (s.codePointCount(0, s.length()) == 1) {
+                    return s;
+                }
+            } catch (CannotCastException e) {
+                // fall through
+            }
+            throw PRaiseNode.raiseUncached(inliningTarget, TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "isoformat()", 1, "a unicode character", sep);
+        }
+
+        @TruffleBoundary
+        private static TruffleString format(Node inliningTarget, Object self, PDateTime dt, String sep, int timespec) {
+            StringBuilder sb = new StringBuilder(48);
+            DateTimeUtils.appendIsoDate(sb, dt.getYear(), dt.getMonth(), dt.getDay());
+            sb.append(sep);
+            DateTimeUtils.appendIsoTime(sb, dt.getHour(), dt.getMinute(), dt.getSecond(), dt.getMicrosecond(), timespec);
+            sb.append(DateTimeNodes.formatUtcOffset(inliningTarget, dt.getTzInfo(), self, ":"));
+            return toTruffleStringUncached(sb.toString());
+        }
+    }
+
+    @Builtin(name = J___STR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class StrNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object str(VirtualFrame frame, Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectCallMethodObjArgs callMethod) {
+            return callMethod.execute(frame, inliningTarget, self, DateTimeNodes.T_ISOFORMAT, T_SPACE);
+        }
+    }
+
+    @Builtin(name = "strftime", minNumOfPositionalArgs = 2, parameterNames = {"$self", "format"})
+    @GenerateNodeFactory
+    abstract static class StrFTimeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static TruffleString strftime(Object self, Object format,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode) {
+            PDateTime dt = asDateTimeNode.execute(inliningTarget, self);
+            String fmt = DateTimeNodes.castToJavaString(inliningTarget, format, "strftime");
+            return toTruffleStringUncached(DateTimeNodes.strftime(inliningTarget, fmt, dt.getYear(), dt.getMonth(), dt.getDay(), dt.getHour(), dt.getMinute(), dt.getSecond(),
+                            dt.getMicrosecond(), dt.getTzInfo(), self));
+        }
+    }
+
+    @Builtin(name = J___HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long hash(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached NewDateTimeNode newDateTimeNode) {
+            PDateTime dt = asDateTimeNode.execute(inliningTarget, self);
+            Object dtArg = self;
+            if (dt.getFold() != 0 && dt.hasTzInfo() && !(dt.getTzInfo() instanceof PTimeZone)) {
+                // the hash must not depend on the fold, so use the offset of the first occurrence
+                dtArg = newDateTimeNode.execute(inliningTarget, getClassNode.execute(inliningTarget, self), dt.getYear(), dt.getMonth(), dt.getDay(), dt.getHour(), dt.getMinute(),
+                                dt.getSecond(), dt.getMicrosecond(), dt.getTzInfo(), 0);
+            }
+            Object offset = DateTimeNodes.utcOffset(inliningTarget, dt.getTzInfo(), dtArg);
+            long[] utc = DateTimeUtils.microsecondsToDelta(toUtcMicroseconds(dt, offset));
+            return DateTimeUtils.hashFields(utc[0], utc[1], utc[2], 0);
+        }
+    }
+
+    abstract static class DateTimeCompareNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object compare(Object self, Object other,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asSelfNode,
+                        @Cached AsDateTimeNode asOtherNode,
+                        @Cached AsDateNode asDateNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            PDateTime otherDateTime = asOtherNode.execute(inliningTarget, other);
+            if (otherDateTime == null) {
+                if (asDateNode.execute(inliningTarget, other) == null) {
+                    return PNotImplemented.NOT_IMPLEMENTED;
+                } else if (getOp().isEqualityOp()) {
+                    return getOp() == ComparisonOp.NE;
+                }
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.CANT_COMPARE_P_TO_P, self, other);
+            }
+            PDateTime dt = asSelfNode.execute(inliningTarget, self);
+            if (dt.getTzInfo() == otherDateTime.getTzInfo()) {
+                return getOp().cmpResultToBool(dt.compareFieldsTo(otherDateTime));
+            }
+            return compareWithOffsets(inliningTarget, self, dt, other, otherDateTime, getOp());
+        }
+
+        protected abstract ComparisonOp getOp();
+
+        @TruffleBoundary
+        private static boolean compareWithOffsets(Node inliningTarget, Object self, PDateTime dt, Object other, PDateTime otherDateTime, ComparisonOp op) {
+            Object offset1 = DateTimeNodes.utcOffset(inliningTarget, dt.getTzInfo(), self);
+            Object offset2 = DateTimeNodes.utcOffset(inliningTarget, otherDateTime.getTzInfo(), other);
+            int result;
+            if (offsetsEqual(offset1, offset2)) {
+                result = dt.compareFieldsTo(otherDateTime);
+            } else if (offset1 != PNone.NONE && offset2 != PNone.NONE) {
+                result = Long.compare(toUtcMicroseconds(dt, offset1), toUtcMicroseconds(otherDateTime, offset2));
+            } else if (op.isEqualityOp()) {
+                return op == ComparisonOp.NE;
+            } else {
+                throw PRaiseNode.raiseUncached(inliningTarget, TypeError, ErrorMessages.CANT_COMPARE_NAIVE_AND_AWARE_S, "datetimes");
+            }
+            if (result == 0 && op.isEqualityOp() && (isFoldDependent(inliningTarget, self, dt, offset1) || isFoldDependent(inliningTarget, other, otherDateTime, offset2))) {
+                // PEP 495: times in a fold or gap are never equal to times in another timezone
+                result = 1;
+            }
+            return op.cmpResultToBool(result);
+        }
+
+        private static boolean isFoldDependent(Node inliningTarget, Object obj, PDateTime dt, Object offset) {
+            if (!dt.hasTzInfo() || dt.getTzInfo() instanceof PTimeZone) {
+                return false;
+            }
+            Object flipped = NewDateTimeNodeGen.getUncached().execute(null, GetClassNode.executeUncached(obj), dt.getYear(), dt.getMonth(), dt.getDay(), dt.getHour(), dt.getMinute(),
+                            dt.getSecond(), dt.getMicrosecond(), dt.getTzInfo(), 1 - dt.getFold());
+            return !offsetsEqual(DateTimeNodes.utcOffset(inliningTarget, dt.getTzInfo(), flipped), offset);
+        }
+
+        private static boolean offsetsEqual(Object offset1, Object offset2) {
+            return offset1 == offset2 || (offset1 instanceof PTimeDelta delta1 && offset2 instanceof PTimeDelta delta2 && delta1.compareTo(delta2) == 0);
+        }
+    }
+
+    @Builtin(name = J___EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends DateTimeCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.EQ;
+        }
+    }
+
+    @Builtin(name = J___NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends DateTimeCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.NE;
+        }
+    }
+
+    @Builtin(name = J___LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends DateTimeCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.LT;
+        }
+    }
+
+    @Builtin(name = J___LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends DateTimeCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.LE;
+        }
+    }
+
+    @Builtin(name = J___GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends DateTimeCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.GT;
+        }
+    }
+
+    @Builtin(name = J___GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends DateTimeCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.GE;
+        }
+    }
+
+    @Builtin(name = J___ADD__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RADD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class AddNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object add(Object left, Object right,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode,
+                        @Cached GetClassNode getClassNode) {
+            Object dtObj = left;
+            PDateTime dt = asDateTimeNode.execute(inliningTarget, left);
+            PTimeDelta delta = asTimeDeltaNode.execute(inliningTarget, right);
+            if (dt == null) {
+                dtObj = right;
+                dt = asDateTimeNode.execute(inliningTarget, right);
+                delta = asTimeDeltaNode.execute(inliningTarget, left);
+            }
+            if (dt == null || delta == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            return DateTimeNodes.addToDateTime(inliningTarget, dt, getClassNode.execute(inliningTarget, dtObj), delta.getDays(), delta.getSeconds(), delta.getMicroseconds());
+        }
+    }
+
+    @Builtin(name = J___SUB__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RSUB__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class SubNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object sub(Object left, Object right,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asLeftNode,
+                        @Cached AsDateTimeNode asRightNode,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached PythonObjectFactory factory) {
+            PDateTime dt = asLeftNode.execute(inliningTarget, left);
+            if (dt == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            PDateTime otherDateTime = asRightNode.execute(inliningTarget, right);
+            if (otherDateTime != null) {
+                return subtract(inliningTarget, factory, left, dt, right, otherDateTime);
+            }
+            PTimeDelta delta = asTimeDeltaNode.execute(inliningTarget, right);
+            if (delta == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            return DateTimeNodes.addToDateTime(inliningTarget, dt, getClassNode.execute(inliningTarget, left), -(long) delta.getDays(), -(long) delta.getSeconds(),
+                            -(long) delta.getMicroseconds());
+        }
+
+        @TruffleBoundary
+        private static Object subtract(Node inliningTarget, PythonObjectFactory factory, Object left, PDateTime dt, Object right, PDateTime otherDateTime) {
+            long offsetDifference = 0;
+            if (dt.getTzInfo() != otherDateTime.getTzInfo()) {
+                Object offset1 = DateTimeNodes.utcOffset(inliningTarget, dt.getTzInfo(), left);
+                Object offset2 = DateTimeNodes.utcOffset(inliningTarget, otherDateTime.getTzInfo(), right);
+                if ((offset1 == PNone.NONE) != (offset2 == PNone.NONE)) {
+                    throw PRaiseNode.raiseUncached(inliningTarget, TypeError, ErrorMessages.CANT_SUBTRACT_NAIVE_AND_AWARE_DATETIMES);
+                }
+                offsetDifference = offsetMicroseconds(offset1) - offsetMicroseconds(offset2);
+            }
+            long days = (long) dt.toOrdinal() - otherDateTime.toOrdinal();
+            long seconds = secondsOfDay(dt) - secondsOfDay(otherDateTime);
+            long microseconds = (long) dt.getMicrosecond() - otherDateTime.getMicrosecond() - offsetDifference;
+            return DateTimeNodes.createTimeDelta(inliningTarget, factory, days, seconds, microseconds);
+        }
+
+        private static long secondsOfDay(PDateTime dt) {
+            return dt.getHour() * 3600L + dt.getMinute() * 60L + dt.getSecond();
+        }
+    }
+
+    @Builtin(name = "replace", minNumOfPositionalArgs = 1, parameterNames = {"$self", "year", "month", "day", "hour", "minute", "second", "microsecond", "tzinfo"}, keywordOnlyNames = {
+                    "fold"})
+    @GenerateNodeFactory
+    abstract static class ReplaceNode extends PythonBuiltinNode {
+        @Specialization
+        static Object replace(VirtualFrame frame, Object self, Object yearObj, Object monthObj, Object dayObj, Object hourObj, Object minuteObj, Object secondObj, Object microsecondObj,
+                        Object tzInfoObj, Object foldObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached CheckTzInfoNode checkTzInfoNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached NewDateTimeNode newDateTimeNode) {
+            PDateTime dt = asDateTimeNode.execute(inliningTarget, self);
+            int year = yearObj == PNone.NO_VALUE ? dt.getYear() : asIntNode.execute(frame, inliningTarget, yearObj);
+            int month = monthObj == PNone.NO_VALUE ? dt.getMonth() : asIntNode.execute(frame, inliningTarget, monthObj);
+            int day = dayObj == PNone.NO_VALUE ? dt.getDay() : asIntNode.execute(frame, inliningTarget, dayObj);
+            int hour = hourObj == PNone.NO_VALUE ? dt.getHour() : asIntNode.execute(frame, inliningTarget, hourObj);
+            int minute = minuteObj == PNone.NO_VALUE ? dt.getMinute() : asIntNode.execute(frame, inliningTarget, minuteObj);
+            int second = secondObj == PNone.NO_VALUE ? dt.getSecond() : asIntNode.execute(frame, inliningTarget, secondObj);
+            int microsecond = microsecondObj == PNone.NO_VALUE ? dt.getMicrosecond() : asIntNode.execute(frame, inliningTarget, microsecondObj);
+            Object tzInfo = tzInfoObj == PNone.NO_VALUE ? dt.getTzInfo() : tzInfoObj;
+            int fold = foldObj == PNone.NO_VALUE ? dt.getFold() : asIntNode.execute(frame, inliningTarget, foldObj);
+            DateTimeNodes.checkDateFields(inliningTarget, year, month, day);
+            DateTimeNodes.checkTimeFields(inliningTarget, hour, minute, second, microsecond, fold);
+            checkTzInfoNode.execute(inliningTarget, tzInfo);
+            return newDateTimeNode.execute(inliningTarget, getClassNode.execute(inliningTarget, self), year, month, day, hour, minute, second, microsecond, tzInfo, fold);
+        }
+    }
+
+    @Builtin(name = "astimezone", minNumOfPositionalArgs = 1, parameterNames = {"$self", "tz"})
+    @GenerateNodeFactory
+    abstract static class AsTimeZoneNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object astimezone(Object self, Object tzObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode,
+                        @Cached CheckTzInfoNode checkTzInfoNode,
+                        @Cached PythonObjectFactory factory) {
+            Object tzInfo = tzObj == PNone.NO_VALUE ? PNone.NONE : tzObj;
+            checkTzInfoNode.execute(inliningTarget, tzInfo);
+            return convert(inliningTarget, factory, self, asDateTimeNode.execute(inliningTarget, self), tzInfo);
+        }
+
+        @TruffleBoundary
+        private static Object convert(Node inliningTarget, PythonObjectFactory factory, Object self, PDateTime dt, Object tzInfo) {
+            Object offset = PNone.NONE;
+            if (dt.hasTzInfo()) {
+                if (dt.getTzInfo() == tzInfo) {
+                    return self;
+                }
+                offset = DateTimeNodes.utcOffset(inliningTarget, dt.getTzInfo(), self);
+            }
+            if (offset == PNone.NONE) {
+                // naive datetimes are interpreted in local time
+                long seconds = DateTimeUtils.localToSeconds(DateTimeNodes.getLocalZoneRules(inliningTarget), dt.getYear(), dt.getMonth(), dt.getDay(), dt.getHour(), dt.getMinute(),
+                                dt.getSecond(), dt.getFold());
+                offset = ((PTimeZone) localTimeZone(inliningTarget, factory, seconds - DateTimeUtils.EPOCH_SECONDS)).getOffset();
+            }
+            PTimeDelta delta = (PTimeDelta) offset;
+            int[] f = DateTimeUtils.addToDateTime(dt.getYear(), dt.getMonth(), dt.getDay(), dt.getHour(), dt.getMinute(), dt.getSecond(), dt.getMicrosecond(),
+                            -(long) delta.getDays(), -(long) delta.getSeconds(), -(long) delta.getMicroseconds());
+            if (f == null) {
+                throw DateTimeNodes.raiseDateOverflow(inliningTarget);
+            }
+            Object targetTzInfo = tzInfo;
+            if (targetTzInfo == PNone.NONE) {
+                targetTzInfo = localTimeZone(inliningTarget, factory, DateTimeUtils.utcToSeconds(f[0], f[1], f[2], f[3], f[4], f[5]) - DateTimeUtils.EPOCH_SECONDS);
+            }
+            Object utc = NewDateTimeSubclassNodeGen.getUncached().execute(null, GetClassNode.executeUncached(self), f[0], f[1], f[2], f[3], f[4], f[5], f[6], targetTzInfo, 0);
+            return PyObjectCallMethodObjArgs.executeUncached(targetTzInfo, DateTimeNodes.T_FROMUTC, utc);
+        }
+
+        /**
+         * The local timezone at the given time as a fixed offset timezone named like
+         * {@code time.tzname}.
+         */
+        private static Object localTimeZone(Node inliningTarget, PythonObjectFactory factory, long epochSeconds) {
+            ZoneId zone = TimeModuleBuiltins.getCurrentZoneId(PythonContext.get(inliningTarget));
+            ZoneRules rules = zone.getRules();
+            Instant instant = Instant.ofEpochSecond(epochSeconds);
+            String name = TimeZone.getTimeZone(zone).getDisplayName(rules.isDaylightSavings(instant), TimeZone.SHORT);
+            PTimeDelta offset = DateTimeNodes.createTimeDelta(inliningTarget, factory, 0, rules.getOffset(instant).getTotalSeconds(), 0);
+            return DateTimeNodes.createTimeZone(inliningTarget, factory, offset, toTruffleStringUncached(name));
+        }
+    }
+
+    @Builtin(name = J___REDUCE_EX__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "protocol"})
+    @GenerateNodeFactory
+    abstract static class ReduceExNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object reduceEx(VirtualFrame frame, Object self, Object protocol,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached AsDateTimeNode asDateTimeNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached PythonObjectFactory factory) {
+            return reduce(factory, getClassNode.execute(inliningTarget, self), asDateTimeNode.execute(inliningTarget, self), asIntNode.execute(frame, inliningTarget, protocol));
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object reduce(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached PythonObjectFactory factory) {
+            return DateTimeBuiltins.reduce(factory, getClassNode.execute(inliningTarget, self), asDateTimeNode.execute(inliningTarget, self), 2);
+        }
+    }
+
+    /**
+     * Creates the pickle state {@code (cls, (bytes[, tzinfo]))}. The fold is only stored for
+     * protocols above 3, in the high bit of the month.
+     */
+    private static Object reduce(PythonObjectFactory factory, Object cls, PDateTime dt, int protocol) {
+        byte[] state = new byte[10];
+        state[0] = (byte) (dt.getYear() >> 8);
+        state[1] = (byte) dt.getYear();
+        state[2] = (byte) (dt.getMonth() | (protocol > 3 && dt.getFold() != 0 ? 0x80 : 0));
+        state[3] = (byte) dt.getDay();
+        state[4] = (byte) dt.getHour();
+        state[5] = (byte) dt.getMinute();
+        state[6] = (byte) dt.getSecond();
+        state[7] = (byte) (dt.getMicrosecond() >> 16);
+        state[8] = (byte) (dt.getMicrosecond() >> 8);
+        state[9] = (byte) dt.getMicrosecond();
+        Object[] args;
+        if (dt.getTzInfo() == PNone.NONE) {
+            args = new Object[]{factory.createBytes(state)};
+        } else {
+            args = new Object[]{factory.createBytes(state), dt.getTzInfo()};
+        }
+        return factory.createTuple(new Object[]{cls, factory.createTuple(args)});
+    }
+
+    /**
+     * Creates a datetime from seconds and microseconds since the epoch, either in local time or in
+     * UTC. If {@code tzInfo} is given, the UTC result is converted with {@code tzinfo.fromutc}.
+     */
+    @TruffleBoundary
+    static Object fromTimestamp(Node inliningTarget, Object cls, long seconds, long microseconds, boolean local, Object tzInfo) {
+        ZoneRules rules = local ? DateTimeNodes.getLocalZoneRules(inliningTarget) : null;
+        int[] f = DateTimeNodes.timestampToFields(inliningTarget, rules, seconds);
+        Object result = NewDateTimeSubclassNodeGen.getUncached().execute(null, cls, f[0], f[1], f[2], f[3], f[4], f[5], (int) microseconds, tzInfo, f[6]);
+        if (tzInfo != PNone.NONE) {
+            result = PyObjectCallMethodObjArgs.executeUncached(tzInfo, DateTimeNodes.T_FROMUTC, result);
+        }
+        return result;
+    }
+
+    @TruffleBoundary
+    private static long[] currentTime() {
+        Instant now = Instant.now();
+        return new long[]{now.getEpochSecond(), now.getNano() / 1000};
+    }
+
+    @Builtin(name = "now", minNumOfPositionalArgs = 1, isClassmethod = true, parameterNames = {"$cls", "tz"})
+    @GenerateNodeFactory
+    abstract static class NowNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object now(Object cls, Object tzObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached CheckTzInfoNode checkTzInfoNode) {
+            Object tzInfo = tzObj == PNone.NO_VALUE ? PNone.NONE : tzObj;
+            checkTzInfoNode.execute(inliningTarget, tzInfo);
+            long[] now = currentTime();
+            return fromTimestamp(inliningTarget, cls, now[0], now[1], tzInfo == PNone.NONE, tzInfo);
+        }
+    }
+
+    @Builtin(name = "utcnow", minNumOfPositionalArgs = 1, isClassmethod = true)
+    @GenerateNodeFactory
+    abstract static class UtcNowNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object utcnow(Object cls,
+                        @Bind("this") Node inliningTarget) {
+            long[] now = currentTime();
+            return fromTimestamp(inliningTarget, cls, now[0], now[1], false, PNone.NONE);
+        }
+    }
+
+    @Builtin(name = "fromtimestamp", minNumOfPositionalArgs = 2, isClassmethod = true, parameterNames = {"$cls", "timestamp", "tz"})
+    @GenerateNodeFactory
+    abstract static class FromTimestampNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static Object fromtimestamp(Object cls, Object timestamp, Object tzObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached CheckTzInfoNode checkTzInfoNode) {
+            Object tzInfo = tzObj == PNone.NO_VALUE ? PNone.NONE : tzObj;
+            checkTzInfoNode.execute(inliningTarget, tzInfo);
+            long[] ts = DateTimeNodes.timestampToSecondsAndMicros(inliningTarget, timestamp, false);
+            return fromTimestamp(inliningTarget, cls, ts[0], ts[1], tzInfo == PNone.NONE, tzInfo);
+        }
+    }
+
+    @Builtin(name = "utcfromtimestamp", minNumOfPositionalArgs = 2, isClassmethod = true, parameterNames = {"$cls", "timestamp"})
+    @GenerateNodeFactory
+    abstract static class UtcFromTimestampNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object utcfromtimestamp(Object cls, Object timestamp,
+                        @Bind("this") Node inliningTarget) {
+            long[] ts = DateTimeNodes.timestampToSecondsAndMicros(inliningTarget, timestamp, false);
+            return fromTimestamp(inliningTarget, cls, ts[0], ts[1], false, PNone.NONE);
+        }
+    }
+
+    @Builtin(name = "combine", minNumOfPositionalArgs = 3, isClassmethod = true, parameterNames = {"$cls", "date", "time", "tzinfo"})
+    @GenerateNodeFactory
+    abstract static class CombineNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        static Object combine(Object cls, Object dateObj, Object timeObj, Object tzInfoObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateNode asDateNode,
+                        @Cached AsTimeNode asTimeNode,
+                        @Cached CheckTzInfoNode checkTzInfoNode,
+                        @Cached NewDateTimeSubclassNode newDateTimeNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            PDate date = asDateNode.execute(inliningTarget, dateObj);
+            if (date == null) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "combine()", 1, "datetime.date", dateObj);
+            }
+            PTime time = asTimeNode.execute(inliningTarget, timeObj);
+            if (time == null) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "combine()", 2, "datetime.time", timeObj);
+            }
+            Object tzInfo = tzInfoObj == PNone.NO_VALUE ? time.getTzInfo() : tzInfoObj;
+            checkTzInfoNode.execute(inliningTarget, tzInfo);
+            return newDateTimeNode.execute(inliningTarget, cls, date.getYear(), date.getMonth(), date.getDay(), time.getHour(), time.getMinute(), time.getSecond(), time.getMicrosecond(),
+                            tzInfo, time.getFold());
+        }
+    }
+
+    @Builtin(name = "fromisoformat", minNumOfPositionalArgs = 2, isClassmethod = true, parameterNames = {"$cls", "date_string"})
+    @GenerateNodeFactory
+    abstract static class FromIsoFormatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object fromisoformat(Object cls, Object dateString,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached NewDateTimeSubclassNode newDateTimeNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (!unicodeCheckNode.execute(inliningTarget, dateString)) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.FROMISOFORMAT_ARGUMENT_MUST_BE_STR);
+            }
+            String string = DateTimeNodes.castToJavaString(inliningTarget, dateString, "fromisoformat");
+            int[] ymd = DateTimeUtils.parseIsoDate(string);
+            int[] time = new int[7];
+            if (ymd != null && string.length() > 10) {
+                // the separator can be any single character
+                time = DateTimeUtils.parseIsoTime(string, 10 + Character.charCount(string.codePointAt(10)));
+            }
+            if (ymd == null || time == null) {
+                throw DateBuiltins.raiseInvalidIsoFormat(inliningTarget, dateString);
+            }
+            DateTimeNodes.checkDateFields(inliningTarget, ymd[0], ymd[1], ymd[2]);
+            DateTimeNodes.checkTimeFields(inliningTarget, time[0], time[1], time[2], time[3], 0);
+            Object tzInfo = time[4] != 0 ? DateTimeNodes.createParsedTimeZone(inliningTarget, factory, time[5], time[6]) : PNone.NONE;
+            return newDateTimeNode.execute(inliningTarget, cls, ymd[0], ymd[1], ymd[2], time[0], time[1], time[2], time[3], tzInfo, 0);
+        }
+    }
+
+    @Builtin(name = "strptime", minNumOfPositionalArgs = 3, isClassmethod = true, parameterNames = {"$cls", "date_string", "format"})
+    @GenerateNodeFactory
+    abstract static class StrPTimeNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static Object strptime(VirtualFrame frame, Object cls, Object string, Object format,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached PyImportImport importNode,
+                        @Cached PyObjectCallMethodObjArgs callMethod,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (!unicodeCheckNode.execute(inliningTarget, string)) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "strptime()", 1, "str", string);
+            }
+            if (!unicodeCheckNode.execute(inliningTarget, format)) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "strptime()", 2, "str", format);
+            }
+            Object module = importNode.execute(frame, inliningTarget, T__STRPTIME);
+            return callMethod.execute(frame, inliningTarget, module, T__STRPTIME_DATETIME, cls, string, format);
+        }
+    }
+}
@@ -0,0 +1,805 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.datetime;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OverflowError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___NEW__;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.math.BigInteger;
+import java.time.zone.ZoneRules;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.modules.TimeModuleBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.cext.PythonAbstractNativeObject;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodesFactory.AsTimeDeltaNodeGen;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodesFactory.NewDateTimeSubclassNodeGen;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes.GetNameNode;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes.NeedsNativeAllocationNode;
+import com.oracle.graal.python.lib.PyFloatAsDoubleNode;
+import com.oracle.graal.python.lib.PyFloatCheckNode;
+import com.oracle.graal.python.lib.PyLongAsIntNode;
+import com.oracle.graal.python.lib.PyNumberIndexNodeGen;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.lib.PyObjectSetAttr;
+import com.oracle.graal.python.lib.PyObjectTypeCheck;
+import com.oracle.graal.python.lib.PyUnicodeCheckNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinClassExactProfile;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateCached;
+import com.oracle.truffle.api.dsl.GenerateInline;
+import com.oracle.truffle.api.dsl.GenerateUncached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Nodes and helpers shared by the builtins of the {@code _datetime} classes.
+ *
+ * The managed objects ({@link PDate}, {@link PTime}, {@link PDateTime}, {@link PTimeDelta}) keep
+ * their fields in primitive Java fields. Instances of native subclasses (e.g. from C extensions)
+ * store them in the C struct instead and expose them through the {@code _year}, {@code _month},
+ * ... slots registered by {@code set_PyDateTime_types}. The {@code As*Node}s read such instances
+ * into a temporary managed object, so that the builtins only have to deal with the managed
+ * representation, and the {@code New*Node}s allocate either representation depending on the
+ * class.
+ */
+public final class DateTimeNodes {
+    static final TruffleString T__YEAR = tsLiteral("_year");
+    static final TruffleString T__MONTH = tsLiteral("_month");
+    static final TruffleString T__DAY = tsLiteral("_day");
+    static final TruffleString T__HOUR = tsLiteral("_hour");
+    static final TruffleString T__MINUTE = tsLiteral("_minute");
+    static final TruffleString T__SECOND = tsLiteral("_second");
+    static final TruffleString T__MICROSECOND = tsLiteral("_microsecond");
+    static final TruffleString T__TZINFO = tsLiteral("_tzinfo");
+    static final TruffleString T__FOLD = tsLiteral("_fold");
+    static final TruffleString T__HASHCODE = tsLiteral("_hashcode");
+    static final TruffleString T__DAYS = tsLiteral("_days");
+    static final TruffleString T__SECONDS = tsLiteral("_seconds");
+    static final TruffleString T__MICROSECONDS = tsLiteral("_microseconds");
+
+    static final TruffleString T_FOLD = tsLiteral("fold");
+    static final TruffleString T_UTCOFFSET = tsLiteral("utcoffset");
+    static final TruffleString T_DST = tsLiteral("dst");
+    static final TruffleString T_TZNAME = tsLiteral("tzname");
+    static final TruffleString T_FROMUTC = tsLiteral("fromutc");
+    static final TruffleString T_ISOFORMAT = tsLiteral("isoformat");
+    static final TruffleString T_STRFTIME = tsLiteral("strftime");
+    static final TruffleString T_UTC = tsLiteral("utc");
+
+    private DateTimeNodes() {
+    }
+
+    /**
+     * Returns the given object as {@link PTimeDelta} or {@code null} if it is not a timedelta.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @GenerateUncached
+    public abstract static class AsTimeDeltaNode extends Node {
+        public abstract PTimeDelta execute(Node inliningTarget, Object obj);
+
+        @Specialization
+        static PTimeDelta doManaged(PTimeDelta delta) {
+            return delta;
+        }
+
+        @Specialization
+        static PTimeDelta doNative(Node inliningTarget, PythonAbstractNativeObject obj,
+                        @Cached PyObjectTypeCheck typeCheck) {
+            if (typeCheck.execute(inliningTarget, obj, PythonBuiltinClassType.PTimeDelta)) {
+                return readNativeTimeDelta(obj);
+            }
+            return null;
+        }
+
+        @Fallback
+        static PTimeDelta doOther(@SuppressWarnings("unused") Object obj) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the given object as {@link PDate} or {@code null} if it is not a date. Note that
+     * datetimes are dates, too.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @GenerateUncached
+    public abstract static class AsDateNode extends Node {
+        public abstract PDate execute(Node inliningTarget, Object obj);
+
+        @Specialization
+        static PDate doManaged(PDate date) {
+            return date;
+        }
+
+        @Specialization
+        static PDate doNative(Node inliningTarget, PythonAbstractNativeObject obj,
+                        @Cached PyObjectTypeCheck typeCheck) {
+            if (typeCheck.execute(inliningTarget, obj, PythonBuiltinClassType.PDateTime)) {
+                return readNativeDateTime(obj);
+            } else if (typeCheck.execute(inliningTarget, obj, PythonBuiltinClassType.PDate)) {
+                return readNativeDate(obj);
+            }
+            return null;
+        }
+
+        @Fallback
+        static PDate doOther(@SuppressWarnings("unused") Object obj) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the given object as {@link PDateTime} or {@code null} if it is not a datetime.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @GenerateUncached
+    public abstract static class AsDateTimeNode extends Node {
+        public abstract PDateTime execute(Node inliningTarget, Object obj);
+
+        @Specialization
+        static PDateTime doManaged(PDateTime dateTime) {
+            return dateTime;
+        }
+
+        @Specialization
+        static PDateTime doNative(Node inliningTarget, PythonAbstractNativeObject obj,
+                        @Cached PyObjectTypeCheck typeCheck) {
+            if (typeCheck.execute(inliningTarget, obj, PythonBuiltinClassType.PDateTime)) {
+                return readNativeDateTime(obj);
+            }
+            return null;
+        }
+
+        @Fallback
+        static PDateTime doOther(@SuppressWarnings("unused") Object obj) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the given object as {@link PTime} or {@code null} if it is not a time.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @GenerateUncached
+    public abstract static class AsTimeNode extends Node {
+        public abstract PTime execute(Node inliningTarget, Object obj);
+
+        @Specialization
+        static PTime doManaged(PTime time) {
+            return time;
+        }
+
+        @Specialization
+        static PTime doNative(Node inliningTarget, PythonAbstractNativeObject obj,
+                        @Cached PyObjectTypeCheck typeCheck) {
+            if (typeCheck.execute(inliningTarget, obj, PythonBuiltinClassType.PTime)) {
+                return readNativeTime(obj);
+            }
+            return null;
+        }
+
+        @Fallback
+        static PTime doOther(@SuppressWarnings("unused") Object obj) {
+            return null;
+        }
+    }
+
+    @TruffleBoundary
+    private static int readIntField(Object obj, TruffleString name) {
+        return PyLongAsIntNode.executeUncached(PyObjectGetAttr.executeUncached(obj, name));
+    }
+
+    @TruffleBoundary
+    private static PTimeDelta readNativeTimeDelta(Object obj) {
+        return PythonObjectFactory.getUncached().createTimeDelta(PythonBuiltinClassType.PTimeDelta, readIntField(obj, T__DAYS), readIntField(obj, T__SECONDS),
+                        readIntField(obj, T__MICROSECONDS));
+    }
+
+    @TruffleBoundary
+    private static PDate readNativeDate(Object obj) {
+        return PythonObjectFactory.getUncached().createDate(PythonBuiltinClassType.PDate, readIntField(obj, T__YEAR), readIntField(obj, T__MONTH), readIntField(obj, T__DAY));
+    }
+
+    @TruffleBoundary
+    private static PDateTime readNativeDateTime(Object obj) {
+        return PythonObjectFactory.getUncached().createDateTime(PythonBuiltinClassType.PDateTime, readIntField(obj, T__YEAR), readIntField(obj, T__MONTH), readIntField(obj, T__DAY),
+                        readIntField(obj, T__HOUR), readIntField(obj, T__MINUTE), readIntField(obj, T__SECOND), readIntField(obj, T__MICROSECOND),
+                        PyObjectGetAttr.executeUncached(obj, T__TZINFO), readIntField(obj, T__FOLD));
+    }
+
+    @TruffleBoundary
+    private static PTime readNativeTime(Object obj) {
+        return PythonObjectFactory.getUncached().createTime(PythonBuiltinClassType.PTime, readIntField(obj, T__HOUR), readIntField(obj, T__MINUTE), readIntField(obj, T__SECOND),
+                        readIntField(obj, T__MICROSECOND), PyObjectGetAttr.executeUncached(obj, T__TZINFO), readIntField(obj, T__FOLD));
+    }
+
+    /**
+     * Allocates an instance of a native subclass with {@code object.__new__} and initializes it
+     * through the native slots.
+     */
+    @TruffleBoundary
+    private static Object createNative(Object cls, Object... namesAndValues) {
+        Object objectNew = PyObjectGetAttr.executeUncached(PythonBuiltinClassType.PythonObject, T___NEW__);
+        Object obj = CallNode.getUncached().execute(objectNew, cls);
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            PyObjectSetAttr.executeUncached(obj, namesAndValues[i], namesAndValues[i + 1]);
+        }
+        PyObjectSetAttr.executeUncached(obj, T__HASHCODE, -1);
+        return obj;
+    }
+
+    /**
+     * Allocates a timedelta of the given class without calling its {@code __new__}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @GenerateUncached
+    public abstract static class NewTimeDeltaNode extends Node {
+        public abstract Object execute(Node inliningTarget, Object cls, int days, int seconds, int microseconds);
+
+        @Specialization
+        static Object doIt(Node inliningTarget, Object cls, int days, int seconds, int microseconds,
+                        @Cached NeedsNativeAllocationNode needsNativeAllocationNode,
+                        @Cached(inline = false) PythonObjectFactory factory) {
+            if (needsNativeAllocationNode.execute(inliningTarget, cls)) {
+                return createNative(cls, T__DAYS, days, T__SECONDS, seconds, T__MICROSECONDS, microseconds);
+            }
+            return factory.createTimeDelta(cls, days, seconds, microseconds);
+        }
+    }
+
+    /**
+     * Allocates a date of the given class without calling its {@code __new__}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @GenerateUncached
+    public abstract static class NewDateNode extends Node {
+        public abstract Object execute(Node inliningTarget, Object cls, int year, int month, int day);
+
+        @Specialization
+        static Object doIt(Node inliningTarget, Object cls, int year, int month, int day,
+                        @Cached NeedsNativeAllocationNode needsNativeAllocationNode,
+                        @Cached(inline = false) PythonObjectFactory factory) {
+            if (needsNativeAllocationNode.execute(inliningTarget, cls)) {
+                return createNative(cls, T__YEAR, year, T__MONTH, month, T__DAY, day);
+            }
+            return factory.createDate(cls, year, month, day);
+        }
+    }
+
+    /**
+     * Allocates a time of the given class without calling its {@code __new__}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @GenerateUncached
+    public abstract static class NewTimeNode extends Node {
+        public abstract Object execute(Node inliningTarget, Object cls, int hour, int minute, int second, int microsecond, Object tzInfo, int fold);
+
+        @Specialization
+        static Object doIt(Node inliningTarget, Object cls, int hour, int minute, int second, int microsecond, Object tzInfo, int fold,
+                        @Cached NeedsNativeAllocationNode needsNativeAllocationNode,
+                        @Cached(inline = false) PythonObjectFactory factory) {
+            if (needsNativeAllocationNode.execute(inliningTarget, cls)) {
+                return createNative(cls, T__HOUR, hour, T__MINUTE, minute, T__SECOND, second, T__MICROSECOND, microsecond, T__TZINFO, tzInfo, T__FOLD, fold);
+            }
+            return factory.createTime(cls, hour, minute, second, microsecond, tzInfo, fold);
+        }
+    }
+
+    /**
+     * Allocates a datetime of the given class without calling its {@code __new__}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @GenerateUncached
+    public abstract static class NewDateTimeNode extends Node {
+        public abstract Object execute(Node inliningTarget, Object cls, int year, int month, int day, int hour, int minute, int second, int microsecond, Object tzInfo, int fold);
+
+        @Specialization
+        static Object doIt(Node inliningTarget, Object cls, int year, int month, int day, int hour, int minute, int second, int microsecond, Object tzInfo, int fold,
+                        @Cached NeedsNativeAllocationNode needsNativeAllocationNode,
+                        @Cached(inline = false) PythonObjectFactory factory) {
+            if (needsNativeAllocationNode.execute(inliningTarget, cls)) {
+                return createNative(cls, T__YEAR, year, T__MONTH, month, T__DAY, day, T__HOUR, hour, T__MINUTE, minute, T__SECOND, second, T__MICROSECOND, microsecond,
+                                T__TZINFO, tzInfo, T__FOLD, fold);
+            }
+            return factory.createDateTime(cls, year, month, day, hour, minute, second, microsecond, tzInfo, fold);
+        }
+    }
+
+    /**
+     * Creates a date of the given class like CPython's {@code new_date_subclass_ex}, i.e., by
+     * calling the class unless it is exactly {@code date}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @GenerateUncached
+    public abstract static class NewDateSubclassNode extends Node {
+        public abstract Object execute(Node inliningTarget, Object cls, int year, int month, int day);
+
+        @Specialization
+        static Object doIt(Node inliningTarget, Object cls, int year, int month, int day,
+                        @Cached IsBuiltinClassExactProfile isDateClass,
+                        @Cached(inline = false) PythonObjectFactory factory) {
+            if (isDateClass.profileClass(inliningTarget, cls, PythonBuiltinClassType.PDate)) {
+                return factory.createDate(cls, year, month, day);
+            }
+            return callClass(cls, new Object[]{year, month, day}, 0);
+        }
+    }
+
+    /**
+     * Creates a time of the given class like CPython's {@code new_time_subclass_fold_ex}, i.e., by
+     * calling the class unless it is exactly {@code time}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @GenerateUncached
+    public abstract static class NewTimeSubclassNode extends Node {
+        public abstract Object execute(Node inliningTarget, Object cls, int hour, int minute, int second, int microsecond, Object tzInfo, int fold);
+
+        @Specialization
+        static Object doIt(Node inliningTarget, Object cls, int hour, int minute, int second, int microsecond, Object tzInfo, int fold,
+                        @Cached IsBuiltinClassExactProfile isTimeClass,
+                        @Cached(inline = false) PythonObjectFactory factory) {
+            if (isTimeClass.profileClass(inliningTarget, cls, PythonBuiltinClassType.PTime)) {
+                return factory.createTime(cls, hour, minute, second, microsecond, tzInfo, fold);
+            }
+            return callClass(cls, new Object[]{hour, minute, second, microsecond, tzInfo}, fold);
+        }
+    }
+
+    /**
+     * Creates a datetime of the given class like CPython's {@code new_datetime_subclass_fold_ex},
+     * i.e., by calling the class unless it is exactly {@code datetime}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @GenerateUncached
+    public abstract static class NewDateTimeSubclassNode extends Node {
+        public abstract Object execute(Node inliningTarget, Object cls, int year, int month, int day, int hour, int minute, int second, int microsecond, Object tzInfo, int fold);
+
+        @Specialization
+        static Object doIt(Node inliningTarget, Object cls, int year, int month, int day, int hour, int minute, int second, int microsecond, Object tzInfo, int fold,
+                        @Cached IsBuiltinClassExactProfile isDateTimeClass,
+                        @Cached(inline = false) PythonObjectFactory factory) {
+            if (isDateTimeClass.profileClass(inliningTarget, cls, PythonBuiltinClassType.PDateTime)) {
+                return factory.createDateTime(cls, year, month, day, hour, minute, second, microsecond, tzInfo, fold);
+            }
+            return callClass(cls, new Object[]{year, month, day, hour, minute, second, microsecond, tzInfo}, fold);
+        }
+    }
+
+    @TruffleBoundary
+    static Object callClass(Object cls, Object[] args, int fold) {
+        PKeyword[] keywords = fold != 0 ? new PKeyword[]{new PKeyword(T_FOLD, fold)} : PKeyword.EMPTY_KEYWORDS;
+        return CallNode.getUncached().execute(cls, args, keywords);
+    }
+
+    // argument validation
+
+    public static void checkDateFields(Node inliningTarget, long year, long month, long day) {
+        if (year < DateTimeUtils.MINYEAR || year > DateTimeUtils.MAXYEAR) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.YEAR_D_IS_OUT_OF_RANGE, year);
+        }
+        if (month < 1 || month > 12) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.MONTH_MUST_BE_IN_1_12);
+        }
+        if (day < 1 || day > DateTimeUtils.daysInMonth((int) year, (int) month)) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.DAY_IS_OUT_OF_RANGE_FOR_MONTH);
+        }
+    }
+
+    public static void checkTimeFields(Node inliningTarget, long hour, long minute, long second, long microsecond, long fold) {
+        if (hour < 0 || hour > 23) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.HOUR_MUST_BE_IN_0_23);
+        }
+        if (minute < 0 || minute > 59) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.MINUTE_MUST_BE_IN_0_59);
+        }
+        if (second < 0 || second > 59) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.SECOND_MUST_BE_IN_0_59);
+        }
+        if (microsecond < 0 || microsecond > 999999) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.MICROSECOND_MUST_BE_IN_0_999999);
+        }
+        if (fold != 0 && fold != 1) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.FOLD_MUST_BE_EITHER_0_OR_1);
+        }
+    }
+
+    public static boolean isDateFieldsValid(long year, long month, long day) {
+        return DateTimeUtils.MINYEAR <= year && year <= DateTimeUtils.MAXYEAR && 1 <= month && month <= 12 && 1 <= day && day <= DateTimeUtils.daysInMonth((int) year, (int) month);
+    }
+
+    public static boolean isTimeFieldsValid(long hour, long minute, long second, long microsecond, long fold) {
+        return 0 <= hour && hour <= 23 && 0 <= minute && minute <= 59 && 0 <= second && second <= 59 && 0 <= microsecond && microsecond <= 999999 && (fold == 0 || fold == 1);
+    }
+
+    /**
+     * Checks that the argument is {@code None} or a {@code tzinfo} instance.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @GenerateUncached
+    public abstract static class CheckTzInfoNode extends Node {
+        public abstract void execute(Node inliningTarget, Object tzInfo);
+
+        @Specialization
+        static void doNone(@SuppressWarnings("unused") PNone none) {
+        }
+
+        @Specialization
+        static void doTimeZone(@SuppressWarnings("unused") PTimeZone timeZone) {
+        }
+
+        @Fallback
+        static void doOther(Node inliningTarget, Object tzInfo,
+                        @Cached PyObjectTypeCheck typeCheck,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (!typeCheck.execute(inliningTarget, tzInfo, PythonBuiltinClassType.PTzInfo)) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.TZINFO_ARG_MUST_BE_NONE_OR_TZINFO_NOT_P, tzInfo);
+            }
+        }
+    }
+
+    /**
+     * Adds the given delta to the datetime like CPython's {@code add_datetime_timedelta}. The
+     * result is created with {@link NewDateTimeSubclassNode}, keeps the tzinfo and has fold 0.
+     */
+    @TruffleBoundary
+    public static Object addToDateTime(Node inliningTarget, PDateTime dt, Object cls, long days, long seconds, long microseconds) {
+        int[] f = DateTimeUtils.addToDateTime(dt.getYear(), dt.getMonth(), dt.getDay(), dt.getHour(), dt.getMinute(), dt.getSecond(), dt.getMicrosecond(), days, seconds, microseconds);
+        if (f == null) {
+            throw raiseDateOverflow(inliningTarget);
+        }
+        return NewDateTimeSubclassNodeGen.getUncached().execute(null, cls, f[0], f[1], f[2], f[3], f[4], f[5], f[6], dt.getTzInfo(), 0);
+    }
+
+    public static PException raiseDateOverflow(Node inliningTarget) {
+        throw PRaiseNode.raiseUncached(inliningTarget, OverflowError, ErrorMessages.DATE_VALUE_OUT_OF_RANGE);
+    }
+
+    /**
+     * Creates a normalized timedelta from the given components, raising {@code OverflowError} if
+     * it is out of range.
+     */
+    public static PTimeDelta createTimeDelta(Node inliningTarget, PythonObjectFactory factory, long days, long seconds, long microseconds) {
+        long[] normalized = DateTimeUtils.normalizeDelta(days, seconds, microseconds);
+        if (!DateTimeUtils.isDeltaDaysInRange(normalized[0])) {
+            throw raiseDeltaOverflow(inliningTarget, normalized[0]);
+        }
+        return factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, (int) normalized[0], (int) normalized[1], (int) normalized[2]);
+    }
+
+    @TruffleBoundary
+    public static PTimeDelta createTimeDelta(Node inliningTarget, PythonObjectFactory factory, BigInteger microseconds) {
+        long[] normalized = DateTimeUtils.microsecondsToDelta(microseconds);
+        if (normalized == null) {
+            throw raiseDeltaOverflow(inliningTarget, DateTimeUtils.floorDivMod(microseconds, BigInteger.valueOf(DateTimeUtils.US_PER_DAY))[0]);
+        }
+        return factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, (int) normalized[0], (int) normalized[1], (int) normalized[2]);
+    }
+
+    public static PException raiseDeltaOverflow(Node inliningTarget, Object days) {
+        throw PRaiseNode.raiseUncached(inliningTarget, OverflowError, ErrorMessages.DAYS_D_MUST_HAVE_MAGNITUDE_LE_D, days, DateTimeUtils.MAX_DELTA_DAYS);
+    }
+
+    // tzinfo calls
+
+    /**
+     * Creates a timezone like CPython's {@code new_timezone}, returning the {@code timezone.utc}
+     * singleton for a zero offset without a name.
+     */
+    @TruffleBoundary
+    public static Object createTimeZone(Node inliningTarget, PythonObjectFactory factory, PTimeDelta offset, TruffleString name) {
+        if (name == null && offset.isZero()) {
+            return PyObjectGetAttr.executeUncached(PythonBuiltinClassType.PTimeZone, T_UTC);
+        }
+        if (!isValidOffset(offset)) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.OFFSET_MUST_BE_TIMEDELTA_STRICTLY_BETWEEN_NOT_S, PyObjectReprAsTruffleStringNode.executeUncached(offset));
+        }
+        return factory.createTimeZone(PythonBuiltinClassType.PTimeZone, offset, name);
+    }
+
+    /**
+     * Creates the tzinfo for an offset parsed by {@code fromisoformat}. Like in CPython, an offset
+     * of zero seconds always yields {@code timezone.utc}.
+     */
+    @TruffleBoundary
+    public static Object createParsedTimeZone(Node inliningTarget, PythonObjectFactory factory, int offsetSeconds, int offsetMicroseconds) {
+        if (offsetSeconds == 0) {
+            return PyObjectGetAttr.executeUncached(PythonBuiltinClassType.PTimeZone, T_UTC);
+        }
+        return createTimeZone(inliningTarget, factory, createTimeDelta(inliningTarget, factory, 0, offsetSeconds, offsetMicroseconds), null);
+    }
+
+
+    /**
+     * Whether the delta is strictly between {@code -timedelta(hours=24)} and
+     * {@code timedelta(hours=24)}, as required for UTC offsets.
+     */
+    public static boolean isValidOffset(PTimeDelta offset) {
+        return offset.getDays() == 0 || (offset.getDays() == -1 && (offset.getSeconds() != 0 || offset.getMicroseconds() != 0));
+    }
+
+    /**
+     * Calls {@code tzinfo.utcoffset(dt)}, returns {@code None} or a {@link PTimeDelta}.
+     */
+    public static Object utcOffset(Node inliningTarget, Object tzInfo, Object dt) {
+        if (tzInfo == PNone.NONE) {
+            return PNone.NONE;
+        } else if (tzInfo instanceof PTimeZone timeZone) {
+            return timeZone.getOffset();
+        }
+        return callOffsetMethod(inliningTarget, tzInfo, T_UTCOFFSET, dt);
+    }
+
+    /**
+     * Calls {@code tzinfo.dst(dt)}, returns {@code None} or a {@link PTimeDelta}.
+     */
+    public static Object dst(Node inliningTarget, Object tzInfo, Object dt) {
+        if (tzInfo == PNone.NONE || tzInfo instanceof PTimeZone) {
+            return PNone.NONE;
+        }
+        return callOffsetMethod(inliningTarget, tzInfo, T_DST, dt);
+    }
+
+    @TruffleBoundary
+    private static Object callOffsetMethod(Node inliningTarget, Object tzInfo, TruffleString name, Object dt) {
+        Object result = PyObjectCallMethodObjArgs.executeUncached(tzInfo, name, dt);
+        if (result == PNone.NONE) {
+            return result;
+        }
+        PTimeDelta offset = AsTimeDeltaNodeGen.getUncached().execute(null, result);
+        if (offset == null) {
+            throw PRaiseNode.raiseUncached(inliningTarget, TypeError, ErrorMessages.TZINFO_S_MUST_RETURN_NONE_OR_TIMEDELTA_NOT_P, name, result);
+        }
+        if (!isValidOffset(offset)) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.OFFSET_MUST_BE_TIMEDELTA_STRICTLY_BETWEEN);
+        }
+        return offset;
+    }
+
+    /**
+     * Calls {@code tzinfo.tzname(dt)}, returns {@code None} or a string.
+     */
+    @TruffleBoundary
+    public static Object tzName(Node inliningTarget, Object tzInfo, Object dt) {
+        if (tzInfo == PNone.NONE) {
+            return PNone.NONE;
+        } else if (tzInfo instanceof PTimeZone timeZone) {
+            return TimeZoneBuiltins.getName(timeZone);
+        }
+        Object result = PyObjectCallMethodObjArgs.executeUncached(tzInfo, T_TZNAME, dt);
+        if (result != PNone.NONE && !PyUnicodeCheckNode.executeUncached(result)) {
+            throw PRaiseNode.raiseUncached(inliningTarget, TypeError, ErrorMessages.TZINFO_TZNAME_MUST_RETURN_NONE_OR_STRING_NOT_P, result);
+        }
+        return result;
+    }
+
+    /**
+     * Formats the {@code utcoffset()} of the tzinfo with the given separator, or returns the empty
+     * string if there is no offset.
+     */
+    @TruffleBoundary
+    public static String formatUtcOffset(Node inliningTarget, Object tzInfo, Object dt, String sep) {
+        Object offset = utcOffset(inliningTarget, tzInfo, dt);
+        if (offset == PNone.NONE) {
+            return "";
+        }
+        PTimeDelta delta = (PTimeDelta) offset;
+        StringBuilder sb = new StringBuilder(16);
+        DateTimeUtils.appendUtcOffset(sb, delta.getDays(), delta.getSeconds(), delta.getMicroseconds(), sep);
+        return sb.toString();
+    }
+
+    /**
+     * Computes the replacements for {@code %z} and {@code %Z} if the format needs them and calls
+     * {@link DateTimeUtils#strftime}.
+     */
+    @TruffleBoundary
+    public static String strftime(Node inliningTarget, String format, int year, int month, int day, int hour, int minute, int second, int microsecond, Object tzInfo, Object tzInfoArg) {
+        String z = "";
+        String bigZ = "";
+        if (tzInfo != PNone.NONE) {
+            if (DateTimeUtils.hasDirective(format, 'z')) {
+                z = formatUtcOffset(inliningTarget, tzInfo, tzInfoArg, "");
+            }
+            if (DateTimeUtils.hasDirective(format, 'Z')) {
+                Object name = tzName(inliningTarget, tzInfo, tzInfoArg);
+                if (name != PNone.NONE) {
+                    try {
+                        bigZ = CastToTruffleStringNode.executeUncached(name).toJavaStringUncached();
+                    } catch (CannotCastException e) {
+                        throw PRaiseNode.raiseUncached(inliningTarget, TypeError, ErrorMessages.TZINFO_TZNAME_MUST_RETURN_NONE_OR_STRING_NOT_P, name);
+                    }
+                }
+            }
+        }
+        return DateTimeUtils.strftime(format, year, month, day, hour, minute, second, microsecond, z, bigZ);
+    }
+    // timestamps
+
+    /**
+     * Timestamps beyond this many seconds from the epoch are certainly out of the range of years,
+     * but still small enough to be safely converted to {@link java.time.Instant}.
+     */
+    private static final long MAX_TIMESTAMP_SECONDS = 1L << 50;
+    private static final long AVERAGE_SECONDS_PER_YEAR = 31556952L;
+
+    /**
+     * Converts a timestamp argument (an int or float) to {@code {seconds, microseconds}} since the
+     * epoch. Floats are rounded half to even to microseconds, or down to whole seconds if
+     * {@code floor} is set.
+     */
+    @TruffleBoundary
+    public static long[] timestampToSecondsAndMicros(Node inliningTarget, Object timestamp, boolean floor) {
+        if (PyFloatCheckNode.executeUncached(timestamp)) {
+            double value = PyFloatAsDoubleNode.executeUncached(timestamp);
+            if (Double.isNaN(value)) {
+                throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.INVALID_VALUE_NAN);
+            }
+            long[] result;
+            if (floor) {
+                double seconds = Math.floor(value);
+                result = seconds >= -0x1p63 && seconds < 0x1p63 ? new long[]{(long) seconds, 0} : null;
+            } else {
+                result = DateTimeUtils.timestampToSecondsAndMicros(value);
+            }
+            if (result == null) {
+                throw PRaiseNode.raiseUncached(inliningTarget, OverflowError, ErrorMessages.TIMESTAMP_OUT_OF_RANGE);
+            }
+            return result;
+        }
+        BigInteger value = toBigInteger(timestamp);
+        if (value.bitLength() >= Long.SIZE) {
+            throw PRaiseNode.raiseUncached(inliningTarget, OverflowError, ErrorMessages.TIMESTAMP_OUT_OF_RANGE);
+        }
+        return new long[]{value.longValue(), 0};
+    }
+
+    /**
+     * Converts seconds since the epoch to {@code {year, month, day, hour, minute, second, fold}},
+     * either in the given zone or in UTC if {@code rules} is {@code null}.
+     */
+    @TruffleBoundary
+    public static int[] timestampToFields(Node inliningTarget, ZoneRules rules, long seconds) {
+        int[] fields = Math.abs(seconds) < MAX_TIMESTAMP_SECONDS ? DateTimeUtils.epochSecondsToFields(rules, seconds) : null;
+        if (fields == null) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.YEAR_D_IS_OUT_OF_RANGE, 1970 + Math.floorDiv(seconds, AVERAGE_SECONDS_PER_YEAR));
+        }
+        return fields;
+    }
+
+    /**
+     * The rules of the local timezone, which is the one used by the {@code time} module.
+     */
+    @TruffleBoundary
+    public static ZoneRules getLocalZoneRules(Node node) {
+        return TimeModuleBuiltins.getCurrentZoneId(PythonContext.get(node)).getRules();
+    }
+
+    // misc
+
+    /**
+     * The type name used in reprs, i.e., {@code datetime.date} for the builtin classes and the
+     * plain name for subclasses, like CPython's {@code tp_name}.
+     */
+    @TruffleBoundary
+    public static String typeName(Object obj) {
+        Object cls = GetClassNode.executeUncached(obj);
+        if (cls instanceof PythonBuiltinClassType type) {
+            return type.getPrintName().toJavaStringUncached();
+        } else if (cls instanceof PythonBuiltinClass builtinClass) {
+            return builtinClass.getType().getPrintName().toJavaStringUncached();
+        }
+        return GetNameNode.executeUncached(cls).toJavaStringUncached();
+    }
+
+    /**
+     * Converts a Python int to a {@link BigInteger}.
+     */
+    @TruffleBoundary
+    public static BigInteger toBigInteger(Object value) {
+        Object index = PyNumberIndexNodeGen.getUncached().execute(null, null, value);
+        if (index instanceof Integer i) {
+            return BigInteger.valueOf(i);
+        } else if (index instanceof Long l) {
+            return BigInteger.valueOf(l);
+        } else if (index instanceof Boolean b) {
+            return b ? BigInteger.ONE : BigInteger.ZERO;
+        }
+        return ((PInt) index).getValue();
+    }
+
+    /**
+     * Converts a {@link BigInteger} to the smallest fitting representation of a Python int.
+     */
+    @TruffleBoundary
+    public static Object toPythonInt(PythonObjectFactory factory, BigInteger value) {
+        if (value.bitLength() < Integer.SIZE) {
+            return value.intValue();
+        } else if (value.bitLength() < Long.SIZE) {
+            return value.longValue();
+        }
+        return factory.createInt(value);
+    }
+
+    /**
+     * Returns the argument as a Java string or raises {@code TypeError} if it is not a str.
+     */
+    @TruffleBoundary
+    public static String castToJavaString(Node inliningTarget, Object value, String functionName) {
+        try {
+            return CastToTruffleStringNode.executeUncached(value).toJavaStringUncached();
+        } catch (CannotCastException e) {
+            throw PRaiseNode.raiseUncached(inliningTarget, TypeError, ErrorMessages.S_ARG_1_MUST_BE_STR_NOT_P, functionName, value);
+        }
+    }
+}
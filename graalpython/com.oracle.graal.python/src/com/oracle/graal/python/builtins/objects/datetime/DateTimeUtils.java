@@ -0,0 +1,985 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.datetime;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.zone.ZoneRules;
+
+/**
+ * Calendar arithmetic, formatting and parsing used by the {@code _datetime} module. Everything in
+ * here works on primitive fields only and follows the algorithms of CPython's
+ * {@code _datetimemodule.c}, so that results (including rounding and error cases) are the same.
+ * Methods that can fail return {@code null} and leave raising the appropriate Python exception to
+ * the caller.
+ */
+public final class DateTimeUtils {
+
+    public static final int MINYEAR = 1;
+    public static final int MAXYEAR = 9999;
+    /** The ordinal of {@code date.max}. */
+    public static final int MAX_ORDINAL = 3652059;
+    public static final int MAX_DELTA_DAYS = 999999999;
+
+    public static final int SECONDS_PER_DAY = 24 * 3600;
+    public static final long US_PER_SECOND = 1000000L;
+    public static final long US_PER_DAY = SECONDS_PER_DAY * US_PER_SECOND;
+    private static final BigInteger BIG_US_PER_SECOND = BigInteger.valueOf(US_PER_SECOND);
+    private static final BigInteger BIG_SECONDS_PER_DAY = BigInteger.valueOf(SECONDS_PER_DAY);
+    private static final BigInteger BIG_MAX_DELTA_DAYS = BigInteger.valueOf(MAX_DELTA_DAYS);
+
+    /** Seconds between 0001-01-01 and the Unix epoch. */
+    public static final long EPOCH_SECONDS = 719163L * SECONDS_PER_DAY;
+    /** The largest jump of local time that is considered when looking for folds and gaps. */
+    private static final long MAX_FOLD_SECONDS = 24 * 3600;
+
+    public static final int TIMESPEC_AUTO = 0;
+    public static final int TIMESPEC_HOURS = 1;
+    public static final int TIMESPEC_MINUTES = 2;
+    public static final int TIMESPEC_SECONDS = 3;
+    public static final int TIMESPEC_MILLISECONDS = 4;
+    public static final int TIMESPEC_MICROSECONDS = 5;
+
+    private static final int DI4Y = 1461;
+    private static final int DI100Y = 36524;
+    private static final int DI400Y = 146097;
+
+    private static final int[] DAYS_IN_MONTH = {0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+    private static final int[] DAYS_BEFORE_MONTH = {0, 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334};
+
+    private static final String[] DAY_NAMES = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+    private static final String[] FULL_DAY_NAMES = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"};
+    private static final String[] MONTH_NAMES = {null, "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+    private static final String[] FULL_MONTH_NAMES = {null, "January", "February", "March", "April", "May", "June", "July", "August", "September", "October", "November",
+                    "December"};
+
+    private DateTimeUtils() {
+    }
+
+    // calendar
+
+    public static boolean isLeap(int year) {
+        return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    public static int daysInMonth(int year, int month) {
+        if (month == 2 && isLeap(year)) {
+            return 29;
+        }
+        return DAYS_IN_MONTH[month];
+    }
+
+    static int daysBeforeMonth(int year, int month) {
+        int days = DAYS_BEFORE_MONTH[month];
+        if (month > 2 && isLeap(year)) {
+            days++;
+        }
+        return days;
+    }
+
+    static int daysBeforeYear(int year) {
+        int y = year - 1;
+        return y * 365 + y / 4 - y / 100 + y / 400;
+    }
+
+    /** Proleptic Gregorian ordinal, where 0001-01-01 is day 1. */
+    public static int ymdToOrd(int year, int month, int day) {
+        return daysBeforeYear(year) + daysBeforeMonth(year, month) + day;
+    }
+
+    /** The inverse of {@link #ymdToOrd}, returns {@code {year, month, day}}. */
+    public static int[] ordToYmd(int ordinal) {
+        int n = ordinal - 1;
+        int n400 = n / DI400Y;
+        n = n % DI400Y;
+        int year = n400 * 400 + 1;
+        int n100 = n / DI100Y;
+        n = n % DI100Y;
+        int n4 = n / DI4Y;
+        n = n % DI4Y;
+        int n1 = n / 365;
+        n = n % 365;
+        year += n100 * 100 + n4 * 4 + n1;
+        if (n1 == 4 || n100 == 4) {
+            return new int[]{year - 1, 12, 31};
+        }
+        boolean leapYear = n1 == 3 && (n4 != 24 || n100 == 3);
+        int month = (n + 50) >> 5;
+        int preceding = DAYS_BEFORE_MONTH[month] + (month > 2 && leapYear ? 1 : 0);
+        if (preceding > n) {
+            month -= 1;
+            preceding -= daysInMonth(year, month);
+        }
+        n -= preceding;
+        return new int[]{year, month, n + 1};
+    }
+
+    /**
+     * Adds the given days, seconds and microseconds to a date and time. Returns
+     * {@code {year, month, day, hour, minute, second, microsecond}}, or {@code null} if the
+     * result is not within the supported range of years.
+     */
+    public static int[] addToDateTime(int year, int month, int day, int hour, int minute, int second, int microsecond, long days, long seconds, long microseconds) {
+        long us = microsecond + microseconds;
+        long s = hour * 3600L + minute * 60L + second + seconds + Math.floorDiv(us, US_PER_SECOND);
+        long ordinal = ymdToOrd(year, month, day) + days + Math.floorDiv(s, SECONDS_PER_DAY);
+        if (ordinal < 1 || ordinal > MAX_ORDINAL) {
+            return null;
+        }
+        int[] ymd = ordToYmd((int) ordinal);
+        int secondOfDay = (int) Math.floorMod(s, SECONDS_PER_DAY);
+        return new int[]{ymd[0], ymd[1], ymd[2], secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60, (int) Math.floorMod(us, US_PER_SECOND)};
+    }
+
+    /** Day of the week, where Monday is 0. */
+    public static int weekday(int year, int month, int day) {
+        return (ymdToOrd(year, month, day) + 6) % 7;
+    }
+
+    static int dayOfYear(int year, int month, int day) {
+        return daysBeforeMonth(year, month) + day;
+    }
+
+    private static int isoWeek1Monday(int year) {
+        int firstDay = ymdToOrd(year, 1, 1);
+        int firstWeekday = (firstDay + 6) % 7;
+        int week1Monday = firstDay - firstWeekday;
+        if (firstWeekday > 3) {
+            week1Monday += 7;
+        }
+        return week1Monday;
+    }
+
+    /** Returns {@code {isoYear, isoWeek, isoWeekday}}. */
+    public static int[] isoCalendar(int year, int month, int day) {
+        int isoYear = year;
+        int week1Monday = isoWeek1Monday(isoYear);
+        int today = ymdToOrd(year, month, day);
+        int week = Math.floorDiv(today - week1Monday, 7);
+        int weekday = Math.floorMod(today - week1Monday, 7);
+        if (week < 0) {
+            --isoYear;
+            week1Monday = isoWeek1Monday(isoYear);
+            week = Math.floorDiv(today - week1Monday, 7);
+            weekday = Math.floorMod(today - week1Monday, 7);
+        } else if (week >= 52 && today >= isoWeek1Monday(isoYear + 1)) {
+            ++isoYear;
+            week = 0;
+        }
+        return new int[]{isoYear, week + 1, weekday + 1};
+    }
+
+    /**
+     * Returns the ordinal for an ISO calendar date. The caller must have checked that the year is
+     * in range and the weekday is in {@code 1..7}.
+     */
+    public static int isoCalendarToOrd(int isoYear, int week, int weekday) {
+        return isoWeek1Monday(isoYear) + (week - 1) * 7 + (weekday - 1);
+    }
+
+    /** Whether the ISO year has 53 weeks. */
+    public static boolean hasIsoWeek53(int isoYear) {
+        int firstWeekday = ymdToOrd(isoYear, 1, 1) % 7;
+        return firstWeekday == 4 || (firstWeekday == 3 && isLeap(isoYear));
+    }
+
+    // timedelta arithmetic
+
+    public static boolean isDeltaDaysInRange(long days) {
+        return -MAX_DELTA_DAYS <= days && days <= MAX_DELTA_DAYS;
+    }
+
+    /**
+     * Normalizes the components of a timedelta so that {@code 0 <= seconds < 24*3600} and
+     * {@code 0 <= microseconds < 1000000}. Returns {@code {days, seconds, microseconds}}, where the
+     * days are not yet range checked.
+     */
+    public static long[] normalizeDelta(long days, long seconds, long microseconds) {
+        long s = seconds + Math.floorDiv(microseconds, US_PER_SECOND);
+        long us = Math.floorMod(microseconds, US_PER_SECOND);
+        long d = days + Math.floorDiv(s, SECONDS_PER_DAY);
+        s = Math.floorMod(s, SECONDS_PER_DAY);
+        return new long[]{d, s, us};
+    }
+
+    /** Converts the given microseconds to normalized delta components, see {@link #normalizeDelta}. */
+    public static long[] microsecondsToDelta(long microseconds) {
+        return normalizeDelta(0, 0, microseconds);
+    }
+
+    /**
+     * Converts the given microseconds to normalized delta components. Returns {@code null} if the
+     * number of days does not fit into a timedelta.
+     */
+    public static long[] microsecondsToDelta(BigInteger microseconds) {
+        BigInteger[] secondsAndUs = floorDivMod(microseconds, BIG_US_PER_SECOND);
+        BigInteger[] daysAndSeconds = floorDivMod(secondsAndUs[0], BIG_SECONDS_PER_DAY);
+        if (daysAndSeconds[0].abs().compareTo(BIG_MAX_DELTA_DAYS) > 0) {
+            return null;
+        }
+        return new long[]{daysAndSeconds[0].longValue(), daysAndSeconds[1].longValue(), secondsAndUs[1].longValue()};
+    }
+
+    public static BigInteger deltaToMicroseconds(int days, int seconds, int microseconds) {
+        return BigInteger.valueOf(days).multiply(BigInteger.valueOf(US_PER_DAY)).add(BigInteger.valueOf(seconds * US_PER_SECOND + microseconds));
+    }
+
+    /**
+     * Returns the total number of microseconds if it fits into a long, which is the case for all
+     * deltas of less than ~290000 years.
+     */
+    public static long deltaToMicrosecondsExact(int days, int seconds, int microseconds) throws ArithmeticException {
+        return Math.addExact(Math.multiplyExact(days, US_PER_DAY), seconds * US_PER_SECOND + microseconds);
+    }
+
+    public static BigInteger[] floorDivMod(BigInteger a, BigInteger b) {
+        BigInteger[] qr = a.divideAndRemainder(b);
+        if (qr[1].signum() != 0 && qr[1].signum() != b.signum()) {
+            qr[0] = qr[0].subtract(BigInteger.ONE);
+            qr[1] = qr[1].add(b);
+        }
+        return qr;
+    }
+
+    /** Division rounding to the nearest integer, with ties going to the even quotient. */
+    public static BigInteger divideNearest(BigInteger a, BigInteger b) {
+        BigInteger[] qr = floorDivMod(a, b);
+        int cmp = qr[1].shiftLeft(1).compareTo(b);
+        if (b.signum() < 0) {
+            cmp = -cmp;
+        }
+        if (cmp > 0 || (cmp == 0 && qr[0].testBit(0))) {
+            return qr[0].add(BigInteger.ONE);
+        }
+        return qr[0];
+    }
+
+    /**
+     * Correctly rounded true division of two integers. The operands of timedelta arithmetic are
+     * small enough that the result is always finite.
+     */
+    public static double trueDivide(BigInteger a, BigInteger b) {
+        if (a.bitLength() < 53 && b.bitLength() < 53) {
+            return a.doubleValue() / b.doubleValue();
+        }
+        BigDecimal aDecimal = new BigDecimal(a);
+        BigDecimal bDecimal = new BigDecimal(b);
+        return aDecimal.divide(bDecimal, bDecimal.precision() - aDecimal.precision() + 17, RoundingMode.HALF_EVEN).doubleValue();
+    }
+
+    /** Equivalent of {@code float.as_integer_ratio()} for finite values. */
+    public static BigInteger[] asIntegerRatio(double value) {
+        assert Double.isFinite(value);
+        if (value == 0) {
+            return new BigInteger[]{BigInteger.ZERO, BigInteger.ONE};
+        }
+        long bits = Double.doubleToRawLongBits(value);
+        int exponent = (int) ((bits >> 52) & 0x7ff);
+        long mantissa = bits & 0xfffffffffffffL;
+        if (exponent == 0) {
+            exponent = 1;
+        } else {
+            mantissa |= 1L << 52;
+        }
+        exponent -= 1075;
+        int trailing = Long.numberOfTrailingZeros(mantissa);
+        mantissa >>= trailing;
+        exponent += trailing;
+        BigInteger numerator = BigInteger.valueOf(value < 0 ? -mantissa : mantissa);
+        if (exponent >= 0) {
+            return new BigInteger[]{numerator.shiftLeft(exponent), BigInteger.ONE};
+        }
+        return new BigInteger[]{numerator, BigInteger.ONE.shiftLeft(-exponent)};
+    }
+
+    /**
+     * Adds {@code num * factor} microseconds to {@code sofar}, where {@code num} is a finite float
+     * argument of the timedelta constructor. The fractional microseconds that cannot be represented
+     * are accumulated in {@code leftover[0]}. This is {@code accum} from CPython.
+     */
+    public static BigInteger accumulate(BigInteger sofar, double num, long factor, double[] leftover) {
+        double intPart = num < 0 ? Math.ceil(num) : Math.floor(num);
+        double fracPart = num - intPart;
+        BigInteger sum = sofar.add(toBigInteger(intPart).multiply(BigInteger.valueOf(factor)));
+        if (fracPart == 0.0) {
+            return sum;
+        }
+        double dnum = factor * fracPart;
+        intPart = dnum < 0 ? Math.ceil(dnum) : Math.floor(dnum);
+        fracPart = dnum - intPart;
+        leftover[0] += fracPart;
+        return sum.add(toBigInteger(intPart));
+    }
+
+    /** Adds the rounded fractional microseconds collected by {@link #accumulate}. */
+    public static BigInteger roundLeftover(BigInteger sum, double leftover) {
+        if (leftover == 0.0) {
+            return sum;
+        }
+        double wholeUs = roundHalfAwayFromZero(leftover);
+        if (Math.abs(wholeUs - leftover) == 0.5) {
+            // exactly halfway between two integers: round to even, considering the whole sum
+            int isOdd = sum.testBit(0) ? 1 : 0;
+            wholeUs = 2.0 * roundHalfAwayFromZero((leftover + isOdd) * 0.5) - isOdd;
+        }
+        return sum.add(BigInteger.valueOf((long) wholeUs));
+    }
+
+    private static double roundHalfAwayFromZero(double value) {
+        double abs = Math.abs(value);
+        double r = Math.floor(abs);
+        if (abs - r >= 0.5) {
+            r += 1;
+        }
+        return Math.copySign(r, value);
+    }
+
+    private static BigInteger toBigInteger(double integral) {
+        if (Math.abs(integral) < 0x1p62) {
+            return BigInteger.valueOf((long) integral);
+        }
+        BigInteger[] ratio = asIntegerRatio(integral);
+        return ratio[0];
+    }
+
+    /**
+     * Converts a float timestamp to {@code {seconds, microseconds}}, rounding half to even as
+     * {@code datetime.fromtimestamp} does. Returns {@code null} if the value is out of range.
+     */
+    public static long[] timestampToSecondsAndMicros(double timestamp) {
+        double intPart = timestamp < 0 ? Math.ceil(timestamp) : Math.floor(timestamp);
+        double fracPart = Math.rint((timestamp - intPart) * 1e6);
+        if (fracPart >= 1e6) {
+            fracPart -= 1e6;
+            intPart += 1.0;
+        } else if (fracPart < 0) {
+            fracPart += 1e6;
+            intPart -= 1.0;
+        }
+        if (!(intPart >= -0x1p63 && intPart < 0x1p63)) {
+            return null;
+        }
+        return new long[]{(long) intPart, (long) fracPart};
+    }
+
+    // local time
+
+    /** Seconds since 0001-01-01 for the given naive fields, interpreted as UTC. */
+    public static long utcToSeconds(int year, int month, int day, int hour, int minute, int second) {
+        long ordinal = ymdToOrd(year, month, day);
+        return ((ordinal * 24 + hour) * 60 + minute) * 60 + second;
+    }
+
+    /** Local wall time (in seconds since 0001-01-01) at UTC time {@code u}. */
+    private static long local(ZoneRules rules, long u) {
+        return u + rules.getOffset(Instant.ofEpochSecond(u - EPOCH_SECONDS)).getTotalSeconds();
+    }
+
+    /**
+     * Solves {@code local(u) == t} for the given wall time, choosing the earlier or later solution
+     * according to {@code fold} in folds and the time after or before the gap in gaps. Returns
+     * seconds since 0001-01-01 UTC. This is {@code local_to_seconds} from CPython.
+     */
+    public static long localToSeconds(ZoneRules rules, int year, int month, int day, int hour, int minute, int second, int fold) {
+        long t = utcToSeconds(year, month, day, hour, minute, second);
+        long lt = local(rules, t);
+        long a = lt - t;
+        long u1 = t - a;
+        long t1 = local(rules, u1);
+        long b;
+        if (t1 == t) {
+            // we found one solution, but it may not be the one we need
+            long u2 = fold != 0 ? u1 + MAX_FOLD_SECONDS : u1 - MAX_FOLD_SECONDS;
+            b = local(rules, u2) - u2;
+            if (a == b) {
+                return u1;
+            }
+        } else {
+            b = t1 - u1;
+            assert a != b;
+        }
+        long u2 = t - b;
+        long t2 = local(rules, u2);
+        if (t2 == t) {
+            return u2;
+        }
+        if (t1 == t) {
+            return u1;
+        }
+        // t is in the gap
+        return fold != 0 ? Math.min(u1, u2) : Math.max(u1, u2);
+    }
+
+    /**
+     * Converts the given seconds since the Unix epoch to {@code {year, month, day, hour, minute,
+     * second, fold}} in the given zone. Returns {@code null} if the year is out of range.
+     */
+    public static int[] epochSecondsToFields(ZoneRules rules, long timet) {
+        long u = timet + EPOCH_SECONDS;
+        int[] fields = secondsToFields(rules == null ? u : local(rules, u));
+        if (fields != null && rules != null) {
+            // probe whether the same wall time occurred earlier
+            long resultSeconds = utcToSeconds(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5]);
+            long probeSeconds = local(rules, u - MAX_FOLD_SECONDS);
+            long transition = resultSeconds - probeSeconds - MAX_FOLD_SECONDS;
+            if (transition < 0) {
+                probeSeconds = local(rules, u + transition);
+                if (probeSeconds == resultSeconds) {
+                    fields[6] = 1;
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static int[] secondsToFields(long seconds) {
+        long days = Math.floorDiv(seconds, SECONDS_PER_DAY);
+        if (days < 1 || days > MAX_ORDINAL) {
+            return null;
+        }
+        int secondOfDay = (int) Math.floorMod(seconds, SECONDS_PER_DAY);
+        int[] ymd = ordToYmd((int) days);
+        return new int[]{ymd[0], ymd[1], ymd[2], secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60, 0};
+    }
+
+    /** UTC offset in seconds of the given zone at the given seconds since the Unix epoch. */
+    public static int localOffsetSeconds(ZoneRules rules, long timet) {
+        return rules.getOffset(Instant.ofEpochSecond(timet)).getTotalSeconds();
+    }
+
+    // formatting
+
+    public static void appendPadded(StringBuilder sb, int value, int width) {
+        int v = value;
+        if (v < 0) {
+            sb.append('-');
+            v = -v;
+            width--;
+        }
+        int digits = v == 0 ? 1 : (int) Math.log10(v) + 1;
+        for (int i = digits; i < width; i++) {
+            sb.append('0');
+        }
+        sb.append(v);
+    }
+
+    /** Appends {@code YYYY-MM-DD}. */
+    public static void appendIsoDate(StringBuilder sb, int year, int month, int day) {
+        appendPadded(sb, year, 4);
+        sb.append('-');
+        appendPadded(sb, month, 2);
+        sb.append('-');
+        appendPadded(sb, day, 2);
+    }
+
+    public static int parseTimespec(String timespec) {
+        switch (timespec) {
+            case "auto":
+                return TIMESPEC_AUTO;
+            case "hours":
+                return TIMESPEC_HOURS;
+            case "minutes":
+                return TIMESPEC_MINUTES;
+            case "seconds":
+                return TIMESPEC_SECONDS;
+            case "milliseconds":
+                return TIMESPEC_MILLISECONDS;
+            case "microseconds":
+                return TIMESPEC_MICROSECONDS;
+            default:
+                return -1;
+        }
+    }
+
+    /** Appends {@code HH[:MM[:SS[.fff[fff]]]]} according to the timespec. */
+    public static void appendIsoTime(StringBuilder sb, int hour, int minute, int second, int microsecond, int timespec) {
+        int spec = timespec;
+        if (spec == TIMESPEC_AUTO) {
+            spec = microsecond != 0 ? TIMESPEC_MICROSECONDS : TIMESPEC_SECONDS;
+        }
+        appendPadded(sb, hour, 2);
+        if (spec == TIMESPEC_HOURS) {
+            return;
+        }
+        sb.append(':');
+        appendPadded(sb, minute, 2);
+        if (spec == TIMESPEC_MINUTES) {
+            return;
+        }
+        sb.append(':');
+        appendPadded(sb, second, 2);
+        if (spec == TIMESPEC_MILLISECONDS) {
+            sb.append('.');
+            appendPadded(sb, microsecond / 1000, 3);
+        } else if (spec == TIMESPEC_MICROSECONDS) {
+            sb.append('.');
+            appendPadded(sb, microsecond, 6);
+        }
+    }
+
+    /**
+     * Appends a UTC offset given as (normalized) timedelta fields as {@code +HH<sep>MM}, adding
+     * seconds and microseconds only if they are non-zero.
+     */
+    public static void appendUtcOffset(StringBuilder sb, int days, int seconds, int microseconds, String sep) {
+        long total = days * US_PER_DAY + seconds * US_PER_SECOND + microseconds;
+        char sign = '+';
+        if (total < 0) {
+            sign = '-';
+            total = -total;
+        }
+        int us = (int) (total % US_PER_SECOND);
+        int secs = (int) (total / US_PER_SECOND);
+        int minutes = secs / 60;
+        secs %= 60;
+        int hours = minutes / 60;
+        minutes %= 60;
+        sb.append(sign);
+        appendPadded(sb, hours, 2);
+        sb.append(sep);
+        appendPadded(sb, minutes, 2);
+        if (secs != 0 || us != 0) {
+            sb.append(sep);
+            appendPadded(sb, secs, 2);
+            if (us != 0) {
+                sb.append('.');
+                appendPadded(sb, us, 6);
+            }
+        }
+    }
+
+    /** The name of a {@code timezone} without an explicit name, e.g. {@code UTC+05:30}. */
+    public static String timezoneName(int days, int seconds, int microseconds) {
+        if (days == 0 && seconds == 0 && microseconds == 0) {
+            return "UTC";
+        }
+        StringBuilder sb = new StringBuilder("UTC");
+        appendUtcOffset(sb, days, seconds, microseconds, ":");
+        return sb.toString();
+    }
+
+    public static String formatTimeDelta(int days, int seconds, int microseconds) {
+        StringBuilder sb = new StringBuilder();
+        if (days != 0) {
+            sb.append(days).append(" day");
+            if (days != 1 && days != -1) {
+                sb.append('s');
+            }
+            sb.append(", ");
+        }
+        sb.append(seconds / 3600).append(':');
+        appendPadded(sb, seconds / 60 % 60, 2);
+        sb.append(':');
+        appendPadded(sb, seconds % 60, 2);
+        if (microseconds != 0) {
+            sb.append('.');
+            appendPadded(sb, microseconds, 6);
+        }
+        return sb.toString();
+    }
+
+    public static String formatTimeDeltaArgs(int days, int seconds, int microseconds) {
+        StringBuilder sb = new StringBuilder();
+        if (days != 0) {
+            sb.append("days=").append(days);
+        }
+        if (seconds != 0) {
+            if (sb.length() != 0) {
+                sb.append(", ");
+            }
+            sb.append("seconds=").append(seconds);
+        }
+        if (microseconds != 0) {
+            if (sb.length() != 0) {
+                sb.append(", ");
+            }
+            sb.append("microseconds=").append(microseconds);
+        }
+        if (sb.length() == 0) {
+            sb.append('0');
+        }
+        return sb.toString();
+    }
+
+    public static String ctime(int year, int month, int day, int hour, int minute, int second) {
+        StringBuilder sb = new StringBuilder(24);
+        sb.append(DAY_NAMES[weekday(year, month, day)]).append(' ').append(MONTH_NAMES[month]).append(' ');
+        if (day < 10) {
+            sb.append(' ');
+        }
+        sb.append(day).append(' ');
+        appendPadded(sb, hour, 2);
+        sb.append(':');
+        appendPadded(sb, minute, 2);
+        sb.append(':');
+        appendPadded(sb, second, 2);
+        sb.append(' ');
+        appendPadded(sb, year, 4);
+        return sb.toString();
+    }
+
+    /**
+     * Returns whether the format contains the given directive, taking {@code %%} escapes into
+     * account.
+     */
+    public static boolean hasDirective(String format, char directive) {
+        int i = format.indexOf('%');
+        while (i >= 0 && i + 1 < format.length()) {
+            char c = format.charAt(i + 1);
+            if (c == directive) {
+                return true;
+            }
+            i = format.indexOf('%', c == '%' ? i + 2 : i + 1);
+        }
+        return false;
+    }
+
+    /**
+     * Formats the given fields like {@code strftime} in the C locale. The replacements for
+     * {@code %z} and {@code %Z} are computed by the caller since they involve calls to the tzinfo.
+     * Unknown directives are copied to the output unchanged.
+     */
+    public static String strftime(String format, int year, int month, int day, int hour, int minute, int second, int microsecond, String zReplacement, String bigZReplacement) {
+        StringBuilder sb = new StringBuilder(format.length() + 16);
+        int len = format.length();
+        int i = 0;
+        while (i < len) {
+            char c = format.charAt(i++);
+            if (c != '%' || i == len) {
+                sb.append(c);
+                continue;
+            }
+            boolean pad = true;
+            char d = format.charAt(i++);
+            if (d == '-' && i < len) {
+                pad = false;
+                d = format.charAt(i++);
+            }
+            switch (d) {
+                case 'a':
+                    sb.append(DAY_NAMES[weekday(year, month, day)]);
+                    break;
+                case 'A':
+                    sb.append(FULL_DAY_NAMES[weekday(year, month, day)]);
+                    break;
+                case 'b':
+                case 'h':
+                    sb.append(MONTH_NAMES[month]);
+                    break;
+                case 'B':
+                    sb.append(FULL_MONTH_NAMES[month]);
+                    break;
+                case 'c':
+                    sb.append(DAY_NAMES[weekday(year, month, day)]).append(' ').append(MONTH_NAMES[month]).append(' ');
+                    appendNumber(sb, day, 2, true, ' ');
+                    sb.append(' ');
+                    appendHms(sb, hour, minute, second);
+                    sb.append(' ').append(year);
+                    break;
+                case 'C':
+                    appendNumber(sb, year / 100, 2, pad, '0');
+                    break;
+                case 'd':
+                    appendNumber(sb, day, 2, pad, '0');
+                    break;
+                case 'D':
+                    appendMdy(sb, year, month, day);
+                    break;
+                case 'e':
+                    appendNumber(sb, day, 2, pad, ' ');
+                    break;
+                case 'f':
+                    appendNumber(sb, microsecond, 6, pad, '0');
+                    break;
+                case 'F':
+                    appendIsoDate(sb, year, month, day);
+                    break;
+                case 'G':
+                    sb.append(isoCalendar(year, month, day)[0]);
+                    break;
+                case 'g':
+                    appendNumber(sb, isoCalendar(year, month, day)[0] % 100, 2, pad, '0');
+                    break;
+                case 'H':
+                    appendNumber(sb, hour, 2, pad, '0');
+                    break;
+                case 'I':
+                    appendNumber(sb, hour % 12 == 0 ? 12 : hour % 12, 2, pad, '0');
+                    break;
+                case 'j':
+                    appendNumber(sb, dayOfYear(year, month, day), 3, pad, '0');
+                    break;
+                case 'k':
+                    appendNumber(sb, hour, 2, pad, ' ');
+                    break;
+                case 'l':
+                    appendNumber(sb, hour % 12 == 0 ? 12 : hour % 12, 2, pad, ' ');
+                    break;
+                case 'm':
+                    appendNumber(sb, month, 2, pad, '0');
+                    break;
+                case 'M':
+                    appendNumber(sb, minute, 2, pad, '0');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'p':
+                    sb.append(hour < 12 ? "AM" : "PM");
+                    break;
+                case 'r':
+                    appendNumber(sb, hour % 12 == 0 ? 12 : hour % 12, 2, true, '0');
+                    sb.append(':');
+                    appendNumber(sb, minute, 2, true, '0');
+                    sb.append(':');
+                    appendNumber(sb, second, 2, true, '0');
+                    sb.append(hour < 12 ? " AM" : " PM");
+                    break;
+                case 'R':
+                    appendNumber(sb, hour, 2, true, '0');
+                    sb.append(':');
+                    appendNumber(sb, minute, 2, true, '0');
+                    break;
+                case 'S':
+                    appendNumber(sb, second, 2, pad, '0');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'T':
+                case 'X':
+                    appendHms(sb, hour, minute, second);
+                    break;
+                case 'u':
+                    sb.append(weekday(year, month, day) + 1);
+                    break;
+                case 'U': {
+                    int sundayWeekday = (weekday(year, month, day) + 1) % 7;
+                    appendNumber(sb, (dayOfYear(year, month, day) - 1 - sundayWeekday + 7) / 7, 2, pad, '0');
+                    break;
+                }
+                case 'V':
+                    appendNumber(sb, isoCalendar(year, month, day)[1], 2, pad, '0');
+                    break;
+                case 'w':
+                    sb.append((weekday(year, month, day) + 1) % 7);
+                    break;
+                case 'W':
+                    appendNumber(sb, (dayOfYear(year, month, day) - 1 - weekday(year, month, day) + 7) / 7, 2, pad, '0');
+                    break;
+                case 'x':
+                    appendMdy(sb, year, month, day);
+                    break;
+                case 'y':
+                    appendNumber(sb, year % 100, 2, pad, '0');
+                    break;
+                case 'Y':
+                    sb.append(year);
+                    break;
+                case 'z':
+                    sb.append(zReplacement);
+                    break;
+                case 'Z':
+                    sb.append(bigZReplacement);
+                    break;
+                case '%':
+                    sb.append('%');
+                    break;
+                default:
+                    sb.append('%');
+                    if (!pad) {
+                        sb.append('-');
+                    }
+                    sb.append(d);
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void appendNumber(StringBuilder sb, int value, int width, boolean pad, char padChar) {
+        if (pad) {
+            for (int n = value == 0 ? 1 : (int) Math.log10(value) + 1; n < width; n++) {
+                sb.append(padChar);
+            }
+        }
+        sb.append(value);
+    }
+
+    private static void appendHms(StringBuilder sb, int hour, int minute, int second) {
+        appendPadded(sb, hour, 2);
+        sb.append(':');
+        appendPadded(sb, minute, 2);
+        sb.append(':');
+        appendPadded(sb, second, 2);
+    }
+
+    private static void appendMdy(StringBuilder sb, int year, int month, int day) {
+        appendPadded(sb, month, 2);
+        sb.append('/');
+        appendPadded(sb, day, 2);
+        sb.append('/');
+        appendPadded(sb, year % 100, 2);
+    }
+
+    // parsing
+
+    private static int parseDigits(String s, int pos, int count) {
+        int value = 0;
+        for (int i = pos; i < pos + count; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Parses {@code YYYY-MM-DD} at the start of the string, returns {@code {year, month, day}} or
+     * {@code null}. The fields are not range checked.
+     */
+    public static int[] parseIsoDate(String s) {
+        if (s.length() < 10 || s.charAt(4) != '-' || s.charAt(7) != '-') {
+            return null;
+        }
+        int year = parseDigits(s, 0, 4);
+        int month = parseDigits(s, 5, 2);
+        int day = parseDigits(s, 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        return new int[]{year, month, day};
+    }
+
+    /**
+     * Parses {@code HH[:MM[:SS[.fff[fff]]]][+HH:MM[:SS[.ffffff]]]} in {@code s[start:]}. Returns
+     * {@code {hour, minute, second, microsecond, hasOffset, offsetSeconds, offsetMicroseconds}}
+     * or {@code null}. The time fields are not range checked.
+     */
+    public static int[] parseIsoTime(String s, int start) {
+        int end = s.length();
+        int tzPos = start;
+        while (tzPos < end && s.charAt(tzPos) != '+' && s.charAt(tzPos) != '-') {
+            tzPos++;
+        }
+        int[] result = new int[7];
+        if (!parseHhMmSsFf(s, start, tzPos, result)) {
+            return null;
+        }
+        if (tzPos < end) {
+            int tzLen = end - tzPos;
+            if (tzLen != 6 && tzLen != 9 && tzLen != 16) {
+                return null;
+            }
+            int[] tz = new int[4];
+            if (!parseHhMmSsFf(s, tzPos + 1, end, tz)) {
+                return null;
+            }
+            int sign = s.charAt(tzPos) == '-' ? -1 : 1;
+            result[4] = 1;
+            result[5] = sign * (tz[0] * 3600 + tz[1] * 60 + tz[2]);
+            result[6] = sign * tz[3];
+        }
+        return result;
+    }
+
+    private static boolean parseHhMmSsFf(String s, int start, int end, int[] out) {
+        int pos = start;
+        for (int i = 0; i < 3; i++) {
+            if (end - pos < 2) {
+                return false;
+            }
+            out[i] = parseDigits(s, pos, 2);
+            if (out[i] < 0) {
+                return false;
+            }
+            pos += 2;
+            if (pos == end) {
+                return true;
+            }
+            char c = s.charAt(pos++);
+            if (c == ':' && i < 2) {
+                continue;
+            } else if (c == '.' && i == 2) {
+                break;
+            }
+            return false;
+        }
+        int remaining = end - pos;
+        if (remaining != 3 && remaining != 6) {
+            return false;
+        }
+        int us = parseDigits(s, pos, remaining);
+        if (us < 0) {
+            return false;
+        }
+        out[3] = remaining == 3 ? us * 1000 : us;
+        return true;
+    }
+
+    // hashing
+
+    /** Combines four small integers into a hash, using the same mixing as tuple hashes. */
+    public static long hashFields(long a, long b, long c, long d) {
+        long multiplier = 0xf4243;
+        long hash = 0x345678;
+        hash = (hash ^ intHash(a)) * multiplier;
+        multiplier += 82520 + 8;
+        hash = (hash ^ intHash(b)) * multiplier;
+        multiplier += 82520 + 8;
+        hash = (hash ^ intHash(c)) * multiplier;
+        multiplier += 82520 + 8;
+        hash = (hash ^ intHash(d)) * multiplier;
+        hash += 97531;
+        if (hash == -1) {
+            hash = -2;
+        }
+        return hash;
+    }
+
+    private static long intHash(long value) {
+        return value == -1 ? -2 : value;
+    }
+}
@@ -0,0 +1,528 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.datetime;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___FORMAT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE_EX__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___STR__;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.AsTimeNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.CheckTzInfoNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.NewTimeNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.NewTimeSubclassNode;
+import com.oracle.graal.python.lib.PyLongAsIntNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.lib.PyObjectStrAsObjectNode;
+import com.oracle.graal.python.lib.PyUnicodeCheckNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.ComparisonOp;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PTime)
+public final class TimeBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return TimeBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        PythonObjectFactory factory = core.factory();
+        addBuiltinConstant("min", factory.createTime(PythonBuiltinClassType.PTime, 0, 0, 0, 0, PNone.NONE, 0));
+        addBuiltinConstant("max", factory.createTime(PythonBuiltinClassType.PTime, 23, 59, 59, 999999, PNone.NONE, 0));
+        addBuiltinConstant("resolution", factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, 0, 0, 1));
+    }
+
+    @Builtin(name = "hour", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class HourNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeNode asTimeNode) {
+            return asTimeNode.execute(inliningTarget, self).getHour();
+        }
+    }
+
+    @Builtin(name = "minute", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MinuteNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeNode asTimeNode) {
+            return asTimeNode.execute(inliningTarget, self).getMinute();
+        }
+    }
+
+    @Builtin(name = "second", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class SecondNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeNode asTimeNode) {
+            return asTimeNode.execute(inliningTarget, self).getSecond();
+        }
+    }
+
+    @Builtin(name = "microsecond", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MicrosecondNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeNode asTimeNode) {
+            return asTimeNode.execute(inliningTarget, self).getMicrosecond();
+        }
+    }
+
+    @Builtin(name = "tzinfo", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class TzInfoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeNode asTimeNode) {
+            return asTimeNode.execute(inliningTarget, self).getTzInfo();
+        }
+    }
+
+    @Builtin(name = "fold", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class FoldNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeNode asTimeNode) {
+            return asTimeNode.execute(inliningTarget, self).getFold();
+        }
+    }
+
+    @Builtin(name = "utcoffset", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class UtcOffsetNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object utcoffset(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeNode asTimeNode) {
+            return DateTimeNodes.utcOffset(inliningTarget, asTimeNode.execute(inliningTarget, self).getTzInfo(), PNone.NONE);
+        }
+    }
+
+    @Builtin(name = "dst", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class DstNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object dst(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeNode asTimeNode) {
+            return DateTimeNodes.dst(inliningTarget, asTimeNode.execute(inliningTarget, self).getTzInfo(), PNone.NONE);
+        }
+    }
+
+    @Builtin(name = "tzname", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class TzNameNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object tzname(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeNode asTimeNode) {
+            return DateTimeNodes.tzName(inliningTarget, asTimeNode.execute(inliningTarget, self).getTzInfo(), PNone.NONE);
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString repr(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeNode asTimeNode) {
+            return doRepr(self, asTimeNode.execute(inliningTarget, self));
+        }
+
+        @TruffleBoundary
+        private static TruffleString doRepr(Object self, PTime time) {
+            StringBuilder sb = new StringBuilder(DateTimeNodes.typeName(self)).append('(');
+            sb.append(time.getHour()).append(", ").append(time.getMinute());
+            if (time.getSecond() != 0 || time.getMicrosecond() != 0) {
+                sb.append(", ").append(time.getSecond());
+            }
+            if (time.getMicrosecond() != 0) {
+                sb.append(", ").append(time.getMicrosecond());
+            }
+            appendTzInfoAndFold(sb, time.getTzInfo(), time.getFold());
+            return toTruffleStringUncached(sb.append(')').toString());
+        }
+    }
+
+    @TruffleBoundary
+    static void appendTzInfoAndFold(StringBuilder sb, Object tzInfo, int fold) {
+        if (tzInfo != PNone.NONE) {
+            sb.append(", tzinfo=").append(PyObjectReprAsTruffleStringNode.executeUncached(tzInfo).toJavaStringUncached());
+        }
+        if (fold != 0) {
+            sb.append(", fold=1");
+        }
+    }
+
+    @Builtin(name = "isoformat", minNumOfPositionalArgs = 1, parameterNames = {"$self", "timespec"})
+    @GenerateNodeFactory
+    abstract static class IsoFormatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static TruffleString isoformat(Object self, Object timespec,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeNode asTimeNode) {
+            PTime time = asTimeNode.execute(inliningTarget, self);
+            int spec = parseTimespec(inliningTarget, timespec);
+            return format(inliningTarget, time, spec);
+        }
+
+        @TruffleBoundary
+        private static TruffleString format(Node inliningTarget, PTime time, int timespec) {
+            StringBuilder sb = new StringBuilder(32);
+            DateTimeUtils.appendIsoTime(sb, time.getHour(), time.getMinute(), time.getSecond(), time.getMicrosecond(), timespec);
+            sb.append(DateTimeNodes.formatUtcOffset(inliningTarget, time.getTzInfo(), PNone.NONE, ":"));
+            return toTruffleStringUncached(sb.toString());
+        }
+    }
+
+    /**
+     * Parses the {@code timespec} argument of {@code isoformat}, which defaults to {@code 'auto'}.
+     */
+    static int parseTimespec(Node inliningTarget, Object timespec) {
+        if (timespec == PNone.NO_VALUE) {
+            return DateTimeUtils.TIMESPEC_AUTO;
+        }
+        int spec = DateTimeUtils.parseTimespec(DateTimeNodes.castToJavaString(inliningTarget, timespec, "isoformat"));
+        if (spec < 0) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.UNKNOWN_TIMESPEC_VALUE);
+        }
+        return spec;
+    }
+
+    @Builtin(name = J___STR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class StrNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object str(VirtualFrame frame, Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectCallMethodObjArgs callMethod) {
+            return callMethod.execute(frame, inliningTarget, self, DateTimeNodes.T_ISOFORMAT);
+        }
+    }
+
+    @Builtin(name = "strftime", minNumOfPositionalArgs = 2, parameterNames = {"$self", "format"})
+    @GenerateNodeFactory
+    abstract static class StrFTimeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static TruffleString strftime(Object self, Object format,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeNode asTimeNode) {
+            PTime time = asTimeNode.execute(inliningTarget, self);
+            String fmt = DateTimeNodes.castToJavaString(inliningTarget, format, "strftime");
+            // like CPython, use 1900-01-01 for the date directives
+            return toTruffleStringUncached(DateTimeNodes.strftime(inliningTarget, fmt, 1900, 1, 1, time.getHour(), time.getMinute(), time.getSecond(), time.getMicrosecond(),
+                            time.getTzInfo(), PNone.NONE));
+        }
+    }
+
+    @Builtin(name = J___FORMAT__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "format_spec"})
+    @GenerateNodeFactory
+    abstract static class FormatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object format(VirtualFrame frame, Object self, Object format,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectStrAsObjectNode strNode,
+                        @Cached PyObjectCallMethodObjArgs callMethod) {
+            if (DateTimeNodes.castToJavaString(inliningTarget, format, J___FORMAT__).isEmpty()) {
+                return strNode.execute(frame, inliningTarget, self);
+            }
+            return callMethod.execute(frame, inliningTarget, self, DateTimeNodes.T_STRFTIME, format);
+        }
+    }
+
+    @Builtin(name = J___HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long hash(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeNode asTimeNode) {
+            PTime time = asTimeNode.execute(inliningTarget, self);
+            Object offset = DateTimeNodes.utcOffset(inliningTarget, time.getTzInfo(), PNone.NONE);
+            if (offset == PNone.NONE) {
+                return DateTimeUtils.hashFields(time.getHour(), time.getMinute(), time.getSecond(), time.getMicrosecond());
+            }
+            // hash the time in UTC, which may be outside of [0, 24h) and so is hashed as a delta
+            PTimeDelta delta = (PTimeDelta) offset;
+            long seconds = time.getHour() * 3600L + time.getMinute() * 60L + time.getSecond();
+            long[] utc = DateTimeUtils.normalizeDelta(-(long) delta.getDays(), seconds - delta.getSeconds(), (long) time.getMicrosecond() - delta.getMicroseconds());
+            return DateTimeUtils.hashFields(utc[0], utc[1], utc[2], 0);
+        }
+    }
+
+    abstract static class TimeCompareNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object compare(Object self, Object other,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeNode asSelfNode,
+                        @Cached AsTimeNode asOtherNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            PTime otherTime = asOtherNode.execute(inliningTarget, other);
+            if (otherTime == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            PTime time = asSelfNode.execute(inliningTarget, self);
+            if (time.getTzInfo() == otherTime.getTzInfo()) {
+                return getOp().cmpResultToBool(time.compareFieldsTo(otherTime));
+            }
+            Object offset1 = DateTimeNodes.utcOffset(inliningTarget, time.getTzInfo(), PNone.NONE);
+            Object offset2 = DateTimeNodes.utcOffset(inliningTarget, otherTime.getTzInfo(), PNone.NONE);
+            if (offset1 == offset2 || (offset1 instanceof PTimeDelta delta1 && offset2 instanceof PTimeDelta delta2 && delta1.compareTo(delta2) == 0)) {
+                return getOp().cmpResultToBool(time.compareFieldsTo(otherTime));
+            } else if (offset1 instanceof PTimeDelta delta1 && offset2 instanceof PTimeDelta delta2) {
+                // like CPython, this ignores the microseconds of the offsets
+                long seconds1 = time.getHour() * 3600L + time.getMinute() * 60L + time.getSecond() - delta1.getDays() * 86400L - delta1.getSeconds();
+                long seconds2 = otherTime.getHour() * 3600L + otherTime.getMinute() * 60L + otherTime.getSecond() - delta2.getDays() * 86400L - delta2.getSeconds();
+                int result = Long.compare(seconds1, seconds2);
+                if (result == 0) {
+                    result = Integer.compare(time.getMicrosecond(), otherTime.getMicrosecond());
+                }
+                return getOp().cmpResultToBool(result);
+            } else if (getOp().isEqualityOp()) {
+                return getOp() == ComparisonOp.NE;
+            }
+            throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.CANT_COMPARE_NAIVE_AND_AWARE_S, "times");
+        }
+
+        protected abstract ComparisonOp getOp();
+    }
+
+    @Builtin(name = J___EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends TimeCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.EQ;
+        }
+    }
+
+    @Builtin(name = J___NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends TimeCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.NE;
+        }
+    }
+
+    @Builtin(name = J___LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends TimeCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.LT;
+        }
+    }
+
+    @Builtin(name = J___LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends TimeCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.LE;
+        }
+    }
+
+    @Builtin(name = J___GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends TimeCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.GT;
+        }
+    }
+
+    @Builtin(name = J___GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends TimeCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.GE;
+        }
+    }
+
+    @Builtin(name = "replace", minNumOfPositionalArgs = 1, parameterNames = {"$self", "hour", "minute", "second", "microsecond", "tzinfo"}, keywordOnlyNames = {"fold"})
+    @GenerateNodeFactory
+    abstract static class ReplaceNode extends PythonBuiltinNode {
+        @Specialization
+        static Object replace(VirtualFrame frame, Object self, Object hourObj, Object minuteObj, Object secondObj, Object microsecondObj, Object tzInfoObj, Object foldObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeNode asTimeNode,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached CheckTzInfoNode checkTzInfoNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached NewTimeNode newTimeNode) {
+            PTime time = asTimeNode.execute(inliningTarget, self);
+            int hour = hourObj == PNone.NO_VALUE ? time.getHour() : asIntNode.execute(frame, inliningTarget, hourObj);
+            int minute = minuteObj == PNone.NO_VALUE ? time.getMinute() : asIntNode.execute(frame, inliningTarget, minuteObj);
+            int second = secondObj == PNone.NO_VALUE ? time.getSecond() : asIntNode.execute(frame, inliningTarget, secondObj);
+            int microsecond = microsecondObj == PNone.NO_VALUE ? time.getMicrosecond() : asIntNode.execute(frame, inliningTarget, microsecondObj);
+            Object tzInfo = tzInfoObj == PNone.NO_VALUE ? time.getTzInfo() : tzInfoObj;
+            int fold = foldObj == PNone.NO_VALUE ? time.getFold() : asIntNode.execute(frame, inliningTarget, foldObj);
+            DateTimeNodes.checkTimeFields(inliningTarget, hour, minute, second, microsecond, fold);
+            checkTzInfoNode.execute(inliningTarget, tzInfo);
+            return newTimeNode.execute(inliningTarget, getClassNode.execute(inliningTarget, self), hour, minute, second, microsecond, tzInfo, fold);
+        }
+    }
+
+    @Builtin(name = J___REDUCE_EX__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "protocol"})
+    @GenerateNodeFactory
+    abstract static class ReduceExNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object reduceEx(VirtualFrame frame, Object self, Object protocol,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached AsTimeNode asTimeNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached PythonObjectFactory factory) {
+            return reduce(factory, getClassNode.execute(inliningTarget, self), asTimeNode.execute(inliningTarget, self), asIntNode.execute(frame, inliningTarget, protocol));
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object reduce(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeNode asTimeNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached PythonObjectFactory factory) {
+            return TimeBuiltins.reduce(factory, getClassNode.execute(inliningTarget, self), asTimeNode.execute(inliningTarget, self), 2);
+        }
+    }
+
+    /**
+     * Creates the pickle state {@code (cls, (bytes[, tzinfo]))}. The fold is only stored for
+     * protocols above 3, in the high bit of the hour.
+     */
+    private static Object reduce(PythonObjectFactory factory, Object cls, PTime time, int protocol) {
+        byte[] state = new byte[6];
+        state[0] = (byte) (time.getHour() | (protocol > 3 && time.getFold() != 0 ? 0x80 : 0));
+        state[1] = (byte) time.getMinute();
+        state[2] = (byte) time.getSecond();
+        state[3] = (byte) (time.getMicrosecond() >> 16);
+        state[4] = (byte) (time.getMicrosecond() >> 8);
+        state[5] = (byte) time.getMicrosecond();
+        Object[] args;
+        if (time.getTzInfo() == PNone.NONE) {
+            args = new Object[]{factory.createBytes(state)};
+        } else {
+            args = new Object[]{factory.createBytes(state), time.getTzInfo()};
+        }
+        return factory.createTuple(new Object[]{cls, factory.createTuple(args)});
+    }
+
+    @Builtin(name = "fromisoformat", minNumOfPositionalArgs = 2, isClassmethod = true, parameterNames = {"$cls", "time_string"})
+    @GenerateNodeFactory
+    abstract static class FromIsoFormatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object fromisoformat(Object cls, Object timeString,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached NewTimeSubclassNode newTimeNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (!unicodeCheckNode.execute(inliningTarget, timeString)) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.FROMISOFORMAT_ARGUMENT_MUST_BE_STR);
+            }
+            int[] fields = DateTimeUtils.parseIsoTime(DateTimeNodes.castToJavaString(inliningTarget, timeString, "fromisoformat"), 0);
+            if (fields == null) {
+                throw DateBuiltins.raiseInvalidIsoFormat(inliningTarget, timeString);
+            }
+            DateTimeNodes.checkTimeFields(inliningTarget, fields[0], fields[1], fields[2], fields[3], 0);
+            Object tzInfo = fields[4] != 0 ? DateTimeNodes.createParsedTimeZone(inliningTarget, factory, fields[5], fields[6]) : PNone.NONE;
+            return newTimeNode.execute(inliningTarget, cls, fields[0], fields[1], fields[2], fields[3], tzInfo, 0);
+        }
+    }
+}
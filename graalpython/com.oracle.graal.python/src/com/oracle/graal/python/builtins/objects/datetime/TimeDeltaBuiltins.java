@@ -0,0 +1,617 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.datetime;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OverflowError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ZeroDivisionError;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ABS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___BOOL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___DIVMOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___FLOORDIV__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___MOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___MUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NEG__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___POS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RDIVMOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RFLOORDIV__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RMOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RMUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RSUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RTRUEDIV__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___STR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___SUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___TRUEDIV__;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.AsTimeDeltaNode;
+import com.oracle.graal.python.lib.PyFloatAsDoubleNode;
+import com.oracle.graal.python.lib.PyFloatCheckNode;
+import com.oracle.graal.python.lib.PyLongCheckNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.ComparisonOp;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PTimeDelta)
+public final class TimeDeltaBuiltins extends PythonBuiltins {
+
+    private static final TruffleString T_INTEGER = tsLiteral("integer");
+    private static final BigInteger US_PER_SECOND = BigInteger.valueOf(DateTimeUtils.US_PER_SECOND);
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return TimeDeltaBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        PythonObjectFactory factory = core.factory();
+        addBuiltinConstant("min", factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, -DateTimeUtils.MAX_DELTA_DAYS, 0, 0));
+        addBuiltinConstant("max", factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, DateTimeUtils.MAX_DELTA_DAYS, DateTimeUtils.SECONDS_PER_DAY - 1,
+                        (int) DateTimeUtils.US_PER_SECOND - 1));
+        addBuiltinConstant("resolution", factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, 0, 0, 1));
+    }
+
+    @TruffleBoundary
+    static BigInteger toMicroseconds(PTimeDelta delta) {
+        return DateTimeUtils.deltaToMicroseconds(delta.getDays(), delta.getSeconds(), delta.getMicroseconds());
+    }
+
+    @TruffleBoundary
+    private static PException raiseDivisionByZero(Node inliningTarget) {
+        throw PRaiseNode.raiseUncached(inliningTarget, ZeroDivisionError, ErrorMessages.S_DIVISION_OR_MODULO_BY_ZERO, T_INTEGER);
+    }
+
+    @Builtin(name = "days", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class DaysNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode) {
+            return asTimeDeltaNode.execute(inliningTarget, self).getDays();
+        }
+    }
+
+    @Builtin(name = "seconds", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class SecondsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode) {
+            return asTimeDeltaNode.execute(inliningTarget, self).getSeconds();
+        }
+    }
+
+    @Builtin(name = "microseconds", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MicrosecondsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode) {
+            return asTimeDeltaNode.execute(inliningTarget, self).getMicroseconds();
+        }
+    }
+
+    @Builtin(name = "total_seconds", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class TotalSecondsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static double get(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode) {
+            return totalSeconds(asTimeDeltaNode.execute(inliningTarget, self));
+        }
+
+        @TruffleBoundary
+        private static double totalSeconds(PTimeDelta delta) {
+            return DateTimeUtils.trueDivide(toMicroseconds(delta), US_PER_SECOND);
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString repr(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode) {
+            return doRepr(self, asTimeDeltaNode.execute(inliningTarget, self));
+        }
+
+        @TruffleBoundary
+        private static TruffleString doRepr(Object self, PTimeDelta delta) {
+            String args = DateTimeUtils.formatTimeDeltaArgs(delta.getDays(), delta.getSeconds(), delta.getMicroseconds());
+            return toTruffleStringUncached(DateTimeNodes.typeName(self) + "(" + args + ")");
+        }
+    }
+
+    @Builtin(name = J___STR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class StrNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString str(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode) {
+            return doStr(asTimeDeltaNode.execute(inliningTarget, self));
+        }
+
+        @TruffleBoundary
+        private static TruffleString doStr(PTimeDelta delta) {
+            return toTruffleStringUncached(DateTimeUtils.formatTimeDelta(delta.getDays(), delta.getSeconds(), delta.getMicroseconds()));
+        }
+    }
+
+    @Builtin(name = J___HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long hash(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode) {
+            PTimeDelta delta = asTimeDeltaNode.execute(inliningTarget, self);
+            return DateTimeUtils.hashFields(delta.getDays(), delta.getSeconds(), delta.getMicroseconds(), 0);
+        }
+    }
+
+    @Builtin(name = J___BOOL__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class BoolNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean bool(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode) {
+            return !asTimeDeltaNode.execute(inliningTarget, self).isZero();
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object reduce(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached PythonObjectFactory factory) {
+            PTimeDelta delta = asTimeDeltaNode.execute(inliningTarget, self);
+            Object args = factory.createTuple(new Object[]{delta.getDays(), delta.getSeconds(), delta.getMicroseconds()});
+            return factory.createTuple(new Object[]{getClassNode.execute(inliningTarget, self), args});
+        }
+    }
+
+    abstract static class TimeDeltaCompareNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object compare(Object self, Object other,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asSelfNode,
+                        @Cached AsTimeDeltaNode asOtherNode) {
+            PTimeDelta otherDelta = asOtherNode.execute(inliningTarget, other);
+            if (otherDelta == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            return getOp().cmpResultToBool(asSelfNode.execute(inliningTarget, self).compareTo(otherDelta));
+        }
+
+        protected abstract ComparisonOp getOp();
+    }
+
+    @Builtin(name = J___EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends TimeDeltaCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.EQ;
+        }
+    }
+
+    @Builtin(name = J___NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends TimeDeltaCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.NE;
+        }
+    }
+
+    @Builtin(name = J___LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends TimeDeltaCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.LT;
+        }
+    }
+
+    @Builtin(name = J___LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends TimeDeltaCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.LE;
+        }
+    }
+
+    @Builtin(name = J___GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends TimeDeltaCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.GT;
+        }
+    }
+
+    @Builtin(name = J___GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends TimeDeltaCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.GE;
+        }
+    }
+
+    @Builtin(name = J___ADD__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RADD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class AddNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object add(Object left, Object right,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asLeftNode,
+                        @Cached AsTimeDeltaNode asRightNode,
+                        @Cached PythonObjectFactory factory) {
+            PTimeDelta a = asLeftNode.execute(inliningTarget, left);
+            PTimeDelta b = asRightNode.execute(inliningTarget, right);
+            if (a == null || b == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            return DateTimeNodes.createTimeDelta(inliningTarget, factory, (long) a.getDays() + b.getDays(), (long) a.getSeconds() + b.getSeconds(),
+                            (long) a.getMicroseconds() + b.getMicroseconds());
+        }
+    }
+
+    @Builtin(name = J___SUB__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RSUB__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class SubNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object sub(Object left, Object right,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asLeftNode,
+                        @Cached AsTimeDeltaNode asRightNode,
+                        @Cached PythonObjectFactory factory) {
+            PTimeDelta a = asLeftNode.execute(inliningTarget, left);
+            PTimeDelta b = asRightNode.execute(inliningTarget, right);
+            if (a == null || b == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            return DateTimeNodes.createTimeDelta(inliningTarget, factory, (long) a.getDays() - b.getDays(), (long) a.getSeconds() - b.getSeconds(),
+                            (long) a.getMicroseconds() - b.getMicroseconds());
+        }
+    }
+
+    @Builtin(name = J___NEG__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class NegNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object neg(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode,
+                        @Cached PythonObjectFactory factory) {
+            PTimeDelta delta = asTimeDeltaNode.execute(inliningTarget, self);
+            return DateTimeNodes.createTimeDelta(inliningTarget, factory, -(long) delta.getDays(), -delta.getSeconds(), -delta.getMicroseconds());
+        }
+    }
+
+    @Builtin(name = J___POS__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class PosNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object pos(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode,
+                        @Cached PythonObjectFactory factory) {
+            PTimeDelta delta = asTimeDeltaNode.execute(inliningTarget, self);
+            return factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, delta.getDays(), delta.getSeconds(), delta.getMicroseconds());
+        }
+    }
+
+    @Builtin(name = J___ABS__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AbsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object abs(Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode,
+                        @Cached PythonObjectFactory factory) {
+            PTimeDelta delta = asTimeDeltaNode.execute(inliningTarget, self);
+            if (delta.getDays() < 0) {
+                return DateTimeNodes.createTimeDelta(inliningTarget, factory, -(long) delta.getDays(), -delta.getSeconds(), -delta.getMicroseconds());
+            }
+            return factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, delta.getDays(), delta.getSeconds(), delta.getMicroseconds());
+        }
+    }
+
+    @Builtin(name = J___MUL__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RMUL__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class MulNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object mul(VirtualFrame frame, Object left, Object right,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asTimeDeltaNode,
+                        @Cached PyLongCheckNode longCheckNode,
+                        @Cached PyFloatCheckNode floatCheckNode,
+                        @Cached PyFloatAsDoubleNode asDoubleNode,
+                        @Cached PythonObjectFactory factory) {
+            PTimeDelta delta = asTimeDeltaNode.execute(inliningTarget, left);
+            Object other = right;
+            if (delta == null) {
+                delta = asTimeDeltaNode.execute(inliningTarget, right);
+                other = left;
+            }
+            if (delta == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            if (other instanceof Integer i) {
+                try {
+                    long micros = DateTimeUtils.deltaToMicrosecondsExact(delta.getDays(), delta.getSeconds(), delta.getMicroseconds());
+                    return DateTimeNodes.createTimeDelta(inliningTarget, factory, 0, 0, Math.multiplyExact(micros, i));
+                } catch (ArithmeticException e) {
+                    // fall through to the arbitrary precision path
+                }
+            }
+            if (longCheckNode.execute(inliningTarget, other)) {
+                return multiplyInt(inliningTarget, factory, delta, other);
+            } else if (floatCheckNode.execute(inliningTarget, other)) {
+                return multiplyFloat(inliningTarget, factory, delta, asDoubleNode.execute(frame, inliningTarget, other), false);
+            }
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        @TruffleBoundary
+        private static PTimeDelta multiplyInt(Node inliningTarget, PythonObjectFactory factory, PTimeDelta delta, Object factor) {
+            return DateTimeNodes.createTimeDelta(inliningTarget, factory, toMicroseconds(delta).multiply(DateTimeNodes.toBigInteger(factor)));
+        }
+    }
+
+    /**
+     * Multiplies or divides the delta by a float, rounding the result to the nearest microsecond
+     * like CPython's {@code multiply_truedivide_timedelta_float}.
+     */
+    @TruffleBoundary
+    static PTimeDelta multiplyFloat(Node inliningTarget, PythonObjectFactory factory, PTimeDelta delta, double value, boolean divide) {
+        if (Double.isNaN(value)) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.CANNOT_CONVERT_S_TO_INT_RATIO, "NaN");
+        } else if (Double.isInfinite(value)) {
+            throw PRaiseNode.raiseUncached(inliningTarget, OverflowError, ErrorMessages.CANNOT_CONVERT_S_TO_INT_RATIO, "Infinity");
+        }
+        BigInteger[] ratio = DateTimeUtils.asIntegerRatio(value);
+        BigInteger numerator = ratio[divide ? 1 : 0];
+        BigInteger denominator = ratio[divide ? 0 : 1];
+        if (denominator.signum() == 0) {
+            throw raiseDivisionByZero(inliningTarget);
+        }
+        return DateTimeNodes.createTimeDelta(inliningTarget, factory, DateTimeUtils.divideNearest(toMicroseconds(delta).multiply(numerator), denominator));
+    }
+
+    @Builtin(name = J___TRUEDIV__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RTRUEDIV__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class TrueDivNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object div(VirtualFrame frame, Object left, Object right,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asLeftNode,
+                        @Cached AsTimeDeltaNode asRightNode,
+                        @Cached PyLongCheckNode longCheckNode,
+                        @Cached PyFloatCheckNode floatCheckNode,
+                        @Cached PyFloatAsDoubleNode asDoubleNode,
+                        @Cached PythonObjectFactory factory) {
+            PTimeDelta a = asLeftNode.execute(inliningTarget, left);
+            if (a == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            PTimeDelta b = asRightNode.execute(inliningTarget, right);
+            if (b != null) {
+                return divideDeltas(inliningTarget, a, b);
+            } else if (longCheckNode.execute(inliningTarget, right)) {
+                return divideInt(inliningTarget, factory, a, right);
+            } else if (floatCheckNode.execute(inliningTarget, right)) {
+                return multiplyFloat(inliningTarget, factory, a, asDoubleNode.execute(frame, inliningTarget, right), true);
+            }
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        @TruffleBoundary
+        private static double divideDeltas(Node inliningTarget, PTimeDelta a, PTimeDelta b) {
+            if (b.isZero()) {
+                throw PRaiseNode.raiseUncached(inliningTarget, ZeroDivisionError, ErrorMessages.DIVISION_BY_ZERO);
+            }
+            return DateTimeUtils.trueDivide(toMicroseconds(a), toMicroseconds(b));
+        }
+
+        @TruffleBoundary
+        private static PTimeDelta divideInt(Node inliningTarget, PythonObjectFactory factory, PTimeDelta delta, Object divisor) {
+            BigInteger value = DateTimeNodes.toBigInteger(divisor);
+            if (value.signum() == 0) {
+                throw raiseDivisionByZero(inliningTarget);
+            }
+            return DateTimeNodes.createTimeDelta(inliningTarget, factory, DateTimeUtils.divideNearest(toMicroseconds(delta), value));
+        }
+    }
+
+    @Builtin(name = J___FLOORDIV__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RFLOORDIV__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class FloorDivNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object div(Object left, Object right,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asLeftNode,
+                        @Cached AsTimeDeltaNode asRightNode,
+                        @Cached PyLongCheckNode longCheckNode,
+                        @Cached PythonObjectFactory factory) {
+            PTimeDelta a = asLeftNode.execute(inliningTarget, left);
+            if (a == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            PTimeDelta b = asRightNode.execute(inliningTarget, right);
+            if (b != null) {
+                return divideDeltas(inliningTarget, factory, a, b);
+            } else if (longCheckNode.execute(inliningTarget, right)) {
+                return divideInt(inliningTarget, factory, a, right);
+            }
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        @TruffleBoundary
+        private static Object divideDeltas(Node inliningTarget, PythonObjectFactory factory, PTimeDelta a, PTimeDelta b) {
+            if (b.isZero()) {
+                throw raiseDivisionByZero(inliningTarget);
+            }
+            return DateTimeNodes.toPythonInt(factory, DateTimeUtils.floorDivMod(toMicroseconds(a), toMicroseconds(b))[0]);
+        }
+
+        @TruffleBoundary
+        private static PTimeDelta divideInt(Node inliningTarget, PythonObjectFactory factory, PTimeDelta delta, Object divisor) {
+            BigInteger value = DateTimeNodes.toBigInteger(divisor);
+            if (value.signum() == 0) {
+                throw raiseDivisionByZero(inliningTarget);
+            }
+            return DateTimeNodes.createTimeDelta(inliningTarget, factory, DateTimeUtils.floorDivMod(toMicroseconds(delta), value)[0]);
+        }
+    }
+
+    @Builtin(name = J___MOD__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RMOD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class ModNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object mod(Object left, Object right,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asLeftNode,
+                        @Cached AsTimeDeltaNode asRightNode,
+                        @Cached PythonObjectFactory factory) {
+            PTimeDelta a = asLeftNode.execute(inliningTarget, left);
+            PTimeDelta b = asRightNode.execute(inliningTarget, right);
+            if (a == null || b == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            return doMod(inliningTarget, factory, a, b);
+        }
+
+        @TruffleBoundary
+        private static PTimeDelta doMod(Node inliningTarget, PythonObjectFactory factory, PTimeDelta a, PTimeDelta b) {
+            if (b.isZero()) {
+                throw PRaiseNode.raiseUncached(inliningTarget, ZeroDivisionError, ErrorMessages.INTEGER_MODULO_BY_ZERO);
+            }
+            return DateTimeNodes.createTimeDelta(inliningTarget, factory, DateTimeUtils.floorDivMod(toMicroseconds(a), toMicroseconds(b))[1]);
+        }
+    }
+
+    @Builtin(name = J___DIVMOD__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RDIVMOD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class DivModNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object divmod(Object left, Object right,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsTimeDeltaNode asLeftNode,
+                        @Cached AsTimeDeltaNode asRightNode,
+                        @Cached PythonObjectFactory factory) {
+            PTimeDelta a = asLeftNode.execute(inliningTarget, left);
+            PTimeDelta b = asRightNode.execute(inliningTarget, right);
+            if (a == null || b == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            return doDivMod(inliningTarget, factory, a, b);
+        }
+
+        @TruffleBoundary
+        private static Object doDivMod(Node inliningTarget, PythonObjectFactory factory, PTimeDelta a, PTimeDelta b) {
+            if (b.isZero()) {
+                throw raiseDivisionByZero(inliningTarget);
+            }
+            BigInteger[] qr = DateTimeUtils.floorDivMod(toMicroseconds(a), toMicroseconds(b));
+            return factory.createTuple(new Object[]{DateTimeNodes.toPythonInt(factory, qr[0]), DateTimeNodes.createTimeDelta(inliningTarget, factory, qr[1])});
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.datetime;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GETINITARGS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___STR__;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.AsDateTimeNode;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.lib.PyObjectTypeCheck;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PTimeZone)
+public final class TimeZoneBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return TimeZoneBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        PythonObjectFactory factory = core.factory();
+        int maxSeconds = DateTimeUtils.SECONDS_PER_DAY - 60;
+        addBuiltinConstant("utc", factory.createTimeZone(PythonBuiltinClassType.PTimeZone, factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, 0, 0, 0), null));
+        addBuiltinConstant("min", factory.createTimeZone(PythonBuiltinClassType.PTimeZone, factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, -1, 60, 0), null));
+        addBuiltinConstant("max", factory.createTimeZone(PythonBuiltinClassType.PTimeZone, factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, 0, maxSeconds, 0), null));
+    }
+
+    /**
+     * Returns the explicit name of the timezone or {@code UTC+HH:MM} derived from the offset.
+     */
+    @TruffleBoundary
+    static TruffleString getName(PTimeZone timeZone) {
+        if (timeZone.getName() != null) {
+            return timeZone.getName();
+        }
+        PTimeDelta offset = timeZone.getOffset();
+        return toTruffleStringUncached(DateTimeUtils.timezoneName(offset.getDays(), offset.getSeconds(), offset.getMicroseconds()));
+    }
+
+    private static boolean isUtc(PTimeZone timeZone) {
+        return timeZone.getName() == null && timeZone.getOffset().isZero();
+    }
+
+    /**
+     * Base class for the methods that take a {@code dt} argument, which must be a datetime or
+     * {@code None}.
+     */
+    abstract static class TimeZoneDtMethodNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object doIt(PTimeZone self, Object dt,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectTypeCheck typeCheck,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (dt != PNone.NONE && !typeCheck.execute(inliningTarget, dt, PythonBuiltinClassType.PDateTime)) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.S_DT_ARGUMENT_MUST_BE_DATETIME_OR_NONE_NOT_P, getMethodName(), dt);
+            }
+            return compute(self);
+        }
+
+        protected abstract String getMethodName();
+
+        protected abstract Object compute(PTimeZone self);
+    }
+
+    @Builtin(name = "utcoffset", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class UtcOffsetNode extends TimeZoneDtMethodNode {
+        @Override
+        protected String getMethodName() {
+            return "utcoffset";
+        }
+
+        @Override
+        protected Object compute(PTimeZone self) {
+            return self.getOffset();
+        }
+    }
+
+    @Builtin(name = "dst", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class DstNode extends TimeZoneDtMethodNode {
+        @Override
+        protected String getMethodName() {
+            return "dst";
+        }
+
+        @Override
+        protected Object compute(PTimeZone self) {
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "tzname", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class TzNameNode extends TimeZoneDtMethodNode {
+        @Override
+        protected String getMethodName() {
+            return "tzname";
+        }
+
+        @Override
+        protected Object compute(PTimeZone self) {
+            return getName(self);
+        }
+    }
+
+    @Builtin(name = "fromutc", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class FromUtcNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object fromutc(PTimeZone self, Object dt,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            PDateTime dateTime = asDateTimeNode.execute(inliningTarget, dt);
+            if (dateTime == null) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.FROMUTC_ARGUMENT_MUST_BE_A_DATETIME);
+            }
+            if (dateTime.getTzInfo() != self) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.FROMUTC_DT_TZINFO_IS_NOT_SELF);
+            }
+            PTimeDelta offset = self.getOffset();
+            return DateTimeNodes.addToDateTime(inliningTarget, dateTime, getClassNode.execute(inliningTarget, dt), offset.getDays(), offset.getSeconds(), offset.getMicroseconds());
+        }
+    }
+
+    @Builtin(name = J___EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static boolean eq(PTimeZone self, PTimeZone other) {
+            return self.getOffset().compareTo(other.getOffset()) == 0;
+        }
+
+        @Fallback
+        static Object eq(@SuppressWarnings("unused") Object self, @SuppressWarnings("unused") Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = J___NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static boolean ne(PTimeZone self, PTimeZone other) {
+            return self.getOffset().compareTo(other.getOffset()) != 0;
+        }
+
+        @Fallback
+        static Object ne(@SuppressWarnings("unused") Object self, @SuppressWarnings("unused") Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = J___HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long hash(PTimeZone self) {
+            PTimeDelta offset = self.getOffset();
+            return DateTimeUtils.hashFields(offset.getDays(), offset.getSeconds(), offset.getMicroseconds(), 0);
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        static TruffleString repr(PTimeZone self) {
+            if (isUtc(self)) {
+                return toTruffleStringUncached("datetime.timezone.utc");
+            }
+            StringBuilder sb = new StringBuilder(DateTimeNodes.typeName(self)).append('(');
+            sb.append(PyObjectReprAsTruffleStringNode.executeUncached(self.getOffset()).toJavaStringUncached());
+            if (self.getName() != null) {
+                sb.append(", ").append(PyObjectReprAsTruffleStringNode.executeUncached(self.getName()).toJavaStringUncached());
+            }
+            return toTruffleStringUncached(sb.append(')').toString());
+        }
+    }
+
+    @Builtin(name = J___STR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class StrNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString str(PTimeZone self) {
+            return getName(self);
+        }
+    }
+
+    @Builtin(name = J___GETINITARGS__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class GetInitArgsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object getInitArgs(PTimeZone self,
+                        @Cached PythonObjectFactory factory) {
+            if (self.getName() == null) {
+                return factory.createTuple(new Object[]{self.getOffset()});
+            }
+            return factory.createTuple(new Object[]{self.getOffset(), self.getName()});
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.datetime;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.NotImplementedError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___DICT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___GETINITARGS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___GETSTATE__;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageLen;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodes.AsDateTimeNode;
+import com.oracle.graal.python.builtins.objects.datetime.DateTimeNodesFactory.AsDateTimeNodeGen;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.lib.PyObjectLookupAttr;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PTzInfo)
+public final class TzInfoBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return TzInfoBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "tzname", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class TzNameNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object tzname(@SuppressWarnings("unused") Object self, @SuppressWarnings("unused") Object dt,
+                        @Cached PRaiseNode raiseNode) {
+            throw raiseNode.raise(NotImplementedError, ErrorMessages.TZINFO_SUBCLASS_MUST_IMPLEMENT_S, "tzname");
+        }
+    }
+
+    @Builtin(name = "utcoffset", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class UtcOffsetNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object utcoffset(@SuppressWarnings("unused") Object self, @SuppressWarnings("unused") Object dt,
+                        @Cached PRaiseNode raiseNode) {
+            throw raiseNode.raise(NotImplementedError, ErrorMessages.TZINFO_SUBCLASS_MUST_IMPLEMENT_S, "utcoffset");
+        }
+    }
+
+    @Builtin(name = "dst", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class DstNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object dst(@SuppressWarnings("unused") Object self, @SuppressWarnings("unused") Object dt,
+                        @Cached PRaiseNode raiseNode) {
+            throw raiseNode.raise(NotImplementedError, ErrorMessages.TZINFO_SUBCLASS_MUST_IMPLEMENT_S, "dst");
+        }
+    }
+
+    /**
+     * The default {@code fromutc} that works for tzinfos whose {@code dst()} does not depend on
+     * the time of day around transitions, see the CPython documentation of {@code tzinfo.fromutc}.
+     */
+    @Builtin(name = "fromutc", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class FromUtcNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object fromutc(Object self, Object dt,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDateTimeNode asDateTimeNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            PDateTime dateTime = asDateTimeNode.execute(inliningTarget, dt);
+            if (dateTime == null) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.FROMUTC_ARGUMENT_MUST_BE_A_DATETIME);
+            }
+            if (dateTime.getTzInfo() != self) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.FROMUTC_DT_TZINFO_IS_NOT_SELF);
+            }
+            return doFromUtc(inliningTarget, self, dt, dateTime, getClassNode.execute(inliningTarget, dt));
+        }
+
+        @TruffleBoundary
+        private static Object doFromUtc(Node inliningTarget, Object self, Object dt, PDateTime dateTime, Object cls) {
+            Object offset = DateTimeNodes.utcOffset(inliningTarget, self, dt);
+            if (offset == PNone.NONE) {
+                throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.FROMUTC_NON_NONE_S_RESULT_REQUIRED, "utcoffset");
+            }
+            Object dst = DateTimeNodes.dst(inliningTarget, self, dt);
+            if (dst == PNone.NONE) {
+                throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.FROMUTC_NON_NONE_S_RESULT_REQUIRED, "dst");
+            }
+            PTimeDelta o = (PTimeDelta) offset;
+            PTimeDelta d = (PTimeDelta) dst;
+            Object result = DateTimeNodes.addToDateTime(inliningTarget, dateTime, cls, (long) o.getDays() - d.getDays(), (long) o.getSeconds() - d.getSeconds(),
+                            (long) o.getMicroseconds() - d.getMicroseconds());
+            dst = DateTimeNodes.dst(inliningTarget, self, result);
+            if (dst == PNone.NONE) {
+                throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.FROMUTC_INCONSISTENT_DST);
+            }
+            d = (PTimeDelta) dst;
+            PDateTime shifted = AsDateTimeNodeGen.getUncached().execute(null, result);
+            return DateTimeNodes.addToDateTime(inliningTarget, shifted, GetClassNode.executeUncached(result), d.getDays(), d.getSeconds(), d.getMicroseconds());
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object reduce(VirtualFrame frame, Object self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached GetClassNode getClassNode,
+                        @Cached PyObjectLookupAttr lookupAttr,
+                        @Cached CallNode callNode,
+                        @Cached HashingStorageLen lenNode,
+                        @Cached PythonObjectFactory factory) {
+            Object args;
+            Object getInitArgs = lookupAttr.execute(frame, inliningTarget, self, T___GETINITARGS__);
+            if (getInitArgs != PNone.NO_VALUE) {
+                args = callNode.execute(frame, getInitArgs);
+            } else {
+                args = factory.createEmptyTuple();
+            }
+            Object state;
+            Object getState = lookupAttr.execute(frame, inliningTarget, self, T___GETSTATE__);
+            if (getState != PNone.NO_VALUE) {
+                state = callNode.execute(frame, getState);
+            } else {
+                state = lookupAttr.execute(frame, inliningTarget, self, T___DICT__);
+                if (state == PNone.NO_VALUE || (state instanceof PDict dict && lenNode.execute(inliningTarget, dict.getDictStorage()) == 0)) {
+                    state = PNone.NONE;
+                }
+            }
+            return factory.createTuple(new Object[]{getClassNode.execute(inliningTarget, self), args, state});
+        }
+    }
+}
@@ -0,0 +1,2141 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.decimal;
+
+import static com.oracle.graal.python.builtins.objects.decimal.DecimalValue.LONG_POW10;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.ROUND_05UP;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.ROUND_CEILING;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.ROUND_DOWN;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.ROUND_FLOOR;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.ROUND_HALF_DOWN;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.ROUND_HALF_EVEN;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.ROUND_HALF_UP;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.ROUND_UP;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.STATUS_CLAMPED;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.STATUS_CONVERSION_SYNTAX;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.STATUS_DIVISION_BY_ZERO;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.STATUS_DIVISION_IMPOSSIBLE;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.STATUS_DIVISION_UNDEFINED;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.STATUS_INEXACT;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.STATUS_INVALID_OPERATION;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.STATUS_OVERFLOW;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.STATUS_ROUNDED;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.STATUS_SUBNORMAL;
+import static com.oracle.graal.python.builtins.objects.decimal.PDecimalContext.STATUS_UNDERFLOW;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.oracle.graal.python.builtins.modules.SysModuleBuiltins;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * The arithmetic operations of the decimal module, following the General Decimal Arithmetic
+ * Specification like libmpdec. The algorithms of the general paths are those of
+ * {@code _pydecimal}, on a {@link BigInteger} coefficient. Addition, multiplication, comparison and
+ * quantization additionally have fast paths for operands whose coefficients fit into a
+ * {@code long} and whose exact result needs no rounding, which covers most values used in practice
+ * (e.g. amounts of money).
+ *
+ * An instance captures the parameters of a context for a single operation and collects the raised
+ * conditions in {@link #getStatus()}. The results of untrapped conditions (NaN for invalid
+ * operations, infinity for division by zero, ...) are returned like in the C implementation. The
+ * caller is responsible for adding the status to the context, which raises the trapped signals.
+ */
+public final class DecimalArith {
+    private static final int POW10_CACHE_SIZE = 64;
+    private static final BigInteger[] POW10 = new BigInteger[POW10_CACHE_SIZE];
+    /**
+     * Larger powers of ten than this do not fit into a {@link BigInteger}.
+     */
+    private static final long MAX_POW10 = 600_000_000L;
+
+    private static final long HASH_MODULUS = SysModuleBuiltins.HASH_MODULUS;
+    private static final long HASH_10INV = BigInteger.TEN.modInverse(BigInteger.valueOf(HASH_MODULUS)).longValue();
+
+    static {
+        BigInteger p = BigInteger.ONE;
+        for (int i = 0; i < POW10_CACHE_SIZE; i++) {
+            POW10[i] = p;
+            p = p.multiply(BigInteger.TEN);
+        }
+    }
+
+    private final long prec;
+    private final int rounding;
+    private final long emin;
+    private final long emax;
+    private final int clamp;
+    private int status;
+    /** Whether the last call to {@link #roundCoefficient} discarded nonzero digits. */
+    private boolean roundedInexact;
+
+    public DecimalArith(PDecimalContext context) {
+        this(context.getPrec(), context.getRounding(), context.getEmin(), context.getEmax(), context.getClamp());
+    }
+
+    public DecimalArith(long prec, int rounding, long emin, long emax, int clamp) {
+        this.prec = prec;
+        this.rounding = rounding;
+        this.emin = emin;
+        this.emax = emax;
+        this.clamp = clamp;
+    }
+
+    /**
+     * An arithmetic with the maximum precision and exponent range, used for exact conversions.
+     */
+    public static DecimalArith createExact() {
+        return new DecimalArith(PDecimalContext.MAX_PREC, ROUND_HALF_EVEN, PDecimalContext.MIN_EMIN, PDecimalContext.MAX_EMAX, 0);
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void addStatus(int conditions) {
+        status |= conditions;
+    }
+
+    public int getRounding() {
+        return rounding;
+    }
+
+    public long getEtiny() {
+        return emin - prec + 1;
+    }
+
+    public long getEtop() {
+        return emax - prec + 1;
+    }
+
+    // helpers
+
+    @TruffleBoundary
+    static BigInteger pow10(long n) {
+        if (n < POW10_CACHE_SIZE) {
+            return POW10[(int) n];
+        }
+        if (n > MAX_POW10) {
+            throw new OutOfMemoryError();
+        }
+        return BigInteger.TEN.pow((int) n);
+    }
+
+    /**
+     * Whether a finite value with the given coefficient properties is representable in the context,
+     * i.e., whether {@link #fix} would return it unchanged without raising any condition.
+     */
+    private boolean isRepresentable(boolean zero, long digits, long exp) {
+        if (zero) {
+            return getEtiny() <= exp && exp <= (clamp == 0 ? emax : getEtop());
+        }
+        long adjusted = exp + digits - 1;
+        return digits <= prec && adjusted <= emax && adjusted >= emin && (clamp == 0 || exp <= getEtop());
+    }
+
+    private static boolean roundUp(int rnd, int sign, int lastDigit, int cmpHalf) {
+        switch (rnd) {
+            case ROUND_DOWN:
+                return false;
+            case ROUND_UP:
+                return true;
+            case ROUND_HALF_UP:
+                return cmpHalf >= 0;
+            case ROUND_HALF_DOWN:
+                return cmpHalf > 0;
+            case ROUND_HALF_EVEN:
+                return cmpHalf > 0 || (cmpHalf == 0 && (lastDigit & 1) != 0);
+            case ROUND_CEILING:
+                return sign == 0;
+            case ROUND_FLOOR:
+                return sign == 1;
+            case ROUND_05UP:
+                return lastDigit == 0 || lastDigit == 5;
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Removes the given number of trailing digits from the coefficient and rounds the remaining
+     * ones according to the rounding mode. Sets {@link #roundedInexact}.
+     */
+    @TruffleBoundary
+    private BigInteger roundCoefficient(int sign, BigInteger coeff, long drop, int rnd) {
+        assert drop > 0;
+        BigInteger kept;
+        int cmpHalf;
+        if (drop > DecimalValue.digits(coeff)) {
+            // all digits are dropped and the rest is less than half
+            kept = BigInteger.ZERO;
+            roundedInexact = coeff.signum() != 0;
+            cmpHalf = -1;
+        } else {
+            BigInteger p = pow10(drop);
+            BigInteger[] qr = coeff.divideAndRemainder(p);
+            kept = qr[0];
+            roundedInexact = qr[1].signum() != 0;
+            cmpHalf = qr[1].shiftLeft(1).compareTo(p);
+        }
+        if (roundedInexact && roundUp(rnd, sign, kept.mod(BigInteger.TEN).intValue(), cmpHalf)) {
+            kept = kept.add(BigInteger.ONE);
+        }
+        return kept;
+    }
+
+    private DecimalValue invalidOperation() {
+        status |= STATUS_INVALID_OPERATION;
+        return DecimalValue.NAN;
+    }
+
+    private DecimalValue divisionByZero(int sign) {
+        status |= STATUS_DIVISION_BY_ZERO;
+        return DecimalValue.infinity(sign);
+    }
+
+    /**
+     * The result of an overflow, which depends on the rounding mode.
+     */
+    private DecimalValue overflowResult(int sign) {
+        if (rounding == ROUND_HALF_UP || rounding == ROUND_HALF_EVEN || rounding == ROUND_HALF_DOWN || rounding == ROUND_UP ||
+                        (sign == 0 && rounding == ROUND_CEILING) || (sign == 1 && rounding == ROUND_FLOOR)) {
+            return DecimalValue.infinity(sign);
+        }
+        return DecimalValue.finite(sign, pow10(prec).subtract(BigInteger.ONE), emax - prec + 1);
+    }
+
+    /**
+     * Cuts the payload of a NaN to the precision of the context.
+     */
+    public DecimalValue fixNaN(DecimalValue v) {
+        assert v.isNaN();
+        long maxPayload = prec - clamp;
+        if (v.digits() > maxPayload) {
+            return truncatePayload(v, maxPayload);
+        }
+        return v;
+    }
+
+    @TruffleBoundary
+    private static DecimalValue truncatePayload(DecimalValue v, long maxPayload) {
+        BigInteger payload = maxPayload <= 0 ? BigInteger.ZERO : v.getCoefficient().mod(pow10(maxPayload));
+        return DecimalValue.nan(v.getSign(), v.isSNaN(), payload);
+    }
+
+    /**
+     * Returns the NaN result of an operation if any operand is a NaN, otherwise {@code null}.
+     * Signaling NaNs raise {@code InvalidOperation}.
+     */
+    public DecimalValue checkNaNs(DecimalValue a, DecimalValue b) {
+        if (a.isSNaN()) {
+            status |= STATUS_INVALID_OPERATION;
+            return fixNaN(a.toQuietNaN());
+        } else if (b != null && b.isSNaN()) {
+            status |= STATUS_INVALID_OPERATION;
+            return fixNaN(b.toQuietNaN());
+        } else if (a.isNaN()) {
+            return fixNaN(a);
+        } else if (b != null && b.isNaN()) {
+            return fixNaN(b);
+        }
+        return null;
+    }
+
+    /**
+     * Rounds the value to the precision and exponent range of the context.
+     */
+    public DecimalValue fix(DecimalValue v) {
+        if (v.isNaN()) {
+            return fixNaN(v);
+        } else if (v.isInfinite()) {
+            return v;
+        } else if (v.isSmall() && isRepresentable(v.isZero(), DecimalValue.digits(v.getSmallCoefficient()), v.getExponent())) {
+            return v;
+        }
+        return fix(v.getSign(), v.getCoefficient(), v.getExponent());
+    }
+
+    @TruffleBoundary
+    private DecimalValue fix(int sign, BigInteger coeff, long exp) {
+        long etiny = getEtiny();
+        long etop = getEtop();
+        if (coeff.signum() == 0) {
+            long expMax = clamp == 0 ? emax : etop;
+            long newExp = Math.min(Math.max(exp, etiny), expMax);
+            if (newExp != exp) {
+                status |= STATUS_CLAMPED;
+            }
+            return DecimalValue.finite(sign, 0, newExp);
+        }
+        long digits = DecimalValue.digits(coeff);
+        long expMin = digits + exp - prec;
+        if (expMin > etop) {
+            status |= STATUS_OVERFLOW | STATUS_INEXACT | STATUS_ROUNDED;
+            return overflowResult(sign);
+        }
+        boolean subnormal = expMin < etiny;
+        if (subnormal) {
+            expMin = etiny;
+        }
+        if (exp < expMin) {
+            BigInteger kept = roundCoefficient(sign, coeff, expMin - exp, rounding);
+            boolean changed = roundedInexact;
+            if (DecimalValue.digits(kept) > prec) {
+                kept = kept.divide(BigInteger.TEN);
+                expMin++;
+            }
+            DecimalValue result;
+            if (expMin > etop) {
+                status |= STATUS_OVERFLOW;
+                result = overflowResult(sign);
+            } else {
+                result = DecimalValue.finite(sign, kept, expMin);
+            }
+            if (changed && subnormal) {
+                status |= STATUS_UNDERFLOW;
+            }
+            if (subnormal) {
+                status |= STATUS_SUBNORMAL;
+            }
+            if (changed) {
+                status |= STATUS_INEXACT;
+            }
+            status |= STATUS_ROUNDED;
+            if (result.isZero()) {
+                status |= STATUS_CLAMPED;
+            }
+            return result;
+        }
+        if (subnormal) {
+            status |= STATUS_SUBNORMAL;
+        }
+        if (clamp == 1 && exp > etop) {
+            status |= STATUS_CLAMPED;
+            return DecimalValue.finite(sign, coeff.multiply(pow10(exp - etop)), etop);
+        }
+        return DecimalValue.finite(sign, coeff, exp);
+    }
+
+    /**
+     * Changes the exponent of a finite value by padding with zeros or rounding with the given mode.
+     * This operation is quiet, specials are returned unchanged.
+     */
+    @TruffleBoundary
+    public DecimalValue rescale(DecimalValue v, long exp, int rnd) {
+        if (v.isSpecial()) {
+            return v;
+        } else if (v.isZero()) {
+            return DecimalValue.finite(v.getSign(), 0, exp);
+        } else if (v.getExponent() >= exp) {
+            return DecimalValue.finite(v.getSign(), v.getCoefficient().multiply(pow10(v.getExponent() - exp)), exp);
+        }
+        return DecimalValue.finite(v.getSign(), roundCoefficient(v.getSign(), v.getCoefficient(), exp - v.getExponent(), rnd), exp);
+    }
+
+    // unary operations
+
+    /**
+     * {@code +a}, i.e., the value rounded to the context. A negative zero becomes positive unless
+     * rounding to floor.
+     */
+    public DecimalValue plus(DecimalValue a) {
+        if (a.isNaN()) {
+            return checkNaNs(a, null);
+        }
+        if (a.isZero() && rounding != ROUND_FLOOR) {
+            a = a.withSign(0);
+        }
+        return fix(a);
+    }
+
+    public DecimalValue minus(DecimalValue a) {
+        if (a.isNaN()) {
+            return checkNaNs(a, null);
+        }
+        return fix(a.isZero() && rounding != ROUND_FLOOR ? a.withSign(0) : a.negate());
+    }
+
+    public DecimalValue abs(DecimalValue a) {
+        if (a.isNaN()) {
+            return checkNaNs(a, null);
+        }
+        return a.getSign() == 1 ? minus(a) : plus(a);
+    }
+
+    // addition
+
+    public DecimalValue add(DecimalValue a, DecimalValue b) {
+        if (a.isFinite() && b.isFinite() && a.isSmall() && b.isSmall()) {
+            DecimalValue result = addSmall(a.getSign(), a.getSmallCoefficient(), a.getExponent(), b.getSign(), b.getSmallCoefficient(), b.getExponent());
+            if (result != null) {
+                return result;
+            }
+        }
+        return addGeneric(a, b);
+    }
+
+    public DecimalValue subtract(DecimalValue a, DecimalValue b) {
+        if (a.isNaN() || b.isNaN()) {
+            return checkNaNs(a, b);
+        }
+        return add(a, b.negate());
+    }
+
+    /**
+     * Exact addition of finite values with {@code long} coefficients. Returns {@code null} if the
+     * sum overflows a {@code long} or is not representable in the context.
+     */
+    private DecimalValue addSmall(int signA, long coeffA, long expA, int signB, long coeffB, long expB) {
+        long x = coeffA;
+        long y = coeffB;
+        long exp;
+        if (expA == expB) {
+            exp = expA;
+        } else if (expA > expB) {
+            long shift = expA - expB;
+            if (shift >= LONG_POW10.length || x > Long.MAX_VALUE / LONG_POW10[(int) shift]) {
+                return null;
+            }
+            x *= LONG_POW10[(int) shift];
+            exp = expB;
+        } else {
+            long shift = expB - expA;
+            if (shift >= LONG_POW10.length || y > Long.MAX_VALUE / LONG_POW10[(int) shift]) {
+                return null;
+            }
+            y *= LONG_POW10[(int) shift];
+            exp = expA;
+        }
+        long vx = signA == 0 ? x : -x;
+        long vy = signB == 0 ? y : -y;
+        long r = vx + vy;
+        if (((vx ^ r) & (vy ^ r)) < 0) {
+            return null;
+        }
+        if (r == 0) {
+            int sign = signA == signB ? signA : (rounding == ROUND_FLOOR ? 1 : 0);
+            return isRepresentable(true, 1, exp) ? DecimalValue.finite(sign, 0, exp) : null;
+        }
+        long coeff = Math.abs(r);
+        return isRepresentable(false, DecimalValue.digits(coeff), exp) ? DecimalValue.finite(r < 0 ? 1 : 0, coeff, exp) : null;
+    }
+
+    @TruffleBoundary
+    private DecimalValue addGeneric(DecimalValue a, DecimalValue b) {
+        if (a.isSpecial() || b.isSpecial()) {
+            DecimalValue nan = checkNaNs(a, b);
+            if (nan != null) {
+                return nan;
+            }
+            if (a.isInfinite()) {
+                if (b.isInfinite() && a.getSign() != b.getSign()) {
+                    return invalidOperation();
+                }
+                return a;
+            }
+            return b;
+        }
+        long exp = Math.min(a.getExponent(), b.getExponent());
+        int negativeZero = rounding == ROUND_FLOOR && a.getSign() != b.getSign() ? 1 : 0;
+        if (a.isZero() && b.isZero()) {
+            int sign = negativeZero == 1 ? 1 : Math.min(a.getSign(), b.getSign());
+            return fix(sign, BigInteger.ZERO, exp);
+        } else if (a.isZero()) {
+            exp = Math.max(exp, b.getExponent() - prec - 1);
+            return fix(rescale(b, exp, rounding));
+        } else if (b.isZero()) {
+            exp = Math.max(exp, a.getExponent() - prec - 1);
+            return fix(rescale(a, exp, rounding));
+        }
+        // normalize the operands to a common exponent, like _pydecimal._normalize
+        DecimalValue tmp = a.getExponent() < b.getExponent() ? b : a;
+        DecimalValue other = tmp == a ? b : a;
+        BigInteger tmpCoeff = tmp.getCoefficient();
+        BigInteger otherCoeff = other.getCoefficient();
+        long otherExp = other.getExponent();
+        long limit = tmp.getExponent() + Math.min(-1, tmp.digits() - prec - 2);
+        if (other.digits() + otherExp - 1 < limit) {
+            otherCoeff = BigInteger.ONE;
+            otherExp = limit;
+        }
+        tmpCoeff = tmpCoeff.multiply(pow10(tmp.getExponent() - otherExp));
+        BigInteger x = tmp.getSign() == 0 ? tmpCoeff : tmpCoeff.negate();
+        BigInteger y = other.getSign() == 0 ? otherCoeff : otherCoeff.negate();
+        BigInteger sum = x.add(y);
+        if (sum.signum() == 0) {
+            return fix(negativeZero, BigInteger.ZERO, otherExp);
+        }
+        return fix(sum.signum() < 0 ? 1 : 0, sum.abs(), otherExp);
+    }
+
+    // multiplication
+
+    public DecimalValue multiply(DecimalValue a, DecimalValue b) {
+        if (a.isFinite() && b.isFinite() && a.isSmall() && b.isSmall()) {
+            long x = a.getSmallCoefficient();
+            long y = b.getSmallCoefficient();
+            long product = x * y;
+            if (Math.multiplyHigh(x, y) == 0 && product >= 0) {
+                long exp = a.getExponent() + b.getExponent();
+                if (isRepresentable(product == 0, DecimalValue.digits(product), exp)) {
+                    return DecimalValue.finite(a.getSign() ^ b.getSign(), product, exp);
+                }
+            }
+        }
+        return multiplyGeneric(a, b);
+    }
+
+    @TruffleBoundary
+    private DecimalValue multiplyGeneric(DecimalValue a, DecimalValue b) {
+        int sign = a.getSign() ^ b.getSign();
+        if (a.isSpecial() || b.isSpecial()) {
+            DecimalValue nan = checkNaNs(a, b);
+            if (nan != null) {
+                return nan;
+            }
+            if ((a.isInfinite() && b.isZero()) || (b.isInfinite() && a.isZero())) {
+                return invalidOperation();
+            }
+            return DecimalValue.infinity(sign);
+        }
+        return fix(sign, a.getCoefficient().multiply(b.getCoefficient()), a.getExponent() + b.getExponent());
+    }
+
+    // division
+
+    @TruffleBoundary
+    public DecimalValue divide(DecimalValue a, DecimalValue b) {
+        int sign = a.getSign() ^ b.getSign();
+        if (a.isSpecial() || b.isSpecial()) {
+            DecimalValue nan = checkNaNs(a, b);
+            if (nan != null) {
+                return nan;
+            }
+            if (a.isInfinite() && b.isInfinite()) {
+                return invalidOperation();
+            } else if (a.isInfinite()) {
+                return DecimalValue.infinity(sign);
+            }
+            status |= STATUS_CLAMPED;
+            return DecimalValue.finite(sign, 0, getEtiny());
+        }
+        if (b.isZero()) {
+            if (a.isZero()) {
+                status |= STATUS_DIVISION_UNDEFINED;
+                return DecimalValue.NAN;
+            }
+            return divisionByZero(sign);
+        }
+        BigInteger coeff;
+        long exp;
+        if (a.isZero()) {
+            coeff = BigInteger.ZERO;
+            exp = a.getExponent() - b.getExponent();
+        } else {
+            long shift = b.digits() - a.digits() + prec + 1;
+            exp = a.getExponent() - b.getExponent() - shift;
+            BigInteger[] qr;
+            if (shift >= 0) {
+                qr = a.getCoefficient().multiply(pow10(shift)).divideAndRemainder(b.getCoefficient());
+            } else {
+                qr = a.getCoefficient().divideAndRemainder(b.getCoefficient().multiply(pow10(-shift)));
+            }
+            coeff = qr[0];
+            if (qr[1].signum() != 0) {
+                // make the result inexact so that the rounding is correct
+                if (coeff.mod(BigInteger.valueOf(5)).signum() == 0) {
+                    coeff = coeff.add(BigInteger.ONE);
+                }
+            } else {
+                long idealExp = a.getExponent() - b.getExponent();
+                while (exp < idealExp && coeff.mod(BigInteger.TEN).signum() == 0) {
+                    coeff = coeff.divide(BigInteger.TEN);
+                    exp++;
+                }
+            }
+        }
+        return fix(sign, coeff, exp);
+    }
+
+    /**
+     * Returns {@code (a // b, a % b)} for finite {@code a} and nonzero {@code b}, like
+     * {@code _pydecimal.Decimal._divide}. The remainder is not rounded yet.
+     */
+    private DecimalValue[] divideInteger(DecimalValue a, DecimalValue b) {
+        int sign = a.getSign() ^ b.getSign();
+        long idealExp = b.isInfinite() ? a.getExponent() : Math.min(a.getExponent(), b.getExponent());
+        long expDiff = a.adjusted() - b.adjusted();
+        if (a.isZero() || b.isInfinite() || expDiff <= -2) {
+            return new DecimalValue[]{DecimalValue.finite(sign, 0, 0), rescale(a, idealExp, rounding)};
+        }
+        if (expDiff <= prec) {
+            BigInteger x = a.getCoefficient();
+            BigInteger y = b.getCoefficient();
+            if (a.getExponent() >= b.getExponent()) {
+                x = x.multiply(pow10(a.getExponent() - b.getExponent()));
+            } else {
+                y = y.multiply(pow10(b.getExponent() - a.getExponent()));
+            }
+            BigInteger[] qr = x.divideAndRemainder(y);
+            if (DecimalValue.digits(qr[0]) <= prec) {
+                return new DecimalValue[]{DecimalValue.finite(sign, qr[0], 0), DecimalValue.finite(a.getSign(), qr[1], idealExp)};
+            }
+        }
+        status |= STATUS_DIVISION_IMPOSSIBLE;
+        return new DecimalValue[]{DecimalValue.NAN, DecimalValue.NAN};
+    }
+
+    @TruffleBoundary
+    public DecimalValue[] divmod(DecimalValue a, DecimalValue b) {
+        DecimalValue nan = checkNaNs(a, b);
+        if (nan != null) {
+            return new DecimalValue[]{nan, nan};
+        }
+        int sign = a.getSign() ^ b.getSign();
+        if (a.isInfinite()) {
+            if (b.isInfinite()) {
+                DecimalValue result = invalidOperation();
+                return new DecimalValue[]{result, result};
+            }
+            return new DecimalValue[]{DecimalValue.infinity(sign), invalidOperation()};
+        }
+        if (b.isZero()) {
+            if (a.isZero()) {
+                status |= STATUS_DIVISION_UNDEFINED;
+                return new DecimalValue[]{DecimalValue.NAN, DecimalValue.NAN};
+            }
+            return new DecimalValue[]{divisionByZero(sign), invalidOperation()};
+        }
+        DecimalValue[] result = divideInteger(a, b);
+        result[1] = fix(result[1]);
+        return result;
+    }
+
+    @TruffleBoundary
+    public DecimalValue floorDivide(DecimalValue a, DecimalValue b) {
+        DecimalValue nan = checkNaNs(a, b);
+        if (nan != null) {
+            return nan;
+        }
+        if (a.isInfinite()) {
+            if (b.isInfinite()) {
+                return invalidOperation();
+            }
+            return DecimalValue.infinity(a.getSign() ^ b.getSign());
+        }
+        if (b.isZero()) {
+            if (a.isZero()) {
+                status |= STATUS_DIVISION_UNDEFINED;
+                return DecimalValue.NAN;
+            }
+            return divisionByZero(a.getSign() ^ b.getSign());
+        }
+        return divideInteger(a, b)[0];
+    }
+
+    @TruffleBoundary
+    public DecimalValue remainder(DecimalValue a, DecimalValue b) {
+        DecimalValue nan = checkNaNs(a, b);
+        if (nan != null) {
+            return nan;
+        }
+        if (a.isInfinite()) {
+            return invalidOperation();
+        } else if (b.isZero()) {
+            if (a.isZero()) {
+                status |= STATUS_DIVISION_UNDEFINED;
+                return DecimalValue.NAN;
+            }
+            return invalidOperation();
+        }
+        return fix(divideInteger(a, b)[1]);
+    }
+
+    @TruffleBoundary
+    public DecimalValue remainderNear(DecimalValue a, DecimalValue b) {
+        DecimalValue nan = checkNaNs(a, b);
+        if (nan != null) {
+            return nan;
+        }
+        if (a.isInfinite()) {
+            return invalidOperation();
+        }
+        if (b.isZero()) {
+            if (a.isZero()) {
+                status |= STATUS_DIVISION_UNDEFINED;
+                return DecimalValue.NAN;
+            }
+            return invalidOperation();
+        }
+        if (b.isInfinite()) {
+            return fix(a);
+        }
+        long idealExp = Math.min(a.getExponent(), b.getExponent());
+        if (a.isZero()) {
+            return fix(a.getSign(), BigInteger.ZERO, idealExp);
+        }
+        long expDiff = a.adjusted() - b.adjusted();
+        if (expDiff >= prec + 1) {
+            status |= STATUS_DIVISION_IMPOSSIBLE;
+            return DecimalValue.NAN;
+        }
+        if (expDiff <= -2) {
+            return fix(rescale(a, idealExp, rounding));
+        }
+        BigInteger x = a.getCoefficient();
+        BigInteger y = b.getCoefficient();
+        if (a.getExponent() >= b.getExponent()) {
+            x = x.multiply(pow10(a.getExponent() - b.getExponent()));
+        } else {
+            y = y.multiply(pow10(b.getExponent() - a.getExponent()));
+        }
+        BigInteger[] qr = x.divideAndRemainder(y);
+        BigInteger q = qr[0];
+        BigInteger r = qr[1];
+        // adjust r to the closest remainder, ties go to an even quotient
+        if (r.shiftLeft(1).add(q.testBit(0) ? BigInteger.ONE : BigInteger.ZERO).compareTo(y) > 0) {
+            r = r.subtract(y);
+            q = q.add(BigInteger.ONE);
+        }
+        if (DecimalValue.digits(q) > prec) {
+            status |= STATUS_DIVISION_IMPOSSIBLE;
+            return DecimalValue.NAN;
+        }
+        int sign = a.getSign();
+        if (r.signum() < 0) {
+            sign = 1 - sign;
+            r = r.negate();
+        }
+        return fix(sign, r, idealExp);
+    }
+
+    // comparison
+
+    /**
+     * Compares two values that are not NaNs numerically, returns -1, 0 or 1.
+     */
+    public static int compare(DecimalValue a, DecimalValue b) {
+        assert !a.isNaN() && !b.isNaN();
+        if (a.isInfinite() || b.isInfinite()) {
+            int infA = a.isInfinite() ? 1 - 2 * a.getSign() : 0;
+            int infB = b.isInfinite() ? 1 - 2 * b.getSign() : 0;
+            return Integer.compare(infA, infB);
+        }
+        if (a.isZero()) {
+            return b.isZero() ? 0 : (b.getSign() == 0 ? -1 : 1);
+        } else if (b.isZero()) {
+            return a.getSign() == 0 ? 1 : -1;
+        }
+        if (a.getSign() != b.getSign()) {
+            return a.getSign() == 0 ? 1 : -1;
+        }
+        int magnitude;
+        if (a.isSmall() && b.isSmall()) {
+            magnitude = compareMagnitudeSmall(a.getSmallCoefficient(), a.getExponent(), b.getSmallCoefficient(), b.getExponent());
+        } else {
+            magnitude = compareMagnitude(a, b);
+        }
+        return a.getSign() == 0 ? magnitude : -magnitude;
+    }
+
+    private static int compareMagnitudeSmall(long coeffA, long expA, long coeffB, long expB) {
+        long adjustedA = expA + DecimalValue.digits(coeffA) - 1;
+        long adjustedB = expB + DecimalValue.digits(coeffB) - 1;
+        if (adjustedA != adjustedB) {
+            return adjustedA < adjustedB ? -1 : 1;
+        }
+        // same adjusted exponent, so the padded coefficient has at most 19 digits
+        if (expA > expB) {
+            long shift = expA - expB;
+            if (shift < LONG_POW10.length && coeffA <= Long.MAX_VALUE / LONG_POW10[(int) shift]) {
+                return Long.compare(coeffA * LONG_POW10[(int) shift], coeffB);
+            }
+        } else {
+            long shift = expB - expA;
+            if (shift < LONG_POW10.length && coeffB <= Long.MAX_VALUE / LONG_POW10[(int) shift]) {
+                return Long.compare(coeffA, coeffB * LONG_POW10[(int) shift]);
+            }
+        }
+        return compareMagnitude(DecimalValue.finite(0, coeffA, expA), DecimalValue.finite(0, coeffB, expB));
+    }
+
+    @TruffleBoundary
+    private static int compareMagnitude(DecimalValue a, DecimalValue b) {
+        long adjustedA = a.adjusted();
+        long adjustedB = b.adjusted();
+        if (adjustedA != adjustedB) {
+            return adjustedA < adjustedB ? -1 : 1;
+        }
+        BigInteger x = a.getCoefficient();
+        BigInteger y = b.getCoefficient();
+        if (a.getExponent() > b.getExponent()) {
+            x = x.multiply(pow10(a.getExponent() - b.getExponent()));
+        } else {
+            y = y.multiply(pow10(b.getExponent() - a.getExponent()));
+        }
+        return x.compareTo(y);
+    }
+
+    /**
+     * The {@code compare} operation, which returns NaN if any operand is a NaN.
+     */
+    public DecimalValue compareToValue(DecimalValue a, DecimalValue b) {
+        if (a.isNaN() || b.isNaN()) {
+            return checkNaNs(a, b);
+        }
+        return DecimalValue.fromLong(compare(a, b));
+    }
+
+    /**
+     * The {@code compare_signal} operation, for which all NaNs are invalid.
+     */
+    public DecimalValue compareSignal(DecimalValue a, DecimalValue b) {
+        if (a.isNaN() || b.isNaN()) {
+            status |= STATUS_INVALID_OPERATION;
+            return checkNaNs(a, b);
+        }
+        return DecimalValue.fromLong(compare(a, b));
+    }
+
+    /**
+     * Compares the abstract representations, which defines a total ordering. Returns -1, 0 or 1.
+     */
+    @TruffleBoundary
+    public static int compareTotal(DecimalValue a, DecimalValue b) {
+        if (a.getSign() != b.getSign()) {
+            return a.getSign() == 1 ? -1 : 1;
+        }
+        int sign = a.getSign() == 0 ? 1 : -1;
+        if (a.isNaN() || b.isNaN()) {
+            // sNaN < NaN and numbers < NaNs
+            int rankA = a.isQNaN() ? 2 : a.isSNaN() ? 1 : 0;
+            int rankB = b.isQNaN() ? 2 : b.isSNaN() ? 1 : 0;
+            if (rankA != rankB) {
+                return sign * Integer.compare(rankA, rankB);
+            }
+            return sign * a.getCoefficient().compareTo(b.getCoefficient());
+        }
+        int c = compare(a, b);
+        if (c != 0) {
+            return c;
+        }
+        if (a.isInfinite()) {
+            return 0;
+        }
+        return sign * Long.compare(a.getExponent(), b.getExponent());
+    }
+
+    @TruffleBoundary
+    public DecimalValue max(DecimalValue a, DecimalValue b) {
+        return maxOrMin(a, b, true, false);
+    }
+
+    @TruffleBoundary
+    public DecimalValue min(DecimalValue a, DecimalValue b) {
+        return maxOrMin(a, b, false, false);
+    }
+
+    @TruffleBoundary
+    public DecimalValue maxMag(DecimalValue a, DecimalValue b) {
+        return maxOrMin(a, b, true, true);
+    }
+
+    @TruffleBoundary
+    public DecimalValue minMag(DecimalValue a, DecimalValue b) {
+        return maxOrMin(a, b, false, true);
+    }
+
+    private DecimalValue maxOrMin(DecimalValue a, DecimalValue b, boolean isMax, boolean magnitude) {
+        if (a.isNaN() || b.isNaN()) {
+            // a quiet NaN and a number result in the number
+            if (a.isQNaN() && !b.isNaN()) {
+                return fix(b);
+            } else if (b.isQNaN() && !a.isNaN()) {
+                return fix(a);
+            }
+            return checkNaNs(a, b);
+        }
+        int c = magnitude ? compare(a.withSign(0), b.withSign(0)) : compare(a, b);
+        if (c == 0) {
+            c = compareTotal(a, b);
+        }
+        if (isMax) {
+            return fix(c == -1 ? b : a);
+        }
+        return fix(c == -1 ? a : b);
+    }
+
+    // rounding
+
+    public DecimalValue quantize(DecimalValue a, DecimalValue expValue, int rnd) {
+        if (a.isFinite() && expValue.isFinite() && a.isSmall()) {
+            DecimalValue result = quantizeSmall(a, expValue.getExponent(), rnd);
+            if (result != null) {
+                return result;
+            }
+        }
+        return quantizeGeneric(a, expValue, rnd);
+    }
+
+    private DecimalValue quantizeSmall(DecimalValue a, long exp, int rnd) {
+        if (exp < getEtiny() || exp > emax) {
+            return null;
+        }
+        long coeff = a.getSmallCoefficient();
+        if (coeff == 0) {
+            return isRepresentable(true, 1, exp) ? DecimalValue.finite(a.getSign(), 0, exp) : null;
+        }
+        long digits = DecimalValue.digits(coeff);
+        long adjusted = a.getExponent() + digits - 1;
+        if (adjusted > emax || adjusted - exp + 1 > prec) {
+            return null;
+        }
+        if (a.getExponent() >= exp) {
+            long shift = a.getExponent() - exp;
+            // the result has at most prec digits, but prec may be larger than a long can hold
+            if (shift >= LONG_POW10.length || coeff > Long.MAX_VALUE / LONG_POW10[(int) shift]) {
+                return null;
+            }
+            long padded = coeff * LONG_POW10[(int) shift];
+            return isRepresentable(false, DecimalValue.digits(padded), exp) ? DecimalValue.finite(a.getSign(), padded, exp) : null;
+        }
+        long drop = exp - a.getExponent();
+        if (drop >= LONG_POW10.length) {
+            return null;
+        }
+        long p = LONG_POW10[(int) drop];
+        long kept = coeff / p;
+        long rest = coeff % p;
+        if (rest != 0 && roundUp(rnd, a.getSign(), (int) (kept % 10), Long.compare(rest * 2, p))) {
+            kept++;
+        }
+        boolean representable = kept == 0 ? isRepresentable(true, 1, exp) : isRepresentable(false, DecimalValue.digits(kept), exp);
+        if (!representable) {
+            return null;
+        }
+        status |= rest != 0 ? STATUS_INEXACT | STATUS_ROUNDED : STATUS_ROUNDED;
+        return DecimalValue.finite(a.getSign(), kept, exp);
+    }
+
+    @TruffleBoundary
+    private DecimalValue quantizeGeneric(DecimalValue a, DecimalValue expValue, int rnd) {
+        if (a.isSpecial() || expValue.isSpecial()) {
+            DecimalValue nan = checkNaNs(a, expValue);
+            if (nan != null) {
+                return nan;
+            }
+            if (a.isInfinite() && expValue.isInfinite()) {
+                return a;
+            }
+            return invalidOperation();
+        }
+        long exp = expValue.getExponent();
+        if (exp < getEtiny() || exp > emax) {
+            return invalidOperation();
+        }
+        if (a.isZero()) {
+            return fix(a.getSign(), BigInteger.ZERO, exp);
+        }
+        long adjusted = a.adjusted();
+        if (adjusted > emax || adjusted - exp + 1 > prec) {
+            return invalidOperation();
+        }
+        DecimalValue result = rescale(a, exp, rnd);
+        boolean inexact = a.getExponent() < exp && roundedInexact;
+        if (result.adjusted() > emax || result.digits() > prec) {
+            return invalidOperation();
+        }
+        if (!result.isZero() && result.adjusted() < emin) {
+            status |= STATUS_SUBNORMAL;
+        }
+        if (exp > a.getExponent()) {
+            if (inexact) {
+                status |= STATUS_INEXACT;
+            }
+            status |= STATUS_ROUNDED;
+        }
+        return fix(result);
+    }
+
+    @TruffleBoundary
+    public DecimalValue normalize(DecimalValue a) {
+        if (a.isNaN()) {
+            return checkNaNs(a, null);
+        }
+        DecimalValue dup = fix(a);
+        if (dup.isInfinite()) {
+            return dup;
+        } else if (dup.isZero()) {
+            return DecimalValue.finite(dup.getSign(), 0, 0);
+        }
+        long expMax = clamp == 0 ? emax : getEtop();
+        BigInteger coeff = dup.getCoefficient();
+        long exp = dup.getExponent();
+        while (exp < expMax) {
+            BigInteger[] qr = coeff.divideAndRemainder(BigInteger.TEN);
+            if (qr[1].signum() != 0) {
+                break;
+            }
+            coeff = qr[0];
+            exp++;
+        }
+        return DecimalValue.finite(dup.getSign(), coeff, exp);
+    }
+
+    /**
+     * Rounds to an integer. Only {@code to_integral_exact} raises {@code Inexact} and
+     * {@code Rounded}.
+     */
+    @TruffleBoundary
+    public DecimalValue toIntegral(DecimalValue a, int rnd, boolean exact) {
+        if (a.isNaN()) {
+            return checkNaNs(a, null);
+        } else if (a.isInfinite() || a.getExponent() >= 0) {
+            return a;
+        } else if (a.isZero() && exact) {
+            return DecimalValue.finite(a.getSign(), 0, 0);
+        }
+        DecimalValue result = rescale(a, 0, rnd);
+        if (exact) {
+            if (roundedInexact) {
+                status |= STATUS_INEXACT;
+            }
+            status |= STATUS_ROUNDED;
+        }
+        return result;
+    }
+
+    // power and logarithmic functions
+
+    private static boolean isInteger(DecimalValue v) {
+        if (!v.isFinite()) {
+            return false;
+        } else if (v.getExponent() >= 0 || v.isZero()) {
+            return true;
+        }
+        long fracDigits = -v.getExponent();
+        return fracDigits < v.digits() && v.getCoefficient().mod(pow10(fracDigits)).signum() == 0;
+    }
+
+    /**
+     * Whether an integral value is even.
+     */
+    private static boolean isEven(DecimalValue v) {
+        if (v.isZero() || v.getExponent() > 0) {
+            return true;
+        }
+        return !v.getCoefficient().divide(pow10(-v.getExponent())).testBit(0);
+    }
+
+    /**
+     * Whether an approximation with an error of at most one unit in the last digit is far enough
+     * from a half-way case to be correctly rounded to {@code p} digits.
+     */
+    private static boolean isRoundable(BigInteger coeff, long p) {
+        long n = DecimalValue.digits(coeff.abs()) - p - 1;
+        return n >= 0 && coeff.mod(pow10(n).multiply(BigInteger.valueOf(5))).signum() != 0;
+    }
+
+    /**
+     * Rounds the result of a transcendental function, which always uses ROUND_HALF_EVEN.
+     */
+    private DecimalValue fixHalfEven(DecimalValue v) {
+        DecimalArith halfEven = new DecimalArith(prec, ROUND_HALF_EVEN, emin, emax, clamp);
+        DecimalValue result = halfEven.fix(v);
+        status |= halfEven.status;
+        return result;
+    }
+
+    /**
+     * A lower bound {@code r} for the adjusted exponent of {@code ln(a)}, i.e.,
+     * {@code abs(ln(a)) >= 10**r}, for a positive finite {@code a != 1}.
+     */
+    private static long lnExpBound(DecimalValue a) {
+        long adj = a.adjusted();
+        if (adj >= 1) {
+            return DecimalMath.strLength(BigInteger.valueOf(adj).multiply(BigInteger.valueOf(23)).divide(BigInteger.TEN)) - 1;
+        } else if (adj <= -2) {
+            return DecimalMath.strLength(BigInteger.valueOf(-1 - adj).multiply(BigInteger.valueOf(23)).divide(BigInteger.TEN)) - 1;
+        }
+        BigInteger c = a.getCoefficient();
+        long e = a.getExponent();
+        if (adj == 0) {
+            String num = c.subtract(pow10(-e)).toString();
+            String den = c.toString();
+            return num.length() - den.length() - (num.compareTo(den) < 0 ? 1 : 0);
+        }
+        return e + DecimalMath.strLength(pow10(-e).subtract(c)) - 1;
+    }
+
+    /**
+     * A lower bound {@code r} for the adjusted exponent of {@code log10(a)}, for a positive finite
+     * {@code a != 1}.
+     */
+    private static long log10ExpBound(DecimalValue a) {
+        long adj = a.adjusted();
+        if (adj >= 1) {
+            return DecimalMath.strLength(adj) - 1;
+        } else if (adj <= -2) {
+            return DecimalMath.strLength(-1 - adj) - 1;
+        }
+        BigInteger c = a.getCoefficient();
+        long e = a.getExponent();
+        if (adj == 0) {
+            String num = c.subtract(pow10(-e)).toString();
+            String den = c.multiply(BigInteger.valueOf(231)).toString();
+            return num.length() - den.length() - (num.compareTo(den) < 0 ? 1 : 0) + 2;
+        }
+        String num = pow10(-e).subtract(c).toString();
+        return num.length() + e - (num.compareTo("231") < 0 ? 1 : 0) - 1;
+    }
+
+    /**
+     * {@code e ** a}, correctly rounded.
+     */
+    @TruffleBoundary
+    public DecimalValue exp(DecimalValue a) {
+        if (a.isNaN()) {
+            return checkNaNs(a, null);
+        } else if (a.isInfinite()) {
+            return a.getSign() == 1 ? DecimalValue.ZERO : a;
+        } else if (a.isZero()) {
+            return DecimalValue.ONE;
+        }
+        long adj = a.adjusted();
+        DecimalValue result;
+        if (a.getSign() == 0 && adj > DecimalMath.strLength((emax + 1) * 3)) {
+            // overflow
+            result = DecimalValue.finite(0, 1, emax + 1);
+        } else if (a.getSign() == 1 && adj > DecimalMath.strLength((-getEtiny() + 1) * 3)) {
+            // underflow to 0
+            result = DecimalValue.finite(0, 1, getEtiny() - 1);
+        } else if (a.getSign() == 0 && adj < -prec) {
+            // p+1 digits, the result rounds to 1 or the next larger number
+            result = DecimalValue.finite(0, pow10(prec).add(BigInteger.ONE), -prec);
+        } else if (a.getSign() == 1 && adj < -prec - 1) {
+            // the result rounds to 1 or the next smaller number
+            result = DecimalValue.finite(0, pow10(prec + 1).subtract(BigInteger.ONE), -prec - 1);
+        } else {
+            BigInteger c = a.getSign() == 1 ? a.getCoefficient().negate() : a.getCoefficient();
+            long extra = 3;
+            while (true) {
+                result = DecimalMath.dexp(c, a.getExponent(), prec + extra);
+                if (isRoundable(result.getCoefficient(), prec)) {
+                    break;
+                }
+                extra += 3;
+            }
+        }
+        return fixHalfEven(result);
+    }
+
+    /**
+     * The natural logarithm, correctly rounded.
+     */
+    @TruffleBoundary
+    public DecimalValue ln(DecimalValue a) {
+        if (a.isNaN()) {
+            return checkNaNs(a, null);
+        } else if (a.isZero()) {
+            return DecimalValue.NEGATIVE_INFINITY;
+        } else if (a.isInfinite() && a.getSign() == 0) {
+            return a;
+        } else if (compare(a, DecimalValue.ONE) == 0) {
+            return DecimalValue.ZERO;
+        } else if (a.getSign() == 1) {
+            return invalidOperation();
+        }
+        long places = prec - lnExpBound(a) + 2;
+        BigInteger coeff;
+        while (true) {
+            coeff = DecimalMath.dlog(a.getCoefficient(), a.getExponent(), places);
+            if (isRoundable(coeff, prec)) {
+                break;
+            }
+            places += 3;
+        }
+        return fixHalfEven(DecimalValue.finite(coeff.signum() < 0 ? 1 : 0, coeff.abs(), -places));
+    }
+
+    /**
+     * The base 10 logarithm, correctly rounded. Exact powers of ten have an exact result.
+     */
+    @TruffleBoundary
+    public DecimalValue log10(DecimalValue a) {
+        if (a.isNaN()) {
+            return checkNaNs(a, null);
+        } else if (a.isZero()) {
+            return DecimalValue.NEGATIVE_INFINITY;
+        } else if (a.isInfinite() && a.getSign() == 0) {
+            return a;
+        } else if (a.getSign() == 1) {
+            return invalidOperation();
+        }
+        if (a.getCoefficient().equals(pow10(a.digits() - 1))) {
+            return fixHalfEven(DecimalValue.fromLong(a.adjusted()));
+        }
+        long places = prec - log10ExpBound(a) + 2;
+        BigInteger coeff;
+        while (true) {
+            coeff = DecimalMath.dlog10(a.getCoefficient(), a.getExponent(), places);
+            if (isRoundable(coeff, prec)) {
+                break;
+            }
+            places += 3;
+        }
+        return fixHalfEven(DecimalValue.finite(coeff.signum() < 0 ? 1 : 0, coeff.abs(), -places));
+    }
+
+    /**
+     * The adjusted exponent as a value, i.e., {@code floor(log10(abs(a)))}.
+     */
+    public DecimalValue logb(DecimalValue a) {
+        if (a.isNaN()) {
+            return checkNaNs(a, null);
+        } else if (a.isInfinite()) {
+            return DecimalValue.POSITIVE_INFINITY;
+        } else if (a.isZero()) {
+            return divisionByZero(1);
+        }
+        return fix(DecimalValue.fromLong(a.adjusted()));
+    }
+
+    /**
+     * The square root, correctly rounded. The result is exact if possible.
+     */
+    @TruffleBoundary
+    public DecimalValue sqrt(DecimalValue a) {
+        if (a.isNaN()) {
+            return checkNaNs(a, null);
+        } else if (a.isInfinite() && a.getSign() == 0) {
+            return a;
+        } else if (a.isZero()) {
+            return fix(DecimalValue.finite(a.getSign(), 0, a.getExponent() >> 1));
+        } else if (a.getSign() == 1) {
+            return invalidOperation();
+        }
+        // the exponent of the result is the halved exponent, so make the exponent even first
+        long p = prec + 1;
+        long e = a.getExponent() >> 1;
+        BigInteger c;
+        long l;
+        if ((a.getExponent() & 1) != 0) {
+            c = a.getCoefficient().multiply(BigInteger.TEN);
+            l = (a.digits() >> 1) + 1;
+        } else {
+            c = a.getCoefficient();
+            l = (a.digits() + 1) >> 1;
+        }
+        // scale such that the root has p digits
+        long shift = p - l;
+        boolean exact;
+        if (shift >= 0) {
+            c = c.multiply(pow10(2 * shift));
+            exact = true;
+        } else {
+            BigInteger[] qr = c.divideAndRemainder(pow10(-2 * shift));
+            c = qr[0];
+            exact = qr[1].signum() == 0;
+        }
+        e -= shift;
+        BigInteger n = c.sqrt();
+        exact = exact && n.multiply(n).equals(c);
+        if (exact) {
+            n = shift >= 0 ? n.divide(pow10(shift)) : n.multiply(pow10(-shift));
+            e += shift;
+        } else if (n.mod(BigInteger.valueOf(5)).signum() == 0) {
+            // make the result inexact so that the rounding is correct
+            n = n.add(BigInteger.ONE);
+        }
+        return fixHalfEven(DecimalValue.finite(0, n, e));
+    }
+
+    /**
+     * {@code a ** b}, correctly rounded. Integral powers and powers with an exactly representable
+     * result are exact.
+     */
+    @TruffleBoundary
+    public DecimalValue power(DecimalValue a, DecimalValue b) {
+        DecimalValue nan = checkNaNs(a, b);
+        if (nan != null) {
+            return nan;
+        }
+        if (b.isZero()) {
+            return a.isZero() ? invalidOperation() : DecimalValue.ONE;
+        }
+        int resultSign = 0;
+        if (a.getSign() == 1) {
+            if (isInteger(b)) {
+                resultSign = isEven(b) ? 0 : 1;
+            } else if (!a.isZero()) {
+                return invalidOperation();
+            }
+            a = a.negate();
+        }
+        if (a.isZero()) {
+            return b.getSign() == 0 ? DecimalValue.finite(resultSign, 0, 0) : DecimalValue.infinity(resultSign);
+        } else if (a.isInfinite()) {
+            return b.getSign() == 0 ? DecimalValue.infinity(resultSign) : DecimalValue.finite(resultSign, 0, 0);
+        }
+        if (compare(a, DecimalValue.ONE) == 0) {
+            // the result is 1 with as many zeros as the exact result has, up to the precision
+            long exp;
+            if (isInteger(b)) {
+                long multiplier;
+                if (b.getSign() == 1) {
+                    multiplier = 0;
+                } else if (compare(b, DecimalValue.fromLong(prec)) > 0) {
+                    multiplier = prec;
+                } else {
+                    multiplier = toBigInteger(b, ROUND_DOWN).longValue();
+                }
+                if (multiplier != 0 && a.getExponent() < (1 - prec) / multiplier) {
+                    exp = 1 - prec;
+                    status |= STATUS_ROUNDED;
+                } else {
+                    exp = a.getExponent() * multiplier;
+                    if (exp < 1 - prec) {
+                        exp = 1 - prec;
+                        status |= STATUS_ROUNDED;
+                    }
+                }
+            } else {
+                status |= STATUS_INEXACT | STATUS_ROUNDED;
+                exp = 1 - prec;
+            }
+            return DecimalValue.finite(resultSign, pow10(-exp), exp);
+        }
+        long selfAdj = a.adjusted();
+        if (b.isInfinite()) {
+            if ((b.getSign() == 0) == (selfAdj < 0)) {
+                return DecimalValue.finite(resultSign, 0, 0);
+            }
+            return DecimalValue.infinity(resultSign);
+        }
+        // results that certainly overflow or underflow
+        DecimalValue result = null;
+        long bound = log10ExpBound(a) + b.adjusted();
+        if ((selfAdj >= 0) == (b.getSign() == 0)) {
+            if (bound >= DecimalMath.strLength(emax)) {
+                result = DecimalValue.finite(resultSign, 1, emax + 1);
+            }
+        } else if (bound >= DecimalMath.strLength(-getEtiny())) {
+            result = DecimalValue.finite(resultSign, 1, getEtiny() - 1);
+        }
+        boolean exact = false;
+        if (result == null) {
+            result = powerExact(a, b, prec + 1);
+            if (result != null) {
+                result = result.withSign(resultSign);
+                exact = true;
+            }
+        }
+        if (result == null) {
+            BigInteger yc = b.getSign() == 1 ? b.getCoefficient().negate() : b.getCoefficient();
+            long extra = 3;
+            while (true) {
+                result = DecimalMath.dpower(a.getCoefficient(), a.getExponent(), yc, b.getExponent(), prec + extra);
+                if (isRoundable(result.getCoefficient(), prec)) {
+                    break;
+                }
+                extra += 3;
+            }
+            result = result.withSign(resultSign);
+        }
+        if (exact && !isInteger(b)) {
+            // an exact result of a non-integral power is rounded as if it was inexact
+            if (result.digits() <= prec) {
+                long expdiff = prec + 1 - result.digits();
+                result = DecimalValue.finite(result.getSign(), result.getCoefficient().multiply(pow10(expdiff)), result.getExponent() - expdiff);
+            }
+            result = fix(result);
+            status |= STATUS_INEXACT;
+            if ((status & STATUS_SUBNORMAL) != 0) {
+                status |= STATUS_UNDERFLOW;
+            }
+            return result;
+        }
+        return fix(result);
+    }
+
+    /**
+     * Tries to compute {@code a ** b} exactly with at most {@code p} digits, returns {@code null}
+     * if that is not possible. {@code a} must be positive, finite and not 1, {@code b} must be
+     * finite and nonzero.
+     */
+    private static DecimalValue powerExact(DecimalValue a, DecimalValue b, long p) {
+        // a = xc * 10**xe and abs(b) = yc * 10**ye, with xc and yc not divisible by 10
+        BigInteger[] stripped = stripTrailingZeros(a.getCoefficient());
+        BigInteger xc = stripped[0];
+        BigInteger xe = BigInteger.valueOf(a.getExponent()).add(stripped[1]);
+        stripped = stripTrailingZeros(b.getCoefficient());
+        BigInteger yc = stripped[0];
+        long ye = b.getExponent() + stripped[1].longValue();
+
+        // a is a power of ten
+        if (xc.equals(BigInteger.ONE)) {
+            stripped = stripTrailingZeros(xe.multiply(yc));
+            ye += stripped[1].longValue();
+            if (ye < 0) {
+                return null;
+            }
+            BigInteger exponent = stripped[0].multiply(pow10(ye));
+            if (b.getSign() == 1) {
+                exponent = exponent.negate();
+            }
+            long zeros = 0;
+            if (isInteger(b) && b.getSign() == 0) {
+                BigInteger idealExponent = BigInteger.valueOf(a.getExponent()).multiply(toBigInteger(b, ROUND_DOWN));
+                zeros = exponent.subtract(idealExponent).min(BigInteger.valueOf(p - 1)).longValue();
+            }
+            return DecimalValue.finite(0, pow10(zeros), DecimalMath.saturate(exponent.subtract(BigInteger.valueOf(zeros))));
+        }
+
+        // for a negative b, a must be a power of 2 or 5 to give an exact result
+        if (b.getSign() == 1) {
+            int lastDigit = xc.mod(BigInteger.TEN).intValue();
+            BigInteger e;
+            BigInteger emaxP;
+            boolean powerOfTwo;
+            if (lastDigit % 2 == 0) {
+                if (xc.getLowestSetBit() != xc.bitLength() - 1) {
+                    return null;
+                }
+                // a = 2**e, so 1/a = 5**e / 10**e
+                e = BigInteger.valueOf(xc.bitLength() - 1);
+                emaxP = BigInteger.valueOf(p).multiply(BigInteger.valueOf(93)).divide(BigInteger.valueOf(65));
+                powerOfTwo = true;
+            } else if (lastDigit == 5) {
+                long e5 = xc.bitLength() * 28L / 65;
+                BigInteger[] qr = BigInteger.valueOf(5).pow((int) e5).divideAndRemainder(xc);
+                if (qr[1].signum() != 0) {
+                    return null;
+                }
+                xc = qr[0];
+                while (xc.mod(BigInteger.valueOf(5)).signum() == 0) {
+                    xc = xc.divide(BigInteger.valueOf(5));
+                    e5--;
+                }
+                // a = 5**e, so 1/a = 2**e / 10**e
+                e = BigInteger.valueOf(e5);
+                emaxP = BigInteger.valueOf(p).multiply(BigInteger.TEN).divide(BigInteger.valueOf(3));
+                powerOfTwo = false;
+            } else {
+                return null;
+            }
+            if (ye >= DecimalMath.strLength(emaxP)) {
+                return null;
+            }
+            e = DecimalMath.decimalLshiftExact(e.multiply(yc), ye);
+            xe = DecimalMath.decimalLshiftExact(xe.multiply(yc), ye);
+            if (e == null || xe == null || e.compareTo(emaxP) > 0) {
+                return null;
+            }
+            xc = DecimalMath.pow(BigInteger.valueOf(powerOfTwo ? 5 : 2), e);
+            if (DecimalValue.digits(xc) > p) {
+                return null;
+            }
+            return DecimalValue.finite(0, xc, DecimalMath.saturate(e.negate().subtract(xe)));
+        }
+
+        // b = m / n in lowest terms, a must be an n-th power
+        BigInteger m;
+        BigInteger n;
+        long xcBits = xc.bitLength();
+        if (ye >= 0) {
+            m = yc.multiply(pow10(ye));
+            n = BigInteger.ONE;
+        } else {
+            if (xe.signum() != 0 && DecimalMath.strLength(yc.multiply(xe).abs()) <= -ye) {
+                return null;
+            }
+            if (DecimalMath.strLength(yc.multiply(BigInteger.valueOf(xcBits))) <= -ye) {
+                return null;
+            }
+            m = yc;
+            n = pow10(-ye);
+            while (!m.testBit(0) && !n.testBit(0)) {
+                m = m.shiftRight(1);
+                n = n.shiftRight(1);
+            }
+            BigInteger five = BigInteger.valueOf(5);
+            while (m.mod(five).signum() == 0 && n.mod(five).signum() == 0) {
+                m = m.divide(five);
+                n = n.divide(five);
+            }
+        }
+        if (n.compareTo(BigInteger.ONE) > 0) {
+            if (BigInteger.valueOf(xcBits).compareTo(n) <= 0) {
+                return null;
+            }
+            BigInteger[] qr = DecimalMath.floorDivMod(xe, n);
+            if (qr[1].signum() != 0) {
+                return null;
+            }
+            xe = qr[0];
+            // n-th root of xc by Newton's method, n is less than the bit length of xc here
+            int nInt = n.intValueExact();
+            BigInteger root = BigInteger.ONE.shiftLeft((int) -Math.floorDiv(-xcBits, nInt));
+            BigInteger q;
+            BigInteger r;
+            while (true) {
+                qr = xc.divideAndRemainder(root.pow(nInt - 1));
+                q = qr[0];
+                r = qr[1];
+                if (root.compareTo(q) <= 0) {
+                    break;
+                }
+                root = root.multiply(BigInteger.valueOf(nInt - 1)).add(q).divide(n);
+            }
+            if (!(root.equals(q) && r.signum() == 0)) {
+                return null;
+            }
+            xc = root;
+        }
+        // the result must not have more than p digits
+        if (xc.compareTo(BigInteger.ONE) > 0 && m.compareTo(BigInteger.valueOf(p).multiply(BigInteger.valueOf(100)).divide(BigInteger.valueOf(DecimalMath.log10Lb(xc)))) > 0) {
+            return null;
+        }
+        xc = DecimalMath.pow(xc, m);
+        xe = xe.multiply(m);
+        if (DecimalValue.digits(xc) > p) {
+            return null;
+        }
+        long zeros = 0;
+        if (isInteger(b) && b.getSign() == 0) {
+            BigInteger idealExponent = BigInteger.valueOf(a.getExponent()).multiply(toBigInteger(b, ROUND_DOWN));
+            zeros = xe.subtract(idealExponent).min(BigInteger.valueOf(p - DecimalValue.digits(xc))).longValue();
+        }
+        return DecimalValue.finite(0, xc.multiply(pow10(zeros)), DecimalMath.saturate(xe.subtract(BigInteger.valueOf(zeros))));
+    }
+
+    /**
+     * Returns the coefficient without trailing zeros and the number of removed zeros.
+     */
+    private static BigInteger[] stripTrailingZeros(BigInteger c) {
+        BigInteger coeff = c;
+        long zeros = 0;
+        while (coeff.signum() != 0) {
+            BigInteger[] qr = coeff.divideAndRemainder(BigInteger.TEN);
+            if (qr[1].signum() != 0) {
+                break;
+            }
+            coeff = qr[0];
+            zeros++;
+        }
+        return new BigInteger[]{coeff, BigInteger.valueOf(zeros)};
+    }
+
+    /**
+     * {@code (a ** b) % modulo}, computed exactly for integral operands.
+     */
+    @TruffleBoundary
+    public DecimalValue powerModulo(DecimalValue a, DecimalValue b, DecimalValue modulo) {
+        DecimalValue nan = checkNaNs(a, b, modulo);
+        if (nan != null) {
+            return nan;
+        }
+        if (!isInteger(a) || !isInteger(b) || !isInteger(modulo)) {
+            return invalidOperation();
+        } else if (b.getSign() == 1 && !b.isZero()) {
+            return invalidOperation();
+        } else if (modulo.isZero() || modulo.adjusted() >= prec) {
+            return invalidOperation();
+        } else if (a.isZero() && b.isZero()) {
+            return invalidOperation();
+        }
+        int sign = isEven(b) ? 0 : a.getSign();
+        BigInteger mod = toBigInteger(modulo, ROUND_DOWN).abs();
+        BigInteger[] base = integralParts(a);
+        BigInteger[] exponent = integralParts(b);
+        BigInteger result = base[0].mod(mod).multiply(BigInteger.TEN.modPow(base[1], mod)).mod(mod);
+        for (long i = 0; i < exponent[1].longValue(); i++) {
+            result = result.modPow(BigInteger.TEN, mod);
+        }
+        return DecimalValue.finite(sign, result.modPow(exponent[0], mod), 0);
+    }
+
+    /**
+     * Splits the magnitude of an integral value into {@code c * 10**e} with {@code e >= 0}.
+     */
+    private static BigInteger[] integralParts(DecimalValue v) {
+        if (v.getExponent() >= 0) {
+            return new BigInteger[]{v.getCoefficient(), BigInteger.valueOf(v.getExponent())};
+        }
+        return new BigInteger[]{v.getCoefficient().divide(pow10(-v.getExponent())), BigInteger.ZERO};
+    }
+
+    /**
+     * Like {@link #checkNaNs(DecimalValue, DecimalValue)} for three operands.
+     */
+    private DecimalValue checkNaNs(DecimalValue a, DecimalValue b, DecimalValue c) {
+        if (c.isSNaN() && !a.isSNaN() && !b.isSNaN()) {
+            status |= STATUS_INVALID_OPERATION;
+            return fixNaN(c.toQuietNaN());
+        }
+        DecimalValue nan = checkNaNs(a, b);
+        if (nan == null && c.isNaN()) {
+            return fixNaN(c);
+        }
+        return nan;
+    }
+
+    /**
+     * {@code a * b + c} with a single rounding.
+     */
+    @TruffleBoundary
+    public DecimalValue fma(DecimalValue a, DecimalValue b, DecimalValue c) {
+        DecimalValue product;
+        int sign = a.getSign() ^ b.getSign();
+        if (a.isSpecial() || b.isSpecial()) {
+            if (a.isSNaN() || b.isSNaN()) {
+                return checkNaNs(a, b);
+            } else if (a.isNaN()) {
+                product = a;
+            } else if (b.isNaN()) {
+                product = b;
+            } else if ((a.isInfinite() && b.isZero()) || (b.isInfinite() && a.isZero())) {
+                return invalidOperation();
+            } else {
+                product = DecimalValue.infinity(sign);
+            }
+        } else {
+            product = DecimalValue.finite(sign, a.getCoefficient().multiply(b.getCoefficient()), a.getExponent() + b.getExponent());
+        }
+        return add(product, c);
+    }
+
+    // neighbours
+
+    /**
+     * The largest representable number smaller than {@code a}. Raises no conditions except for
+     * signaling NaNs.
+     */
+    @TruffleBoundary
+    public DecimalValue nextMinus(DecimalValue a) {
+        if (a.isNaN()) {
+            return checkNaNs(a, null);
+        } else if (a.isInfinite()) {
+            return a.getSign() == 1 ? a : DecimalValue.finite(0, pow10(prec).subtract(BigInteger.ONE), getEtop());
+        }
+        return next(a, ROUND_FLOOR);
+    }
+
+    /**
+     * The smallest representable number larger than {@code a}. Raises no conditions except for
+     * signaling NaNs.
+     */
+    @TruffleBoundary
+    public DecimalValue nextPlus(DecimalValue a) {
+        if (a.isNaN()) {
+            return checkNaNs(a, null);
+        } else if (a.isInfinite()) {
+            return a.getSign() == 0 ? a : DecimalValue.finite(1, pow10(prec).subtract(BigInteger.ONE), getEtop());
+        }
+        return next(a, ROUND_CEILING);
+    }
+
+    private DecimalValue next(DecimalValue a, int rnd) {
+        DecimalArith quiet = new DecimalArith(prec, rnd, emin, emax, clamp);
+        DecimalValue rounded = quiet.fix(a);
+        if (compare(rounded, a) != 0) {
+            return rounded;
+        }
+        DecimalValue tiny = DecimalValue.finite(0, 1, getEtiny() - 1);
+        return rnd == ROUND_FLOOR ? quiet.subtract(a, tiny) : quiet.add(a, tiny);
+    }
+
+    /**
+     * The number closest to {@code a} in the direction towards {@code b}.
+     */
+    @TruffleBoundary
+    public DecimalValue nextToward(DecimalValue a, DecimalValue b) {
+        DecimalValue nan = checkNaNs(a, b);
+        if (nan != null) {
+            return nan;
+        }
+        int c = compare(a, b);
+        if (c == 0) {
+            return a.withSign(b.getSign());
+        }
+        DecimalValue result = c < 0 ? nextPlus(a) : nextMinus(a);
+        if (result.isInfinite()) {
+            status |= STATUS_OVERFLOW | STATUS_INEXACT | STATUS_ROUNDED;
+        } else if (result.adjusted() < emin) {
+            status |= STATUS_UNDERFLOW | STATUS_SUBNORMAL | STATUS_INEXACT | STATUS_ROUNDED;
+            if (result.isZero()) {
+                status |= STATUS_CLAMPED;
+            }
+        }
+        return result;
+    }
+
+    // digit-wise operations
+
+    /**
+     * The integral value of an operand of {@code rotate}, {@code shift} and {@code scaleb} if it
+     * is within {@code [-limit, limit]}, otherwise {@link Long#MIN_VALUE}.
+     */
+    private static long integralOperand(DecimalValue b, long limit) {
+        if (!b.isFinite() || b.getExponent() != 0 || !b.isSmall() || b.getSmallCoefficient() > limit) {
+            return Long.MIN_VALUE;
+        }
+        return b.getSign() == 1 ? -b.getSmallCoefficient() : b.getSmallCoefficient();
+    }
+
+    /**
+     * {@code c % 10**n} without computing a power of ten longer than {@code c}.
+     */
+    private static BigInteger lowDigits(BigInteger c, long n) {
+        return DecimalValue.digits(c) <= n ? c : c.mod(pow10(n));
+    }
+
+    /**
+     * {@code c // 10**n} without computing a power of ten longer than {@code c}.
+     */
+    private static BigInteger highDigits(BigInteger c, long n) {
+        return DecimalValue.digits(c) <= n ? BigInteger.ZERO : c.divide(pow10(n));
+    }
+
+    /**
+     * Rotates the coefficient, padded or truncated to the precision, by {@code b} digits to the
+     * left.
+     */
+    @TruffleBoundary
+    public DecimalValue rotate(DecimalValue a, DecimalValue b) {
+        DecimalValue nan = checkNaNs(a, b);
+        if (nan != null) {
+            return nan;
+        }
+        long n = integralOperand(b, prec);
+        if (n == Long.MIN_VALUE) {
+            return invalidOperation();
+        } else if (a.isInfinite()) {
+            return a;
+        }
+        long k = n < 0 ? prec + n : n;
+        BigInteger c = lowDigits(a.getCoefficient(), prec);
+        BigInteger rotated = lowDigits(c, prec - k).multiply(pow10(k)).add(highDigits(c, prec - k));
+        return DecimalValue.finite(a.getSign(), rotated, a.getExponent());
+    }
+
+    /**
+     * Shifts the coefficient, truncated to the precision, by {@code b} digits to the left.
+     */
+    @TruffleBoundary
+    public DecimalValue shift(DecimalValue a, DecimalValue b) {
+        DecimalValue nan = checkNaNs(a, b);
+        if (nan != null) {
+            return nan;
+        }
+        long n = integralOperand(b, prec);
+        if (n == Long.MIN_VALUE) {
+            return invalidOperation();
+        } else if (a.isInfinite()) {
+            return a;
+        }
+        BigInteger c = lowDigits(a.getCoefficient(), prec);
+        BigInteger shifted = n < 0 ? highDigits(c, -n) : lowDigits(c.multiply(pow10(n)), prec);
+        return DecimalValue.finite(a.getSign(), shifted, a.getExponent());
+    }
+
+    /**
+     * {@code a * 10**b} for an integral {@code b}.
+     */
+    @TruffleBoundary
+    public DecimalValue scaleb(DecimalValue a, DecimalValue b) {
+        DecimalValue nan = checkNaNs(a, b);
+        if (nan != null) {
+            return nan;
+        }
+        long n = integralOperand(b, 2 * (emax + prec));
+        if (n == Long.MIN_VALUE) {
+            return invalidOperation();
+        } else if (a.isInfinite()) {
+            return a;
+        }
+        return fix(DecimalValue.finite(a.getSign(), a.getCoefficient(), a.getExponent() + n));
+    }
+
+    private static boolean isLogical(DecimalValue v) {
+        if (!v.isFinite() || v.getSign() != 0 || v.getExponent() != 0) {
+            return false;
+        }
+        String digits = v.coefficientString();
+        for (int i = 0; i < digits.length(); i++) {
+            if (digits.charAt(i) > '1') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @TruffleBoundary
+    public DecimalValue logicalAnd(DecimalValue a, DecimalValue b) {
+        return logicalOp(a, b, '&');
+    }
+
+    @TruffleBoundary
+    public DecimalValue logicalOr(DecimalValue a, DecimalValue b) {
+        return logicalOp(a, b, '|');
+    }
+
+    @TruffleBoundary
+    public DecimalValue logicalXor(DecimalValue a, DecimalValue b) {
+        return logicalOp(a, b, '^');
+    }
+
+    /**
+     * Applies the operation to the digits of the operands, which must consist of zeros and ones.
+     * The operands are padded with zeros or truncated to the precision.
+     */
+    private DecimalValue logicalOp(DecimalValue a, DecimalValue b, char op) {
+        if (!isLogical(a) || !isLogical(b)) {
+            return invalidOperation();
+        }
+        String digitsA = a.coefficientString();
+        String digitsB = b.coefficientString();
+        // the digits beyond both operands are zero in the result
+        int len = (int) Math.min(prec, Math.max(digitsA.length(), digitsB.length()));
+        char[] result = new char[len];
+        for (int i = 0; i < len; i++) {
+            int da = i < digitsA.length() ? digitsA.charAt(digitsA.length() - 1 - i) - '0' : 0;
+            int db = i < digitsB.length() ? digitsB.charAt(digitsB.length() - 1 - i) - '0' : 0;
+            int d = op == '&' ? da & db : op == '|' ? da | db : da ^ db;
+            result[len - 1 - i] = (char) ('0' + d);
+        }
+        return DecimalValue.finite(0, new BigInteger(new String(result)), 0);
+    }
+
+    /**
+     * Inverts the digits of the operand, which must consist of zeros and ones, padded to the
+     * precision.
+     */
+    @TruffleBoundary
+    public DecimalValue logicalInvert(DecimalValue a) {
+        if (!isLogical(a)) {
+            return invalidOperation();
+        }
+        if (prec > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError();
+        }
+        String digits = a.coefficientString();
+        char[] result = new char[(int) prec];
+        for (int i = 0; i < result.length; i++) {
+            int d = i < digits.length() ? digits.charAt(digits.length() - 1 - i) - '0' : 0;
+            result[result.length - 1 - i] = (char) ('1' - d);
+        }
+        return DecimalValue.finite(0, new BigInteger(new String(result)), 0);
+    }
+
+    // conversions
+
+    /**
+     * Converts a finite value to an integer, rounding with the given mode.
+     */
+    @TruffleBoundary
+    public static BigInteger toBigInteger(DecimalValue a, int rnd) {
+        assert a.isFinite();
+        DecimalValue integral = a.getExponent() >= 0 ? a : createExact().rescale(a, 0, rnd);
+        BigInteger result = integral.getCoefficient().multiply(pow10(integral.getExponent()));
+        return integral.getSign() == 1 ? result.negate() : result;
+    }
+
+    /**
+     * Truncates a finite value to a {@code long}, or returns {@link Long#MIN_VALUE} if it does not
+     * fit.
+     */
+    public static long toLongExact(DecimalValue a) {
+        assert a.isFinite();
+        if (a.isSmall()) {
+            long coeff = a.getSmallCoefficient();
+            long exp = a.getExponent();
+            long result;
+            if (exp <= 0) {
+                result = -exp < LONG_POW10.length ? coeff / LONG_POW10[(int) -exp] : 0;
+            } else if (exp < LONG_POW10.length && coeff <= Long.MAX_VALUE / LONG_POW10[(int) exp]) {
+                result = coeff * LONG_POW10[(int) exp];
+            } else {
+                return Long.MIN_VALUE;
+            }
+            return a.getSign() == 1 ? -result : result;
+        }
+        return Long.MIN_VALUE;
+    }
+
+    /**
+     * Converts a double exactly, like {@code Decimal.from_float}.
+     */
+    @TruffleBoundary
+    public static DecimalValue fromDouble(double d) {
+        int sign = (Double.doubleToRawLongBits(d) < 0) ? 1 : 0;
+        if (Double.isNaN(d)) {
+            return DecimalValue.NAN.withSign(sign);
+        } else if (Double.isInfinite(d)) {
+            return DecimalValue.infinity(sign);
+        } else if (d == 0.0) {
+            return DecimalValue.finite(sign, 0, 0);
+        }
+        BigDecimal exact = new BigDecimal(Math.abs(d));
+        return DecimalValue.finite(sign, exact.unscaledValue(), -exact.scale());
+    }
+
+    @TruffleBoundary
+    public static double toDouble(DecimalValue a) {
+        if (a.isNaN()) {
+            return Math.copySign(Double.NaN, a.getSign() == 1 ? -1.0 : 1.0);
+        }
+        return Double.parseDouble(toString(a, false, true));
+    }
+
+    /**
+     * Computes the hash like CPython, such that equal ints, floats, fractions and decimals have the
+     * same hash. Must not be called for NaNs.
+     */
+    @TruffleBoundary
+    public static long hash(DecimalValue a) {
+        assert !a.isNaN();
+        if (a.isInfinite()) {
+            return a.getSign() == 0 ? SysModuleBuiltins.HASH_INF : -SysModuleBuiltins.HASH_INF;
+        }
+        long exp = a.getExponent();
+        long expHash = exp >= 0 ? powMod(10, exp) : powMod(HASH_10INV, -exp);
+        long coeffHash = a.isSmall() ? a.getSmallCoefficient() % HASH_MODULUS : a.getCoefficient().mod(BigInteger.valueOf(HASH_MODULUS)).longValue();
+        long h = mulMod(coeffHash, expHash);
+        if (a.getSign() == 1) {
+            h = -h;
+        }
+        return h == -1 ? -2 : h;
+    }
+
+    /**
+     * Multiplication modulo the Mersenne prime {@code 2**61 - 1} of factors less than it.
+     */
+    private static long mulMod(long a, long b) {
+        long hi = Math.multiplyHigh(a, b);
+        long lo = a * b;
+        long r = (lo & HASH_MODULUS) + ((hi << 3) | (lo >>> 61));
+        r = (r & HASH_MODULUS) + (r >>> 61);
+        return r >= HASH_MODULUS ? r - HASH_MODULUS : r;
+    }
+
+    private static long powMod(long base, long exp) {
+        long result = 1;
+        long b = base % HASH_MODULUS;
+        long e = exp;
+        while (e > 0) {
+            if ((e & 1) != 0) {
+                result = mulMod(result, b);
+            }
+            b = mulMod(b, b);
+            e >>>= 1;
+        }
+        return result;
+    }
+
+    // string conversion
+
+    /**
+     * The string representation in scientific or engineering notation, like
+     * {@code Decimal.__str__} and {@code Decimal.to_eng_string}.
+     */
+    @TruffleBoundary
+    public static String toString(DecimalValue a, boolean eng, boolean capitals) {
+        StringBuilder sb = new StringBuilder();
+        if (a.getSign() == 1) {
+            sb.append('-');
+        }
+        if (a.isInfinite()) {
+            return sb.append("Infinity").toString();
+        } else if (a.isNaN()) {
+            sb.append(a.isSNaN() ? "sNaN" : "NaN");
+            if (!a.isCoefficientZero()) {
+                sb.append(a.coefficientString());
+            }
+            return sb.toString();
+        }
+        String coeff = a.coefficientString();
+        long exp = a.getExponent();
+        long leftDigits = exp + coeff.length();
+        long dotPlace;
+        if (exp <= 0 && leftDigits > -6) {
+            dotPlace = leftDigits;
+        } else if (!eng) {
+            dotPlace = 1;
+        } else if (a.isZero()) {
+            dotPlace = Math.floorMod(leftDigits + 1, 3) - 1;
+        } else {
+            dotPlace = Math.floorMod(leftDigits - 1, 3) + 1;
+        }
+        if (dotPlace <= 0) {
+            sb.append("0.");
+            for (long i = 0; i < -dotPlace; i++) {
+                sb.append('0');
+            }
+            sb.append(coeff);
+        } else if (dotPlace >= coeff.length()) {
+            sb.append(coeff);
+            for (long i = coeff.length(); i < dotPlace; i++) {
+                sb.append('0');
+            }
+        } else {
+            sb.append(coeff, 0, (int) dotPlace).append('.').append(coeff, (int) dotPlace, coeff.length());
+        }
+        if (leftDigits != dotPlace) {
+            long e = leftDigits - dotPlace;
+            sb.append(capitals ? 'E' : 'e').append(e < 0 ? '-' : '+').append(Math.abs(e));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Parses a numeric string without rounding it. The string must only contain ASCII characters,
+     * i.e., the caller has to strip whitespace and map Unicode digits. Returns {@code null} if the
+     * syntax is invalid.
+     */
+    @TruffleBoundary
+    public static DecimalValue parse(String s) {
+        int len = s.length();
+        int pos = 0;
+        int sign = 0;
+        if (pos < len && (s.charAt(pos) == '+' || s.charAt(pos) == '-')) {
+            sign = s.charAt(pos) == '-' ? 1 : 0;
+            pos++;
+        }
+        String rest = s.substring(pos);
+        if (rest.equalsIgnoreCase("inf") || rest.equalsIgnoreCase("infinity")) {
+            return DecimalValue.infinity(sign);
+        }
+        boolean signaling = rest.regionMatches(true, 0, "snan", 0, 4);
+        if (signaling || rest.regionMatches(true, 0, "nan", 0, 3)) {
+            String payload = rest.substring(signaling ? 4 : 3);
+            if (!isDigits(payload, 0, payload.length())) {
+                return null;
+            }
+            return DecimalValue.nan(sign, signaling, payload.isEmpty() ? BigInteger.ZERO : new BigInteger(payload));
+        }
+        int intStart = pos;
+        while (pos < len && isDigit(s.charAt(pos))) {
+            pos++;
+        }
+        int intEnd = pos;
+        int fracStart = pos;
+        int fracEnd = pos;
+        if (pos < len && s.charAt(pos) == '.') {
+            pos++;
+            fracStart = pos;
+            while (pos < len && isDigit(s.charAt(pos))) {
+                pos++;
+            }
+            fracEnd = pos;
+        }
+        if (intStart == intEnd && fracStart == fracEnd) {
+            return null;
+        }
+        long exp = 0;
+        if (pos < len && (s.charAt(pos) == 'e' || s.charAt(pos) == 'E')) {
+            pos++;
+            int expSign = 1;
+            if (pos < len && (s.charAt(pos) == '+' || s.charAt(pos) == '-')) {
+                expSign = s.charAt(pos) == '-' ? -1 : 1;
+                pos++;
+            }
+            if (pos == len || !isDigits(s, pos, len)) {
+                return null;
+            }
+            // exponents beyond any context are saturated, they overflow or underflow later
+            for (; pos < len; pos++) {
+                if (exp < Long.MAX_VALUE / 4) {
+                    exp = exp * 10 + (s.charAt(pos) - '0');
+                }
+            }
+            exp = Math.min(exp, Long.MAX_VALUE / 4) * expSign;
+        }
+        if (pos != len) {
+            return null;
+        }
+        String digits = s.substring(intStart, intEnd) + s.substring(fracStart, fracEnd);
+        exp -= fracEnd - fracStart;
+        if (digits.length() < 19) {
+            return DecimalValue.finite(sign, Long.parseLong(digits), exp);
+        }
+        return DecimalValue.finite(sign, new BigInteger(digits), exp);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isDigits(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rounds the result of a conversion to the context. NaN payloads that are too long are a
+     * conversion syntax error, like in libmpdec.
+     */
+    public DecimalValue fixConverted(DecimalValue v) {
+        if (v.isNaN() && v.digits() > prec - clamp) {
+            status |= STATUS_CONVERSION_SYNTAX;
+            return DecimalValue.NAN;
+        }
+        return fix(v);
+    }
+
+    /**
+     * Checks that a converted value is exactly representable in the maximum context, like the
+     * exact conversions in CPython's {@code _decimal}.
+     */
+    public DecimalValue checkExact(DecimalValue v) {
+        DecimalArith exact = createExact();
+        DecimalValue result = exact.fix(v);
+        if ((exact.status & (STATUS_INEXACT | STATUS_ROUNDED | STATUS_CLAMPED)) != 0) {
+            return invalidOperation();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,1443 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.decimal;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.MemoryError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OverflowError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ABS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___BOOL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___CEIL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___COMPLEX__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___COPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___DEEPCOPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___DIVMOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___FLOAT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___FLOORDIV__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___FLOOR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___FORMAT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___INT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___MOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___MUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NEG__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___POS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___POW__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RDIVMOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RFLOORDIV__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RMOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RMUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ROUND__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RPOW__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RSUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RTRUEDIV__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___STR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___SUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___TRUEDIV__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___TRUNC__;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.complex.PComplex;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalBuiltinsClinicProviders.FormatNodeClinicProviderGen;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalNodes.AsDecimalValueNode;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalNodes.ContextArgNode;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalNodes.ConvertToDecimalValueNode;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalNodes.GetContextNode;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalNodes.GetRoundingNode;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalNodesFactory.GetContextNodeGen;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.object.ObjectBuiltins;
+import com.oracle.graal.python.lib.PyFloatAsDoubleNode;
+import com.oracle.graal.python.lib.PyFloatCheckNode;
+import com.oracle.graal.python.lib.PyLongCheckNode;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.classes.IsSubtypeNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.util.CastToJavaBigIntegerNode;
+import com.oracle.graal.python.nodes.util.CastToJavaBigIntegerNodeGen;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.ComparisonOp;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PDecimal)
+public final class DecimalBuiltins extends PythonBuiltins {
+
+    private static final TruffleString T_NUMERATOR = tsLiteral("numerator");
+    private static final TruffleString T_DENOMINATOR = tsLiteral("denominator");
+    private static final TruffleString T_F = tsLiteral("F");
+    private static final TruffleString T_N = tsLiteral("N");
+    private static final TruffleString T_N_LOWER = tsLiteral("n");
+
+    /** Powers of ten that are exactly representable as doubles. */
+    private static final double[] DOUBLE_POW10 = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DecimalBuiltinsFactory.getFactories();
+    }
+
+    static Object toPythonInt(PythonObjectFactory factory, BigInteger value) {
+        if (PInt.bigIntegerFitsInLong(value)) {
+            return PInt.longValue(value);
+        }
+        return factory.createInt(value);
+    }
+
+    /**
+     * Converts to an integer with the given rounding mode, like {@code dec_as_long} in CPython.
+     */
+    static Object toPythonInt(Node inliningTarget, PythonObjectFactory factory, PRaiseNode.Lazy raiseNode, DecimalValue value, int rounding) {
+        if (value.isNaN()) {
+            throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.CANNOT_CONVERT_NAN_TO_INTEGER);
+        } else if (value.isInfinite()) {
+            throw raiseNode.get(inliningTarget).raise(OverflowError, ErrorMessages.CANNOT_CONVERT_INFINITY_TO_INTEGER);
+        }
+        if (rounding == PDecimalContext.ROUND_DOWN) {
+            long result = DecimalArith.toLongExact(value);
+            if (result != Long.MIN_VALUE) {
+                return result;
+            }
+        }
+        try {
+            return toPythonInt(factory, DecimalArith.toBigInteger(value, rounding));
+        } catch (OutOfMemoryError e) {
+            throw raiseNode.get(inliningTarget).raise(MemoryError);
+        }
+    }
+
+    /**
+     * Converts to a double like {@code float(str(value))}, but avoids the string conversion if the
+     * coefficient and the power of ten are exactly representable.
+     */
+    static double toDouble(DecimalValue value) {
+        if (value.isFinite() && value.isSmall()) {
+            long coeff = value.getSmallCoefficient();
+            long exp = value.getExponent();
+            if (coeff < (1L << 53) && exp > -DOUBLE_POW10.length && exp < DOUBLE_POW10.length) {
+                double result = exp >= 0 ? coeff * DOUBLE_POW10[(int) exp] : coeff / DOUBLE_POW10[(int) -exp];
+                return value.getSign() == 1 ? -result : result;
+            }
+        }
+        return DecimalArith.toDouble(value);
+    }
+
+    @TruffleBoundary
+    static TruffleString toTruffleString(DecimalValue value, boolean eng, PDecimalContext context) {
+        return toTruffleStringUncached(DecimalArith.toString(value, eng, context.getCapitals() == 1));
+    }
+
+    // arithmetic operators
+
+    abstract static class DecimalBinaryOpNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object doOp(Object left, Object right,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDecimalValueNode asLeftNode,
+                        @Cached AsDecimalValueNode asRightNode,
+                        @Cached GetContextNode getContextNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            DecimalValue a = asLeftNode.execute(inliningTarget, left);
+            DecimalValue b = asRightNode.execute(inliningTarget, right);
+            if (a == null || b == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            PDecimalContext context = getContextNode.execute(inliningTarget);
+            DecimalArith arith = new DecimalArith(context);
+            DecimalValue result;
+            try {
+                result = op(arith, a, b);
+            } catch (OutOfMemoryError e) {
+                throw raiseNode.get(inliningTarget).raise(MemoryError);
+            }
+            DecimalNodes.addStatus(inliningTarget, context, arith.getStatus());
+            return factory.createDecimal(result);
+        }
+
+        protected abstract DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b);
+    }
+
+    @Builtin(name = J___ADD__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RADD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class AddNode extends DecimalBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.add(a, b);
+        }
+    }
+
+    @Builtin(name = J___SUB__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RSUB__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class SubNode extends DecimalBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.subtract(a, b);
+        }
+    }
+
+    @Builtin(name = J___MUL__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RMUL__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class MulNode extends DecimalBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.multiply(a, b);
+        }
+    }
+
+    @Builtin(name = J___TRUEDIV__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RTRUEDIV__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class TrueDivNode extends DecimalBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.divide(a, b);
+        }
+    }
+
+    @Builtin(name = J___FLOORDIV__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RFLOORDIV__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class FloorDivNode extends DecimalBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.floorDivide(a, b);
+        }
+    }
+
+    @Builtin(name = J___MOD__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RMOD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class ModNode extends DecimalBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.remainder(a, b);
+        }
+    }
+
+    @Builtin(name = J___DIVMOD__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RDIVMOD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class DivModNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object divmod(Object left, Object right,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDecimalValueNode asLeftNode,
+                        @Cached AsDecimalValueNode asRightNode,
+                        @Cached GetContextNode getContextNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            DecimalValue a = asLeftNode.execute(inliningTarget, left);
+            DecimalValue b = asRightNode.execute(inliningTarget, right);
+            if (a == null || b == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            PDecimalContext context = getContextNode.execute(inliningTarget);
+            DecimalArith arith = new DecimalArith(context);
+            DecimalValue[] result;
+            try {
+                result = arith.divmod(a, b);
+            } catch (OutOfMemoryError e) {
+                throw raiseNode.get(inliningTarget).raise(MemoryError);
+            }
+            DecimalNodes.addStatus(inliningTarget, context, arith.getStatus());
+            return factory.createTuple(new Object[]{factory.createDecimal(result[0]), factory.createDecimal(result[1])});
+        }
+    }
+
+    @Builtin(name = J___POW__, minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 3)
+    @Builtin(name = J___RPOW__, minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 3, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class PowNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static Object pow(Object left, Object right, Object mod,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDecimalValueNode asLeftNode,
+                        @Cached AsDecimalValueNode asRightNode,
+                        @Cached AsDecimalValueNode asModNode,
+                        @Cached GetContextNode getContextNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            DecimalValue a = asLeftNode.execute(inliningTarget, left);
+            DecimalValue b = asRightNode.execute(inliningTarget, right);
+            if (a == null || b == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            DecimalValue modulo = null;
+            if (!(mod instanceof PNone)) {
+                modulo = asModNode.execute(inliningTarget, mod);
+                if (modulo == null) {
+                    return PNotImplemented.NOT_IMPLEMENTED;
+                }
+            }
+            PDecimalContext context = getContextNode.execute(inliningTarget);
+            DecimalArith arith = new DecimalArith(context);
+            DecimalValue result;
+            try {
+                result = modulo == null ? arith.power(a, b) : arith.powerModulo(a, b, modulo);
+            } catch (OutOfMemoryError e) {
+                throw raiseNode.get(inliningTarget).raise(MemoryError);
+            }
+            DecimalNodes.addStatus(inliningTarget, context, arith.getStatus());
+            return factory.createDecimal(result);
+        }
+    }
+
+    abstract static class DecimalUnaryOpNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object doOp(PDecimal self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached GetContextNode getContextNode,
+                        @Cached PythonObjectFactory factory) {
+            PDecimalContext context = getContextNode.execute(inliningTarget);
+            DecimalArith arith = new DecimalArith(context);
+            DecimalValue result = op(arith, self.getValue());
+            DecimalNodes.addStatus(inliningTarget, context, arith.getStatus());
+            return factory.createDecimal(result);
+        }
+
+        protected abstract DecimalValue op(DecimalArith arith, DecimalValue a);
+    }
+
+    @Builtin(name = J___NEG__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class NegNode extends DecimalUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.minus(a);
+        }
+    }
+
+    @Builtin(name = J___POS__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class PosNode extends DecimalUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.plus(a);
+        }
+    }
+
+    @Builtin(name = J___ABS__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AbsNode extends DecimalUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.abs(a);
+        }
+    }
+
+    // comparisons
+
+    abstract static class DecimalCompareNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object compare(PDecimal self, Object other,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AsDecimalValueNode asOtherNode,
+                        @Cached GetContextNode getContextNode) {
+            DecimalValue b = asOtherNode.execute(inliningTarget, other);
+            if (b == null) {
+                return compareOther(inliningTarget, self.getValue(), other, getOp());
+            }
+            return compareValues(inliningTarget, getContextNode, self.getValue(), b, getOp());
+        }
+
+        protected abstract ComparisonOp getOp();
+
+        private static boolean compareValues(Node inliningTarget, GetContextNode getContextNode, DecimalValue a, DecimalValue b, ComparisonOp op) {
+            if (a.isNaN() || b.isNaN()) {
+                // signaling NaNs and ordering comparisons signal, like in CPython
+                if (a.isSNaN() || b.isSNaN() || !op.isEqualityOp()) {
+                    DecimalNodes.addStatus(inliningTarget, getContextNode.execute(inliningTarget), PDecimalContext.STATUS_INVALID_OPERATION);
+                }
+                return op == ComparisonOp.NE;
+            }
+            return op.cmpResultToBool(DecimalArith.compare(a, b));
+        }
+
+        /**
+         * Compares with floats, complex numbers with a zero imaginary part and rationals, which are
+         * converted exactly.
+         */
+        @TruffleBoundary
+        private static Object compareOther(Node inliningTarget, DecimalValue self, Object other, ComparisonOp op) {
+            GetContextNode getContextNode = GetContextNodeGen.getUncached();
+            DecimalValue a = self;
+            DecimalValue b;
+            if (PyFloatCheckNode.executeUncached(other)) {
+                b = floatOperand(inliningTarget, getContextNode.execute(inliningTarget), PyFloatAsDoubleNode.executeUncached(other), op);
+            } else if (other instanceof PComplex complex && op.isEqualityOp()) {
+                if (complex.getImag() != 0.0) {
+                    return PNotImplemented.NOT_IMPLEMENTED;
+                }
+                b = floatOperand(inliningTarget, getContextNode.execute(inliningTarget), complex.getReal(), op);
+            } else if (IsSubtypeNode.getUncached().execute(GetClassNode.executeUncached(other), PythonContext.get(inliningTarget).getDecimalModuleState().getRational())) {
+                CastToJavaBigIntegerNode castNode = CastToJavaBigIntegerNodeGen.getUncached();
+                b = DecimalValue.fromBigInteger(castNode.execute(null, PyObjectGetAttr.executeUncached(other, T_NUMERATOR)));
+                if (!a.isSpecial()) {
+                    BigInteger denominator = castNode.execute(null, PyObjectGetAttr.executeUncached(other, T_DENOMINATOR));
+                    a = DecimalValue.finite(a.getSign(), a.getCoefficient().multiply(denominator), a.getExponent());
+                }
+            } else {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            return compareValues(inliningTarget, getContextNode, a, b, op);
+        }
+
+        private static DecimalValue floatOperand(Node inliningTarget, PDecimalContext context, double value, ComparisonOp op) {
+            if (op.isEqualityOp()) {
+                context.setFlags(context.getFlags() | PDecimalContext.STATUS_FLOAT_OPERATION);
+            } else {
+                DecimalNodes.addStatus(inliningTarget, context, PDecimalContext.STATUS_FLOAT_OPERATION);
+            }
+            return DecimalArith.fromDouble(value);
+        }
+    }
+
+    @Builtin(name = J___EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends DecimalCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.EQ;
+        }
+    }
+
+    @Builtin(name = J___NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends DecimalCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.NE;
+        }
+    }
+
+    @Builtin(name = J___LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends DecimalCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.LT;
+        }
+    }
+
+    @Builtin(name = J___LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends DecimalCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.LE;
+        }
+    }
+
+    @Builtin(name = J___GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends DecimalCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.GT;
+        }
+    }
+
+    @Builtin(name = J___GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends DecimalCompareNode {
+        @Override
+        protected ComparisonOp getOp() {
+            return ComparisonOp.GE;
+        }
+    }
+
+    @Builtin(name = J___HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long hash(PDecimal self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            DecimalValue value = self.getValue();
+            if (value.isSNaN()) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.CANNOT_HASH_SIGNALING_NAN);
+            } else if (value.isNaN()) {
+                return ObjectBuiltins.HashNode.hash(self);
+            }
+            return DecimalArith.hash(value);
+        }
+    }
+
+    // conversions
+
+    @Builtin(name = J___BOOL__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class BoolNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean bool(PDecimal self) {
+            return !self.getValue().isZero();
+        }
+    }
+
+    @Builtin(name = J___FLOAT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class FloatNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static double toFloat(PDecimal self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (self.getValue().isSNaN()) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.CANNOT_CONVERT_SIGNALING_NAN_TO_FLOAT);
+            }
+            return toDouble(self.getValue());
+        }
+    }
+
+    @Builtin(name = J___COMPLEX__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ComplexNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object toComplex(PDecimal self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (self.getValue().isSNaN()) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.CANNOT_CONVERT_SIGNALING_NAN_TO_FLOAT);
+            }
+            return factory.createComplex(toDouble(self.getValue()), 0.0);
+        }
+    }
+
+    @Builtin(name = J___INT__, minNumOfPositionalArgs = 1)
+    @Builtin(name = J___TRUNC__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IntNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object toInt(PDecimal self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return toPythonInt(inliningTarget, factory, raiseNode, self.getValue(), PDecimalContext.ROUND_DOWN);
+        }
+    }
+
+    @Builtin(name = J___FLOOR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class FloorNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object floor(PDecimal self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return toPythonInt(inliningTarget, factory, raiseNode, self.getValue(), PDecimalContext.ROUND_FLOOR);
+        }
+    }
+
+    @Builtin(name = J___CEIL__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CeilNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object ceil(PDecimal self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return toPythonInt(inliningTarget, factory, raiseNode, self.getValue(), PDecimalContext.ROUND_CEILING);
+        }
+    }
+
+    @Builtin(name = J___ROUND__, minNumOfPositionalArgs = 1, parameterNames = {"$self", "n"})
+    @GenerateNodeFactory
+    abstract static class RoundNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object round(PDecimal self, Object n,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyLongCheckNode longCheckNode,
+                        @Cached CastToJavaBigIntegerNode castToBigIntegerNode,
+                        @Cached GetContextNode getContextNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (n instanceof PNone) {
+                return toPythonInt(inliningTarget, factory, raiseNode, self.getValue(), PDecimalContext.ROUND_HALF_EVEN);
+            }
+            if (!longCheckNode.execute(inliningTarget, n)) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.OPTIONAL_ARG_MUST_BE_AN_INTEGER);
+            }
+            BigInteger digits = castToBigIntegerNode.execute(inliningTarget, n);
+            long exp = PInt.bigIntegerFitsInLong(digits) ? -PInt.longValue(digits) : (digits.signum() > 0 ? Long.MIN_VALUE / 4 : Long.MAX_VALUE / 4);
+            PDecimalContext context = getContextNode.execute(inliningTarget);
+            DecimalArith arith = new DecimalArith(context);
+            DecimalValue result = arith.quantize(self.getValue(), DecimalValue.finite(0, 1, exp), context.getRounding());
+            DecimalNodes.addStatus(inliningTarget, context, arith.getStatus());
+            return factory.createDecimal(result);
+        }
+    }
+
+    @Builtin(name = "as_integer_ratio", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AsIntegerRatioNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object asIntegerRatio(PDecimal self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            DecimalValue value = self.getValue();
+            if (value.isNaN()) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.CANNOT_CONVERT_NAN_TO_INTEGER_RATIO);
+            } else if (value.isInfinite()) {
+                throw raiseNode.get(inliningTarget).raise(OverflowError, ErrorMessages.CANNOT_CONVERT_INFINITY_TO_INTEGER_RATIO);
+            }
+            BigInteger[] ratio;
+            try {
+                ratio = integerRatio(value);
+            } catch (OutOfMemoryError e) {
+                throw raiseNode.get(inliningTarget).raise(MemoryError);
+            }
+            return factory.createTuple(new Object[]{toPythonInt(factory, ratio[0]), toPythonInt(factory, ratio[1])});
+        }
+
+        @TruffleBoundary
+        private static BigInteger[] integerRatio(DecimalValue value) {
+            BigInteger numerator = value.getCoefficient();
+            BigInteger denominator = BigInteger.ONE;
+            if (value.getExponent() >= 0) {
+                numerator = numerator.multiply(DecimalArith.pow10(value.getExponent()));
+            } else {
+                denominator = DecimalArith.pow10(-value.getExponent());
+                BigInteger gcd = numerator.gcd(denominator);
+                if (gcd.signum() != 0) {
+                    numerator = numerator.divide(gcd);
+                    denominator = denominator.divide(gcd);
+                }
+            }
+            return new BigInteger[]{value.getSign() == 1 ? numerator.negate() : numerator, denominator};
+        }
+    }
+
+    @Builtin(name = "as_tuple", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AsTupleNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        static Object asTuple(PDecimal self,
+                        @Bind("this") Node inliningTarget) {
+            PythonContext context = PythonContext.get(inliningTarget);
+            PythonObjectFactory factory = context.factory();
+            DecimalValue value = self.getValue();
+            Object exponent;
+            String digits;
+            if (value.isInfinite()) {
+                exponent = T_F;
+                digits = "0";
+            } else if (value.isNaN()) {
+                exponent = value.isSNaN() ? T_N : T_N_LOWER;
+                digits = value.isCoefficientZero() ? "" : value.coefficientString();
+            } else {
+                exponent = value.getExponent();
+                digits = value.coefficientString();
+            }
+            Object[] digitArray = new Object[digits.length()];
+            for (int i = 0; i < digitArray.length; i++) {
+                digitArray[i] = digits.charAt(i) - '0';
+            }
+            Object decimalTuple = context.getDecimalModuleState().getDecimalTuple();
+            return CallNode.getUncached().execute(decimalTuple, value.getSign(), factory.createTuple(digitArray), exponent);
+        }
+    }
+
+    @Builtin(name = "from_float", minNumOfPositionalArgs = 2, isClassmethod = true)
+    @GenerateNodeFactory
+    abstract static class FromFloatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object fromFloat(Object cls, Object value,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyFloatCheckNode floatCheckNode,
+                        @Cached PyFloatAsDoubleNode asDoubleNode,
+                        @Cached PyLongCheckNode longCheckNode,
+                        @Cached AsDecimalValueNode asDecimalValueNode,
+                        @Cached CallNode callNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            DecimalValue result;
+            if (floatCheckNode.execute(inliningTarget, value)) {
+                result = DecimalArith.fromDouble(asDoubleNode.execute(null, inliningTarget, value));
+            } else if (longCheckNode.execute(inliningTarget, value)) {
+                result = asDecimalValueNode.execute(inliningTarget, value);
+            } else {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.ARGUMENT_MUST_BE_INT_OR_FLOAT);
+            }
+            if (cls == PythonBuiltinClassType.PDecimal) {
+                return factory.createDecimal(result);
+            }
+            return callNode.execute(cls, factory.createDecimal(result));
+        }
+    }
+
+    @Builtin(name = J___STR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class StrNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString str(PDecimal self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached GetContextNode getContextNode) {
+            return toTruffleString(self.getValue(), false, getContextNode.execute(inliningTarget));
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString repr(PDecimal self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached GetContextNode getContextNode) {
+            return reprBoundary(self.getValue(), getContextNode.execute(inliningTarget).getCapitals() == 1);
+        }
+
+        @TruffleBoundary
+        private static TruffleString reprBoundary(DecimalValue value, boolean capitals) {
+            return toTruffleStringUncached("Decimal('" + DecimalArith.toString(value, false, capitals) + "')");
+        }
+    }
+
+    @Builtin(name = "to_eng_string", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class ToEngStringNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static TruffleString toEngString(PDecimal self, Object contextArg,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ContextArgNode contextArgNode) {
+            return toTruffleString(self.getValue(), true, contextArgNode.execute(inliningTarget, contextArg));
+        }
+    }
+
+    @Builtin(name = J___FORMAT__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "format_spec", "override"})
+    @ArgumentClinic(name = "format_spec", conversion = ClinicConversion.TString)
+    @GenerateNodeFactory
+    abstract static class FormatNode extends PythonTernaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return FormatNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static TruffleString format(PDecimal self, TruffleString formatSpec, Object override,
+                        @Bind("this") Node inliningTarget,
+                        @Cached GetContextNode getContextNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            PDict overrideDict = null;
+            if (override instanceof PDict dict) {
+                overrideDict = dict;
+            } else if (override != PNone.NO_VALUE) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.OPTIONAL_ARGUMENT_MUST_BE_A_DICT);
+            }
+            PDecimalContext context = getContextNode.execute(inliningTarget);
+            try {
+                return DecimalFormatter.format(inliningTarget, new DecimalArith(context), context.getCapitals() == 1, self.getValue(), formatSpec, overrideDict);
+            } catch (OutOfMemoryError e) {
+                throw raiseNode.get(inliningTarget).raise(MemoryError);
+            }
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object reduce(PDecimal self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached GetClassNode getClassNode,
+                        @Cached GetContextNode getContextNode,
+                        @Cached PythonObjectFactory factory) {
+            Object args = factory.createTuple(new Object[]{toTruffleString(self.getValue(), false, getContextNode.execute(inliningTarget))});
+            return factory.createTuple(new Object[]{getClassNode.execute(inliningTarget, self), args});
+        }
+    }
+
+    @Builtin(name = J___COPY__, minNumOfPositionalArgs = 1)
+    @Builtin(name = "canonical", minNumOfPositionalArgs = 1)
+    @Builtin(name = "conjugate", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class SelfNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object self(PDecimal self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = "real", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class RealNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object real(PDecimal self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = J___DEEPCOPY__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class DeepCopyNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object deepcopy(PDecimal self, @SuppressWarnings("unused") Object memo) {
+            return self;
+        }
+    }
+
+    @Builtin(name = "imag", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ImagNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object imag(@SuppressWarnings("unused") PDecimal self,
+                        @Cached PythonObjectFactory factory) {
+            return factory.createDecimal(DecimalValue.ZERO);
+        }
+    }
+
+    @Builtin(name = "radix", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class RadixNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object radix(@SuppressWarnings("unused") PDecimal self,
+                        @Cached PythonObjectFactory factory) {
+            return factory.createDecimal(DecimalValue.fromLong(10));
+        }
+    }
+
+    @Builtin(name = "adjusted", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AdjustedNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long adjusted(PDecimal self) {
+            return self.getValue().adjusted();
+        }
+    }
+
+    // predicates
+
+    abstract static class DecimalPredicateNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        boolean doTest(PDecimal self) {
+            return test(self.getValue());
+        }
+
+        protected abstract boolean test(DecimalValue value);
+    }
+
+    @Builtin(name = "is_canonical", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsCanonicalNode extends DecimalPredicateNode {
+        @Override
+        protected boolean test(DecimalValue value) {
+            return true;
+        }
+    }
+
+    @Builtin(name = "is_finite", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsFiniteNode extends DecimalPredicateNode {
+        @Override
+        protected boolean test(DecimalValue value) {
+            return value.isFinite();
+        }
+    }
+
+    @Builtin(name = "is_infinite", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsInfiniteNode extends DecimalPredicateNode {
+        @Override
+        protected boolean test(DecimalValue value) {
+            return value.isInfinite();
+        }
+    }
+
+    @Builtin(name = "is_nan", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsNaNNode extends DecimalPredicateNode {
+        @Override
+        protected boolean test(DecimalValue value) {
+            return value.isNaN();
+        }
+    }
+
+    @Builtin(name = "is_qnan", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsQNaNNode extends DecimalPredicateNode {
+        @Override
+        protected boolean test(DecimalValue value) {
+            return value.isQNaN();
+        }
+    }
+
+    @Builtin(name = "is_snan", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsSNaNNode extends DecimalPredicateNode {
+        @Override
+        protected boolean test(DecimalValue value) {
+            return value.isSNaN();
+        }
+    }
+
+    @Builtin(name = "is_signed", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsSignedNode extends DecimalPredicateNode {
+        @Override
+        protected boolean test(DecimalValue value) {
+            return value.getSign() == 1;
+        }
+    }
+
+    @Builtin(name = "is_zero", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsZeroNode extends DecimalPredicateNode {
+        @Override
+        protected boolean test(DecimalValue value) {
+            return value.isZero();
+        }
+    }
+
+    @Builtin(name = "is_normal", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class IsNormalNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static boolean isNormal(PDecimal self, Object contextArg,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ContextArgNode contextArgNode) {
+            DecimalValue value = self.getValue();
+            PDecimalContext context = contextArgNode.execute(inliningTarget, contextArg);
+            return value.isFinite() && !value.isZero() && value.adjusted() >= context.getEmin();
+        }
+    }
+
+    @Builtin(name = "is_subnormal", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class IsSubnormalNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static boolean isSubnormal(PDecimal self, Object contextArg,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ContextArgNode contextArgNode) {
+            DecimalValue value = self.getValue();
+            PDecimalContext context = contextArgNode.execute(inliningTarget, contextArg);
+            return value.isFinite() && !value.isZero() && value.adjusted() < context.getEmin();
+        }
+    }
+
+    @Builtin(name = "number_class", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class NumberClassNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static TruffleString numberClass(PDecimal self, Object contextArg,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ContextArgNode contextArgNode) {
+            return numberClass(self.getValue(), contextArgNode.execute(inliningTarget, contextArg));
+        }
+
+        @TruffleBoundary
+        static TruffleString numberClass(DecimalValue value, PDecimalContext context) {
+            String result;
+            if (value.isSNaN()) {
+                return toTruffleStringUncached("sNaN");
+            } else if (value.isNaN()) {
+                return toTruffleStringUncached("NaN");
+            } else if (value.isInfinite()) {
+                result = "Infinity";
+            } else if (value.isZero()) {
+                result = "Zero";
+            } else if (value.adjusted() < context.getEmin()) {
+                result = "Subnormal";
+            } else {
+                result = "Normal";
+            }
+            return toTruffleStringUncached((value.getSign() == 1 ? "-" : "+") + result);
+        }
+    }
+
+    // methods with an optional context
+
+    abstract static class DecimalUnaryMethodNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object doOp(PDecimal self, Object contextArg,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ContextArgNode contextArgNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            PDecimalContext context = contextArgNode.execute(inliningTarget, contextArg);
+            DecimalArith arith = new DecimalArith(context);
+            DecimalValue result;
+            try {
+                result = op(arith, self.getValue());
+            } catch (OutOfMemoryError e) {
+                throw raiseNode.get(inliningTarget).raise(MemoryError);
+            }
+            DecimalNodes.addStatus(inliningTarget, context, arith.getStatus());
+            return factory.createDecimal(result);
+        }
+
+        protected abstract DecimalValue op(DecimalArith arith, DecimalValue a);
+    }
+
+    @Builtin(name = "normalize", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class NormalizeNode extends DecimalUnaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.normalize(a);
+        }
+    }
+
+    abstract static class DecimalBinaryMethodNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object doOp(PDecimal self, Object other, Object contextArg,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ContextArgNode contextArgNode,
+                        @Cached ConvertToDecimalValueNode convertNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            PDecimalContext context = contextArgNode.execute(inliningTarget, contextArg);
+            DecimalValue b = convertNode.execute(inliningTarget, other);
+            DecimalArith arith = new DecimalArith(context);
+            DecimalValue result;
+            try {
+                result = op(arith, self.getValue(), b);
+            } catch (OutOfMemoryError e) {
+                throw raiseNode.get(inliningTarget).raise(MemoryError);
+            }
+            DecimalNodes.addStatus(inliningTarget, context, arith.getStatus());
+            return factory.createDecimal(result);
+        }
+
+        protected abstract DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b);
+    }
+
+    @Builtin(name = "compare", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class CompareNode extends DecimalBinaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.compareToValue(a, b);
+        }
+    }
+
+    @Builtin(name = "compare_signal", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class CompareSignalNode extends DecimalBinaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.compareSignal(a, b);
+        }
+    }
+
+    @Builtin(name = "compare_total", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class CompareTotalNode extends DecimalBinaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return DecimalValue.fromLong(DecimalArith.compareTotal(a, b));
+        }
+    }
+
+    @Builtin(name = "compare_total_mag", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class CompareTotalMagNode extends DecimalBinaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return DecimalValue.fromLong(DecimalArith.compareTotal(a.withSign(0), b.withSign(0)));
+        }
+    }
+
+    @Builtin(name = "copy_sign", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class CopySignNode extends DecimalBinaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return a.withSign(b.getSign());
+        }
+    }
+
+    @Builtin(name = "max", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class MaxNode extends DecimalBinaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.max(a, b);
+        }
+    }
+
+    @Builtin(name = "min", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class MinNode extends DecimalBinaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.min(a, b);
+        }
+    }
+
+    @Builtin(name = "remainder_near", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class RemainderNearNode extends DecimalBinaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.remainderNear(a, b);
+        }
+    }
+
+    @Builtin(name = "same_quantum", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class SameQuantumNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static boolean sameQuantum(PDecimal self, Object other, Object contextArg,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ContextArgNode contextArgNode,
+                        @Cached ConvertToDecimalValueNode convertNode) {
+            contextArgNode.execute(inliningTarget, contextArg);
+            return sameQuantum(self.getValue(), convertNode.execute(inliningTarget, other));
+        }
+
+        static boolean sameQuantum(DecimalValue a, DecimalValue b) {
+            if (a.isSpecial() || b.isSpecial()) {
+                return (a.isNaN() && b.isNaN()) || (a.isInfinite() && b.isInfinite());
+            }
+            return a.getExponent() == b.getExponent();
+        }
+    }
+
+    @Builtin(name = "copy_abs", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CopyAbsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object copyAbs(PDecimal self,
+                        @Cached PythonObjectFactory factory) {
+            return factory.createDecimal(self.getValue().withSign(0));
+        }
+    }
+
+    @Builtin(name = "copy_negate", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CopyNegateNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object copyNegate(PDecimal self,
+                        @Cached PythonObjectFactory factory) {
+            return factory.createDecimal(self.getValue().negate());
+        }
+    }
+
+    @Builtin(name = "quantize", minNumOfPositionalArgs = 2, parameterNames = {"$self", "exp", "rounding", "context"})
+    @GenerateNodeFactory
+    abstract static class QuantizeNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        static Object quantize(PDecimal self, Object exp, Object roundingArg, Object contextArg,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ContextArgNode contextArgNode,
+                        @Cached ConvertToDecimalValueNode convertNode,
+                        @Cached GetRoundingNode getRoundingNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            PDecimalContext context = contextArgNode.execute(inliningTarget, contextArg);
+            int rounding = roundingArg instanceof PNone ? context.getRounding() : getRoundingNode.execute(inliningTarget, roundingArg);
+            DecimalValue b = convertNode.execute(inliningTarget, exp);
+            DecimalArith arith = new DecimalArith(context);
+            DecimalValue result;
+            try {
+                result = arith.quantize(self.getValue(), b, rounding);
+            } catch (OutOfMemoryError e) {
+                throw raiseNode.get(inliningTarget).raise(MemoryError);
+            }
+            DecimalNodes.addStatus(inliningTarget, context, arith.getStatus());
+            return factory.createDecimal(result);
+        }
+    }
+
+    abstract static class DecimalToIntegralNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object doOp(PDecimal self, Object roundingArg, Object contextArg,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ContextArgNode contextArgNode,
+                        @Cached GetRoundingNode getRoundingNode,
+                        @Cached PythonObjectFactory factory) {
+            PDecimalContext context = contextArgNode.execute(inliningTarget, contextArg);
+            int rounding = roundingArg instanceof PNone ? context.getRounding() : getRoundingNode.execute(inliningTarget, roundingArg);
+            DecimalArith arith = new DecimalArith(context);
+            DecimalValue result = arith.toIntegral(self.getValue(), rounding, isExact());
+            DecimalNodes.addStatus(inliningTarget, context, arith.getStatus());
+            return factory.createDecimal(result);
+        }
+
+        protected abstract boolean isExact();
+    }
+
+    @Builtin(name = "to_integral", minNumOfPositionalArgs = 1, parameterNames = {"$self", "rounding", "context"})
+    @Builtin(name = "to_integral_value", minNumOfPositionalArgs = 1, parameterNames = {"$self", "rounding", "context"})
+    @GenerateNodeFactory
+    abstract static class ToIntegralValueNode extends DecimalToIntegralNode {
+        @Override
+        protected boolean isExact() {
+            return false;
+        }
+    }
+
+    @Builtin(name = "to_integral_exact", minNumOfPositionalArgs = 1, parameterNames = {"$self", "rounding", "context"})
+    @GenerateNodeFactory
+    abstract static class ToIntegralExactNode extends DecimalToIntegralNode {
+        @Override
+        protected boolean isExact() {
+            return true;
+        }
+    }
+
+    // power, logarithmic and digit-wise operations
+
+    @Builtin(name = "exp", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class ExpNode extends DecimalUnaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.exp(a);
+        }
+    }
+
+    @Builtin(name = "ln", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class LnNode extends DecimalUnaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.ln(a);
+        }
+    }
+
+    @Builtin(name = "log10", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class Log10Node extends DecimalUnaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.log10(a);
+        }
+    }
+
+    @Builtin(name = "logb", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class LogbNode extends DecimalUnaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.logb(a);
+        }
+    }
+
+    @Builtin(name = "sqrt", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class SqrtNode extends DecimalUnaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.sqrt(a);
+        }
+    }
+
+    @Builtin(name = "next_minus", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class NextMinusNode extends DecimalUnaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.nextMinus(a);
+        }
+    }
+
+    @Builtin(name = "next_plus", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class NextPlusNode extends DecimalUnaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.nextPlus(a);
+        }
+    }
+
+    @Builtin(name = "logical_invert", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class LogicalInvertNode extends DecimalUnaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.logicalInvert(a);
+        }
+    }
+
+    @Builtin(name = "logical_and", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class LogicalAndNode extends DecimalBinaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.logicalAnd(a, b);
+        }
+    }
+
+    @Builtin(name = "logical_or", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class LogicalOrNode extends DecimalBinaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.logicalOr(a, b);
+        }
+    }
+
+    @Builtin(name = "logical_xor", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class LogicalXorNode extends DecimalBinaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.logicalXor(a, b);
+        }
+    }
+
+    @Builtin(name = "max_mag", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class MaxMagNode extends DecimalBinaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.maxMag(a, b);
+        }
+    }
+
+    @Builtin(name = "min_mag", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class MinMagNode extends DecimalBinaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.minMag(a, b);
+        }
+    }
+
+    @Builtin(name = "next_toward", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class NextTowardNode extends DecimalBinaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.nextToward(a, b);
+        }
+    }
+
+    @Builtin(name = "rotate", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class RotateNode extends DecimalBinaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.rotate(a, b);
+        }
+    }
+
+    @Builtin(name = "scaleb", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class ScalebNode extends DecimalBinaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.scaleb(a, b);
+        }
+    }
+
+    @Builtin(name = "shift", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class ShiftNode extends DecimalBinaryMethodNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.shift(a, b);
+        }
+    }
+
+    @Builtin(name = "fma", minNumOfPositionalArgs = 3, parameterNames = {"$self", "other", "third", "context"})
+    @GenerateNodeFactory
+    abstract static class FmaNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        static Object fma(PDecimal self, Object other, Object third, Object contextArg,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ContextArgNode contextArgNode,
+                        @Cached ConvertToDecimalValueNode convertOtherNode,
+                        @Cached ConvertToDecimalValueNode convertThirdNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            PDecimalContext context = contextArgNode.execute(inliningTarget, contextArg);
+            DecimalValue b = convertOtherNode.execute(inliningTarget, other);
+            DecimalValue c = convertThirdNode.execute(inliningTarget, third);
+            DecimalArith arith = new DecimalArith(context);
+            DecimalValue result;
+            try {
+                result = arith.fma(self.getValue(), b, c);
+            } catch (OutOfMemoryError e) {
+                throw raiseNode.get(inliningTarget).raise(MemoryError);
+            }
+            DecimalNodes.addStatus(inliningTarget, context, arith.getStatus());
+            return factory.createDecimal(result);
+        }
+    }
+}
@@ -0,0 +1,1193 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.decimal;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.KeyError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.MemoryError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___COPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___INIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodes.GetObjectArrayNode;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalNodes.ConvertToDecimalValueNode;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalNodes.FromObjectNode;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalNodes.GetRoundingNode;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalNodesFactory.GetRoundingNodeGen;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.lib.PyFloatAsDoubleNode;
+import com.oracle.graal.python.lib.PyFloatCheckNode;
+import com.oracle.graal.python.lib.PyLongAsLongNodeGen;
+import com.oracle.graal.python.lib.PyLongCheckNode;
+import com.oracle.graal.python.lib.PyObjectGetItem;
+import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.lib.PyObjectSizeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PDecimalContext)
+public final class DecimalContextBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DecimalContextBuiltinsFactory.getFactories();
+    }
+
+    // attribute validation, shared by __init__ and the property setters
+
+    @TruffleBoundary
+    private static long asLong(Object value) {
+        return PyLongAsLongNodeGen.getUncached().execute(null, null, value);
+    }
+
+    @TruffleBoundary
+    static void setPrec(Node inliningTarget, PDecimalContext context, Object value) {
+        long prec = asLong(value);
+        if (prec < 1 || prec > PDecimalContext.MAX_PREC) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.DECIMAL_INVALID_PREC);
+        }
+        context.setPrec(prec);
+    }
+
+    @TruffleBoundary
+    static void setEmin(Node inliningTarget, PDecimalContext context, Object value) {
+        long emin = asLong(value);
+        if (emin > 0 || emin < PDecimalContext.MIN_EMIN) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.DECIMAL_INVALID_EMIN);
+        }
+        context.setEmin(emin);
+    }
+
+    @TruffleBoundary
+    static void setEmax(Node inliningTarget, PDecimalContext context, Object value) {
+        long emax = asLong(value);
+        if (emax < 0 || emax > PDecimalContext.MAX_EMAX) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.DECIMAL_INVALID_EMAX);
+        }
+        context.setEmax(emax);
+    }
+
+    @TruffleBoundary
+    static void setCapitals(Node inliningTarget, PDecimalContext context, Object value) {
+        long capitals = asLong(value);
+        if (capitals != 0 && capitals != 1) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.DECIMAL_INVALID_CAPITALS);
+        }
+        context.setCapitals((int) capitals);
+    }
+
+    @TruffleBoundary
+    static void setClamp(Node inliningTarget, PDecimalContext context, Object value) {
+        long clamp = asLong(value);
+        if (clamp != 0 && clamp != 1) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.DECIMAL_INVALID_CLAMP);
+        }
+        context.setClamp((int) clamp);
+    }
+
+    /**
+     * Returns the flag of a signal class, like {@code type_to_flag} in CPython.
+     */
+    @TruffleBoundary
+    static int signalToFlag(Node inliningTarget, Object signal) {
+        Object[] signals = PythonContext.get(inliningTarget).getDecimalModuleState().getSignals();
+        for (int i = 0; i < signals.length; i++) {
+            if (signals[i] == signal) {
+                return PDecimalContext.SIGNAL_FLAGS[i];
+            }
+        }
+        throw PRaiseNode.raiseUncached(inliningTarget, KeyError, ErrorMessages.DECIMAL_INVALID_SIGNALS);
+    }
+
+    /**
+     * Converts a list of signals or a mapping from signals to booleans to flags, like the
+     * {@code flags} and {@code traps} arguments of the {@code Context} constructor.
+     */
+    @TruffleBoundary
+    static int signalsToFlags(Node inliningTarget, Object value) {
+        int flags = 0;
+        if (value instanceof PList) {
+            for (Object signal : GetObjectArrayNode.executeUncached(value)) {
+                flags |= signalToFlag(inliningTarget, signal);
+            }
+        } else if (value instanceof PDecimalSignalDict signalDict) {
+            if (!signalDict.isBound()) {
+                throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.INVALID_SIGNAL_DICT);
+            }
+            flags = signalDict.getFlags();
+        } else if (value instanceof PDict) {
+            Object[] signals = PythonContext.get(inliningTarget).getDecimalModuleState().getSignals();
+            if (PyObjectSizeNode.executeUncached(value) != signals.length) {
+                throw PRaiseNode.raiseUncached(inliningTarget, KeyError, ErrorMessages.INVALID_SIGNAL_DICT);
+            }
+            for (int i = 0; i < signals.length; i++) {
+                if (PyObjectIsTrueNode.getUncached().execute(null, null, PyObjectGetItem.executeUncached(value, signals[i]))) {
+                    flags |= PDecimalContext.SIGNAL_FLAGS[i];
+                }
+            }
+        } else {
+            throw PRaiseNode.raiseUncached(inliningTarget, TypeError, ErrorMessages.ARGUMENT_MUST_BE_A_SIGNAL_DICT);
+        }
+        return flags;
+    }
+
+    @TruffleBoundary
+    static Object flagsToList(PythonContext context, int flags) {
+        Object[] signals = context.getDecimalModuleState().getSignals();
+        Object[] result = new Object[signals.length];
+        int n = 0;
+        for (int i = 0; i < signals.length; i++) {
+            if ((flags & PDecimalContext.SIGNAL_FLAGS[i]) != 0) {
+                result[n++] = signals[i];
+            }
+        }
+        Object[] list = new Object[n];
+        System.arraycopy(result, 0, list, 0, n);
+        return context.factory().createList(list);
+    }
+
+    @Builtin(name = J___INIT__, minNumOfPositionalArgs = 1, parameterNames = {"$self", "prec", "rounding", "Emin", "Emax", "capitals", "clamp", "flags", "traps"})
+    @GenerateNodeFactory
+    abstract static class InitNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        static Object init(PDecimalContext self, Object prec, Object rounding, Object emin, Object emax, Object capitals, Object clamp, Object flags, Object traps,
+                        @Bind("this") Node inliningTarget) {
+            if (!(prec instanceof PNone)) {
+                setPrec(inliningTarget, self, prec);
+            }
+            if (!(rounding instanceof PNone)) {
+                self.setRounding(GetRoundingNodeGen.getUncached().execute(inliningTarget, rounding));
+            }
+            if (!(emin instanceof PNone)) {
+                setEmin(inliningTarget, self, emin);
+            }
+            if (!(emax instanceof PNone)) {
+                setEmax(inliningTarget, self, emax);
+            }
+            if (!(capitals instanceof PNone)) {
+                setCapitals(inliningTarget, self, capitals);
+            }
+            if (!(clamp instanceof PNone)) {
+                setClamp(inliningTarget, self, clamp);
+            }
+            if (!(traps instanceof PNone)) {
+                self.setTraps(signalsToFlags(inliningTarget, traps));
+            }
+            if (!(flags instanceof PNone)) {
+                self.setFlags(signalsToFlags(inliningTarget, flags));
+            }
+            return PNone.NONE;
+        }
+    }
+
+    // properties
+
+    @Builtin(name = "prec", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class PrecNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(none)")
+        static long get(PDecimalContext self, @SuppressWarnings("unused") PNone none) {
+            return self.getPrec();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(PDecimalContext self, Object value,
+                        @Bind("this") Node inliningTarget) {
+            setPrec(inliningTarget, self, value);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "rounding", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class RoundingNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(none)")
+        static TruffleString get(PDecimalContext self, @SuppressWarnings("unused") PNone none) {
+            return toTruffleStringUncached(PDecimalContext.ROUNDING_NAMES[self.getRounding()]);
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(PDecimalContext self, Object value,
+                        @Bind("this") Node inliningTarget,
+                        @Cached GetRoundingNode getRoundingNode) {
+            self.setRounding(getRoundingNode.execute(inliningTarget, value));
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "Emin", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class EminNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(none)")
+        static long get(PDecimalContext self, @SuppressWarnings("unused") PNone none) {
+            return self.getEmin();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(PDecimalContext self, Object value,
+                        @Bind("this") Node inliningTarget) {
+            setEmin(inliningTarget, self, value);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "Emax", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class EmaxNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(none)")
+        static long get(PDecimalContext self, @SuppressWarnings("unused") PNone none) {
+            return self.getEmax();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(PDecimalContext self, Object value,
+                        @Bind("this") Node inliningTarget) {
+            setEmax(inliningTarget, self, value);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "capitals", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class CapitalsNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(none)")
+        static int get(PDecimalContext self, @SuppressWarnings("unused") PNone none) {
+            return self.getCapitals();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(PDecimalContext self, Object value,
+                        @Bind("this") Node inliningTarget) {
+            setCapitals(inliningTarget, self, value);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "clamp", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class ClampNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(none)")
+        static int get(PDecimalContext self, @SuppressWarnings("unused") PNone none) {
+            return self.getClamp();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(PDecimalContext self, Object value,
+                        @Bind("this") Node inliningTarget) {
+            setClamp(inliningTarget, self, value);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "flags", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class FlagsNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(none)")
+        static Object get(PDecimalContext self, @SuppressWarnings("unused") PNone none,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PythonObjectFactory factory) {
+            PDecimalSignalDict dict = self.getFlagsDict();
+            if (dict == null) {
+                dict = factory.createDecimalSignalDict(getSignalDictClass(inliningTarget), self, false);
+                self.setFlagsDict(dict);
+            }
+            return dict;
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(PDecimalContext self, Object value,
+                        @Bind("this") Node inliningTarget) {
+            self.setFlags(signalsToFlags(inliningTarget, value));
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "traps", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class TrapsNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(none)")
+        static Object get(PDecimalContext self, @SuppressWarnings("unused") PNone none,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PythonObjectFactory factory) {
+            PDecimalSignalDict dict = self.getTrapsDict();
+            if (dict == null) {
+                dict = factory.createDecimalSignalDict(getSignalDictClass(inliningTarget), self, true);
+                self.setTrapsDict(dict);
+            }
+            return dict;
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(PDecimalContext self, Object value,
+                        @Bind("this") Node inliningTarget) {
+            self.setTraps(signalsToFlags(inliningTarget, value));
+            return PNone.NONE;
+        }
+    }
+
+    private static Object getSignalDictClass(Node inliningTarget) {
+        return PythonContext.get(inliningTarget).getDecimalModuleState().getSignalDictClass();
+    }
+
+    @Builtin(name = "Etiny", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class EtinyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long etiny(PDecimalContext self) {
+            return self.getEtiny();
+        }
+    }
+
+    @Builtin(name = "Etop", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class EtopNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long etop(PDecimalContext self) {
+            return self.getEtop();
+        }
+    }
+
+    @Builtin(name = "radix", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class RadixNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object radix(@SuppressWarnings("unused") PDecimalContext self,
+                        @Cached PythonObjectFactory factory) {
+            return factory.createDecimal(DecimalValue.fromLong(10));
+        }
+    }
+
+    @Builtin(name = "clear_flags", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ClearFlagsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object clearFlags(PDecimalContext self) {
+            self.setFlags(0);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "clear_traps", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ClearTrapsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object clearTraps(PDecimalContext self) {
+            self.setTraps(0);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "copy", minNumOfPositionalArgs = 1)
+    @Builtin(name = J___COPY__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CopyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object copy(PDecimalContext self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached GetClassNode getClassNode,
+                        @Cached PythonObjectFactory factory) {
+            return factory.createDecimalContext(getClassNode.execute(inliningTarget, self), self.getPrec(), self.getRounding(), self.getEmin(), self.getEmax(), self.getCapitals(),
+                            self.getClamp(), self.getFlags(), self.getTraps());
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object reduce(PDecimalContext self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached GetClassNode getClassNode,
+                        @Cached PythonObjectFactory factory) {
+            PythonContext context = PythonContext.get(inliningTarget);
+            Object[] args = {self.getPrec(), toTruffleStringUncached(PDecimalContext.ROUNDING_NAMES[self.getRounding()]), self.getEmin(), self.getEmax(), self.getCapitals(),
+                            self.getClamp(), flagsToList(context, self.getFlags()), flagsToList(context, self.getTraps())};
+            return factory.createTuple(new Object[]{getClassNode.execute(inliningTarget, self), factory.createTuple(args)});
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        static TruffleString repr(PDecimalContext self) {
+            StringBuilder sb = new StringBuilder("Context(prec=");
+            sb.append(self.getPrec()).append(", rounding=").append(PDecimalContext.ROUNDING_NAMES[self.getRounding()]);
+            sb.append(", Emin=").append(self.getEmin()).append(", Emax=").append(self.getEmax());
+            sb.append(", capitals=").append(self.getCapitals()).append(", clamp=").append(self.getClamp());
+            sb.append(", flags=");
+            appendSignalNames(sb, self.getFlags());
+            sb.append(", traps=");
+            appendSignalNames(sb, self.getTraps());
+            return toTruffleStringUncached(sb.append(')').toString());
+        }
+
+        private static void appendSignalNames(StringBuilder sb, int flags) {
+            sb.append('[');
+            String sep = "";
+            for (int i = 0; i < PDecimalContext.SIGNAL_FLAGS.length; i++) {
+                if ((flags & PDecimalContext.SIGNAL_FLAGS[i]) != 0) {
+                    sb.append(sep).append(PDecimalContext.SIGNAL_NAMES[i]);
+                    sep = ", ";
+                }
+            }
+            sb.append(']');
+        }
+    }
+
+    // conversions
+
+    @Builtin(name = "create_decimal", minNumOfPositionalArgs = 1, parameterNames = {"$self", "num"})
+    @GenerateNodeFactory
+    abstract static class CreateDecimalNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object createDecimal(PDecimalContext self, Object num,
+                        @Bind("this") Node inliningTarget,
+                        @Cached FromObjectNode fromObjectNode,
+                        @Cached PythonObjectFactory factory) {
+            if (num instanceof PNone) {
+                return factory.createDecimal(DecimalValue.ZERO);
+            }
+            return factory.createDecimal(fromObjectNode.execute(inliningTarget, self, num, false));
+        }
+    }
+
+    @Builtin(name = "create_decimal_from_float", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class CreateDecimalFromFloatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object createDecimal(PDecimalContext self, Object value,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyFloatCheckNode floatCheckNode,
+                        @Cached PyFloatAsDoubleNode asDoubleNode,
+                        @Cached PyLongCheckNode longCheckNode,
+                        @Cached FromObjectNode fromObjectNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            DecimalValue result;
+            if (floatCheckNode.execute(inliningTarget, value)) {
+                DecimalArith arith = new DecimalArith(self);
+                result = arith.fix(DecimalArith.fromDouble(asDoubleNode.execute(null, inliningTarget, value)));
+                DecimalNodes.addStatus(inliningTarget, self, arith.getStatus());
+            } else if (longCheckNode.execute(inliningTarget, value)) {
+                result = fromObjectNode.execute(inliningTarget, self, value, false);
+            } else {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.ARGUMENT_MUST_BE_INT_OR_FLOAT);
+            }
+            return factory.createDecimal(result);
+        }
+    }
+
+    @Builtin(name = "to_sci_string", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ToSciStringNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static TruffleString toSciString(PDecimalContext self, Object value,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ConvertToDecimalValueNode convertNode) {
+            return DecimalBuiltins.toTruffleString(convertNode.execute(inliningTarget, value), false, self);
+        }
+    }
+
+    @Builtin(name = "to_eng_string", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ToEngStringNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static TruffleString toEngString(PDecimalContext self, Object value,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ConvertToDecimalValueNode convertNode) {
+            return DecimalBuiltins.toTruffleString(convertNode.execute(inliningTarget, value), true, self);
+        }
+    }
+
+    // arithmetic
+
+    abstract static class ContextUnaryOpNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object doOp(PDecimalContext self, Object x,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ConvertToDecimalValueNode convertNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            DecimalValue a = convertNode.execute(inliningTarget, x);
+            DecimalArith arith = new DecimalArith(self);
+            DecimalValue result;
+            try {
+                result = op(arith, a);
+            } catch (OutOfMemoryError e) {
+                throw raiseNode.get(inliningTarget).raise(MemoryError);
+            }
+            DecimalNodes.addStatus(inliningTarget, self, arith.getStatus());
+            return factory.createDecimal(result);
+        }
+
+        protected abstract DecimalValue op(DecimalArith arith, DecimalValue a);
+    }
+
+    @Builtin(name = "abs", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class AbsNode extends ContextUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.abs(a);
+        }
+    }
+
+    @Builtin(name = "minus", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class MinusNode extends ContextUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.minus(a);
+        }
+    }
+
+    @Builtin(name = "plus", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class PlusNode extends ContextUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.plus(a);
+        }
+    }
+
+    @Builtin(name = "normalize", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NormalizeNode extends ContextUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.normalize(a);
+        }
+    }
+
+    @Builtin(name = "to_integral", minNumOfPositionalArgs = 2)
+    @Builtin(name = "to_integral_value", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ToIntegralValueNode extends ContextUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.toIntegral(a, arith.getRounding(), false);
+        }
+    }
+
+    @Builtin(name = "to_integral_exact", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ToIntegralExactNode extends ContextUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.toIntegral(a, arith.getRounding(), true);
+        }
+    }
+
+    @Builtin(name = "copy_abs", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class CopyAbsNode extends ContextUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return a.withSign(0);
+        }
+    }
+
+    @Builtin(name = "copy_negate", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class CopyNegateNode extends ContextUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return a.negate();
+        }
+    }
+
+    @Builtin(name = "copy_decimal", minNumOfPositionalArgs = 2)
+    @Builtin(name = "canonical", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class CopyDecimalNode extends ContextUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return a;
+        }
+    }
+
+    abstract static class ContextBinaryOpNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object doOp(PDecimalContext self, Object x, Object y,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ConvertToDecimalValueNode convertXNode,
+                        @Cached ConvertToDecimalValueNode convertYNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            DecimalValue a = convertXNode.execute(inliningTarget, x);
+            DecimalValue b = convertYNode.execute(inliningTarget, y);
+            DecimalArith arith = new DecimalArith(self);
+            DecimalValue result;
+            try {
+                result = op(arith, a, b);
+            } catch (OutOfMemoryError e) {
+                throw raiseNode.get(inliningTarget).raise(MemoryError);
+            }
+            DecimalNodes.addStatus(inliningTarget, self, arith.getStatus());
+            return factory.createDecimal(result);
+        }
+
+        protected abstract DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b);
+    }
+
+    @Builtin(name = "add", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class AddNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.add(a, b);
+        }
+    }
+
+    @Builtin(name = "subtract", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class SubtractNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.subtract(a, b);
+        }
+    }
+
+    @Builtin(name = "multiply", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class MultiplyNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.multiply(a, b);
+        }
+    }
+
+    @Builtin(name = "divide", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class DivideNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.divide(a, b);
+        }
+    }
+
+    @Builtin(name = "divide_int", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class DivideIntNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.floorDivide(a, b);
+        }
+    }
+
+    @Builtin(name = "remainder", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class RemainderNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.remainder(a, b);
+        }
+    }
+
+    @Builtin(name = "remainder_near", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class RemainderNearNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.remainderNear(a, b);
+        }
+    }
+
+    @Builtin(name = "compare", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class CompareNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.compareToValue(a, b);
+        }
+    }
+
+    @Builtin(name = "compare_signal", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class CompareSignalNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.compareSignal(a, b);
+        }
+    }
+
+    @Builtin(name = "compare_total", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class CompareTotalNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return DecimalValue.fromLong(DecimalArith.compareTotal(a, b));
+        }
+    }
+
+    @Builtin(name = "compare_total_mag", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class CompareTotalMagNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return DecimalValue.fromLong(DecimalArith.compareTotal(a.withSign(0), b.withSign(0)));
+        }
+    }
+
+    @Builtin(name = "copy_sign", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class CopySignNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return a.withSign(b.getSign());
+        }
+    }
+
+    @Builtin(name = "max", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class MaxNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.max(a, b);
+        }
+    }
+
+    @Builtin(name = "min", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class MinNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.min(a, b);
+        }
+    }
+
+    @Builtin(name = "quantize", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class QuantizeNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.quantize(a, b, arith.getRounding());
+        }
+    }
+
+    @Builtin(name = "divmod", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class DivModNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static Object divmod(PDecimalContext self, Object x, Object y,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ConvertToDecimalValueNode convertXNode,
+                        @Cached ConvertToDecimalValueNode convertYNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            DecimalValue a = convertXNode.execute(inliningTarget, x);
+            DecimalValue b = convertYNode.execute(inliningTarget, y);
+            DecimalArith arith = new DecimalArith(self);
+            DecimalValue[] result;
+            try {
+                result = arith.divmod(a, b);
+            } catch (OutOfMemoryError e) {
+                throw raiseNode.get(inliningTarget).raise(MemoryError);
+            }
+            DecimalNodes.addStatus(inliningTarget, self, arith.getStatus());
+            return factory.createTuple(new Object[]{factory.createDecimal(result[0]), factory.createDecimal(result[1])});
+        }
+    }
+
+    @Builtin(name = "same_quantum", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class SameQuantumNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static boolean sameQuantum(@SuppressWarnings("unused") PDecimalContext self, Object x, Object y,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ConvertToDecimalValueNode convertXNode,
+                        @Cached ConvertToDecimalValueNode convertYNode) {
+            return DecimalBuiltins.SameQuantumNode.sameQuantum(convertXNode.execute(inliningTarget, x), convertYNode.execute(inliningTarget, y));
+        }
+    }
+
+    // predicates
+
+    abstract static class ContextPredicateNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        boolean doTest(PDecimalContext self, Object x,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ConvertToDecimalValueNode convertNode) {
+            return test(self, convertNode.execute(inliningTarget, x));
+        }
+
+        protected abstract boolean test(PDecimalContext context, DecimalValue value);
+    }
+
+    @Builtin(name = "is_canonical", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsCanonicalNode extends ContextPredicateNode {
+        @Override
+        protected boolean test(PDecimalContext context, DecimalValue value) {
+            return true;
+        }
+    }
+
+    @Builtin(name = "is_finite", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsFiniteNode extends ContextPredicateNode {
+        @Override
+        protected boolean test(PDecimalContext context, DecimalValue value) {
+            return value.isFinite();
+        }
+    }
+
+    @Builtin(name = "is_infinite", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsInfiniteNode extends ContextPredicateNode {
+        @Override
+        protected boolean test(PDecimalContext context, DecimalValue value) {
+            return value.isInfinite();
+        }
+    }
+
+    @Builtin(name = "is_nan", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsNaNNode extends ContextPredicateNode {
+        @Override
+        protected boolean test(PDecimalContext context, DecimalValue value) {
+            return value.isNaN();
+        }
+    }
+
+    @Builtin(name = "is_qnan", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsQNaNNode extends ContextPredicateNode {
+        @Override
+        protected boolean test(PDecimalContext context, DecimalValue value) {
+            return value.isQNaN();
+        }
+    }
+
+    @Builtin(name = "is_snan", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsSNaNNode extends ContextPredicateNode {
+        @Override
+        protected boolean test(PDecimalContext context, DecimalValue value) {
+            return value.isSNaN();
+        }
+    }
+
+    @Builtin(name = "is_signed", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsSignedNode extends ContextPredicateNode {
+        @Override
+        protected boolean test(PDecimalContext context, DecimalValue value) {
+            return value.getSign() == 1;
+        }
+    }
+
+    @Builtin(name = "is_zero", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsZeroNode extends ContextPredicateNode {
+        @Override
+        protected boolean test(PDecimalContext context, DecimalValue value) {
+            return value.isZero();
+        }
+    }
+
+    @Builtin(name = "is_normal", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsNormalNode extends ContextPredicateNode {
+        @Override
+        protected boolean test(PDecimalContext context, DecimalValue value) {
+            return value.isFinite() && !value.isZero() && value.adjusted() >= context.getEmin();
+        }
+    }
+
+    @Builtin(name = "is_subnormal", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsSubnormalNode extends ContextPredicateNode {
+        @Override
+        protected boolean test(PDecimalContext context, DecimalValue value) {
+            return value.isFinite() && !value.isZero() && value.adjusted() < context.getEmin();
+        }
+    }
+
+    @Builtin(name = "number_class", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NumberClassNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static TruffleString numberClass(PDecimalContext self, Object x,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ConvertToDecimalValueNode convertNode) {
+            return DecimalBuiltins.NumberClassNode.numberClass(convertNode.execute(inliningTarget, x), self);
+        }
+    }
+
+    // power, logarithmic and digit-wise operations
+
+    @Builtin(name = "exp", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ExpNode extends ContextUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.exp(a);
+        }
+    }
+
+    @Builtin(name = "ln", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LnNode extends ContextUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.ln(a);
+        }
+    }
+
+    @Builtin(name = "log10", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class Log10Node extends ContextUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.log10(a);
+        }
+    }
+
+    @Builtin(name = "logb", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LogbNode extends ContextUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.logb(a);
+        }
+    }
+
+    @Builtin(name = "sqrt", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class SqrtNode extends ContextUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.sqrt(a);
+        }
+    }
+
+    @Builtin(name = "next_minus", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NextMinusNode extends ContextUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.nextMinus(a);
+        }
+    }
+
+    @Builtin(name = "next_plus", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NextPlusNode extends ContextUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.nextPlus(a);
+        }
+    }
+
+    @Builtin(name = "logical_invert", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LogicalInvertNode extends ContextUnaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a) {
+            return arith.logicalInvert(a);
+        }
+    }
+
+    @Builtin(name = "logical_and", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class LogicalAndNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.logicalAnd(a, b);
+        }
+    }
+
+    @Builtin(name = "logical_or", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class LogicalOrNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.logicalOr(a, b);
+        }
+    }
+
+    @Builtin(name = "logical_xor", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class LogicalXorNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.logicalXor(a, b);
+        }
+    }
+
+    @Builtin(name = "max_mag", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class MaxMagNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.maxMag(a, b);
+        }
+    }
+
+    @Builtin(name = "min_mag", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class MinMagNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.minMag(a, b);
+        }
+    }
+
+    @Builtin(name = "next_toward", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class NextTowardNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.nextToward(a, b);
+        }
+    }
+
+    @Builtin(name = "rotate", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class RotateNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.rotate(a, b);
+        }
+    }
+
+    @Builtin(name = "scaleb", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class ScalebNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.scaleb(a, b);
+        }
+    }
+
+    @Builtin(name = "shift", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class ShiftNode extends ContextBinaryOpNode {
+        @Override
+        protected DecimalValue op(DecimalArith arith, DecimalValue a, DecimalValue b) {
+            return arith.shift(a, b);
+        }
+    }
+
+    @Builtin(name = "power", minNumOfPositionalArgs = 3, parameterNames = {"$self", "a", "b", "modulo"})
+    @GenerateNodeFactory
+    abstract static class PowerNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        static Object power(PDecimalContext self, Object x, Object y, Object mod,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ConvertToDecimalValueNode convertXNode,
+                        @Cached ConvertToDecimalValueNode convertYNode,
+                        @Cached ConvertToDecimalValueNode convertModNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            DecimalValue a = convertXNode.execute(inliningTarget, x);
+            DecimalValue b = convertYNode.execute(inliningTarget, y);
+            DecimalValue modulo = mod instanceof PNone ? null : convertModNode.execute(inliningTarget, mod);
+            DecimalArith arith = new DecimalArith(self);
+            DecimalValue result;
+            try {
+                result = modulo == null ? arith.power(a, b) : arith.powerModulo(a, b, modulo);
+            } catch (OutOfMemoryError e) {
+                throw raiseNode.get(inliningTarget).raise(MemoryError);
+            }
+            DecimalNodes.addStatus(inliningTarget, self, arith.getStatus());
+            return factory.createDecimal(result);
+        }
+    }
+
+    @Builtin(name = "fma", minNumOfPositionalArgs = 4)
+    @GenerateNodeFactory
+    abstract static class FmaNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        static Object fma(PDecimalContext self, Object x, Object y, Object z,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ConvertToDecimalValueNode convertXNode,
+                        @Cached ConvertToDecimalValueNode convertYNode,
+                        @Cached ConvertToDecimalValueNode convertZNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            DecimalValue a = convertXNode.execute(inliningTarget, x);
+            DecimalValue b = convertYNode.execute(inliningTarget, y);
+            DecimalValue c = convertZNode.execute(inliningTarget, z);
+            DecimalArith arith = new DecimalArith(self);
+            DecimalValue result;
+            try {
+                result = arith.fma(a, b, c);
+            } catch (OutOfMemoryError e) {
+                throw raiseNode.get(inliningTarget).raise(MemoryError);
+            }
+            DecimalNodes.addStatus(inliningTarget, self, arith.getStatus());
+            return factory.createDecimal(result);
+        }
+    }
+}
@@ -0,0 +1,473 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.decimal;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Locale;
+
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.lib.PyDictGetItem;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.locale.PythonLocale;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Implements {@code Decimal.__format__} following {@code _pydecimal}. The format specifier is the
+ * standard one of PEP 3101 with the types {@code eEfFgGn%}. Like in the C implementation, the
+ * decimal point, the thousands separator and the grouping can be replaced with the optional
+ * {@code override} dict, which is how the tests check the {@code 'n'} type independently of the
+ * current locale.
+ *
+ * The grouping is kept in the form of the C {@code lconv.grouping}: each character is the length
+ * of a group starting from the decimal point, the last one repeats unless it is
+ * {@link #CHAR_MAX}, which ends the grouping.
+ */
+final class DecimalFormatter {
+    private static final TruffleString T_DECIMAL_POINT = tsLiteral("decimal_point");
+    private static final TruffleString T_THOUSANDS_SEP = tsLiteral("thousands_sep");
+    private static final TruffleString T_GROUPING = tsLiteral("grouping");
+
+    private static final int CHAR_MAX = 127;
+    /** The maximum length in UTF-8 bytes of the separators accepted by libmpdec. */
+    private static final int MAX_SEPARATOR_BYTES = 4;
+    /** Longer strings cannot be created, they would only fail later with less clarity. */
+    private static final long MAX_STRING_LENGTH = Integer.MAX_VALUE - 8;
+
+    private int fill = ' ';
+    private char align = '>';
+    private char sign = '-';
+    private boolean alternate;
+    private boolean zeroPad;
+    private int minWidth;
+    private int precision = -1;
+    private char type;
+    private String decimalPoint = ".";
+    private String thousandsSep = "";
+    private String grouping = "";
+
+    private DecimalFormatter() {
+    }
+
+    /**
+     * Formats {@code value} according to {@code spec}, rounding with the rounding mode of
+     * {@code arith} where the precision requires it. Like in {@code _pydecimal}, no conditions are
+     * raised. Throws {@link OutOfMemoryError} if the result is too large.
+     */
+    @TruffleBoundary
+    static TruffleString format(Node raisingNode, DecimalArith arith, boolean capitals, DecimalValue value, TruffleString spec, PDict override) {
+        DecimalFormatter formatter = parse(raisingNode, spec.toJavaStringUncached());
+        if (override != null) {
+            formatter.applyOverride(raisingNode, override);
+        }
+        return toTruffleStringUncached(formatter.format(arith, capitals, value));
+    }
+
+    private static DecimalFormatter parse(Node raisingNode, String spec) {
+        DecimalFormatter f = new DecimalFormatter();
+        int[] cps = spec.codePoints().toArray();
+        int n = cps.length;
+        int i = 0;
+        boolean hasFill = false;
+        boolean hasAlign = false;
+        if (n >= 2 && isAlign(cps[1])) {
+            f.fill = cps[0];
+            f.align = (char) cps[1];
+            hasFill = hasAlign = true;
+            i = 2;
+        } else if (n >= 1 && isAlign(cps[0])) {
+            f.align = (char) cps[0];
+            hasAlign = true;
+            i = 1;
+        }
+        if (i < n && (cps[i] == '-' || cps[i] == '+' || cps[i] == ' ')) {
+            f.sign = (char) cps[i++];
+        }
+        if (i < n && cps[i] == '#') {
+            f.alternate = true;
+            i++;
+        }
+        if (i < n && cps[i] == '0') {
+            f.zeroPad = true;
+            i++;
+        }
+        if (i < n && isDigit(cps[i])) {
+            if (cps[i] == '0') {
+                throw invalidSpecifier(raisingNode, spec);
+            }
+            int start = i;
+            while (i < n && isDigit(cps[i])) {
+                i++;
+            }
+            f.minWidth = parseInt(raisingNode, spec, cps, start, i);
+        }
+        boolean hasSep = false;
+        if (i < n && cps[i] == ',') {
+            hasSep = true;
+            i++;
+        }
+        if (i < n && cps[i] == '.') {
+            i++;
+            if (i < n && cps[i] == '0') {
+                f.precision = 0;
+                i++;
+            } else if (i < n && isDigit(cps[i])) {
+                int start = i;
+                while (i < n && isDigit(cps[i])) {
+                    i++;
+                }
+                f.precision = parseInt(raisingNode, spec, cps, start, i);
+            } else {
+                throw invalidSpecifier(raisingNode, spec);
+            }
+        }
+        if (i < n && "eEfFgGn%".indexOf(cps[i]) >= 0) {
+            f.type = (char) cps[i++];
+        }
+        if (i != n) {
+            throw invalidSpecifier(raisingNode, spec);
+        }
+        if (f.zeroPad) {
+            if (hasFill) {
+                throw PRaiseNode.raiseUncached(raisingNode, ValueError, ErrorMessages.DECIMAL_FILL_CONFLICTS_WITH_ZERO, spec);
+            } else if (hasAlign) {
+                throw PRaiseNode.raiseUncached(raisingNode, ValueError, ErrorMessages.DECIMAL_ALIGNMENT_CONFLICTS_WITH_ZERO, spec);
+            }
+        }
+        // a precision of 0 makes no sense for significant digits
+        if (f.precision == 0 && (f.type == 0 || f.type == 'g' || f.type == 'G' || f.type == 'n')) {
+            f.precision = 1;
+        }
+        if (f.type == 'n') {
+            // apart from the separators, 'n' behaves like 'g'
+            if (hasSep) {
+                throw PRaiseNode.raiseUncached(raisingNode, ValueError, ErrorMessages.DECIMAL_SEP_CONFLICTS_WITH_N, spec);
+            }
+            f.type = 'g';
+            f.useLocale();
+        } else if (hasSep) {
+            f.thousandsSep = ",";
+            f.grouping = "\3";
+        }
+        return f;
+    }
+
+    private static boolean isAlign(int c) {
+        return c == '<' || c == '>' || c == '=' || c == '^';
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int parseInt(Node raisingNode, String spec, int[] cps, int start, int end) {
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            result = result * 10 + (cps[i] - '0');
+            if (result > Integer.MAX_VALUE) {
+                throw invalidSpecifier(raisingNode, spec);
+            }
+        }
+        return (int) result;
+    }
+
+    private static RuntimeException invalidSpecifier(Node raisingNode, String spec) {
+        throw PRaiseNode.raiseUncached(raisingNode, ValueError, ErrorMessages.DECIMAL_INVALID_FORMAT_SPECIFIER, spec);
+    }
+
+    /**
+     * Uses the separators of the current {@code LC_NUMERIC} locale, like {@code locale.localeconv}.
+     */
+    private void useLocale() {
+        Locale locale = PythonContext.get(null).getCurrentLocale().category(PythonLocale.LC_NUMERIC);
+        NumberFormat numberFormat = NumberFormat.getInstance(locale);
+        DecimalFormatSymbols symbols;
+        if (numberFormat instanceof DecimalFormat decimalFormat) {
+            symbols = decimalFormat.getDecimalFormatSymbols();
+            int groupingSize = decimalFormat.getGroupingSize();
+            grouping = groupingSize > 0 && groupingSize < CHAR_MAX ? String.valueOf((char) groupingSize) : "";
+        } else {
+            symbols = new DecimalFormatSymbols(locale);
+            grouping = "";
+        }
+        decimalPoint = String.valueOf(symbols.getDecimalSeparator());
+        thousandsSep = String.valueOf(symbols.getGroupingSeparator());
+    }
+
+    /**
+     * Replaces the separators with the entries of the {@code override} dict. Like in C, the values
+     * are read up to the first NUL character and have to be valid for libmpdec.
+     */
+    private void applyOverride(Node raisingNode, PDict override) {
+        String dot = getOverride(raisingNode, override, T_DECIMAL_POINT);
+        if (dot != null) {
+            decimalPoint = dot;
+        }
+        String sep = getOverride(raisingNode, override, T_THOUSANDS_SEP);
+        if (sep != null) {
+            thousandsSep = sep;
+        }
+        String groups = getOverride(raisingNode, override, T_GROUPING);
+        if (groups != null) {
+            grouping = groups;
+        }
+        for (int i = 0; i < grouping.length(); i++) {
+            if (grouping.charAt(i) >= 0x80) {
+                throw PRaiseNode.raiseUncached(raisingNode, ValueError, ErrorMessages.INVALID_OVERRIDE_DICT);
+            }
+        }
+        int dotBytes = decimalPoint.getBytes(StandardCharsets.UTF_8).length;
+        if (dotBytes == 0 || dotBytes > MAX_SEPARATOR_BYTES || thousandsSep.getBytes(StandardCharsets.UTF_8).length > MAX_SEPARATOR_BYTES) {
+            throw PRaiseNode.raiseUncached(raisingNode, ValueError, ErrorMessages.INVALID_OVERRIDE_DICT);
+        }
+    }
+
+    private static String getOverride(Node raisingNode, PDict override, TruffleString key) {
+        Object value = PyDictGetItem.executeUncached(override, key);
+        if (value == null) {
+            return null;
+        }
+        String s;
+        try {
+            s = CastToTruffleStringNode.executeUncached(value).toJavaStringUncached();
+        } catch (CannotCastException e) {
+            throw PRaiseNode.raiseUncached(raisingNode, TypeError, ErrorMessages.BAD_ARG_TYPE_FOR_BUILTIN_OP);
+        }
+        int nul = s.indexOf('\0');
+        return nul >= 0 ? s.substring(0, nul) : s;
+    }
+
+    private String format(DecimalArith arith, boolean capitals, DecimalValue value) {
+        // special values don't care about the type or precision
+        if (value.isSpecial()) {
+            String body = DecimalArith.toString(value.withSign(0), false, capitals);
+            return align(formatSign(value.getSign()), type == '%' ? body + '%' : body);
+        }
+        char t = type != 0 ? type : capitals ? 'G' : 'g';
+        DecimalValue v = value;
+        if (t == '%') {
+            v = DecimalValue.finite(v.getSign(), v.getCoefficient(), v.getExponent() + 2);
+        }
+        int rnd = arith.getRounding();
+        boolean fixed = t == 'f' || t == 'F' || t == '%';
+        boolean scientific = t == 'e' || t == 'E';
+        if (precision >= 0) {
+            if (scientific) {
+                v = round(arith, v, precision + 1L, rnd);
+            } else if (fixed) {
+                v = arith.rescale(v, -precision, rnd);
+            } else if (v.digits() > precision) {
+                v = round(arith, v, precision, rnd);
+            }
+        }
+        // zeros with a positive exponent can't be represented in fixed point
+        if (v.isZero() && v.getExponent() > 0 && fixed) {
+            v = arith.rescale(v, 0, rnd);
+        }
+
+        String coeff = v.coefficientString();
+        long leftDigits = v.getExponent() + coeff.length();
+        long dotPlace;
+        if (scientific) {
+            dotPlace = v.isZero() && precision >= 0 ? 1 - precision : 1;
+        } else if (fixed) {
+            dotPlace = leftDigits;
+        } else {
+            dotPlace = v.getExponent() <= 0 && leftDigits > -6 ? leftDigits : 1;
+        }
+        String intPart;
+        String fracPart;
+        if (dotPlace < 0) {
+            intPart = "0";
+            fracPart = zeros(-dotPlace) + coeff;
+        } else if (dotPlace > coeff.length()) {
+            intPart = coeff + zeros(dotPlace - coeff.length());
+            fracPart = "";
+        } else {
+            intPart = dotPlace == 0 ? "0" : coeff.substring(0, (int) dotPlace);
+            fracPart = coeff.substring((int) dotPlace);
+        }
+        return formatNumber(v.getSign(), intPart, fracPart, leftDigits - dotPlace, t);
+    }
+
+    /**
+     * Rounds to the given number of significant digits like {@code Decimal._round}.
+     */
+    private static DecimalValue round(DecimalArith arith, DecimalValue v, long places, int rnd) {
+        if (v.isZero()) {
+            return v;
+        }
+        DecimalValue result = arith.rescale(v, v.adjusted() + 1 - places, rnd);
+        if (result.adjusted() != v.adjusted()) {
+            result = arith.rescale(result, result.adjusted() + 1 - places, rnd);
+        }
+        return result;
+    }
+
+    private String formatNumber(int negative, String intPart, String fracPart, long exp, char t) {
+        String signString = formatSign(negative);
+        StringBuilder frac = new StringBuilder();
+        if (!fracPart.isEmpty() || alternate) {
+            frac.append(decimalPoint).append(fracPart);
+        }
+        if (exp != 0 || t == 'e' || t == 'E') {
+            frac.append(t == 'E' || t == 'G' ? 'E' : 'e').append(exp < 0 ? '-' : '+').append(Math.abs(exp));
+        }
+        if (t == '%') {
+            frac.append('%');
+        }
+        String body = frac.toString();
+        long minDigits = zeroPad ? (long) minWidth - codePoints(body) - codePoints(signString) : 0;
+        return align(signString, insertThousandsSep(intPart, minDigits) + body);
+    }
+
+    private String formatSign(int negative) {
+        if (negative == 1) {
+            return "-";
+        }
+        return sign == '-' ? "" : String.valueOf(sign);
+    }
+
+    /**
+     * Inserts the thousands separators into a string of digits, which is padded with zeros on the
+     * left to at least {@code minDigits} characters including the separators. Like in
+     * {@code _pydecimal}, the padding adds an extra zero to avoid a leading separator.
+     */
+    private String insertThousandsSep(String digits, long minDigits) {
+        ArrayList<String> groups = new ArrayList<>();
+        String rest = digits;
+        long minRest = minDigits;
+        int sepLength = codePoints(thousandsSep);
+        int index = 0;
+        while (true) {
+            long length;
+            if (index < grouping.length()) {
+                length = grouping.charAt(index++);
+            } else if (!grouping.isEmpty()) {
+                length = grouping.charAt(grouping.length() - 1);
+            } else {
+                length = CHAR_MAX;
+            }
+            if (length == CHAR_MAX) {
+                // no further grouping, the remaining digits form the last group
+                long last = Math.max(Math.max(rest.length(), minRest), 1);
+                groups.add(zeros(last - rest.length()) + rest);
+                break;
+            }
+            length = Math.min(Math.max(Math.max(rest.length(), minRest), 1), length);
+            int split = (int) Math.max(rest.length() - length, 0);
+            groups.add(zeros(length - rest.length()) + rest.substring(split));
+            rest = rest.substring(0, split);
+            minRest -= length;
+            if (rest.isEmpty() && minRest <= 0) {
+                break;
+            }
+            minRest -= sepLength;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = groups.size() - 1; i >= 0; i--) {
+            sb.append(groups.get(i));
+            if (i > 0) {
+                sb.append(thousandsSep);
+            }
+        }
+        return sb.toString();
+    }
+
+    private String align(String signString, String body) {
+        long padding = Math.max((long) minWidth - codePoints(signString) - codePoints(body), 0);
+        StringBuilder sb = new StringBuilder();
+        switch (align) {
+            case '<':
+                sb.append(signString).append(body);
+                appendFill(sb, padding);
+                break;
+            case '=':
+                sb.append(signString);
+                appendFill(sb, padding);
+                sb.append(body);
+                break;
+            case '^':
+                appendFill(sb, padding / 2);
+                sb.append(signString).append(body);
+                appendFill(sb, padding - padding / 2);
+                break;
+            default:
+                appendFill(sb, padding);
+                sb.append(signString).append(body);
+                break;
+        }
+        return sb.toString();
+    }
+
+    private void appendFill(StringBuilder sb, long count) {
+        for (long i = 0; i < count; i++) {
+            sb.appendCodePoint(fill);
+        }
+    }
+
+    private static String zeros(long count) {
+        if (count <= 0) {
+            return "";
+        } else if (count > MAX_STRING_LENGTH) {
+            throw new OutOfMemoryError();
+        }
+        return "0".repeat((int) count);
+    }
+
+    private static int codePoints(String s) {
+        return s.codePointCount(0, s.length());
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.decimal;
+
+import static com.oracle.graal.python.builtins.objects.decimal.DecimalArith.pow10;
+
+import java.math.BigInteger;
+
+/**
+ * Integer approximations of logarithms, exponentials and powers used by the transcendental
+ * functions of {@link DecimalArith}. These are ports of the helpers of the same names in
+ * {@code _pydecimal} ({@code _ilog}, {@code _dlog}, {@code _dexp}, ...), which are also where the
+ * error bounds are derived. Like in Python, all divisions round towards negative infinity.
+ */
+final class DecimalMath {
+    private static final BigInteger HUNDRED = BigInteger.valueOf(100);
+    private static final BigInteger THOUSAND = BigInteger.valueOf(1000);
+    private static final int L = 8;
+    private static final int[] LOG10_LB_CORRECTION = {0, 100, 70, 53, 40, 31, 23, 16, 10, 5};
+
+    /**
+     * The digits of {@code log(10)} computed so far, which only ever grows. Racing threads compute
+     * the same digits, so the last write wins without harm.
+     */
+    private static volatile String log10DigitsCache = "23025850929940456840179914546843642076011014886";
+
+    private DecimalMath() {
+    }
+
+    /**
+     * {@code len(str(n))}, i.e., the number of digits including the minus sign.
+     */
+    static long strLength(BigInteger n) {
+        return DecimalValue.digits(n.abs()) + (n.signum() < 0 ? 1 : 0);
+    }
+
+    static long strLength(long n) {
+        return Long.toString(n).length();
+    }
+
+    /**
+     * Converts an exponent computed with unbounded integers to a {@code long}. Exponents beyond
+     * any context are saturated like in {@link DecimalArith#parse}, they overflow or underflow
+     * when the result is rounded.
+     */
+    static long saturate(BigInteger exp) {
+        long limit = Long.MAX_VALUE / 4;
+        if (exp.bitLength() >= Long.SIZE - 2) {
+            return exp.signum() < 0 ? -limit : limit;
+        }
+        return Math.max(-limit, Math.min(limit, exp.longValue()));
+    }
+
+    /**
+     * {@code base ** exp} for {@code base > 1}. Throws {@link OutOfMemoryError} if the result is
+     * too large for a {@link BigInteger}, like {@link DecimalArith#pow10}.
+     */
+    static BigInteger pow(BigInteger base, BigInteger exp) {
+        assert base.compareTo(BigInteger.ONE) > 0 && exp.signum() >= 0;
+        if (exp.bitLength() >= Integer.SIZE - 1 || (base.bitLength() - 1) * exp.longValue() >= Integer.MAX_VALUE) {
+            throw new OutOfMemoryError();
+        }
+        return base.pow(exp.intValue());
+    }
+
+    static BigInteger[] floorDivMod(BigInteger a, BigInteger b) {
+        BigInteger[] qr = a.divideAndRemainder(b);
+        if (qr[1].signum() != 0 && qr[1].signum() != b.signum()) {
+            qr[0] = qr[0].subtract(BigInteger.ONE);
+            qr[1] = qr[1].add(b);
+        }
+        return qr;
+    }
+
+    static BigInteger floorDiv(BigInteger a, BigInteger b) {
+        return floorDivMod(a, b)[0];
+    }
+
+    /**
+     * {@code n * 10**e} if it is an integer, otherwise {@code null}.
+     */
+    static BigInteger decimalLshiftExact(BigInteger n, long e) {
+        if (n.signum() == 0) {
+            return BigInteger.ZERO;
+        } else if (e >= 0) {
+            return n.multiply(pow10(e));
+        }
+        String s = n.abs().toString();
+        int zeros = 0;
+        while (zeros < s.length() && s.charAt(s.length() - 1 - zeros) == '0') {
+            zeros++;
+        }
+        return zeros < -e ? null : floorDiv(n, pow10(-e));
+    }
+
+    /**
+     * The closest integer to the square root of the positive integer {@code n}, starting from
+     * the positive approximation {@code a}.
+     */
+    static BigInteger sqrtNearest(BigInteger n, BigInteger a) {
+        assert n.signum() > 0 && a.signum() > 0;
+        BigInteger b = BigInteger.ZERO;
+        while (!a.equals(b)) {
+            b = a;
+            a = a.subtract(floorDiv(n.negate(), a)).shiftRight(1);
+        }
+        return a;
+    }
+
+    /**
+     * The closest integer to {@code x / 2**shift}, ties go to even.
+     */
+    static BigInteger rshiftNearest(BigInteger x, int shift) {
+        BigInteger b = BigInteger.ONE.shiftLeft(shift);
+        BigInteger q = x.shiftRight(shift);
+        BigInteger twiceRest = x.and(b.subtract(BigInteger.ONE)).shiftLeft(1);
+        return twiceRest.add(q.testBit(0) ? BigInteger.ONE : BigInteger.ZERO).compareTo(b) > 0 ? q.add(BigInteger.ONE) : q;
+    }
+
+    /**
+     * The closest integer to {@code a / b} for a positive {@code b}, ties go to even.
+     */
+    static BigInteger divNearest(BigInteger a, BigInteger b) {
+        BigInteger[] qr = floorDivMod(a, b);
+        BigInteger twiceRest = qr[1].shiftLeft(1);
+        return twiceRest.add(qr[0].testBit(0) ? BigInteger.ONE : BigInteger.ZERO).compareTo(b) > 0 ? qr[0].add(BigInteger.ONE) : qr[0];
+    }
+
+    static BigInteger divNearest(BigInteger a, long b) {
+        return divNearest(a, BigInteger.valueOf(b));
+    }
+
+    /**
+     * The number of terms of the series in {@link #ilog} and {@link #iexp}, which is
+     * {@code ceil(10 * len(str(M)) / (3 * L))}.
+     */
+    private static long seriesTerms(BigInteger m) {
+        return -Math.floorDiv(-10 * strLength(m), 3 * L);
+    }
+
+    /**
+     * An integer approximation to {@code M * log(x / M)}. For {@code 0.1 <= x / M <= 10} the
+     * error is at most 22.
+     */
+    static BigInteger ilog(BigInteger x, BigInteger m) {
+        BigInteger y = x.subtract(m);
+        int r = 0;
+        while ((r <= L && y.abs().shiftLeft(L - r).compareTo(m) >= 0) || (r > L && y.abs().shiftRight(r - L).compareTo(m) >= 0)) {
+            BigInteger root = sqrtNearest(m.multiply(m.add(rshiftNearest(y, r))), m);
+            y = divNearest(m.multiply(y).shiftLeft(1), m.add(root));
+            r++;
+        }
+        long t = seriesTerms(m);
+        BigInteger yshift = rshiftNearest(y, r);
+        BigInteger w = divNearest(m, t);
+        for (long k = t - 1; k > 0; k--) {
+            w = divNearest(m, k).subtract(divNearest(yshift.multiply(w), m));
+        }
+        return divNearest(w.multiply(y), m);
+    }
+
+    /**
+     * An integer approximation to {@code 10**p * log10(c * 10**e)} with an error of at most 1.
+     * The value {@code c * 10**e} must be positive and not exactly 1.
+     */
+    static BigInteger dlog10(BigInteger c, long e, long p) {
+        p += 2;
+        long l = strLength(c);
+        long f = e + l - (e + l >= 1 ? 1 : 0);
+        BigInteger logD;
+        BigInteger logTenpower;
+        if (p > 0) {
+            BigInteger m = pow10(p);
+            long k = e + p - f;
+            if (k >= 0) {
+                c = c.multiply(pow10(k));
+            } else {
+                c = divNearest(c, pow10(-k));
+            }
+            logD = divNearest(ilog(c, m).multiply(m), log10Digits(p));
+            logTenpower = BigInteger.valueOf(f).multiply(m);
+        } else {
+            logD = BigInteger.ZERO;
+            logTenpower = divNearest(BigInteger.valueOf(f), pow10(-p));
+        }
+        return divNearest(logTenpower.add(logD), HUNDRED);
+    }
+
+    /**
+     * An integer approximation to {@code 10**p * log(c * 10**e)} with an error of at most 1. The
+     * value {@code c * 10**e} must be positive and not exactly 1.
+     */
+    static BigInteger dlog(BigInteger c, long e, long p) {
+        p += 2;
+        long l = strLength(c);
+        long f = e + l - (e + l >= 1 ? 1 : 0);
+        BigInteger logD;
+        if (p > 0) {
+            long k = e + p - f;
+            if (k >= 0) {
+                c = c.multiply(pow10(k));
+            } else {
+                c = divNearest(c, pow10(-k));
+            }
+            logD = ilog(c, pow10(p));
+        } else {
+            logD = BigInteger.ZERO;
+        }
+        BigInteger fLogTen = BigInteger.ZERO;
+        if (f != 0) {
+            long extra = strLength(Math.abs(f)) - 1;
+            if (p + extra >= 0) {
+                fLogTen = divNearest(BigInteger.valueOf(f).multiply(log10Digits(p + extra)), pow10(extra));
+            }
+        }
+        return divNearest(fLogTen.add(logD), HUNDRED);
+    }
+
+    /**
+     * {@code floor(10**p * log(10))}.
+     */
+    static BigInteger log10Digits(long p) {
+        assert p >= 0;
+        String digits = log10DigitsCache;
+        if (p >= digits.length()) {
+            String computed;
+            int extra = 3;
+            while (true) {
+                BigInteger m = pow10(p + extra + 2);
+                computed = divNearest(ilog(m.multiply(BigInteger.TEN), m), HUNDRED).toString();
+                if (!computed.endsWith("0".repeat(extra))) {
+                    break;
+                }
+                extra += 3;
+            }
+            int end = computed.length();
+            while (end > 0 && computed.charAt(end - 1) == '0') {
+                end--;
+            }
+            digits = computed.substring(0, end - 1);
+            log10DigitsCache = digits;
+        }
+        return new BigInteger(digits.substring(0, (int) (p + 1)));
+    }
+
+    /**
+     * An integer approximation to {@code M * exp(x / M)} for a small {@code x / M}. For
+     * {@code 0 <= x / M <= 2.4} the error is at most 60.
+     */
+    static BigInteger iexp(BigInteger x, BigInteger m) {
+        int r = floorDiv(x.shiftLeft(L), m).abs().bitLength();
+        long t = seriesTerms(m);
+        BigInteger y = divNearest(x, t);
+        BigInteger mshift = m.shiftLeft(r);
+        for (long i = t - 1; i > 0; i--) {
+            y = divNearest(x.multiply(mshift.add(y)), mshift.multiply(BigInteger.valueOf(i)));
+        }
+        for (int k = r - 1; k >= 0; k--) {
+            mshift = m.shiftLeft(k + 2);
+            y = divNearest(y.multiply(y.add(mshift)), mshift);
+        }
+        return m.add(y);
+    }
+
+    /**
+     * An approximation {@code d * 10**f} to {@code exp(c * 10**e)} with {@code p} digits and an
+     * error in {@code d} of at most 1, returned as a positive finite value.
+     */
+    static DecimalValue dexp(BigInteger c, long e, long p) {
+        p += 2;
+        long extra = Math.max(0, e + strLength(c) - 1);
+        long q = p + extra;
+        long shift = e + q;
+        BigInteger cshift = shift >= 0 ? c.multiply(pow10(shift)) : floorDiv(c, pow10(-shift));
+        BigInteger[] qr = floorDivMod(cshift, log10Digits(q));
+        BigInteger rem = divNearest(qr[1], pow10(extra));
+        BigInteger coeff = divNearest(iexp(rem, pow10(p)), THOUSAND);
+        return DecimalValue.finite(0, coeff, saturate(qr[0].subtract(BigInteger.valueOf(p - 3))));
+    }
+
+    /**
+     * An approximation {@code c * 10**e} to {@code x**y} for {@code x = xc * 10**xe} and
+     * {@code y = yc * 10**ye} with {@code p} digits and an error in {@code c} of at most 1,
+     * returned as a positive finite value. {@code x} must be positive and not 1, {@code y} must be
+     * nonzero.
+     */
+    static DecimalValue dpower(BigInteger xc, long xe, BigInteger yc, long ye, long p) {
+        long b = strLength(yc.abs()) + ye;
+        BigInteger lxc = dlog(xc, xe, p + b + 1);
+        long shift = ye - b;
+        BigInteger pc;
+        if (shift >= 0) {
+            pc = lxc.multiply(yc).multiply(pow10(shift));
+        } else {
+            pc = divNearest(lxc.multiply(yc), pow10(-shift));
+        }
+        if (pc.signum() == 0) {
+            // the result is so close to 1 that it only matters on which side it is
+            if ((strLength(xc) + xe >= 1) == (yc.signum() > 0)) {
+                return DecimalValue.finite(0, pow10(p - 1).add(BigInteger.ONE), 1 - p);
+            }
+            return DecimalValue.finite(0, pow10(p).subtract(BigInteger.ONE), -p);
+        }
+        DecimalValue approx = dexp(pc, -(p + 1), p + 1);
+        return DecimalValue.finite(0, divNearest(approx.getCoefficient(), BigInteger.TEN), approx.getExponent() + 1);
+    }
+
+    /**
+     * A lower bound for {@code 100 * log10(c)} for a positive integer {@code c}.
+     */
+    static long log10Lb(BigInteger c) {
+        assert c.signum() > 0;
+        String s = c.toString();
+        return 100L * s.length() - LOG10_LB_CORRECTION[s.charAt(0) - '0'];
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.decimal;
+
+import com.oracle.graal.python.builtins.objects.contextvars.PContextVar;
+
+/**
+ * Per-context state of the {@code _decimal} module. The exception classes, the signal dict class
+ * and the named tuple class are ordinary Python classes created when the module is imported, like
+ * in CPython.
+ */
+public final class DecimalModuleState {
+    /** The signal classes in the order of {@link PDecimalContext#SIGNAL_FLAGS}. */
+    private final Object[] signals;
+    /** The condition classes in the order of {@link PDecimalContext#CONDITION_FLAGS}. */
+    private final Object[] conditions;
+    private final Object decimalTuple;
+    private final Object signalDictClass;
+    private final Object rational;
+    private final PContextVar contextVar;
+    private final PDecimalContext defaultContext;
+    private final PDecimalContext basicContext;
+    private final PDecimalContext extendedContext;
+
+    public DecimalModuleState(Object[] signals, Object[] conditions, Object decimalTuple, Object signalDictClass, Object rational, PContextVar contextVar, PDecimalContext defaultContext,
+                    PDecimalContext basicContext, PDecimalContext extendedContext) {
+        assert signals.length == PDecimalContext.SIGNAL_FLAGS.length && conditions.length == PDecimalContext.CONDITION_FLAGS.length;
+        this.signals = signals;
+        this.conditions = conditions;
+        this.decimalTuple = decimalTuple;
+        this.signalDictClass = signalDictClass;
+        this.rational = rational;
+        this.contextVar = contextVar;
+        this.defaultContext = defaultContext;
+        this.basicContext = basicContext;
+        this.extendedContext = extendedContext;
+    }
+
+    public Object[] getSignals() {
+        return signals;
+    }
+
+    public Object[] getConditions() {
+        return conditions;
+    }
+
+    public Object getDecimalTuple() {
+        return decimalTuple;
+    }
+
+    public Object getSignalDictClass() {
+        return signalDictClass;
+    }
+
+    public Object getRational() {
+        return rational;
+    }
+
+    public PContextVar getContextVar() {
+        return contextVar;
+    }
+
+    /**
+     * The template of new thread-local contexts, which is {@code decimal.DefaultContext}.
+     */
+    public PDecimalContext getDefaultContext() {
+        return defaultContext;
+    }
+
+    public PDecimalContext getBasicContext() {
+        return basicContext;
+    }
+
+    public PDecimalContext getExtendedContext() {
+        return extendedContext;
+    }
+}
@@ -0,0 +1,429 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.decimal;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+
+import java.math.BigInteger;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.contextvars.PContextVar;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.str.StringUtils;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.lib.PyFloatAsDoubleNode;
+import com.oracle.graal.python.lib.PyFloatCheckNode;
+import com.oracle.graal.python.lib.PyLongAsLongNodeGen;
+import com.oracle.graal.python.lib.PyLongCheckNode;
+import com.oracle.graal.python.lib.PyObjectGetItem;
+import com.oracle.graal.python.lib.PyObjectSizeNode;
+import com.oracle.graal.python.lib.PyUnicodeCheckNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.util.CastToJavaBigIntegerNode;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.PythonContext.PythonThreadState;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.util.ArrayBuilder;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateCached;
+import com.oracle.truffle.api.dsl.GenerateInline;
+import com.oracle.truffle.api.dsl.GenerateUncached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Nodes and helpers shared by the builtins of the {@code _decimal} classes.
+ */
+public final class DecimalNodes {
+
+    private DecimalNodes() {
+    }
+
+    /**
+     * Returns the current thread-local context, which is created as a copy of
+     * {@code DefaultContext} on first use in a thread, like {@code getcontext()}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @GenerateUncached
+    public abstract static class GetContextNode extends Node {
+        public abstract PDecimalContext execute(Node inliningTarget);
+
+        @Specialization
+        static PDecimalContext get(Node inliningTarget) {
+            PythonContext context = PythonContext.get(inliningTarget);
+            PContextVar contextVar = context.getDecimalModuleState().getContextVar();
+            PythonThreadState threadState = context.getThreadState(PythonLanguage.get(inliningTarget));
+            Object value = contextVar.getValue(threadState);
+            if (value == null) {
+                return createThreadContext(context, contextVar, threadState);
+            }
+            return (PDecimalContext) value;
+        }
+
+        @TruffleBoundary
+        private static PDecimalContext createThreadContext(PythonContext context, PContextVar contextVar, PythonThreadState threadState) {
+            PDecimalContext result = context.factory().createDecimalContext(context.getDecimalModuleState().getDefaultContext(), 0);
+            contextVar.setValue(threadState, result);
+            return result;
+        }
+    }
+
+    /**
+     * Resolves the optional {@code context} argument of the decimal methods.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    public abstract static class ContextArgNode extends Node {
+        public abstract PDecimalContext execute(Node inliningTarget, Object context);
+
+        @Specialization
+        static PDecimalContext doContext(PDecimalContext context) {
+            return context;
+        }
+
+        @Specialization
+        static PDecimalContext doNone(Node inliningTarget, @SuppressWarnings("unused") PNone none,
+                        @Cached GetContextNode getContextNode) {
+            return getContextNode.execute(inliningTarget);
+        }
+
+        @Fallback
+        static PDecimalContext doOther(Node inliningTarget, @SuppressWarnings("unused") Object context,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.OPTIONAL_ARGUMENT_MUST_BE_A_CONTEXT);
+        }
+    }
+
+    /**
+     * Returns the value of a decimal or an int operand, or {@code null} for other objects. This is
+     * the implicit conversion of the arithmetic operators.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @GenerateUncached
+    public abstract static class AsDecimalValueNode extends Node {
+        public abstract DecimalValue execute(Node inliningTarget, Object obj);
+
+        @Specialization
+        static DecimalValue doDecimal(PDecimal value) {
+            return value.getValue();
+        }
+
+        @Specialization
+        static DecimalValue doBoolean(boolean value) {
+            return value ? DecimalValue.ONE : DecimalValue.ZERO;
+        }
+
+        @Specialization
+        static DecimalValue doInt(int value) {
+            return DecimalValue.fromLong(value);
+        }
+
+        @Specialization
+        static DecimalValue doLong(long value) {
+            return DecimalValue.fromLong(value);
+        }
+
+        @Specialization
+        static DecimalValue doPInt(PInt value) {
+            return DecimalValue.fromBigInteger(value.getValue());
+        }
+
+        @Fallback
+        static DecimalValue doOther(Node inliningTarget, Object obj,
+                        @Cached PyLongCheckNode longCheckNode,
+                        @Cached CastToJavaBigIntegerNode castToBigIntegerNode) {
+            if (longCheckNode.execute(inliningTarget, obj)) {
+                BigInteger value = castToBigIntegerNode.execute(inliningTarget, obj);
+                return DecimalValue.fromBigInteger(value);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Like {@link AsDecimalValueNode}, but raises a {@code TypeError} for other objects. This is
+     * the conversion of the operands of the {@code Context} methods.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    public abstract static class ConvertToDecimalValueNode extends Node {
+        public abstract DecimalValue execute(Node inliningTarget, Object obj);
+
+        @Specialization
+        static DecimalValue convert(Node inliningTarget, Object obj,
+                        @Cached AsDecimalValueNode asDecimalValueNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            DecimalValue value = asDecimalValueNode.execute(inliningTarget, obj);
+            if (value == null) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.CONVERSION_FROM_P_TO_DECIMAL_NOT_SUPPORTED, obj);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Converts a rounding mode name like {@code "ROUND_HALF_EVEN"} to one of the
+     * {@code PDecimalContext.ROUND_*} constants.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @GenerateUncached
+    public abstract static class GetRoundingNode extends Node {
+        public abstract int execute(Node inliningTarget, Object rounding);
+
+        @Specialization
+        static int get(Node inliningTarget, Object rounding,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached CastToJavaStringNode castToStringNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (unicodeCheckNode.execute(inliningTarget, rounding)) {
+                int result = lookupRounding(castToStringNode.execute(rounding));
+                if (result >= 0) {
+                    return result;
+                }
+            }
+            throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.DECIMAL_INVALID_ROUNDING);
+        }
+
+        @TruffleBoundary
+        private static int lookupRounding(String name) {
+            for (int i = 0; i < PDecimalContext.ROUNDING_NAMES.length; i++) {
+                if (PDecimalContext.ROUNDING_NAMES[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Converts the argument of the {@code Decimal} constructor and of {@code create_decimal}. The
+     * constructor converts exactly and only signals invalid operations, {@code create_decimal}
+     * rounds to the context.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    public abstract static class FromObjectNode extends Node {
+        public abstract DecimalValue execute(Node inliningTarget, PDecimalContext context, Object value, boolean exact);
+
+        @Specialization
+        static DecimalValue convert(Node inliningTarget, PDecimalContext context, Object value, boolean exact,
+                        @Cached AsDecimalValueNode asDecimalValueNode,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached CastToJavaStringNode castToStringNode,
+                        @Cached PyFloatCheckNode floatCheckNode,
+                        @Cached PyFloatAsDoubleNode asDoubleNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            DecimalArith arith = new DecimalArith(context);
+            DecimalValue result;
+            if (unicodeCheckNode.execute(inliningTarget, value)) {
+                String ascii = numericToAscii(castToStringNode.execute(value), exact, exact);
+                result = fromParsed(arith, ascii == null ? null : DecimalArith.parse(ascii), exact);
+            } else if (floatCheckNode.execute(inliningTarget, value)) {
+                addStatus(inliningTarget, context, PDecimalContext.STATUS_FLOAT_OPERATION);
+                DecimalValue converted = DecimalArith.fromDouble(asDoubleNode.execute(null, inliningTarget, value));
+                result = exact ? converted : arith.fix(converted);
+            } else if (value instanceof PTuple || value instanceof PList) {
+                result = fromParsed(arith, fromTuple(inliningTarget, value), exact);
+            } else {
+                DecimalValue converted = asDecimalValueNode.execute(inliningTarget, value);
+                if (converted == null) {
+                    throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.CONVERSION_FROM_P_TO_DECIMAL_NOT_SUPPORTED, value);
+                }
+                result = exact ? converted : arith.fixConverted(converted);
+            }
+            int status = arith.getStatus();
+            if (exact) {
+                status &= PDecimalContext.STATUS_IEEE_INVALID_OPERATION | PDecimalContext.STATUS_DIVISION_BY_ZERO;
+            }
+            addStatus(inliningTarget, context, status);
+            return result;
+        }
+
+        private static DecimalValue fromParsed(DecimalArith arith, DecimalValue parsed, boolean exact) {
+            if (parsed == null) {
+                arith.addStatus(PDecimalContext.STATUS_CONVERSION_SYNTAX);
+                return DecimalValue.NAN;
+            }
+            return exact ? arith.checkExact(parsed) : arith.fixConverted(parsed);
+        }
+    }
+
+    /**
+     * Converts a tuple {@code (sign, digits, exponent)} like {@code Decimal.as_tuple()} returns it.
+     * Returns {@code null} if there are no digits, which is a conversion syntax error.
+     */
+    @TruffleBoundary
+    static DecimalValue fromTuple(Node inliningTarget, Object tuple) {
+        if (PyObjectSizeNode.executeUncached(tuple) != 3) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.DECIMAL_ARG_MUST_BE_SEQUENCE_OF_LENGTH_3);
+        }
+        Object signObj = PyObjectGetItem.executeUncached(tuple, 0);
+        long sign = PyLongCheckNode.executeUncached(signObj) ? PyLongAsLongNodeGen.getUncached().execute(null, null, signObj) : -1;
+        if (sign != 0 && sign != 1) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.DECIMAL_SIGN_MUST_BE_0_OR_1);
+        }
+        Object expObj = PyObjectGetItem.executeUncached(tuple, 2);
+        int kind = DecimalValue.FINITE;
+        long exp = 0;
+        if (PyUnicodeCheckNode.executeUncached(expObj)) {
+            switch (CastToJavaStringNode.getUncached().execute(expObj)) {
+                case "F":
+                    return DecimalValue.infinity((int) sign);
+                case "n":
+                    kind = DecimalValue.QNAN;
+                    break;
+                case "N":
+                    kind = DecimalValue.SNAN;
+                    break;
+                default:
+                    throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.DECIMAL_INVALID_SPECIAL_EXPONENT);
+            }
+        } else if (PyLongCheckNode.executeUncached(expObj)) {
+            exp = PyLongAsLongNodeGen.getUncached().execute(null, null, expObj);
+        } else {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.DECIMAL_EXPONENT_MUST_BE_INTEGER);
+        }
+        Object digits = PyObjectGetItem.executeUncached(tuple, 1);
+        if (!(digits instanceof PTuple || digits instanceof PList)) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.DECIMAL_COEFFICIENT_MUST_BE_TUPLE_OF_DIGITS);
+        }
+        int length = PyObjectSizeNode.executeUncached(digits);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            Object digit = PyObjectGetItem.executeUncached(digits, i);
+            long d = PyLongCheckNode.executeUncached(digit) ? PyLongAsLongNodeGen.getUncached().execute(null, null, digit) : -1;
+            if (d < 0 || d > 9) {
+                throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.DECIMAL_COEFFICIENT_MUST_BE_TUPLE_OF_DIGITS);
+            }
+            sb.append((char) ('0' + d));
+        }
+        if (kind != DecimalValue.FINITE) {
+            BigInteger payload = sb.length() == 0 ? BigInteger.ZERO : new BigInteger(sb.toString());
+            return DecimalValue.nan((int) sign, kind == DecimalValue.SNAN, payload);
+        } else if (sb.length() == 0) {
+            return null;
+        }
+        return DecimalValue.finite((int) sign, new BigInteger(sb.toString()), exp);
+    }
+
+    /**
+     * Adds the conditions to the flags of the context and raises the first trapped signal, like
+     * {@code dec_addstatus} in CPython.
+     */
+    public static void addStatus(Node inliningTarget, PDecimalContext context, int status) {
+        if (status != 0) {
+            int trapped = context.addStatus(status);
+            if (trapped != 0) {
+                throw raiseSignal(inliningTarget, trapped);
+            }
+        }
+    }
+
+    /**
+     * Raises the exception for trapped conditions. The exception class is the first matching
+     * signal, the argument is the list of all matching conditions and signals.
+     */
+    @TruffleBoundary
+    static PException raiseSignal(Node inliningTarget, int trapped) {
+        PythonContext context = PythonContext.get(inliningTarget);
+        DecimalModuleState state = context.getDecimalModuleState();
+        Object type = null;
+        for (int i = 0; i < PDecimalContext.SIGNAL_FLAGS.length; i++) {
+            if ((trapped & PDecimalContext.SIGNAL_FLAGS[i]) != 0) {
+                type = state.getSignals()[i];
+                break;
+            }
+        }
+        ArrayBuilder<Object> signals = new ArrayBuilder<>();
+        for (int i = 0; i < PDecimalContext.CONDITION_FLAGS.length; i++) {
+            if ((trapped & PDecimalContext.CONDITION_FLAGS[i]) != 0) {
+                signals.add(state.getConditions()[i]);
+            }
+        }
+        for (int i = 1; i < PDecimalContext.SIGNAL_FLAGS.length; i++) {
+            if ((trapped & PDecimalContext.SIGNAL_FLAGS[i]) != 0) {
+                signals.add(state.getSignals()[i]);
+            }
+        }
+        Object exception = CallNode.getUncached().execute(type, context.factory().createList(signals.toArray(new Object[0])));
+        throw PRaiseNode.raiseExceptionObject(inliningTarget, exception);
+    }
+
+    /**
+     * Converts a string to the ASCII syntax understood by {@link DecimalArith#parse}. Unicode
+     * decimal digits are mapped to ASCII digits and whitespace to spaces. The constructor strips
+     * leading and trailing whitespace and ignores underscores, {@code create_decimal} does not.
+     * Returns {@code null} if the string contains other non-ASCII characters.
+     */
+    @TruffleBoundary
+    static String numericToAscii(String s, boolean stripWhitespace, boolean ignoreUnderscores) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length();) {
+            int ch = s.codePointAt(i);
+            i += Character.charCount(ch);
+            if (ignoreUnderscores && ch == '_') {
+                continue;
+            }
+            if (StringUtils.isSpace(ch)) {
+                sb.append(' ');
+            } else if (ch > 127 && Character.getType(ch) == Character.DECIMAL_DIGIT_NUMBER) {
+                sb.append((char) ('0' + Character.digit(ch, 10)));
+            } else if (ch > 0 && ch <= 127) {
+                sb.append((char) ch);
+            } else {
+                return null;
+            }
+        }
+        String result = sb.toString();
+        return stripWhitespace ? result.strip() : result;
+    }
+}
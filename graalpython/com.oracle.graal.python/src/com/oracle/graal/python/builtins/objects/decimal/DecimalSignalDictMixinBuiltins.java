@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.decimal;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___DELITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GETITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LEN__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NEW__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___SETITEM__;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.lib.PyObjectGetIter;
+import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * The base class of {@code decimal.SignalDict}. The module combines it with
+ * {@code collections.abc.MutableMapping} at import time, which provides the remaining mapping
+ * methods.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PDecimalSignalDictMixin)
+public final class DecimalSignalDictMixinBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DecimalSignalDictMixinBuiltinsFactory.getFactories();
+    }
+
+    static int getFlags(Node inliningTarget, PDecimalSignalDict self, PRaiseNode.Lazy raiseNode) {
+        if (!self.isBound()) {
+            throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.INVALID_SIGNAL_DICT);
+        }
+        return self.getFlags();
+    }
+
+    @Builtin(name = J___NEW__, minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    abstract static class NewNode extends PythonBuiltinNode {
+        @Specialization
+        static Object create(Object cls, @SuppressWarnings("unused") Object[] args, @SuppressWarnings("unused") PKeyword[] kwargs,
+                        @Cached PythonObjectFactory factory) {
+            return factory.createDecimalSignalDict(cls, null, false);
+        }
+    }
+
+    @Builtin(name = J___GETITEM__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GetItemNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static boolean getItem(PDecimalSignalDict self, Object key,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int flags = getFlags(inliningTarget, self, raiseNode);
+            return (flags & DecimalContextBuiltins.signalToFlag(inliningTarget, key)) != 0;
+        }
+    }
+
+    @Builtin(name = J___SETITEM__, minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class SetItemNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static Object setItem(VirtualFrame frame, PDecimalSignalDict self, Object key, Object value,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectIsTrueNode isTrueNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int flags = getFlags(inliningTarget, self, raiseNode);
+            int flag = DecimalContextBuiltins.signalToFlag(inliningTarget, key);
+            self.setFlags(isTrueNode.execute(frame, inliningTarget, value) ? flags | flag : flags & ~flag);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = J___DELITEM__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class DelItemNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object delItem(@SuppressWarnings("unused") PDecimalSignalDict self, @SuppressWarnings("unused") Object key,
+                        @Bind("this") Node inliningTarget) {
+            throw PRaiseNode.raiseUncached(inliningTarget, ValueError, ErrorMessages.SIGNAL_KEYS_CANNOT_BE_DELETED);
+        }
+    }
+
+    @Builtin(name = J___LEN__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class LenNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int len(@SuppressWarnings("unused") PDecimalSignalDict self) {
+            return PDecimalContext.SIGNAL_FLAGS.length;
+        }
+    }
+
+    @Builtin(name = J___ITER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object iter(VirtualFrame frame, @SuppressWarnings("unused") PDecimalSignalDict self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectGetIter getIter,
+                        @Cached PythonObjectFactory factory) {
+            Object[] signals = PythonContext.get(inliningTarget).getDecimalModuleState().getSignals();
+            return getIter.execute(frame, inliningTarget, factory.createTuple(signals));
+        }
+    }
+
+    @Builtin(name = "copy", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CopyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object copy(PDecimalSignalDict self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return toDict(inliningTarget, getFlags(inliningTarget, self, raiseNode));
+        }
+
+        @TruffleBoundary
+        private static PDict toDict(Node inliningTarget, int flags) {
+            PythonContext context = PythonContext.get(inliningTarget);
+            Object[] signals = context.getDecimalModuleState().getSignals();
+            PDict dict = context.factory().createDict();
+            for (int i = 0; i < signals.length; i++) {
+                dict.setItem(signals[i], (flags & PDecimalContext.SIGNAL_FLAGS[i]) != 0);
+            }
+            return dict;
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString repr(PDecimalSignalDict self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return repr(getFlags(inliningTarget, self, raiseNode));
+        }
+
+        @TruffleBoundary
+        private static TruffleString repr(int flags) {
+            StringBuilder sb = new StringBuilder("{");
+            for (int i = 0; i < PDecimalContext.SIGNAL_FLAGS.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append("<class 'decimal.").append(PDecimalContext.SIGNAL_NAMES[i]).append("'>:");
+                sb.append((flags & PDecimalContext.SIGNAL_FLAGS[i]) != 0 ? "True" : "False");
+            }
+            return toTruffleStringUncached(sb.append('}').toString());
+        }
+    }
+}
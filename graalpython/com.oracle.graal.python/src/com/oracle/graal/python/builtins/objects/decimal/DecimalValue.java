@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.decimal;
+
+import java.math.BigInteger;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.CompilerDirectives.ValueType;
+
+/**
+ * An immutable decimal number {@code (-1)**sign * coefficient * 10**exponent} as defined by the
+ * General Decimal Arithmetic Specification, or one of the special values infinity, quiet NaN and
+ * signaling NaN. For NaNs, the coefficient holds the diagnostic payload.
+ *
+ * The coefficient is kept in a {@code long} as long as it fits, which is the case for all values
+ * with at most 18 digits, and only falls back to a {@link BigInteger} for larger values. We do not
+ * use {@link java.math.BigDecimal} here, because it has no negative zero, no special values and
+ * its scale is limited to an {@code int}, while the exponents of the decimal module go up to
+ * {@code 10**18}.
+ */
+@ValueType
+public final class DecimalValue {
+    public static final int FINITE = 0;
+    public static final int INFINITE = 1;
+    public static final int QNAN = 2;
+    public static final int SNAN = 3;
+
+    static final long[] LONG_POW10 = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L,
+                    10000000000000L, 100000000000000L, 1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L};
+
+    public static final DecimalValue ZERO = new DecimalValue(0, FINITE, 0, 0, null);
+    public static final DecimalValue ONE = new DecimalValue(0, FINITE, 1, 0, null);
+    public static final DecimalValue NEGATIVE_ONE = new DecimalValue(1, FINITE, 1, 0, null);
+    public static final DecimalValue POSITIVE_INFINITY = new DecimalValue(0, INFINITE, 0, 0, null);
+    public static final DecimalValue NEGATIVE_INFINITY = new DecimalValue(1, INFINITE, 0, 0, null);
+    public static final DecimalValue NAN = new DecimalValue(0, QNAN, 0, 0, null);
+
+    private final int sign;
+    private final int kind;
+    private final long coefficient;
+    private final long exponent;
+    private final BigInteger bigCoefficient;
+
+    private DecimalValue(int sign, int kind, long coefficient, long exponent, BigInteger bigCoefficient) {
+        assert sign == 0 || sign == 1;
+        assert bigCoefficient == null ? coefficient >= 0 : bigCoefficient.bitLength() >= Long.SIZE;
+        this.sign = sign;
+        this.kind = kind;
+        this.coefficient = coefficient;
+        this.exponent = exponent;
+        this.bigCoefficient = bigCoefficient;
+    }
+
+    public static DecimalValue finite(int sign, long coefficient, long exponent) {
+        return new DecimalValue(sign, FINITE, coefficient, exponent, null);
+    }
+
+    public static DecimalValue finite(int sign, BigInteger coefficient, long exponent) {
+        return create(sign, FINITE, coefficient, exponent);
+    }
+
+    public static DecimalValue nan(int sign, boolean signaling, BigInteger payload) {
+        return create(sign, signaling ? SNAN : QNAN, payload, 0);
+    }
+
+    public static DecimalValue infinity(int sign) {
+        return sign == 0 ? POSITIVE_INFINITY : NEGATIVE_INFINITY;
+    }
+
+    public static DecimalValue fromLong(long value) {
+        if (value >= 0) {
+            return finite(0, value, 0);
+        } else if (value != Long.MIN_VALUE) {
+            return finite(1, -value, 0);
+        }
+        return fromBigInteger(BigInteger.valueOf(value));
+    }
+
+    @TruffleBoundary
+    public static DecimalValue fromBigInteger(BigInteger value) {
+        return create(value.signum() < 0 ? 1 : 0, FINITE, value.abs(), 0);
+    }
+
+    private static DecimalValue create(int sign, int kind, BigInteger coefficient, long exponent) {
+        if (coefficient.bitLength() < Long.SIZE) {
+            return new DecimalValue(sign, kind, coefficient.longValue(), exponent, null);
+        }
+        return new DecimalValue(sign, kind, 0, exponent, coefficient);
+    }
+
+    public int getSign() {
+        return sign;
+    }
+
+    public int getKind() {
+        return kind;
+    }
+
+    /**
+     * The exponent of a finite value; 0 for the special values.
+     */
+    public long getExponent() {
+        return exponent;
+    }
+
+    /**
+     * Whether the coefficient is stored in a {@code long}, see {@link #getSmallCoefficient()}.
+     */
+    public boolean isSmall() {
+        return bigCoefficient == null;
+    }
+
+    public long getSmallCoefficient() {
+        assert isSmall();
+        return coefficient;
+    }
+
+    public BigInteger getCoefficient() {
+        return bigCoefficient != null ? bigCoefficient : BigInteger.valueOf(coefficient);
+    }
+
+    public boolean isFinite() {
+        return kind == FINITE;
+    }
+
+    public boolean isSpecial() {
+        return kind != FINITE;
+    }
+
+    public boolean isInfinite() {
+        return kind == INFINITE;
+    }
+
+    public boolean isNaN() {
+        return kind >= QNAN;
+    }
+
+    public boolean isQNaN() {
+        return kind == QNAN;
+    }
+
+    public boolean isSNaN() {
+        return kind == SNAN;
+    }
+
+    /**
+     * Whether this is a finite zero. NaNs and infinities are not zero.
+     */
+    public boolean isZero() {
+        return kind == FINITE && bigCoefficient == null && coefficient == 0;
+    }
+
+    /**
+     * Whether the coefficient is zero, i.e., for NaNs whether there is no payload.
+     */
+    public boolean isCoefficientZero() {
+        return bigCoefficient == null && coefficient == 0;
+    }
+
+    /**
+     * The number of digits of the coefficient. Zero has one digit, except when it is the payload of
+     * a NaN, which has none.
+     */
+    public long digits() {
+        if (bigCoefficient != null) {
+            return digits(bigCoefficient);
+        }
+        if (coefficient == 0 && isNaN()) {
+            return 0;
+        }
+        return digits(coefficient);
+    }
+
+    /**
+     * The exponent of the most significant digit, or 0 for the special values.
+     */
+    public long adjusted() {
+        return kind == FINITE ? exponent + digits() - 1 : 0;
+    }
+
+    public DecimalValue withSign(int newSign) {
+        return newSign == sign ? this : new DecimalValue(newSign, kind, coefficient, exponent, bigCoefficient);
+    }
+
+    public DecimalValue negate() {
+        return withSign(sign ^ 1);
+    }
+
+    public DecimalValue toQuietNaN() {
+        assert isNaN();
+        return kind == QNAN ? this : new DecimalValue(sign, QNAN, coefficient, exponent, bigCoefficient);
+    }
+
+    public static int digits(long value) {
+        assert value >= 0;
+        int n = 1;
+        while (n < LONG_POW10.length && value >= LONG_POW10[n]) {
+            n++;
+        }
+        return n;
+    }
+
+    @TruffleBoundary
+    public static long digits(BigInteger value) {
+        assert value.signum() >= 0;
+        if (value.bitLength() < Long.SIZE) {
+            return digits(value.longValue());
+        }
+        // estimate from the bit length, the result is either exact or one too small
+        long estimate = (long) ((value.bitLength() - 1) * 0.30102999566398120) + 1;
+        return value.compareTo(DecimalArith.pow10(estimate)) >= 0 ? estimate + 1 : estimate;
+    }
+
+    /**
+     * The coefficient as string of digits, as used in the string representation.
+     */
+    @TruffleBoundary
+    public String coefficientString() {
+        return bigCoefficient != null ? bigCoefficient.toString() : Long.toString(coefficient);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.decimal;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * A {@code decimal.Context}. Flags and traps are bit sets of the {@code STATUS_*} conditions, which
+ * mirror the status bits of libmpdec.
+ */
+public final class PDecimalContext extends PythonBuiltinObject {
+    public static final int ROUND_UP = 0;
+    public static final int ROUND_DOWN = 1;
+    public static final int ROUND_CEILING = 2;
+    public static final int ROUND_FLOOR = 3;
+    public static final int ROUND_HALF_UP = 4;
+    public static final int ROUND_HALF_DOWN = 5;
+    public static final int ROUND_HALF_EVEN = 6;
+    public static final int ROUND_05UP = 7;
+    public static final String[] ROUNDING_NAMES = {"ROUND_UP", "ROUND_DOWN", "ROUND_CEILING", "ROUND_FLOOR", "ROUND_HALF_UP", "ROUND_HALF_DOWN", "ROUND_HALF_EVEN", "ROUND_05UP"};
+
+    public static final int STATUS_CLAMPED = 0x1;
+    public static final int STATUS_CONVERSION_SYNTAX = 0x2;
+    public static final int STATUS_DIVISION_BY_ZERO = 0x4;
+    public static final int STATUS_DIVISION_IMPOSSIBLE = 0x8;
+    public static final int STATUS_DIVISION_UNDEFINED = 0x10;
+    public static final int STATUS_INEXACT = 0x40;
+    public static final int STATUS_INVALID_CONTEXT = 0x80;
+    public static final int STATUS_INVALID_OPERATION = 0x100;
+    public static final int STATUS_FLOAT_OPERATION = 0x400;
+    public static final int STATUS_OVERFLOW = 0x800;
+    public static final int STATUS_ROUNDED = 0x1000;
+    public static final int STATUS_SUBNORMAL = 0x2000;
+    public static final int STATUS_UNDERFLOW = 0x4000;
+    /** All conditions that are reported as {@code InvalidOperation}. */
+    public static final int STATUS_IEEE_INVALID_OPERATION = STATUS_CONVERSION_SYNTAX | STATUS_DIVISION_IMPOSSIBLE | STATUS_DIVISION_UNDEFINED | STATUS_INVALID_CONTEXT |
+                    STATUS_INVALID_OPERATION;
+
+    /**
+     * The flags of the signals in the order of CPython's {@code signal_map}, which is also the
+     * order of {@link DecimalModuleState#getSignals()}.
+     */
+    public static final int[] SIGNAL_FLAGS = {STATUS_IEEE_INVALID_OPERATION, STATUS_FLOAT_OPERATION, STATUS_DIVISION_BY_ZERO, STATUS_OVERFLOW, STATUS_UNDERFLOW, STATUS_SUBNORMAL,
+                    STATUS_INEXACT, STATUS_ROUNDED, STATUS_CLAMPED};
+    public static final String[] SIGNAL_NAMES = {"InvalidOperation", "FloatOperation", "DivisionByZero", "Overflow", "Underflow", "Subnormal", "Inexact", "Rounded", "Clamped"};
+
+    /**
+     * The flags of the conditions in the order of CPython's {@code cond_map}, which is also the
+     * order of {@link DecimalModuleState#getConditions()}.
+     */
+    public static final int[] CONDITION_FLAGS = {STATUS_INVALID_OPERATION, STATUS_CONVERSION_SYNTAX, STATUS_DIVISION_IMPOSSIBLE, STATUS_DIVISION_UNDEFINED, STATUS_INVALID_CONTEXT};
+    public static final String[] CONDITION_NAMES = {"InvalidOperation", "ConversionSyntax", "DivisionImpossible", "DivisionUndefined", "InvalidContext"};
+
+    public static final long MAX_PREC = 999999999999999999L;
+    public static final long MAX_EMAX = 999999999999999999L;
+    public static final long MIN_EMIN = -999999999999999999L;
+    public static final long MIN_ETINY = MIN_EMIN - (MAX_PREC - 1);
+
+    private long prec;
+    private int rounding;
+    private long emin;
+    private long emax;
+    private int capitals;
+    private int clamp;
+    private int flags;
+    private int traps;
+
+    /** The {@code SignalDict} views of the flags and traps, created on first access. */
+    private PDecimalSignalDict flagsDict;
+    private PDecimalSignalDict trapsDict;
+
+    public PDecimalContext(Object cls, Shape instanceShape, long prec, int rounding, long emin, long emax, int capitals, int clamp, int flags, int traps) {
+        super(cls, instanceShape);
+        this.prec = prec;
+        this.rounding = rounding;
+        this.emin = emin;
+        this.emax = emax;
+        this.capitals = capitals;
+        this.clamp = clamp;
+        this.flags = flags;
+        this.traps = traps;
+    }
+
+    public long getPrec() {
+        return prec;
+    }
+
+    public void setPrec(long prec) {
+        this.prec = prec;
+    }
+
+    public int getRounding() {
+        return rounding;
+    }
+
+    public void setRounding(int rounding) {
+        this.rounding = rounding;
+    }
+
+    public long getEmin() {
+        return emin;
+    }
+
+    public void setEmin(long emin) {
+        this.emin = emin;
+    }
+
+    public long getEmax() {
+        return emax;
+    }
+
+    public void setEmax(long emax) {
+        this.emax = emax;
+    }
+
+    public int getCapitals() {
+        return capitals;
+    }
+
+    public void setCapitals(int capitals) {
+        this.capitals = capitals;
+    }
+
+    public int getClamp() {
+        return clamp;
+    }
+
+    public void setClamp(int clamp) {
+        this.clamp = clamp;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public void setFlags(int flags) {
+        this.flags = flags;
+    }
+
+    public int getTraps() {
+        return traps;
+    }
+
+    public void setTraps(int traps) {
+        this.traps = traps;
+    }
+
+    public long getEtiny() {
+        return emin - prec + 1;
+    }
+
+    public long getEtop() {
+        return emax - prec + 1;
+    }
+
+    /**
+     * Records the given conditions in the flags and returns those of them that are trapped. The
+     * caller must raise the corresponding exception if the result is not zero.
+     */
+    public int addStatus(int status) {
+        flags |= status;
+        return status & traps;
+    }
+
+    public PDecimalSignalDict getFlagsDict() {
+        return flagsDict;
+    }
+
+    public void setFlagsDict(PDecimalSignalDict flagsDict) {
+        this.flagsDict = flagsDict;
+    }
+
+    public PDecimalSignalDict getTrapsDict() {
+        return trapsDict;
+    }
+
+    public void setTrapsDict(PDecimalSignalDict trapsDict) {
+        this.trapsDict = trapsDict;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2021, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -40,27 +40,31 @@
  */
 package com.oracle.graal.python.builtins.objects.deque;
 
-import java.util.ArrayDeque;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.Shape;
 
 /**
- * A simple wrapper around Java's {@link ArrayDeque}.
+ * A deque backed by a circular array. The capacity is always a power of two so that physical
+ * indices can be computed with a mask. This gives O(1) access by index and at both ends, and
+ * {@link #rotate} only moves the elements between the old and the new head.
  */
 public final class PDeque extends PythonBuiltinObject {
-    final ArrayDeque<Object> data = createArrayDeque();
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Object[] elements = new Object[INITIAL_CAPACITY];
+    private int head;
+    private int size;
     private int maxLength = -1;
 
     /**
      * This is a modification counter and used to produce exceptions if the deque is modified during
-     * iteration. We need it because {@link ArrayDeque}'s iterators have a slightly different
-     * behavior. E.g. if you iterate the deque to the end and the last element comparison would
-     * modify the deque, then {@link ArrayDeque} doesn't complain while CPython's implementation
-     * still complains. The main difference is that CPython will always check if the deque was
-     * modifed right after it called out for {@code __eq__}.
+     * iteration. CPython will always check if the deque was modified right after it called out for
+     * {@code __eq__}, so we do the same instead of relying on fail-fast iterators.
      */
     private int state;
 
@@ -68,13 +72,8 @@ public final class PDeque extends PythonBuiltinObject {
         super(cls, instanceShape);
     }
 
-    @TruffleBoundary
-    private static ArrayDeque<Object> createArrayDeque() {
-        return new ArrayDeque<>();
-    }
-
     int getSize() {
-        return data.size();
+        return size;
     }
 
     int getMaxLength() {
@@ -85,114 +84,274 @@ public final class PDeque extends PythonBuiltinObject {
         this.maxLength = maxLength;
     }
 
+    private int physicalIndex(int idx) {
+        return (head + idx) & (elements.length - 1);
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            grow(minCapacity);
+        }
+    }
+
     @TruffleBoundary
+    private void grow(int minCapacity) {
+        if (minCapacity > (1 << 30)) {
+            throw new OutOfMemoryError();
+        }
+        int newCapacity = Integer.highestOneBit(minCapacity - 1) << 1;
+        elements = copyElements(newCapacity);
+        head = 0;
+    }
+
+    /**
+     * Copies the elements in logical order into a new array of the given length.
+     */
+    private Object[] copyElements(int length) {
+        Object[] result = new Object[length];
+        int firstPart = Math.min(size, elements.length - head);
+        PythonUtils.arraycopy(elements, head, result, 0, firstPart);
+        PythonUtils.arraycopy(elements, 0, result, firstPart, size - firstPart);
+        return result;
+    }
+
+    Object get(int idx) {
+        assert 0 <= idx && idx < size;
+        return elements[physicalIndex(idx)];
+    }
+
+    void set(int idx, Object value) {
+        assert 0 <= idx && idx < size;
+        elements[physicalIndex(idx)] = value;
+    }
+
     void append(Object value) {
-        assert maxLength == -1 || data.size() <= maxLength;
-        data.addLast(value);
-        if (maxLength != -1 && data.size() > maxLength) {
+        assert maxLength == -1 || size <= maxLength;
+        ensureCapacity(size + 1);
+        elements[physicalIndex(size)] = value;
+        size++;
+        if (maxLength != -1 && size > maxLength) {
             popLeft();
         } else {
             state++;
         }
-
-        assert maxLength == -1 || data.size() <= maxLength;
+        assert maxLength == -1 || size <= maxLength;
     }
 
-    @TruffleBoundary
     void appendLeft(Object value) {
-        assert maxLength == -1 || data.size() <= maxLength;
-        data.addFirst(value);
-        if (maxLength != -1 && data.size() > maxLength) {
+        assert maxLength == -1 || size <= maxLength;
+        ensureCapacity(size + 1);
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = value;
+        size++;
+        if (maxLength != -1 && size > maxLength) {
             pop();
         } else {
             state++;
         }
-        assert maxLength == -1 || data.size() <= maxLength;
+        assert maxLength == -1 || size <= maxLength;
     }
 
     /**
      * Returns {@code null} if empty.
      */
-    @TruffleBoundary
     Object pop() {
         state++;
-        return data.pollLast();
+        if (size == 0) {
+            return null;
+        }
+        size--;
+        int idx = physicalIndex(size);
+        Object value = elements[idx];
+        elements[idx] = null;
+        return value;
     }
 
     /**
      * Returns {@code null} if empty.
      */
-    @TruffleBoundary
     Object popLeft() {
         state++;
-        return data.pollFirst();
+        if (size == 0) {
+            return null;
+        }
+        Object value = elements[head];
+        elements[head] = null;
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
     }
 
     /**
      * Returns {@code null} if empty.
      */
-    @TruffleBoundary
     Object peekLeft() {
-        return data.peekFirst();
+        return size == 0 ? null : elements[head];
     }
 
-    @TruffleBoundary
     void addAll(Object[] c) {
+        ensureCapacity(maxLength == -1 ? size + c.length : Math.min(size + c.length, maxLength + 1));
         for (Object e : c) {
             append(e);
         }
     }
 
-    @TruffleBoundary
     void addAll(PDeque other) {
-        for (Object e : other.data) {
-            append(e);
+        addAll(other.toArray());
+    }
+
+    /**
+     * Returns the elements in order from left to right.
+     */
+    Object[] toArray() {
+        return copyElements(size);
+    }
+
+    /**
+     * Inserts {@code value} before the element at {@code idx} and moves the shorter side.
+     */
+    void insert(int idx, Object value) {
+        assert 0 <= idx && idx <= size;
+        if (idx < size - idx) {
+            appendLeft(value);
+            for (int i = 0; i < idx; i++) {
+                set(i, get(i + 1));
+            }
+            set(idx, value);
+        } else {
+            append(value);
+            for (int i = size - 1; i > idx; i--) {
+                set(i, get(i - 1));
+            }
+            set(idx, value);
+        }
+    }
+
+    /**
+     * Removes the element at {@code idx} and moves the shorter side to close the gap.
+     */
+    void remove(int idx) {
+        assert 0 <= idx && idx < size;
+        if (idx < size - idx) {
+            for (int i = idx; i > 0; i--) {
+                set(i, get(i - 1));
+            }
+            popLeft();
+        } else {
+            for (int i = idx; i < size - 1; i++) {
+                set(i, get(i + 1));
+            }
+            pop();
+        }
+    }
+
+    /**
+     * Rotates the deque {@code n} steps to the right, or to the left if {@code n} is negative.
+     */
+    void rotate(int n) {
+        if (size <= 1) {
+            return;
+        }
+        int k = n % size;
+        if (k < 0) {
+            k += size;
+        }
+        if (k == 0) {
+            return;
+        }
+        int mask = elements.length - 1;
+        if (size == elements.length) {
+            // the buffer is full, moving the head is enough
+            head = (head - k) & mask;
+        } else if (k <= size - k) {
+            // move the last k elements in front of the head
+            for (int i = 0; i < k; i++) {
+                int from = (head + size - 1) & mask;
+                head = (head - 1) & mask;
+                elements[head] = elements[from];
+                elements[from] = null;
+            }
+        } else {
+            // move the first size - k elements behind the tail
+            for (int i = 0; i < size - k; i++) {
+                elements[(head + size) & mask] = elements[head];
+                elements[head] = null;
+                head = (head + 1) & mask;
+            }
+        }
+        state++;
+    }
+
+    void reverse() {
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            int pi = physicalIndex(i);
+            int pj = physicalIndex(j);
+            Object tmp = elements[pi];
+            elements[pi] = elements[pj];
+            elements[pj] = tmp;
         }
     }
 
-    @TruffleBoundary
     public Iterator<Object> iterator() {
-        return data.iterator();
+        return new DequeIterator(this, false);
     }
 
-    @TruffleBoundary
     public Iterator<Object> reverseIterator() {
-        return data.descendingIterator();
+        return new DequeIterator(this, true);
     }
 
-    @TruffleBoundary
     public void clear() {
-        data.clear();
+        elements = new Object[INITIAL_CAPACITY];
+        head = 0;
+        size = 0;
         state++;
     }
 
-    @TruffleBoundary
+    /**
+     * Replaces the item at {@code idx} or removes it if {@code value} is {@code null}.
+     */
     public void setItem(int idx, Object value) {
-        assert 0 <= idx && idx < data.size();
-        int n = data.size() - idx - 1;
-        Object[] savedItems = new Object[n];
-        for (int i = 0; i < savedItems.length; i++) {
-            savedItems[i] = data.pollLast();
-        }
-        // this removes the item we want to replace
-        data.pollLast();
-        assert data.size() == idx;
+        assert 0 <= idx && idx < size;
         if (value != null) {
-            data.addLast(value);
+            set(idx, value);
         } else {
             // removal case: this alters the number of elements, so modify the state
-            state++;
+            remove(idx);
         }
-
-        // re-add saved items
-        for (int i = savedItems.length - 1; i >= 0; i--) {
-            data.addLast(savedItems[i]);
-        }
-        assert maxLength == -1 || data.size() <= maxLength;
-        assert value != null && data.size() == n + idx + 1 || value == null && data.size() == n + idx;
     }
 
     public int getState() {
         return state;
     }
+
+    /**
+     * Iterates by logical index. Concurrent modifications are detected by the callers using
+     * {@link #getState()}.
+     */
+    private static final class DequeIterator implements Iterator<Object> {
+        private final PDeque deque;
+        private final boolean reverse;
+        private int next;
+
+        DequeIterator(PDeque deque, boolean reverse) {
+            this.deque = deque;
+            this.reverse = reverse;
+            this.next = reverse ? deque.size - 1 : 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return reverse ? next >= 0 && next < deque.size : next < deque.size;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object value = deque.get(next);
+            next += reverse ? -1 : 1;
+            return value;
+        }
+    }
 }
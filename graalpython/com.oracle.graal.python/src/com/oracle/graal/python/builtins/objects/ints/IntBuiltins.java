@@ -1275,13 +1275,7 @@ public final class IntBuiltins extends PythonBuiltins {
         @Specialization(guards = {"right >= 0", "mod > 0"})
         @InliningCutoff
         static long doLLPosLPos(long left, long right, long mod) {
-            try {
-                return PInt.longValueExact(op(left, right, mod));
-            } catch (OverflowException e) {
-                // cannot happen since we took modulo long AND 'mod > 0'
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                throw new IllegalStateException();
-            }
+            return modPow(left, right, mod);
         }
 
         @Specialization(guards = "right >= 0", replaces = "doLLPosLPos")
@@ -1293,16 +1287,10 @@ public final class IntBuiltins extends PythonBuiltins {
             if (mod == 0) {
                 throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.POW_THIRD_ARG_CANNOT_BE_ZERO);
             }
-            try {
-                if (modNegativeProfile.profile(inliningTarget, mod < 0)) {
-                    return PInt.longValueExact(opNeg(left, right, mod));
-                }
-                return PInt.longValueExact(op(left, right, mod));
-            } catch (OverflowException e) {
-                // cannot happen since we took modulo long AND 'mod != 0'
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                throw new IllegalStateException();
+            if (modNegativeProfile.profile(inliningTarget, mod < 0)) {
+                return opNeg(left, right, mod);
             }
+            return modPow(left, right, mod);
         }
 
         // see cpython://Objects/longobject.c#long_pow
@@ -1378,27 +1366,102 @@ public final class IntBuiltins extends PythonBuiltins {
             }
         }
 
+        private static long opNeg(long left, long right, long mod) {
+            assert mod < 0;
+            if (mod == Long.MIN_VALUE) {
+                return opNegMinValue(left, right);
+            }
+            long pow = modPow(left, right, -mod);
+            return pow != 0 ? pow + mod : 0;
+        }
+
         @TruffleBoundary
-        private static BigInteger op(long left, long right, long mod) {
+        private static long opNegMinValue(long left, long right) {
+            BigInteger modPos = BigInteger.valueOf(Long.MIN_VALUE).negate();
+            BigInteger pow = BigInteger.valueOf(left).modPow(BigInteger.valueOf(right), modPos);
+            if (pow.signum() != 0) {
+                return pow.subtract(modPos).longValue();
+            }
+            return 0;
+        }
+
+        /**
+         * Computes {@code left ** right % mod} for {@code right >= 0} and {@code mod > 0} without
+         * allocating. Moduli that fit in 31 bits multiply directly, odd moduli use Montgomery
+         * multiplication and only wide even moduli go through {@link BigInteger#modPow}.
+         */
+        static long modPow(long left, long right, long mod) {
             assert mod > 0;
             assert right >= 0;
-            return BigInteger.valueOf(left).modPow(BigInteger.valueOf(right), BigInteger.valueOf(mod));
+            if (mod == 1) {
+                return 0;
+            }
+            long base = Math.floorMod(left, mod);
+            long exponent = right;
+            if (mod <= Integer.MAX_VALUE) {
+                long result = 1;
+                while (exponent != 0) {
+                    if ((exponent & 1) != 0) {
+                        result = result * base % mod;
+                    }
+                    exponent >>= 1;
+                    base = base * base % mod;
+                }
+                return result;
+            }
+            if ((mod & 1) == 0) {
+                return modPowBoundary(base, right, mod);
+            }
+            // Newton iteration for mod^-1 (mod 2^64), each step doubles the number of correct bits
+            long inv = mod;
+            for (int i = 0; i < 5; i++) {
+                inv *= 2 - mod * inv;
+            }
+            long negInv = -inv;
+            // 2^64 mod m and 2^128 mod m for converting into Montgomery form
+            long r = Long.remainderUnsigned(-1L, mod) + 1;
+            if (r == mod) {
+                r = 0;
+            }
+            long r2 = r;
+            for (int i = 0; i < Long.SIZE; i++) {
+                r2 = addMod(r2, r2, mod);
+            }
+            long result = r;
+            base = montgomeryMultiply(base, r2, mod, negInv);
+            while (exponent != 0) {
+                if ((exponent & 1) != 0) {
+                    result = montgomeryMultiply(result, base, mod, negInv);
+                }
+                exponent >>= 1;
+                base = montgomeryMultiply(base, base, mod, negInv);
+            }
+            return montgomeryMultiply(result, 1, mod, negInv);
+        }
+
+        private static long addMod(long a, long b, long mod) {
+            long sum = a + b;
+            return Long.compareUnsigned(sum, mod) >= 0 ? sum - mod : sum;
+        }
+
+        /**
+         * Montgomery reduction of {@code a * b * 2^-64 (mod mod)} for odd {@code 0 < mod < 2^63}
+         * and {@code 0 <= a, b < mod}.
+         */
+        private static long montgomeryMultiply(long a, long b, long mod, long negInv) {
+            long lo = a * b;
+            long hi = Math.multiplyHigh(a, b);
+            long m = lo * negInv;
+            // unsigned high word of m * mod, mod is positive so only m needs the sign correction
+            long mHi = Math.multiplyHigh(m, mod) + ((m >> 63) & mod);
+            // the low words sum to 0 (mod 2^64) and carry iff 'lo' is non-zero
+            long t = hi + mHi + (lo != 0 ? 1 : 0);
+            return Long.compareUnsigned(t, mod) >= 0 ? t - mod : t;
         }
 
         @TruffleBoundary
-        private static BigInteger opNeg(long left, long right, long mod) {
-            assert mod < 0;
-            BigInteger pow;
-            BigInteger modPos = BigInteger.valueOf(-mod);
-            if (right == 0) {
-                pow = BigInteger.ONE;
-            } else {
-                pow = BigInteger.valueOf(left).modPow(BigInteger.valueOf(right), modPos);
-            }
-            if (!BigInteger.ZERO.equals(pow)) {
-                return pow.subtract(modPos);
-            }
-            return pow;
+        private static long modPowBoundary(long base, long exponent, long mod) {
+            return BigInteger.valueOf(base).modPow(BigInteger.valueOf(exponent), BigInteger.valueOf(mod)).longValue();
         }
 
         @TruffleBoundary
@@ -373,6 +373,78 @@ public final class PInt extends PythonBuiltinObject {
         return BigInteger.valueOf(n).add(BigInteger.ONE.shiftLeft(Long.SIZE));
     }
 
+    /*
+     * The BigInteger(String, int) constructor consumes the digits in small groups with one
+     * multiply-add per group, which is quadratic in the number of digits. For long inputs we split
+     * the digits in two, convert both halves recursively and combine them with a single multiply by
+     * a cached power of the radix, so the work is dominated by the (Karatsuba/Toom-Cook)
+     * multiplication of BigInteger instead.
+     */
+    private static final int PARSE_LEAF_DIGITS = 1000;
+    private static final int PARSE_RECURSIVE_THRESHOLD = 4 * PARSE_LEAF_DIGITS;
+    private static final BigInteger[][] PARSE_POWERS = new BigInteger[Character.MAX_RADIX + 1][];
+
+    /**
+     * Equivalent to {@code new BigInteger(s, radix)}, but subquadratic for long inputs. Like the
+     * constructor, this accepts an optional leading sign and throws {@link NumberFormatException}
+     * for malformed input.
+     */
+    @TruffleBoundary
+    public static BigInteger parseBigInteger(String s, int radix) {
+        int begin = 0;
+        if (!s.isEmpty() && (s.charAt(0) == '-' || s.charAt(0) == '+')) {
+            begin = 1;
+        }
+        if (s.length() - begin <= PARSE_RECURSIVE_THRESHOLD) {
+            return new BigInteger(s, radix);
+        }
+        for (int i = begin; i < s.length(); i++) {
+            if (Character.digit(s.charAt(i), radix) < 0) {
+                throw new NumberFormatException("For input string: \"" + s + "\"");
+            }
+        }
+        BigInteger result = parseDigits(s, begin, s.length(), radix);
+        return s.charAt(0) == '-' ? result.negate() : result;
+    }
+
+    private static BigInteger parseDigits(String s, int begin, int end, int radix) {
+        int length = end - begin;
+        if (length <= 2 * PARSE_LEAF_DIGITS) {
+            return new BigInteger(s.substring(begin, end), radix);
+        }
+        // split off the largest 'PARSE_LEAF_DIGITS * 2^level' low digits so the powers are shared
+        int level = 0;
+        while ((PARSE_LEAF_DIGITS << (level + 1)) < length) {
+            level++;
+        }
+        int split = end - (PARSE_LEAF_DIGITS << level);
+        BigInteger high = parseDigits(s, begin, split, radix);
+        BigInteger low = parseDigits(s, split, end, radix);
+        return high.multiply(radixPower(radix, level)).add(low);
+    }
+
+    /**
+     * Returns {@code radix ** (PARSE_LEAF_DIGITS * 2 ** level)}.
+     */
+    private static BigInteger radixPower(int radix, int level) {
+        synchronized (PARSE_POWERS) {
+            BigInteger[] powers = PARSE_POWERS[radix];
+            if (powers == null || powers.length <= level) {
+                BigInteger[] newPowers = new BigInteger[level + 1];
+                int filled = 0;
+                if (powers != null) {
+                    System.arraycopy(powers, 0, newPowers, 0, powers.length);
+                    filled = powers.length;
+                }
+                for (int i = filled; i <= level; i++) {
+                    newPowers[i] = i == 0 ? BigInteger.valueOf(radix).pow(PARSE_LEAF_DIGITS) : newPowers[i - 1].multiply(newPowers[i - 1]);
+                }
+                PARSE_POWERS[radix] = powers = newPowers;
+            }
+            return powers[level];
+        }
+    }
+
     public double doubleValue() {
         return doubleValue(value);
     }
@@ -360,6 +360,20 @@ public final class PMemoryView extends PythonBuiltinObject {
         return bufferLib.getInternalByteArray(buffer);
     }
 
+    @ExportMessage
+    boolean hasNativePointer(
+                    @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
+        assert isAnyContiguous() && !isReleased();
+        return bufferLib.hasNativePointer(buffer);
+    }
+
+    @ExportMessage
+    long getNativePointer(
+                    @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
+        assert hasNativePointer(bufferLib);
+        return bufferLib.getNativePointer(buffer) + offset;
+    }
+
     @ExportMessage
     void readIntoByteArray(int srcOffset, byte[] dest, int destOffset, int length,
                     @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
@@ -273,6 +273,15 @@ public final class DirEntryBuiltins extends PythonBuiltins {
                         @Shared @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode,
                         @Shared @Cached PythonObjectFactory factory) {
             PTuple res;
+            if (!followSymlinks) {
+                // the lstat data may have been collected already while reading the directory
+                long[] rawStat = posixLib.dirEntryGetStat(PosixSupport.get(inliningTarget), self.dirEntryData);
+                if (rawStat != null) {
+                    res = PosixModuleBuiltins.createStatResult(inliningTarget, factory, positiveLongProfile, rawStat);
+                    self.setStatCache(false, res);
+                    return res;
+                }
+            }
             int dirFd = self.scandirPath instanceof PosixFd ? ((PosixFd) self.scandirPath).fd : AT_FDCWD.value;
             PosixPath posixPath = cachedPosixPathNode.execute(frame, inliningTarget, self);
             try {
@@ -323,8 +332,18 @@ public final class DirEntryBuiltins extends PythonBuiltins {
 
         abstract boolean execute(VirtualFrame frame, PDirEntry self, boolean followSymlinks);
 
-        @Specialization(guards = "followSymlinks")
-        boolean testModeUsingStat(VirtualFrame frame, PDirEntry self, boolean followSymlinks) {
+        @Specialization
+        boolean useTypeIfKnown(VirtualFrame frame, PDirEntry self, boolean followSymlinks,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib) {
+            int entryType = posixLib.dirEntryGetType(PosixSupport.get(this), self.dirEntryData);
+            // the type of a symlink says nothing about its target, which needs a stat call
+            if (entryType != DT_UNKNOWN.value && !(followSymlinks && entryType == DT_LNK.value)) {
+                return entryType == expectedDirEntryType;
+            }
+            return testModeUsingStat(frame, self, followSymlinks);
+        }
+
+        private boolean testModeUsingStat(VirtualFrame frame, PDirEntry self, boolean followSymlinks) {
             PTuple statResult = getStatHelperNode().execute(frame, self, followSymlinks, true);
             if (statResult == null) {
                 // file not found
@@ -335,16 +354,6 @@ public final class DirEntryBuiltins extends PythonBuiltins {
             return mode == expectedMode;
         }
 
-        @Specialization(guards = "!followSymlinks")
-        boolean useTypeIfKnown(VirtualFrame frame, PDirEntry self, @SuppressWarnings("unused") boolean followSymlinks,
-                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib) {
-            int entryType = posixLib.dirEntryGetType(PosixSupport.get(this), self.dirEntryData);
-            if (entryType != DT_UNKNOWN.value) {
-                return entryType == expectedDirEntryType;
-            }
-            return testModeUsingStat(frame, self, false);
-        }
-
         private StatHelperNode getStatHelperNode() {
             if (statHelperNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -54,6 +54,11 @@ public final class PScandirIterator extends PythonBuiltinObject {
 
     final PosixFileHandle path;
     final DirStreamRef ref;
+    // entries read ahead by readdirBatch that have not been returned by __next__ yet
+    Object[] batch;
+    int batchIndex;
+    // the error that stopped readdirBatch after the entries in batch, raised after them
+    PosixException batchError;
 
     public PScandirIterator(Object cls, Shape instanceShape, PythonContext context, Object dirStream, PosixFileHandle path, boolean needsRewind) {
         super(cls, instanceShape);
@@ -62,6 +62,7 @@ import com.oracle.graal.python.runtime.AsyncHandler.AsyncAction;
 import com.oracle.graal.python.runtime.PosixSupport;
 import com.oracle.graal.python.runtime.PosixSupportLibrary;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.ReaddirBatchResult;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.truffle.api.CallTarget;
@@ -107,6 +108,9 @@ public final class ScandirIteratorBuiltins extends PythonBuiltins {
     @Builtin(name = J___NEXT__, minNumOfPositionalArgs = 1)
     @GenerateNodeFactory
     abstract static class NextNode extends PythonUnaryBuiltinNode {
+        // entries read by a single call to the posix backend, amortizes the cost of the downcall
+        private static final int BATCH_SIZE = 64;
+
         @Specialization
         static PDirEntry next(VirtualFrame frame, PScandirIterator self,
                         @Bind("this") Node inliningTarget,
@@ -119,11 +123,24 @@ public final class ScandirIteratorBuiltins extends PythonBuiltins {
             }
             PosixSupport posixSupport = PosixSupport.get(inliningTarget);
             try {
-                Object dirEntryData = posixLib.readdir(posixSupport, self.ref.getReference());
-                if (dirEntryData == null) {
-                    self.ref.rewindAndClose(posixLib, posixSupport);
-                    throw raiseNode.get(inliningTarget).raiseStopIteration();
+                if (self.batch == null || self.batchIndex >= self.batch.length) {
+                    if (self.batchError != null) {
+                        // the error that ended the previous batch, raised once its entries are consumed
+                        PosixException e = self.batchError;
+                        self.batchError = null;
+                        throw e;
+                    }
+                    ReaddirBatchResult result = posixLib.readdirBatch(posixSupport, self.ref.getReference(), BATCH_SIZE);
+                    self.batch = result.entries;
+                    self.batchError = result.error;
+                    self.batchIndex = 0;
+                    if (self.batch.length == 0) {
+                        self.ref.rewindAndClose(posixLib, posixSupport);
+                        throw raiseNode.get(inliningTarget).raiseStopIteration();
+                    }
                 }
+                Object dirEntryData = self.batch[self.batchIndex];
+                self.batch[self.batchIndex++] = null;
                 return factory.createDirEntry(dirEntryData, self.path);
             } catch (PosixException e) {
                 self.ref.rewindAndClose(posixLib, posixSupport);
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.struct;
+
+import com.oracle.graal.python.builtins.PythonOS;
+
+/**
+ * An entry of the format tables of the {@code _struct} module, equivalent of CPython's
+ * {@code formatdef}. There is one table for the native mode ({@code '@'}, the default) and one for
+ * the standard modes ({@code '<'}, {@code '>'}, {@code '!'} and {@code '='}). The byte order is not
+ * part of the entry, it is decided by {@link PStruct.StructInfo}.
+ */
+public final class FormatDef {
+    static final int SIZEOF_LONG = PythonOS.getPythonOS() == PythonOS.PLATFORM_WIN32 ? 4 : 8;
+
+    private static final FormatDef[] NATIVE_TABLE = {
+                    new FormatDef('x', 1, 0),
+                    new FormatDef('b', 1, 0),
+                    new FormatDef('B', 1, 0),
+                    new FormatDef('c', 1, 0),
+                    new FormatDef('s', 1, 0),
+                    new FormatDef('p', 1, 0),
+                    new FormatDef('h', 2, 2),
+                    new FormatDef('H', 2, 2),
+                    new FormatDef('i', 4, 4),
+                    new FormatDef('I', 4, 4),
+                    new FormatDef('l', SIZEOF_LONG, SIZEOF_LONG),
+                    new FormatDef('L', SIZEOF_LONG, SIZEOF_LONG),
+                    new FormatDef('n', 8, 8),
+                    new FormatDef('N', 8, 8),
+                    new FormatDef('q', 8, 8),
+                    new FormatDef('Q', 8, 8),
+                    new FormatDef('?', 1, 1),
+                    new FormatDef('e', 2, 2),
+                    new FormatDef('f', 4, 4),
+                    new FormatDef('d', 8, 8),
+                    new FormatDef('P', 8, 8),
+    };
+
+    private static final FormatDef[] STANDARD_TABLE = {
+                    new FormatDef('x', 1, 0),
+                    new FormatDef('b', 1, 0),
+                    new FormatDef('B', 1, 0),
+                    new FormatDef('c', 1, 0),
+                    new FormatDef('s', 1, 0),
+                    new FormatDef('p', 1, 0),
+                    new FormatDef('h', 2, 0),
+                    new FormatDef('H', 2, 0),
+                    new FormatDef('i', 4, 0),
+                    new FormatDef('I', 4, 0),
+                    new FormatDef('l', 4, 0),
+                    new FormatDef('L', 4, 0),
+                    new FormatDef('q', 8, 0),
+                    new FormatDef('Q', 8, 0),
+                    new FormatDef('?', 1, 0),
+                    new FormatDef('e', 2, 0),
+                    new FormatDef('f', 4, 0),
+                    new FormatDef('d', 8, 0),
+    };
+
+    final char format;
+    final int size;
+    final int alignment;
+
+    private FormatDef(char format, int size, int alignment) {
+        this.format = format;
+        this.size = size;
+        this.alignment = alignment;
+    }
+
+    /**
+     * Looks up the entry for the given format character, or returns {@code null} if the character
+     * is not valid in the requested mode.
+     */
+    static FormatDef getEntry(char c, boolean nativeMode) {
+        for (FormatDef def : nativeMode ? NATIVE_TABLE : STANDARD_TABLE) {
+            if (def.format == c) {
+                return def;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Rounds {@code size} up to the alignment of this entry. Returns {@code -1} on overflow.
+     */
+    int align(int size) {
+        if (alignment != 0 && size > 0) {
+            int extra = (alignment - 1) - (size - 1) % alignment;
+            if (extra > Integer.MAX_VALUE - size) {
+                return -1;
+            }
+            return size + extra;
+        }
+        return size;
+    }
+
+    boolean isInteger() {
+        switch (format) {
+            case 'b':
+            case 'B':
+            case 'h':
+            case 'H':
+            case 'i':
+            case 'I':
+            case 'l':
+            case 'L':
+            case 'n':
+            case 'N':
+            case 'q':
+            case 'Q':
+            case 'P':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    boolean isUnsigned() {
+        switch (format) {
+            case 'B':
+            case 'H':
+            case 'I':
+            case 'L':
+            case 'N':
+            case 'Q':
+            case 'P':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    boolean isFloat() {
+        return format == 'e' || format == 'f' || format == 'd';
+    }
+
+    boolean isBool() {
+        return format == '?';
+    }
+
+    boolean isBytes() {
+        return format == 'c' || format == 's' || format == 'p';
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.struct;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.StructError;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.util.NumericSupport;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.strings.TruffleString;
+
+public final class PStruct extends PythonBuiltinObject {
+    private StructInfo structInfo;
+
+    public PStruct(Object cls, Shape instanceShape) {
+        super(cls, instanceShape);
+    }
+
+    public PStruct(Object cls, Shape instanceShape, StructInfo structInfo) {
+        super(cls, instanceShape);
+        this.structInfo = structInfo;
+    }
+
+    /**
+     * Returns the compiled format, or {@code null} if {@code __init__} was not called yet.
+     */
+    public StructInfo getStructInfo() {
+        return structInfo;
+    }
+
+    public void setStructInfo(StructInfo structInfo) {
+        this.structInfo = structInfo;
+    }
+
+    /**
+     * A compiled format string. Instances are immutable and do not reference any context-specific
+     * objects, so they can be cached in the AST and shared between {@link PStruct} objects.
+     */
+    public static final class StructInfo {
+        private final TruffleString format;
+        final FormatCode[] codes;
+        final int size;
+        final int len;
+        final boolean nativeMode;
+        /*
+         * Like CPython, formats in the platform's byte order use the native packing functions for
+         * the integer codes where the standard and the native size match, which shows in the
+         * error messages.
+         */
+        final boolean nativeIntegerPacking;
+        final NumericSupport numericSupport;
+
+        private StructInfo(TruffleString format, FormatCode[] codes, int size, int len, boolean nativeMode, boolean bigEndian) {
+            this.format = format;
+            this.codes = codes;
+            this.size = size;
+            this.len = len;
+            this.nativeMode = nativeMode;
+            this.nativeIntegerPacking = nativeMode || bigEndian == (ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN);
+            this.numericSupport = bigEndian ? NumericSupport.bigEndian() : NumericSupport.littleEndian();
+        }
+
+        public TruffleString getFormat() {
+            return format;
+        }
+
+        /**
+         * The size in bytes of the packed data.
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * The number of values consumed by {@code pack} and produced by {@code unpack}.
+         */
+        public int getLen() {
+            return len;
+        }
+
+        public int getCodesCount() {
+            return codes.length;
+        }
+
+        /**
+         * Compiles a format string. This is the equivalent of CPython's {@code prepare_s}.
+         */
+        @TruffleBoundary
+        public static StructInfo compile(Node raisingNode, byte[] format) {
+            for (byte b : format) {
+                if (b == 0) {
+                    throw PRaiseNode.raiseUncached(raisingNode, StructError, ErrorMessages.EMBEDDED_NULL_CHARACTER);
+                }
+            }
+            boolean nativeMode = false;
+            boolean bigEndian = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
+            int start = 1;
+            switch (format.length > 0 ? format[0] : 0) {
+                case '<':
+                    bigEndian = false;
+                    break;
+                case '>':
+                case '!':
+                    bigEndian = true;
+                    break;
+                case '=':
+                    break;
+                case '@':
+                    nativeMode = true;
+                    break;
+                default:
+                    nativeMode = true;
+                    start = 0;
+                    break;
+            }
+
+            ArrayList<FormatCode> codes = new ArrayList<>();
+            int size = 0;
+            int len = 0;
+            int i = start;
+            while (i < format.length) {
+                char c = (char) (format[i++] & 0xFF);
+                if (isSpace(c)) {
+                    continue;
+                }
+                int num = 1;
+                if ('0' <= c && c <= '9') {
+                    num = c - '0';
+                    while (i < format.length && '0' <= format[i] && format[i] <= '9') {
+                        int digit = format[i++] - '0';
+                        if (num > (Integer.MAX_VALUE - digit) / 10) {
+                            throw PRaiseNode.raiseUncached(raisingNode, StructError, ErrorMessages.STRUCT_SIZE_TOO_LONG);
+                        }
+                        num = num * 10 + digit;
+                    }
+                    if (i == format.length) {
+                        throw PRaiseNode.raiseUncached(raisingNode, StructError, ErrorMessages.STRUCT_REPEAT_COUNT_WITHOUT_FMT);
+                    }
+                    c = (char) (format[i++] & 0xFF);
+                }
+
+                FormatDef def = FormatDef.getEntry(c, nativeMode);
+                if (def == null) {
+                    throw PRaiseNode.raiseUncached(raisingNode, StructError, ErrorMessages.STRUCT_BAD_CHAR_IN_FMT);
+                }
+
+                size = def.align(size);
+                if (size == -1 || num > (Integer.MAX_VALUE - size) / def.size) {
+                    throw PRaiseNode.raiseUncached(raisingNode, StructError, ErrorMessages.STRUCT_SIZE_TOO_LONG);
+                }
+                if (c == 's' || c == 'p') {
+                    codes.add(new FormatCode(def, size, num, 1));
+                    len++;
+                } else if (c != 'x' && num != 0) {
+                    codes.add(new FormatCode(def, size, def.size, num));
+                    len += num;
+                }
+                size += num * def.size;
+            }
+            TruffleString formatString = toTruffleStringUncached(new String(format, StandardCharsets.ISO_8859_1));
+            return new StructInfo(formatString, codes.toArray(new FormatCode[0]), size, len, nativeMode, bigEndian);
+        }
+
+        private static boolean isSpace(char c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\u000b' || c == '\f';
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.struct;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.StructError;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___INIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___SIZEOF__;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.struct.PStruct.StructInfo;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.CreateUnpackIteratorNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.GetStructInfoNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.StructPackIntoNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.StructPackNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.StructUnpackFromNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.StructUnpackNode;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.IndirectCallData;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.Node;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PStruct)
+public final class StructBuiltins extends PythonBuiltins {
+
+    // CPython: sizeof(PyStructObject) and sizeof(formatcode)
+    private static final int STRUCT_BASIC_SIZE = 56;
+    private static final int FORMAT_CODE_SIZE = 32;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return StructBuiltinsFactory.getFactories();
+    }
+
+    static StructInfo getInfo(Node inliningTarget, PStruct self, PRaiseNode.Lazy raiseNode) {
+        StructInfo info = self.getStructInfo();
+        if (info == null) {
+            throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_NOT_INITIALIZED);
+        }
+        return info;
+    }
+
+    @Builtin(name = J___INIT__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "format"})
+    @GenerateNodeFactory
+    public abstract static class StructInitNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PNone init(VirtualFrame frame, PStruct self, Object format,
+                        @Bind("this") Node inliningTarget,
+                        @Cached GetStructInfoNode getStructInfoNode) {
+            self.setStructInfo(getStructInfoNode.execute(frame, inliningTarget, format));
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "pack", minNumOfPositionalArgs = 1, takesVarArgs = true, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    public abstract static class StructPackBuiltinNode extends PythonBuiltinNode {
+        @Specialization
+        static PBytes pack(VirtualFrame frame, PStruct self, Object[] args,
+                        @Bind("this") Node inliningTarget,
+                        @Cached StructPackNode packNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return packNode.execute(frame, inliningTarget, getInfo(inliningTarget, self, raiseNode), args);
+        }
+    }
+
+    @Builtin(name = "pack_into", minNumOfPositionalArgs = 1, takesVarArgs = true, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    public abstract static class StructPackIntoBuiltinNode extends PythonBuiltinNode {
+        @Specialization
+        static PNone packInto(VirtualFrame frame, PStruct self, Object[] args,
+                        @Bind("this") Node inliningTarget,
+                        @Cached("createFor(this)") IndirectCallData indirectCallData,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary acquireLib,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @Cached StructPackIntoNode packIntoNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            StructInfo info = getInfo(inliningTarget, self, raiseNode);
+            StructNodes.checkPackIntoArgs(inliningTarget, info, args, raiseNode);
+            Object buffer = acquireLib.acquireWritableWithTypeError(args[0], "pack_into", frame, indirectCallData);
+            try {
+                packIntoNode.execute(frame, inliningTarget, info, buffer, args);
+            } finally {
+                bufferLib.release(buffer, frame, indirectCallData);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "unpack", minNumOfPositionalArgs = 2, parameterNames = {"$self", "buffer"})
+    @ArgumentClinic(name = "buffer", conversion = ClinicConversion.ReadableBuffer)
+    @GenerateNodeFactory
+    public abstract static class StructUnpackBuiltinNode extends PythonBinaryClinicBuiltinNode {
+        @Specialization
+        static PTuple unpack(VirtualFrame frame, PStruct self, Object buffer,
+                        @Bind("this") Node inliningTarget,
+                        @Cached("createFor(this)") IndirectCallData indirectCallData,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @Cached StructUnpackNode unpackNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            try {
+                return unpackNode.execute(inliningTarget, getInfo(inliningTarget, self, raiseNode), buffer);
+            } finally {
+                bufferLib.release(buffer, frame, indirectCallData);
+            }
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return StructBuiltinsClinicProviders.StructUnpackBuiltinNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "unpack_from", minNumOfPositionalArgs = 2, parameterNames = {"$self", "buffer", "offset"})
+    @ArgumentClinic(name = "buffer", conversion = ClinicConversion.ReadableBuffer)
+    @ArgumentClinic(name = "offset", conversion = ClinicConversion.Index, defaultValue = "0")
+    @GenerateNodeFactory
+    public abstract static class StructUnpackFromBuiltinNode extends PythonTernaryClinicBuiltinNode {
+        @Specialization
+        static PTuple unpackFrom(VirtualFrame frame, PStruct self, Object buffer, int offset,
+                        @Bind("this") Node inliningTarget,
+                        @Cached("createFor(this)") IndirectCallData indirectCallData,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @Cached StructUnpackFromNode unpackFromNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            try {
+                return unpackFromNode.execute(inliningTarget, getInfo(inliningTarget, self, raiseNode), buffer, offset);
+            } finally {
+                bufferLib.release(buffer, frame, indirectCallData);
+            }
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return StructBuiltinsClinicProviders.StructUnpackFromBuiltinNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "iter_unpack", minNumOfPositionalArgs = 2, parameterNames = {"$self", "buffer"})
+    @GenerateNodeFactory
+    public abstract static class StructIterUnpackBuiltinNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PStructUnpackIterator iterUnpack(VirtualFrame frame, PStruct self, Object buffer,
+                        @Bind("this") Node inliningTarget,
+                        @Cached("createFor(this)") IndirectCallData indirectCallData,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary acquireLib,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @Cached CreateUnpackIteratorNode createIteratorNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            StructInfo info = getInfo(inliningTarget, self, raiseNode);
+            if (info.getSize() == 0) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_ITER_UNPACK_ZERO_LENGTH);
+            }
+            Object acquired = acquireLib.acquireReadonly(buffer, frame, indirectCallData);
+            try {
+                return createIteratorNode.execute(inliningTarget, self, acquired);
+            } catch (PException e) {
+                bufferLib.release(acquired, frame, indirectCallData);
+                throw e;
+            }
+        }
+    }
+
+    @Builtin(name = "format", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class StructFormatNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object format(PStruct self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return getInfo(inliningTarget, self, raiseNode).getFormat();
+        }
+    }
+
+    @Builtin(name = "size", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class StructSizeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int size(PStruct self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return getInfo(inliningTarget, self, raiseNode).getSize();
+        }
+    }
+
+    @Builtin(name = J___SIZEOF__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class StructSizeOfNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long sizeof(PStruct self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            StructInfo info = getInfo(inliningTarget, self, raiseNode);
+            return STRUCT_BASIC_SIZE + (long) FORMAT_CODE_SIZE * (info.getCodesCount() + 1);
+        }
+    }
+}
@@ -0,0 +1,608 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.struct;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.IndexError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OverflowError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.StructError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_ASCII;
+import static com.oracle.graal.python.nodes.StringLiterals.T_STRICT;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import com.oracle.graal.python.builtins.modules.StructModuleBuiltins;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.struct.PStruct.StructInfo;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.lib.PyBytesCheckNode;
+import com.oracle.graal.python.lib.PyFloatAsDoubleNode;
+import com.oracle.graal.python.lib.PyIndexCheckNode;
+import com.oracle.graal.python.lib.PyLongCheckNode;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.lib.PyNumberIndexNode;
+import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.lib.PyUnicodeAsEncodedString;
+import com.oracle.graal.python.lib.PyUnicodeCheckNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.util.CastToJavaBigIntegerNode;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.OverflowException;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateCached;
+import com.oracle.truffle.api.dsl.GenerateInline;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.InlinedConditionProfile;
+import com.oracle.truffle.api.strings.TruffleString;
+
+public abstract class StructNodes {
+
+    /**
+     * Returns the compiled {@link StructInfo} for a {@code str} or {@code bytes} format. Constant
+     * ASCII format strings are compiled once and cached in the AST, all other formats go through
+     * the bounded per-context cache of the {@code _struct} module.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @ImportStatic(PGuards.class)
+    public abstract static class GetStructInfoNode extends Node {
+        public abstract StructInfo execute(VirtualFrame frame, Node inliningTarget, Object format);
+
+        @Specialization(guards = {"isAscii(format, getCodeRangeNode)", "equalNode.execute(format, cachedFormat, TS_ENCODING)"}, limit = "3")
+        static StructInfo doCached(@SuppressWarnings("unused") TruffleString format,
+                        @SuppressWarnings("unused") @Cached(inline = false) TruffleString.GetCodeRangeNode getCodeRangeNode,
+                        @SuppressWarnings("unused") @Cached("format") TruffleString cachedFormat,
+                        @SuppressWarnings("unused") @Cached(inline = false) TruffleString.EqualNode equalNode,
+                        @Cached("compileAscii(format)") StructInfo structInfo) {
+            return structInfo;
+        }
+
+        @Specialization(replaces = "doCached")
+        static StructInfo doGeneric(VirtualFrame frame, Node inliningTarget, Object format,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached PyBytesCheckNode bytesCheckNode,
+                        @Cached CastToTruffleStringNode castToStringNode,
+                        @Cached PyUnicodeAsEncodedString asEncodedStringNode,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (unicodeCheckNode.execute(inliningTarget, format)) {
+                TruffleString key = castToStringNode.execute(inliningTarget, format);
+                StructInfo structInfo = StructModuleBuiltins.lookupCachedStructInfo(inliningTarget, key);
+                if (structInfo == null) {
+                    Object bytes = asEncodedStringNode.execute(frame, inliningTarget, key, T_ASCII, T_STRICT);
+                    structInfo = StructModuleBuiltins.compileAndCache(inliningTarget, key, bufferLib.getCopiedByteArray(bytes));
+                }
+                return structInfo;
+            } else if (bytesCheckNode.execute(inliningTarget, format)) {
+                byte[] bytes = bufferLib.getCopiedByteArray(format);
+                StructInfo structInfo = StructModuleBuiltins.lookupCachedStructInfo(inliningTarget, bytesKey(bytes));
+                if (structInfo == null) {
+                    structInfo = StructModuleBuiltins.compileAndCache(inliningTarget, bytesKey(bytes), bytes);
+                }
+                return structInfo;
+            }
+            throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.STRUCT_ARG_MUST_BE_STR_OR_BYTES, format);
+        }
+
+        @TruffleBoundary
+        static StructInfo compileAscii(TruffleString format) {
+            return StructInfo.compile(null, format.toJavaStringUncached().getBytes(StandardCharsets.US_ASCII));
+        }
+
+        @TruffleBoundary
+        private static TruffleString bytesKey(byte[] bytes) {
+            return PythonUtils.toTruffleStringUncached(new String(bytes, StandardCharsets.ISO_8859_1));
+        }
+    }
+
+    /**
+     * Converts an exact Python int to a Java long. If {@code unsigned} is set, values in the range
+     * {@code [0, 2**64)} are accepted and returned in two's complement, otherwise the value must
+     * fit into a signed long.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class GetLongNode extends Node {
+        abstract long execute(Node inliningTarget, Object value, boolean unsigned) throws OverflowException;
+
+        @Specialization
+        static long doBoolean(boolean value, @SuppressWarnings("unused") boolean unsigned) {
+            return value ? 1 : 0;
+        }
+
+        @Specialization
+        static long doInt(int value, boolean unsigned) throws OverflowException {
+            if (unsigned && value < 0) {
+                throw OverflowException.INSTANCE;
+            }
+            return value;
+        }
+
+        @Specialization
+        static long doLong(long value, boolean unsigned) throws OverflowException {
+            if (unsigned && value < 0) {
+                throw OverflowException.INSTANCE;
+            }
+            return value;
+        }
+
+        @Specialization
+        static long doPInt(PInt value, boolean unsigned) throws OverflowException {
+            return fromBigInteger(value.getValue(), unsigned);
+        }
+
+        @Fallback
+        static long doOther(Node inliningTarget, Object value, boolean unsigned,
+                        @Cached CastToJavaBigIntegerNode castToBigIntegerNode) throws OverflowException {
+            return fromBigInteger(castToBigIntegerNode.execute(inliningTarget, value), unsigned);
+        }
+
+        @TruffleBoundary
+        private static long fromBigInteger(BigInteger value, boolean unsigned) throws OverflowException {
+            if (unsigned ? value.signum() < 0 || value.bitLength() > 64 : value.bitLength() > 63) {
+                throw OverflowException.INSTANCE;
+            }
+            return value.longValue();
+        }
+    }
+
+    /**
+     * Packs a single value according to a {@link FormatCode} into a byte array. This is the
+     * equivalent of the {@code np_*}, {@code bp_*} and {@code lp_*} functions in CPython.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    public abstract static class PackValueNode extends Node {
+        public abstract void execute(VirtualFrame frame, Node inliningTarget, StructInfo info, FormatCode code, Object value, byte[] buffer, int offset);
+
+        @Specialization(guards = "code.isInteger()")
+        static void packInteger(VirtualFrame frame, Node inliningTarget, StructInfo info, FormatCode code, Object value, byte[] buffer, int offset,
+                        @Cached PyLongCheckNode longCheckNode,
+                        @Cached PyIndexCheckNode indexCheckNode,
+                        @Cached PyNumberIndexNode indexNode,
+                        @Cached GetLongNode getLongNode,
+                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
+            if (!longCheckNode.execute(inliningTarget, value) && !indexCheckNode.execute(inliningTarget, value)) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_REQUIRED_ARG_NOT_AN_INTEGER);
+            }
+            Object index = indexNode.execute(frame, inliningTarget, value);
+            char format = code.getFormat();
+            long x;
+            try {
+                if (format == 'P') {
+                    // like PyLong_AsVoidPtr, accept both the signed and the unsigned range
+                    try {
+                        x = getLongNode.execute(inliningTarget, index, false);
+                    } catch (OverflowException e) {
+                        x = getLongNode.execute(inliningTarget, index, true);
+                    }
+                } else {
+                    // 'B' and native 'H' are converted as signed and range checked afterwards
+                    boolean unsigned = code.def.isUnsigned() && code.size > 1 && !(info.nativeIntegerPacking && format == 'H');
+                    x = getLongNode.execute(inliningTarget, index, unsigned);
+                }
+            } catch (OverflowException e) {
+                boolean asByteArray = format == 'P' || (!info.nativeIntegerPacking && (format == 'q' || format == 'Q'));
+                throw raiseNode.get(inliningTarget).raise(StructError, asByteArray ? ErrorMessages.STRUCT_INT_TOO_LARGE_TO_CONVERT : ErrorMessages.STRUCT_ARG_OUT_OF_RANGE);
+            }
+            if (code.size < 8) {
+                checkRange(inliningTarget, info, code, x, raiseNode);
+            }
+            info.numericSupport.putLong(buffer, offset, x, code.size);
+        }
+
+        private static void checkRange(Node inliningTarget, StructInfo info, FormatCode code, long x, PRaiseNode.Lazy raiseNode) {
+            boolean unsigned = code.def.isUnsigned();
+            int bits = code.size * 8;
+            long max = unsigned ? (1L << bits) - 1 : (1L << (bits - 1)) - 1;
+            long min = unsigned ? 0 : -max - 1;
+            if (x >= min && x <= max) {
+                return;
+            }
+            char format = code.getFormat();
+            switch (format) {
+                case 'b':
+                    throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_BYTE_FMT_REQUIRES);
+                case 'B':
+                    throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_UBYTE_FMT_REQUIRES);
+                case 'h':
+                    if (info.nativeIntegerPacking) {
+                        throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_SHORT_FMT_REQUIRES);
+                    }
+                    break;
+                case 'H':
+                    if (info.nativeIntegerPacking) {
+                        throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_USHORT_FMT_REQUIRES);
+                    }
+                    break;
+                case 'l':
+                case 'L':
+                    if (info.nativeIntegerPacking && FormatDef.SIZEOF_LONG == 4) {
+                        // 4-byte C long (Windows), CPython reports an overflow of C long
+                        throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_ARG_OUT_OF_RANGE);
+                    }
+                    break;
+            }
+            if (unsigned) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_FMT_REQUIRES_0_LE_NUMBER_LE_D, format, max);
+            } else {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_FMT_REQUIRES_D_LE_NUMBER_LE_D, format, min, max);
+            }
+        }
+
+        @Specialization(guards = "code.isFloat()")
+        static void packFloat(VirtualFrame frame, Node inliningTarget, StructInfo info, FormatCode code, Object value, byte[] buffer, int offset,
+                        @Cached PyFloatAsDoubleNode asDoubleNode,
+                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
+            double x;
+            try {
+                x = asDoubleNode.execute(frame, inliningTarget, value);
+            } catch (PException e) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_REQUIRED_ARG_NOT_A_FLOAT);
+            }
+            switch (code.getFormat()) {
+                case 'e':
+                    info.numericSupport.putHalfFloat(buffer, offset, x, inliningTarget);
+                    break;
+                case 'f':
+                    float f = (float) x;
+                    if (!info.nativeMode && Float.isInfinite(f) && !Double.isInfinite(x)) {
+                        throw raiseNode.get(inliningTarget).raise(OverflowError, ErrorMessages.FLOAT_TO_LARGE_TO_PACK_WITH_S_FMT, "f");
+                    }
+                    info.numericSupport.putFloat(buffer, offset, f);
+                    break;
+                default:
+                    info.numericSupport.putDouble(buffer, offset, x);
+                    break;
+            }
+        }
+
+        @Specialization(guards = "code.isBool()")
+        static void packBool(VirtualFrame frame, Node inliningTarget, @SuppressWarnings("unused") StructInfo info, @SuppressWarnings("unused") FormatCode code, Object value, byte[] buffer,
+                        int offset,
+                        @Cached PyObjectIsTrueNode isTrueNode) {
+            buffer[offset] = isTrueNode.execute(frame, inliningTarget, value) ? (byte) 1 : (byte) 0;
+        }
+
+        @Specialization(guards = "code.isBytes()")
+        static void packBytes(Node inliningTarget, @SuppressWarnings("unused") StructInfo info, FormatCode code, Object value, byte[] buffer, int offset,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
+            char format = code.getFormat();
+            if (format == 'c') {
+                if (!(value instanceof PBytes) || bufferLib.getBufferLength(value) != 1) {
+                    throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_CHAR_FMT_REQUIRES);
+                }
+                buffer[offset] = bufferLib.readByte(value, 0);
+                return;
+            }
+            if (!(value instanceof PBytesLike)) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_ARG_FOR_C_MUST_BE_BYTES, format);
+            }
+            int n = bufferLib.getBufferLength(value);
+            if (format == 's') {
+                bufferLib.readIntoByteArray(value, 0, buffer, offset, Math.min(n, code.size));
+            } else if (code.size > 0) {
+                // Pascal string: a length byte followed by at most size - 1 bytes of data
+                n = Math.min(n, code.size - 1);
+                bufferLib.readIntoByteArray(value, 0, buffer, offset + 1, n);
+                buffer[offset] = (byte) Math.min(n, 255);
+            }
+        }
+    }
+
+    /**
+     * Unpacks a single value according to a {@link FormatCode} from a byte array.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    public abstract static class UnpackValueNode extends Node {
+        public abstract Object execute(Node inliningTarget, StructInfo info, FormatCode code, byte[] buffer, int offset);
+
+        @Specialization(guards = "code.isInteger()")
+        static Object unpackInteger(Node inliningTarget, StructInfo info, FormatCode code, byte[] buffer, int offset,
+                        @Cached InlinedConditionProfile needsPIntProfile,
+                        @Shared @Cached(inline = false) PythonObjectFactory factory) {
+            if (code.def.isUnsigned()) {
+                long x = info.numericSupport.getLongUnsigned(buffer, offset, code.size);
+                if (needsPIntProfile.profile(inliningTarget, x < 0)) {
+                    return factory.createInt(PInt.longToUnsignedBigInteger(x));
+                }
+                return code.size < 4 ? (Object) (int) x : (Object) x;
+            }
+            long x = info.numericSupport.getLong(buffer, offset, code.size);
+            return code.size <= 4 ? (Object) (int) x : (Object) x;
+        }
+
+        @Specialization(guards = "code.isFloat()")
+        static double unpackFloat(StructInfo info, FormatCode code, byte[] buffer, int offset) {
+            return info.numericSupport.getDouble(buffer, offset, code.size);
+        }
+
+        @Specialization(guards = "code.isBool()")
+        static boolean unpackBool(@SuppressWarnings("unused") StructInfo info, @SuppressWarnings("unused") FormatCode code, byte[] buffer, int offset) {
+            return buffer[offset] != 0;
+        }
+
+        @Specialization(guards = "code.isBytes()")
+        static PBytes unpackBytes(@SuppressWarnings("unused") StructInfo info, FormatCode code, byte[] buffer, int offset,
+                        @Shared @Cached(inline = false) PythonObjectFactory factory) {
+            switch (code.getFormat()) {
+                case 'c':
+                    return factory.createBytes(new byte[]{buffer[offset]});
+                case 's':
+                    return factory.createBytes(PythonUtils.arrayCopyOfRange(buffer, offset, offset + code.size));
+                default:
+                    if (code.size == 0) {
+                        return factory.createBytes(PythonUtils.EMPTY_BYTE_ARRAY);
+                    }
+                    int n = Math.min(buffer[offset] & 0xFF, code.size - 1);
+                    return factory.createBytes(PythonUtils.arrayCopyOfRange(buffer, offset + 1, offset + 1 + n));
+            }
+        }
+    }
+
+    /**
+     * Packs {@code info.getLen()} values starting at {@code args[argsOffset]} into {@code buffer}.
+     * The caller is responsible for checking the number of arguments and the buffer size. The
+     * target region is expected to be zeroed, padding bytes are not written.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    public abstract static class PackValuesNode extends Node {
+        public abstract void execute(VirtualFrame frame, Node inliningTarget, StructInfo info, Object[] args, int argsOffset, byte[] buffer, int offset);
+
+        @Specialization
+        static void pack(VirtualFrame frame, Node inliningTarget, StructInfo info, Object[] args, int argsOffset, byte[] buffer, int offset,
+                        @Cached PackValueNode packValueNode) {
+            int i = argsOffset;
+            for (FormatCode code : info.codes) {
+                int pos = offset + code.offset;
+                for (int j = 0; j < code.repeat; j++) {
+                    packValueNode.execute(frame, inliningTarget, info, code, args[i++], buffer, pos);
+                    pos += code.size;
+                }
+            }
+        }
+    }
+
+    /**
+     * Unpacks the values of a struct located at {@code offset} in a buffer object into a tuple. The
+     * caller is responsible for the bounds checks. Buffers backed by a byte array are read in
+     * place, other buffers are read into a temporary array of the struct's size.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    public abstract static class UnpackValuesNode extends Node {
+        public abstract PTuple execute(Node inliningTarget, StructInfo info, Object buffer, int offset);
+
+        @Specialization(limit = "3")
+        static PTuple unpack(Node inliningTarget, StructInfo info, Object buffer, int offset,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached InlinedConditionProfile internalArrayProfile,
+                        @Cached UnpackValueNode unpackValueNode,
+                        @Cached(inline = false) PythonObjectFactory factory) {
+            byte[] bytes;
+            int start;
+            if (internalArrayProfile.profile(inliningTarget, bufferLib.hasInternalByteArray(buffer))) {
+                bytes = bufferLib.getInternalByteArray(buffer);
+                start = offset;
+            } else {
+                bytes = bufferLib.getCopyOfRange(buffer, offset, offset + info.size);
+                start = 0;
+            }
+            Object[] values = new Object[info.len];
+            int i = 0;
+            for (FormatCode code : info.codes) {
+                int pos = start + code.offset;
+                for (int j = 0; j < code.repeat; j++) {
+                    values[i++] = unpackValueNode.execute(inliningTarget, info, code, bytes, pos);
+                    pos += code.size;
+                }
+            }
+            return factory.createTuple(values);
+        }
+    }
+
+    /**
+     * Implements {@code pack(v1, v2, ...)}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    public abstract static class StructPackNode extends Node {
+        public abstract PBytes execute(VirtualFrame frame, Node inliningTarget, StructInfo info, Object[] args);
+
+        @Specialization
+        static PBytes pack(VirtualFrame frame, Node inliningTarget, StructInfo info, Object[] args,
+                        @Cached PackValuesNode packValuesNode,
+                        @Cached(inline = false) PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (args.length != info.len) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_PACK_EXPECTED_N_ITEMS_GOT_K, info.len, args.length);
+            }
+            byte[] bytes = new byte[info.size];
+            packValuesNode.execute(frame, inliningTarget, info, args, 0, bytes, 0);
+            return factory.createBytes(bytes);
+        }
+    }
+
+    /**
+     * Checks the arguments of {@code pack_into(buffer, offset, v1, v2, ...)} before the buffer is
+     * acquired.
+     */
+    public static void checkPackIntoArgs(Node inliningTarget, StructInfo info, Object[] args, PRaiseNode.Lazy raiseNode) {
+        if (args.length != info.len + 2) {
+            if (args.length == 0) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_PACK_INTO_EXPECTED_BUFFER);
+            } else if (args.length == 1) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_PACK_INTO_EXPECTED_OFFSET);
+            }
+            throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_PACK_INTO_EXPECTED_N_ITEMS_GOT_K, info.len, args.length - 2);
+        }
+    }
+
+    /**
+     * Implements {@code pack_into(buffer, offset, v1, v2, ...)} for an already acquired writable
+     * buffer. The values are packed into a temporary array which is then written to the buffer in
+     * one bulk operation.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    public abstract static class StructPackIntoNode extends Node {
+        public abstract void execute(VirtualFrame frame, Node inliningTarget, StructInfo info, Object buffer, Object[] args);
+
+        @Specialization(limit = "3")
+        static void packInto(VirtualFrame frame, Node inliningTarget, StructInfo info, Object buffer, Object[] args,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached PackValuesNode packValuesNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int offset = asSizeNode.executeExact(frame, inliningTarget, args[1], IndexError);
+            int bufferLength = bufferLib.getBufferLength(buffer);
+            if (offset < 0) {
+                if (offset + info.size > 0) {
+                    throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_NO_SPACE_TO_PACK_N_BYTES, info.size, offset);
+                }
+                if (offset + bufferLength < 0) {
+                    throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_OFFSET_OUT_OF_RANGE, offset, bufferLength);
+                }
+                offset += bufferLength;
+            }
+            if (bufferLength - offset < info.size) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_PACK_INTO_REQUIRES_BUFFER, (long) info.size + offset, info.size, offset, bufferLength);
+            }
+            byte[] bytes = new byte[info.size];
+            packValuesNode.execute(frame, inliningTarget, info, args, 2, bytes, 0);
+            bufferLib.writeFromByteArray(buffer, offset, bytes, 0, info.size);
+        }
+    }
+
+    /**
+     * Implements {@code unpack(buffer)}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    public abstract static class StructUnpackNode extends Node {
+        public abstract PTuple execute(Node inliningTarget, StructInfo info, Object buffer);
+
+        @Specialization(limit = "3")
+        static PTuple unpack(Node inliningTarget, StructInfo info, Object buffer,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached UnpackValuesNode unpackValuesNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (bufferLib.getBufferLength(buffer) != info.size) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_UNPACK_REQUIRES_BUFFER_OF_N_BYTES, info.size);
+            }
+            return unpackValuesNode.execute(inliningTarget, info, buffer, 0);
+        }
+    }
+
+    /**
+     * Implements {@code unpack_from(buffer, offset=0)}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    public abstract static class StructUnpackFromNode extends Node {
+        public abstract PTuple execute(Node inliningTarget, StructInfo info, Object buffer, int offset);
+
+        @Specialization(limit = "3")
+        static PTuple unpackFrom(Node inliningTarget, StructInfo info, Object buffer, int offset,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached UnpackValuesNode unpackValuesNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int bufferLength = bufferLib.getBufferLength(buffer);
+            int start = offset;
+            if (start < 0) {
+                if (start + info.size > 0) {
+                    throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_NOT_ENOUGH_DATA_TO_UNPACK_N_BYTES, info.size, start);
+                }
+                if (start + bufferLength < 0) {
+                    throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_OFFSET_OUT_OF_RANGE, start, bufferLength);
+                }
+                start += bufferLength;
+            }
+            if (bufferLength - start < info.size) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_UNPACK_FROM_REQUIRES_BUFFER, (long) info.size + start, info.size, start, bufferLength);
+            }
+            return unpackValuesNode.execute(inliningTarget, info, buffer, start);
+        }
+    }
+
+    /**
+     * Validates the buffer passed to {@code iter_unpack} and creates the iterator. The buffer must
+     * already be acquired, the iterator takes ownership of it.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    public abstract static class CreateUnpackIteratorNode extends Node {
+        public abstract PStructUnpackIterator execute(Node inliningTarget, PStruct struct, Object buffer);
+
+        @Specialization(limit = "3")
+        static PStructUnpackIterator create(Node inliningTarget, PStruct struct, Object buffer,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached(inline = false) PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            StructInfo info = struct.getStructInfo();
+            int bufferLength = bufferLib.getBufferLength(buffer);
+            if (bufferLength % info.size != 0) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_ITER_UNPACK_REQ_A_BUFFER_OF_A_MUL_OF_BYTES, info.size);
+            }
+            return factory.createStructUnpackIterator(struct, buffer, bufferLength);
+        }
+    }
+}
@@ -237,6 +237,13 @@ public abstract class MethodsFlags {
     public static final long DEQUE_M_FLAGS = NB_BOOL | SQ_LENGTH | SQ_CONCAT | SQ_REPEAT |
                     SQ_ITEM | SQ_ASS_ITEM | SQ_CONTAINS | SQ_INPLACE_CONCAT | SQ_INPLACE_REPEAT;
 
+    public static final long TIMEDELTA_M_FLAGS = NB_ADD | NB_SUBTRACT | NB_MULTIPLY | NB_REMAINDER | NB_DIVMOD | NB_NEGATIVE |
+                    NB_POSITIVE | NB_ABSOLUTE | NB_BOOL | NB_FLOOR_DIVIDE | NB_TRUE_DIVIDE;
+    public static final long DATE_M_FLAGS = NB_ADD | NB_SUBTRACT;
+    public static final long DECIMAL_M_FLAGS = NB_ADD | NB_SUBTRACT | NB_MULTIPLY | NB_REMAINDER | NB_DIVMOD | NB_POWER | NB_NEGATIVE |
+                    NB_POSITIVE | NB_ABSOLUTE | NB_BOOL | NB_INT | NB_FLOAT | NB_FLOOR_DIVIDE | NB_TRUE_DIVIDE;
+    public static final long SIGNALDICT_M_FLAGS = MP_LENGTH | MP_SUBSCRIPT | MP_ASS_SUBSCRIPT;
+
     public static final long MAPPINGPROXY_M_FLAGS = NB_OR | NB_INPLACE_OR | SQ_CONTAINS | MP_LENGTH | MP_SUBSCRIPT;
     public static final long ARRAY_M_FLAGS = SQ_LENGTH | SQ_CONCAT | SQ_REPEAT | SQ_ITEM | SQ_ASS_ITEM |
                     SQ_CONTAINS | SQ_INPLACE_CONCAT | SQ_INPLACE_REPEAT | MP_LENGTH | MP_SUBSCRIPT | MP_ASS_SUBSCRIPT;
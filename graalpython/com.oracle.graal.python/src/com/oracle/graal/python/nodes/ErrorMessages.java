@@ -63,6 +63,7 @@ public abstract class ErrorMessages {
     public static final TruffleString ARG_D_MUST_BE_S_OR_S = tsLiteral("%s argument %d must be '%s' or '%s'");
     public static final TruffleString ARG_S_MUST_BE_A_LIST_OR_TUPLE = tsLiteral("%s must be a list or tuple");
     public static final TruffleString ARG_IS_EMPTY_SEQ = tsLiteral("%s() arg is an empty sequence");
+    public static final TruffleString S_ARG_2_MUST_BE_A_SEQUENCE = tsLiteral("%s() arg 2 must be a sequence");
     public static final TruffleString ARG_MUST_BE_INT_OR_HAVE_FILENO_METHOD = tsLiteral("argument must be an int, or have a fileno() method.");
     public static final TruffleString ARG_MUST_BE_NUMBER = tsLiteral("%s argument must be a number, not '%p'");
     public static final TruffleString S_ARG_MUST_BE_S_NOT_P = tsLiteral("%s argument must be %s, not %p");
@@ -1009,6 +1010,7 @@ public abstract class ErrorMessages {
     public static final TruffleString EXPECTING_COLON_DELIMITER = tsLiteral("Expecting ':' delimiter");
     public static final TruffleString EXPECTING_COMMA_DELIMITER = tsLiteral("Expecting ',' delimiter");
     public static final TruffleString EXPECTING_VALUE = tsLiteral("Expecting value");
+    public static final TruffleString STREAM_SCANNER_IS_CLOSED = tsLiteral("stream scanner is closed");
     public static final TruffleString IOR_IS_NOT_SUPPORTED_BY_P_USE_INSTEAD = tsLiteral("'|=' is not supported by %p; use '|' instead");
     public static final TruffleString ZIP_ARG_D_IS_LONGER_THEN_ARG_SD = tsLiteral("zip() argument %d is longer than argument%s%d");
     public static final TruffleString ZIP_ARG_D_IS_SHORTER_THEN_ARG_SD = tsLiteral("zip() argument %d is shorter than argument%s%d");
@@ -1666,4 +1668,113 @@ public abstract class ErrorMessages {
     public static final TruffleString CANNOT_EXTRACT_RAW_BUFFER_FROM_NON_CONTIGUOUS = tsLiteral("cannot extract raw buffer from non-contiguous buffer");
     public static final TruffleString MEMO_VALUE_NOT_FOUND_AT_INDEX_D = tsLiteral("Memo value not found at index %d");
     public static final TruffleString ATRIBUTE_DELETION_NOT_SUPPORTED = tsLiteral("attribute deletion is not supported");
+    public static final TruffleString CONCURRENT_POLL_INVOCATION = tsLiteral("concurrent poll() invocation");
+    public static final TruffleString IO_OPERATION_ON_CLOSED_EPOLL = tsLiteral("I/O operation on closed epoll object");
+    public static final TruffleString NEGATIVE_SIZEHINT = tsLiteral("negative sizehint");
+    public static final TruffleString MAXEVENTS_MUST_BE_GREATER_THAN_ZERO = tsLiteral("maxevents must be greater than 0, got %d");
+    public static final TruffleString TIMEOUT_IS_TOO_LARGE = tsLiteral("timeout is too large");
+    public static final TruffleString NUMBER_OF_FRAMES_MUST_BE_IN_RANGE = tsLiteral("the number of frames must be in range [1; %d]");
+
+    // struct
+    public static final TruffleString STRUCT_NOT_INITIALIZED = tsLiteral("Struct object is not initialized");
+    public static final TruffleString STRUCT_BAD_CHAR_IN_FMT = tsLiteral("bad char in struct format");
+    public static final TruffleString STRUCT_REPEAT_COUNT_WITHOUT_FMT = tsLiteral("repeat count given without format specifier");
+    public static final TruffleString STRUCT_ARG_MUST_BE_STR_OR_BYTES = tsLiteral("Struct() argument 1 must be a str or bytes object, not %p");
+    public static final TruffleString STRUCT_REQUIRED_ARG_NOT_AN_INTEGER = tsLiteral("required argument is not an integer");
+    public static final TruffleString STRUCT_REQUIRED_ARG_NOT_A_FLOAT = tsLiteral("required argument is not a float");
+    public static final TruffleString STRUCT_ARG_OUT_OF_RANGE = tsLiteral("argument out of range");
+    public static final TruffleString STRUCT_INT_TOO_LARGE_TO_CONVERT = tsLiteral("int too large to convert");
+    public static final TruffleString STRUCT_FMT_REQUIRES_0_LE_NUMBER_LE_D = tsLiteral("'%c' format requires 0 <= number <= %d");
+    public static final TruffleString STRUCT_FMT_REQUIRES_D_LE_NUMBER_LE_D = tsLiteral("'%c' format requires %d <= number <= %d");
+    public static final TruffleString STRUCT_BYTE_FMT_REQUIRES = tsLiteral("byte format requires -128 <= number <= 127");
+    public static final TruffleString STRUCT_UBYTE_FMT_REQUIRES = tsLiteral("ubyte format requires 0 <= number <= 255");
+    public static final TruffleString STRUCT_SHORT_FMT_REQUIRES = tsLiteral("short format requires -32768 <= number <= 32767");
+    public static final TruffleString STRUCT_USHORT_FMT_REQUIRES = tsLiteral("ushort format requires 0 <= number <= 65535");
+    public static final TruffleString STRUCT_CHAR_FMT_REQUIRES = tsLiteral("char format requires a bytes object of length 1");
+    public static final TruffleString STRUCT_ARG_FOR_C_MUST_BE_BYTES = tsLiteral("argument for '%c' must be a bytes object");
+    public static final TruffleString STRUCT_UNPACK_REQUIRES_BUFFER_OF_N_BYTES = tsLiteral("unpack requires a buffer of %d bytes");
+    public static final TruffleString STRUCT_NOT_ENOUGH_DATA_TO_UNPACK_N_BYTES = tsLiteral("not enough data to unpack %d bytes at offset %d");
+    public static final TruffleString STRUCT_OFFSET_OUT_OF_RANGE = tsLiteral("offset %d out of range for %d-byte buffer");
+    public static final TruffleString STRUCT_UNPACK_FROM_REQUIRES_BUFFER = tsLiteral(
+                    "unpack_from requires a buffer of at least %d bytes for unpacking %d bytes at offset %d (actual buffer size is %d)");
+    public static final TruffleString STRUCT_ITER_UNPACK_ZERO_LENGTH = tsLiteral("cannot iteratively unpack with a struct of length 0");
+    public static final TruffleString STRUCT_ITER_UNPACK_REQ_A_BUFFER_OF_A_MUL_OF_BYTES = tsLiteral("iterative unpacking requires a buffer of a multiple of %d bytes");
+    public static final TruffleString STRUCT_PACK_EXPECTED_N_ITEMS_GOT_K = tsLiteral("pack expected %d items for packing (got %d)");
+    public static final TruffleString STRUCT_PACK_INTO_EXPECTED_BUFFER = tsLiteral("pack_into expected buffer argument");
+    public static final TruffleString STRUCT_PACK_INTO_EXPECTED_OFFSET = tsLiteral("pack_into expected offset argument");
+    public static final TruffleString STRUCT_PACK_INTO_EXPECTED_N_ITEMS_GOT_K = tsLiteral("pack_into expected %d items for packing (got %d)");
+    public static final TruffleString STRUCT_NO_SPACE_TO_PACK_N_BYTES = tsLiteral("no space to pack %d bytes at offset %d");
+    public static final TruffleString STRUCT_PACK_INTO_REQUIRES_BUFFER = tsLiteral(
+                    "pack_into requires a buffer of at least %d bytes for packing %d bytes at offset %d (actual buffer size is %d)");
+    public static final TruffleString UNDEFINED_CHARACTER_NAME = tsLiteral("undefined character name '%s'");
+    public static final TruffleString NOT_A_DECIMAL = tsLiteral("not a decimal");
+    public static final TruffleString NOT_A_DIGIT = tsLiteral("not a digit");
+    public static final TruffleString NOT_A_NUMERIC_CHARACTER = tsLiteral("not a numeric character");
+    public static final TruffleString LO_MUST_BE_NON_NEGATIVE = tsLiteral("lo must be non-negative");
+    public static final TruffleString YEAR_D_IS_OUT_OF_RANGE = tsLiteral("year %d is out of range");
+    public static final TruffleString MONTH_MUST_BE_IN_1_12 = tsLiteral("month must be in 1..12");
+    public static final TruffleString DAY_IS_OUT_OF_RANGE_FOR_MONTH = tsLiteral("day is out of range for month");
+    public static final TruffleString HOUR_MUST_BE_IN_0_23 = tsLiteral("hour must be in 0..23");
+    public static final TruffleString MINUTE_MUST_BE_IN_0_59 = tsLiteral("minute must be in 0..59");
+    public static final TruffleString SECOND_MUST_BE_IN_0_59 = tsLiteral("second must be in 0..59");
+    public static final TruffleString MICROSECOND_MUST_BE_IN_0_999999 = tsLiteral("microsecond must be in 0..999999");
+    public static final TruffleString FOLD_MUST_BE_EITHER_0_OR_1 = tsLiteral("fold must be either 0 or 1");
+    public static final TruffleString TZINFO_ARG_MUST_BE_NONE_OR_TZINFO_NOT_P = tsLiteral("tzinfo argument must be None or of a tzinfo subclass, not type '%p'");
+    public static final TruffleString DATE_VALUE_OUT_OF_RANGE = tsLiteral("date value out of range");
+    public static final TruffleString DAYS_D_MUST_HAVE_MAGNITUDE_LE_D = tsLiteral("days=%d; must have magnitude <= %d");
+    public static final TruffleString UNSUPPORTED_TYPE_FOR_TIMEDELTA_S_COMPONENT_P = tsLiteral("unsupported type for timedelta %s component: %p");
+    public static final TruffleString INVALID_ISOFORMAT_STRING_S = tsLiteral("Invalid isoformat string: %s");
+    public static final TruffleString FROMISOFORMAT_ARGUMENT_MUST_BE_STR = tsLiteral("fromisoformat: argument must be str");
+    public static final TruffleString UNKNOWN_TIMESPEC_VALUE = tsLiteral("Unknown timespec value");
+    public static final TruffleString CANT_COMPARE_NAIVE_AND_AWARE_S = tsLiteral("can't compare offset-naive and offset-aware %s");
+    public static final TruffleString CANT_SUBTRACT_NAIVE_AND_AWARE_DATETIMES = tsLiteral("can't subtract offset-naive and offset-aware datetimes");
+    public static final TruffleString CANT_COMPARE_P_TO_P = tsLiteral("can't compare %p to %p");
+    public static final TruffleString TZINFO_S_MUST_RETURN_NONE_OR_TIMEDELTA_NOT_P = tsLiteral("tzinfo.%s() must return None or timedelta, not '%p'");
+    public static final TruffleString TZINFO_TZNAME_MUST_RETURN_NONE_OR_STRING_NOT_P = tsLiteral("tzinfo.tzname() must return None or a string, not '%p'");
+    public static final TruffleString OFFSET_MUST_BE_TIMEDELTA_STRICTLY_BETWEEN = tsLiteral("offset must be a timedelta strictly between -timedelta(hours=24) and timedelta(hours=24).");
+    public static final TruffleString OFFSET_MUST_BE_TIMEDELTA_STRICTLY_BETWEEN_NOT_S = tsLiteral("offset must be a timedelta strictly between -timedelta(hours=24) and timedelta(hours=24), not %s.");
+    public static final TruffleString TZINFO_SUBCLASS_MUST_IMPLEMENT_S = tsLiteral("a tzinfo subclass must implement %s()");
+    public static final TruffleString FROMUTC_ARGUMENT_MUST_BE_A_DATETIME = tsLiteral("fromutc: argument must be a datetime");
+    public static final TruffleString FROMUTC_DT_TZINFO_IS_NOT_SELF = tsLiteral("fromutc: dt.tzinfo is not self");
+    public static final TruffleString FROMUTC_NON_NONE_S_RESULT_REQUIRED = tsLiteral("fromutc: non-None %s() result required");
+    public static final TruffleString FROMUTC_INCONSISTENT_DST = tsLiteral("fromutc: tz.dst() gave inconsistent results; cannot convert");
+    public static final TruffleString S_DT_ARGUMENT_MUST_BE_DATETIME_OR_NONE_NOT_P = tsLiteral("%s(dt) argument must be a datetime instance or None, not %p");
+    public static final TruffleString ORDINAL_MUST_BE_GE_1 = tsLiteral("ordinal must be >= 1");
+    public static final TruffleString YEAR_IS_OUT_OF_RANGE_D = tsLiteral("Year is out of range: %d");
+    public static final TruffleString INVALID_WEEK_D = tsLiteral("Invalid week: %d");
+    public static final TruffleString INVALID_WEEKDAY_D = tsLiteral("Invalid weekday: %d (range is [1, 7])");
+    public static final TruffleString BAD_TZINFO_STATE_ARG = tsLiteral("bad tzinfo state arg");
+    public static final TruffleString INTEGER_MODULO_BY_ZERO = tsLiteral("integer modulo by zero");
+    public static final TruffleString CONVERSION_FROM_P_TO_DECIMAL_NOT_SUPPORTED = tsLiteral("conversion from %p to Decimal is not supported");
+    public static final TruffleString ARGUMENT_MUST_BE_A_CONTEXT = tsLiteral("argument must be a context");
+    public static final TruffleString OPTIONAL_ARGUMENT_MUST_BE_A_CONTEXT = tsLiteral("optional argument must be a context");
+    public static final TruffleString OPTIONAL_ARG_MUST_BE_AN_INTEGER = tsLiteral("optional arg must be an integer");
+    public static final TruffleString CANNOT_HASH_SIGNALING_NAN = tsLiteral("Cannot hash a signaling NaN value");
+    public static final TruffleString CANNOT_CONVERT_SIGNALING_NAN_TO_FLOAT = tsLiteral("cannot convert signaling NaN to float");
+    public static final TruffleString CANNOT_CONVERT_NAN_TO_INTEGER = tsLiteral("cannot convert NaN to integer");
+    public static final TruffleString CANNOT_CONVERT_INFINITY_TO_INTEGER = tsLiteral("cannot convert Infinity to integer");
+    public static final TruffleString CANNOT_CONVERT_NAN_TO_INTEGER_RATIO = tsLiteral("cannot convert NaN to integer ratio");
+    public static final TruffleString CANNOT_CONVERT_INFINITY_TO_INTEGER_RATIO = tsLiteral("cannot convert Infinity to integer ratio");
+    public static final TruffleString DECIMAL_ARG_MUST_BE_SEQUENCE_OF_LENGTH_3 = tsLiteral("argument must be a sequence of length 3");
+    public static final TruffleString DECIMAL_SIGN_MUST_BE_0_OR_1 = tsLiteral("sign must be an integer with the value 0 or 1");
+    public static final TruffleString DECIMAL_INVALID_SPECIAL_EXPONENT = tsLiteral("string argument in the third position must be 'F', 'n' or 'N'");
+    public static final TruffleString DECIMAL_EXPONENT_MUST_BE_INTEGER = tsLiteral("exponent must be an integer");
+    public static final TruffleString DECIMAL_COEFFICIENT_MUST_BE_TUPLE_OF_DIGITS = tsLiteral("coefficient must be a tuple of digits");
+    public static final TruffleString DECIMAL_INVALID_PREC = tsLiteral("valid range for prec is [1, MAX_PREC]");
+    public static final TruffleString DECIMAL_INVALID_EMIN = tsLiteral("valid range for Emin is [MIN_EMIN, 0]");
+    public static final TruffleString DECIMAL_INVALID_EMAX = tsLiteral("valid range for Emax is [0, MAX_EMAX]");
+    public static final TruffleString DECIMAL_INVALID_CAPITALS = tsLiteral("valid values for capitals are 0 or 1");
+    public static final TruffleString DECIMAL_INVALID_CLAMP = tsLiteral("valid values for clamp are 0 or 1");
+    public static final TruffleString DECIMAL_INVALID_ROUNDING = tsLiteral("valid values for rounding are:\n  [ROUND_CEILING, ROUND_FLOOR, ROUND_UP, ROUND_DOWN,\n   ROUND_HALF_UP, ROUND_HALF_DOWN, ROUND_HALF_EVEN,\n   ROUND_05UP]");
+    public static final TruffleString DECIMAL_INVALID_SIGNALS = tsLiteral("valid values for signals are:\n  [InvalidOperation, FloatOperation, DivisionByZero,\n   Overflow, Underflow, Subnormal, Inexact, Rounded,\n   Clamped]");
+    public static final TruffleString ARGUMENT_MUST_BE_A_SIGNAL_DICT = tsLiteral("argument must be a signal dict");
+    public static final TruffleString INVALID_SIGNAL_DICT = tsLiteral("invalid signal dict");
+    public static final TruffleString SIGNAL_KEYS_CANNOT_BE_DELETED = tsLiteral("signal keys cannot be deleted");
+    public static final TruffleString ARGUMENT_MUST_BE_INT_OR_FLOAT = tsLiteral("argument must be int or float");
+    public static final TruffleString DECIMAL_INVALID_FORMAT_SPECIFIER = tsLiteral("Invalid format specifier: %s");
+    public static final TruffleString DECIMAL_FILL_CONFLICTS_WITH_ZERO = tsLiteral("Fill character conflicts with '0' in format specifier: %s");
+    public static final TruffleString DECIMAL_ALIGNMENT_CONFLICTS_WITH_ZERO = tsLiteral("Alignment conflicts with '0' in format specifier: %s");
+    public static final TruffleString DECIMAL_SEP_CONFLICTS_WITH_N = tsLiteral("Explicit thousands separator conflicts with 'n' type in format specifier: %s");
+    public static final TruffleString OPTIONAL_ARGUMENT_MUST_BE_A_DICT = tsLiteral("optional argument must be a dict");
+    public static final TruffleString INVALID_OVERRIDE_DICT = tsLiteral("invalid override dict");
 }
@@ -148,6 +148,7 @@ import com.oracle.graal.python.nodes.bytecode.SequenceFromStackNodeFactory.ListF
 import com.oracle.graal.python.nodes.bytecode.SequenceFromStackNodeFactory.TupleFromStackNodeGen;
 import com.oracle.graal.python.nodes.bytecode.instrumentation.InstrumentationRoot;
 import com.oracle.graal.python.nodes.bytecode.instrumentation.InstrumentationSupport;
+import com.oracle.graal.python.nodes.bytecode.instrumentation.LineCoverage;
 import com.oracle.graal.python.nodes.call.BoundDescriptor;
 import com.oracle.graal.python.nodes.call.CallNode;
 import com.oracle.graal.python.nodes.call.CallNodeGen;
@@ -569,6 +570,7 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
     @CompilationFinal private Object osrMetadata;
 
     @CompilationFinal private boolean usingCachedNodes;
+    @CompilationFinal private boolean coverageMaterialized;
     @CompilationFinal(dimensions = 1) private int[] conditionProfiles;
 
     @Child private InstrumentationRoot instrumentationRoot = InstrumentationRoot.create();
@@ -1250,7 +1252,10 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
 
         final PythonLanguage language = PythonLanguage.get(this);
         final Assumption noTraceOrProfile = language.noTracingOrProfilingAssumption;
-        final InstrumentationSupport instrumentation = instrumentationRoot.getInstrumentation();
+        InstrumentationSupport instrumentation = instrumentationRoot.getInstrumentation();
+        if (!coverageMaterialized && !language.lineCoverage.getNotStartedAssumption().isValid() && !fromOSR) {
+            instrumentation = materializeForCoverage(language.lineCoverage);
+        }
         if (instrumentation != null && !fromOSR) {
             Object result = notifyEnter(virtualFrame, instrumentation, initialBci);
             if (result != null) {
@@ -2754,6 +2759,24 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         return null;
     }
 
+    @InliningCutoff
+    private InstrumentationSupport materializeForCoverage(LineCoverage lineCoverage) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        atomic(() -> {
+            if (!coverageMaterialized) {
+                Node root = instrumentationRoot instanceof WrapperNode wrapper ? wrapper.getDelegateNode() : instrumentationRoot;
+                ((InstrumentationRoot) root).materializeInstrumentableNodes(Collections.singleton(StandardTags.StatementTag.class));
+                InstrumentationSupport instrumentation = instrumentationRoot.getInstrumentation();
+                // null if the source is not available, there are no lines to report then
+                if (instrumentation != null) {
+                    instrumentation.enableCoverage(lineCoverage, getSource());
+                }
+                coverageMaterialized = true;
+            }
+        });
+        return instrumentationRoot.getInstrumentation();
+    }
+
     private MakeFunctionNode insertMakeFunctionNode(Node[] localNodes, int beginBci, CodeUnit codeUnit) {
         return insertChildNode(localNodes, beginBci, MakeFunctionNodeGen.class, () -> MakeFunctionNode.create(getLanguage(PythonLanguage.class), codeUnit, source));
     }
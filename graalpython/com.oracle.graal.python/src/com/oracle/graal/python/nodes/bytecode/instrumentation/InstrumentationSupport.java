@@ -51,6 +51,7 @@ import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.InstrumentableNode;
 import com.oracle.truffle.api.instrumentation.ProbeNode;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.source.Source;
 
 /**
  * The bytecode interpreter has no AST nodes therefore Truffle AST instrumentation doesn't directly
@@ -74,6 +75,14 @@ public final class InstrumentationSupport extends Node {
 
     final int startLine;
 
+    /*
+     * Set when line coverage is active. The lines already reported to it are remembered in
+     * coveredLines, so that compiled code does not contain the reporting anymore.
+     */
+    @CompilationFinal private LineCoverage coverage;
+    @CompilationFinal private String coverageFileName;
+    @CompilationFinal(dimensions = 1) private final boolean[] coveredLines;
+
     public InstrumentationSupport(PBytecodeRootNode rootNode) {
         assert rootNode.getSource() != null && rootNode.getSource().hasCharacters();
         code = rootNode.getCodeUnit();
@@ -91,6 +100,7 @@ public final class InstrumentationSupport extends Node {
         startLine = minLine;
         statements = new InstrumentedBytecodeStatement[maxLine - minLine + 1];
         bciToHelperNode = new Node[code.code.length];
+        coveredLines = new boolean[statements.length];
         boolean[] loadedBreakpoint = new boolean[1];
         code.iterateBytecode((bci, op, oparg, followingArgs) -> {
             boolean setBreakpoint = false;
@@ -154,8 +164,26 @@ public final class InstrumentationSupport extends Node {
         }
     }
 
+    public void enableCoverage(LineCoverage lineCoverage, Source source) {
+        CompilerAsserts.neverPartOfCompilation();
+        coverageFileName = source.getPath() != null ? source.getPath() : source.getName();
+        coverage = lineCoverage;
+    }
+
+    private void recordCoverage(int line) {
+        int index = getStatementIndex(line);
+        if (!coveredLines[index]) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            coveredLines[index] = true;
+            coverage.record(code, coverageFileName, line);
+        }
+    }
+
     public void notifyStatementEnter(VirtualFrame frame, int line) {
         CompilerAsserts.partialEvaluationConstant(line);
+        if (coverage != null && line >= 0) {
+            recordCoverage(line);
+        }
         InstrumentableNode.WrapperNode wrapper = getWrapperAtLine(line);
         if (wrapper != null) {
             try {
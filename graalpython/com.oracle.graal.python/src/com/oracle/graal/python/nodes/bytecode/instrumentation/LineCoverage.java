@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.nodes.bytecode.instrumentation;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.oracle.graal.python.compiler.CodeUnit;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Collects the lines executed by each {@link CodeUnit} for the low-overhead coverage mode. Unlike
+ * {@code sys.settrace}, it does not switch the bytecode loop to the tracing path. Once started,
+ * every bytecode root materializes its {@link InstrumentationSupport} on the next entry and the
+ * first execution of each line is recorded here. After that, the line is not reported again, so
+ * compiled code only keeps the statement notifications of the instrumentation support.
+ *
+ * The lines are kept both per code unit and per source file. The code units are only weakly
+ * referenced, so the per-file data is what allows enumerating everything that was executed. The
+ * data is shared by all contexts of the engine, just like the code units and their roots.
+ *
+ * Only line coverage is implemented. There is no branch data: the transitions between lines that
+ * {@code coverage.py --branch} reports would require tracking the previous line of every frame on
+ * each line change, which is exactly the per-line overhead this mode avoids.
+ */
+public final class LineCoverage {
+    private final Assumption notStartedAssumption = Assumption.create("Line coverage was never started");
+    private final WeakHashMap<CodeUnit, BitSet> executedLines = new WeakHashMap<>();
+    private final LinkedHashMap<String, BitSet> executedLinesByFile = new LinkedHashMap<>();
+
+    /**
+     * This assumption is valid until the coverage is started. There is no way to stop it again.
+     */
+    public Assumption getNotStartedAssumption() {
+        return notStartedAssumption;
+    }
+
+    public boolean isStarted() {
+        return !notStartedAssumption.isValid();
+    }
+
+    public void start() {
+        notStartedAssumption.invalidate();
+    }
+
+    @TruffleBoundary
+    synchronized void record(CodeUnit code, String fileName, int line) {
+        executedLines.computeIfAbsent(code, k -> new BitSet()).set(line);
+        executedLinesByFile.computeIfAbsent(fileName, k -> new BitSet()).set(line);
+    }
+
+    /**
+     * @return the sorted line numbers of {@code code} executed since the coverage was started
+     */
+    @TruffleBoundary
+    public synchronized int[] getExecutedLines(CodeUnit code) {
+        BitSet lines = executedLines.get(code);
+        return lines == null ? PythonUtils.EMPTY_INT_ARRAY : lines.stream().toArray();
+    }
+
+    /**
+     * @return the sorted line numbers executed since the coverage was started for each source file
+     *         name, in the order in which the files were first executed
+     */
+    @TruffleBoundary
+    public synchronized Map<String, int[]> getExecutedLinesByFile() {
+        LinkedHashMap<String, int[]> result = new LinkedHashMap<>();
+        for (Map.Entry<String, BitSet> entry : executedLinesByFile.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().stream().toArray());
+        }
+        return result;
+    }
+}
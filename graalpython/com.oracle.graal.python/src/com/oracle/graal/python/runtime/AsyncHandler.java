@@ -51,6 +51,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -179,7 +180,9 @@ public class AsyncHandler {
     private final WeakReference<PythonContext> context;
     private final Queue<AsyncAction> rescheduled = new ConcurrentLinkedDeque<>();
     private static final int ASYNC_ACTION_DELAY = 25;
-    private static final int GIL_RELEASE_DELAY = 50;
+    // lower bound for the GIL release scheduler tick, regardless of sys.setswitchinterval
+    private static final long MIN_GIL_RELEASE_DELAY_NANOS = 100_000;
+    private volatile GilReleaseScheduler gilReleaseScheduler;
 
     private class AsyncRunnable implements Runnable {
         private final Supplier<AsyncAction> actionSupplier;
@@ -337,10 +340,17 @@ public class AsyncHandler {
         }
     }
 
-    private static class GilReleaseScheduler implements Runnable {
+    /**
+     * Asks the GIL owner to drop the GIL, similar to CPython's {@code gil_drop_request}. The
+     * scheduler ticks every {@code sys.getswitchinterval()} seconds and only requests a drop if some
+     * thread has been waiting while the same thread held the GIL for a whole tick. The owner then
+     * hands the GIL over to a waiting thread (see {@link PythonContext#yieldGil}).
+     */
+    private final class GilReleaseScheduler implements Runnable {
         private final PythonContext ctx;
         private volatile boolean gilReleaseRequested;
         private Thread lastGilOwner;
+        private long lastSwitchCount;
 
         private GilReleaseScheduler(PythonContext ctx) {
             this.ctx = ctx;
@@ -348,57 +358,78 @@ public class AsyncHandler {
 
         @Override
         public void run() {
-            if (!ctx.gilHasQueuedThreads()) {
-                // Don't release the gil if nobody is waiting for it
-                return;
+            try {
+                tick();
+            } finally {
+                if (PythonOptions.AUTOMATIC_ASYNC_ACTIONS) {
+                    // re-read the interval every time, it can be changed by sys.setswitchinterval
+                    long delay = Math.max(MIN_GIL_RELEASE_DELAY_NANOS, ctx.getSwitchIntervalNanos());
+                    try {
+                        executorService.schedule(this, delay, TimeUnit.NANOSECONDS);
+                    } catch (RejectedExecutionException e) {
+                        // the context is shutting down
+                    }
+                }
             }
+        }
+
+        private void tick() {
             Thread gilOwner = ctx.getGilOwner();
-            if (gilOwner != null) {
-                synchronized (this) {
-                    if (!gilReleaseRequested) {
-                        gilReleaseRequested = true;
-                        /*
-                         * There is a race, but that's no problem. The gil owner may release the gil
-                         * before getting to run this safepoint. In that case, it just ignores it.
-                         * Some other thread will run and eventually get another gil release
-                         * request.
-                         */
-                        ctx.getEnv().submitThreadLocal(new Thread[]{gilOwner}, new ThreadLocalAction(false, false) {
-                            @Override
-                            protected void perform(ThreadLocalAction.Access access) {
-                                // it may happen that we request a GIL release and no thread is
-                                // currently holding the GIL (e.g. all are sleeping). We still need
-                                // to tick again later, so we reset the gilReleaseRequested flag
-                                // even
-                                // when the thread in question isn't actually holding it.
-                                gilReleaseRequested = false;
-                                RootNode rootNode = access.getLocation().getRootNode();
-                                if (rootNode instanceof PRootNode) {
-                                    if (rootNode.isInternal()) {
-                                        return;
-                                    }
-                                    if (((PRootNode) rootNode).isPythonInternal()) {
-                                        return;
-                                    }
-                                    // we only release the gil in ordinary Python code nodes
-                                    GilNode gil = GilNode.getUncached();
-                                    if (gil.tryRelease()) {
-                                        gil.acquire(access.getLocation());
-                                    }
-                                }
-                            }
-                        });
-                    } else if (gilOwner != lastGilOwner) {
-                        /*
-                         * If the gil changed owner since the last time we observed it, clear the
-                         * flag to make sure we don't get stuck if the last owner exits before
-                         * executing the safepoint.
-                         */
-                        gilReleaseRequested = false;
-                    }
-                    lastGilOwner = gilOwner;
+            long switchCount = ctx.getGilSwitchCount();
+            if (gilOwner != null && ctx.gilHasQueuedThreads() && gilOwner == lastGilOwner && switchCount == lastSwitchCount) {
+                // somebody is waiting and the GIL did not change hands for a whole interval
+                requestDrop(gilOwner);
+            } else if (gilOwner != lastGilOwner) {
+                /*
+                 * If the gil changed owner since the last time we observed it, clear the flag to
+                 * make sure we don't get stuck if the last owner exits before executing the
+                 * safepoint.
+                 */
+                gilReleaseRequested = false;
+            }
+            lastGilOwner = gilOwner;
+            lastSwitchCount = switchCount;
+        }
+
+        void requestDrop(Thread gilOwner) {
+            synchronized (this) {
+                if (gilReleaseRequested) {
+                    return;
                 }
+                gilReleaseRequested = true;
+            }
+            GilStatistics gilStatistics = ctx.getGilStatistics();
+            if (gilStatistics != null) {
+                gilStatistics.dropRequested(gilOwner);
             }
+            /*
+             * There is a race, but that's no problem. The gil owner may release the gil before
+             * getting to run this safepoint. In that case, it just ignores it. Some other thread
+             * will run and eventually get another gil release request.
+             */
+            ctx.getEnv().submitThreadLocal(new Thread[]{gilOwner}, new ThreadLocalAction(false, false) {
+                @Override
+                protected void perform(ThreadLocalAction.Access access) {
+                    // it may happen that we request a GIL release and no thread is currently
+                    // holding the GIL (e.g. all are sleeping). We still need to tick again later,
+                    // so we reset the gilReleaseRequested flag even when the thread in question
+                    // isn't actually holding it.
+                    gilReleaseRequested = false;
+                    RootNode rootNode = access.getLocation().getRootNode();
+                    if (rootNode instanceof PRootNode) {
+                        if (rootNode.isInternal()) {
+                            return;
+                        }
+                        if (((PRootNode) rootNode).isPythonInternal()) {
+                            return;
+                        }
+                        // we only release the gil in ordinary Python code nodes
+                        if (ctx.ownsGil()) {
+                            ctx.yieldGil(access.getLocation());
+                        }
+                    }
+                }
+            });
         }
     }
 
@@ -408,18 +439,34 @@ public class AsyncHandler {
         if (ctx == null) {
             return;
         }
-        final Runnable gilReleaseRunnable = new GilReleaseScheduler(ctx);
+        final GilReleaseScheduler scheduler = new GilReleaseScheduler(ctx);
+        gilReleaseScheduler = scheduler;
         if (PythonOptions.AUTOMATIC_ASYNC_ACTIONS) {
-            executorService.scheduleWithFixedDelay(gilReleaseRunnable, GIL_RELEASE_DELAY, GIL_RELEASE_DELAY, TimeUnit.MILLISECONDS);
+            executorService.schedule(scheduler, Math.max(MIN_GIL_RELEASE_DELAY_NANOS, ctx.getSwitchIntervalNanos()), TimeUnit.NANOSECONDS);
         } else {
             // we will release the gil when polled to do so
             registeredActions.add(new AsyncRunnable(() -> {
-                gilReleaseRunnable.run();
+                scheduler.run();
                 return null;
             }));
         }
     }
 
+    /**
+     * Asks the current GIL owner to drop the GIL as soon as possible, without waiting for the
+     * switch interval. Used for {@link PythonOptions.GilSchedulingMode#IO_PRIORITY}.
+     */
+    void requestGilDrop() {
+        GilReleaseScheduler scheduler = gilReleaseScheduler;
+        PythonContext ctx = context.get();
+        if (scheduler != null && ctx != null) {
+            Thread gilOwner = ctx.getGilOwner();
+            if (gilOwner != null && gilOwner != Thread.currentThread()) {
+                scheduler.requestDrop(gilOwner);
+            }
+        }
+    }
+
     public void shutdown() {
         if (executorService != null) {
             executorService.shutdownNow();
@@ -45,8 +45,8 @@ import static com.oracle.graal.python.builtins.PythonOS.getPythonOS;
 import static com.oracle.graal.python.nodes.BuiltinNames.T__SIGNAL;
 import static com.oracle.graal.python.nodes.StringLiterals.T_EMPTY_STRING;
 import static com.oracle.graal.python.nodes.StringLiterals.T_JAVA;
-import static com.oracle.graal.python.runtime.PosixConstants.AF_INET;
 import static com.oracle.graal.python.runtime.PosixConstants.AF_INET6;
+import static com.oracle.graal.python.runtime.PosixConstants.AF_INET;
 import static com.oracle.graal.python.runtime.PosixConstants.AF_UNIX;
 import static com.oracle.graal.python.runtime.PosixConstants.AF_UNSPEC;
 import static com.oracle.graal.python.runtime.PosixConstants.AI_CANONNAME;
@@ -63,6 +63,13 @@ import static com.oracle.graal.python.runtime.PosixConstants.EAI_FAMILY;
 import static com.oracle.graal.python.runtime.PosixConstants.EAI_NONAME;
 import static com.oracle.graal.python.runtime.PosixConstants.EAI_SERVICE;
 import static com.oracle.graal.python.runtime.PosixConstants.EAI_SOCKTYPE;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLET;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLIN;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLONESHOT;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLOUT;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_ADD;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_DEL;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_MOD;
 import static com.oracle.graal.python.runtime.PosixConstants.F_OK;
 import static com.oracle.graal.python.runtime.PosixConstants.F_RDLCK;
 import static com.oracle.graal.python.runtime.PosixConstants.F_UNLCK;
@@ -91,6 +98,9 @@ import static com.oracle.graal.python.runtime.PosixConstants.O_SYNC;
 import static com.oracle.graal.python.runtime.PosixConstants.O_TMPFILE;
 import static com.oracle.graal.python.runtime.PosixConstants.O_TRUNC;
 import static com.oracle.graal.python.runtime.PosixConstants.O_WRONLY;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLIN;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLNVAL;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLOUT;
 import static com.oracle.graal.python.runtime.PosixConstants.PROT_EXEC;
 import static com.oracle.graal.python.runtime.PosixConstants.PROT_NONE;
 import static com.oracle.graal.python.runtime.PosixConstants.PROT_READ;
@@ -171,12 +181,17 @@ import java.nio.ByteOrder;
 import java.nio.channels.AlreadyConnectedException;
 import java.nio.channels.ByteChannel;
 import java.nio.channels.Channel;
+import java.nio.channels.ClosedSelectorException;
 import java.nio.channels.DatagramChannel;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.IllegalBlockingModeException;
 import java.nio.channels.NetworkChannel;
 import java.nio.channels.NotYetConnectedException;
+import java.nio.channels.Pipe;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.ScatteringByteChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
@@ -201,12 +216,15 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 
 import org.graalvm.nativeimage.ImageInfo;
@@ -234,6 +252,7 @@ import com.oracle.graal.python.runtime.PosixSupportLibrary.InvalidAddressExcepti
 import com.oracle.graal.python.runtime.PosixSupportLibrary.OpenPtyResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.PwdResult;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.ReaddirBatchResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.RecvfromResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.SelectResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.Timeval;
@@ -275,6 +294,8 @@ import com.oracle.truffle.api.strings.TruffleString;
 import com.sun.security.auth.UnixNumericGroupPrincipal;
 import com.sun.security.auth.module.UnixSystem;
 
+import sun.misc.Unsafe;
+
 /**
  * Implementation that emulates as much as possible using the Truffle API.
  *
@@ -306,7 +327,9 @@ import com.sun.security.auth.module.UnixSystem;
 @SuppressWarnings("unused")
 public final class EmulatedPosixSupport extends PosixResources {
 
+    private static final Unsafe UNSAFE = PythonUtils.initUnsafe();
     private static final int MAX_READ = Integer.MAX_VALUE / 2;
+    private static final int TRANSFER_CHUNK = 1024 * 1024;
 
     private static final PosixFilePermission[][] otherBitsToPermission = new PosixFilePermission[][]{
                     new PosixFilePermission[]{},
@@ -345,6 +368,7 @@ public final class EmulatedPosixSupport extends PosixResources {
     private int currentUmask = 0022;
     private boolean hasDefaultUmask = true;
     private final boolean withoutIOSocket;
+    private final Set<EmulatedEpoll> epolls = Collections.newSetFromMap(new WeakHashMap<>());
     // Lazily parsed content of /etc/services.
     private Map<String, List<Service>> etcServices;
 
@@ -534,6 +558,360 @@ public final class EmulatedPosixSupport extends PosixResources {
         }
     }
 
+    @ExportMessage
+    public int readInto(int fd, byte[] buf, int offset, int length,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared("errorBranch") @Cached InlinedBranchProfile errorBranch,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        Channel channel = getFileChannel(fd);
+        if (!(channel instanceof ReadableByteChannel)) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        try {
+            return readIntoFromChannel((ReadableByteChannel) channel, buf, offset, length);
+        } catch (Exception e) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.fromException(e, eqNode));
+        }
+    }
+
+    @TruffleBoundary
+    private static int readIntoFromChannel(ReadableByteChannel channel, byte[] buf, int offset, int length) throws IOException {
+        return Math.max(channel.read(ByteBuffer.wrap(buf, offset, length)), 0);
+    }
+
+    @ExportMessage
+    public long preadv(int fd, byte[][] buffers, int[] lengths, long offset,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared("errorBranch") @Cached InlinedBranchProfile errorBranch,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        Channel channel = getFileChannel(fd);
+        if (!(channel instanceof ReadableByteChannel)) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        if (offset >= 0 && !(channel instanceof SeekableByteChannel)) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.ESPIPE);
+        }
+        try {
+            return scatterRead((ReadableByteChannel) channel, wrapBuffers(buffers, lengths), offset);
+        } catch (Exception e) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.fromException(e, eqNode));
+        }
+    }
+
+    @ExportMessage
+    public long pwritev(int fd, byte[][] buffers, int[] lengths, long offset,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared("errorBranch") @Cached InlinedBranchProfile errorBranch,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        Channel channel = getFileChannel(fd);
+        if (!(channel instanceof WritableByteChannel)) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        if (offset >= 0 && !(channel instanceof SeekableByteChannel)) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.ESPIPE);
+        }
+        try {
+            return gatherWrite((WritableByteChannel) channel, wrapBuffers(buffers, lengths), offset);
+        } catch (Exception e) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.fromException(e, eqNode));
+        }
+    }
+
+    @TruffleBoundary
+    private static ByteBuffer[] wrapBuffers(byte[][] buffers, int[] lengths) {
+        ByteBuffer[] result = new ByteBuffer[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            result[i] = ByteBuffer.wrap(buffers[i], 0, lengths[i]);
+        }
+        return result;
+    }
+
+    @TruffleBoundary
+    private static long scatterRead(ReadableByteChannel channel, ByteBuffer[] dsts, long offset) throws IOException {
+        if (offset < 0) {
+            if (channel instanceof ScatteringByteChannel scattering) {
+                return Math.max(scattering.read(dsts), 0);
+            }
+            return readSequentially(channel, dsts);
+        }
+        if (channel instanceof FileChannel fileChannel) {
+            long total = 0;
+            for (ByteBuffer dst : dsts) {
+                int n = fileChannel.read(dst, offset + total);
+                if (n <= 0) {
+                    break;
+                }
+                total += n;
+                if (dst.hasRemaining()) {
+                    break;
+                }
+            }
+            return total;
+        }
+        SeekableByteChannel seekable = (SeekableByteChannel) channel;
+        long savedPosition = seekable.position();
+        try {
+            seekable.position(offset);
+            return readSequentially(channel, dsts);
+        } finally {
+            seekable.position(savedPosition);
+        }
+    }
+
+    private static long readSequentially(ReadableByteChannel channel, ByteBuffer[] dsts) throws IOException {
+        long total = 0;
+        for (ByteBuffer dst : dsts) {
+            int n = channel.read(dst);
+            if (n <= 0) {
+                break;
+            }
+            total += n;
+            if (dst.hasRemaining()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    @TruffleBoundary
+    private static long gatherWrite(WritableByteChannel channel, ByteBuffer[] srcs, long offset) throws IOException {
+        if (offset < 0) {
+            if (channel instanceof GatheringByteChannel gathering) {
+                return gathering.write(srcs);
+            }
+            return writeSequentially(channel, srcs);
+        }
+        if (channel instanceof FileChannel fileChannel) {
+            long total = 0;
+            for (ByteBuffer src : srcs) {
+                while (src.hasRemaining()) {
+                    int n = fileChannel.write(src, offset + total);
+                    if (n <= 0) {
+                        return total;
+                    }
+                    total += n;
+                }
+            }
+            return total;
+        }
+        SeekableByteChannel seekable = (SeekableByteChannel) channel;
+        long savedPosition = seekable.position();
+        try {
+            seekable.position(offset);
+            return writeSequentially(channel, srcs);
+        } finally {
+            seekable.position(savedPosition);
+        }
+    }
+
+    private static long writeSequentially(WritableByteChannel channel, ByteBuffer[] srcs) throws IOException {
+        long total = 0;
+        for (ByteBuffer src : srcs) {
+            while (src.hasRemaining()) {
+                int n = channel.write(src);
+                if (n <= 0) {
+                    return total;
+                }
+                total += n;
+            }
+        }
+        return total;
+    }
+
+    /*
+     * This backend can only transfer data through Java arrays, so native memory is copied in and
+     * out around the regular calls.
+     */
+    @ExportMessage
+    public int readIntoPointer(int fd, long pointer, int length,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared("errorBranch") @Cached InlinedBranchProfile errorBranch,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        byte[] buf = new byte[length];
+        int n = readInto(fd, buf, 0, length, inliningTarget, errorBranch, eqNode);
+        UNSAFE.copyMemory(buf, Unsafe.ARRAY_BYTE_BASE_OFFSET, null, pointer, n);
+        return n;
+    }
+
+    @ExportMessage
+    public long preadvPointers(int fd, long[] pointers, int[] lengths, long offset,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared("errorBranch") @Cached InlinedBranchProfile errorBranch,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        byte[][] buffers = new byte[pointers.length][];
+        for (int i = 0; i < pointers.length; i++) {
+            buffers[i] = new byte[lengths[i]];
+        }
+        long n = preadv(fd, buffers, lengths, offset, inliningTarget, errorBranch, eqNode);
+        long remaining = n;
+        for (int i = 0; i < pointers.length && remaining > 0; i++) {
+            int chunk = (int) Math.min(remaining, lengths[i]);
+            UNSAFE.copyMemory(buffers[i], Unsafe.ARRAY_BYTE_BASE_OFFSET, null, pointers[i], chunk);
+            remaining -= chunk;
+        }
+        return n;
+    }
+
+    @ExportMessage
+    public long pwritevPointers(int fd, long[] pointers, int[] lengths, long offset,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared("errorBranch") @Cached InlinedBranchProfile errorBranch,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        byte[][] buffers = new byte[pointers.length][];
+        for (int i = 0; i < pointers.length; i++) {
+            buffers[i] = new byte[lengths[i]];
+            UNSAFE.copyMemory(null, pointers[i], buffers[i], Unsafe.ARRAY_BYTE_BASE_OFFSET, lengths[i]);
+        }
+        return pwritev(fd, buffers, lengths, offset, inliningTarget, errorBranch, eqNode);
+    }
+
+    @ExportMessage
+    public long sendfile(int outFd, int inFd, long offset, long count,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared("errorBranch") @Cached InlinedBranchProfile errorBranch,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        Channel in = getFileChannel(inFd);
+        Channel out = getFileChannel(outFd);
+        if (!(in instanceof ReadableByteChannel) || !(out instanceof WritableByteChannel)) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        if (offset >= 0 && !(in instanceof SeekableByteChannel)) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.ESPIPE);
+        }
+        try {
+            return transfer((ReadableByteChannel) in, offset, (WritableByteChannel) out, -1, count);
+        } catch (Exception e) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.fromException(e, eqNode));
+        }
+    }
+
+    @ExportMessage
+    public long copyFileRange(int srcFd, long srcOffset, int dstFd, long dstOffset, long count,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared("errorBranch") @Cached InlinedBranchProfile errorBranch,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        Channel src = getFileChannel(srcFd);
+        Channel dst = getFileChannel(dstFd);
+        if (!(src instanceof ReadableByteChannel) || !(dst instanceof WritableByteChannel)) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        // both sides must be regular files; copies within one file are not emulated
+        if (!(src instanceof SeekableByteChannel) || !(dst instanceof SeekableByteChannel) || src == dst) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        try {
+            return transfer((ReadableByteChannel) src, srcOffset, (WritableByteChannel) dst, dstOffset, count);
+        } catch (Exception e) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.fromException(e, eqNode));
+        }
+    }
+
+    @ExportMessage
+    public long splice(int srcFd, long srcOffset, int dstFd, long dstOffset, long count, int flags,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared("errorBranch") @Cached InlinedBranchProfile errorBranch,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        Channel src = getFileChannel(srcFd);
+        Channel dst = getFileChannel(dstFd);
+        if (!(src instanceof ReadableByteChannel) || !(dst instanceof WritableByteChannel)) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        if (!(src instanceof Pipe.SourceChannel) && !(dst instanceof Pipe.SinkChannel)) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        if ((srcOffset >= 0 && !(src instanceof SeekableByteChannel)) || (dstOffset >= 0 && !(dst instanceof SeekableByteChannel))) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.ESPIPE);
+        }
+        try {
+            return transfer((ReadableByteChannel) src, srcOffset, (WritableByteChannel) dst, dstOffset, count);
+        } catch (Exception e) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.fromException(e, eqNode));
+        }
+    }
+
+    /**
+     * Copies up to {@code count} bytes between two channels, preferring
+     * {@link FileChannel#transferTo} so that the data does not pass through the Java heap. A
+     * non-negative offset temporarily repositions the (seekable) channel, a negative offset uses and
+     * advances its current position. {@link FileChannel#transferFrom} is not used, because it keeps
+     * reading from a pipe or socket until {@code count} bytes arrived, while the syscalls return
+     * what is available.
+     */
+    @TruffleBoundary
+    private static long transfer(ReadableByteChannel src, long srcOffset, WritableByteChannel dst, long dstOffset, long count) throws IOException {
+        if (count <= 0) {
+            return 0;
+        }
+        SeekableByteChannel seekableSrc = srcOffset >= 0 ? (SeekableByteChannel) src : null;
+        SeekableByteChannel seekableDst = dstOffset >= 0 ? (SeekableByteChannel) dst : null;
+        long savedSrcPosition = seekableSrc != null ? seekableSrc.position() : 0;
+        long savedDstPosition = seekableDst != null ? seekableDst.position() : 0;
+        try {
+            if (seekableSrc != null) {
+                seekableSrc.position(srcOffset);
+            }
+            if (seekableDst != null) {
+                seekableDst.position(dstOffset);
+            }
+            if (src instanceof FileChannel in) {
+                long position = in.position();
+                long n = in.transferTo(position, count, dst);
+                in.position(position + n);
+                return n;
+            }
+            return copyThroughBuffer(src, dst, count);
+        } finally {
+            if (seekableSrc != null) {
+                seekableSrc.position(savedSrcPosition);
+            }
+            if (seekableDst != null) {
+                seekableDst.position(savedDstPosition);
+            }
+        }
+    }
+
+    private static long copyThroughBuffer(ReadableByteChannel src, WritableByteChannel dst, long count) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(count, TRANSFER_CHUNK));
+        long total = 0;
+        while (total < count) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), count - total));
+            int n = src.read(buffer);
+            if (n <= 0) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                if (dst.write(buffer) <= 0) {
+                    return total + n - buffer.remaining();
+                }
+            }
+            total += n;
+            if (!(src instanceof SeekableByteChannel)) {
+                // like the syscalls, do not wait for more data from pipes and sockets
+                break;
+            }
+        }
+        return total;
+    }
+
     @Override
     @ExportMessage
     public int dup(int fd) {
@@ -699,26 +1077,467 @@ public final class EmulatedPosixSupport extends PosixResources {
             if (ch == null) {
                 throw posixException(OSErrorEnum.EBADF);
             }
-            if (ch instanceof SelectableChannel) {
-                channels[i] = (SelectableChannel) ch;
-            } else if (ch instanceof EmulatedDatagramSocket) {
-                channels[i] = ((EmulatedDatagramSocket) ch).channel;
-            } else if (ch instanceof EmulatedStreamSocket) {
-                EmulatedStreamSocket streamSocket = (EmulatedStreamSocket) ch;
-                synchronized (streamSocket) {
-                    if (streamSocket.clientChannel != null) {
-                        channels[i] = streamSocket.clientChannel;
-                    } else if (streamSocket.serverChannel != null) {
-                        channels[i] = streamSocket.serverChannel;
-                    } else {
-                        throw ChannelNotSelectableException.INSTANCE;
+            channels[i] = toSelectableChannel(ch);
+            if (channels[i] == null) {
+                throw ChannelNotSelectableException.INSTANCE;
+            }
+        }
+        return channels;
+    }
+
+    private static SelectableChannel toSelectableChannel(Channel ch) {
+        if (ch instanceof SelectableChannel) {
+            return (SelectableChannel) ch;
+        } else if (ch instanceof EmulatedDatagramSocket) {
+            return ((EmulatedDatagramSocket) ch).channel;
+        } else if (ch instanceof EmulatedStreamSocket) {
+            EmulatedStreamSocket streamSocket = (EmulatedStreamSocket) ch;
+            synchronized (streamSocket) {
+                if (streamSocket.clientChannel != null) {
+                    return streamSocket.clientChannel;
+                }
+                return streamSocket.serverChannel;
+            }
+        }
+        return null;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public int poll(int[] fds, int[] events, int[] revents, int timeoutMs) throws PosixException {
+        if (PythonOptions.WITHOUT_JAVA_INET || withoutIOSocket) {
+            throw new UnsupportedPosixFeatureException("poll was excluded");
+        }
+        int ready = 0;
+        Channel[] channels = new Channel[fds.length];
+        for (int i = 0; i < fds.length; i++) {
+            channels[i] = getFileChannel(fds[i]);
+            if (channels[i] == null) {
+                revents[i] = POLLNVAL.getValueIfDefined();
+                ready++;
+            }
+        }
+        return ready + waitForEvents(channels, events, revents, ready > 0 ? 0 : timeoutMs, POLLIN.getValueIfDefined(), POLLOUT.getValueIfDefined());
+    }
+
+    /**
+     * Emulation of {@code poll}, which has no state between calls. Waits on a temporary
+     * {@link Selector} for the requested read/write readiness of the given channels ({@code null}
+     * entries are skipped). Channels that are not selectable, such as regular files, are always
+     * reported as ready, which matches the behavior of {@code poll(2)} for regular files.
+     */
+    private static int waitForEvents(Channel[] channels, int[] events, int[] revents, int timeoutMs, int inFlag, int outFlag) throws PosixException {
+        int ready = 0;
+        SelectableChannel[] selectable = new SelectableChannel[channels.length];
+        boolean[] restoreBlocking = new boolean[channels.length];
+        try (Selector selector = Selector.open()) {
+            for (int i = 0; i < channels.length; i++) {
+                if (channels[i] == null) {
+                    continue;
+                }
+                revents[i] = 0;
+                SelectableChannel channel = toSelectableChannel(channels[i]);
+                if (channel == null) {
+                    revents[i] = events[i] & (inFlag | outFlag);
+                    if (revents[i] != 0) {
+                        ready++;
                     }
+                    continue;
+                }
+                selectable[i] = channel;
+                int ops = toInterestOps(events[i], inFlag, outFlag) & channel.validOps();
+                SelectionKey key = channel.keyFor(selector);
+                if (key != null) {
+                    // the same file descriptor (or a dup of it) was given more than once
+                    key.interestOps(key.interestOps() | ops);
+                } else {
+                    restoreBlocking[i] = channel.isBlocking();
+                    channel.configureBlocking(false);
+                    channel.register(selector, ops);
                 }
+            }
+
+            // A negative timeout means infinite wait, for which the Java API uses 0
+            if (ready > 0 || timeoutMs == 0) {
+                selector.selectNow();
             } else {
-                throw ChannelNotSelectableException.INSTANCE;
+                selector.select(timeoutMs < 0 ? 0 : timeoutMs);
+            }
+
+            for (int i = 0; i < channels.length; i++) {
+                if (selectable[i] == null) {
+                    continue;
+                }
+                revents[i] = toPollEvents(selectable[i].keyFor(selector).readyOps(), inFlag, outFlag) & events[i];
+                if (revents[i] != 0) {
+                    ready++;
+                }
+            }
+            return ready;
+        } catch (IOException e) {
+            throw posixException(OSErrorEnum.fromException(e, TruffleString.EqualNode.getUncached()));
+        } finally {
+            try {
+                for (int i = 0; i < channels.length; i++) {
+                    if (restoreBlocking[i]) {
+                        selectable[i].configureBlocking(true);
+                    }
+                }
+            } catch (IOException e) {
+                // We didn't manage to restore the blocking status, ignore
+            }
+        }
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public int epollCreate() {
+        if (PythonOptions.WITHOUT_JAVA_INET || withoutIOSocket) {
+            throw new UnsupportedPosixFeatureException("epoll was excluded");
+        }
+        EmulatedEpoll epoll = new EmulatedEpoll();
+        synchronized (epolls) {
+            epolls.add(epoll);
+        }
+        return assignFileDescriptor(epoll);
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public void epollCtl(int epfd, int op, int fd, int events) throws PosixException {
+        EmulatedEpoll epoll = getEpoll(epfd);
+        Channel channel = getFileChannel(fd);
+        if (channel == null) {
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        if (fd == epfd) {
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        if (op != EPOLL_CTL_DEL.getValueIfDefined() && (events & EPOLLET.getValueIfDefined()) != 0) {
+            // a selector only reports the current readiness, edge-triggered mode cannot be emulated
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        try {
+            synchronized (epoll) {
+                EpollRegistration registration = epoll.interest.get(fd);
+                if (op == EPOLL_CTL_ADD.getValueIfDefined()) {
+                    if (registration != null) {
+                        throw posixException(OSErrorEnum.EEXIST);
+                    }
+                    registration = new EpollRegistration(channel, toSelectableChannel(channel), events);
+                    epoll.interest.put(fd, registration);
+                } else if (op == EPOLL_CTL_MOD.getValueIfDefined()) {
+                    if (registration == null) {
+                        throw posixException(OSErrorEnum.ENOENT);
+                    }
+                    registration.events = events;
+                } else if (op == EPOLL_CTL_DEL.getValueIfDefined()) {
+                    if (registration == null) {
+                        throw posixException(OSErrorEnum.ENOENT);
+                    }
+                    epoll.interest.remove(fd);
+                } else {
+                    throw posixException(OSErrorEnum.EINVAL);
+                }
+                if (registration.selectable != null) {
+                    epoll.updateKey(registration.selectable);
+                }
+            }
+        } catch (IOException e) {
+            throw posixException(OSErrorEnum.fromException(e, TruffleString.EqualNode.getUncached()));
+        }
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public int epollWait(int epfd, int[] fds, int[] events, int timeoutMs) throws PosixException {
+        EmulatedEpoll epoll = getEpoll(epfd);
+        if (fds.length == 0) {
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(timeoutMs, 0));
+        long remainingMs = timeoutMs;
+        try {
+            while (true) {
+                int count;
+                epoll.waitLock.lock();
+                try {
+                    count = epollWaitOnce(epoll, fds, events, remainingMs);
+                } finally {
+                    epoll.waitLock.unlock();
+                }
+                // the selector may have been woken up to detach a channel, wait again in that case
+                if (count > 0 || timeoutMs == 0) {
+                    return count;
+                }
+                if (timeoutMs > 0) {
+                    remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remainingMs <= 0) {
+                        return 0;
+                    }
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            throw posixException(OSErrorEnum.EBADF);
+        } catch (IOException e) {
+            throw posixException(OSErrorEnum.fromException(e, TruffleString.EqualNode.getUncached()));
+        }
+    }
+
+    private int epollWaitOnce(EmulatedEpoll epoll, int[] fds, int[] events, long timeoutMs) throws IOException {
+        Selector selector = epoll.getSelector();
+        int inFlag = EPOLLIN.getValueIfDefined();
+        int outFlag = EPOLLOUT.getValueIfDefined();
+        List<SelectionKey> temporaryKeys = new ArrayList<>();
+        int[] registeredFds;
+        EpollRegistration[] registrations;
+        boolean anyReady = false;
+        try {
+            synchronized (epoll) {
+                int n = epoll.interest.size();
+                registeredFds = new int[n];
+                registrations = new EpollRegistration[n];
+                int i = 0;
+                Iterator<Map.Entry<Integer, EpollRegistration>> it = epoll.interest.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<Integer, EpollRegistration> entry = it.next();
+                    EpollRegistration registration = entry.getValue();
+                    if (getFileChannel(entry.getKey()) != registration.channel) {
+                        // closed file descriptors are removed from the interest list implicitly
+                        it.remove();
+                        continue;
+                    }
+                    registeredFds[i] = entry.getKey();
+                    registrations[i++] = registration;
+                }
+                for (int j = 0; j < i; j++) {
+                    SelectableChannel channel = registrations[j].selectable;
+                    if (channel == null) {
+                        // regular files are always ready
+                        anyReady |= (registrations[j].events & (inFlag | outFlag)) != 0;
+                    } else if (channel.isBlocking()) {
+                        // a channel in blocking mode cannot stay registered, add it for this wait only
+                        int ops = toInterestOps(registrations[j].events, inFlag, outFlag) & channel.validOps();
+                        SelectionKey key = channel.keyFor(selector);
+                        if (key == null) {
+                            channel.configureBlocking(false);
+                            temporaryKeys.add(channel.register(selector, ops));
+                        } else {
+                            key.interestOps(key.interestOps() | ops);
+                        }
+                    } else if (channel.keyFor(selector) == null) {
+                        // the channel was switched to non-blocking mode after it was added
+                        epoll.updateKey(channel);
+                    }
+                }
+                if (i < n) {
+                    registeredFds = Arrays.copyOf(registeredFds, i);
+                    registrations = Arrays.copyOf(registrations, i);
+                }
+            }
+
+            // A negative timeout means infinite wait, for which the Java API uses 0
+            selector.selectedKeys().clear();
+            if (anyReady || timeoutMs == 0) {
+                selector.selectNow();
+            } else {
+                selector.select(timeoutMs < 0 ? 0 : timeoutMs);
+            }
+
+            Set<SelectionKey> selected = selector.selectedKeys();
+            int count = 0;
+            synchronized (epoll) {
+                for (int i = 0; i < registrations.length && count < fds.length; i++) {
+                    EpollRegistration registration = registrations[i];
+                    int revents;
+                    if (registration.selectable == null) {
+                        revents = inFlag | outFlag;
+                    } else {
+                        SelectionKey key = registration.selectable.keyFor(selector);
+                        revents = key != null && selected.contains(key) ? toPollEvents(key.readyOps(), inFlag, outFlag) : 0;
+                    }
+                    revents &= registration.events;
+                    if (revents != 0) {
+                        fds[count] = registeredFds[i];
+                        events[count] = revents;
+                        count++;
+                        if ((registration.events & EPOLLONESHOT.getValueIfDefined()) != 0) {
+                            registration.events = 0;
+                            if (registration.selectable != null) {
+                                epoll.updateKey(registration.selectable);
+                            }
+                        }
+                    }
+                }
+            }
+            return count;
+        } finally {
+            if (!temporaryKeys.isEmpty()) {
+                for (SelectionKey key : temporaryKeys) {
+                    key.cancel();
+                }
+                try {
+                    // flush the cancelled keys so that the channels can be put back to blocking mode
+                    selector.selectNow();
+                    for (SelectionKey key : temporaryKeys) {
+                        key.channel().configureBlocking(true);
+                    }
+                } catch (IOException e) {
+                    // We didn't manage to restore the blocking status, ignore
+                }
+            }
+        }
+    }
+
+    private static int toInterestOps(int events, int inFlag, int outFlag) {
+        int ops = 0;
+        if ((events & inFlag) != 0) {
+            ops |= SelectionKey.OP_READ | SelectionKey.OP_ACCEPT;
+        }
+        if ((events & outFlag) != 0) {
+            ops |= SelectionKey.OP_WRITE | SelectionKey.OP_CONNECT;
+        }
+        return ops;
+    }
+
+    private static int toPollEvents(int readyOps, int inFlag, int outFlag) {
+        int events = 0;
+        if ((readyOps & (SelectionKey.OP_READ | SelectionKey.OP_ACCEPT)) != 0) {
+            events |= inFlag;
+        }
+        if ((readyOps & (SelectionKey.OP_WRITE | SelectionKey.OP_CONNECT)) != 0) {
+            events |= outFlag;
+        }
+        return events;
+    }
+
+    private EmulatedEpoll getEpoll(int epfd) throws PosixException {
+        Channel channel = getFileChannel(epfd);
+        if (channel == null) {
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        if (!(channel instanceof EmulatedEpoll)) {
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        return (EmulatedEpoll) channel;
+    }
+
+    /**
+     * A channel that is registered with a selector cannot be put into blocking mode. Cancels the
+     * keys of the given channel in all epoll instances, it is then registered for each
+     * {@code epoll_wait} separately until it is switched back to non-blocking mode.
+     */
+    private void detachFromEpolls(SelectableChannel channel) throws IOException {
+        EmulatedEpoll[] instances;
+        synchronized (epolls) {
+            instances = epolls.toArray(new EmulatedEpoll[0]);
+        }
+        for (EmulatedEpoll epoll : instances) {
+            epoll.detach(channel);
+        }
+    }
+
+    private static final class EpollRegistration {
+        final Channel channel;
+        final SelectableChannel selectable;
+        int events;
+
+        EpollRegistration(Channel channel, SelectableChannel selectable, int events) {
+            this.channel = channel;
+            this.selectable = selectable;
+            this.events = events;
+        }
+    }
+
+    /**
+     * An epoll instance keeps the channels of its interest list registered with a single
+     * long-lived {@link Selector}, {@code epoll_ctl} updates their interest sets and
+     * {@code epoll_wait} only selects. Channels in blocking mode cannot stay registered with a
+     * selector, they are registered for the duration of a single wait. Waits on the same instance
+     * are serialized, because the selected-key set of a selector is not thread-safe. Edge-triggered
+     * mode is not supported.
+     */
+    private static final class EmulatedEpoll implements Channel {
+        final Map<Integer, EpollRegistration> interest = new LinkedHashMap<>();
+        final ReentrantLock waitLock = new ReentrantLock();
+        private Selector selector;
+        private volatile boolean open = true;
+
+        synchronized Selector getSelector() throws IOException {
+            if (selector == null) {
+                if (!open) {
+                    throw new ClosedSelectorException();
+                }
+                selector = Selector.open();
+            }
+            return selector;
+        }
+
+        /**
+         * Sets the interest set of the key of the given channel to the union of the events of all
+         * file descriptors that refer to it. Must be called while holding the monitor.
+         */
+        void updateKey(SelectableChannel channel) throws IOException {
+            if (channel.isBlocking()) {
+                return;
+            }
+            int ops = 0;
+            for (EpollRegistration registration : interest.values()) {
+                if (registration.selectable == channel) {
+                    ops |= toInterestOps(registration.events, EPOLLIN.getValueIfDefined(), EPOLLOUT.getValueIfDefined());
+                }
+            }
+            ops &= channel.validOps();
+            SelectionKey key = channel.keyFor(getSelector());
+            if (key == null) {
+                if (ops != 0) {
+                    channel.register(selector, ops);
+                }
+            } else if (key.isValid()) {
+                key.interestOps(ops);
+            }
+        }
+
+        void detach(SelectableChannel channel) throws IOException {
+            Selector s;
+            synchronized (this) {
+                s = selector;
+            }
+            if (s == null || !s.isOpen()) {
+                return;
+            }
+            SelectionKey key = channel.keyFor(s);
+            if (key == null) {
+                return;
+            }
+            key.cancel();
+            // the key is only deregistered by the next selection operation
+            while (channel.keyFor(s) != null && s.isOpen()) {
+                if (waitLock.tryLock()) {
+                    try {
+                        s.selectNow();
+                    } finally {
+                        waitLock.unlock();
+                    }
+                } else {
+                    s.wakeup();
+                    Thread.yield();
+                }
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            open = false;
+            if (selector != null) {
+                selector.close();
             }
         }
-        return channels;
     }
 
     @ExportMessage
@@ -961,14 +1780,26 @@ public final class EmulatedPosixSupport extends PosixResources {
 
     @TruffleBoundary
     @Ignore
-    private static void setBlocking(SelectableChannel channel, boolean block) throws IOException {
-        channel.configureBlocking(block);
+    private void setBlocking(SelectableChannel channel, boolean block) throws IOException {
+        try {
+            channel.configureBlocking(block);
+        } catch (IllegalBlockingModeException e) {
+            // the channel is still registered with the selector of an epoll instance
+            detachFromEpolls(channel);
+            channel.configureBlocking(block);
+        }
     }
 
     @TruffleBoundary
     @Ignore
-    private static void setBlocking(EmulatedSocket socket, boolean block) throws IOException {
-        socket.configureBlocking(block);
+    private void setBlocking(EmulatedSocket socket, boolean block) throws IOException {
+        try {
+            socket.configureBlocking(block);
+        } catch (IllegalBlockingModeException e) {
+            // the channel is still registered with the selector of an epoll instance
+            detachFromEpolls(toSelectableChannel(socket));
+            socket.configureBlocking(block);
+        }
     }
 
     @ExportMessage
@@ -1546,6 +2377,30 @@ public final class EmulatedPosixSupport extends PosixResources {
         }
     }
 
+    @ExportMessage
+    @TruffleBoundary
+    public ReaddirBatchResult readdirBatch(Object dirStreamObj, int maxEntries,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        // there is no cheaper way to read several entries here, the stat data is not prefetched
+        ArrayList<Object> entries = new ArrayList<>();
+        while (entries.size() < maxEntries) {
+            Object entry;
+            try {
+                entry = readdir(dirStreamObj, eqNode);
+            } catch (PosixException e) {
+                if (entries.isEmpty()) {
+                    throw e;
+                }
+                return new ReaddirBatchResult(entries.toArray(), e);
+            }
+            if (entry == null) {
+                break;
+            }
+            entries.add(entry);
+        }
+        return new ReaddirBatchResult(entries.toArray(), null);
+    }
+
     @ExportMessage
     @SuppressWarnings("static-method")
     public void rewinddir(Object dirStreamObj) {
@@ -1611,6 +2466,12 @@ public final class EmulatedPosixSupport extends PosixResources {
         return DT_UNKNOWN.value;
     }
 
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    public long[] dirEntryGetStat(@SuppressWarnings("unused") Object dirEntry) {
+        return null;
+    }
+
     @ExportMessage
     public void utimensat(int dirFd, Object path, long[] timespec, boolean followSymlinks,
                     @Bind("$node") Node inliningTarget,
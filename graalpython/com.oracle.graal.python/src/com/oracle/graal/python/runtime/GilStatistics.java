@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLogger;
+
+/**
+ * GIL contention and hold-time statistics of a context, enabled with
+ * {@link PythonOptions#GilStatistics}. {@link PythonContext} reports every acquisition and
+ * release of the GIL, the {@link AsyncHandler} reports drop requests.
+ *
+ * Apart from the drop request counter, all state is only updated by the thread that holds the GIL
+ * (waits are recorded right after the GIL was acquired, holds right before it is released), so no
+ * further synchronization is needed. Wait and hold times are collected in histograms with
+ * power-of-two microsecond buckets and are also attributed to the thread that waited or held.
+ * Uncontended acquisitions are counted as zero waits.
+ *
+ * Individual waits and holds that exceed the switch interval are logged as {@code FINE} events on
+ * the {@code python.GilStatistics} logger, {@code FINER} additionally logs every drop request. A
+ * summary is logged at {@code INFO} when the context is finalized.
+ */
+public final class GilStatistics {
+    private static final TruffleLogger LOGGER = PythonLanguage.getLogger(GilStatistics.class);
+
+    /**
+     * Bucket {@code 0} counts times below 1us, bucket {@code i} times in
+     * {@code [2^(i-1)us, 2^i us)}, the last bucket everything from {@code 2^(N-2)us} on.
+     */
+    public static final int HISTOGRAM_BUCKETS = 24;
+
+    /**
+     * Threads beyond this number are attributed to a single shared entry, so services that start a
+     * thread per request do not grow the statistics without bound.
+     */
+    private static final int MAX_TRACKED_THREADS = 1024;
+
+    public static final class ThreadStatistics {
+        private final String name;
+        private final long id;
+        long acquisitions;
+        long contendedAcquisitions;
+        long waitNanos;
+        long holdNanos;
+        long handoffs;
+        long acquiredAt;
+
+        ThreadStatistics(String name, long id) {
+            this.name = name;
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public long getAcquisitions() {
+            return acquisitions;
+        }
+
+        public long getContendedAcquisitions() {
+            return contendedAcquisitions;
+        }
+
+        public long getWaitNanos() {
+            return waitNanos;
+        }
+
+        public long getHoldNanos() {
+            return holdNanos;
+        }
+
+        public long getHandoffs() {
+            return handoffs;
+        }
+
+        void reset() {
+            acquisitions = 0;
+            contendedAcquisitions = 0;
+            waitNanos = 0;
+            holdNanos = 0;
+            handoffs = 0;
+        }
+    }
+
+    private final PythonContext context;
+    private final ThreadLocal<ThreadStatistics> threadStatistics = ThreadLocal.withInitial(this::registerThread);
+    // guarded by this
+    private final ArrayList<ThreadStatistics> threads = new ArrayList<>();
+    private ThreadStatistics otherThreads;
+
+    private final long[] waitHistogram = new long[HISTOGRAM_BUCKETS];
+    private final long[] holdHistogram = new long[HISTOGRAM_BUCKETS];
+    private long acquisitions;
+    private long contendedAcquisitions;
+    private long waitNanos;
+    private long holdNanos;
+    private long handoffs;
+    private final AtomicLong dropRequests = new AtomicLong();
+
+    GilStatistics(PythonContext context) {
+        this.context = context;
+    }
+
+    private synchronized ThreadStatistics registerThread() {
+        if (threads.size() < MAX_TRACKED_THREADS) {
+            Thread thread = Thread.currentThread();
+            ThreadStatistics stats = new ThreadStatistics(thread.getName(), thread.getId());
+            threads.add(stats);
+            return stats;
+        }
+        if (otherThreads == null) {
+            otherThreads = new ThreadStatistics("<other>", -1);
+            threads.add(otherThreads);
+        }
+        return otherThreads;
+    }
+
+    static int bucket(long nanos) {
+        long micros = nanos / 1000;
+        if (micros <= 0) {
+            return 0;
+        }
+        return Math.min(HISTOGRAM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    /**
+     * Called right after the current thread acquired the GIL. {@code waitStart} is the
+     * {@link System#nanoTime()} from before the acquisition was attempted.
+     */
+    @TruffleBoundary
+    void acquired(long waitStart, boolean contended) {
+        long now = System.nanoTime();
+        ThreadStatistics stats = threadStatistics.get();
+        stats.acquiredAt = now;
+        stats.acquisitions++;
+        acquisitions++;
+        if (contended) {
+            long wait = now - waitStart;
+            stats.contendedAcquisitions++;
+            stats.waitNanos += wait;
+            contendedAcquisitions++;
+            waitNanos += wait;
+            waitHistogram[bucket(wait)]++;
+            if (LOGGER.isLoggable(Level.FINE) && wait > context.getSwitchIntervalNanos()) {
+                LOGGER.fine(String.format("GIL wait: thread=%s waited=%dus", stats.name, wait / 1000));
+            }
+        } else {
+            waitHistogram[0]++;
+        }
+    }
+
+    /**
+     * Called right before the current thread releases the GIL.
+     */
+    @TruffleBoundary
+    void releasing() {
+        ThreadStatistics stats = threadStatistics.get();
+        long hold = System.nanoTime() - stats.acquiredAt;
+        stats.holdNanos += hold;
+        holdNanos += hold;
+        holdHistogram[bucket(hold)]++;
+        if (LOGGER.isLoggable(Level.FINE) && hold > context.getSwitchIntervalNanos()) {
+            LOGGER.fine(String.format("GIL hold: thread=%s held=%dus", stats.name, hold / 1000));
+        }
+    }
+
+    /**
+     * Called by the GIL owner before it drops the GIL to hand it over to a waiting thread.
+     */
+    @TruffleBoundary
+    void handoff() {
+        threadStatistics.get().handoffs++;
+        handoffs++;
+    }
+
+    /**
+     * Called by the GIL release scheduler, does not hold the GIL.
+     */
+    @TruffleBoundary
+    void dropRequested(Thread owner) {
+        dropRequests.incrementAndGet();
+        if (LOGGER.isLoggable(Level.FINER)) {
+            LOGGER.finer(String.format("GIL drop request: owner=%s", owner.getName()));
+        }
+    }
+
+    public long getAcquisitions() {
+        return acquisitions;
+    }
+
+    public long getContendedAcquisitions() {
+        return contendedAcquisitions;
+    }
+
+    public long getWaitNanos() {
+        return waitNanos;
+    }
+
+    public long getHoldNanos() {
+        return holdNanos;
+    }
+
+    public long getHandoffs() {
+        return handoffs;
+    }
+
+    public long getDropRequests() {
+        return dropRequests.get();
+    }
+
+    public long[] getWaitHistogram() {
+        return waitHistogram.clone();
+    }
+
+    public long[] getHoldHistogram() {
+        return holdHistogram.clone();
+    }
+
+    /**
+     * Returns the upper bound in microseconds of each histogram bucket, the last bucket is
+     * unbounded and reported as {@code -1}.
+     */
+    public static long[] getHistogramBounds() {
+        long[] bounds = new long[HISTOGRAM_BUCKETS];
+        for (int i = 0; i < HISTOGRAM_BUCKETS - 1; i++) {
+            bounds[i] = 1L << i;
+        }
+        bounds[HISTOGRAM_BUCKETS - 1] = -1;
+        return bounds;
+    }
+
+    public synchronized ThreadStatistics[] getThreadStatistics() {
+        return threads.toArray(new ThreadStatistics[0]);
+    }
+
+    /**
+     * Must be called while holding the GIL. The hold time of the calling thread keeps counting from
+     * its last acquisition.
+     */
+    public synchronized void reset() {
+        acquisitions = 0;
+        contendedAcquisitions = 0;
+        waitNanos = 0;
+        holdNanos = 0;
+        handoffs = 0;
+        dropRequests.set(0);
+        Arrays.fill(waitHistogram, 0);
+        Arrays.fill(holdHistogram, 0);
+        for (ThreadStatistics stats : threads) {
+            stats.reset();
+        }
+    }
+
+    @TruffleBoundary
+    void logSummary() {
+        if (!LOGGER.isLoggable(Level.INFO)) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("GIL statistics: acquisitions=%d contended=%d wait=%dus hold=%dus handoffs=%d drop_requests=%d", acquisitions, contendedAcquisitions, waitNanos / 1000,
+                        holdNanos / 1000, handoffs, dropRequests.get()));
+        for (ThreadStatistics stats : getThreadStatistics()) {
+            sb.append(String.format("%n  thread=%s acquisitions=%d contended=%d wait=%dus hold=%dus handoffs=%d", stats.name, stats.acquisitions, stats.contendedAcquisitions,
+                            stats.waitNanos / 1000, stats.holdNanos / 1000, stats.handoffs));
+        }
+        LOGGER.info(sb.toString());
+    }
+}
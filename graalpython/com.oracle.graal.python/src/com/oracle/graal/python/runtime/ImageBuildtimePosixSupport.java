@@ -58,6 +58,7 @@ import com.oracle.graal.python.runtime.PosixSupportLibrary.InvalidUnixSocketPath
 import com.oracle.graal.python.runtime.PosixSupportLibrary.OpenPtyResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.PwdResult;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.ReaddirBatchResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.RecvfromResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.SelectResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.Timeval;
@@ -208,6 +209,73 @@ public class ImageBuildtimePosixSupport extends PosixSupport {
         return nativeLib.write(nativePosixSupport, fd, data);
     }
 
+    @ExportMessage
+    final int readInto(int fd, byte[] buf, int offset, int length,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        if (ImageInfo.inImageBuildtimeCode()) {
+            return PosixSupportLibrary.getUncached().readInto(emulatedPosixSupport, fd, buf, offset, length);
+        }
+        return nativeLib.readInto(nativePosixSupport, fd, buf, offset, length);
+    }
+
+    @ExportMessage
+    final int readIntoPointer(int fd, long pointer, int length,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.readIntoPointer(nativePosixSupport, fd, pointer, length);
+    }
+
+    @ExportMessage
+    final long preadv(int fd, byte[][] buffers, int[] lengths, long offset,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        if (ImageInfo.inImageBuildtimeCode()) {
+            return PosixSupportLibrary.getUncached().preadv(emulatedPosixSupport, fd, buffers, lengths, offset);
+        }
+        return nativeLib.preadv(nativePosixSupport, fd, buffers, lengths, offset);
+    }
+
+    @ExportMessage
+    final long pwritev(int fd, byte[][] buffers, int[] lengths, long offset,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.pwritev(nativePosixSupport, fd, buffers, lengths, offset);
+    }
+
+    @ExportMessage
+    final long preadvPointers(int fd, long[] pointers, int[] lengths, long offset,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.preadvPointers(nativePosixSupport, fd, pointers, lengths, offset);
+    }
+
+    @ExportMessage
+    final long pwritevPointers(int fd, long[] pointers, int[] lengths, long offset,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.pwritevPointers(nativePosixSupport, fd, pointers, lengths, offset);
+    }
+
+    @ExportMessage
+    final long sendfile(int outFd, int inFd, long offset, long count,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.sendfile(nativePosixSupport, outFd, inFd, offset, count);
+    }
+
+    @ExportMessage
+    final long copyFileRange(int srcFd, long srcOffset, int dstFd, long dstOffset, long count,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.copyFileRange(nativePosixSupport, srcFd, srcOffset, dstFd, dstOffset, count);
+    }
+
+    @ExportMessage
+    final long splice(int srcFd, long srcOffset, int dstFd, long dstOffset, long count, int flags,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.splice(nativePosixSupport, srcFd, srcOffset, dstFd, dstOffset, count, flags);
+    }
+
     @ExportMessage
     final int dup(int fd,
                     @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
@@ -252,6 +320,33 @@ public class ImageBuildtimePosixSupport extends PosixSupport {
         return nativeLib.select(nativePosixSupport, readfds, writefds, errorfds, timeout);
     }
 
+    @ExportMessage
+    final int poll(int[] fds, int[] events, int[] revents, int timeoutMs,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.poll(nativePosixSupport, fds, events, revents, timeoutMs);
+    }
+
+    @ExportMessage
+    final int epollCreate(@CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.epollCreate(nativePosixSupport);
+    }
+
+    @ExportMessage
+    final void epollCtl(int epfd, int op, int fd, int events,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        nativeLib.epollCtl(nativePosixSupport, epfd, op, fd, events);
+    }
+
+    @ExportMessage
+    final int epollWait(int epfd, int[] fds, int[] events, int timeoutMs,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.epollWait(nativePosixSupport, epfd, fds, events, timeoutMs);
+    }
+
     @ExportMessage
     final long lseek(int fd, long offset, int how,
                     @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
@@ -442,6 +537,15 @@ public class ImageBuildtimePosixSupport extends PosixSupport {
         return nativeLib.readdir(nativePosixSupport, dirStream);
     }
 
+    @ExportMessage
+    final ReaddirBatchResult readdirBatch(Object dirStream, int maxEntries,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        if (ImageInfo.inImageBuildtimeCode()) {
+            return PosixSupportLibrary.getUncached().readdirBatch(emulatedPosixSupport, dirStream, maxEntries);
+        }
+        return nativeLib.readdirBatch(nativePosixSupport, dirStream, maxEntries);
+    }
+
     @ExportMessage
     final void rewinddir(Object dirStream,
                     @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) {
@@ -481,6 +585,13 @@ public class ImageBuildtimePosixSupport extends PosixSupport {
         return nativeLib.dirEntryGetType(nativePosixSupport, dirEntry);
     }
 
+    @ExportMessage
+    final long[] dirEntryGetStat(Object dirEntry,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) {
+        checkNotInImageBuildtime();
+        return nativeLib.dirEntryGetStat(nativePosixSupport, dirEntry);
+    }
+
     @ExportMessage
     final void utimensat(int dirFd, Object pathname, long[] timespec, boolean followSymlinks,
                     @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
@@ -57,6 +57,7 @@ import com.oracle.graal.python.runtime.PosixSupportLibrary.InvalidUnixSocketPath
 import com.oracle.graal.python.runtime.PosixSupportLibrary.OpenPtyResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.PwdResult;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.ReaddirBatchResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.RecvfromResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.SelectResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.Timeval;
@@ -194,6 +195,105 @@ public class LoggingPosixSupport extends PosixSupport {
         }
     }
 
+    @ExportMessage
+    final int readInto(int fd, byte[] buf, int offset, int length,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("readInto", "%d, %d, %d", fd, offset, length);
+        try {
+            return logExit("readInto", "%d", lib.readInto(delegate, fd, buf, offset, length));
+        } catch (PosixException e) {
+            throw logException("readInto", e);
+        }
+    }
+
+    @ExportMessage
+    final int readIntoPointer(int fd, long pointer, int length,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("readIntoPointer", "%d, %d", fd, length);
+        try {
+            return logExit("readIntoPointer", "%d", lib.readIntoPointer(delegate, fd, pointer, length));
+        } catch (PosixException e) {
+            throw logException("readIntoPointer", e);
+        }
+    }
+
+    @ExportMessage
+    final long preadv(int fd, byte[][] buffers, int[] lengths, long offset,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("preadv", "%d, %d, %d", fd, buffers.length, offset);
+        try {
+            return logExit("preadv", "%d", lib.preadv(delegate, fd, buffers, lengths, offset));
+        } catch (PosixException e) {
+            throw logException("preadv", e);
+        }
+    }
+
+    @ExportMessage
+    final long pwritev(int fd, byte[][] buffers, int[] lengths, long offset,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("pwritev", "%d, %d, %d", fd, buffers.length, offset);
+        try {
+            return logExit("pwritev", "%d", lib.pwritev(delegate, fd, buffers, lengths, offset));
+        } catch (PosixException e) {
+            throw logException("pwritev", e);
+        }
+    }
+
+    @ExportMessage
+    final long preadvPointers(int fd, long[] pointers, int[] lengths, long offset,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("preadvPointers", "%d, %d, %d", fd, pointers.length, offset);
+        try {
+            return logExit("preadvPointers", "%d", lib.preadvPointers(delegate, fd, pointers, lengths, offset));
+        } catch (PosixException e) {
+            throw logException("preadvPointers", e);
+        }
+    }
+
+    @ExportMessage
+    final long pwritevPointers(int fd, long[] pointers, int[] lengths, long offset,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("pwritevPointers", "%d, %d, %d", fd, pointers.length, offset);
+        try {
+            return logExit("pwritevPointers", "%d", lib.pwritevPointers(delegate, fd, pointers, lengths, offset));
+        } catch (PosixException e) {
+            throw logException("pwritevPointers", e);
+        }
+    }
+
+    @ExportMessage
+    final long sendfile(int outFd, int inFd, long offset, long count,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("sendfile", "%d, %d, %d, %d", outFd, inFd, offset, count);
+        try {
+            return logExit("sendfile", "%d", lib.sendfile(delegate, outFd, inFd, offset, count));
+        } catch (PosixException e) {
+            throw logException("sendfile", e);
+        }
+    }
+
+    @ExportMessage
+    final long copyFileRange(int srcFd, long srcOffset, int dstFd, long dstOffset, long count,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("copyFileRange", "%d, %d, %d, %d, %d", srcFd, srcOffset, dstFd, dstOffset, count);
+        try {
+            return logExit("copyFileRange", "%d", lib.copyFileRange(delegate, srcFd, srcOffset, dstFd, dstOffset, count));
+        } catch (PosixException e) {
+            throw logException("copyFileRange", e);
+        }
+    }
+
+    @ExportMessage
+    final long splice(int srcFd, long srcOffset, int dstFd, long dstOffset, long count, int flags,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("splice", "%d, %d, %d, %d, %d, %d", srcFd, srcOffset, dstFd, dstOffset, count, flags);
+        try {
+            return logExit("splice", "%d", lib.splice(delegate, srcFd, srcOffset, dstFd, dstOffset, count, flags));
+        } catch (PosixException e) {
+            throw logException("splice", e);
+        }
+    }
+
     @ExportMessage
     final int dup(int fd,
                     @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
@@ -261,6 +361,49 @@ public class LoggingPosixSupport extends PosixSupport {
         }
     }
 
+    @ExportMessage
+    final int poll(int[] fds, int[] events, int[] revents, int timeoutMs,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("poll", "%s %s %d", fds, events, timeoutMs);
+        try {
+            return logExit("poll", "%d", lib.poll(delegate, fds, events, revents, timeoutMs));
+        } catch (PosixException e) {
+            throw logException("poll", e);
+        }
+    }
+
+    @ExportMessage
+    final int epollCreate(@CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("epollCreate", "");
+        try {
+            return logExit("epollCreate", "%d", lib.epollCreate(delegate));
+        } catch (PosixException e) {
+            throw logException("epollCreate", e);
+        }
+    }
+
+    @ExportMessage
+    final void epollCtl(int epfd, int op, int fd, int events,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("epollCtl", "%d %d %d %d", epfd, op, fd, events);
+        try {
+            lib.epollCtl(delegate, epfd, op, fd, events);
+        } catch (PosixException e) {
+            throw logException("epollCtl", e);
+        }
+    }
+
+    @ExportMessage
+    final int epollWait(int epfd, int[] fds, int[] events, int timeoutMs,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("epollWait", "%d %d %d", epfd, fds.length, timeoutMs);
+        try {
+            return logExit("epollWait", "%d", lib.epollWait(delegate, epfd, fds, events, timeoutMs));
+        } catch (PosixException e) {
+            throw logException("epollWait", e);
+        }
+    }
+
     @ExportMessage
     final long lseek(int fd, long offset, int how,
                     @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
@@ -532,6 +675,17 @@ public class LoggingPosixSupport extends PosixSupport {
         }
     }
 
+    @ExportMessage
+    final ReaddirBatchResult readdirBatch(Object dirStream, int maxEntries,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("readdirBatch", "%s, %d", dirStream, maxEntries);
+        try {
+            return logExit("readdirBatch", "%s", lib.readdirBatch(delegate, dirStream, maxEntries));
+        } catch (PosixException e) {
+            throw logException("readdirBatch", e);
+        }
+    }
+
     @ExportMessage
     final void rewinddir(Object dirStream,
                     @CachedLibrary("this.delegate") PosixSupportLibrary lib) {
@@ -579,6 +733,13 @@ public class LoggingPosixSupport extends PosixSupport {
         return logExit("dirEntryGetType", "%d", lib.dirEntryGetType(delegate, dirEntry));
     }
 
+    @ExportMessage
+    final long[] dirEntryGetStat(Object dirEntry,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) {
+        logEnter("dirEntryGetStat", "%s", dirEntry);
+        return logExit("dirEntryGetStat", "%s", lib.dirEntryGetStat(delegate, dirEntry));
+    }
+
     @ExportMessage
     final void utimensat(int dirFd, Object pathname, long[] timespec, boolean followSymlinks,
                     @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
@@ -105,6 +105,7 @@ import com.oracle.graal.python.runtime.PosixSupportLibrary.InvalidUnixSocketPath
 import com.oracle.graal.python.runtime.PosixSupportLibrary.OpenPtyResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.PwdResult;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.ReaddirBatchResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.RecvfromResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.SelectResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.Timeval;
@@ -151,6 +152,10 @@ public final class NFIPosixSupport extends PosixSupport {
 
     private static final int UNAME_BUF_LENGTH = 256;
     private static final int DIRENT_NAME_BUF_LENGTH = 256;
+    // must match READDIR_BATCH_STRIDE in posix.c: ino, type, name offset, name length, stat flag
+    // and 13 values of stat
+    private static final int READDIR_BATCH_STRIDE = 18;
+    private static final int READDIR_BATCH_MAX_ENTRIES = 256;
     private static final int PWD_OUTPUT_LEN = 5;
     private static final int PWD_BUFFER_MAX_SIZE = Integer.MAX_VALUE >> 2;
 
@@ -177,10 +182,22 @@ public final class NFIPosixSupport extends PosixSupport {
         call_close("(sint32):sint32"),
         call_read("(sint32, [sint8], uint64):sint64"),
         call_write("(sint32, [sint8], uint64):sint64"),
+        call_read_into("(sint32, [sint8], sint32, sint32):sint64"),
+        call_pread("(sint32, [sint8], uint64, sint64):sint64"),
+        call_pwrite("(sint32, [sint8], uint64, sint64):sint64"),
+        call_preadv("(sint32, [sint64], [sint32], sint32, sint64):sint64"),
+        call_pwritev("(sint32, [sint64], [sint32], sint32, sint64):sint64"),
+        call_sendfile("(sint32, sint32, sint64, sint64):sint64"),
+        call_copy_file_range("(sint32, sint64, sint32, sint64, sint64):sint64"),
+        call_splice("(sint32, sint64, sint32, sint64, sint64, sint32):sint64"),
         call_dup("(sint32):sint32"),
         call_dup2("(sint32, sint32, sint32):sint32"),
         call_pipe2("([sint32]):sint32"),
         call_select("(sint32, [sint32], sint32, [sint32], sint32, [sint32], sint32, sint64, sint64, [sint8]):sint32"),
+        call_poll("([sint32], [sint32], [sint32], sint32, sint32):sint32"),
+        call_epoll_create("():sint32"),
+        call_epoll_ctl("(sint32, sint32, sint32, sint32):sint32"),
+        call_epoll_wait("(sint32, [sint32], [sint32], sint32, sint32):sint32"),
         call_lseek("(sint32, sint64, sint32):sint64"),
         call_ftruncate("(sint32, sint64):sint32"),
         call_fsync("(sint32):sint32"),
@@ -203,6 +220,7 @@ public final class NFIPosixSupport extends PosixSupport {
         call_fdopendir("(sint32):sint64"),
         call_closedir("(sint64):sint32"),
         call_readdir("(sint64, [sint8], uint64, [sint64]):sint32"),
+        call_readdir_batch("(sint64, [sint8], uint64, [sint64], sint32):sint32"),
         call_rewinddir("(sint64):void"),
         call_utimensat("(sint32, [sint8], [sint64], sint32):sint32"),
         call_futimens("(sint32, [sint64]):sint32"),
@@ -552,6 +570,144 @@ public final class NFIPosixSupport extends PosixSupport {
         return n;
     }
 
+    @ExportMessage
+    public int readInto(int fd, byte[] buf, int offset, int length,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        checkBounds(buf, offset, length);
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_read_into, fd, wrap(buf), offset, length);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return (int) n;
+    }
+
+    @ExportMessage
+    public int readIntoPointer(int fd, long pointer, int length,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        return (int) preadvPointers(fd, new long[]{pointer}, new int[]{length}, -1, invokeNode);
+    }
+
+    /*
+     * NFI cannot pass an array of arrays, so the vectored calls on Java arrays transfer each array
+     * directly with its own pread/pwrite and stop at the first short transfer. Buffers in native
+     * memory go through a single preadv/pwritev on an iovec built on the native side.
+     */
+    @ExportMessage
+    public long preadv(int fd, byte[][] buffers, int[] lengths, long offset,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        checkTotalLength(buffers, lengths);
+        long total = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            long n = invokeNode.callLong(this, PosixNativeFunction.call_pread, fd, wrap(buffers[i]), lengths[i], offset < 0 ? -1 : offset + total);
+            if (n < 0) {
+                if (total > 0) {
+                    // like readv, report the data that has already been transferred
+                    return total;
+                }
+                throw getErrnoAndThrowPosixException(invokeNode);
+            }
+            total += n;
+            if (n < lengths[i]) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    @ExportMessage
+    public long pwritev(int fd, byte[][] buffers, int[] lengths, long offset,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        checkTotalLength(buffers, lengths);
+        long total = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            long n = invokeNode.callLong(this, PosixNativeFunction.call_pwrite, fd, wrap(buffers[i]), lengths[i], offset < 0 ? -1 : offset + total);
+            if (n < 0) {
+                if (total > 0) {
+                    return total;
+                }
+                throw getErrnoAndThrowPosixException(invokeNode);
+            }
+            total += n;
+            if (n < lengths[i]) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    @ExportMessage
+    public long preadvPointers(int fd, long[] pointers, int[] lengths, long offset,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        checkTotalLength(lengths);
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_preadv, fd, wrap(pointers), wrap(lengths), pointers.length, offset);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return n;
+    }
+
+    @ExportMessage
+    public long pwritevPointers(int fd, long[] pointers, int[] lengths, long offset,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        checkTotalLength(lengths);
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_pwritev, fd, wrap(pointers), wrap(lengths), pointers.length, offset);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return n;
+    }
+
+    private static void checkTotalLength(byte[][] buffers, int[] lengths) throws PosixException {
+        assert buffers.length == lengths.length;
+        for (int i = 0; i < buffers.length; i++) {
+            checkBounds(buffers[i], 0, lengths[i]);
+        }
+        checkTotalLength(lengths);
+    }
+
+    private static void checkTotalLength(int[] lengths) throws PosixException {
+        long total = 0;
+        for (int length : lengths) {
+            if (length < 0) {
+                throw new PosixException(OSErrorEnum.EINVAL.getNumber(), OSErrorEnum.EINVAL.getMessage());
+            }
+            total += length;
+        }
+        if (total > MAX_READ) {
+            throw new PosixException(OSErrorEnum.EINVAL.getNumber(), OSErrorEnum.EINVAL.getMessage());
+        }
+    }
+
+    @ExportMessage
+    public long sendfile(int outFd, int inFd, long offset, long count,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_sendfile, outFd, inFd, offset, count);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return n;
+    }
+
+    @ExportMessage
+    public long copyFileRange(int srcFd, long srcOffset, int dstFd, long dstOffset, long count,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_copy_file_range, srcFd, srcOffset, dstFd, dstOffset, count);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return n;
+    }
+
+    @ExportMessage
+    public long splice(int srcFd, long srcOffset, int dstFd, long dstOffset, long count, int flags,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_splice, srcFd, srcOffset, dstFd, dstOffset, count, flags);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return n;
+    }
+
     @ExportMessage
     public int dup(int fd,
                     @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
@@ -630,6 +786,43 @@ public final class NFIPosixSupport extends PosixSupport {
 
     }
 
+    @ExportMessage
+    public int poll(int[] fds, int[] events, int[] revents, int timeoutMs,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        int result = invokeNode.callInt(this, PosixNativeFunction.call_poll, wrap(fds), wrap(events), wrap(revents), fds.length, timeoutMs);
+        if (result < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return result;
+    }
+
+    @ExportMessage
+    public int epollCreate(@Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        int result = invokeNode.callInt(this, PosixNativeFunction.call_epoll_create);
+        if (result < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return result;
+    }
+
+    @ExportMessage
+    public void epollCtl(int epfd, int op, int fd, int events,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        if (invokeNode.callInt(this, PosixNativeFunction.call_epoll_ctl, epfd, op, fd, events) != 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+    }
+
+    @ExportMessage
+    public int epollWait(int epfd, int[] fds, int[] events, int timeoutMs,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        int result = invokeNode.callInt(this, PosixNativeFunction.call_epoll_wait, epfd, wrap(fds), wrap(events), fds.length, timeoutMs);
+        if (result < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return result;
+    }
+
     private static boolean[] selectFillInResult(int[] fds, byte[] selected, int selectedOffset) {
         boolean[] res = new boolean[fds.length];
         for (int i = 0; i < fds.length; i++) {
@@ -915,6 +1108,33 @@ public final class NFIPosixSupport extends PosixSupport {
         throw newPosixException(invokeNode, errno);
     }
 
+    @ExportMessage
+    public ReaddirBatchResult readdirBatch(Object dirStreamObj, int maxEntries,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        int max = Math.max(1, Math.min(maxEntries, READDIR_BATCH_MAX_ENTRIES));
+        Buffer names = Buffer.allocate((long) max * DIRENT_NAME_BUF_LENGTH);
+        // the last slot receives the errno of a failure after some entries have been read
+        long[] out = new long[max * READDIR_BATCH_STRIDE + 1];
+        int count = invokeNode.callInt(this, PosixNativeFunction.call_readdir_batch, dirStreamObj, wrap(names), names.data.length, wrap(out), max);
+        if (count < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        Object[] entries = new Object[count];
+        for (int i = 0; i < count; ++i) {
+            int base = i * READDIR_BATCH_STRIDE;
+            int nameOffset = (int) out[base + 2];
+            byte[] name = PythonUtils.arrayCopyOfRange(names.data, nameOffset, nameOffset + (int) out[base + 3]);
+            long[] stat = null;
+            if (out[base + 4] != 0) {
+                stat = new long[READDIR_BATCH_STRIDE - 5];
+                PythonUtils.arraycopy(out, base + 5, stat, 0, stat.length);
+            }
+            entries[i] = new DirEntry(Buffer.wrap(name), out[base], (int) out[base + 1], stat);
+        }
+        int errno = (int) out[max * READDIR_BATCH_STRIDE];
+        return new ReaddirBatchResult(entries, errno != 0 ? createPosixException(invokeNode, errno) : null);
+    }
+
     @ExportMessage
     public void rewinddir(Object dirStreamObj,
                     @Shared("invoke") @Cached InvokeNativeFunction invokeNode) {
@@ -973,6 +1193,13 @@ public final class NFIPosixSupport extends PosixSupport {
         return dirEntry.type;
     }
 
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    public long[] dirEntryGetStat(Object dirEntryObj) {
+        DirEntry dirEntry = (DirEntry) dirEntryObj;
+        return dirEntry.stat;
+    }
+
     @ExportMessage
     public void utimensat(int dirFd, Object pathname, long[] timespec, boolean followSymlinks,
                     @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
@@ -2525,11 +2752,17 @@ public final class NFIPosixSupport extends PosixSupport {
         final Buffer name;
         final long ino;
         final int type;
+        final long[] stat;
 
         DirEntry(Buffer name, long ino, int type) {
+            this(name, ino, type, null);
+        }
+
+        DirEntry(Buffer name, long ino, int type, long[] stat) {
             this.name = name;
             this.ino = ino;
             this.type = type;
+            this.stat = stat;
         }
 
         @Override
@@ -2557,9 +2790,13 @@ public final class NFIPosixSupport extends PosixSupport {
         throw newPosixException(invokeNode, getErrno(invokeNode));
     }
 
-    @TruffleBoundary
     private PosixException newPosixException(InvokeNativeFunction invokeNode, int errno) throws PosixException {
-        throw new PosixException(errno, strerror(errno, invokeNode, TruffleString.FromByteArrayNode.getUncached(), TruffleString.SwitchEncodingNode.getUncached()));
+        throw createPosixException(invokeNode, errno);
+    }
+
+    @TruffleBoundary
+    private PosixException createPosixException(InvokeNativeFunction invokeNode, int errno) {
+        return new PosixException(errno, strerror(errno, invokeNode, TruffleString.FromByteArrayNode.getUncached(), TruffleString.SwitchEncodingNode.getUncached()));
     }
 
     private Object wrap(byte[] bytes) {
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.modules.MarshalModuleBuiltins;
+import com.oracle.graal.python.compiler.CodeUnit;
+import com.oracle.graal.python.compiler.Compiler;
+import com.oracle.graal.python.pegparser.FutureFeature;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLogger;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * An on-disk cache of compiled {@link CodeUnit}s that survives across contexts and processes. It
+ * takes parsing and compilation out of the startup path of short-lived processes that keep
+ * importing the same modules.
+ *
+ * Entries are keyed by a SHA-256 digest of the interpreter version, the bytecode version, the
+ * compiler flags, the file name and the source text, so a changed source or a different
+ * interpreter simply misses the cache. Each entry has the following layout (big endian):
+ *
+ * <pre>
+ *   magic         4 bytes  "GPYC"
+ *   format        int      {@link #FORMAT_VERSION}
+ *   bytecode      int      {@link Compiler#BYTECODE_VERSION}
+ *   key           32 bytes SHA-256 of the inputs described above
+ *   length        int      length of the payload
+ *   checksum      long     CRC32 of the payload
+ *   payload       length   the {@link CodeUnit} serialized with marshal
+ * </pre>
+ *
+ * The payload checksum is verified unless {@link PythonOptions#CheckHashPycsMode} is
+ * {@code never}. Entries are read through a memory mapping when the file system supports it.
+ */
+public final class PersistentCodeCache {
+    private static final TruffleLogger LOGGER = PythonLanguage.getLogger(PersistentCodeCache.class);
+
+    private static final int MAGIC = 'G' << 24 | 'P' << 16 | 'Y' << 8 | 'C';
+    private static final int FORMAT_VERSION = 1;
+    private static final int KEY_LENGTH = 32;
+    private static final int HEADER_LENGTH = Integer.BYTES * 4 + KEY_LENGTH + Long.BYTES;
+    private static final String SUFFIX = ".gpyc";
+    private static final byte[] VERSION_TAG = (PythonLanguage.VERSION + "-" + PythonLanguage.GRAALVM_MAJOR + "." + PythonLanguage.GRAALVM_MINOR + "-" +
+                    Compiler.BYTECODE_VERSION).getBytes(StandardCharsets.UTF_8);
+
+    private final PythonContext context;
+    private final TruffleFile directory;
+    private final boolean verifyChecksum;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private PersistentCodeCache(PythonContext context, TruffleFile directory, boolean verifyChecksum) {
+        this.context = context;
+        this.directory = directory;
+        this.verifyChecksum = verifyChecksum;
+    }
+
+    /**
+     * Creates the cache for the given context, or returns {@code null} if
+     * {@link PythonOptions#CodeCacheDir} is not set or the directory cannot be used.
+     */
+    @TruffleBoundary
+    public static PersistentCodeCache create(PythonContext context) {
+        TruffleString dirOption = context.getOption(PythonOptions.CodeCacheDir);
+        if (dirOption.isEmpty()) {
+            return null;
+        }
+        try {
+            TruffleFile dir = context.getEnv().getPublicTruffleFile(dirOption.toJavaStringUncached());
+            if (!dir.exists()) {
+                dir.createDirectories();
+            }
+            if (!dir.isDirectory()) {
+                LOGGER.warning(() -> "Code cache directory is not a directory: " + dir);
+                return null;
+            }
+            String mode = context.getOption(PythonOptions.CheckHashPycsMode).toJavaStringUncached();
+            return new PersistentCodeCache(context, dir, !"never".equals(mode));
+        } catch (IOException | SecurityException | UnsupportedOperationException | IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Cannot use code cache directory " + dirOption, e);
+            return null;
+        }
+    }
+
+    /**
+     * Whether the given source should go through the cache. Only sources backed by a real module
+     * file are cached, code from {@code exec} or {@code compile} on strings is not, even if the
+     * file name it is compiled under ends with {@code .py}.
+     */
+    @TruffleBoundary
+    public static boolean isCacheable(Source source) {
+        String path = source.getPath();
+        return path != null && path.endsWith(".py");
+    }
+
+    /**
+     * The number of lookups that returned a cached code unit.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * The number of lookups that found no usable entry, so the source had to be parsed.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @TruffleBoundary
+    public static byte[] computeKey(String sourceName, CharSequence text, int optimize, EnumSet<FutureFeature> futureFeatures) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+        int flags = 0;
+        for (FutureFeature f : futureFeatures) {
+            flags |= f.flagValue;
+        }
+        digest.update(VERSION_TAG);
+        digest.update(ByteBuffer.allocate(Integer.BYTES * 2).putInt(optimize).putInt(flags).array());
+        digest.update(sourceName.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(text.toString().getBytes(StandardCharsets.UTF_8));
+        return digest.digest();
+    }
+
+    /**
+     * Returns the cached code unit for the given key or {@code null} on a miss or if the entry is
+     * stale or damaged.
+     */
+    @TruffleBoundary
+    public CodeUnit load(byte[] key) {
+        CodeUnit code = read(key);
+        if (code != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return code;
+    }
+
+    private CodeUnit read(byte[] key) {
+        TruffleFile file = entryFile(key);
+        try {
+            if (!file.isRegularFile()) {
+                return null;
+            }
+            try (SeekableByteChannel channel = file.newByteChannel(EnumSet.of(StandardOpenOption.READ))) {
+                long size = channel.size();
+                if (size < HEADER_LENGTH || size > Integer.MAX_VALUE) {
+                    return discard(file, "bad size");
+                }
+                ByteBuffer buffer;
+                if (channel instanceof FileChannel fileChannel) {
+                    buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                } else {
+                    buffer = ByteBuffer.allocate((int) size);
+                    while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                        // keep reading
+                    }
+                    buffer.flip();
+                }
+                buffer.order(ByteOrder.BIG_ENDIAN);
+                if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || buffer.getInt() != Compiler.BYTECODE_VERSION) {
+                    return discard(file, "version mismatch");
+                }
+                byte[] storedKey = new byte[KEY_LENGTH];
+                buffer.get(storedKey);
+                if (!MessageDigest.isEqual(storedKey, key)) {
+                    return discard(file, "key mismatch");
+                }
+                int length = buffer.getInt();
+                long checksum = buffer.getLong();
+                if (length != buffer.remaining()) {
+                    return discard(file, "truncated");
+                }
+                ByteBuffer payload = buffer.slice();
+                if (verifyChecksum) {
+                    CRC32 crc = new CRC32();
+                    crc.update(payload.duplicate());
+                    if (crc.getValue() != checksum) {
+                        return discard(file, "checksum mismatch");
+                    }
+                }
+                CodeUnit code = MarshalModuleBuiltins.deserializeCodeUnit(payload);
+                LOGGER.finest(() -> "Loaded cached code from " + file);
+                return code;
+            }
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            LOGGER.log(Level.FINE, "Cannot read code cache entry " + file, e);
+            return null;
+        } catch (PException e) {
+            // unmarshalling failed, the entry is unusable
+            return discard(file, "bad marshal data");
+        }
+    }
+
+    /**
+     * Stores the code unit under the given key. The entry is written to a temporary file first
+     * and then moved into place so that concurrent readers never see a partial entry.
+     */
+    @TruffleBoundary
+    public void store(byte[] key, CodeUnit code) {
+        TruffleFile tmp = null;
+        try {
+            byte[] payload = MarshalModuleBuiltins.serializeCodeUnit(code);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).order(ByteOrder.BIG_ENDIAN);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(Compiler.BYTECODE_VERSION).put(key).putInt(payload.length).putLong(crc.getValue());
+            header.flip();
+            tmp = context.getEnv().createTempFile(directory, null, ".tmp");
+            try (SeekableByteChannel channel = tmp.newByteChannel(EnumSet.of(StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))) {
+                writeFully(channel, header);
+                writeFully(channel, ByteBuffer.wrap(payload));
+            }
+            tmp.move(entryFile(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            LOGGER.log(Level.FINE, "Cannot write code cache entry for " + code.name.toJavaStringUncached(), e);
+        } catch (PException e) {
+            // the code unit contains constants marshal cannot handle, do not cache it
+            LOGGER.fine(() -> "Cannot serialize " + code.name.toJavaStringUncached() + " for the code cache");
+        } finally {
+            if (tmp != null) {
+                try {
+                    tmp.delete();
+                } catch (IOException | SecurityException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    private static void writeFully(SeekableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private TruffleFile entryFile(byte[] key) {
+        StringBuilder sb = new StringBuilder(KEY_LENGTH * 2 + SUFFIX.length());
+        for (byte b : key) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return directory.resolve(sb.append(SUFFIX).toString());
+    }
+
+    private static CodeUnit discard(TruffleFile file, String reason) {
+        LOGGER.fine(() -> "Discarding code cache entry " + file + ": " + reason);
+        try {
+            file.delete();
+        } catch (IOException | SecurityException e) {
+            // ignore, we will overwrite it
+        }
+        return null;
+    }
+}
@@ -240,5 +240,15 @@ class PosixConstantsDarwin {
         constants.put("IPV6_RECVTCLASS", 35);
         constants.put("IPV6_RTHDR_TYPE_0", 0);
         constants.put("IPV6_TCLASS", 36);
+        constants.put("POLLIN", 0x00000001);
+        constants.put("POLLPRI", 0x00000002);
+        constants.put("POLLOUT", 0x00000004);
+        constants.put("POLLERR", 0x00000008);
+        constants.put("POLLHUP", 0x00000010);
+        constants.put("POLLNVAL", 0x00000020);
+        constants.put("POLLRDNORM", 0x00000040);
+        constants.put("POLLRDBAND", 0x00000080);
+        constants.put("POLLWRNORM", 0x00000004);
+        constants.put("POLLWRBAND", 0x00000100);
     }
 }
@@ -95,6 +95,77 @@ public abstract class PosixSupportLibrary extends Library {
 
     public abstract long write(Object receiver, int fd, Buffer data) throws PosixException;
 
+    /**
+     * Reads up to {@code length} bytes from {@code fd} directly into {@code buf} starting at
+     * {@code offset}.
+     *
+     * @return the number of bytes read, {@code 0} at the end of the file
+     */
+    public abstract int readInto(Object receiver, int fd, byte[] buf, int offset, int length) throws PosixException;
+
+    /**
+     * Like {@link #readInto}, but stores the data into native memory starting at {@code pointer}.
+     */
+    public abstract int readIntoPointer(Object receiver, int fd, long pointer, int length) throws PosixException;
+
+    /**
+     * Reads into several buffers like {@code preadv(2)}, filling the first {@code lengths[i]} bytes
+     * of {@code buffers[i]} before moving on to the next one. A negative {@code offset} reads from
+     * the current file position and advances it like {@code readv(2)}, otherwise the file position
+     * is not changed.
+     *
+     * @return the total number of bytes read, {@code 0} at the end of the file
+     */
+    public abstract long preadv(Object receiver, int fd, byte[][] buffers, int[] lengths, long offset) throws PosixException;
+
+    /**
+     * Writes the first {@code lengths[i]} bytes of each of the {@code buffers} in order like
+     * {@code pwritev(2)}. A negative {@code offset} writes at the current file position and
+     * advances it like {@code writev(2)}.
+     *
+     * @return the total number of bytes written
+     */
+    public abstract long pwritev(Object receiver, int fd, byte[][] buffers, int[] lengths, long offset) throws PosixException;
+
+    /**
+     * Like {@link #preadv}, but the buffers are {@code lengths[i]} bytes of native memory starting
+     * at {@code pointers[i]}.
+     */
+    public abstract long preadvPointers(Object receiver, int fd, long[] pointers, int[] lengths, long offset) throws PosixException;
+
+    /**
+     * Like {@link #pwritev}, but the buffers are {@code lengths[i]} bytes of native memory starting
+     * at {@code pointers[i]}.
+     */
+    public abstract long pwritevPointers(Object receiver, int fd, long[] pointers, int[] lengths, long offset) throws PosixException;
+
+    /**
+     * Copies up to {@code count} bytes from {@code inFd} to {@code outFd} like
+     * {@code sendfile(2)}, without passing the data through the caller. A negative {@code offset}
+     * reads from the current position of {@code inFd} and advances it, otherwise that position is
+     * not changed.
+     *
+     * @return the number of bytes copied, {@code 0} at the end of the input
+     */
+    public abstract long sendfile(Object receiver, int outFd, int inFd, long offset, long count) throws PosixException;
+
+    /**
+     * Copies up to {@code count} bytes between two files like {@code copy_file_range(2)}. A
+     * negative offset uses and advances the current position of the respective descriptor.
+     *
+     * @return the number of bytes copied, {@code 0} at the end of the source
+     */
+    public abstract long copyFileRange(Object receiver, int srcFd, long srcOffset, int dstFd, long dstOffset, long count) throws PosixException;
+
+    /**
+     * Moves up to {@code count} bytes between two descriptors, at least one of which is a pipe,
+     * like {@code splice(2)}. Offsets are handled as in {@link #copyFileRange}, {@code flags} is a
+     * combination of the {@code SPLICE_F_*} constants.
+     *
+     * @return the number of bytes moved, {@code 0} at the end of the input
+     */
+    public abstract long splice(Object receiver, int srcFd, long srcOffset, int dstFd, long dstOffset, long count, int flags) throws PosixException;
+
     public abstract int dup(Object receiver, int fd) throws PosixException;
 
     public abstract int dup2(Object receiver, int fd, int fd2, boolean inheritable) throws PosixException;
@@ -107,6 +178,32 @@ public abstract class PosixSupportLibrary extends Library {
 
     public abstract SelectResult select(Object receiver, int[] readfds, int[] writefds, int[] errorfds, Timeval timeout) throws PosixException;
 
+    /**
+     * Waits for events on the given file descriptors like {@code poll(2)}. The requested events of
+     * {@code fds[i]} are in {@code events[i]}, the returned events are stored into
+     * {@code revents[i]}.
+     *
+     * @param timeoutMs the timeout in milliseconds, negative value means infinite timeout
+     * @return the number of file descriptors with non-zero returned events
+     */
+    public abstract int poll(Object receiver, int[] fds, int[] events, int[] revents, int timeoutMs) throws PosixException;
+
+    /**
+     * Creates a new epoll instance with the close-on-exec flag set.
+     */
+    public abstract int epollCreate(Object receiver) throws PosixException;
+
+    public abstract void epollCtl(Object receiver, int epfd, int op, int fd, int events) throws PosixException;
+
+    /**
+     * Waits for at most {@code fds.length} events on the given epoll instance. The file
+     * descriptors and their events are stored into {@code fds} and {@code events}.
+     *
+     * @param timeoutMs the timeout in milliseconds, negative value means infinite timeout
+     * @return the number of ready file descriptors
+     */
+    public abstract int epollWait(Object receiver, int epfd, int[] fds, int[] events, int timeoutMs) throws PosixException;
+
     public abstract long lseek(Object receiver, int fd, long offset, int how) throws PosixException;
 
     public abstract void ftruncate(Object receiver, int fd, long length) throws PosixException;
@@ -189,6 +286,38 @@ public abstract class PosixSupportLibrary extends Library {
      */
     public abstract Object readdir(Object receiver, Object dirStream) throws PosixException;
 
+    /**
+     * Reads up to {@code maxEntries} entries at once, skipping {@code .} and {@code ..}.
+     * Implementations may return fewer entries than requested even when the stream is not
+     * exhausted. An error is thrown only if no entry could be read, otherwise it is returned
+     * together with the entries read before it, see {@link ReaddirBatchResult#error}.
+     *
+     * @return the opaque dir entry objects, none when there are no more items
+     */
+    public abstract ReaddirBatchResult readdirBatch(Object receiver, Object dirStream, int maxEntries) throws PosixException;
+
+    public static final class ReaddirBatchResult {
+        public final Object[] entries;
+        /**
+         * The error that stopped reading after {@link #entries} had been read, or {@code null}. The
+         * caller reports it once it has consumed the entries, since the stream may not report it
+         * again.
+         */
+        public final PosixException error;
+
+        public ReaddirBatchResult(Object[] entries, PosixException error) {
+            assert error == null || entries.length > 0;
+            this.entries = entries;
+            this.error = error;
+        }
+
+        @Override
+        public String toString() {
+            CompilerAsserts.neverPartOfCompilation();
+            return "ReaddirBatchResult{" + "entries=" + entries.length + ", error=" + (error != null ? error.getErrorCode() : 0) + '}';
+        }
+    }
+
     public abstract void rewinddir(Object receiver, Object dirStream);
 
     /**
@@ -215,6 +344,13 @@ public abstract class PosixSupportLibrary extends Library {
      */
     public abstract int dirEntryGetType(Object receiver, Object dirEntry);
 
+    /**
+     * @return the {@code lstat} data of the entry in the format of
+     *         {@link #fstatat(Object, int, Object, boolean)} if it has been collected while
+     *         reading the directory, otherwise {@code null}
+     */
+    public abstract long[] dirEntryGetStat(Object receiver, Object dirEntry);
+
     /**
      * Equivalent of POSIX {@code utimensat()}.
      *
@@ -84,16 +84,18 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 
@@ -129,6 +131,7 @@ import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.Hashi
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorValue;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.contextvars.PContextVarsContext;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalModuleState;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.frame.PFrame;
 import com.oracle.graal.python.builtins.objects.frame.PFrame.Reference;
@@ -163,6 +166,7 @@ import com.oracle.graal.python.util.Consumer;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.graal.python.util.ShutdownHook;
 import com.oracle.graal.python.util.Supplier;
+import com.oracle.graal.python.util.SuppressFBWarnings;
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerAsserts;
@@ -642,6 +646,13 @@ public final class PythonContext extends Python3Core {
     private final List<Runnable> capiHooks = new ArrayList<>();
     private final HashMap<PythonNativeClass, CyclicAssumption> nativeClassStableAssumptions = new HashMap<>();
     private final ThreadGroup threadGroup = new ThreadGroup(GRAALPYTHON_THREADS);
+    /*
+     * Creates the virtual threads backing Python threads if PythonOptions.VirtualThreads is
+     * enabled, the JDK supports them and the Java posix backend is used. Virtual threads are not in
+     * our thread group, so we keep track of the ones that are still running ourselves.
+     */
+    private ThreadFactory virtualThreadFactory;
+    private final Set<Thread> virtualThreads = ConcurrentHashMap.newKeySet();
     private final IDUtils idUtils = new IDUtils();
 
     @CompilationFinal private SecureRandom secureRandom;
@@ -679,11 +690,17 @@ public final class PythonContext extends Python3Core {
 
     private static final Assumption singleNativeContext = Truffle.getRuntime().createAssumption("single native context assumption");
 
+    /**
+     * The GIL is deliberately not fair. A fair lock queues a thread that returns from a blocking
+     * operation behind every CPU-bound thread, which convoys I/O-bound threads. Starvation of
+     * waiting threads is instead prevented by the {@link AsyncHandler} asking the owner to drop the
+     * GIL and hand it over (see {@link #yieldGil}).
+     */
     private static final class GlobalInterpreterLock extends ReentrantLock {
         private static final long serialVersionUID = 1L;
 
         public GlobalInterpreterLock() {
-            super(true);
+            super(false);
         }
 
         @Override
@@ -694,6 +711,21 @@ public final class PythonContext extends Python3Core {
 
     private final GlobalInterpreterLock globalInterpreterLock = new GlobalInterpreterLock();
 
+    /*
+     * Incremented whenever a thread acquires the GIL. Only written by the GIL owner, read by the
+     * GIL release scheduler and by threads waiting for a handoff.
+     */
+    private volatile long gilSwitchCount;
+    // number of threads in waitForGilHandoff, guarded by gilHandoffLock
+    private volatile int gilHandoffWaiters;
+    // not a monitor, so that virtual threads waiting for a handoff do not pin their carrier
+    private final ReentrantLock gilHandoffLock = new ReentrantLock();
+    private final Condition gilHandoffCondition = gilHandoffLock.newCondition();
+    // see PythonOptions.GilSchedulingMode.IO_PRIORITY
+    private volatile boolean gilIoPriority;
+    // null unless PythonOptions.GilStatistics is enabled
+    private final GilStatistics gilStatistics;
+
     /*
      * Used to avoid triggering more async handlers from an async handler. We run those only on the
      * main thread, so it doesn't have to be thread-local.
@@ -717,6 +749,15 @@ public final class PythonContext extends Python3Core {
     /** State for the locale module, the default locale can be passed as an option */
     private PythonLocale currentLocale;
 
+    /** On-disk cache of compiled code, {@code null} unless {@link PythonOptions#CodeCacheDir} is set */
+    private PersistentCodeCache persistentCodeCache;
+
+    /** State of the tracemalloc module, created on first use */
+    private TracemallocTracer tracemallocTracer;
+
+    /** State of the _decimal module, created when it is imported */
+    private DecimalModuleState decimalModuleState;
+
     @CompilationFinal(dimensions = 1) private Object[] optionValues;
     private final AllocationReporter allocationReporter;
 
@@ -752,6 +793,7 @@ public final class PythonContext extends Python3Core {
     @CompilationFinal private List<Integer> childContextFDs;
     private final ChildContextData childContextData;
     private final SharedMultiprocessingData sharedMultiprocessingData;
+    private ChildContextPool childContextPool;
 
     private boolean codecsInitialized;
     private final List<Object> codecSearchPath = new ArrayList<>();
@@ -965,10 +1007,12 @@ public final class PythonContext extends Python3Core {
 
         /**
          * Adding pipe data needs no special synchronization, since we guarantee there is only ever
-         * one or no queue registered for a given fd.
+         * one or no queue registered for a given fd. The data is either a {@code byte[]} chunk or
+         * a context-independent immutable value that the reading context materializes without
+         * unpickling.
          */
         @TruffleBoundary
-        public void addPipeData(int fd, byte[] bytes, Runnable noFDHandler, Runnable brokenPipeHandler) {
+        public void addPipeData(int fd, Object data, Runnable noFDHandler, Runnable brokenPipeHandler) {
             assert isWriteFD(fd);
             LinkedBlockingQueue<Object> q = pipeData.get(fd);
             if (q == null) {
@@ -982,7 +1026,7 @@ public final class PythonContext extends Python3Core {
                 brokenPipeHandler.run();
                 throw CompilerDirectives.shouldNotReachHere();
             }
-            q.add(bytes);
+            q.add(data);
         }
 
         /**
@@ -1142,6 +1186,8 @@ public final class PythonContext extends Python3Core {
         this.handler = new AsyncHandler(this);
         this.sharedFinalizer = new AsyncHandler.SharedFinalizer(this);
         this.optionValues = PythonOptions.createOptionValuesStorage(env);
+        this.gilStatistics = getOption(PythonOptions.GilStatistics) ? new GilStatistics(this) : null;
+        this.virtualThreadFactory = getOption(PythonOptions.VirtualThreads) ? createVirtualThreadFactory() : null;
         this.in = env.in();
         this.out = env.out();
         this.err = env.err();
@@ -1161,6 +1207,29 @@ public final class PythonContext extends Python3Core {
         return allocationReporter;
     }
 
+    @TruffleBoundary
+    public synchronized TracemallocTracer getTracemallocTracer() {
+        if (tracemallocTracer == null) {
+            tracemallocTracer = new TracemallocTracer(getLanguage(), getOption(PythonOptions.TracemallocSamplingInterval), getOption(PythonOptions.TracemallocMaxTraces));
+        }
+        return tracemallocTracer;
+    }
+
+    /**
+     * Returns the tracemalloc state if it was ever used in this context, {@code null} otherwise.
+     */
+    public TracemallocTracer getTracemallocTracerOrNull() {
+        return tracemallocTracer;
+    }
+
+    public DecimalModuleState getDecimalModuleState() {
+        return decimalModuleState;
+    }
+
+    public void setDecimalModuleState(DecimalModuleState decimalModuleState) {
+        this.decimalModuleState = decimalModuleState;
+    }
+
     public boolean isChildContext() {
         return childContextData != null;
     }
@@ -1174,17 +1243,17 @@ public final class PythonContext extends Python3Core {
     }
 
     public long spawnTruffleContext(int fd, int sentinel, int[] fdsToKeep) {
-        ChildContextData data = new ChildContextData(isChildContext() ? childContextData.parentCtx : this);
-        Builder builder = data.parentCtx.env.newInnerContextBuilder().//
-                        forceSharing(getOption(PythonOptions.ForceSharingForInnerContexts)).//
-                        inheritAllAccess(true).//
-                        initializeCreatorContext(true).//
-                        option("python.NativeModules", "false").//
-                        // TODO always force java posix in spawned: test_multiprocessing_spawn fails
-                        // with that. Gives "OSError: [Errno 9] Bad file number"
-                        // option("python.PosixModuleBackend", "java").//
-                        config(PythonContext.CHILD_CONTEXT_DATA, data);
-        Thread thread = data.parentCtx.env.createThread(new ChildContextThread(fd, sentinel, data, builder));
+        PythonContext parentCtx = isChildContext() ? childContextData.parentCtx : this;
+        ChildContextData data;
+        TruffleContext warmContext = null;
+        WarmChildContext warm = parentCtx.getChildContextPool().poll();
+        if (warm != null) {
+            data = warm.data();
+            warmContext = warm.context();
+        } else {
+            data = new ChildContextData(parentCtx);
+        }
+        Thread thread = parentCtx.env.createThread(new ChildContextThread(fd, sentinel, data, warmContext));
         long tid = PThread.getThreadId(thread);
         getSharedMultiprocessingData().putChildContextThread(tid, thread);
         getSharedMultiprocessingData().putChildContextData(tid, data);
@@ -1197,6 +1266,28 @@ public final class PythonContext extends Python3Core {
         return tid;
     }
 
+    private Builder newChildContextBuilder(ChildContextData data) {
+        assert data.parentCtx == this;
+        return env.newInnerContextBuilder().//
+                        forceSharing(getOption(PythonOptions.ForceSharingForInnerContexts)).//
+                        inheritAllAccess(true).//
+                        initializeCreatorContext(true).//
+                        option("python.NativeModules", "false").//
+                        // TODO always force java posix in spawned: test_multiprocessing_spawn fails
+                        // with that. Gives "OSError: [Errno 9] Bad file number"
+                        // option("python.PosixModuleBackend", "java").//
+                        config(PythonContext.CHILD_CONTEXT_DATA, data);
+    }
+
+    private synchronized ChildContextPool getChildContextPool() {
+        assert !isChildContext();
+        if (childContextPool == null) {
+            childContextPool = new ChildContextPool(this, getOption(PythonOptions.SpawnContextPoolSize));
+            childContextPool.fill();
+        }
+        return childContextPool;
+    }
+
     @TruffleBoundary
     private static void start(Thread thread) {
         thread.start();
@@ -1217,22 +1308,31 @@ public final class PythonContext extends Python3Core {
 
         private final int fd;
         private final ChildContextData data;
-        private final Builder builder;
+        private final TruffleContext warmContext;
         private final int sentinel;
 
-        public ChildContextThread(int fd, int sentinel, ChildContextData data, Builder builder) {
+        /**
+         * @param warmContext an initialized context taken from the {@link ChildContextPool} that
+         *            was built for {@code data}, or {@code null} to build a new one
+         */
+        public ChildContextThread(int fd, int sentinel, ChildContextData data, TruffleContext warmContext) {
             this.fd = fd;
             this.data = data;
-            this.builder = builder;
+            this.warmContext = warmContext;
             this.sentinel = sentinel;
         }
 
         @Override
         public void run() {
             try {
-                MULTIPROCESSING_LOGGER.fine("starting spawned child context");
-                TruffleContext ctx = builder.build();
-                data.setTruffleContext(ctx);
+                TruffleContext ctx = warmContext;
+                if (ctx == null) {
+                    MULTIPROCESSING_LOGGER.fine("starting spawned child context");
+                    ctx = data.parentCtx.newChildContextBuilder(data).build();
+                    data.setTruffleContext(ctx);
+                } else {
+                    MULTIPROCESSING_LOGGER.fine("starting spawned child context from the pool");
+                }
                 Object parent = ctx.enter(null);
                 CallTarget ct = PythonContext.get(null).getEnv().parsePublic(MULTIPROCESSING_SOURCE, "fd", "sentinel");
                 try {
@@ -1259,10 +1359,196 @@ public final class PythonContext extends Python3Core {
         }
     }
 
+    private record WarmChildContext(ChildContextData data, TruffleContext context) {
+    }
+
+    /**
+     * Keeps up to {@link PythonOptions#SpawnContextPoolSize} initialized inner contexts ready for
+     * {@link #spawnTruffleContext}, so that spawning a child does not have to wait for the core to
+     * be initialized. A pooled context has run nothing but the import of the multiprocessing
+     * bootstrap module and is used for exactly one child. The parent state a child inherits, such
+     * as {@code os.environ}, the working directory and {@code sys.path}, is sent along with the
+     * child's preparation data and applied when the child starts, so a pooled context sees changes
+     * the parent made after the context was warmed up. Each taken context is replaced in the
+     * background.
+     */
+    private static final class ChildContextPool {
+        private static final TruffleLogger LOGGER = PythonLanguage.getLogger(ChildContextPool.class);
+        private static final Source WARMUP_SOURCE = Source.newBuilder(PythonLanguage.ID,
+                        "import multiprocessing.popen_truffleprocess",
+                        "<warm-child-context>").internal(true).build();
+
+        private final PythonContext parentCtx;
+        private final int size;
+        private final LinkedBlockingQueue<WarmChildContext> ready = new LinkedBlockingQueue<>();
+        private final List<Thread> warmingThreads = new ArrayList<>();
+        private boolean closed;
+
+        ChildContextPool(PythonContext parentCtx, int size) {
+            this.parentCtx = parentCtx;
+            this.size = size;
+        }
+
+        @TruffleBoundary
+        void fill() {
+            for (int i = 0; i < size; i++) {
+                warmOne();
+            }
+        }
+
+        /**
+         * @return a ready context or {@code null} if there is none, in which case the caller
+         *         builds a new context itself rather than waiting for one that is still warming up
+         */
+        @TruffleBoundary
+        WarmChildContext poll() {
+            WarmChildContext warm = ready.poll();
+            if (warm != null) {
+                warmOne();
+            }
+            return warm;
+        }
+
+        private void warmOne() {
+            Thread thread = parentCtx.env.createThread(this::warm);
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                warmingThreads.add(thread);
+            }
+            thread.start();
+        }
+
+        private void warm() {
+            try {
+                warmAndOffer();
+            } finally {
+                synchronized (this) {
+                    warmingThreads.remove(Thread.currentThread());
+                }
+            }
+        }
+
+        private void warmAndOffer() {
+            ChildContextData data = new ChildContextData(parentCtx);
+            TruffleContext ctx;
+            try {
+                ctx = parentCtx.newChildContextBuilder(data).build();
+                data.setTruffleContext(ctx);
+                Object prev = ctx.enter(null);
+                try {
+                    PythonContext.get(null).getEnv().parsePublic(WARMUP_SOURCE).call();
+                } finally {
+                    ctx.leave(null, prev);
+                }
+            } catch (Throwable t) {
+                LOGGER.log(Level.FINE, "could not warm up a child context", t);
+                return;
+            }
+            synchronized (this) {
+                if (!closed) {
+                    ready.add(new WarmChildContext(data, ctx));
+                    LOGGER.fine("child context ready");
+                    return;
+                }
+            }
+            ctx.close();
+        }
+
+        /**
+         * Waits for contexts that are still warming up and closes all contexts that were not
+         * taken.
+         */
+        @TruffleBoundary
+        void close() {
+            Thread[] threads;
+            synchronized (this) {
+                closed = true;
+                threads = warmingThreads.toArray(new Thread[0]);
+            }
+            for (Thread thread : threads) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            WarmChildContext warm;
+            while ((warm = ready.poll()) != null) {
+                try {
+                    warm.context().close();
+                } catch (Throwable t) {
+                    LOGGER.log(Level.FINE, "exception while closing pooled child context", t);
+                }
+            }
+        }
+    }
+
     public ThreadGroup getThreadGroup() {
         return threadGroup;
     }
 
+    /**
+     * Creates a thread that runs {@code runnable} in this context, used for the threads started by
+     * the {@code _thread} module. With {@link PythonOptions#VirtualThreads}, this is a virtual
+     * thread that enters the context itself. Such a thread unmounts from its carrier whenever it
+     * blocks on the GIL, on a Python lock, or in a blocking operation of the Java posix backend.
+     * Blocking calls into native code, such as C extensions, pin the carrier thread, though.
+     */
+    @TruffleBoundary
+    public Thread createPythonThread(Runnable runnable) {
+        if (virtualThreadFactory != null) {
+            TruffleContext truffleContext = env.getContext();
+            Thread thread = virtualThreadFactory.newThread(() -> {
+                try {
+                    Object prev = truffleContext.enter(null);
+                    try {
+                        runnable.run();
+                    } finally {
+                        truffleContext.leave(null, prev);
+                    }
+                } finally {
+                    virtualThreads.remove(Thread.currentThread());
+                }
+            });
+            virtualThreads.add(thread);
+            return thread;
+        }
+        return env.createThread(runnable, env.getContext(), threadGroup);
+    }
+
+    /**
+     * Returns {@code true} if the given thread is a virtual thread, {@code false} also on JDKs that
+     * do not have them. The reflective methods are registered in the native image reflection
+     * config.
+     */
+    @TruffleBoundary
+    public static boolean isVirtualThread(Thread thread) {
+        try {
+            // thread.isVirtual(), we still compile for 17
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (NoSuchMethodException e) {
+            return false;
+        } catch (ReflectiveOperationException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            // Thread.ofVirtual().name("python-virtual-", 0).factory(), we still compile for 17
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "python-virtual-", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            LOGGER.warning("Virtual threads are not supported on this JDK, falling back to platform threads");
+            return null;
+        }
+    }
+
     @TruffleBoundary(allowInlining = true)
     public long getPythonThreadStackSize() {
         return pythonThreadStackSize.get();
@@ -1601,6 +1887,13 @@ public final class PythonContext extends Python3Core {
         }
     }
 
+    /**
+     * Returns the on-disk cache for compiled code or {@code null} if it is disabled.
+     */
+    public PersistentCodeCache getPersistentCodeCache() {
+        return persistentCodeCache;
+    }
+
     private void initializeLocale() {
         setCurrentLocale(PythonLocale.initializeFromTruffleEnv(env));
     }
@@ -1611,6 +1904,9 @@ public final class PythonContext extends Python3Core {
         }
         initializeLocale();
         setIntMaxStrDigits(getOption(PythonOptions.IntMaxStrDigits));
+        if (!ImageInfo.inImageBuildtimeCode()) {
+            persistentCodeCache = PersistentCodeCache.create(this);
+        }
         if (!PythonOptions.WITHOUT_COMPRESSION_LIBRARIES) {
             nativeZlib = NFIZlibSupport.createNative(this, "");
             nativeBz2lib = NFIBz2Support.createNative(this, "");
@@ -1700,6 +1996,15 @@ public final class PythonContext extends Python3Core {
         } else {
             throw new IllegalStateException(String.format("Wrong value for the PosixModuleBackend option: '%s'", option));
         }
+        if (virtualThreadFactory != null && !(result instanceof EmulatedPosixSupport)) {
+            /*
+             * Blocking calls through NFI pin the carrier thread of a virtual thread, so a few
+             * threads waiting in recv or accept would starve all others. Only the Java backend
+             * blocks in NIO, where virtual threads unmount.
+             */
+            LOGGER.warning("Virtual threads require the Java posix backend (--python.PosixModuleBackend=java), falling back to platform threads");
+            virtualThreadFactory = null;
+        }
         if (LoggingPosixSupport.isEnabled()) {
             posixSupport = new LoggingPosixSupport(result);
         } else {
@@ -1984,8 +2289,23 @@ public final class PythonContext extends Python3Core {
             }
             // destroy thread state data, if anything is still running, it will crash now
             disposeThreadStates();
+            if (gilStatistics != null) {
+                gilStatistics.logSummary();
+            }
         }
         cleanupHPyResources();
+        if (tracemallocTracer != null) {
+            // let compiled allocation sites of other contexts drop the tracer calls
+            tracemallocTracer.stop();
+        }
+        ChildContextPool pool;
+        synchronized (this) {
+            pool = childContextPool;
+        }
+        if (pool != null) {
+            // outside of the monitor, the warming threads need it to detach from this context
+            pool.close();
+        }
         for (int fd : getChildContextFDs()) {
             if (!getSharedMultiprocessingData().decrementFDRefCount(fd)) {
                 getSharedMultiprocessingData().closePipe(fd);
@@ -2133,7 +2453,7 @@ public final class PythonContext extends Python3Core {
                     // that are not running GraalPython code anymore, they will just never receive
                     // PythonThreadKillException and continue as if nothing happened.
                     disposeThread(thread);
-                    boolean isOurThread = runViaLauncher || thread.getThreadGroup() == threadGroup;
+                    boolean isOurThread = runViaLauncher || thread.getThreadGroup() == threadGroup || virtualThreads.contains(thread);
                     // Do not try so hard when running in embedded mode and the thread may not be
                     // running any GraalPython code anymore
                     int tries = isOurThread ? 100 : 5;
@@ -2285,13 +2605,15 @@ public final class PythonContext extends Python3Core {
      */
     @TruffleBoundary
     boolean tryAcquireGil() {
-        try {
-            // Using tryLock with empty timeout to ensure fairness
-            return globalInterpreterLock.tryLock(0, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
+        long waitStart = gilStatistics != null ? System.nanoTime() : 0;
+        if (globalInterpreterLock.tryLock()) {
+            gilAcquired();
+            if (gilStatistics != null) {
+                gilStatistics.acquired(waitStart, false);
+            }
+            return true;
         }
+        return false;
     }
 
     /**
@@ -2303,12 +2625,110 @@ public final class PythonContext extends Python3Core {
     void acquireGil() throws InterruptedException {
         assert !ownsGil() : dumpStackOnAssertionHelper("trying to acquire the GIL more than once");
         boolean wasInterrupted = Thread.interrupted();
+        long waitStart = gilStatistics != null ? System.nanoTime() : 0;
+        boolean contended = false;
+        if (!globalInterpreterLock.tryLock()) {
+            contended = true;
+            if (gilIoPriority) {
+                // don't wait for the switch interval to elapse
+                handler.requestGilDrop();
+            }
+            globalInterpreterLock.lockInterruptibly();
+        }
+        gilAcquired();
+        if (gilStatistics != null) {
+            gilStatistics.acquired(waitStart, contended);
+        }
+        if (wasInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void acquireGilAfterYield() throws InterruptedException {
+        boolean wasInterrupted = Thread.interrupted();
+        long waitStart = gilStatistics != null ? System.nanoTime() : 0;
         globalInterpreterLock.lockInterruptibly();
+        gilAcquired();
+        if (gilStatistics != null) {
+            // the time spent waiting for the handoff is not counted, it was voluntary
+            gilStatistics.acquired(waitStart, true);
+        }
         if (wasInterrupted) {
             Thread.currentThread().interrupt();
         }
     }
 
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT", justification = "only written while holding the GIL")
+    private void gilAcquired() {
+        gilSwitchCount++;
+        if (gilHandoffWaiters > 0) {
+            gilHandoffLock.lock();
+            try {
+                gilHandoffCondition.signalAll();
+            } finally {
+                gilHandoffLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Should not be used outside of {@link AsyncHandler}
+     */
+    long getGilSwitchCount() {
+        return gilSwitchCount;
+    }
+
+    /**
+     * Drops the GIL on request of the {@link AsyncHandler} and re-acquires it. Like CPython's
+     * {@code FORCE_SWITCHING}, the current thread does not compete for the GIL again until another
+     * thread has taken it or the switch interval has elapsed, otherwise the unfair lock would let
+     * it barge right back in.
+     *
+     * Should not be used outside of {@link AsyncHandler}
+     */
+    @TruffleBoundary
+    void yieldGil(Node location) {
+        long switchCount = gilSwitchCount;
+        if (gilStatistics != null) {
+            gilStatistics.handoff();
+        }
+        releaseGil();
+        waitForGilHandoff(switchCount);
+        TruffleSafepoint.setBlockedThreadInterruptible(location, PythonContext::acquireGilAfterYield, this);
+    }
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT", justification = "only written while holding gilHandoffLock")
+    private void waitForGilHandoff(long switchCount) {
+        long remaining = getSwitchIntervalNanos();
+        gilHandoffLock.lock();
+        try {
+            gilHandoffWaiters++;
+            while (gilSwitchCount == switchCount && globalInterpreterLock.hasQueuedThreads() && remaining > 0) {
+                remaining = gilHandoffCondition.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            gilHandoffWaiters--;
+            gilHandoffLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the GIL statistics of this context or {@code null} if
+     * {@link PythonOptions#GilStatistics} is not enabled.
+     */
+    public GilStatistics getGilStatistics() {
+        return gilStatistics;
+    }
+
+    /**
+     * Returns the value of {@code sys.setswitchinterval} in nanoseconds.
+     */
+    long getSwitchIntervalNanos() {
+        return (long) (getSysModuleState().getSwitchInterval() * 1000);
+    }
+
     static final String dumpStackOnAssertionHelper(String msg) {
         Thread.dumpStack();
         return msg;
@@ -2322,6 +2742,9 @@ public final class PythonContext extends Python3Core {
     @TruffleBoundary
     void releaseGil() {
         assert globalInterpreterLock.getHoldCount() == 1 : dumpStackOnAssertionHelper("trying to release the GIL with invalid hold count " + globalInterpreterLock.getHoldCount());
+        if (gilStatistics != null) {
+            gilStatistics.releasing();
+        }
         globalInterpreterLock.unlock();
     }
 
@@ -2445,6 +2868,7 @@ public final class PythonContext extends Python3Core {
 
     @TruffleBoundary
     public void initializeMultiThreading() {
+        gilIoPriority = getOption(PythonOptions.GilScheduling) == PythonOptions.GilSchedulingMode.IO_PRIORITY;
         handler.activateGIL();
     }
 
@@ -137,6 +137,27 @@ public final class PythonOptions {
         }
     });
 
+    public enum GilSchedulingMode {
+        /**
+         * The GIL owner is asked to drop the GIL once a waiting thread has waited for a full switch
+         * interval, and then hands it over to a waiting thread before competing for it again.
+         */
+        HANDOFF,
+        /**
+         * Like {@link #HANDOFF}, but a thread that needs the GIL back after a blocking operation
+         * asks the owner to drop it immediately instead of waiting for the switch interval.
+         */
+        IO_PRIORITY
+    }
+
+    static final OptionType<GilSchedulingMode> GIL_SCHEDULING_MODE_TYPE = new OptionType<>("GilSchedulingMode", s -> {
+        try {
+            return GilSchedulingMode.valueOf(s.toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("GIL scheduling mode can be one of: handoff, io-priority");
+        }
+    });
+
     private static final OptionType<TruffleString> TS_OPTION_TYPE = new OptionType<>("graal.python.TruffleString", PythonUtils::toTruffleStringUncached);
 
     private PythonOptions() {
@@ -220,6 +241,17 @@ public final class PythonOptions {
                     "Equivalent to setting the PYTHONPYCACHEPREFIX environment variable for the standard launcher.", usageSyntax = "<path>", stability = OptionStability.STABLE) //
     public static final OptionKey<TruffleString> PyCachePrefix = new OptionKey<>(T_EMPTY_STRING, TS_OPTION_TYPE);
 
+    @Option(category = OptionCategory.USER, help = "If this is set, GraalPython keeps a persistent cache of compiled module code in this directory. " +
+                    "Entries are keyed by source hash and interpreter version and are shared between contexts and processes. " +
+                    "The payload checksums are verified unless CheckHashPycsMode is 'never'.", usageSyntax = "<path>", stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<TruffleString> CodeCacheDir = new OptionKey<>(T_EMPTY_STRING, TS_OPTION_TYPE);
+
+    @Option(category = OptionCategory.EXPERT, help = "Record only every n-th allocation while tracemalloc is tracing. The recorded sizes are scaled accordingly.", usageSyntax = "<n>", stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Integer> TracemallocSamplingInterval = new OptionKey<>(1);
+
+    @Option(category = OptionCategory.EXPERT, help = "Maximum number of allocations tracemalloc keeps traces for. The oldest traces are dropped first.", usageSyntax = "<n>", stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Integer> TracemallocMaxTraces = new OptionKey<>(1 << 20);
+
     @Option(category = OptionCategory.USER, help = "Equivalent to setting the PYTHONWARNINGS environment variable for the standard launcher.", //
                     usageSyntax = "<action>[:<message>[:<category>[:<module>[:<line>]]]][,<action>[:<message>[:<category>[:<module>[:<line>]]]]]", stability = OptionStability.STABLE) //
     public static final OptionKey<TruffleString> WarnOptions = new OptionKey<>(T_EMPTY_STRING, TS_OPTION_TYPE);
@@ -376,12 +408,29 @@ public final class PythonOptions {
     @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Disable weakref callback processing, signal handling, and other periodic async actions.") //
     public static final OptionKey<Boolean> NoAsyncActions = new OptionKey<>(false);
 
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "handoff|io-priority", help = "How the GIL is passed between threads. 'handoff' asks the running thread to drop the GIL " +
+                    "after a waiting thread waited for sys.getswitchinterval() and forces a switch to a waiting thread, 'io-priority' additionally lets threads returning from " +
+                    "blocking operations request the GIL immediately.") //
+    public static final OptionKey<GilSchedulingMode> GilScheduling = new OptionKey<>(GilSchedulingMode.HANDOFF, GIL_SCHEDULING_MODE_TYPE);
+
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Collect GIL wait-time and hold-time statistics, available through __graalpython__.gil_stats() " +
+                    "and the python.GilStatistics logger.") //
+    public static final OptionKey<Boolean> GilStatistics = new OptionKey<>(false);
+
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Back threads started with the _thread and threading modules by virtual threads if the JDK supports them " +
+                    "and the Java posix backend is used. Virtual threads unmount while blocked on the GIL, on locks, or in I/O, so a context can run many more mostly idle threads.") //
+    public static final OptionKey<Boolean> VirtualThreads = new OptionKey<>(false);
+
     @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Propagate append operations to lists created as literals back to where they were created, to inform overallocation to avoid having to grow them later.") //
     public static final OptionKey<Boolean> OverallocateLiteralLists = new OptionKey<>(true);
 
     @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Forces AST sharing for inner contexts.") //
     public static final OptionKey<Boolean> ForceSharingForInnerContexts = new OptionKey<>(true);
 
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "<count>", help = "Number of initialized inner contexts kept ready for processes spawned with the 'graalpy' multiprocessing start method. " +
+                    "The pool is filled when the first process is spawned. 0 disables the pool.") //
+    public static final OptionKey<Integer> SpawnContextPoolSize = new OptionKey<>(0);
+
     @Option(category = OptionCategory.EXPERT, help = "Whether C extension modules should be loaded as native code (as opposed to Sulong bitcode execution).") //
     public static final OptionKey<Boolean> NativeModules = new OptionKey<>(true);
 
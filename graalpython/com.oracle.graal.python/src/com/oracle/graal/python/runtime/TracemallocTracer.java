@@ -0,0 +1,406 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.objects.code.PCode;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.nodes.bytecode.FrameInfo;
+import com.oracle.graal.python.nodes.bytecode.PBytecodeGeneratorRootNode;
+import com.oracle.graal.python.nodes.bytecode.PBytecodeRootNode;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.Frame;
+import com.oracle.truffle.api.frame.FrameInstance;
+import com.oracle.truffle.api.frame.FrameInstanceVisitor;
+import com.oracle.truffle.api.instrumentation.AllocationReporter;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Per-context state of the {@code _tracemalloc} module.
+ *
+ * Allocations are reported by {@link com.oracle.graal.python.runtime.object.PythonObjectFactory}
+ * at the same point where they are reported to the {@link AllocationReporter}. The factory only
+ * calls into this class while {@link PythonLanguage#isTracemallocActive()}, so compiled code does
+ * not pay anything while no context of the engine is tracing, including after {@link #stop()}.
+ *
+ * Only every {@link PythonOptions#TracemallocSamplingInterval}-th allocation is recorded and its
+ * size is scaled by the interval, so the totals stay unbiased while the stack walks get cheaper.
+ * Object sizes are estimates, because the JVM does not expose them. The factory estimates the size
+ * of objects with a variable-size part, such as bytes, lists, tuples, dicts and strings, from
+ * their storage when they are created. Recorded objects are held
+ * weakly; a trace is dropped once the object is collected, which is what a {@code free} is for
+ * CPython's tracemalloc. At most {@link PythonOptions#TracemallocMaxTraces} traces are kept, the
+ * oldest ones are evicted first.
+ */
+public final class TracemallocTracer {
+    public static final int MAX_NFRAME = 65535;
+
+    /**
+     * Size assumed for objects that are reported with {@link AllocationReporter#SIZE_UNKNOWN}, which
+     * are the objects without a variable-size part. This is roughly an object header plus a shape
+     * and a few fields on a 64-bit VM.
+     */
+    private static final long UNKNOWN_OBJECT_SIZE = 48;
+    /** Rough footprint of one trace entry, used for {@code get_tracemalloc_memory}. */
+    private static final long TRACE_ENTRY_SIZE = 64;
+    private static final TruffleString T_UNKNOWN = tsLiteral("<unknown>");
+
+    private final PythonLanguage language;
+    private final int samplingInterval;
+    private final int maxTraces;
+
+    private volatile boolean tracing;
+    private int tracebackLimit = 1;
+    private int countdown;
+
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+    private final LinkedHashMap<TraceEntry, TraceEntry> traces = new LinkedHashMap<>();
+    private final HashMap<Traceback, Traceback> tracebacks = new HashMap<>();
+    private final ThreadLocal<Boolean> reentrant = new ThreadLocal<>();
+    private long tracedSize;
+    private long peakSize;
+
+    TracemallocTracer(PythonLanguage language, int samplingInterval, int maxTraces) {
+        this.language = language;
+        this.samplingInterval = Math.max(1, samplingInterval);
+        this.maxTraces = Math.max(1, maxTraces);
+        this.countdown = this.samplingInterval;
+    }
+
+    /**
+     * The frames of one allocation site, most recent first. Instances are interned, so traces
+     * allocated at the same site share them. The stack is only walked up to one frame past the
+     * traceback limit, so {@link #getTotalNframe()} is the limit plus one for truncated tracebacks.
+     */
+    public static final class Traceback {
+        private final TruffleString[] filenames;
+        private final int[] linenos;
+        private final int totalNframe;
+        private final int hash;
+
+        Traceback(TruffleString[] filenames, int[] linenos, int totalNframe) {
+            this.filenames = filenames;
+            this.linenos = linenos;
+            this.totalNframe = totalNframe;
+            this.hash = 31 * (31 * Arrays.hashCode(filenames) + Arrays.hashCode(linenos)) + totalNframe;
+        }
+
+        public int size() {
+            return filenames.length;
+        }
+
+        public TruffleString getFilename(int i) {
+            return filenames[i];
+        }
+
+        public int getLineno(int i) {
+            return linenos[i];
+        }
+
+        public int getTotalNframe() {
+            return totalNframe;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Traceback other)) {
+                return false;
+            }
+            return hash == other.hash && totalNframe == other.totalNframe && Arrays.equals(linenos, other.linenos) && Arrays.equals(filenames, other.filenames);
+        }
+    }
+
+    /** A snapshot of one trace, as returned by {@link #getTraces()}. */
+    public record Trace(long size, Traceback traceback) {
+    }
+
+    /**
+     * Weak reference to a traced object. Equality is identity of the referent, so live entries can
+     * be found by a probe and dead entries still by the reference itself.
+     */
+    private static final class TraceEntry extends WeakReference<Object> {
+        private final int hash;
+        private final long size;
+        private final Traceback traceback;
+
+        TraceEntry(Object referent, ReferenceQueue<Object> queue, long size, Traceback traceback) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+            this.size = size;
+            this.traceback = traceback;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TraceEntry other) || hash != other.hash) {
+                return false;
+            }
+            Object referent = get();
+            return referent != null && referent == other.get();
+        }
+    }
+
+    public boolean isTracing() {
+        return tracing;
+    }
+
+    public int getTracebackLimit() {
+        return tracebackLimit;
+    }
+
+    @TruffleBoundary
+    public synchronized void start(int nframe) {
+        assert nframe >= 1 && nframe <= MAX_NFRAME;
+        tracebackLimit = nframe;
+        if (!tracing) {
+            tracing = true;
+            language.setTracemallocTracing(true);
+        }
+    }
+
+    @TruffleBoundary
+    public synchronized void stop() {
+        if (tracing) {
+            tracing = false;
+            language.setTracemallocTracing(false);
+        }
+        clearTraces();
+    }
+
+    @TruffleBoundary
+    public synchronized void clearTraces() {
+        for (TraceEntry entry : traces.keySet()) {
+            entry.clear();
+        }
+        traces.clear();
+        tracebacks.clear();
+        while (queue.poll() != null) {
+            // drain
+        }
+        tracedSize = 0;
+        peakSize = 0;
+    }
+
+    /**
+     * Called for every allocation reported by the object factory while tracing may be enabled.
+     */
+    @TruffleBoundary
+    public void onAllocation(Object object, long size) {
+        if (!tracing || --countdown > 0) {
+            return;
+        }
+        countdown = samplingInterval;
+        if (reentrant.get() != null) {
+            return;
+        }
+        long weightedSize = (size == AllocationReporter.SIZE_UNKNOWN ? UNKNOWN_OBJECT_SIZE : size) * samplingInterval;
+        Traceback traceback = captureTraceback(tracebackLimit);
+        synchronized (this) {
+            if (!tracing) {
+                return;
+            }
+            expungeCollected();
+            TraceEntry entry = new TraceEntry(object, queue, weightedSize, internTraceback(traceback));
+            TraceEntry previous = traces.put(entry, entry);
+            if (previous != null) {
+                tracedSize -= previous.size;
+            }
+            tracedSize += weightedSize;
+            if (traces.size() > maxTraces) {
+                Iterator<TraceEntry> it = traces.keySet().iterator();
+                tracedSize -= it.next().size;
+                it.remove();
+            }
+            peakSize = Math.max(peakSize, tracedSize);
+        }
+    }
+
+    /**
+     * Runs {@code action} without recording the allocations it does on the current thread. Used
+     * by the module functions that convert traces to Python objects.
+     */
+    @TruffleBoundary
+    public <T> T withoutTracing(Supplier<T> action) {
+        if (reentrant.get() != null) {
+            return action.get();
+        }
+        reentrant.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            reentrant.remove();
+        }
+    }
+
+    @TruffleBoundary
+    public synchronized Traceback getObjectTraceback(Object object) {
+        if (!tracing) {
+            return null;
+        }
+        TraceEntry entry = traces.get(new TraceEntry(object, null, 0, null));
+        return entry != null ? entry.traceback : null;
+    }
+
+    @TruffleBoundary
+    public synchronized Trace[] getTraces() {
+        if (!tracing) {
+            return new Trace[0];
+        }
+        expungeCollected();
+        ArrayList<Trace> result = new ArrayList<>(traces.size());
+        for (TraceEntry entry : traces.keySet()) {
+            if (entry.get() != null) {
+                result.add(new Trace(entry.size, entry.traceback));
+            }
+        }
+        return result.toArray(new Trace[0]);
+    }
+
+    @TruffleBoundary
+    public synchronized long[] getTracedMemory() {
+        expungeCollected();
+        return new long[]{tracedSize, peakSize};
+    }
+
+    @TruffleBoundary
+    public synchronized void resetPeak() {
+        expungeCollected();
+        peakSize = tracedSize;
+    }
+
+    @TruffleBoundary
+    public synchronized long getTracemallocMemory() {
+        long size = traces.size() * TRACE_ENTRY_SIZE;
+        for (Traceback traceback : tracebacks.keySet()) {
+            size += 32 + traceback.size() * 12L;
+        }
+        return size;
+    }
+
+    private void expungeCollected() {
+        TraceEntry entry;
+        while ((entry = (TraceEntry) queue.poll()) != null) {
+            if (traces.remove(entry) != null) {
+                tracedSize -= entry.size;
+            }
+        }
+    }
+
+    private Traceback internTraceback(Traceback traceback) {
+        Traceback existing = tracebacks.putIfAbsent(traceback, traceback);
+        return existing != null ? existing : traceback;
+    }
+
+    private static Traceback captureTraceback(int limit) {
+        ArrayList<TruffleString> filenames = new ArrayList<>(Math.min(limit, 16));
+        ArrayList<Integer> linenos = new ArrayList<>(Math.min(limit, 16));
+        int[] total = new int[1];
+        Truffle.getRuntime().iterateFrames((FrameInstanceVisitor<Object>) frameInstance -> {
+            RootNode rootNode = ((RootCallTarget) frameInstance.getCallTarget()).getRootNode();
+            PBytecodeRootNode bytecodeRoot;
+            if (rootNode instanceof PBytecodeRootNode r) {
+                bytecodeRoot = r;
+            } else if (rootNode instanceof PBytecodeGeneratorRootNode g) {
+                bytecodeRoot = g.getBytecodeRootNode();
+            } else {
+                return null;
+            }
+            if (bytecodeRoot.isPythonInternal()) {
+                return null;
+            }
+            if (total[0]++ == limit) {
+                // stop the walk, the frame after the limit only tells that the traceback is truncated
+                return frameInstance;
+            }
+            Frame frame = frameInstance.getFrame(FrameInstance.FrameAccess.READ_ONLY);
+            if (rootNode instanceof PBytecodeGeneratorRootNode) {
+                frame = PArguments.getGeneratorFrame(frame);
+            }
+            int lineno = 0;
+            if (frame.getFrameDescriptor().getInfo() instanceof FrameInfo info) {
+                int bci = info.getBci(frame);
+                lineno = bci >= 0 ? bytecodeRoot.bciToLine(bci) : 0;
+            }
+            filenames.add(PCode.extractFileName(bytecodeRoot));
+            linenos.add(lineno);
+            return null;
+        });
+        if (filenames.isEmpty()) {
+            filenames.add(T_UNKNOWN);
+            linenos.add(0);
+        }
+        int[] lines = new int[linenos.size()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = linenos.get(i);
+        }
+        return new Traceback(filenames.toArray(new TruffleString[0]), lines, total[0]);
+    }
+}
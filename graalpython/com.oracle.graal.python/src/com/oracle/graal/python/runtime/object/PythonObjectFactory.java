@@ -25,6 +25,8 @@
  */
 package com.oracle.graal.python.runtime.object;
 
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
 import java.lang.ref.ReferenceQueue;
 import java.math.BigInteger;
 import java.util.LinkedHashMap;
@@ -72,6 +74,7 @@ import com.oracle.graal.python.builtins.modules.io.PTextIO;
 import com.oracle.graal.python.builtins.modules.json.PJSONEncoder;
 import com.oracle.graal.python.builtins.modules.json.PJSONEncoder.FastEncode;
 import com.oracle.graal.python.builtins.modules.json.PJSONScanner;
+import com.oracle.graal.python.builtins.modules.json.PJSONStreamScanner;
 import com.oracle.graal.python.builtins.modules.lzma.LZMAObject;
 import com.oracle.graal.python.builtins.modules.multiprocessing.PGraalPySemLock;
 import com.oracle.graal.python.builtins.modules.multiprocessing.PSemLock;
@@ -105,6 +108,16 @@ import com.oracle.graal.python.builtins.objects.contextvars.PContextIterator;
 import com.oracle.graal.python.builtins.objects.contextvars.PContextVar;
 import com.oracle.graal.python.builtins.objects.contextvars.PContextVarsContext;
 import com.oracle.graal.python.builtins.objects.contextvars.PContextVarsToken;
+import com.oracle.graal.python.builtins.objects.datetime.PDate;
+import com.oracle.graal.python.builtins.objects.datetime.PDateTime;
+import com.oracle.graal.python.builtins.objects.datetime.PTime;
+import com.oracle.graal.python.builtins.objects.datetime.PTimeDelta;
+import com.oracle.graal.python.builtins.objects.datetime.PTimeZone;
+import com.oracle.graal.python.builtins.objects.decimal.DecimalValue;
+import com.oracle.graal.python.builtins.objects.decimal.PDecimal;
+import com.oracle.graal.python.builtins.objects.decimal.PDecimalContext;
+import com.oracle.graal.python.builtins.objects.decimal.PDecimalContextManager;
+import com.oracle.graal.python.builtins.objects.decimal.PDecimalSignalDict;
 import com.oracle.graal.python.builtins.objects.deque.PDeque;
 import com.oracle.graal.python.builtins.objects.deque.PDequeIter;
 import com.oracle.graal.python.builtins.objects.dict.PDefaultDict;
@@ -187,6 +200,8 @@ import com.oracle.graal.python.builtins.objects.range.PIntRange;
 import com.oracle.graal.python.builtins.objects.referencetype.PReferenceType;
 import com.oracle.graal.python.builtins.objects.reversed.PSequenceReverseIterator;
 import com.oracle.graal.python.builtins.objects.reversed.PStringReverseIterator;
+import com.oracle.graal.python.builtins.objects.select.PEpoll;
+import com.oracle.graal.python.builtins.objects.select.PPoll;
 import com.oracle.graal.python.builtins.objects.set.PBaseSet;
 import com.oracle.graal.python.builtins.objects.set.PFrozenSet;
 import com.oracle.graal.python.builtins.objects.set.PSet;
@@ -199,6 +214,9 @@ import com.oracle.graal.python.builtins.objects.ssl.PSSLSocket;
 import com.oracle.graal.python.builtins.objects.ssl.SSLMethod;
 import com.oracle.graal.python.builtins.objects.str.NativeCharSequence;
 import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.struct.PStruct;
+import com.oracle.graal.python.builtins.objects.struct.PStruct.StructInfo;
+import com.oracle.graal.python.builtins.objects.struct.PStructUnpackIterator;
 import com.oracle.graal.python.builtins.objects.superobject.SuperObject;
 import com.oracle.graal.python.builtins.objects.thread.PLock;
 import com.oracle.graal.python.builtins.objects.thread.PRLock;
@@ -221,13 +239,16 @@ import com.oracle.graal.python.nodes.bytecode.PBytecodeRootNode;
 import com.oracle.graal.python.runtime.NFIZlibSupport;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonOptions;
+import com.oracle.graal.python.runtime.TracemallocTracer;
 import com.oracle.graal.python.runtime.object.PythonObjectFactoryNodeGen.LazyNodeGen;
+import com.oracle.graal.python.runtime.sequence.storage.BoolSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.EmptySequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.MroSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.NativeByteSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorageFactory;
@@ -304,13 +325,25 @@ public abstract class PythonObjectFactory extends Node {
 
     @Specialization
     static AllocationReporter doTrace(Object o, long size,
-                    @Cached(value = "getAllocationReporter()", allowUncached = true) AllocationReporter reporter) {
+                    @Cached(value = "getAllocationReporter()", allowUncached = true) AllocationReporter reporter,
+                    @Cached(value = "getLanguage()", allowUncached = true) PythonLanguage language) {
         if (reporter.isActive()) {
             doTraceImpl(o, size, reporter);
         }
+        if (language.isTracemallocActive()) {
+            doTracemalloc(o, size);
+        }
         return null;
     }
 
+    @TruffleBoundary
+    private static void doTracemalloc(Object o, long size) {
+        TracemallocTracer tracer = PythonContext.get(null).getTracemallocTracerOrNull();
+        if (tracer != null) {
+            tracer.onAllocation(o, size);
+        }
+    }
+
     @InliningCutoff
     private static void doTraceImpl(Object o, long size, AllocationReporter reporter) {
         reporter.onEnter(null, 0, size);
@@ -339,6 +372,54 @@ public abstract class PythonObjectFactory extends Node {
         return allocatedObject;
     }
 
+    /**
+     * Reports an object with a variable-size part. The JVM does not expose object sizes, so
+     * {@code size} is an estimate, see {@link #estimateSize(SequenceStorage)}.
+     */
+    public final <T> T trace(T allocatedObject, long size) {
+        executeTrace(allocatedObject, size);
+        return allocatedObject;
+    }
+
+    /*
+     * Estimated sizes on a 64-bit VM: the object itself with its header and a few fields, and the
+     * size of one reference in an array.
+     */
+    private static final long OBJECT_SIZE = 48;
+    private static final long REFERENCE_SIZE = 8;
+
+    /**
+     * Estimates the size of an object holding {@code storage}, counting its whole capacity. The
+     * storage is only looked at when it is created, so later growth of a list is not reported.
+     */
+    private static long estimateSize(SequenceStorage storage) {
+        long elementSize;
+        if (storage instanceof ByteSequenceStorage || storage instanceof NativeByteSequenceStorage || storage instanceof BoolSequenceStorage) {
+            elementSize = 1;
+        } else if (storage instanceof IntSequenceStorage) {
+            elementSize = 4;
+        } else {
+            elementSize = REFERENCE_SIZE;
+        }
+        return OBJECT_SIZE * 2 + storage.getCapacity() * elementSize;
+    }
+
+    private static long estimateSize(Object[] objects) {
+        return OBJECT_SIZE + objects.length * REFERENCE_SIZE;
+    }
+
+    private static long estimateSize(TruffleString string) {
+        return OBJECT_SIZE * 2 + string.byteLength(TS_ENCODING);
+    }
+
+    private static long estimateSize(HashingStorage storage) {
+        if (storage instanceof EconomicMapStorage map) {
+            // the map keeps the entries and a hash table indexing them
+            return OBJECT_SIZE * 2 + map.length() * 4 * REFERENCE_SIZE;
+        }
+        return OBJECT_SIZE * 2;
+    }
+
     /*
      * Python objects
      */
@@ -420,11 +501,11 @@ public abstract class PythonObjectFactory extends Node {
 
     public final PString createString(TruffleString string) {
         Shape shape = getLanguage().getBuiltinTypeInstanceShape(PythonBuiltinClassType.PString);
-        return trace(new PString(PythonBuiltinClassType.PString, shape, string));
+        return trace(new PString(PythonBuiltinClassType.PString, shape, string), estimateSize(string));
     }
 
     public final PString createString(Object cls, TruffleString string) {
-        return trace(new PString(cls, getShape(cls), string));
+        return trace(new PString(cls, getShape(cls), string), estimateSize(string));
     }
 
     public final PString createString(NativeCharSequence string) {
@@ -461,11 +542,11 @@ public abstract class PythonObjectFactory extends Node {
     }
 
     public final PBytes createBytes(SequenceStorage storage) {
-        return trace(new PBytes(PythonBuiltinClassType.PBytes, getShape(PythonBuiltinClassType.PBytes), storage));
+        return trace(new PBytes(PythonBuiltinClassType.PBytes, getShape(PythonBuiltinClassType.PBytes), storage), estimateSize(storage));
     }
 
     public final PBytes createBytes(Object cls, SequenceStorage storage) {
-        return trace(new PBytes(cls, getShape(cls), storage));
+        return trace(new PBytes(cls, getShape(cls), storage), estimateSize(storage));
     }
 
     public final PTuple createEmptyTuple() {
@@ -478,7 +559,7 @@ public abstract class PythonObjectFactory extends Node {
 
     public final PTuple createTuple(Object[] objects) {
         Shape shape = PythonBuiltinClassType.PTuple.getInstanceShape(getLanguage());
-        return trace(new PTuple(PythonBuiltinClassType.PTuple, shape, objects));
+        return trace(new PTuple(PythonBuiltinClassType.PTuple, shape, objects), estimateSize(objects));
     }
 
     public final PTuple createTuple(int[] ints) {
@@ -487,19 +568,19 @@ public abstract class PythonObjectFactory extends Node {
 
     public final PTuple createTuple(SequenceStorage store) {
         Shape shape = PythonBuiltinClassType.PTuple.getInstanceShape(getLanguage());
-        return trace(new PTuple(PythonBuiltinClassType.PTuple, shape, store));
+        return trace(new PTuple(PythonBuiltinClassType.PTuple, shape, store), estimateSize(store));
     }
 
     public final PTuple createTuple(Object cls, Shape instanceShape, Object[] objects) {
-        return trace(new PTuple(cls, instanceShape, objects));
+        return trace(new PTuple(cls, instanceShape, objects), estimateSize(objects));
     }
 
     public final PTuple createTuple(Object cls, Object[] objects) {
-        return trace(new PTuple(cls, getShape(cls), objects));
+        return trace(new PTuple(cls, getShape(cls), objects), estimateSize(objects));
     }
 
     public final PTuple createTuple(Object cls, SequenceStorage store) {
-        return trace(new PTuple(cls, getShape(cls), store));
+        return trace(new PTuple(cls, getShape(cls), store), estimateSize(store));
     }
 
     public final PTuple createStructSeq(BuiltinTypeDescriptor desc, Object... values) {
@@ -741,15 +822,15 @@ public abstract class PythonObjectFactory extends Node {
     }
 
     public final PList createList(Object cls, Shape instanceShape, SequenceStorage storage) {
-        return trace(new PList(cls, instanceShape, storage));
+        return trace(new PList(cls, instanceShape, storage), estimateSize(storage));
     }
 
     public final PList createList(SequenceStorage storage, ListOrigin origin) {
-        return trace(new PList(PythonBuiltinClassType.PList, PythonBuiltinClassType.PList.getInstanceShape(getLanguage()), storage, origin));
+        return trace(new PList(PythonBuiltinClassType.PList, PythonBuiltinClassType.PList.getInstanceShape(getLanguage()), storage, origin), estimateSize(storage));
     }
 
     public final PList createList(Object cls, SequenceStorage storage) {
-        return trace(new PList(cls, getShape(cls), storage));
+        return trace(new PList(cls, getShape(cls), storage), estimateSize(storage));
     }
 
     public final PList createList(Object cls) {
@@ -761,7 +842,7 @@ public abstract class PythonObjectFactory extends Node {
     }
 
     public final PList createList(Object cls, Object[] array) {
-        return trace(new PList(cls, getShape(cls), SequenceStorageFactory.createStorage(array)));
+        return trace(new PList(cls, getShape(cls), SequenceStorageFactory.createStorage(array)), estimateSize(array));
     }
 
     public final PSet createSet() {
@@ -779,7 +860,7 @@ public abstract class PythonObjectFactory extends Node {
 
     public final PSet createSet(HashingStorage storage) {
         Shape shape = PythonBuiltinClassType.PSet.getInstanceShape(getLanguage());
-        return trace(new PSet(PythonBuiltinClassType.PSet, shape, storage));
+        return trace(new PSet(PythonBuiltinClassType.PSet, shape, storage), estimateSize(storage));
     }
 
     public final PFrozenSet createFrozenSet(Object cls) {
@@ -787,12 +868,12 @@ public abstract class PythonObjectFactory extends Node {
     }
 
     public final PFrozenSet createFrozenSet(Object cls, HashingStorage storage) {
-        return trace(new PFrozenSet(cls, getShape(cls), storage));
+        return trace(new PFrozenSet(cls, getShape(cls), storage), estimateSize(storage));
     }
 
     public final PFrozenSet createFrozenSet(HashingStorage storage) {
         Shape shape = PythonBuiltinClassType.PFrozenSet.getInstanceShape(getLanguage());
-        return trace(new PFrozenSet(PythonBuiltinClassType.PFrozenSet, shape, storage));
+        return trace(new PFrozenSet(PythonBuiltinClassType.PFrozenSet, shape, storage), estimateSize(storage));
     }
 
     public final PDict createDict() {
@@ -802,7 +883,7 @@ public abstract class PythonObjectFactory extends Node {
 
     public final PDict createDict(PKeyword[] keywords) {
         Shape shape = PythonBuiltinClassType.PDict.getInstanceShape(getLanguage());
-        return trace(new PDict(PythonBuiltinClassType.PDict, shape, keywords));
+        return trace(new PDict(PythonBuiltinClassType.PDict, shape, keywords), estimateSize(keywords));
     }
 
     public final PDict createDict(Object cls) {
@@ -859,7 +940,7 @@ public abstract class PythonObjectFactory extends Node {
     }
 
     public final PDict createDict(Object cls, HashingStorage storage) {
-        return trace(new PDict(cls, getShape(cls), storage));
+        return trace(new PDict(cls, getShape(cls), storage), estimateSize(storage));
     }
 
     public final PDict createDict(HashingStorage storage) {
@@ -867,7 +948,7 @@ public abstract class PythonObjectFactory extends Node {
     }
 
     public final PDict createDict(Object cls, Shape instanceShape, HashingStorage storage) {
-        return trace(new PDict(cls, instanceShape, storage));
+        return trace(new PDict(cls, instanceShape, storage), estimateSize(storage));
     }
 
     public final PSimpleNamespace createSimpleNamespace() {
@@ -1037,7 +1118,7 @@ public abstract class PythonObjectFactory extends Node {
 
     public final PArray createArray(Object cls, TruffleString formatString, BufferFormat format, int length) throws OverflowException {
         assert format != null;
-        return trace(new PArray(cls, getShape(cls), formatString, format, length));
+        return trace(new PArray(cls, getShape(cls), formatString, format, length), OBJECT_SIZE * 2 + (long) length * format.bytesize);
     }
 
     public final PByteArray createByteArray(byte[] array) {
@@ -1061,7 +1142,7 @@ public abstract class PythonObjectFactory extends Node {
     }
 
     public final PByteArray createByteArray(Object cls, SequenceStorage storage) {
-        return trace(new PByteArray(cls, getShape(cls), storage));
+        return trace(new PByteArray(cls, getShape(cls), storage), estimateSize(storage));
     }
 
     /*
@@ -1195,6 +1276,18 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PSocket(cls, getShape(cls)));
     }
 
+    /*
+     * Select
+     */
+
+    public final PPoll createPoll() {
+        return trace(new PPoll(PythonBuiltinClassType.PPoll, PythonBuiltinClassType.PPoll.getInstanceShape(getLanguage())));
+    }
+
+    public final PEpoll createEpoll(Object cls, PythonContext context, int epfd) {
+        return trace(new PEpoll(cls, getShape(cls), context, epfd));
+    }
+
     /*
      * Threading
      */
@@ -1495,6 +1588,11 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PJSONScanner(clazz, getShape(clazz), strict, objectHook, objectPairsHook, parseFloat, parseInt, parseConstant));
     }
 
+    @TruffleBoundary
+    public final PJSONStreamScanner createJSONStreamScanner(Object clazz, PJSONScanner scanner, boolean events) {
+        return trace(new PJSONStreamScanner(clazz, getShape(clazz), scanner, events));
+    }
+
     @TruffleBoundary
     public final PJSONEncoder createJSONEncoder(Object clazz, Object markers, Object defaultFn, Object encoder, Object indent, TruffleString keySeparator, TruffleString itemSeparator,
                     boolean sortKeys, boolean skipKeys, boolean allowNan, FastEncode fastEncode) {
@@ -1517,6 +1615,63 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PDequeIter(PythonBuiltinClassType.PDequeRevIter, getShape(PythonBuiltinClassType.PDequeRevIter), deque, true));
     }
 
+    public final PTimeDelta createTimeDelta(Object cls, int days, int seconds, int microseconds) {
+        return trace(new PTimeDelta(cls, getShape(cls), days, seconds, microseconds));
+    }
+
+    public final PDate createDate(Object cls, int year, int month, int day) {
+        return trace(new PDate(cls, getShape(cls), year, month, day));
+    }
+
+    public final PTime createTime(Object cls, int hour, int minute, int second, int microsecond, Object tzInfo, int fold) {
+        return trace(new PTime(cls, getShape(cls), hour, minute, second, microsecond, tzInfo, fold));
+    }
+
+    public final PDateTime createDateTime(Object cls, int year, int month, int day, int hour, int minute, int second, int microsecond, Object tzInfo, int fold) {
+        return trace(new PDateTime(cls, getShape(cls), year, month, day, hour, minute, second, microsecond, tzInfo, fold));
+    }
+
+    public final PTimeZone createTimeZone(Object cls, PTimeDelta offset, TruffleString name) {
+        return trace(new PTimeZone(cls, getShape(cls), offset, name));
+    }
+
+    public final PDecimal createDecimal(DecimalValue value) {
+        return createDecimal(PythonBuiltinClassType.PDecimal, value);
+    }
+
+    public final PDecimal createDecimal(Object cls, DecimalValue value) {
+        return trace(new PDecimal(cls, getShape(cls), value));
+    }
+
+    public final PDecimalContext createDecimalContext(Object cls, long prec, int rounding, long emin, long emax, int capitals, int clamp, int flags, int traps) {
+        return trace(new PDecimalContext(cls, getShape(cls), prec, rounding, emin, emax, capitals, clamp, flags, traps));
+    }
+
+    public final PDecimalContext createDecimalContext(PDecimalContext template, int flags) {
+        return createDecimalContext(PythonBuiltinClassType.PDecimalContext, template.getPrec(), template.getRounding(), template.getEmin(), template.getEmax(), template.getCapitals(),
+                        template.getClamp(), flags, template.getTraps());
+    }
+
+    public final PDecimalSignalDict createDecimalSignalDict(Object cls, PDecimalContext context, boolean traps) {
+        return trace(new PDecimalSignalDict(cls, getShape(cls), context, traps));
+    }
+
+    public final PDecimalContextManager createDecimalContextManager(PDecimalContext local, PDecimalContext global) {
+        return trace(new PDecimalContextManager(PythonBuiltinClassType.PDecimalContextManager, getShape(PythonBuiltinClassType.PDecimalContextManager), local, global));
+    }
+
+    public final PStruct createStruct(Object cls) {
+        return trace(new PStruct(cls, getShape(cls)));
+    }
+
+    public final PStruct createStruct(StructInfo structInfo) {
+        return trace(new PStruct(PythonBuiltinClassType.PStruct, getShape(PythonBuiltinClassType.PStruct), structInfo));
+    }
+
+    public final PStructUnpackIterator createStructUnpackIterator(PStruct struct, Object buffer, int bufferLength) {
+        return trace(new PStructUnpackIterator(PythonBuiltinClassType.PStructUnpackIterator, getShape(PythonBuiltinClassType.PStructUnpackIterator), struct, buffer, bufferLength));
+    }
+
     public final PSimpleQueue createSimpleQueue(Object cls) {
         return trace(new PSimpleQueue(cls, getShape(cls)));
     }
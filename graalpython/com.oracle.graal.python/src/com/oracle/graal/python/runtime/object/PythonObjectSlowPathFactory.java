@@ -81,7 +81,7 @@ public final class PythonObjectSlowPathFactory extends PythonObjectFactory {
     @Override
     protected AllocationReporter executeTrace(Object arg0Value, long arg1Value) {
         assert PythonContext.get(null).getAllocationReporter() == reporter;
-        return PythonObjectFactory.doTrace(arg0Value, arg1Value, reporter);
+        return PythonObjectFactory.doTrace(arg0Value, arg1Value, reporter, language);
     }
 
     @TruffleBoundary
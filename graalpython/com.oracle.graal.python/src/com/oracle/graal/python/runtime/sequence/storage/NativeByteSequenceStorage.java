@@ -44,7 +44,12 @@ import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary
 import com.oracle.graal.python.builtins.objects.cext.capi.transitions.CApiTransitions;
 import com.oracle.graal.python.builtins.objects.cext.structs.CStructAccess;
 import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 
@@ -95,6 +100,27 @@ public final class NativeByteSequenceStorage extends NativeSequenceStorage {
         return length;
     }
 
+    @ExportMessage
+    boolean hasNativePointer(
+                    @Shared("ptrLib") @CachedLibrary(limit = "1") InteropLibrary ptrLib) {
+        Object ptr = getPtr();
+        return ptr instanceof Long || ptrLib.isPointer(ptr);
+    }
+
+    @ExportMessage
+    long getNativePointer(
+                    @Shared("ptrLib") @CachedLibrary(limit = "1") InteropLibrary ptrLib) {
+        Object ptr = getPtr();
+        if (ptr instanceof Long) {
+            return (long) ptr;
+        }
+        try {
+            return ptrLib.asPointer(ptr);
+        } catch (UnsupportedMessageException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
     @ExportMessage
     byte readByte(int byteOffset,
                     @Cached CStructAccess.ReadByteNode readNode) {
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2024, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.util;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive {@code long} keys to objects using open addressing with linear
+ * probing. Unlike {@code HashMap<Long, V>}, lookups do not box the key and do not chase bucket
+ * nodes, which matters for tables that are queried on every transition between native and managed
+ * code. Key {@code 0} is reserved as the empty marker and must not be used. Not thread-safe.
+ */
+public final class LongObjectHashMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    /** Number of bits used to index {@link #keys}, i.e. {@code keys.length == 1 << bits}. */
+    private int bits;
+
+    public LongObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongObjectHashMap(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, initialCapacity * 2 - 1));
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.bits = Integer.numberOfTrailingZeros(capacity);
+    }
+
+    /**
+     * Fibonacci hashing. Pointers are usually aligned, so the low bits of the key carry little
+     * information and must not be used directly as the index.
+     */
+    private static int index(long key, int bits) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - bits));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        assert key != 0;
+        long[] k = keys;
+        int mask = k.length - 1;
+        for (int i = index(key, bits);; i = (i + 1) & mask) {
+            long cur = k[i];
+            if (cur == key) {
+                return (V) values[i];
+            } else if (cur == 0) {
+                return null;
+            }
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associates {@code value} (which must not be {@code null}) with {@code key} and returns the
+     * previous value or {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        assert key != 0 && value != null;
+        int mask = keys.length - 1;
+        int i = index(key, bits);
+        for (;; i = (i + 1) & mask) {
+            long cur = keys[i];
+            if (cur == key) {
+                V prev = (V) values[i];
+                values[i] = value;
+                return prev;
+            } else if (cur == 0) {
+                break;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        // keep the load factor at most 1/2 so that probe sequences stay short
+        if (++size > keys.length >>> 1) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        assert key != 0;
+        long[] k = keys;
+        Object[] v = values;
+        int mask = k.length - 1;
+        int i = index(key, bits);
+        for (;; i = (i + 1) & mask) {
+            long cur = k[i];
+            if (cur == key) {
+                break;
+            } else if (cur == 0) {
+                return null;
+            }
+        }
+        V prev = (V) v[i];
+        size--;
+        /*
+         * Backward shift deletion: move later entries of the same probe sequence into the hole so
+         * that no tombstones are needed.
+         */
+        int hole = i;
+        for (int j = (hole + 1) & mask;; j = (j + 1) & mask) {
+            long cur = k[j];
+            if (cur == 0) {
+                break;
+            }
+            int home = index(cur, bits);
+            // move the entry if its home slot is not cyclically in (hole, j]
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                k[hole] = cur;
+                v[hole] = v[j];
+                hole = j;
+            }
+        }
+        k[hole] = 0;
+        v[hole] = null;
+        return prev;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        int newBits = Integer.numberOfTrailingZeros(newCapacity);
+        long[] newKeys = new long[newCapacity];
+        Object[] newValues = new Object[newCapacity];
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != 0) {
+                int j = index(key, newBits);
+                while (newKeys[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                newKeys[j] = key;
+                newValues[j] = oldValues[i];
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+        bits = newBits;
+    }
+}
@@ -193,7 +193,7 @@ public class ManageResourcesMojo extends AbstractMojo {
         try {
             VFSUtils.generateVFSFilesList(vfs);
         } catch(IOException e) {
-            throw new MojoExecutionException(String.format("Failed to generate files list in '%s'", vfs.toString()), e);
+            throw new MojoExecutionException(String.format("Failed to generate files list and index in '%s'", vfs.toString()), e);
         }
     }
 
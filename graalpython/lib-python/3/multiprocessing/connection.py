@@ -231,6 +231,10 @@ class _ConnectionBase:
         """Send a (picklable) object"""
         self._check_closed()
         self._check_writable()
+        # Begin Truffle change
+        if self._send_shared(obj):
+            return
+        # End Truffle change
         self._send_bytes(_ForkingPickler.dumps(obj))
 
     def recv_bytes(self, maxlength=None):
@@ -275,9 +279,36 @@ class _ConnectionBase:
         """Receive a (picklable) object"""
         self._check_closed()
         self._check_readable()
+        # Begin Truffle change
+        if self._handle < 0 and _default_context._is_graalpy():
+            shared, res = self._recv_shared()
+            return res if shared else _ForkingPickler.loads(res)
+        # End Truffle change
         buf = self._recv_bytes()
         return _ForkingPickler.loads(buf.getbuffer())
 
+    # Begin Truffle change
+    def _send_shared(self, obj):
+        """Hand a deeply immutable object to an in-process reader without
+        pickling it. Returns False if the object needs to be pickled."""
+        if self._handle < 0 and _default_context._is_graalpy():
+            self._check_closed()
+            self._check_writable()
+            from _multiprocessing_graalpy import _write_shared
+            return _write_shared(self._handle, obj)
+        return False
+
+    def _recv_shared(self):
+        """Receive a (shared, value) tuple, where value is the pickled
+        bytes if the object was not sent with _send_shared."""
+        if self._handle < 0 and _default_context._is_graalpy():
+            self._check_closed()
+            self._check_readable()
+            from _multiprocessing_graalpy import _read_shared
+            return _read_shared(self._handle)
+        return False, self.recv_bytes()
+    # End Truffle change
+
     def poll(self, timeout=0.0):
         """Whether there is any input available to be read"""
         self._check_closed()
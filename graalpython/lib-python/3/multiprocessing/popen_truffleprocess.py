@@ -97,6 +97,8 @@ class Popen(object):
 
     def _launch(self, process_obj):
         prep_data = spawn.get_preparation_data(process_obj._name)
+        # the child may run in a context that was initialized before the environment was changed
+        prep_data['environ'] = dict(os.environ._data)
         fp = io.BytesIO()
 
         parent_r = child_w = child_r = parent_w = None
@@ -134,12 +136,20 @@ class Popen(object):
             self.finalizer()
 
 
+def _refresh_environ(data):
+    # only replace the mapping: putenv/unsetenv would change the environment the parent shares
+    # with this context, which already has the parent's values
+    os.environ._data.clear()
+    os.environ._data.update(data)
+
+
 # Entry point to the child context thread
 def spawn_truffleprocess(fd, parent_sentinel):
     process.current_process()._inheriting = True
     try:
         bytesIO = io.BytesIO(_read(fd, 1024))
         preparation_data = reduction.pickle.load(bytesIO)
+        _refresh_environ(preparation_data.pop('environ'))
         spawn.prepare(preparation_data)
         self = reduction.pickle.load(bytesIO)
     finally:
@@ -83,6 +83,10 @@ class Queue(object):
         self._close = None
         self._send_bytes = self._writer.send_bytes
         self._recv_bytes = self._reader.recv_bytes
+        # Begin Truffle change
+        self._send_shared = self._writer._send_shared
+        self._recv_shared = self._reader._recv_shared
+        # End Truffle change
         self._poll = self._reader.poll
 
     def put(self, obj, block=True, timeout=None):
@@ -102,7 +106,9 @@ class Queue(object):
             raise ValueError(f"Queue {self!r} is closed")
         if block and timeout is None:
             with self._rlock:
-                res = self._recv_bytes()
+                # Begin Truffle change
+                shared, res = self._recv_shared()
+                # End Truffle change
             self._sem.release()
         else:
             if block:
@@ -116,10 +122,16 @@ class Queue(object):
                         raise Empty
                 elif not self._poll():
                     raise Empty
-                res = self._recv_bytes()
+                # Begin Truffle change
+                shared, res = self._recv_shared()
+                # End Truffle change
                 self._sem.release()
             finally:
                 self._rlock.release()
+        # Begin Truffle change
+        if shared:
+            return res
+        # End Truffle change
         # unserialize the data after having released the lock
         return _ForkingPickler.loads(res)
 
@@ -170,7 +182,9 @@ class Queue(object):
             args=(self._buffer, self._notempty, self._send_bytes,
                   self._wlock, self._reader.close, self._writer.close,
                   self._ignore_epipe, self._on_queue_feeder_error,
-                  self._sem),
+                  # Begin Truffle change
+                  self._sem, self._send_shared),
+                  # End Truffle change
             name='QueueFeederThread'
         )
         self._thread.daemon = True
@@ -211,8 +225,10 @@ class Queue(object):
             notempty.notify()
 
     @staticmethod
+    # Begin Truffle change
     def _feed(buffer, notempty, send_bytes, writelock, reader_close,
-              writer_close, ignore_epipe, onerror, queue_sem):
+              writer_close, ignore_epipe, onerror, queue_sem, send_shared=None):
+    # End Truffle change
         debug('starting thread to feed data to pipe')
         nacquire = notempty.acquire
         nrelease = notempty.release
@@ -242,6 +258,12 @@ class Queue(object):
                             writer_close()
                             return
 
+                        # Begin Truffle change
+                        # deeply immutable objects are handed over as they are
+                        if send_shared is not None and send_shared(obj):
+                            continue
+                        # End Truffle change
+
                         # serialize the data before acquiring the lock
                         obj = _ForkingPickler.dumps(obj)
                         if wacquire is None:
@@ -364,11 +386,21 @@ class SimpleQueue(object):
 
     def get(self):
         with self._rlock:
-            res = self._reader.recv_bytes()
+            # Begin Truffle change
+            shared, res = self._reader._recv_shared()
+            # End Truffle change
+        # Begin Truffle change
+        if shared:
+            return res
+        # End Truffle change
         # unserialize the data after having released the lock
         return _ForkingPickler.loads(res)
 
     def put(self, obj):
+        # Begin Truffle change
+        if self._writer._send_shared(obj):
+            return
+        # End Truffle change
         # serialize the data before acquiring the lock
         obj = _ForkingPickler.dumps(obj)
         if self._wlock is None:
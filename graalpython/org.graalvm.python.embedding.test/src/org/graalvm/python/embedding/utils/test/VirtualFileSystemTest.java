@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2023, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -41,9 +41,31 @@
 
 package org.graalvm.python.embedding.utils.test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.graalvm.polyglot.io.FileSystem;
+import org.graalvm.python.embedding.utils.VFSUtils;
 import org.graalvm.python.embedding.utils.VirtualFileSystem;
+import org.graalvm.python.embedding.utils.VirtualFileSystem.HostIO;
 import org.junit.Test;
 
 public class VirtualFileSystemTest {
@@ -55,5 +77,220 @@ public class VirtualFileSystemTest {
 
         assertEquals(vfs.getPrefix(), vfs2.getPrefix());
         assertEquals(vfs.getFileListPath(), vfs2.getFileListPath());
+        assertEquals(vfs.getFileIndexPath(), vfs2.getFileIndexPath());
+    }
+
+    private static final String MOUNT_POINT = VirtualFileSystem.isWindows() ? "X:\\vfstest_mount" : "/vfstest_mount";
+
+    /**
+     * A file system over the resources in {@code src/vfstest}, which contains three text files of
+     * 44 to 46 bytes and {@code lib.dat}. There is no files index, so the entries come from the
+     * files list.
+     */
+    private static VirtualFileSystem.Builder testVFS() {
+        return VirtualFileSystem.newBuilder().vfsPrefix("/vfstest").filesListPath("/vfstest/fileslist.txt").filesIndexPath("/vfstest/fileslist.idx").windowsMountPoint(
+                        MOUNT_POINT).unixMountPoint(MOUNT_POINT).allowHostIO(HostIO.NONE);
+    }
+
+    private static Path path(VirtualFileSystem vfs, String name) {
+        return vfs.parsePath(MOUNT_POINT).resolve("dir").resolve(name);
+    }
+
+    private static byte[] resource(String name) throws IOException {
+        try (InputStream stream = VirtualFileSystemTest.class.getResourceAsStream("/vfstest/dir/" + name)) {
+            return stream.readAllBytes();
+        }
+    }
+
+    private static SeekableByteChannel open(VirtualFileSystem vfs, String name) throws IOException {
+        return vfs.newByteChannel(path(vfs, name), Set.of(StandardOpenOption.READ));
+    }
+
+    private static byte[] read(SeekableByteChannel channel, int length, boolean direct) throws IOException {
+        ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        byte[] result = new byte[buffer.remaining()];
+        buffer.get(result);
+        return result;
+    }
+
+    private static void checkReadsAndSeeks(VirtualFileSystem vfs) throws IOException {
+        byte[] expected = resource("a.txt");
+        try (SeekableByteChannel channel = open(vfs, "a.txt")) {
+            assertEquals(expected.length, channel.size());
+            assertArrayEquals(expected, read(channel, expected.length + 100, false));
+            assertEquals(expected.length, channel.position());
+            assertEquals(-1, channel.read(ByteBuffer.allocate(10)));
+
+            // forward seeks
+            channel.position(10);
+            assertArrayEquals(Arrays.copyOfRange(expected, 10, 15), read(channel, 5, false));
+            channel.position(20);
+            assertArrayEquals(Arrays.copyOfRange(expected, 20, 40), read(channel, 20, true));
+            assertEquals(40, channel.position());
+
+            // backward seeks
+            channel.position(2);
+            assertArrayEquals(Arrays.copyOfRange(expected, 2, 5), read(channel, 3, true));
+            channel.position(0);
+            assertArrayEquals(Arrays.copyOfRange(expected, 0, 1), read(channel, 1, false));
+
+            // a full buffer is not the end of the file
+            assertEquals(0, channel.read(ByteBuffer.allocate(0)));
+            assertEquals(1, channel.position());
+
+            channel.position(expected.length + 10);
+            assertEquals(-1, channel.read(ByteBuffer.allocate(10)));
+        }
+    }
+
+    @Test
+    public void streamedReads() throws Exception {
+        try (VirtualFileSystem vfs = testVFS().contentCacheSize(0).build()) {
+            checkReadsAndSeeks(vfs);
+        }
+    }
+
+    @Test
+    public void cachedReads() throws Exception {
+        try (VirtualFileSystem vfs = testVFS().build()) {
+            checkReadsAndSeeks(vfs);
+            // the second time the contents come from the cache
+            checkReadsAndSeeks(vfs);
+        }
+    }
+
+    @Test
+    public void contentCacheEviction() throws Exception {
+        // room for two of the three files
+        try (VirtualFileSystem vfs = testVFS().contentCacheSize(100).build()) {
+            SeekableByteChannel first = open(vfs, "a.txt");
+            for (int i = 0; i < 3; i++) {
+                for (String name : new String[]{"a.txt", "b.txt", "c.txt"}) {
+                    try (SeekableByteChannel channel = open(vfs, name)) {
+                        assertArrayEquals(resource(name), read(channel, 100, false));
+                    }
+                }
+            }
+            // a channel opened before its contents were evicted still reads them
+            assertArrayEquals(resource("a.txt"), read(first, 100, false));
+            first.close();
+        }
+    }
+
+    @Test
+    public void extractToTemp() throws Exception {
+        Path extracted;
+        try (VirtualFileSystem vfs = testVFS().extractFilter(p -> p.toString().endsWith(".dat")).build()) {
+            Path path = path(vfs, "lib.dat");
+            try (SeekableByteChannel channel = vfs.newByteChannel(path, Set.of(StandardOpenOption.READ))) {
+                // extracted files are read from the host file system
+                assertTrue(channel instanceof FileChannel);
+                assertArrayEquals(resource("lib.dat"), read(channel, 100, false));
+            }
+            extracted = vfs.toRealPath(path);
+            assertFalse(extracted.startsWith(vfs.parsePath(MOUNT_POINT)));
+            assertTrue(Files.isRegularFile(extracted));
+            assertArrayEquals(resource("lib.dat"), Files.readAllBytes(extracted));
+            // files that do not match the filter are not extracted
+            assertEquals(path(vfs, "a.txt"), vfs.toRealPath(path(vfs, "a.txt")));
+        }
+        assertFalse(Files.exists(extracted));
+    }
+
+    /**
+     * Loads the file system in a separate class loader that also sees {@code resources}, so that it
+     * reads its entries from scratch, they are kept in static fields, and can find the files that
+     * were generated by the test.
+     */
+    private static FileSystem isolatedVFS(Path resources, String prefix, String filesListPath, String filesIndexPath) throws Exception {
+        String packageName = VirtualFileSystem.class.getPackageName();
+        URL classes = VirtualFileSystem.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader loader = new URLClassLoader(new URL[]{resources.toUri().toURL(), classes}, VirtualFileSystemTest.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (!name.substring(0, name.lastIndexOf('.')).equals(packageName)) {
+                    return super.loadClass(name, resolve);
+                }
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> c = findLoadedClass(name);
+                    if (c == null) {
+                        c = findClass(name);
+                    }
+                    if (resolve) {
+                        resolveClass(c);
+                    }
+                    return c;
+                }
+            }
+        };
+        Class<?> vfsClass = loader.loadClass(VirtualFileSystem.class.getName());
+        Object builder = vfsClass.getMethod("newBuilder").invoke(null);
+        for (String[] option : new String[][]{{"vfsPrefix", prefix}, {"filesListPath", filesListPath}, {"filesIndexPath", filesIndexPath},
+                        {"windowsMountPoint", MOUNT_POINT}, {"unixMountPoint", MOUNT_POINT}}) {
+            builder.getClass().getMethod(option[0], String.class).invoke(builder, option[1]);
+        }
+        return (FileSystem) builder.getClass().getMethod("build").invoke(builder);
+    }
+
+    private static void listEntries(FileSystem fs, Path dir, Map<String, Boolean> entries) throws IOException {
+        try (DirectoryStream<Path> stream = fs.newDirectoryStream(dir, p -> true)) {
+            for (Path p : stream) {
+                boolean isDirectory = (Boolean) fs.readAttributes(p, "isDirectory").get("isDirectory");
+                entries.put(fs.parsePath(MOUNT_POINT).relativize(p).toString().replace('\\', '/'), isDirectory);
+                if (isDirectory) {
+                    listEntries(fs, p, entries);
+                }
+            }
+        }
+    }
+
+    private static Map<String, Boolean> allEntries(FileSystem fs) throws IOException {
+        Path root = fs.parsePath(MOUNT_POINT);
+        Map<String, Boolean> entries = new TreeMap<>();
+        entries.put("", (Boolean) fs.readAttributes(root, "isDirectory").get("isDirectory"));
+        listEntries(fs, root, entries);
+        return entries;
+    }
+
+    @Test
+    public void filesIndex() throws Exception {
+        Path resources = Files.createTempDirectory("vfsindextest");
+        try {
+            Path vfsDir = resources.resolve("vfsindextest");
+            Files.createDirectories(vfsDir.resolve("dir").resolve("sub"));
+            Files.createDirectories(vfsDir.resolve("empty"));
+            for (String name : new String[]{"a.txt", "b.txt", "lib.dat"}) {
+                Files.write(vfsDir.resolve("dir").resolve(name), resource(name));
+            }
+            Files.write(vfsDir.resolve("dir").resolve("sub").resolve("c.txt"), resource("c.txt"));
+            VFSUtils.generateVFSFilesList(vfsDir);
+
+            // each file system gets only one of the two lists, so the index must be read
+            FileSystem fromList = isolatedVFS(resources, "/vfsindextest", "/vfsindextest/" + VFSUtils.VFS_FILESLIST, "/vfsindextest/missing.idx");
+            FileSystem fromIndex = isolatedVFS(resources, "/vfsindextest", "/vfsindextest/missing.txt", "/vfsindextest/" + VFSUtils.VFS_FILESINDEX);
+            try {
+                Map<String, Boolean> expected = allEntries(fromList);
+                assertEquals(Map.of("", true, "dir", true, "dir/a.txt", false, "dir/b.txt", false, "dir/lib.dat", false,
+                                "dir/sub", true, "dir/sub/c.txt", false, "empty", true), expected);
+                assertEquals(expected, allEntries(fromIndex));
+                Path c = fromIndex.parsePath(MOUNT_POINT).resolve("dir").resolve("sub").resolve("c.txt");
+                try (SeekableByteChannel channel = fromIndex.newByteChannel(c, Set.of(StandardOpenOption.READ))) {
+                    assertArrayEquals(resource("c.txt"), read(channel, 100, false));
+                }
+            } finally {
+                ((AutoCloseable) fromList).close();
+                ((AutoCloseable) fromIndex).close();
+            }
+        } finally {
+            try (var files = Files.walk(resources)) {
+                files.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+            }
+        }
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2023, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -40,6 +40,8 @@
  */
 package org.graalvm.python.embedding.utils;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -53,15 +55,30 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public final class VFSUtils {
+
+    public static final String VFS_FILESLIST = "fileslist.txt";
+    public static final String VFS_FILESINDEX = "fileslist.idx";
+
+    static final int VFS_FILESINDEX_MAGIC = 0x47505646; // "GPVF"
+    static final int VFS_FILESINDEX_VERSION = 1;
+
+    /**
+     * Writes the list of all files and directories in the {@code vfs} directory to
+     * {@value #VFS_FILESLIST}, and the same list grouped by parent directory to
+     * {@value #VFS_FILESINDEX}. The latter is what {@link VirtualFileSystem} reads at runtime if
+     * available, so it can list directories without scanning all entries.
+     */
     public static void generateVFSFilesList(Path vfs) throws IOException {
-        Path filesList = vfs.resolve("fileslist.txt");
+        Path filesList = vfs.resolve(VFS_FILESLIST);
         if (!Files.isDirectory(vfs)) {
             throw new IOException(String.format("'%s' has to exist and be a directory.\n", vfs.toString()));
         }
@@ -82,14 +99,49 @@ public final class VFSUtils {
         String[] a = ret.toArray(new String[ret.size()]);
         Arrays.sort(a);
         try (var wr = new FileWriter(filesList.toFile())) {
-            for (String f : a) {
-                if (f.charAt(0) == '\\') {
-                    f = f.replace("\\", "/");
+            for (int i = 0; i < a.length; i++) {
+                if (a[i].charAt(0) == '\\') {
+                    a[i] = a[i].replace("\\", "/");
                 }
-                wr.write(f);
+                wr.write(a[i]);
                 wr.write("\n");
             }
         }
+        writeVFSFilesIndex(vfs.resolve(VFS_FILESINDEX), a);
+    }
+
+    /**
+     * The index is a sequence of directory records, each directory appears after its parent. A
+     * record is the directory's resource path followed by its children's names, each prefixed with
+     * a flag that tells if the child is a directory.
+     */
+    private static void writeVFSFilesIndex(Path filesIndex, String[] sortedEntries) throws IOException {
+        Map<String, List<String>> children = new LinkedHashMap<>();
+        for (String entry : sortedEntries) {
+            boolean isDir = entry.endsWith("/");
+            String path = isDir ? entry.substring(0, entry.length() - 1) : entry;
+            if (isDir) {
+                children.putIfAbsent(path, new ArrayList<>());
+            }
+            int parentEnd = path.lastIndexOf('/');
+            if (parentEnd > 0) {
+                children.computeIfAbsent(path.substring(0, parentEnd), k -> new ArrayList<>()).add(entry.substring(parentEnd + 1));
+            }
+        }
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(filesIndex)))) {
+            out.writeInt(VFS_FILESINDEX_MAGIC);
+            out.writeInt(VFS_FILESINDEX_VERSION);
+            out.writeInt(children.size());
+            for (Map.Entry<String, List<String>> dir : children.entrySet()) {
+                out.writeUTF(dir.getKey());
+                out.writeInt(dir.getValue().size());
+                for (String child : dir.getValue()) {
+                    boolean isDir = child.endsWith("/");
+                    out.writeBoolean(isDir);
+                    out.writeUTF(isDir ? child.substring(0, child.length() - 1) : child);
+                }
+            }
+        }
     }
 
     private static String makeDirPath(Path p) {
@@ -40,18 +40,26 @@
  */
 package org.graalvm.python.embedding.utils;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
-import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
+import java.net.URLConnection;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.AccessMode;
 import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.FileSystemException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
@@ -62,6 +70,7 @@ import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileAttribute;
@@ -71,6 +80,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -94,11 +104,13 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
         };
 
         private String vfsPrefix = "/vfs";
-        private String filesListPath = vfsPrefix + "/fileslist.txt";
+        private String filesListPath = vfsPrefix + "/" + VFSUtils.VFS_FILESLIST;
+        private String filesIndexPath = vfsPrefix + "/" + VFSUtils.VFS_FILESINDEX;
         private String windowsMountPoint = "X:\\graalpy_vfs";
         private String unixMountPoint = "/graalpy_vfs";
         private Predicate<Path> extractFilter = DEFAULT_EXTRACT_FILTER;
         private HostIO allowHostIO = HostIO.READ_WRITE;
+        private long contentCacheSize = DEFAULT_CONTENT_CACHE_SIZE;
 
         private Builder() {
         }
@@ -128,6 +140,16 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
             return this;
         }
 
+        /**
+         * The resource path to a precomputed directory index of all files and directories under
+         * the {@link #vfsPrefix}, as generated by the GraalPy Maven plugin. If this resource exists,
+         * it is used instead of the {@link #filesListPath files list}.
+         */
+        public Builder filesIndexPath(String s) {
+            filesIndexPath = s;
+            return this;
+        }
+
         /**
          * The mount point for the virtual filesystem on Windows. This mount point shadows any real
          * filesystem, so should be chose to avoid clashes with the users machine.
@@ -164,8 +186,23 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
             return this;
         }
 
+        /**
+         * The maximum number of bytes of file contents that are kept on the Java heap. Small files
+         * are read completely on first access and kept in a cache of this size, the least recently
+         * used ones are evicted first. Files that are larger than this or than 256 KiB are streamed
+         * from the resources whenever they are read. Setting this to 0 disables the cache. The
+         * default is 16 MiB.
+         */
+        public Builder contentCacheSize(long bytes) {
+            if (bytes < 0) {
+                throw new IllegalArgumentException("content cache size must not be negative");
+            }
+            contentCacheSize = bytes;
+            return this;
+        }
+
         public VirtualFileSystem build() {
-            return new VirtualFileSystem(extractFilter, vfsPrefix, filesListPath, windowsMountPoint, unixMountPoint, allowHostIO);
+            return new VirtualFileSystem(extractFilter, vfsPrefix, filesListPath, filesIndexPath, windowsMountPoint, unixMountPoint, allowHostIO, contentCacheSize);
         }
     }
 
@@ -189,6 +226,12 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
      */
     private final String filesListPath;
 
+    /*
+     * Binary form of the files list which already groups entries by their parent directory, see
+     * VFSUtils#generateVFSFilesList. Preferred over the files list if present.
+     */
+    private final String filesIndexPath;
+
     /*
      * Maps platform-specific paths to entries.
      */
@@ -201,6 +244,11 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
     private static Set<String> dirsList;
     private static Map<String, String> lowercaseToResourceMap;
 
+    /*
+     * Maps a directory to its direct children, in the same format as filesList and dirsList.
+     */
+    private static Map<String, List<String>> dirEntries;
+
     private final FileSystem delegate;
 
     private static final String PLATFORM_SEPARATOR = Paths.get("").getFileSystem().getSeparator();
@@ -208,12 +256,33 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
     private static final String RESOURCE_SEPARATOR = String.valueOf(RESOURCE_SEPARATOR_CHAR);
 
     /*
-     * For files, `data` is a byte[], for directories it is a Path[] which contains
-     * platform-specific paths.
+     * For files, `data` is the resource path and `size` the length of its contents, for
+     * directories `data` is a Path[] which contains platform-specific paths. File contents are not
+     * kept in entries, see contentCache.
      */
-    private static final record Entry(boolean isFile, Object data) {
+    private static final record Entry(boolean isFile, Object data, long size) {
     }
 
+    /*
+     * Files up to this size are read completely on first access and kept in the contentCache.
+     * Larger files are streamed from the resources whenever they are read.
+     */
+    private static final int MAX_CACHED_FILE_SIZE = 256 * 1024;
+
+    private static final long DEFAULT_CONTENT_CACHE_SIZE = 16 * 1024 * 1024;
+
+    /*
+     * Upper bound for the total size of the contentCache, see Builder#contentCacheSize.
+     */
+    private final long maxCachedContentSize;
+
+    /*
+     * Contents of recently read small files keyed by resource path. This is an access-ordered map,
+     * the least recently used entries are evicted once maxCachedContentSize is exceeded.
+     */
+    private final LinkedHashMap<String, byte[]> contentCache = new LinkedHashMap<>(64, 0.75f, true);
+    private long contentCacheSize;
+
     /*
      * Determines where the virtual filesystem lives in the real filesystem, e.g. if set to
      * "X:\graalpy_vfs", then a resource with path /vfs/xyz/abc is visible as
@@ -282,11 +351,15 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
     private VirtualFileSystem(Predicate<Path> extractFilter,
                     String resourcesPrefix,
                     String fileListResource,
+                    String fileIndexResource,
                     String windowsMountPoint,
                     String unixMountPoint,
-                    HostIO allowHostIO) {
+                    HostIO allowHostIO,
+                    long contentCacheSize) {
         this.vfsPrefix = resourcesPrefix;
+        this.maxCachedContentSize = contentCacheSize;
         this.filesListPath = fileListResource;
+        this.filesIndexPath = fileIndexResource;
         String mp = System.getenv("GRAALPY_VFS_MOUNT_POINT");
         if (mp == null) {
             mp = isWindows() ? windowsMountPoint : unixMountPoint;
@@ -355,18 +428,18 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
         return path;
     }
 
-    private Set<String> getFilesList() throws IOException {
-        if (filesList == null) {
+    private Set<String> getDirsList() throws IOException {
+        if (dirsList == null) {
             initFilesAndDirsList();
         }
-        return filesList;
+        return dirsList;
     }
 
-    private Set<String> getDirsList() throws IOException {
-        if (dirsList == null) {
+    private Map<String, List<String>> getDirEntries() throws IOException {
+        if (dirEntries == null) {
             initFilesAndDirsList();
         }
-        return dirsList;
+        return dirEntries;
     }
 
     private Map<String, String> getLowercaseToResourceMap() throws IOException {
@@ -380,9 +453,13 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
     private void initFilesAndDirsList() throws IOException {
         filesList = new HashSet<>();
         dirsList = new HashSet<>();
+        dirEntries = new HashMap<>();
         if (caseInsensitive) {
             lowercaseToResourceMap = new HashMap<>();
         }
+        if (readFilesIndex()) {
+            return;
+        }
         try (InputStream stream = VirtualFileSystem.class.getResourceAsStream(filesListPath)) {
             if (stream == null) {
                 return;
@@ -390,67 +467,123 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
             BufferedReader br = new BufferedReader(new InputStreamReader(stream));
             String line;
             while ((line = br.readLine()) != null) {
-                if (line.endsWith(RESOURCE_SEPARATOR)) {
+                boolean isDir = line.endsWith(RESOURCE_SEPARATOR);
+                if (isDir) {
                     line = line.substring(0, line.length() - 1);
-                    dirsList.add(line);
-                } else {
-                    filesList.add(line);
                 }
-                if (caseInsensitive) {
-                    lowercaseToResourceMap.put(line.toLowerCase(Locale.ROOT), line);
+                int parentEnd = line.lastIndexOf(RESOURCE_SEPARATOR_CHAR);
+                if (parentEnd > 0) {
+                    addEntry(line.substring(0, parentEnd), line, isDir);
+                } else {
+                    addEntry(null, line, isDir);
                 }
             }
         }
     }
 
-    private Entry readDirEntry(String parentDir) throws IOException {
-        List<String> l = new ArrayList<>();
-
-        // find all files in parent dir
-        for (String file : getFilesList()) {
-            if (isParent(parentDir, file)) {
-                l.add(file);
+    /**
+     * Reads the index written by {@link VFSUtils#generateVFSFilesList}. Returns {@code false} if
+     * there is no index or it has an unknown format, in which case nothing was added.
+     */
+    private boolean readFilesIndex() throws IOException {
+        try (InputStream stream = VirtualFileSystem.class.getResourceAsStream(filesIndexPath)) {
+            if (stream == null) {
+                return false;
             }
+            DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+            if (in.readInt() != VFSUtils.VFS_FILESINDEX_MAGIC || in.readInt() != VFSUtils.VFS_FILESINDEX_VERSION) {
+                return false;
+            }
+            int dirCount = in.readInt();
+            for (int i = 0; i < dirCount; i++) {
+                String dir = in.readUTF();
+                if (i == 0) {
+                    addEntry(null, dir, true);
+                }
+                int childCount = in.readInt();
+                for (int j = 0; j < childCount; j++) {
+                    boolean isDir = in.readBoolean();
+                    addEntry(dir, dir + RESOURCE_SEPARATOR + in.readUTF(), isDir);
+                }
+            }
+            return true;
         }
+    }
 
-        // find all dirs in parent dir
-        for (String file : getDirsList()) {
-            if (isParent(parentDir, file)) {
-                l.add(file);
-            }
+    private static void addEntry(String parentDir, String path, boolean isDir) {
+        if (isDir) {
+            dirsList.add(path);
+        } else {
+            filesList.add(path);
+        }
+        if (parentDir != null) {
+            dirEntries.computeIfAbsent(parentDir, k -> new ArrayList<>()).add(path);
+        }
+        if (caseInsensitive) {
+            lowercaseToResourceMap.put(path.toLowerCase(Locale.ROOT), path);
         }
+    }
 
+    private Entry readDirEntry(String parentDir) throws IOException {
+        List<String> l = getDirEntries().getOrDefault(parentDir, List.of());
         Path[] paths = new Path[l.size()];
         for (int i = 0; i < paths.length; i++) {
             paths[i] = Paths.get(resourcePathToPlatformPath(l.get(i)));
         }
-        return new Entry(false, paths);
+        return new Entry(false, paths, 0);
     }
 
-    private static boolean isParent(String parentDir, String file) {
-        return file.length() > parentDir.length() && file.startsWith(parentDir) &&
-                        file.indexOf(RESOURCE_SEPARATOR_CHAR, parentDir.length() + 1) < 0;
+    /**
+     * Creates the entry for a file without reading its contents. The size usually comes from the
+     * jar or image resource metadata, only if that is unavailable the resource is read once.
+     */
+    private static Entry readFileEntry(String file, URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        long size = connection.getContentLengthLong();
+        // connecting may already have opened the resource, so always close the stream
+        try (InputStream stream = connection.getInputStream()) {
+            if (size < 0) {
+                size = stream.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+        return new Entry(true, file, size);
     }
 
-    private static Entry readFileEntry(String file) throws IOException {
-        return new Entry(true, readResource(file));
+    private static InputStream openResource(String path) throws IOException {
+        InputStream stream = VirtualFileSystem.class.getResourceAsStream(path);
+        if (stream == null) {
+            throw new NoSuchFileException(path);
+        }
+        return stream;
     }
 
-    static byte[] readResource(String path) throws IOException {
-        try (InputStream stream = VirtualFileSystem.class.getResourceAsStream(path)) {
-            if (stream == null) {
-                return null;
+    /**
+     * Returns the contents of a small file, reading and caching them if necessary.
+     */
+    private byte[] readCachedResource(String path) throws IOException {
+        synchronized (contentCache) {
+            byte[] data = contentCache.get(path);
+            if (data != null) {
+                return data;
             }
-            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-            int n;
-            byte[] data = new byte[4096];
-
-            while ((n = stream.readNBytes(data, 0, data.length)) != 0) {
-                buffer.write(data, 0, n);
+        }
+        byte[] data;
+        try (InputStream stream = openResource(path)) {
+            data = stream.readAllBytes();
+        }
+        synchronized (contentCache) {
+            byte[] previous = contentCache.put(path, data);
+            contentCacheSize += data.length - (previous != null ? previous.length : 0);
+            Iterator<byte[]> it = contentCache.values().iterator();
+            while (contentCacheSize > maxCachedContentSize && it.hasNext()) {
+                byte[] evicted = it.next();
+                if (evicted != data) {
+                    contentCacheSize -= evicted.length;
+                    it.remove();
+                }
             }
-            buffer.flush();
-            return buffer.toByteArray();
         }
+        return data;
     }
 
     private Path toAbsolutePathInternal(Path path) {
@@ -472,7 +605,7 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
                 if (getDirsList().contains(pathString)) {
                     e = readDirEntry(pathString);
                 } else {
-                    e = readFileEntry(pathString);
+                    e = readFileEntry(pathString, uri);
                 }
                 vfsEntries.put(entryKey, e);
             } else {
@@ -492,6 +625,10 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
         return this.filesListPath;
     }
 
+    public String getFileIndexPath() {
+        return this.filesIndexPath;
+    }
+
     /**
      * Uses {@link #extractFilter} to determine if the given platform path should be extracted.
      */
@@ -535,8 +672,17 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
                     }
                     Files.createDirectories(parent);
 
-                    // write data extracted file
-                    Files.write(xPath, (byte[]) e.data());
+                    // stream the data to a temporary file first, so that a concurrent reader never
+                    // sees a partially written library
+                    Path tmpPath = Files.createTempFile(parent, "vfsx", ".tmp");
+                    try (InputStream stream = openResource((String) e.data())) {
+                        Files.copy(stream, tmpPath, StandardCopyOption.REPLACE_EXISTING);
+                        Files.move(tmpPath, xPath, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (FileAlreadyExistsException ex) {
+                        // extracted concurrently
+                    } finally {
+                        Files.deleteIfExists(tmpPath);
+                    }
                 } else {
                     Files.createDirectories(xPath);
                 }
@@ -612,63 +758,15 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
                 // appropriate python error
                 throw new FileSystemException(path.toString(), null, "Is a directory");
             }
-            return new SeekableByteChannel() {
-                long position = 0;
-
-                byte[] bytes = (byte[]) e.data;
-
-                @Override
-                public int read(ByteBuffer dst) throws IOException {
-                    if (position > bytes.length) {
-                        return -1;
-                    } else if (position == bytes.length) {
-                        return 0;
-                    } else {
-                        int length = Math.min(bytes.length - (int) position, dst.remaining());
-                        dst.put(bytes, (int) position, length);
-                        position += length;
-                        if (dst.hasRemaining()) {
-                            position++;
-                        }
-                        return length;
-                    }
-                }
-
-                @Override
-                public int write(ByteBuffer src) throws IOException {
-                    throw new IOException("read-only");
-                }
-
-                @Override
-                public long position() throws IOException {
-                    return position;
-                }
-
-                @Override
-                public SeekableByteChannel position(long newPosition) throws IOException {
-                    position = Math.max(0, newPosition);
-                    return this;
-                }
-
-                @Override
-                public long size() throws IOException {
-                    return bytes.length;
-                }
-
-                @Override
-                public SeekableByteChannel truncate(long size) throws IOException {
-                    throw new IOException("read-only");
-                }
-
-                @Override
-                public boolean isOpen() {
-                    return true;
-                }
-
-                @Override
-                public void close() throws IOException {
-                }
-            };
+            if (shouldExtract(path)) {
+                // extracted files are read through the OS page cache instead of the Java heap
+                return FileChannel.open(getExtractedPath(path), StandardOpenOption.READ);
+            }
+            String resourcePath = (String) e.data;
+            if (e.size <= MAX_CACHED_FILE_SIZE && e.size <= maxCachedContentSize) {
+                return new ResourceChannel(resourcePath, e.size, readCachedResource(resourcePath));
+            }
+            return new ResourceChannel(resourcePath, e.size, null);
         } else {
             throw new SecurityException("read-only filesystem");
         }
@@ -739,7 +837,7 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
         attrs.put("isDirectory", !e.isFile);
         attrs.put("isSymbolicLink", false);
         attrs.put("isOther", false);
-        attrs.put("size", (long) (e.isFile ? ((byte[]) e.data).length : 0));
+        attrs.put("size", e.size);
         attrs.put("mode", 0555);
         attrs.put("dev", 0L);
         attrs.put("nlink", 1);
@@ -748,4 +846,120 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
         attrs.put("ctime", FileTime.fromMillis(0));
         return attrs;
     }
+
+    /**
+     * A read-only channel over a resource. If the contents are given, they are read from that array,
+     * otherwise the resource stream is opened lazily and reopened only for backward seeks.
+     */
+    private static final class ResourceChannel implements SeekableByteChannel {
+        private final String resourcePath;
+        private final long size;
+        private final byte[] contents;
+        private InputStream stream;
+        private long streamPosition;
+        private long position;
+        private boolean open = true;
+
+        ResourceChannel(String resourcePath, long size, byte[] contents) {
+            this.resourcePath = resourcePath;
+            this.size = contents != null ? contents.length : size;
+            this.contents = contents;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            ensureOpen();
+            if (position >= size) {
+                return -1;
+            }
+            int length = (int) Math.min(dst.remaining(), size - position);
+            if (length == 0) {
+                return 0;
+            }
+            if (contents != null) {
+                dst.put(contents, (int) position, length);
+                position += length;
+                return length;
+            }
+            if (stream == null || streamPosition > position) {
+                closeStream();
+                stream = openResource(resourcePath);
+            }
+            stream.skipNBytes(position - streamPosition);
+            streamPosition = position;
+            int n;
+            if (dst.hasArray()) {
+                n = stream.read(dst.array(), dst.arrayOffset() + dst.position(), length);
+                if (n > 0) {
+                    dst.position(dst.position() + n);
+                }
+            } else {
+                byte[] buffer = new byte[Math.min(length, 8192)];
+                n = stream.read(buffer, 0, buffer.length);
+                if (n > 0) {
+                    dst.put(buffer, 0, n);
+                }
+            }
+            if (n < 0) {
+                throw new EOFException(String.format("resource '%s' is shorter than its size %d", resourcePath, size));
+            }
+            position += n;
+            streamPosition = position;
+            return n;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public long position() throws IOException {
+            ensureOpen();
+            return position;
+        }
+
+        @Override
+        public SeekableByteChannel position(long newPosition) throws IOException {
+            ensureOpen();
+            position = Math.max(0, newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            ensureOpen();
+            return size;
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long newSize) throws IOException {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() throws IOException {
+            open = false;
+            closeStream();
+        }
+
+        private void ensureOpen() throws IOException {
+            if (!open) {
+                throw new ClosedChannelException();
+            }
+        }
+
+        private void closeStream() throws IOException {
+            if (stream != null) {
+                stream.close();
+                stream = null;
+                streamPosition = 0;
+            }
+        }
+    }
 }
@@ -55,6 +55,7 @@
 #include <fcntl.h>
 #include <netdb.h>
 #include <netinet/in.h>
+#include <poll.h>
 #include <semaphore.h>
 #include <signal.h>
 #include <stddef.h>
@@ -83,6 +84,13 @@
 #include <pty.h>
 #endif
 
+#ifdef __linux__
+#include <sys/epoll.h>
+#include <sys/sendfile.h>
+#endif
+
+#include <sys/uio.h>
+
 
 int64_t call_getpid() {
     return getpid();
@@ -133,6 +141,123 @@ int64_t call_write(int32_t fd, void *buf, uint64_t count) {
     return write(fd, buf, count);
 }
 
+int64_t call_read_into(int32_t fd, void *buf, int32_t offset, int32_t count) {
+    return read(fd, buf + offset, count);
+}
+
+int64_t call_pread(int32_t fd, void *buf, uint64_t count, int64_t offset) {
+    if (offset < 0) {
+        return read(fd, buf, count);
+    }
+    return pread(fd, buf, count, offset);
+}
+
+int64_t call_pwrite(int32_t fd, void *buf, uint64_t count, int64_t offset) {
+    if (offset < 0) {
+        return write(fd, buf, count);
+    }
+    return pwrite(fd, buf, count, offset);
+}
+
+#define IOV_STACK_BUFS 16
+
+static struct iovec *make_iovec(struct iovec *stackIov, int64_t *bufs, int32_t *lens, int32_t cnt) {
+    struct iovec *iov = stackIov;
+    if (cnt > IOV_STACK_BUFS) {
+        iov = (struct iovec *) malloc(cnt * sizeof(struct iovec));
+        if (iov == NULL) {
+            errno = ENOMEM;
+            return NULL;
+        }
+    }
+    for (int32_t i = 0; i < cnt; i++) {
+        iov[i].iov_base = (void *) bufs[i];
+        iov[i].iov_len = lens[i];
+    }
+    return iov;
+}
+
+static void free_iovec(struct iovec *stackIov, struct iovec *iov) {
+    if (iov != stackIov) {
+        int savedErrno = errno;
+        free(iov);
+        errno = savedErrno;
+    }
+}
+
+// bufs[i] are native addresses of cnt buffers, a negative offset means the current file position
+int64_t call_preadv(int32_t fd, int64_t *bufs, int32_t *lens, int32_t cnt, int64_t offset) {
+    struct iovec stackIov[IOV_STACK_BUFS];
+    struct iovec *iov = make_iovec(stackIov, bufs, lens, cnt);
+    if (iov == NULL) {
+        return -1;
+    }
+    int64_t result = offset < 0 ? readv(fd, iov, cnt) : preadv(fd, iov, cnt, offset);
+    free_iovec(stackIov, iov);
+    return result;
+}
+
+int64_t call_pwritev(int32_t fd, int64_t *bufs, int32_t *lens, int32_t cnt, int64_t offset) {
+    struct iovec stackIov[IOV_STACK_BUFS];
+    struct iovec *iov = make_iovec(stackIov, bufs, lens, cnt);
+    if (iov == NULL) {
+        return -1;
+    }
+    int64_t result = offset < 0 ? writev(fd, iov, cnt) : pwritev(fd, iov, cnt, offset);
+    free_iovec(stackIov, iov);
+    return result;
+}
+
+// A negative offset means the current file position, which is used and advanced
+int64_t call_sendfile(int32_t out_fd, int32_t in_fd, int64_t offset, int64_t count) {
+#if defined(__linux__)
+    if (offset < 0) {
+        return sendfile(out_fd, in_fd, NULL, count);
+    }
+    off_t off = offset;
+    return sendfile(out_fd, in_fd, &off, count);
+#elif defined(__APPLE__)
+    // only supports a regular file as input and a socket as output
+    off_t off = offset;
+    if (off < 0 && (off = lseek(in_fd, 0, SEEK_CUR)) < 0) {
+        return -1;
+    }
+    off_t len = count;
+    if (sendfile(in_fd, out_fd, off, &len, NULL, 0) < 0 && len == 0) {
+        return -1;
+    }
+    if (offset < 0 && lseek(in_fd, off + len, SEEK_SET) < 0) {
+        return -1;
+    }
+    return len;
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
+int64_t call_copy_file_range(int32_t src_fd, int64_t src_offset, int32_t dst_fd, int64_t dst_offset, int64_t count) {
+#ifdef __gnu_linux__
+    off_t src_off = src_offset;
+    off_t dst_off = dst_offset;
+    return copy_file_range(src_fd, src_offset < 0 ? NULL : &src_off, dst_fd, dst_offset < 0 ? NULL : &dst_off, count, 0);
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
+int64_t call_splice(int32_t src_fd, int64_t src_offset, int32_t dst_fd, int64_t dst_offset, int64_t count, int32_t flags) {
+#ifdef __gnu_linux__
+    loff_t src_off = src_offset;
+    loff_t dst_off = dst_offset;
+    return splice(src_fd, src_offset < 0 ? NULL : &src_off, dst_fd, dst_offset < 0 ? NULL : &dst_off, count, flags);
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
 int32_t call_dup(int32_t fd) {
     return fcntl(fd, F_DUPFD_CLOEXEC, 0);
 }
@@ -212,6 +337,87 @@ int32_t call_select(int32_t nfds, int32_t* readfds, int32_t readfdsLen,
     return (int32_t) result;
 }
 
+#define POLL_STACK_FDS 64
+
+// revents is output parameter, the events returned for fds[i] are written to revents[i]
+int32_t call_poll(int32_t *fds, int32_t *events, int32_t *revents, int32_t len, int32_t timeoutMs) {
+    struct pollfd stackFds[POLL_STACK_FDS];
+    struct pollfd *pfds = stackFds;
+    if (len > POLL_STACK_FDS) {
+        pfds = (struct pollfd *) malloc(len * sizeof(struct pollfd));
+        if (pfds == NULL) {
+            errno = ENOMEM;
+            return -1;
+        }
+    }
+    for (int32_t i = 0; i < len; i++) {
+        pfds[i].fd = fds[i];
+        pfds[i].events = (short) events[i];
+        pfds[i].revents = 0;
+    }
+    int result = poll(pfds, (nfds_t) len, timeoutMs);
+    for (int32_t i = 0; i < len; i++) {
+        revents[i] = (uint16_t) pfds[i].revents;
+    }
+    if (pfds != stackFds) {
+        int savedErrno = errno;
+        free(pfds);
+        errno = savedErrno;
+    }
+    return (int32_t) result;
+}
+
+int32_t call_epoll_create() {
+#ifdef __linux__
+    return epoll_create1(EPOLL_CLOEXEC);
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
+int32_t call_epoll_ctl(int32_t epfd, int32_t op, int32_t fd, int32_t events) {
+#ifdef __linux__
+    struct epoll_event ev;
+    ev.events = (uint32_t) events;
+    ev.data.fd = fd;
+    // the event argument is ignored for EPOLL_CTL_DEL, but kernels before 2.6.9 require it to be non-NULL
+    return epoll_ctl(epfd, op, fd, &ev);
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
+// fds and events are output parameters of length maxevents
+int32_t call_epoll_wait(int32_t epfd, int32_t *fds, int32_t *events, int32_t maxevents, int32_t timeoutMs) {
+#ifdef __linux__
+    struct epoll_event stackEvs[POLL_STACK_FDS];
+    struct epoll_event *evs = stackEvs;
+    if (maxevents > POLL_STACK_FDS) {
+        evs = (struct epoll_event *) malloc(maxevents * sizeof(struct epoll_event));
+        if (evs == NULL) {
+            errno = ENOMEM;
+            return -1;
+        }
+    }
+    int result = epoll_wait(epfd, evs, maxevents, timeoutMs);
+    for (int i = 0; i < result; i++) {
+        fds[i] = evs[i].data.fd;
+        events[i] = (int32_t) evs[i].events;
+    }
+    if (evs != stackEvs) {
+        int savedErrno = errno;
+        free(evs);
+        errno = savedErrno;
+    }
+    return (int32_t) result;
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
 int64_t call_lseek(int32_t fd, int64_t offset, int32_t whence) {
     return lseek(fd, offset, whence);
 }
@@ -423,6 +629,62 @@ int32_t call_readdir(intptr_t dirp, char *nameBuf, uint64_t nameBufSize, int64_t
     return 0;
 }
 
+// Reads up to max_entries entries (skipping "." and "..") in one call. The names are stored
+// back to back in names, truncated to 255 bytes like in call_readdir. For each entry, out
+// holds READDIR_BATCH_STRIDE values: inode, type, name offset, name length, a flag telling
+// whether stat data follows, and the 13 values of stat_struct_to_longs. The lstat data is
+// only collected when readdir() does not know the type of the entry. If readdir() fails
+// after some entries have been read, they are returned and the errno is stored in the slot
+// after the last entry, out[max_entries * READDIR_BATCH_STRIDE], since the stream does not
+// necessarily report the error again.
+#define READDIR_BATCH_STRIDE 18
+#define READDIR_BATCH_NAME_MAX 256
+int32_t call_readdir_batch(intptr_t dirp, char *names, uint64_t names_size, int64_t *out, int32_t max_entries) {
+    DIR *dir = (DIR *) dirp;
+    uint64_t names_pos = 0;
+    int32_t count = 0;
+    int64_t *error = out + (int64_t) max_entries * READDIR_BATCH_STRIDE;
+    *error = 0;
+    while (count < max_entries && names_size - names_pos >= READDIR_BATCH_NAME_MAX) {
+        errno = 0;
+        struct dirent *dirEntry = readdir(dir);
+        if (dirEntry == NULL) {
+            if (errno != 0) {
+                if (count == 0) {
+                    return -1;
+                }
+                *error = errno;
+            }
+            return count;
+        }
+        const char *name = dirEntry->d_name;
+        if (name[0] == '.' && (name[1] == 0 || (name[1] == '.' && name[2] == 0))) {
+            continue;
+        }
+        int len = snprintf(names + names_pos, READDIR_BATCH_NAME_MAX, "%s", name);
+        if (len >= READDIR_BATCH_NAME_MAX) {
+            len = READDIR_BATCH_NAME_MAX - 1;
+        }
+        int64_t *entry = out + (int64_t) count * READDIR_BATCH_STRIDE;
+        entry[0] = dirEntry->d_ino;
+        entry[1] = dirEntry->d_type;
+        entry[2] = names_pos;
+        entry[3] = len;
+        entry[4] = 0;
+        if (dirEntry->d_type == DT_UNKNOWN) {
+            struct stat st;
+            if (fstatat(dirfd(dir), name, &st, AT_SYMLINK_NOFOLLOW) == 0) {
+                entry[4] = 1;
+                stat_struct_to_longs(&st, entry + 5);
+                entry[1] = IFTODT(st.st_mode);
+            }
+        }
+        names_pos += len + 1;
+        count++;
+    }
+    return count;
+}
+
 void call_rewinddir(intptr_t dirp) {
     rewinddir((DIR *) dirp);
 }
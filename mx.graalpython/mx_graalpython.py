@@ -1451,6 +1451,15 @@ def graalpython_gate_runner(args, tasks):
                 nonZeroIsFatal=nonZeroIsFatal,
                 report=report()
             )
+            # spawn children from pre-initialized contexts
+            run_python_unittests(
+                graalpy_standalone_jvm(),
+                args=["--python.SpawnContextPoolSize=2"],
+                paths=["test_multiprocessing_graalpy.py"],
+                exclude=excluded_tests,
+                nonZeroIsFatal=nonZeroIsFatal,
+                report=report()
+            )
 
     with Task('GraalPython Python unittests with CPython', tasks, tags=[GraalPythonTags.unittest_cpython]) as task:
         if task:
@@ -79,6 +79,18 @@ MICRO_BENCHMARKS = {
     'list-indexing': ITER_10 + ['1000000'],
     'list-indexing-from-constructor': ITER_10 + ['10000000'],
     'list-indexing-from-literal': ITER_10 + ['10000000'],
+    'deque-indexing': ITER_10 + ['10000000'],
+    'deque-ops': ITER_10 + ['5000000'],
+    'struct-pack-unpack': ITER_10 + ['2000000'],
+    'heapq-bisect': ITER_10 + ['1000000'],
+    'datetime-ops': ITER_10 + ['1000000'],
+    'decimal-ops': ITER_10 + ['1000000'],
+    'bigint-str': ITER_10 + ['100000'],
+    'mp-spawn': ITER_10 + ['20'],
+    'io-readinto': ITER_10 + ['50'],
+    'file-copy': ITER_10 + ['8'],
+    'os-walk': ITER_10 + ['20'],
+    'json-stream': ITER_10 + ['50'],
     'list-iterating-explicit': ITER_10 + ['1000000'],
     'list-iterating': ITER_10 + ['1000000'],
     'list-iterating-obj-sized': ITER_10 + ['100_000_000'],
@@ -109,6 +121,8 @@ MICRO_BENCHMARKS = {
     'tuple-indexing-from-literal': ITER_10 + ['10000000'],
     'repeated-import': ITER_10 + ['10000000'],
     'codeobject-interpretation': ITER_10 + ['2000'],
+    'parse-stdlib': ITER_10 + ['20'],
+    'compile-stdlib': ITER_10 + ['10'],
     'regexp': ITER_10,
     'regexp-split': ITER_10,
     'regexp-literal-no-match': ITER_10,
@@ -140,6 +154,18 @@ MICRO_BENCHMARKS_SMALL = {
     'list-indexing': ITER_6 + WARMUP_2 + ['10_000'],
     'list-indexing-from-constructor': ITER_6 + WARMUP_2 + ['250_000'],
     'list-indexing-from-literal': ITER_6 + WARMUP_2 + ['250_000'],
+    'deque-indexing': ITER_6 + WARMUP_2 + ['250_000'],
+    'deque-ops': ITER_6 + WARMUP_2 + ['100_000'],
+    'struct-pack-unpack': ITER_6 + WARMUP_2 + ['50_000'],
+    'heapq-bisect': ITER_6 + WARMUP_2 + ['50_000'],
+    'datetime-ops': ITER_6 + WARMUP_2 + ['50_000'],
+    'decimal-ops': ITER_6 + WARMUP_2 + ['50_000'],
+    'bigint-str': ITER_6 + WARMUP_2 + ['100_000'],
+    'mp-spawn': ITER_6 + WARMUP_2 + ['20'],
+    'io-readinto': ITER_6 + WARMUP_2 + ['50'],
+    'file-copy': ITER_6 + WARMUP_2 + ['8'],
+    'os-walk': ITER_6 + WARMUP_2 + ['20'],
+    'json-stream': ITER_6 + WARMUP_2 + ['50'],
     'list-iterating-explicit': ITER_6 + WARMUP_2 + ['10_000'],
     'list-iterating': ITER_6 + WARMUP_2 + ['25_000'],
     'list-iterating-obj-sized': ITER_6 + WARMUP_2 + ['1_000_000'],
@@ -194,6 +220,7 @@ MICRO_NATIVE_BENCHMARKS = {
     'c-issubtype-monorphic': ITER_5 + ['50000000'],
     'c-call-method': ITER_5 + ['5000000'],
     'c-instantiate-large': ITER_5 + ['1000'],
+    'c-handle-transitions': ITER_5 + ['500'],
 }
 
 
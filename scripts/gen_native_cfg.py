@@ -76,6 +76,7 @@ includes = '''
 # include <netinet/in.h>
 # include <netinet/tcp.h>
 # include <sys/mman.h>
+# include <poll.h>
 # include <sys/select.h>
 # include <sys/socket.h>
 # include <sys/un.h>
@@ -84,6 +85,9 @@ includes = '''
 # include <sys/wait.h>
 # include <sysexits.h>
 # include <semaphore.h>
+# ifdef __linux__
+#  include <sys/epoll.h>
+# endif
 #else
 # include <winsock2.h>
 # include <ws2tcpip.h>
@@ -424,6 +428,47 @@ u x S_IFCHR
 * i IPV6_RECVPATHMTU
 * i IPV6_TCLASS
 * i IPV6_USE_MIN_MTU
+
+[pollEvents]
+* x POLLIN
+* x POLLPRI
+* x POLLOUT
+* x POLLERR
+* x POLLHUP
+* x POLLNVAL
+* x POLLRDNORM
+* x POLLRDBAND
+* x POLLWRNORM
+* x POLLWRBAND
+* x POLLMSG
+* x POLLRDHUP
+
+[epollEvents]
+* x EPOLLIN
+* x EPOLLPRI
+* x EPOLLOUT
+* x EPOLLERR
+* x EPOLLHUP
+* x EPOLLRDNORM
+* x EPOLLRDBAND
+* x EPOLLWRNORM
+* x EPOLLWRBAND
+* x EPOLLMSG
+* x EPOLLRDHUP
+* x EPOLLEXCLUSIVE
+* x EPOLLONESHOT
+* x EPOLLET
+* x EPOLL_CLOEXEC
+
+[epollCtl]
+* i EPOLL_CTL_ADD
+* i EPOLL_CTL_MOD
+* i EPOLL_CTL_DEL
+
+[spliceFlags]
+* x SPLICE_F_MOVE
+* x SPLICE_F_NONBLOCK
+* x SPLICE_F_MORE
 '''
 
 layout_defs = '''